@@ -0,0 +1,226 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.communication;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.internal.direct.DirectMessageReader;
+import org.apache.ignite.internal.direct.DirectMessageWriter;
+import org.apache.ignite.internal.managers.communication.GridIoMessageFactory;
+import org.apache.ignite.internal.managers.communication.IgniteMessageFactoryImpl;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.CacheObjectImpl;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.KeyCacheObjectImpl;
+import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicUpdateRequest;
+import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicUpdateResponse;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearGetRequest;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearSingleGetRequest;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.lang.IgniteUuid;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.plugin.extensions.communication.MessageFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_SYNC;
+import static org.apache.ignite.internal.managers.communication.GridIoManager.DIRECT_PROTO_VER;
+import static org.apache.ignite.internal.processors.cache.GridCacheOperation.UPDATE;
+
+/**
+ * Direct serialization of cache messages. Run with {@code -prof gc} to see allocation rate per message type.
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class JmhDirectMessageBenchmark {
+    /** Entries per batch message. */
+    private static final int ENTRIES = 100;
+
+    /** Value size. */
+    private static final int VAL_SIZE = 128;
+
+    /** Network buffer size. */
+    private static final int BUF_SIZE = 32 * 1024;
+
+    /** Message type. */
+    @Param({"DHT_ATOMIC_UPDATE_REQUEST", "DHT_ATOMIC_UPDATE_RESPONSE", "NEAR_SINGLE_GET_REQUEST", "NEAR_GET_REQUEST"})
+    private MessageType type;
+
+    /** Message to write. */
+    private Message msg;
+
+    /** Writer. */
+    private DirectMessageWriter writer;
+
+    /** Reader. */
+    private DirectMessageReader reader;
+
+    /** Message factory. */
+    private MessageFactory factory;
+
+    /** Buffer to write to. */
+    private ByteBuffer writeBuf;
+
+    /** Buffer with serialized message. */
+    private ByteBuffer readBuf;
+
+    /**
+     *
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        msg = type.create();
+
+        factory = new IgniteMessageFactoryImpl(new MessageFactory[] {new GridIoMessageFactory()});
+
+        writer = new DirectMessageWriter(DIRECT_PROTO_VER);
+        reader = new DirectMessageReader(factory, DIRECT_PROTO_VER);
+
+        writeBuf = ByteBuffer.allocateDirect(BUF_SIZE).order(ByteOrder.nativeOrder());
+        readBuf = ByteBuffer.allocateDirect(BUF_SIZE).order(ByteOrder.nativeOrder());
+
+        if (!msg.writeTo(readBuf, writer))
+            throw new IllegalStateException("Message does not fit the buffer: " + type);
+
+        writer.reset();
+
+        readBuf.flip();
+    }
+
+    /**
+     * @return Buffer position.
+     */
+    @Benchmark
+    public int write() {
+        writeBuf.clear();
+
+        boolean finished = msg.writeTo(writeBuf, writer);
+
+        assert finished;
+
+        writer.reset();
+
+        return writeBuf.position();
+    }
+
+    /**
+     * @return Read message.
+     */
+    @Benchmark
+    public Message read() {
+        readBuf.rewind();
+
+        // Message type is read by the parser before the message itself.
+        Message res = factory.create(readBuf.getShort());
+
+        reader.setBuffer(readBuf);
+
+        boolean finished = res.readFrom(readBuf, reader);
+
+        assert finished;
+
+        reader.reset();
+
+        return res;
+    }
+
+    /**
+     * Benchmarked message types.
+     */
+    public enum MessageType {
+        /** */
+        DHT_ATOMIC_UPDATE_REQUEST {
+            /** {@inheritDoc} */
+            @Override Message create() {
+                GridDhtAtomicUpdateRequest req = new GridDhtAtomicUpdateRequest(1, UUID.randomUUID(), 1,
+                    new GridCacheVersion(1, 1, 1, 0), FULL_SYNC, new AffinityTopologyVersion(1, 0), null, 0, null,
+                    false, false, false, false);
+
+                for (int i = 0; i < ENTRIES; i++) {
+                    req.addWriteValue(key(i), new CacheObjectImpl(null, new byte[VAL_SIZE]), null, -1, -1, null,
+                        false, null, i, UPDATE);
+                }
+
+                return req;
+            }
+        },
+
+        /** */
+        DHT_ATOMIC_UPDATE_RESPONSE {
+            /** {@inheritDoc} */
+            @Override Message create() {
+                return new GridDhtAtomicUpdateResponse(1, 1, 1, false);
+            }
+        },
+
+        /** */
+        NEAR_SINGLE_GET_REQUEST {
+            /** {@inheritDoc} */
+            @Override Message create() {
+                return new GridNearSingleGetRequest(1, 1, key(1), true, new AffinityTopologyVersion(1, 0), null, 0,
+                    -1, -1, false, false, false, false, false, null, null);
+            }
+        },
+
+        /** */
+        NEAR_GET_REQUEST {
+            /** {@inheritDoc} */
+            @Override Message create() {
+                Map<KeyCacheObject, Boolean> keys = new LinkedHashMap<>();
+
+                for (int i = 0; i < ENTRIES; i++)
+                    keys.put(key(i), false);
+
+                return new GridNearGetRequest(1, IgniteUuid.randomUuid(), IgniteUuid.randomUuid(),
+                    new GridCacheVersion(1, 1, 1, 0), keys, true, new AffinityTopologyVersion(1, 0), null, 0, -1, -1,
+                    false, false, false, false, null, null);
+            }
+        };
+
+        /**
+         * @return Message with marshalled cache objects.
+         */
+        abstract Message create();
+
+        /**
+         * @param i Key.
+         * @return Marshalled key.
+         */
+        private static KeyCacheObject key(int i) {
+            return new KeyCacheObjectImpl(i, new byte[] {(byte)i, (byte)(i >> 8), (byte)(i >> 16), (byte)(i >> 24)},
+                i);
+        }
+    }
+}
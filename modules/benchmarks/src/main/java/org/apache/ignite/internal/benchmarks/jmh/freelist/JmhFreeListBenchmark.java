@@ -0,0 +1,201 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.freelist;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
+import org.apache.ignite.internal.metric.IoStatisticsHolderNoOp;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.pagemem.impl.PageMemoryNoStoreImpl;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl;
+import org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerManager;
+import org.apache.ignite.internal.processors.cache.persistence.evict.NoOpPageEvictionTracker;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.SimpleDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetrics;
+import org.apache.ignite.internal.processors.cache.persistence.partstorage.PartitionMetaStorageImpl;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.logger.java.JavaLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList.IGNITE_FREE_LIST_RESERVED_PAGES_STRIPES;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmarks inserts and removals of small rows by {@link AbstractFreeList} with and without data pages reserved for
+ * inserts.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 3)
+public class JmhFreeListBenchmark {
+    /** */
+    private static final long MB = 1024 * 1024;
+
+    /** */
+    private static final int PAGE_SIZE = 4096;
+
+    /** */
+    private static final int GRP_ID = 1;
+
+    /** Number of rows kept by each thread, the oldest row is removed when a new one is inserted. */
+    private static final int ROWS_PER_THREAD = 10_000;
+
+    /** Number of reserved pages stripes, {@code 0} stands for the free list without pages reservation. */
+    @Param({"0", "8"})
+    private int reservedStripes;
+
+    /** */
+    private PageMemory pageMem;
+
+    /** */
+    private PartitionMetaStorageImpl<SimpleDataRow> freeList;
+
+    /**
+     * Rows inserted by a thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadRows {
+        /** Links of inserted rows. */
+        private final long[] links = new long[ROWS_PER_THREAD];
+
+        /** Index of the next link. */
+        private int idx;
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        System.setProperty(IGNITE_FREE_LIST_RESERVED_PAGES_STRIPES, String.valueOf(reservedStripes));
+
+        DataRegionConfiguration plcCfg = new DataRegionConfiguration().setMaxSize(1024 * MB);
+
+        DataRegionMetricsImpl regionMetrics = mock(DataRegionMetricsImpl.class);
+        PageMetrics pageMetrics = mock(PageMetrics.class);
+        LongAdderMetric noOpMetric = new LongAdderMetric("foobar", null);
+
+        when(regionMetrics.cacheGrpPageMetrics(anyInt())).thenReturn(pageMetrics);
+        when(pageMetrics.totalPages()).thenReturn(noOpMetric);
+        when(pageMetrics.indexPages()).thenReturn(noOpMetric);
+
+        pageMem = new PageMemoryNoStoreImpl(
+            new JavaLogger(),
+            new UnsafeMemoryProvider(new JavaLogger()),
+            PAGE_SIZE,
+            plcCfg,
+            regionMetrics,
+            false);
+
+        pageMem.start();
+
+        PageLockTrackerManager lockTrackerMgr = mock(PageLockTrackerManager.class);
+
+        when(lockTrackerMgr.createPageLockTracker(anyString())).thenReturn(PageLockTrackerManager.NOOP_LSNR);
+
+        GridKernalContext ctx = mock(GridKernalContext.class);
+
+        when(ctx.log(any(Class.class))).thenReturn(new JavaLogger());
+
+        freeList = new PartitionMetaStorageImpl<>(
+            GRP_ID,
+            "freelist",
+            new DataRegion(pageMem, plcCfg, regionMetrics, new NoOpPageEvictionTracker()),
+            null,
+            null,
+            pageMem.allocatePage(GRP_ID, 0, PageIdAllocator.FLAG_DATA),
+            true,
+            lockTrackerMgr,
+            ctx,
+            null,
+            PageIdAllocator.FLAG_IDX
+        );
+    }
+
+    /**
+     * Tear down.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pageMem.stop(true);
+    }
+
+    /**
+     * Inserts a row of random size and removes the oldest row of the thread.
+     *
+     * @param rows Rows of the thread.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Benchmark
+    public void insertRemove(ThreadRows rows) throws IgniteCheckedException {
+        SimpleDataRow row = new SimpleDataRow(0, new byte[ThreadLocalRandom.current().nextInt(32, 256)]);
+
+        freeList.insertDataRow(row, IoStatisticsHolderNoOp.INSTANCE);
+
+        long oldLink = rows.links[rows.idx];
+
+        if (oldLink != 0L)
+            freeList.removeDataRowByLink(oldLink, IoStatisticsHolderNoOp.INSTANCE);
+
+        rows.links[rows.idx] = row.link();
+
+        rows.idx = (rows.idx + 1) % ROWS_PER_THREAD;
+    }
+
+    /**
+     * @param args Args.
+     * @throws Exception Exception.
+     */
+    public static void main(String[] args) throws Exception {
+        final Options options = new OptionsBuilder()
+            .include(JmhFreeListBenchmark.class.getSimpleName())
+            .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.notify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.internal.util.StripedExecutor;
+import org.apache.ignite.logger.NullLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Completion time of a batch of tasks skewed to a single (hot) stripe, with and without stealing of
+ * order-insensitive tasks.
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhStripedExecutorSkewBenchmark {
+    /** Stripes count. */
+    private static final int STRIPES = 8;
+
+    /** Tasks per batch. */
+    private static final int BATCH = 1024;
+
+    /** Amount of work per task, in {@link Blackhole#consumeCPU(long)} tokens. */
+    private static final int WORK = 1000;
+
+    /** Percent of tasks sent to the hot stripe. */
+    @Param({"0", "50", "90"})
+    private int hotPct;
+
+    /** Steal order-insensitive tasks flag. */
+    @Param({"false", "true"})
+    private boolean steal;
+
+    /** Executor. */
+    private StripedExecutor exec;
+
+    /**
+     *
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        exec = new StripedExecutor(STRIPES, "bench", "sys", new NullLogger(), t -> {}, false, steal, null,
+            Long.MAX_VALUE);
+    }
+
+    /**
+     *
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        exec.stop();
+    }
+
+    /**
+     * @throws InterruptedException If interrupted.
+     */
+    @Benchmark
+    public void skewedBatch() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(BATCH);
+
+        Runnable task = () -> {
+            Blackhole.consumeCPU(WORK);
+
+            latch.countDown();
+        };
+
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        for (int i = 0; i < BATCH; i++) {
+            int idx = rnd.nextInt(100) < hotPct ? 0 : rnd.nextInt(STRIPES);
+
+            exec.execute(idx, task, true);
+        }
+
+        latch.await();
+    }
+}
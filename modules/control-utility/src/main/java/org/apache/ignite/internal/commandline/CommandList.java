@@ -96,7 +96,10 @@ public enum CommandList {
     DEFRAGMENTATION("--defragmentation", new DefragmentationCommand()),
 
     /** Start checkpoint on a cluster */
-    CHECKPOINT("--checkpoint", new CheckpointCommand());
+    CHECKPOINT("--checkpoint", new CheckpointCommand()),
+
+    /** Command to manage page-level snapshots. */
+    SNAPSHOT("--snapshot", new SnapshotCommand());
 
     /** Private values copy so there's no need in cloning it every time. */
     private static final CommandList[] VALUES = CommandList.values();
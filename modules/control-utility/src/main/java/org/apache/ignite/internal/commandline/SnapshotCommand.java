@@ -0,0 +1,188 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.commandline;
+
+import java.util.Collection;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.apache.ignite.internal.client.GridClient;
+import org.apache.ignite.internal.client.GridClientCompute;
+import org.apache.ignite.internal.client.GridClientConfiguration;
+import org.apache.ignite.internal.client.GridClientDisconnectedException;
+import org.apache.ignite.internal.client.GridClientNode;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.visor.VisorTaskArgument;
+import org.apache.ignite.internal.visor.snapshot.VisorSnapshotOperation;
+import org.apache.ignite.internal.visor.snapshot.VisorSnapshotTask;
+import org.apache.ignite.internal.visor.snapshot.VisorSnapshotTaskArg;
+
+import static java.util.Collections.singletonList;
+import static org.apache.ignite.internal.commandline.Command.usage;
+import static org.apache.ignite.internal.commandline.CommandList.SNAPSHOT;
+import static org.apache.ignite.internal.commandline.CommandLogger.optional;
+import static org.apache.ignite.internal.commandline.CommonArgParser.CMD_AUTO_CONFIRMATION;
+
+/**
+ * Command to create, list and restore page-level snapshots and to log consistent cuts for point-in-time recovery.
+ */
+public class SnapshotCommand extends AbstractCommand<VisorSnapshotTaskArg> {
+    /** Create subcommand. */
+    private static final String CREATE = "create";
+
+    /** Status subcommand. */
+    private static final String STATUS = "status";
+
+    /** Restore subcommand. */
+    private static final String RESTORE = "restore";
+
+    /** Consistent cut subcommand. */
+    private static final String CUT = "cut";
+
+    /** Incremental snapshot argument. */
+    private static final String INCREMENTAL_ARG = "--incremental";
+
+    /** Consistent cut to recover caches to argument. */
+    private static final String TO_CUT_ARG = "--to-cut";
+
+    /** Command argument. */
+    private VisorSnapshotTaskArg arg;
+
+    /** {@inheritDoc} */
+    @Override public Object execute(GridClientConfiguration clientCfg, Logger log) throws Exception {
+        try (GridClient client = Command.startClient(clientCfg)) {
+            GridClientCompute compute = client.compute();
+
+            Collection<GridClientNode> nodes = compute.nodes(n -> n.connectable() && !n.isClient());
+
+            if (F.isEmpty(nodes))
+                throw new GridClientDisconnectedException("Connectable nodes not found", null);
+
+            Collection<GridClientNode> srvs = compute.nodes(n -> !n.isClient());
+
+            // Snapshot and cut are created and restored cluster-wide by any server node, status is collected from
+            // all of them.
+            Collection<GridClientNode> targets = arg.operation() == VisorSnapshotOperation.STATUS ?
+                srvs : singletonList(F.first(nodes));
+
+            String res = compute.projection(nodes).execute(
+                VisorSnapshotTask.class.getName(),
+                new VisorTaskArgument<>(targets.stream().map(GridClientNode::nodeId).collect(Collectors.toList()),
+                    arg, false)
+            );
+
+            log.info(res);
+
+            return res;
+        }
+        catch (Throwable e) {
+            log.severe("Failed to execute snapshot command='" + arg.operation() + "'");
+            log.severe(CommandLogger.errorMessage(e));
+
+            throw e;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void parseArguments(CommandArgIterator argIter) {
+        String subcmd = argIter.nextArg("Expected snapshot subcommand.");
+
+        switch (subcmd) {
+            case CREATE: {
+                String name = argIter.nextArg("Expected snapshot name.");
+
+                boolean incremental = false;
+
+                if (INCREMENTAL_ARG.equals(argIter.peekNextArg())) {
+                    argIter.nextArg("");
+
+                    incremental = true;
+                }
+
+                arg = new VisorSnapshotTaskArg(VisorSnapshotOperation.CREATE, name, incremental, null);
+
+                break;
+            }
+
+            case STATUS:
+                arg = new VisorSnapshotTaskArg(VisorSnapshotOperation.STATUS, null, false, null);
+
+                break;
+
+            case CUT:
+                arg = new VisorSnapshotTaskArg(VisorSnapshotOperation.CUT, null, false, null);
+
+                break;
+
+            case RESTORE: {
+                String name = argIter.nextArg("Expected snapshot name.");
+
+                Long cutTs = null;
+
+                if (TO_CUT_ARG.equals(argIter.peekNextArg())) {
+                    argIter.nextArg("");
+
+                    cutTs = argIter.nextLongArg("consistent cut timestamp");
+                }
+
+                arg = new VisorSnapshotTaskArg(VisorSnapshotOperation.RESTORE, name, false, cutTs);
+
+                break;
+            }
+
+            default:
+                throw new IllegalArgumentException("Unknown snapshot subcommand: " + subcmd);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String confirmationPrompt() {
+        if (arg != null && arg.operation() == VisorSnapshotOperation.RESTORE) {
+            return "Warning: the command will restore caches of snapshot " + arg.name() + ". The caches must be " +
+                "destroyed before restore.";
+        }
+
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public VisorSnapshotTaskArg arg() {
+        return arg;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void printUsage(Logger log) {
+        usage(log, "Create full snapshot of persistent caches:", SNAPSHOT, CREATE, "snapshot_name");
+
+        usage(log, "Create snapshot containing only pages changed since the previous snapshot:", SNAPSHOT, CREATE,
+            "snapshot_name", INCREMENTAL_ARG);
+
+        usage(log, "Print snapshots of server nodes:", SNAPSHOT, STATUS);
+
+        usage(log, "Restore destroyed caches from snapshot:", SNAPSHOT, RESTORE, "snapshot_name",
+            optional(CMD_AUTO_CONFIRMATION));
+
+        usage(log, "Log consistent cut to recover caches to:", SNAPSHOT, CUT);
+
+        usage(log, "Restore destroyed caches from snapshot and replay WAL up to the consistent cut:", SNAPSHOT,
+            RESTORE, "snapshot_name", TO_CUT_ARG, "cut_timestamp", optional(CMD_AUTO_CONFIRMATION));
+    }
+
+    /** {@inheritDoc} */
+    @Override public String name() {
+        return SNAPSHOT.toCommandName();
+    }
+}
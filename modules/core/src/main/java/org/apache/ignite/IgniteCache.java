@@ -36,6 +36,7 @@ import javax.cache.integration.CacheWriter;
 import javax.cache.processor.EntryProcessor;
 import javax.cache.processor.EntryProcessorException;
 import javax.cache.processor.EntryProcessorResult;
+import org.apache.ignite.binary.BinaryObject;
 import org.apache.ignite.cache.CacheAtomicityMode;
 import org.apache.ignite.cache.CacheEntry;
 import org.apache.ignite.cache.CacheEntryProcessor;
@@ -784,6 +785,35 @@ public interface IgniteCache<K, V> extends javax.cache.Cache<K, V>, IgniteAsyncS
      */
     public IgniteFuture<Map<K, V>> getAllOutTxAsync(Set<? extends K> keys);
 
+    /**
+     * Gets a consistent snapshot of values of the given keys without acquiring any locks. Values returned
+     * by this method are either all written before or all written after any transaction which updates the keys,
+     * i.e. the result never contains partial updates of a transaction. Will bypass started transaction, if any.
+     * <p>
+     * Keys are read on their primary nodes and validated by a second read: the read is retried if any
+     * of the keys is locked by a transaction or is updated between the reads, so readers never block writers,
+     * but a read may take longer or fail if the keys are updated continuously. Updates bypassing transactions,
+     * such as {@link IgniteDataStreamer} or {@link #loadCache(IgniteBiPredicate, Object...)}, are not detected.
+     * <p>
+     * Supported for caches with {@link CacheAtomicityMode#TRANSACTIONAL} atomicity mode only.
+     *
+     * @param keys The keys whose associated values are to be returned.
+     * @return A map of entries that were found for the given keys.
+     * @throws NullPointerException If keys is null or if keys contains a {@code null}.
+     * @throws CacheException If the cache is not transactional or a consistent snapshot could not be read.
+     */
+    public Map<K, V> getAllSnapshot(Set<? extends K> keys);
+
+    /**
+     * Asynchronously gets a consistent snapshot of values of the given keys without acquiring any locks.
+     * See {@link #getAllSnapshot(Set)} for details.
+     *
+     * @param keys The keys whose associated values are to be returned.
+     * @return a Future representing pending completion of the operation.
+     * @throws NullPointerException If keys is null or if keys contains a {@code null}.
+     */
+    public IgniteFuture<Map<K, V>> getAllSnapshotAsync(Set<? extends K> keys);
+
     /**
      * {@inheritDoc}
      * @throws TransactionException If operation within transaction is failed.
@@ -1369,6 +1399,38 @@ public interface IgniteCache<K, V> extends javax.cache.Cache<K, V>, IgniteAsyncS
     public <T> IgniteFuture<T> invokeAsync(K key, CacheEntryProcessor<K, V, T> entryProcessor, Object... arguments)
         throws TransactionException;
 
+    /**
+     * Updates fields of a {@link BinaryObject} value stored for the key on server nodes, without transferring
+     * the value to the caller and back.
+     * <p>
+     * New values of primitive fields of the same type are written over the serialized form of the value, other
+     * fields are not re-marshalled. Such an update does not change the size of the value, so it is applied to
+     * the stored row in place and only changed bytes are logged to the write-ahead log. Other updates (new fields,
+     * fields of non-primitive types or values of different types) rebuild the value with
+     * {@link BinaryObject#toBuilder()}.
+     * <p>
+     * Please refer to documentation for {@link CacheAtomicityMode#ATOMIC} for information on
+     * system behavior in crash scenarios for atomic caches.
+     *
+     * @param key Key.
+     * @param fields New values of fields by field names.
+     * @return {@code True} if the value was updated, {@code false} if there is no value for the key.
+     * @throws EntryProcessorException If the value is not a binary object.
+     * @throws TransactionException If operation within transaction is failed.
+     */
+    public boolean patch(K key, Map<String, ?> fields) throws TransactionException;
+
+    /**
+     * Asynchronously updates fields of a {@link BinaryObject} value stored for the key.
+     *
+     * @param key Key.
+     * @param fields New values of fields by field names.
+     * @return a Future representing pending completion of the operation.
+     * @throws TransactionException If operation within transaction is failed.
+     * @see #patch(Object, Map)
+     */
+    public IgniteFuture<Boolean> patchAsync(K key, Map<String, ?> fields) throws TransactionException;
+
     /**
      /**
      * Invokes an {@link EntryProcessor} against the set of {@link Entry}s
@@ -74,6 +74,12 @@ import org.apache.ignite.stream.StreamReceiver;
  *      Default is equal to CPU count on remote node multiply by {@link #DFLT_PARALLEL_OPS_MULTIPLIER}.
  *  </li>
  *  <li>
+ *      {@link #adaptiveBatching(boolean)} - enables adaptive batching. Batches are sized by bytes rather than
+ *      by the number of entries (see {@link #perNodeBufferBytes(int)}), and the number of parallel operations
+ *      for each remote node is adjusted to its response time and load, up to {@link #perNodeParallelOperations()}.
+ *      Disabled by default.
+ *  </li>
+ *  <li>
  *      {@link #autoFlushFrequency(long)} - automatic flush frequency in milliseconds. Essentially,
  *      this is the time after which the streamer will make an attempt to submit all data
  *      added so far to remote nodes. Note that there is no guarantee that data will be
@@ -120,6 +126,9 @@ public interface IgniteDataStreamer<K, V> extends AutoCloseable {
     /** Default batch size per thread to send to buffer on node. */
     public static final int DFLT_PER_THREAD_BUFFER_SIZE = 4096;
 
+    /** Default size in bytes of a batch sent to remote node in adaptive batching mode. */
+    public static final int DFLT_PER_NODE_BUFFER_BYTES = 256 * 1024;
+
     /** Default timeout for streamer's operations. */
     public static final long DFLT_UNLIMIT_TIMEOUT = -1;
 
@@ -239,6 +248,51 @@ public interface IgniteDataStreamer<K, V> extends AutoCloseable {
      */
     public int perThreadBufferSize();
 
+    /**
+     * Gets flag indicating that adaptive batching is enabled.
+     *
+     * @return {@code True} if adaptive batching is enabled.
+     */
+    public boolean adaptiveBatching();
+
+    /**
+     * Enables or disables adaptive batching.
+     * <p>
+     * In adaptive mode, a batch is sent once the size of its entries reaches {@link #perNodeBufferBytes()},
+     * and {@link #perNodeBufferSize()} is ignored. The number of parallel operations for each remote node starts
+     * at the size of the data streamer pool of the node and follows additive increase / multiplicative decrease
+     * policy: it grows while the node keeps up and is halved when the response time of the node grows or its
+     * data streamer pool queue builds up. It never exceeds {@link #perNodeParallelOperations()}.
+     * <p>
+     * Statistics are available in the {@code datastreamer.nodes.<nodeId>} metric registries.
+     * <p>
+     * This method should be called prior to {@link #addData(Object, Object)} call.
+     * <p>
+     * Default is {@code false}.
+     *
+     * @param adaptive {@code True} to enable adaptive batching.
+     */
+    public void adaptiveBatching(boolean adaptive);
+
+    /**
+     * Gets size in bytes of a batch sent to remote node in adaptive batching mode.
+     *
+     * @return Per node buffer size in bytes.
+     */
+    public int perNodeBufferBytes();
+
+    /**
+     * Sets size in bytes of a batch sent to remote node in adaptive batching mode.
+     * <p>
+     * This method should be called prior to {@link #addData(Object, Object)} call.
+     * <p>
+     * If not provided, default value is {@link #DFLT_PER_NODE_BUFFER_BYTES}.
+     *
+     * @param bufBytes Per node buffer size in bytes.
+     * @see #adaptiveBatching(boolean)
+     */
+    public void perNodeBufferBytes(int bufBytes);
+
     /**
      * Sets the timeout that is used in the following cases:
      * <ul>
@@ -61,6 +61,7 @@ import static org.apache.ignite.internal.LongJVMPauseDetector.DFLT_JVM_PAUSE_DET
 import static org.apache.ignite.internal.LongJVMPauseDetector.DFLT_JVM_PAUSE_DETECTOR_PRECISION;
 import static org.apache.ignite.internal.binary.streams.BinaryMemoryAllocator.DFLT_MARSHAL_BUFFERS_PER_THREAD_POOL_SIZE;
 import static org.apache.ignite.internal.binary.streams.BinaryMemoryAllocator.DFLT_MARSHAL_BUFFERS_RECHECK;
+import static org.apache.ignite.internal.managers.communication.GridIoManager.DFLT_IO_BROADCAST_PRE_MARSHALLING;
 import static org.apache.ignite.internal.managers.discovery.GridDiscoveryManager.DFLT_DISCOVERY_HISTORY_SIZE;
 import static org.apache.ignite.internal.processors.affinity.AffinityAssignment.DFLT_AFFINITY_BACKUPS_THRESHOLD;
 import static org.apache.ignite.internal.processors.affinity.GridAffinityAssignmentCache.DFLT_AFFINITY_HISTORY_SIZE;
@@ -75,10 +76,14 @@ import static org.apache.ignite.internal.processors.cache.GridCachePartitionExch
 import static org.apache.ignite.internal.processors.cache.GridCachePartitionExchangeManager.DFLT_EXCHANGE_HISTORY_SIZE;
 import static org.apache.ignite.internal.processors.cache.GridCachePartitionExchangeManager.DFLT_EXCHANGE_MERGE_DELAY;
 import static org.apache.ignite.internal.processors.cache.GridCacheProcessor.DFLT_ALLOW_START_CACHES_IN_PARALLEL;
+import static org.apache.ignite.internal.processors.cache.GridCacheSharedTtlCleanupManager.DFLT_TTL_CLEANUP_THREADS;
 import static org.apache.ignite.internal.processors.cache.GridCacheTtlManager.DFLT_TTL_EXPIRE_BATCH_SIZE;
 import static org.apache.ignite.internal.processors.cache.WalStateManager.DFLT_DISABLE_WAL_DURING_REBALANCING;
 import static org.apache.ignite.internal.processors.cache.binary.CacheObjectBinaryProcessorImpl.DFLT_WAIT_SCHEMA_UPDATE;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.CacheDistributedGetFutureAdapter.DFLT_MAX_REMAP_CNT;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtCacheAdapter.DFLT_HOT_KEYS_GET_COALESCING;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.HotKeysTracker.DFLT_HOT_KEYS_SAMPLING_INTERVAL;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.HotKeysTracker.DFLT_HOT_KEYS_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicCache.DFLT_ATOMIC_DEFERRED_ACK_BUFFER_SIZE;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicCache.DFLT_ATOMIC_DEFERRED_ACK_TIMEOUT;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.preloader.GridDhtPartitionsExchangeFuture.DFLT_PARTITION_RELEASE_FUTURE_DUMP_THRESHOLD;
@@ -90,6 +95,8 @@ import static org.apache.ignite.internal.processors.cache.persistence.GridCacheD
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointHistory.DFLT_PDS_MAX_CHECKPOINT_MEMORY_HISTORY_SIZE;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointMarkersStorage.DFLT_IGNITE_CHECKPOINT_MAP_SNAPSHOT_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointWorkflow.DFLT_CHECKPOINT_PARALLEL_SORT_THRESHOLD;
+import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.OnlineDefragmentationManager.DFLT_ONLINE_DEFRAGMENTATION_PAGE_FILL_THRESHOLD;
+import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.OnlineDefragmentationManager.DFLT_ONLINE_DEFRAGMENTATION_RATE_LIMIT;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerFactory.DFLT_PAGE_LOCK_TRACKER_CAPACITY;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerFactory.HEAP_LOG;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.SharedPageLockTracker.DFLT_PAGE_LOCK_TRACKER_CHECK_INTERVAL;
@@ -97,6 +104,10 @@ import static org.apache.ignite.internal.processors.cache.persistence.pagemem.Fu
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_DELAYED_REPLACED_PAGE_WRITE;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_LOADED_PAGES_BACKWARD_SHIFT_MAP;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PagesWriteThrottlePolicy.DFLT_THROTTLE_LOG_THRESHOLD;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.FileSnapshotManager.DFLT_SNAPSHOT_DIRECTORY;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.FileSnapshotManager.DFLT_SNAPSHOT_ENABLED;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.FileSnapshotManager.DFLT_SNAPSHOT_THREADS;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.FileSnapshotManager.DFLT_SNAPSHOT_WAL_RETENTION;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.IGNITE_BPLUS_TREE_LOCK_RETRIES_DEFAULT;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.DFLT_CHECKPOINT_TRIGGER_ARCHIVE_SIZE_PERCENTAGE;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.DFLT_THRESHOLD_WAIT_TIME_NEXT_WAL_SEGMENT;
@@ -133,6 +144,9 @@ import static org.apache.ignite.internal.util.GridUnsafe.DFLT_MEMORY_PER_BYTE_CO
 import static org.apache.ignite.internal.util.IgniteExceptionRegistry.DEFAULT_QUEUE_SIZE;
 import static org.apache.ignite.internal.util.IgniteUtils.DFLT_MBEAN_APPEND_CLASS_LOADER_ID;
 import static org.apache.ignite.internal.util.StripedExecutor.DFLT_DATA_STREAMING_EXECUTOR_SERVICE_TASKS_STEALING_THRESHOLD;
+import static org.apache.ignite.internal.util.StripedExecutor.DFLT_STRIPED_POOL_BUSY_POLL_TIME;
+import static org.apache.ignite.internal.util.StripedExecutor.DFLT_STRIPED_POOL_QUEUE_TIME_METRICS;
+import static org.apache.ignite.internal.util.StripedExecutor.DFLT_STRIPED_POOL_WORK_STEALING;
 import static org.apache.ignite.internal.util.nio.GridNioRecoveryDescriptor.DFLT_NIO_RECOVERY_DESCRIPTOR_RESERVATION_TIMEOUT;
 import static org.apache.ignite.internal.util.nio.GridNioServer.DFLT_IO_BALANCE_PERIOD;
 import static org.apache.ignite.internal.util.tostring.GridToStringBuilder.DFLT_SENSITIVE_DATA_LOGGING;
@@ -1085,6 +1099,14 @@ public final class IgniteSystemProperties {
         + "when resolving local node's addresses", defaults = "true")
     public static final String IGNITE_IGNORE_LOCAL_HOST_NAME = "IGNITE_IGNORE_LOCAL_HOST_NAME";
 
+    /**
+     * When set to {@code true} (default), a message sent to several nodes at once is serialized once per direct
+     * protocol version and the same bytes are written to every connection.
+     */
+    @SystemProperty(value = "Enables single serialization of messages sent to several nodes at once",
+        defaults = "" + DFLT_IO_BROADCAST_PRE_MARSHALLING)
+    public static final String IGNITE_IO_BROADCAST_PRE_MARSHALLING = "IGNITE_IO_BROADCAST_PRE_MARSHALLING";
+
     /** */
     @SystemProperty(value = "IO balance period in milliseconds", type = Long.class,
         defaults = "" + DFLT_IO_BALANCE_PERIOD)
@@ -1157,6 +1179,42 @@ public final class IgniteSystemProperties {
         "remove this amount of expired entries", type = Integer.class, defaults = "" + DFLT_TTL_EXPIRE_BATCH_SIZE)
     public static final String IGNITE_TTL_EXPIRE_BATCH_SIZE = "IGNITE_TTL_EXPIRE_BATCH_SIZE";
 
+    /**
+     * Number of threads removing expired entries of caches with eager TTL. Expired entries are taken from the shared
+     * evict queue, so several threads process them in parallel. Defaults to {@code 1}.
+     */
+    @SystemProperty(value = "Number of threads removing expired entries of caches with eager TTL",
+        type = Integer.class, defaults = "" + DFLT_TTL_CLEANUP_THREADS)
+    public static final String IGNITE_TTL_CLEANUP_THREADS = "IGNITE_TTL_CLEANUP_THREADS";
+
+    /**
+     * Mean number of read and update requests per recorded sample of hot keys detection on primary nodes.
+     * Hot keys are exported by the {@code hotKeys} system view. Defaults to {@code 0}, which disables hot keys
+     * detection unless {@link #IGNITE_HOT_KEYS_GET_COALESCING} is enabled, see its description. A value of {@code 16}
+     * or more keeps the sampling overhead negligible.
+     */
+    @SystemProperty(value = "Mean number of requests per recorded sample of hot keys detection, 0 disables " +
+        "the detection", type = Integer.class, defaults = "" + DFLT_HOT_KEYS_SAMPLING_INTERVAL)
+    public static final String IGNITE_HOT_KEYS_SAMPLING_INTERVAL = "IGNITE_HOT_KEYS_SAMPLING_INTERVAL";
+
+    /**
+     * Number of sampled requests to a key, after which the key is considered hot. Defaults to {@code 32}.
+     */
+    @SystemProperty(value = "Number of sampled requests to a key, after which the key is considered hot",
+        type = Integer.class, defaults = "" + DFLT_HOT_KEYS_THRESHOLD)
+    public static final String IGNITE_HOT_KEYS_THRESHOLD = "IGNITE_HOT_KEYS_THRESHOLD";
+
+    /**
+     * When set to {@code true}, concurrent get requests of the same hot key received by primary node are served
+     * by a single read of the entry. Defaults to {@code false}.
+     * <p>
+     * Only keys found by hot keys detection are coalesced. If {@link #IGNITE_HOT_KEYS_SAMPLING_INTERVAL} is {@code 0},
+     * enabling coalescing also enables the detection with a sampling interval of {@code 16}.
+     */
+    @SystemProperty(value = "Enables coalescing of concurrent get requests of the same hot key on primary node. " +
+        "Enables hot keys detection if it is disabled", defaults = "" + DFLT_HOT_KEYS_GET_COALESCING)
+    public static final String IGNITE_HOT_KEYS_GET_COALESCING = "IGNITE_HOT_KEYS_GET_COALESCING";
+
     /**
      * Indexing discovery history size. Protects from duplicate messages maintaining the list of IDs of recently
      * arrived discovery messages.
@@ -1219,6 +1277,60 @@ public final class IgniteSystemProperties {
         type = Integer.class, defaults = "" + DFLT_IGNITE_CHECKPOINT_MAP_SNAPSHOT_THRESHOLD)
     public static final String IGNITE_CHECKPOINT_MAP_SNAPSHOT_THRESHOLD = "IGNITE_CHECKPOINT_MAP_SNAPSHOT_THRESHOLD";
 
+    /**
+     * Enables page-level cache snapshots on server nodes with persistence. Changed pages are tracked only while
+     * snapshots are enabled, so an incremental snapshot taken after the node was run with snapshots disabled may
+     * miss changes: take a full snapshot after enabling snapshots again.
+     * Default is {@code false}.
+     */
+    @SystemProperty(value = "Enables page-level cache snapshots on server nodes with persistence",
+        defaults = "" + DFLT_SNAPSHOT_ENABLED)
+    public static final String IGNITE_SNAPSHOT_ENABLED = "IGNITE_SNAPSHOT_ENABLED";
+
+    /**
+     * Directory where page-level cache snapshots are stored. Relative path is resolved against Ignite work directory.
+     * Default is {@code snapshots}.
+     */
+    @SystemProperty(value = "Directory where page-level cache snapshots are stored. Relative path is resolved " +
+        "against Ignite work directory", type = String.class, defaults = DFLT_SNAPSHOT_DIRECTORY)
+    public static final String IGNITE_SNAPSHOT_DIRECTORY = "IGNITE_SNAPSHOT_DIRECTORY";
+
+    /**
+     * Number of threads copying partitions on snapshot creation and restore.
+     * Default is {@code 4}.
+     */
+    @SystemProperty(value = "Number of threads copying partitions on snapshot creation and restore",
+        type = Integer.class, defaults = "" + DFLT_SNAPSHOT_THREADS)
+    public static final String IGNITE_SNAPSHOT_THREADS = "IGNITE_SNAPSHOT_THREADS";
+
+    /**
+     * Whether WAL since the last page-level cache snapshot is reserved for point-in-time recovery to consistent cuts.
+     * Reserved segments are not removed from WAL archive until the next snapshot is taken, so the archive may grow
+     * beyond {@link DataStorageConfiguration#getMaxWalArchiveSize()} if snapshots are rare.
+     * Default is {@code false}.
+     */
+    @SystemProperty(value = "Whether WAL since the last page-level cache snapshot is reserved for point-in-time " +
+        "recovery to consistent cuts. Reserved segments are not removed from WAL archive until the next snapshot " +
+        "is taken", defaults = "" + DFLT_SNAPSHOT_WAL_RETENTION)
+    public static final String IGNITE_SNAPSHOT_WAL_RETENTION = "IGNITE_SNAPSHOT_WAL_RETENTION";
+
+    /**
+     * Online defragmentation moves rows out of data pages filled less than this value in percent.
+     * Default is {@code 50}.
+     */
+    @SystemProperty(value = "Online defragmentation moves rows out of data pages filled less than this value " +
+        "in percent", type = Integer.class, defaults = "" + DFLT_ONLINE_DEFRAGMENTATION_PAGE_FILL_THRESHOLD)
+    public static final String IGNITE_ONLINE_DEFRAGMENTATION_PAGE_FILL_THRESHOLD =
+        "IGNITE_ONLINE_DEFRAGMENTATION_PAGE_FILL_THRESHOLD";
+
+    /**
+     * Maximum number of rows moved by online defragmentation per second, {@code 0} means unlimited.
+     * Default is {@code 10000}.
+     */
+    @SystemProperty(value = "Maximum number of rows moved by online defragmentation per second, 0 means unlimited",
+        type = Integer.class, defaults = "" + DFLT_ONLINE_DEFRAGMENTATION_RATE_LIMIT)
+    public static final String IGNITE_ONLINE_DEFRAGMENTATION_RATE_LIMIT = "IGNITE_ONLINE_DEFRAGMENTATION_RATE_LIMIT";
+
     /** Ignite page memory concurrency level. */
     @SystemProperty(value = "Ignite page memory concurrency level", type = Integer.class)
     public static final String IGNITE_OFFHEAP_LOCK_CONCURRENCY_LEVEL = "IGNITE_OFFHEAP_LOCK_CONCURRENCY_LEVEL";
@@ -1317,6 +1429,40 @@ public final class IgniteSystemProperties {
     public static final String IGNITE_DATA_STREAMING_EXECUTOR_SERVICE_TASKS_STEALING_THRESHOLD =
             "IGNITE_DATA_STREAMING_EXECUTOR_SERVICE_TASKS_STEALING_THRESHOLD";
 
+    /**
+     * When set to {@code true}, idle stripes of the striped pool steal order-insensitive tasks (e.g. messages
+     * declared as {@link org.apache.ignite.internal.OrderInsensitiveMessage}) queued to busy stripes.
+     * <p>
+     * Default value is {@code false}.
+     */
+    @SystemProperty(value = "Enables stealing of order-insensitive tasks by idle stripes of the striped pool",
+        defaults = "" + DFLT_STRIPED_POOL_WORK_STEALING)
+    public static final String IGNITE_STRIPED_POOL_WORK_STEALING = "IGNITE_STRIPED_POOL_WORK_STEALING";
+
+    /**
+     * When set to {@code true}, the striped pool and the data streamer pool measure the time tasks spend in the
+     * queue of every stripe and expose it as {@code Stripe<N>QueueTime} histograms of the pool metric registry.
+     * Measuring wraps every submitted task, so it is disabled by default.
+     * <p>
+     * Default value is {@code false}.
+     */
+    @SystemProperty(value = "Enables histograms of the time tasks spend in the queues of the striped pool and " +
+        "the data streamer pool stripes", defaults = "" + DFLT_STRIPED_POOL_QUEUE_TIME_METRICS)
+    public static final String IGNITE_STRIPED_POOL_QUEUE_TIME_METRICS = "IGNITE_STRIPED_POOL_QUEUE_TIME_METRICS";
+
+    /**
+     * Time in microseconds an idle stripe of the striped pool processing cache messages keeps polling its queue
+     * before parking. Other pools, including the data streamer pool, are not affected. Busy polling removes unpark
+     * latency from the message processing path at the cost of a CPU core per stripe, so it makes sense for
+     * latency-critical deployments only, usually along with
+     * {@link org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi#setSelectorSpins(long)}.
+     * <p>
+     * Default value is {@code 0} (stripe parks after a short spin).
+     */
+    @SystemProperty(value = "Time in microseconds an idle stripe of the striped pool processing cache messages " +
+        "keeps polling its queue before parking", type = Long.class, defaults = "" + DFLT_STRIPED_POOL_BUSY_POLL_TIME)
+    public static final String IGNITE_STRIPED_POOL_BUSY_POLL_TIME = "IGNITE_STRIPED_POOL_BUSY_POLL_TIME";
+
     /**
      * If this property is set, then Ignite will use Async File IO factory by default.
      */
@@ -1339,7 +1485,8 @@ public final class IgniteSystemProperties {
     /**
      * Property for setup WAL serializer version.
      */
-    @SystemProperty(value = "WAL serializer version", type = Integer.class,
+    @SystemProperty(value = "WAL serializer version. Latest version uses CRC32C record checksums and is used by " +
+        "default on Java 9+, previous version 2 is used by default on Java 8", type = Integer.class,
         defaults = "" + LATEST_SERIALIZER_VERSION)
     public static final String IGNITE_WAL_SERIALIZER_VERSION = "IGNITE_WAL_SERIALIZER_VERSION";
 
@@ -116,6 +116,9 @@ public final class ContinuousQuery<K, V> extends AbstractContinuousQuery<K, V> {
     /** Remote filter. */
     private CacheEntryEventSerializableFilter<K, V> rmtFilter;
 
+    /** Conflation flag. */
+    private boolean conflate;
+
     /**
      * Creates new continuous query.
      */
@@ -195,6 +198,44 @@ public final class ContinuousQuery<K, V> extends AbstractContinuousQuery<K, V> {
         return rmtFilter;
     }
 
+    /**
+     * Sets conflation flag.
+     * <p>
+     * If {@code true}, then events that wait on a primary node to be sent to the master node are merged
+     * per key: a newer event for a key replaces the pending one, so the local listener gets only the latest
+     * value of frequently updated keys. Pending events are sent no more often than once per
+     * {@link #setTimeInterval(long) time interval} or when {@link #setPageSize(int) page size} distinct
+     * events are pending, which allows to limit the delivery rate for slow listeners.
+     * <p>
+     * Merged events are delivered as a single event with the latest value and the old value of the last
+     * update. Update counters of the merged events are still accounted, so the query keeps its delivery
+     * guarantees on node failures. An event is merged only while the next update of its partition is pending
+     * in the same batch, so some intermediate values may still be delivered.
+     * <p>
+     * Conflation requires a positive time interval and is not supported together with
+     * {@link #setRemoteFilter(CacheEntryEventSerializableFilter)}. Events for partitions located on the node
+     * that executed the query are not conflated.
+     * <p>
+     * Default value for this flag is {@code false}.
+     *
+     * @param conflate Conflation flag.
+     * @return {@code this} for chaining.
+     */
+    public ContinuousQuery<K, V> setConflate(boolean conflate) {
+        this.conflate = conflate;
+
+        return this;
+    }
+
+    /**
+     * Gets conflation flag.
+     *
+     * @return Conflation flag.
+     */
+    public boolean isConflate() {
+        return conflate;
+    }
+
     /** {@inheritDoc} */
     @Override public ContinuousQuery<K, V> setTimeInterval(long timeInterval) {
         return (ContinuousQuery<K, V>)super.setTimeInterval(timeInterval);
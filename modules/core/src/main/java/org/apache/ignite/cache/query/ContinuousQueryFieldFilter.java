@@ -0,0 +1,317 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.cache.query;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.cache.configuration.Factory;
+import javax.cache.event.CacheEntryEvent;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.CacheEntryEventSerializableFilter;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Declarative remote filter for continuous queries which accepts events whose value fields satisfy
+ * all the given conditions.
+ * <p>
+ * Unlike an arbitrary {@link javax.cache.event.CacheEntryEventFilter}, this filter is understood by the cache:
+ * queries with such filters are indexed by one of their conditions (an equality condition is preferred), so
+ * an update evaluates only the filters of the queries it can match. It makes a large number of
+ * continuous queries with selective filters on the same cache cheap. Fields are read from the binary form
+ * of values, so value classes are not needed on server nodes.
+ * <p>
+ * Example:
+ * <pre name="code" class="java">
+ * ContinuousQuery&lt;Long, Trade&gt; qry = new ContinuousQuery&lt;&gt;();
+ *
+ * qry.setRemoteFilterFactory(new ContinuousQueryFieldFilter&lt;Long, Trade&gt;()
+ *     .eq("accountId", 42L)
+ *     .ge("amount", 1000.0));
+ * </pre>
+ * Condition values must be of the same type as the fields, for example {@code 42L} for a {@code long} field.
+ * The value of a {@link javax.cache.event.EventType#REMOVED} event is the removed value.
+ *
+ * @see ContinuousQuery#setRemoteFilterFactory(Factory)
+ */
+public final class ContinuousQueryFieldFilter<K, V> implements CacheEntryEventSerializableFilter<K, V>,
+    Factory<ContinuousQueryFieldFilter<K, V>> {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Conditions. */
+    private final List<Condition> conds = new ArrayList<>();
+
+    /**
+     * Adds a condition which accepts values with the field equal to the given value.
+     *
+     * @param field Field name.
+     * @param val Field value.
+     * @return {@code this} for chaining.
+     */
+    public ContinuousQueryFieldFilter<K, V> eq(String field, Object val) {
+        A.notNull(field, "field");
+        A.notNull(val, "val");
+
+        conds.add(new Condition(field, val, null, false, null, false));
+
+        return this;
+    }
+
+    /**
+     * Adds a condition which accepts values with the field in the given range.
+     *
+     * @param field Field name.
+     * @param from Lower bound or {@code null} if the range is not bounded from below.
+     * @param fromInclusive Whether the lower bound is inclusive.
+     * @param to Upper bound or {@code null} if the range is not bounded from above.
+     * @param toInclusive Whether the upper bound is inclusive.
+     * @return {@code this} for chaining.
+     */
+    public ContinuousQueryFieldFilter<K, V> between(
+        String field,
+        @Nullable Comparable<?> from,
+        boolean fromInclusive,
+        @Nullable Comparable<?> to,
+        boolean toInclusive
+    ) {
+        A.notNull(field, "field");
+        A.ensure(from != null || to != null, "from != null || to != null");
+
+        conds.add(new Condition(field, null, from, fromInclusive, to, toInclusive));
+
+        return this;
+    }
+
+    /**
+     * Adds a condition which accepts values with the field greater than the given value.
+     *
+     * @param field Field name.
+     * @param val Field value.
+     * @return {@code this} for chaining.
+     */
+    public ContinuousQueryFieldFilter<K, V> gt(String field, Comparable<?> val) {
+        return between(field, val, false, null, false);
+    }
+
+    /**
+     * Adds a condition which accepts values with the field greater than or equal to the given value.
+     *
+     * @param field Field name.
+     * @param val Field value.
+     * @return {@code this} for chaining.
+     */
+    public ContinuousQueryFieldFilter<K, V> ge(String field, Comparable<?> val) {
+        return between(field, val, true, null, false);
+    }
+
+    /**
+     * Adds a condition which accepts values with the field less than the given value.
+     *
+     * @param field Field name.
+     * @param val Field value.
+     * @return {@code this} for chaining.
+     */
+    public ContinuousQueryFieldFilter<K, V> lt(String field, Comparable<?> val) {
+        return between(field, null, false, val, false);
+    }
+
+    /**
+     * Adds a condition which accepts values with the field less than or equal to the given value.
+     *
+     * @param field Field name.
+     * @param val Field value.
+     * @return {@code this} for chaining.
+     */
+    public ContinuousQueryFieldFilter<K, V> le(String field, Comparable<?> val) {
+        return between(field, null, false, val, true);
+    }
+
+    /**
+     * Gets conditions of this filter.
+     *
+     * @return Conditions.
+     */
+    public List<Condition> conditions() {
+        return Collections.unmodifiableList(conds);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean evaluate(CacheEntryEvent<? extends K, ? extends V> evt) {
+        return matches(evt.getValue());
+    }
+
+    /**
+     * Checks whether the value satisfies all conditions of this filter.
+     *
+     * @param val Value, either a {@link BinaryObject} or a deserialized object.
+     * @return {@code True} if the value satisfies all conditions.
+     */
+    public boolean matches(@Nullable Object val) {
+        if (val == null)
+            return false;
+
+        for (Condition cond : conds) {
+            if (!cond.matches(fieldValue(val, cond.field())))
+                return false;
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public ContinuousQueryFieldFilter<K, V> create() {
+        return this;
+    }
+
+    /**
+     * @param val Value.
+     * @param field Field name.
+     * @return Field value or {@code null} if the value does not have the field.
+     */
+    @Nullable public static Object fieldValue(Object val, String field) {
+        try {
+            if (val instanceof BinaryObject)
+                return ((BinaryObject)val).field(field);
+
+            return U.field(val, field);
+        }
+        catch (IgniteException ignored) {
+            return null;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ContinuousQueryFieldFilter.class, this);
+    }
+
+    /**
+     * Condition on a value field.
+     */
+    public static final class Condition implements Serializable {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Field name. */
+        private final String field;
+
+        /** Value for equality condition. */
+        private final Object val;
+
+        /** Lower bound. */
+        private final Comparable<Object> from;
+
+        /** Lower bound inclusive flag. */
+        private final boolean fromInclusive;
+
+        /** Upper bound. */
+        private final Comparable<Object> to;
+
+        /** Upper bound inclusive flag. */
+        private final boolean toInclusive;
+
+        /**
+         * @param field Field name.
+         * @param val Value for equality condition.
+         * @param from Lower bound.
+         * @param fromInclusive Lower bound inclusive flag.
+         * @param to Upper bound.
+         * @param toInclusive Upper bound inclusive flag.
+         */
+        private Condition(
+            String field,
+            Object val,
+            Comparable<?> from,
+            boolean fromInclusive,
+            Comparable<?> to,
+            boolean toInclusive
+        ) {
+            this.field = field;
+            this.val = val;
+            this.from = (Comparable<Object>)from;
+            this.fromInclusive = fromInclusive;
+            this.to = (Comparable<Object>)to;
+            this.toInclusive = toInclusive;
+        }
+
+        /**
+         * @return Field name.
+         */
+        public String field() {
+            return field;
+        }
+
+        /**
+         * @return {@code True} if this is an equality condition.
+         */
+        public boolean isEquality() {
+            return val != null;
+        }
+
+        /**
+         * @return Value for equality condition or {@code null} for range condition.
+         */
+        @Nullable public Object value() {
+            return val;
+        }
+
+        /**
+         * @param fieldVal Field value.
+         * @return {@code True} if the field value satisfies this condition.
+         */
+        public boolean matches(@Nullable Object fieldVal) {
+            if (fieldVal == null)
+                return false;
+
+            if (val != null)
+                return F.eq(val, fieldVal);
+
+            try {
+                if (from != null) {
+                    int cmp = from.compareTo(fieldVal);
+
+                    if (cmp > 0 || cmp == 0 && !fromInclusive)
+                        return false;
+                }
+
+                if (to != null) {
+                    int cmp = to.compareTo(fieldVal);
+
+                    if (cmp < 0 || cmp == 0 && !toInclusive)
+                        return false;
+                }
+            }
+            catch (ClassCastException ignored) {
+                return false;
+            }
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Condition.class, this);
+        }
+    }
+}
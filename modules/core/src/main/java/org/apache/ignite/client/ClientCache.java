@@ -32,6 +32,9 @@ import org.apache.ignite.cache.query.Query;
 import org.apache.ignite.cache.query.QueryCursor;
 import org.apache.ignite.cache.query.ScanQuery;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientNearCacheConfiguration;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Thin client cache.
@@ -786,4 +789,14 @@ public interface ClientCache<K, V> {
      *         listener.
      */
     public void deregisterCacheEntryListener(CacheEntryListenerConfiguration<K, V> cacheEntryListenerConfiguration);
+
+    /**
+     * Gets metrics of the near cache of this cache.
+     *
+     * @return Near cache metrics or {@code null} if there is no near cache configured for this cache.
+     * @see ClientConfiguration#setNearCacheConfigurations(ClientNearCacheConfiguration...)
+     */
+    @Nullable public default ClientNearCacheMetrics nearCacheMetrics() {
+        return null;
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+import org.apache.ignite.configuration.ClientNearCacheConfiguration;
+
+/**
+ * Metrics of a thin client near cache.
+ *
+ * @see ClientNearCacheConfiguration
+ */
+public interface ClientNearCacheMetrics {
+    /**
+     * @return Number of reads served by the near cache.
+     */
+    public long getHits();
+
+    /**
+     * @return Number of reads which were not found in the near cache and were sent to the server.
+     */
+    public long getMisses();
+
+    /**
+     * @return Ratio of reads served by the near cache, from {@code 0} to {@code 1}.
+     */
+    public double getHitRatio();
+
+    /**
+     * @return Number of invalidation notifications received from the server.
+     */
+    public long getInvalidations();
+
+    /**
+     * Gets average time between completion of a write made by this client and receipt of the invalidation
+     * notification for it. Until the notification is received, other clients may read the previous value
+     * from their near caches.
+     *
+     * @return Average invalidation lag in milliseconds.
+     */
+    public double getAverageInvalidationLag();
+
+    /**
+     * @return Current number of entries in the near cache.
+     */
+    public int getSize();
+}
@@ -170,6 +170,12 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
     /** Default write coalescing for write-behind cache store. */
     public static final boolean DFLT_WRITE_BEHIND_COALESCING = true;
 
+    /** Default value for 'writeBehindJournalEnabled' flag. */
+    public static final boolean DFLT_WRITE_BEHIND_JOURNAL_ENABLED = false;
+
+    /** Default maximum size of write-behind journal in bytes ({@code 0} means unlimited). */
+    public static final long DFLT_WRITE_BEHIND_JOURNAL_MAX_SIZE = 0;
+
     /** Default maximum number of query iterators that can be stored. */
     public static final int DFLT_MAX_QUERY_ITERATOR_CNT = 1024;
 
@@ -179,6 +185,9 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
     /** Default value for 'readFromBackup' flag. */
     public static final boolean DFLT_READ_FROM_BACKUP = true;
 
+    /** Default value for 'adaptiveReplicaSelection' flag. */
+    public static final boolean DFLT_ADAPTIVE_REPLICA_SELECTION = false;
+
     /** Filter that accepts all nodes. */
     public static final IgnitePredicate<ClusterNode> ALL_NODES = new IgniteAllNodesPredicate();
 
@@ -336,6 +345,12 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
     /** Write coalescing flag for write-behind cache store */
     private boolean writeBehindCoalescing = DFLT_WRITE_BEHIND_COALESCING;
 
+    /** Write-behind journal flag. */
+    private boolean writeBehindJournalEnabled = DFLT_WRITE_BEHIND_JOURNAL_ENABLED;
+
+    /** Maximum size of write-behind journal in bytes. */
+    private long writeBehindJournalMaxSize = DFLT_WRITE_BEHIND_JOURNAL_MAX_SIZE;
+
     /** Maximum number of query iterators that can be stored. */
     private int maxQryIterCnt = DFLT_MAX_QUERY_ITERATOR_CNT;
 
@@ -369,6 +384,9 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
      */
     private boolean readFromBackup = DFLT_READ_FROM_BACKUP;
 
+    /** Flag indicating whether replicas for reads are selected by their response times. */
+    private boolean adaptiveReplicaSelection = DFLT_ADAPTIVE_REPLICA_SELECTION;
+
     /** Node filter specifying nodes on which this cache should be deployed. */
     private IgnitePredicate<ClusterNode> nodeFilter;
 
@@ -494,6 +512,7 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
         qryEntities = cc.getQueryEntities() == Collections.<QueryEntity>emptyList() ? null : cc.getQueryEntities();
         qryParallelism = cc.getQueryParallelism();
         readFromBackup = cc.isReadFromBackup();
+        adaptiveReplicaSelection = cc.isAdaptiveReplicaSelection();
         rebalanceBatchSize = cc.getRebalanceBatchSize();
         rebalanceBatchesPrefetchCnt = cc.getRebalanceBatchesPrefetchCount();
         rebalanceDelay = cc.getRebalanceDelay();
@@ -517,6 +536,8 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
         writeBehindFlushFreq = cc.getWriteBehindFlushFrequency();
         writeBehindFlushSize = cc.getWriteBehindFlushSize();
         writeBehindFlushThreadCnt = cc.getWriteBehindFlushThreadCount();
+        writeBehindJournalEnabled = cc.isWriteBehindJournalEnabled();
+        writeBehindJournalMaxSize = cc.getWriteBehindJournalMaxSize();
         writeSync = cc.getWriteSynchronizationMode();
         storeConcurrentLoadAllThreshold = cc.getStoreConcurrentLoadAllThreshold();
         maxQryIterCnt = cc.getMaxQueryIteratorsCount();
@@ -1536,6 +1557,68 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
         return this;
     }
 
+    /**
+     * Flag indicating whether pending write-behind updates are persisted to a journal on local disk.
+     * <p/>
+     * When enabled, every update scheduled for the write-behind store is appended to a journal in
+     * the {@code write-behind} folder of the work directory before it is acknowledged. Updates that were not
+     * flushed to the underlying store are replayed after the node restarts, so they are not lost if the node
+     * is stopped or crashes while the store is slow or unavailable. Replayed updates may be written to the
+     * underlying store more than once, so the store should apply them idempotently. The journal belongs to
+     * the node, updates are not transferred to other nodes on failover. Nodes should have stable consistent IDs,
+     * see {@link IgniteConfiguration#getConsistentId()}.
+     * <p/>
+     * Requires write coalescing, see {@link #getWriteBehindCoalescing()}.
+     * <p/>
+     * If not provided, default value is {@link #DFLT_WRITE_BEHIND_JOURNAL_ENABLED}.
+     *
+     * @return Write-behind journal flag.
+     */
+    public boolean isWriteBehindJournalEnabled() {
+        return writeBehindJournalEnabled;
+    }
+
+    /**
+     * Sets flag indicating whether pending write-behind updates are persisted to a journal on local disk.
+     *
+     * @param writeBehindJournalEnabled Write-behind journal flag.
+     * @see #isWriteBehindJournalEnabled()
+     * @return {@code this} for chaining.
+     */
+    public CacheConfiguration<K, V> setWriteBehindJournalEnabled(boolean writeBehindJournalEnabled) {
+        this.writeBehindJournalEnabled = writeBehindJournalEnabled;
+
+        return this;
+    }
+
+    /**
+     * Maximum size in bytes of pending updates in write-behind journal. When the size of updates not yet
+     * flushed to the underlying store exceeds this value, cache updates flush pending values synchronously
+     * until the journal shrinks below the limit.
+     * <p/>
+     * If not provided, default value is {@link #DFLT_WRITE_BEHIND_JOURNAL_MAX_SIZE}, which means the size
+     * is not limited.
+     *
+     * @return Maximum size of write-behind journal in bytes.
+     * @see #isWriteBehindJournalEnabled()
+     */
+    public long getWriteBehindJournalMaxSize() {
+        return writeBehindJournalMaxSize;
+    }
+
+    /**
+     * Sets maximum size in bytes of pending updates in write-behind journal.
+     *
+     * @param writeBehindJournalMaxSize Maximum size of write-behind journal in bytes, {@code 0} for unlimited.
+     * @see #getWriteBehindJournalMaxSize()
+     * @return {@code this} for chaining.
+     */
+    public CacheConfiguration<K, V> setWriteBehindJournalMaxSize(long writeBehindJournalMaxSize) {
+        this.writeBehindJournalMaxSize = writeBehindJournalMaxSize;
+
+        return this;
+    }
+
     /**
      * Use {@link IgniteConfiguration#getRebalanceThreadPoolSize()} instead.
      *
@@ -1762,6 +1845,36 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
         return this;
     }
 
+    /**
+     * Gets flag indicating whether remote reads choose a replica by its recent response times.
+     * <p>
+     * If enabled together with {@link #isReadFromBackup()}, a get request is sent to the owner of the partition
+     * with the lowest score, which is the average response time of the node multiplied by the number of requests
+     * awaiting its response. If a response to a single key get does not come in the time the node usually
+     * responds in, the request is also sent to another owner and the first response is used. Reads in
+     * transactions are not hedged.
+     * <p>
+     * Default value is defined by {@link #DFLT_ADAPTIVE_REPLICA_SELECTION}.
+     *
+     * @return {@code true} if replicas for reads are selected by their response times.
+     */
+    public boolean isAdaptiveReplicaSelection() {
+        return adaptiveReplicaSelection;
+    }
+
+    /**
+     * Sets flag indicating whether remote reads choose a replica by its recent response times.
+     *
+     * @param adaptiveReplicaSelection {@code true} to select replicas for reads by their response times.
+     * @return {@code this} for chaining.
+     * @see #isAdaptiveReplicaSelection()
+     */
+    public CacheConfiguration<K, V> setAdaptiveReplicaSelection(boolean adaptiveReplicaSelection) {
+        this.adaptiveReplicaSelection = adaptiveReplicaSelection;
+
+        return this;
+    }
+
     /**
      * Gets the flag indicating whether a copy of the value stored in the on-heap cache
      * (see {@link #isOnheapCacheEnabled()} should be created for a cache operation return the value.
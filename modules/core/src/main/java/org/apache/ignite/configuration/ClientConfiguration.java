@@ -145,6 +145,9 @@ public final class ClientConfiguration implements Serializable {
     /** Logger. */
     private IgniteLogger logger;
 
+    /** Near cache configurations. */
+    private ClientNearCacheConfiguration[] nearCacheCfgs;
+
     /**
      * @return Host addresses.
      */
@@ -786,4 +789,26 @@ public final class ClientConfiguration implements Serializable {
     public IgniteLogger getLogger() {
         return logger;
     }
+
+    /**
+     * Gets near cache configurations.
+     *
+     * @return Near cache configurations.
+     */
+    public ClientNearCacheConfiguration[] getNearCacheConfigurations() {
+        return nearCacheCfgs;
+    }
+
+    /**
+     * Sets near cache configurations. Near caches are created for the caches with the given names and keep
+     * recently read entries on the client side. See {@link ClientNearCacheConfiguration} for details.
+     *
+     * @param nearCacheCfgs Near cache configurations.
+     * @return {@code this} for chaining.
+     */
+    public ClientConfiguration setNearCacheConfigurations(ClientNearCacheConfiguration... nearCacheCfgs) {
+        this.nearCacheCfgs = nearCacheCfgs;
+
+        return this;
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.configuration;
+
+import java.io.Serializable;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Thin client near cache configuration.
+ * <p>
+ * Near cache keeps recently read entries of a cache on the client side, so repeated reads of the same keys
+ * are served without a network round trip. The near cache is kept coherent with the cluster by invalidation
+ * notifications pushed by the server, and it is bypassed until the subscription to the notifications is
+ * established. The near cache is also bypassed by transactional operations and by {@code withKeepBinary()}
+ * and {@code withExpiryPolicy()} cache views.
+ * <p>
+ * Values are kept deserialized and returned as is, so they must not be modified by the application.
+ * Keys must properly implement {@link Object#equals(Object)} and {@link Object#hashCode()}.
+ */
+public class ClientNearCacheConfiguration implements Serializable {
+    /** Serial version uid. */
+    private static final long serialVersionUID = 0L;
+
+    /** Default maximum number of entries in the near cache. */
+    public static final int DFLT_MAX_SIZE = 10_000;
+
+    /** Cache name. */
+    private String cacheName;
+
+    /** Maximum number of entries. */
+    private int maxSize = DFLT_MAX_SIZE;
+
+    /**
+     * Empty constructor.
+     */
+    public ClientNearCacheConfiguration() {
+        // No-op.
+    }
+
+    /**
+     * @param cacheName Cache name.
+     */
+    public ClientNearCacheConfiguration(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    /**
+     * @param cfg Configuration to copy.
+     */
+    public ClientNearCacheConfiguration(ClientNearCacheConfiguration cfg) {
+        cacheName = cfg.getCacheName();
+        maxSize = cfg.getMaxSize();
+    }
+
+    /**
+     * Gets name of the cache to create the near cache for.
+     *
+     * @return Cache name.
+     */
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * Sets name of the cache to create the near cache for.
+     *
+     * @param cacheName Cache name.
+     * @return {@code this} for chaining.
+     */
+    public ClientNearCacheConfiguration setCacheName(String cacheName) {
+        this.cacheName = cacheName;
+
+        return this;
+    }
+
+    /**
+     * Gets maximum number of entries in the near cache. When the limit is reached, the oldest entries are evicted.
+     * Default value is defined by {@link #DFLT_MAX_SIZE}.
+     *
+     * @return Maximum number of entries.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets maximum number of entries in the near cache. When the limit is reached, the oldest entries are evicted.
+     * Default value is defined by {@link #DFLT_MAX_SIZE}.
+     *
+     * @param maxSize Maximum number of entries.
+     * @return {@code this} for chaining.
+     */
+    public ClientNearCacheConfiguration setMaxSize(int maxSize) {
+        A.ensure(maxSize > 0, "maxSize > 0");
+
+        this.maxSize = maxSize;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ClientNearCacheConfiguration.class, this);
+    }
+}
@@ -104,6 +104,12 @@ public class DataStorageConfiguration implements Serializable {
     /** This name is assigned to default Dataregion if no user-defined default MemPlc is specified */
     public static final String DFLT_DATA_REG_DEFAULT_NAME = "default";
 
+    /** Default time a partition file stays untouched before it is moved to the cold storage, 24 hours. */
+    public static final long DFLT_COLD_PARTITION_IDLE_TIMEOUT = 24 * 60 * 60 * 1000L;
+
+    /** Default size of the cache of pages read from the cold storage, 64 MBytes. */
+    public static final long DFLT_COLD_STORAGE_READ_CACHE_SIZE = 64 * 1024 * 1024;
+
     /** */
     public static final int DFLT_CHECKPOINT_FREQ = 180000;
 
@@ -125,6 +131,9 @@ public class DataStorageConfiguration implements Serializable {
     /** Default checkpoint write order. */
     public static final CheckpointWriteOrder DFLT_CHECKPOINT_WRITE_ORDER = CheckpointWriteOrder.SEQUENTIAL;
 
+    /** Default maximum number of adjacent pages written by checkpoint with a single I/O operation. */
+    public static final int DFLT_CHECKPOINT_MAX_COALESCED_PAGES = 32;
+
     /** Default number of checkpoints to be kept in WAL after checkpoint is finished */
     public static final int DFLT_WAL_HISTORY_SIZE = 20;
 
@@ -158,6 +167,9 @@ public class DataStorageConfiguration implements Serializable {
     /** Default wal always write full pages. */
     public static final boolean DFLT_WAL_ALWAYS_WRITE_FULL_PAGES = false;
 
+    /** Default write recovery data on checkpoint flag. */
+    public static final boolean DFLT_WRITE_RECOVERY_DATA_ON_CHECKPOINT = false;
+
     /** Default wal directory. */
     public static final String DFLT_WAL_PATH = "db/wal";
 
@@ -214,6 +226,15 @@ public class DataStorageConfiguration implements Serializable {
     /** Directory where index and partition files are stored. */
     private String storagePath;
 
+    /** Directory where rarely accessed partition files are moved to. */
+    private String coldStoragePath;
+
+    /** Time a partition file stays untouched before it is moved to the cold storage. */
+    private long coldPartitionIdleTimeout = DFLT_COLD_PARTITION_IDLE_TIMEOUT;
+
+    /** Size of the cache of pages read from the cold storage. */
+    private long coldStorageReadCacheSize = DFLT_COLD_STORAGE_READ_CACHE_SIZE;
+
     /** Checkpoint frequency. */
     private long checkpointFreq = DFLT_CHECKPOINT_FREQ;
 
@@ -226,6 +247,9 @@ public class DataStorageConfiguration implements Serializable {
     /** Checkpoint write order. */
     private CheckpointWriteOrder checkpointWriteOrder = DFLT_CHECKPOINT_WRITE_ORDER;
 
+    /** Maximum number of adjacent pages written by checkpoint with a single I/O operation. */
+    private int checkpointMaxCoalescedPages = DFLT_CHECKPOINT_MAX_COALESCED_PAGES;
+
     /** Number of checkpoints to keep */
     private int walHistSize = DFLT_WAL_HISTORY_SIZE;
 
@@ -241,6 +265,9 @@ public class DataStorageConfiguration implements Serializable {
     /** Directory where WAL is stored (work directory) */
     private String walPath = DFLT_WAL_PATH;
 
+    /** Additional directories WAL work segments are striped across. */
+    private String[] walStripePaths;
+
     /** WAL archive path. */
     private String walArchivePath = DFLT_WAL_ARCHIVE_PATH;
 
@@ -268,6 +295,9 @@ public class DataStorageConfiguration implements Serializable {
     /** Always write full pages. */
     private boolean alwaysWriteFullPages = DFLT_WAL_ALWAYS_WRITE_FULL_PAGES;
 
+    /** Write checkpoint pages to recovery file instead of logging physical records to WAL. */
+    private boolean writeRecoveryDataOnCheckpoint = DFLT_WRITE_RECOVERY_DATA_ON_CHECKPOINT;
+
     /** Factory to provide I/O interface for data storage files */
     private FileIOFactory fileIOFactory =
         IgniteSystemProperties.getBoolean(IGNITE_USE_ASYNC_FILE_IO_FACTORY, DFLT_USE_ASYNC_FILE_IO_FACTORY) ?
@@ -512,6 +542,77 @@ public class DataStorageConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * Gets a path to the root directory of the cold storage. Partition files which are neither read nor written
+     * during {@link #getColdPartitionIdleTimeout()} are compressed and moved there from the storage path.
+     * {@code null} means that partition files are always kept in the storage path.
+     *
+     * @return Cold storage path.
+     */
+    public String getColdStoragePath() {
+        return coldStoragePath;
+    }
+
+    /**
+     * Sets a path to the root directory of the cold storage, usually located on a cheaper and slower device.
+     * Partition files which are neither read nor written during {@link #getColdPartitionIdleTimeout()} are
+     * compressed and moved there from the storage path. Pages of a cold partition are read from the cold storage
+     * on demand. The partition is moved back to the storage path on the first write. By default the cold storage
+     * is disabled.
+     *
+     * @param coldStoragePath Cold storage path, absolute or relative to Ignite work directory.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setColdStoragePath(String coldStoragePath) {
+        this.coldStoragePath = coldStoragePath;
+
+        return this;
+    }
+
+    /**
+     * Gets time in milliseconds a partition file stays untouched before it is moved to the cold storage.
+     *
+     * @return Cold partition idle timeout.
+     */
+    public long getColdPartitionIdleTimeout() {
+        return coldPartitionIdleTimeout;
+    }
+
+    /**
+     * Sets time in milliseconds a partition file stays untouched before it is moved to the cold storage.
+     * Default value is {@link #DFLT_COLD_PARTITION_IDLE_TIMEOUT}.
+     *
+     * @param coldPartitionIdleTimeout Cold partition idle timeout.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setColdPartitionIdleTimeout(long coldPartitionIdleTimeout) {
+        this.coldPartitionIdleTimeout = coldPartitionIdleTimeout;
+
+        return this;
+    }
+
+    /**
+     * Gets size in bytes of the cache of decompressed data read from the cold storage.
+     *
+     * @return Cold storage read cache size.
+     */
+    public long getColdStorageReadCacheSize() {
+        return coldStorageReadCacheSize;
+    }
+
+    /**
+     * Sets size in bytes of the cache of decompressed data read from the cold storage.
+     * Default value is {@link #DFLT_COLD_STORAGE_READ_CACHE_SIZE}.
+     *
+     * @param coldStorageReadCacheSize Cold storage read cache size.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setColdStorageReadCacheSize(long coldStorageReadCacheSize) {
+        this.coldStorageReadCacheSize = coldStorageReadCacheSize;
+
+        return this;
+    }
+
     /**
      * Gets checkpoint frequency.
      *
@@ -717,6 +818,35 @@ public class DataStorageConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * Gets additional directories WAL work segments are striped across.
+     *
+     * @return Additional WAL work directories or {@code null} if WAL work segments are kept in
+     *      {@link #getWalPath()} only.
+     */
+    public String[] getWalStripePaths() {
+        return walStripePaths;
+    }
+
+    /**
+     * Sets additional directories WAL work segments are striped across. If set, work segments are
+     * distributed round-robin over {@link #getWalPath()} and the given directories, so consecutive segments
+     * land on different devices and the write of the current segment does not compete for the disk with
+     * the archiving and formatting of the previous ones. Paths are resolved the same way as
+     * {@link #setWalPath(String)}.
+     * <p>
+     * Striping requires WAL archive located in a separate directory, see {@link #setWalArchivePath(String)}.
+     * A directory must not be removed from the list while it still contains WAL segments.
+     *
+     * @param walStripePaths Additional WAL work directories.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setWalStripePaths(String... walStripePaths) {
+        this.walStripePaths = walStripePaths;
+
+        return this;
+    }
+
     /**
      * Gets a path to the WAL archive directory.
      *
@@ -999,6 +1129,36 @@ public class DataStorageConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * @return Flag that enables writing of checkpoint recovery data instead of physical WAL records.
+     * @see #setWriteRecoveryDataOnCheckpoint(boolean)
+     */
+    public boolean isWriteRecoveryDataOnCheckpoint() {
+        return writeRecoveryDataOnCheckpoint;
+    }
+
+    /**
+     * Sets flag that enables writing of checkpoint recovery data instead of physical WAL records.
+     * <p>
+     * By default every modification of a page is logged to WAL as a page delta record (or as a full page snapshot
+     * on the first modification after checkpoint), so pages can be restored if the node fails in the middle of
+     * checkpoint. When this flag is set, physical records are not logged at all: checkpoint first writes all its pages
+     * to a recovery file in the checkpoint directory and syncs it, and only then writes pages to page stores. If the
+     * node fails in the middle of checkpoint, pages are restored from the recovery file and only logical records are
+     * replayed from WAL. This considerably reduces WAL volume for workloads which modify the same pages many times
+     * between checkpoints at the cost of writing every checkpoint page twice.
+     * <p>
+     * Can't be used together with cache encryption.
+     *
+     * @param writeRecoveryDataOnCheckpoint Write recovery data on checkpoint flag.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setWriteRecoveryDataOnCheckpoint(boolean writeRecoveryDataOnCheckpoint) {
+        this.writeRecoveryDataOnCheckpoint = writeRecoveryDataOnCheckpoint;
+
+        return this;
+    }
+
     /**
      * Factory to provide implementation of FileIO interface
      * which is used for data storage files read/write operations
@@ -1065,6 +1225,31 @@ public class DataStorageConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * Gets maximum number of pages with adjacent indexes in the same partition file which checkpoint merges into
+     * a single write operation. Merging is effective with {@link CheckpointWriteOrder#SEQUENTIAL} write order,
+     * which makes pages of the same partition file go one after another.
+     *
+     * @return Maximum number of coalesced pages.
+     */
+    public int getCheckpointMaxCoalescedPages() {
+        return checkpointMaxCoalescedPages;
+    }
+
+    /**
+     * Sets maximum number of pages with adjacent indexes in the same partition file which checkpoint merges into
+     * a single write operation. Value {@code 1} or less disables merging, so every page is written separately.
+     * Default value is {@link #DFLT_CHECKPOINT_MAX_COALESCED_PAGES}.
+     *
+     * @param checkpointMaxCoalescedPages Maximum number of coalesced pages.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setCheckpointMaxCoalescedPages(int checkpointMaxCoalescedPages) {
+        this.checkpointMaxCoalescedPages = checkpointMaxCoalescedPages;
+
+        return this;
+    }
+
     /**
      * @return Flag indicating whether WAL compaction is enabled.
      */
@@ -39,6 +39,9 @@ public class TransactionConfiguration implements Serializable {
     /** */
     private static final IgniteProductVersion DEADLOCK_TIMEOUT_SINCE = IgniteProductVersion.fromString("8.7.3");
 
+    /** */
+    private static final IgniteProductVersion MSG_BATCH_LINGER_SINCE = IgniteProductVersion.fromString("8.8.126");
+
     /** */
     private static final long serialVersionUID = 0L;
 
@@ -63,6 +66,9 @@ public class TransactionConfiguration implements Serializable {
     /** Default size of pessimistic transactions log. */
     public static final int DFLT_PESSIMISTIC_TX_LOG_LINGER = 10_000;
 
+    /** Default linger of transaction message batches, {@code 0} means that batching is disabled. */
+    public static final long DFLT_MSG_BATCH_LINGER_NANOS = 0;
+
     /** Default transaction serializable flag. */
     private boolean txSerEnabled = DFLT_TX_SERIALIZABLE_ENABLED;
 
@@ -90,6 +96,9 @@ public class TransactionConfiguration implements Serializable {
     /** Pessimistic tx log linger. */
     private int pessimisticTxLogLinger = DFLT_PESSIMISTIC_TX_LOG_LINGER;
 
+    /** Linger of transaction message batches. */
+    private long msgBatchLinger = DFLT_MSG_BATCH_LINGER_NANOS;
+
     /** Name of class implementing GridCacheTmLookup. */
     private String tmLookupClsName;
 
@@ -120,6 +129,7 @@ public class TransactionConfiguration implements Serializable {
         deadlockTimeout = cfg.getDeadlockTimeout();
         pessimisticTxLogLinger = cfg.getPessimisticTxLogLinger();
         pessimisticTxLogSize = cfg.getPessimisticTxLogSize();
+        msgBatchLinger = cfg.getMessageBatchLingerNanos();
         txSerEnabled = cfg.isTxSerializableEnabled();
         tmLookupClsName = cfg.getTxManagerLookupClassName();
         txManagerFactory = cfg.getTxManagerFactory();
@@ -341,6 +351,35 @@ public class TransactionConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * Gets linger of transaction message batches, in nanoseconds.
+     * <p>
+     * When positive, prepare and finish messages of concurrent transactions which are bound for the same node
+     * are coalesced into a single communication message. A message waits for other messages at most this time
+     * before the batch is sent, so the linger bounds extra latency added to a transaction step. Batching trades
+     * latency for throughput and pays off for a high rate of small transactions.
+     * <p>
+     * If not set, default value is {@link #DFLT_MSG_BATCH_LINGER_NANOS} which means that batching is disabled.
+     *
+     * @return Linger of transaction message batches, in nanoseconds.
+     */
+    public long getMessageBatchLingerNanos() {
+        return msgBatchLinger;
+    }
+
+    /**
+     * Sets linger of transaction message batches, in nanoseconds.
+     *
+     * @param msgBatchLinger Linger of transaction message batches, in nanoseconds, {@code 0} disables batching.
+     * @see #getMessageBatchLingerNanos()
+     * @return {@code this} for chaining.
+     */
+    public TransactionConfiguration setMessageBatchLingerNanos(long msgBatchLinger) {
+        this.msgBatchLinger = msgBatchLinger;
+
+        return this;
+    }
+
     /**
      * Gets class name of transaction manager finder for integration for JEE app servers.
      *
@@ -455,7 +494,7 @@ public class TransactionConfiguration implements Serializable {
      */
     @SuppressWarnings("unused")
     private static String[] transientSerializableFields(IgniteProductVersion ver) {
-        ArrayList<String> transients = new ArrayList<>(2);
+        ArrayList<String> transients = new ArrayList<>(3);
 
         if (TX_PME_TIMEOUT_SINCE.compareToIgnoreTimestamp(ver) >= 0)
             transients.add("txTimeoutOnPartitionMapExchange");
@@ -463,6 +502,9 @@ public class TransactionConfiguration implements Serializable {
         if (DEADLOCK_TIMEOUT_SINCE.compareToIgnoreTimestamp(ver) >= 0)
             transients.add("deadlockTimeout");
 
+        if (MSG_BATCH_LINGER_SINCE.compareToIgnoreTimestamp(ver) >= 0)
+            transients.add("msgBatchLinger");
+
         return transients.isEmpty() ? null : transients.toArray(new String[transients.size()]);
     }
 }
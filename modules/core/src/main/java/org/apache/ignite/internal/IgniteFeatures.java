@@ -18,8 +18,11 @@ package org.apache.ignite.internal;
 
 import java.util.BitSet;
 import java.util.Collection;
+import org.apache.ignite.IgniteDataStreamer;
 import org.apache.ignite.IgniteEncryption;
+import org.apache.ignite.cache.query.ContinuousQuery;
 import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.configuration.TransactionConfiguration;
 import org.apache.ignite.internal.managers.discovery.IgniteDiscoverySpi;
 import org.apache.ignite.internal.managers.encryption.GridEncryptionManager;
 import org.apache.ignite.internal.processors.cache.CacheAffinityChangeMessage;
@@ -254,7 +257,19 @@ public enum IgniteFeatures {
     MUTABLE_CACHE_AFFINITY_CHANGE_MESSAGE(66),
 
     /** New DR FST commands handling approach. */
-    NEW_DR_FST_COMMANDS(67);
+    NEW_DR_FST_COMMANDS(67),
+
+    /** Compression of large discovery custom messages sent across the ring. */
+    DISCOVERY_CUSTOM_MESSAGE_COMPRESSION(68),
+
+    /** Conflating delivery mode of continuous queries. See {@link ContinuousQuery#setConflate(boolean)}. */
+    CONTINUOUS_QUERY_CONFLATION(69),
+
+    /** Batches of transaction messages. See {@link TransactionConfiguration#setMessageBatchLingerNanos(long)}. */
+    TX_MESSAGE_BATCHING(70),
+
+    /** Data streamer responses with the receiver load. See {@link IgniteDataStreamer#adaptiveBatching(boolean)}. */
+    DATA_STREAMER_LOAD_RESPONSE(71);
 
     /**
      * Unique feature identifier.
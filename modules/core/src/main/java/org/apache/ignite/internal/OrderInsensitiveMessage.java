@@ -0,0 +1,33 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal;
+
+import org.apache.ignite.plugin.extensions.communication.Message;
+
+/**
+ * Message which processing does not depend on the order of other messages of the same partition. Such message is
+ * still queued to the stripe of its partition, but may be executed by another (idle) stripe of the striped pool
+ * if work-stealing is enabled.
+ *
+ * @see org.apache.ignite.IgniteSystemProperties#IGNITE_STRIPED_POOL_WORK_STEALING
+ */
+public interface OrderInsensitiveMessage extends Message {
+    /**
+     * @return {@code True} if this particular message may be processed out of the partition order.
+     */
+    public boolean orderInsensitive();
+}
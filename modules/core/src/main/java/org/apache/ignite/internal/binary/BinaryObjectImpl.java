@@ -26,6 +26,7 @@ import java.nio.ByteBuffer;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Date;
+import java.util.Map;
 import java.util.UUID;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.binary.BinaryObject;
@@ -312,6 +313,142 @@ public final class BinaryObjectImpl extends BinaryObjectExImpl implements Extern
         return start == 0 && length() == arr.length;
     }
 
+    /**
+     * Creates a copy of this object with new values of primitive fields. Values are written over the serialized
+     * form, other fields are copied as is and the object is not re-marshalled.
+     *
+     * @param fields New values of fields by field names.
+     * @return Patched object or {@code null} if some field is absent or a value is not of the field type,
+     *      so the object should be rebuilt with {@link #toBuilder()}.
+     */
+    @Nullable public BinaryObjectImpl patch(Map<String, ?> fields) {
+        if (!BinaryUtils.hasSchema(BinaryPrimitives.readShort(arr, start + GridBinaryMarshaller.FLAGS_POS)))
+            return null;
+
+        int len = length();
+
+        byte[] arr0 = new byte[len];
+
+        U.arrayCopy(arr, start, arr0, 0, len);
+
+        BinaryObjectImpl res = new BinaryObjectImpl(ctx, arr0, 0);
+
+        for (Map.Entry<String, ?> e : fields.entrySet()) {
+            int order = ctx.createField(typeId(), e.getKey()).fieldOrder(this);
+
+            if (order == BinarySchema.ORDER_NOT_FOUND || !res.writePrimitiveField(res.fieldPosition(order), e.getValue()))
+                return null;
+        }
+
+        BinaryPrimitives.writeInt(arr0, GridBinaryMarshaller.HASH_CODE_POS, ctx.identity(typeId()).hashCode(res));
+
+        return res;
+    }
+
+    /**
+     * @param order Field order.
+     * @return Absolute position of the field in the array.
+     */
+    private int fieldPosition(int order) {
+        int schemaOff = BinaryPrimitives.readInt(arr, start + GridBinaryMarshaller.SCHEMA_OR_RAW_OFF_POS);
+
+        short flags = BinaryPrimitives.readShort(arr, start + GridBinaryMarshaller.FLAGS_POS);
+
+        int fieldIdLen = BinaryUtils.isCompactFooter(flags) ? 0 : BinaryUtils.FIELD_ID_LEN;
+        int fieldOffLen = BinaryUtils.fieldOffsetLength(flags);
+
+        int fieldOffsetPos = start + schemaOff + order * (fieldIdLen + fieldOffLen) + fieldIdLen;
+
+        if (fieldOffLen == BinaryUtils.OFFSET_1)
+            return start + ((int)BinaryPrimitives.readByte(arr, fieldOffsetPos) & 0xFF);
+        else if (fieldOffLen == BinaryUtils.OFFSET_2)
+            return start + ((int)BinaryPrimitives.readShort(arr, fieldOffsetPos) & 0xFFFF);
+        else
+            return start + BinaryPrimitives.readInt(arr, fieldOffsetPos);
+    }
+
+    /**
+     * Writes a value over a primitive field if the value has the same type.
+     *
+     * @param fieldPos Field position.
+     * @param val Value.
+     * @return {@code True} if the value was written.
+     */
+    private boolean writePrimitiveField(int fieldPos, @Nullable Object val) {
+        byte hdr = BinaryPrimitives.readByte(arr, fieldPos);
+
+        int pos = fieldPos + 1;
+
+        switch (hdr) {
+            case GridBinaryMarshaller.LONG:
+                if (!(val instanceof Long))
+                    return false;
+
+                BinaryPrimitives.writeLong(arr, pos, (Long)val);
+
+                return true;
+
+            case GridBinaryMarshaller.INT:
+                if (!(val instanceof Integer))
+                    return false;
+
+                BinaryPrimitives.writeInt(arr, pos, (Integer)val);
+
+                return true;
+
+            case GridBinaryMarshaller.DOUBLE:
+                if (!(val instanceof Double))
+                    return false;
+
+                BinaryPrimitives.writeDouble(arr, pos, (Double)val);
+
+                return true;
+
+            case GridBinaryMarshaller.FLOAT:
+                if (!(val instanceof Float))
+                    return false;
+
+                BinaryPrimitives.writeFloat(arr, pos, (Float)val);
+
+                return true;
+
+            case GridBinaryMarshaller.SHORT:
+                if (!(val instanceof Short))
+                    return false;
+
+                BinaryPrimitives.writeShort(arr, pos, (Short)val);
+
+                return true;
+
+            case GridBinaryMarshaller.BYTE:
+                if (!(val instanceof Byte))
+                    return false;
+
+                BinaryPrimitives.writeByte(arr, pos, (Byte)val);
+
+                return true;
+
+            case GridBinaryMarshaller.BOOLEAN:
+                if (!(val instanceof Boolean))
+                    return false;
+
+                BinaryPrimitives.writeBoolean(arr, pos, (Boolean)val);
+
+                return true;
+
+            case GridBinaryMarshaller.CHAR:
+                if (!(val instanceof Character))
+                    return false;
+
+                BinaryPrimitives.writeChar(arr, pos, (Character)val);
+
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
     /**
      * @param detachAllowed Detach allowed flag.
      */
@@ -0,0 +1,384 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.cache.Cache;
+import javax.cache.event.CacheEntryEvent;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.client.ClientException;
+import org.apache.ignite.client.ClientNearCacheMetrics;
+import org.apache.ignite.configuration.ClientNearCacheConfiguration;
+import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashMap;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Thin client near cache.
+ * <p>
+ * Entries are invalidated by a continuous query on the cache, so the server pushes a notification for every update.
+ * A read which misses the near cache reserves the key before the request is sent and caches the result only if
+ * the reservation is still there when the response is received. An invalidation removes the reservation, so a value
+ * read concurrently with an update is never cached. Notifications may be lost when the channel of the continuous
+ * query is closed, so the near cache is cleared and bypassed until the continuous query is started again.
+ */
+class ClientNearCache implements ClientNearCacheMetrics, AutoCloseable {
+    /** Minimal interval between attempts to start the continuous query. */
+    private static final long START_RETRY_INTERVAL = 1000L;
+
+    /** Configuration. */
+    private final ClientNearCacheConfiguration cfg;
+
+    /** Channel. */
+    private final ReliableChannel ch;
+
+    /** Marshaller. */
+    private final ClientBinaryMarshaller marsh;
+
+    /** Cached values and reservations. */
+    private final Map<Object, Object> entries;
+
+    /** Completion times of writes made by this client which are not invalidated yet. */
+    private final Map<Object, Long> pendingWrites;
+
+    /** Hits. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Misses. */
+    private final LongAdder misses = new LongAdder();
+
+    /** Invalidations. */
+    private final LongAdder invalidations = new LongAdder();
+
+    /** Total lag of invalidations of own writes. */
+    private final LongAdder lagTotal = new LongAdder();
+
+    /** Number of invalidations of own writes. */
+    private final LongAdder lagCnt = new LongAdder();
+
+    /** Invalidation listener handler. */
+    private ClientCacheEntryListenerHandler<Object, Object> hnd;
+
+    /** Whether the near cache is coherent and can be used. */
+    private volatile boolean active;
+
+    /** Closed flag. */
+    private volatile boolean closed;
+
+    /** Time of the last attempt to start the continuous query. */
+    private volatile long lastStartAttempt;
+
+    /**
+     * @param cfg Configuration.
+     * @param ch Channel.
+     * @param marsh Marshaller.
+     */
+    ClientNearCache(ClientNearCacheConfiguration cfg, ReliableChannel ch, ClientBinaryMarshaller marsh) {
+        this.cfg = cfg;
+        this.ch = ch;
+        this.marsh = marsh;
+
+        entries = new GridBoundedConcurrentLinkedHashMap<>(cfg.getMaxSize());
+        pendingWrites = new GridBoundedConcurrentLinkedHashMap<>(cfg.getMaxSize());
+    }
+
+    /**
+     * Checks whether the near cache can be used and starts the invalidation continuous query if needed.
+     *
+     * @param jCacheAdapter JCache adapter of the cache.
+     * @return {@code True} if the near cache is coherent and can be used.
+     */
+    boolean ensureActive(Cache<?, ?> jCacheAdapter) {
+        if (active)
+            return true;
+
+        if (closed || U.currentTimeMillis() - lastStartAttempt < START_RETRY_INTERVAL)
+            return false;
+
+        synchronized (this) {
+            if (active || closed)
+                return active;
+
+            lastStartAttempt = U.currentTimeMillis();
+
+            ClientCacheEntryListenerHandler<Object, Object> hnd = new ClientCacheEntryListenerHandler<>(
+                (Cache<Object, Object>)jCacheAdapter,
+                ch,
+                marsh,
+                true
+            );
+
+            U.closeQuiet(this.hnd);
+
+            this.hnd = hnd;
+
+            try {
+                // Send notifications immediately, include expired entries.
+                hnd.startListen(this::onInvalidated, e -> onDisconnected(hnd), null, 1, 0, true);
+            }
+            catch (ClientException ignored) {
+                this.hnd = null;
+
+                return false;
+            }
+
+            // Entries cached while the near cache was not coherent.
+            clear(entries);
+            clear(pendingWrites);
+
+            active = true;
+
+            return true;
+        }
+    }
+
+    /**
+     * @param key Key.
+     * @return Cached value or {@code null} if the key is not cached.
+     */
+    @Nullable Object get(Object key) {
+        Object val = entries.get(key);
+
+        if (val == null || val instanceof Reservation) {
+            misses.increment();
+
+            return null;
+        }
+
+        hits.increment();
+
+        return val;
+    }
+
+    /**
+     * Reserves a key before reading it from the server.
+     *
+     * @param key Key.
+     * @return Reservation or {@code null} if the key is already reserved.
+     */
+    @Nullable Object reserve(Object key) {
+        Reservation res = new Reservation();
+
+        return entries.putIfAbsent(key, res) == null ? res : null;
+    }
+
+    /**
+     * Caches a value read from the server if the key was not invalidated after reservation.
+     *
+     * @param key Key.
+     * @param res Reservation.
+     * @param val Value read from the server or {@code null} if the read failed or the key was not found.
+     */
+    void complete(Object key, @Nullable Object res, @Nullable Object val) {
+        if (res == null)
+            return;
+
+        if (val == null || !active)
+            entries.remove(key, res);
+        else
+            entries.replace(key, res, val);
+    }
+
+    /**
+     * Invalidates keys before they are written by this client.
+     *
+     * @param keys Keys or {@code null} to invalidate all keys.
+     */
+    void beforeWrite(@Nullable Collection<?> keys) {
+        if (keys == null)
+            clear(entries);
+        else {
+            for (Object key : keys)
+                invalidate(key);
+        }
+    }
+
+    /**
+     * Invalidates keys after they are written by this client.
+     *
+     * @param keys Keys or {@code null} to invalidate all keys.
+     */
+    void afterWrite(@Nullable Collection<?> keys) {
+        beforeWrite(keys);
+
+        if (keys != null && active) {
+            long now = U.currentTimeMillis();
+
+            for (Object key : keys) {
+                Object key0 = unwrap(key);
+
+                if (key0 != null)
+                    pendingWrites.put(key0, now);
+            }
+        }
+    }
+
+    /**
+     * @param key Key.
+     */
+    private void invalidate(Object key) {
+        Object key0 = unwrap(key);
+
+        if (key0 == null)
+            clear(entries);
+        else
+            entries.remove(key0);
+    }
+
+    /**
+     * @param evts Update events.
+     */
+    private void onInvalidated(Iterable<CacheEntryEvent<?, ?>> evts) {
+        for (CacheEntryEvent<?, ?> evt : evts) {
+            Object key = unwrap(evt.getKey());
+
+            invalidations.increment();
+
+            if (key == null) {
+                clear(entries);
+
+                continue;
+            }
+
+            entries.remove(key);
+
+            Long writeTime = pendingWrites.remove(key);
+
+            if (writeTime != null) {
+                lagTotal.add(Math.max(0, U.currentTimeMillis() - writeTime));
+                lagCnt.increment();
+            }
+        }
+    }
+
+    /**
+     * @param hnd Handler of the disconnected continuous query.
+     */
+    private synchronized void onDisconnected(ClientCacheEntryListenerHandler<Object, Object> hnd) {
+        if (this.hnd != hnd)
+            return;
+
+        active = false;
+
+        clear(entries);
+        clear(pendingWrites);
+    }
+
+    /**
+     * @param map Map to clear.
+     */
+    private static void clear(Map<Object, ?> map) {
+        // Bounded map doesn't support clear().
+        map.keySet().removeIf(k -> true);
+    }
+
+    /**
+     * @param key Key in binary or deserialized form.
+     * @return Deserialized key or {@code null} if the key can't be deserialized.
+     */
+    @Nullable private static Object unwrap(Object key) {
+        if (!(key instanceof BinaryObject))
+            return key;
+
+        try {
+            return ((BinaryObject)key).deserialize();
+        }
+        catch (BinaryObjectException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Stops the invalidation continuous query and clears the near cache, the query is started again on next access.
+     */
+    synchronized void reset() {
+        active = false;
+        lastStartAttempt = 0;
+
+        U.closeQuiet(hnd);
+
+        hnd = null;
+
+        clear(entries);
+        clear(pendingWrites);
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void close() {
+        closed = true;
+
+        reset();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getHits() {
+        return hits.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getMisses() {
+        return misses.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public double getHitRatio() {
+        long hits0 = hits.sum();
+        long total = hits0 + misses.sum();
+
+        return total == 0 ? 0 : (double)hits0 / total;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public double getAverageInvalidationLag() {
+        long cnt = lagCnt.sum();
+
+        return cnt == 0 ? 0 : (double)lagTotal.sum() / cnt;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getSize() {
+        int size = 0;
+
+        for (Object val : entries.values()) {
+            if (!(val instanceof Reservation))
+                size++;
+        }
+
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ClientNearCache.class, this, "cacheName", cfg.getCacheName());
+    }
+
+    /**
+     * Reservation of a key which is being read from the server.
+     */
+    private static class Reservation {
+        // No-op.
+    }
+}
@@ -17,12 +17,15 @@
 package org.apache.ignite.internal.client.thin;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import javax.cache.Cache;
 import javax.cache.configuration.CacheEntryListenerConfiguration;
 import javax.cache.configuration.FactoryBuilder;
@@ -42,6 +45,7 @@ import org.apache.ignite.client.ClientCache;
 import org.apache.ignite.client.ClientCacheConfiguration;
 import org.apache.ignite.client.ClientDisconnectListener;
 import org.apache.ignite.client.ClientException;
+import org.apache.ignite.client.ClientNearCacheMetrics;
 import org.apache.ignite.client.IgniteClientFuture;
 import org.apache.ignite.internal.binary.GridBinaryMarshaller;
 import org.apache.ignite.internal.binary.streams.BinaryInputStream;
@@ -120,10 +124,19 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
     /** JCache adapter. */
     private final Cache<K, V> jCacheAdapter;
 
+    /** Near cache. */
+    @Nullable private final ClientNearCache nearCache;
+
     /** Constructor. */
     TcpClientCache(String name, ReliableChannel ch, ClientBinaryMarshaller marsh, TcpClientTransactions transactions,
         ClientCacheEntryListenersRegistry lsnrsRegistry) {
-        this(name, ch, marsh, transactions, lsnrsRegistry, false, null);
+        this(name, ch, marsh, transactions, lsnrsRegistry, null);
+    }
+
+    /** Constructor. */
+    TcpClientCache(String name, ReliableChannel ch, ClientBinaryMarshaller marsh, TcpClientTransactions transactions,
+        ClientCacheEntryListenersRegistry lsnrsRegistry, @Nullable ClientNearCache nearCache) {
+        this(name, ch, marsh, transactions, lsnrsRegistry, false, null, nearCache);
     }
 
     /**
@@ -131,12 +144,22 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
      */
     TcpClientCache(String name, ReliableChannel ch, ClientBinaryMarshaller marsh, TcpClientTransactions transactions,
         ClientCacheEntryListenersRegistry lsnrsRegistry, boolean keepBinary, ExpiryPolicy expiryPlc) {
+        this(name, ch, marsh, transactions, lsnrsRegistry, keepBinary, expiryPlc, null);
+    }
+
+    /**
+     * Constructor.
+     */
+    TcpClientCache(String name, ReliableChannel ch, ClientBinaryMarshaller marsh, TcpClientTransactions transactions,
+        ClientCacheEntryListenersRegistry lsnrsRegistry, boolean keepBinary, ExpiryPolicy expiryPlc,
+        @Nullable ClientNearCache nearCache) {
         this.name = name;
         this.cacheId = ClientUtils.cacheId(name);
         this.ch = ch;
         this.marsh = marsh;
         this.transactions = transactions;
         this.lsnrsRegistry = lsnrsRegistry;
+        this.nearCache = nearCache;
 
         serDes = new ClientUtils(marsh);
 
@@ -151,6 +174,24 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (key == null)
             throw new NullPointerException("key");
 
+        if (nearCacheReadable()) {
+            V val = (V)nearCache.get(key);
+
+            if (val != null)
+                return val;
+
+            Object res = nearCache.reserve(key);
+
+            try {
+                val = cacheSingleKeyOperation(key, ClientOperation.CACHE_GET, null, this::readObject);
+            }
+            finally {
+                nearCache.complete(key, res, val);
+            }
+
+            return val;
+        }
+
         return cacheSingleKeyOperation(
             key,
             ClientOperation.CACHE_GET,
@@ -164,6 +205,25 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (key == null)
             throw new NullPointerException("key");
 
+        if (nearCacheReadable()) {
+            V val = (V)nearCache.get(key);
+
+            if (val != null)
+                return IgniteClientFutureImpl.completedFuture(val);
+
+            Object res = nearCache.reserve(key);
+
+            IgniteClientFuture<V> fut = cacheSingleKeyOperationAsync(
+                key,
+                ClientOperation.CACHE_GET,
+                null,
+                this::readObject
+            );
+
+            return new IgniteClientFutureImpl<>(fut.toCompletableFuture().whenComplete(
+                (v, e) -> nearCache.complete(key, res, v)));
+        }
+
         return cacheSingleKeyOperationAsync(
                 key,
                 ClientOperation.CACHE_GET,
@@ -313,6 +373,9 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (keys.isEmpty())
             return new HashMap<>();
 
+        if (nearCacheReadable())
+            return nearCacheGetAll(keys);
+
         return ch.service(ClientOperation.CACHE_GET_ALL, req -> writeKeys(keys, req), this::readEntries);
     }
 
@@ -335,12 +398,13 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (map.isEmpty())
             return;
 
-        ch.request(ClientOperation.CACHE_PUT_ALL, req -> writeEntries(map, req));
+        nearCacheWrite(map.keySet(), () -> ch.request(ClientOperation.CACHE_PUT_ALL, req -> writeEntries(map, req)));
     }
 
     /** {@inheritDoc} */
     @Override public IgniteClientFuture<Void> putAllAsync(Map<? extends K, ? extends V> map) throws ClientException {
-        return ch.requestAsync(ClientOperation.CACHE_PUT_ALL, req -> writeEntries(map, req));
+        return nearCacheWriteAsync(map.keySet(),
+            () -> ch.requestAsync(ClientOperation.CACHE_PUT_ALL, req -> writeEntries(map, req)));
     }
 
     /** {@inheritDoc} */
@@ -485,12 +549,12 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (keys.isEmpty())
             return;
 
-        ch.request(
+        nearCacheWrite(keys, () -> ch.request(
             ClientOperation.CACHE_REMOVE_KEYS,
             req -> {
                 writeKeys(keys, req);
             }
-        );
+        ));
     }
 
     /** {@inheritDoc} */
@@ -501,22 +565,22 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (keys.isEmpty())
             return IgniteClientFutureImpl.completedFuture(null);
 
-        return ch.requestAsync(
+        return nearCacheWriteAsync(keys, () -> ch.requestAsync(
                 ClientOperation.CACHE_REMOVE_KEYS,
                 req -> {
                     writeKeys(keys, req);
                 }
-        );
+        ));
     }
 
     /** {@inheritDoc} */
     @Override public void removeAll() throws ClientException {
-        ch.request(ClientOperation.CACHE_REMOVE_ALL, this::writeCacheInfo);
+        nearCacheWrite(null, () -> ch.request(ClientOperation.CACHE_REMOVE_ALL, this::writeCacheInfo));
     }
 
     /** {@inheritDoc} */
     @Override public IgniteClientFuture<Void> removeAllAsync() throws ClientException {
-        return ch.requestAsync(ClientOperation.CACHE_REMOVE_ALL, this::writeCacheInfo);
+        return nearCacheWriteAsync(null, () -> ch.requestAsync(ClientOperation.CACHE_REMOVE_ALL, this::writeCacheInfo));
     }
 
     /** {@inheritDoc} */
@@ -677,14 +741,14 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
 
     /** {@inheritDoc} */
     @Override public void clear() throws ClientException {
-        ch.request(ClientOperation.CACHE_CLEAR, this::writeCacheInfo);
+        nearCacheWrite(null, () -> ch.request(ClientOperation.CACHE_CLEAR, this::writeCacheInfo));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override public IgniteClientFuture<Void> clearAsync() throws ClientException {
-        return ch.requestAsync(ClientOperation.CACHE_CLEAR, this::writeCacheInfo);
+        return nearCacheWriteAsync(null, () -> ch.requestAsync(ClientOperation.CACHE_CLEAR, this::writeCacheInfo));
     }
 
     /** {@inheritDoc} */
@@ -721,10 +785,10 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (keys.isEmpty())
             return;
 
-        ch.request(
+        nearCacheWrite(keys, () -> ch.request(
             ClientOperation.CACHE_CLEAR_KEYS,
             req -> writeKeys(keys, req)
-        );
+        ));
     }
 
     /** {@inheritDoc} */
@@ -735,16 +799,16 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (keys.isEmpty())
             return IgniteClientFutureImpl.completedFuture(null);
 
-        return ch.requestAsync(
+        return nearCacheWriteAsync(keys, () -> ch.requestAsync(
             ClientOperation.CACHE_CLEAR_KEYS,
             req -> writeKeys(keys, req)
-        );
+        ));
     }
 
     /** {@inheritDoc} */
     @Override public <K1, V1> ClientCache<K1, V1> withKeepBinary() {
         return keepBinary ? (ClientCache<K1, V1>)this :
-            new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry, true, expiryPlc);
+            new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry, true, expiryPlc, nearCache);
     }
 
     /**
@@ -758,7 +822,7 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
      * {@inheritDoc}
      */
     @Override public <K1, V1> ClientCache<K1, V1> withExpiryPolicy(ExpiryPolicy expiryPlc) {
-        return new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry, keepBinary, expiryPlc);
+        return new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry, keepBinary, expiryPlc, nearCache);
     }
 
     /**
@@ -900,6 +964,11 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         U.closeQuiet(hnd);
     }
 
+    /** {@inheritDoc} */
+    @Override public ClientNearCacheMetrics nearCacheMetrics() {
+        return nearCache;
+    }
+
     /** Handle scan query. */
     private QueryCursor<Cache.Entry<K, V>> scanQuery(ScanQuery<K, V> qry) {
         Consumer<PayloadOutputChannel> qryWriter = payloadCh -> {
@@ -973,6 +1042,12 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
                 additionalPayloadWriter.accept(req);
         };
 
+        if (nearCache != null && !isRead(op)) {
+            return nearCacheWrite(Collections.singleton(key),
+                () -> transactions.tx() == null ? ch.affinityService(cacheId, key, op, payloadWriter, payloadReader) :
+                    ch.service(op, payloadWriter, payloadReader));
+        }
+
         // Transactional operation cannot be executed on affinity node, it should be executed on node started
         // the transaction.
         return transactions.tx() == null ? ch.affinityService(cacheId, key, op, payloadWriter, payloadReader) :
@@ -996,6 +1071,12 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
                 additionalPayloadWriter.accept(req);
         };
 
+        if (nearCache != null && !isRead(op)) {
+            return nearCacheWriteAsync(Collections.singleton(key), () -> transactions.tx() == null
+                ? ch.affinityServiceAsync(cacheId, key, op, payloadWriter, payloadReader)
+                : ch.serviceAsync(op, payloadWriter, payloadReader));
+        }
+
         // Transactional operation cannot be executed on affinity node, it should be executed on node started
         // the transaction.
         return transactions.tx() == null
@@ -1003,6 +1084,121 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
                 : ch.serviceAsync(op, payloadWriter, payloadReader);
     }
 
+    /**
+     * @param op Operation.
+     * @return {@code True} if the operation doesn't modify the cache.
+     */
+    private static boolean isRead(ClientOperation op) {
+        return op == ClientOperation.CACHE_GET || op == ClientOperation.CACHE_CONTAINS_KEY;
+    }
+
+    /**
+     * @return {@code True} if reads of this cache facade can be served by the near cache.
+     */
+    private boolean nearCacheReadable() {
+        return nearCache != null && !keepBinary && expiryPlc == null && transactions.tx() == null &&
+            nearCache.ensureActive(jCacheAdapter);
+    }
+
+    /**
+     * Gets entries using the near cache.
+     */
+    private Map<K, V> nearCacheGetAll(Set<? extends K> keys) {
+        Map<K, V> res = new HashMap<>();
+        Map<K, Object> reserved = new HashMap<>();
+
+        for (K key : keys) {
+            V val = (V)nearCache.get(key);
+
+            if (val != null)
+                res.put(key, val);
+            else
+                reserved.put(key, nearCache.reserve(key));
+        }
+
+        if (reserved.isEmpty())
+            return res;
+
+        Map<K, V> loaded = null;
+
+        try {
+            loaded = ch.service(ClientOperation.CACHE_GET_ALL, req -> writeKeys(reserved.keySet(), req),
+                this::readEntries);
+
+            res.putAll(loaded);
+        }
+        finally {
+            for (Map.Entry<K, Object> e : reserved.entrySet())
+                nearCache.complete(e.getKey(), e.getValue(), loaded == null ? null : loaded.get(e.getKey()));
+        }
+
+        return res;
+    }
+
+    /**
+     * Executes a cache update and invalidates the updated keys in the near cache.
+     *
+     * @param keys Updated keys or {@code null} if all keys may be updated.
+     * @param op Update operation.
+     */
+    private void nearCacheWrite(@Nullable Collection<?> keys, Runnable op) {
+        nearCacheWrite(keys, () -> {
+            op.run();
+
+            return null;
+        });
+    }
+
+    /**
+     * Executes a cache update and invalidates the updated keys in the near cache.
+     *
+     * @param keys Updated keys or {@code null} if all keys may be updated.
+     * @param op Update operation.
+     * @return Result of the operation.
+     */
+    private <T> T nearCacheWrite(@Nullable Collection<?> keys, Supplier<T> op) {
+        if (nearCache == null)
+            return op.get();
+
+        nearCache.beforeWrite(keys);
+
+        try {
+            return op.get();
+        }
+        finally {
+            nearCache.afterWrite(keys);
+        }
+    }
+
+    /**
+     * Executes a cache update asynchronously and invalidates the updated keys in the near cache.
+     *
+     * @param keys Updated keys or {@code null} if all keys may be updated.
+     * @param op Update operation.
+     * @return Future of the operation.
+     */
+    private <T> IgniteClientFuture<T> nearCacheWriteAsync(@Nullable Collection<?> keys,
+        Supplier<IgniteClientFuture<T>> op) {
+        if (nearCache == null)
+            return op.get();
+
+        nearCache.beforeWrite(keys);
+
+        IgniteClientFuture<T> fut;
+
+        try {
+            fut = op.get();
+        }
+        catch (RuntimeException e) {
+            nearCache.afterWrite(keys);
+
+            throw e;
+        }
+
+        return new IgniteClientFutureImpl<>(fut.toCompletableFuture().whenComplete(
+            (r, e) -> nearCache.afterWrite(keys)));
+    }
+
     /** Write cache ID and flags. */
     private void writeCacheInfo(PayloadOutputChannel payloadCh) {
         BinaryOutputStream out = payloadCh.out();
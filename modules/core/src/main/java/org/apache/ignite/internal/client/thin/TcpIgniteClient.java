@@ -19,6 +19,7 @@ package org.apache.ignite.internal.client.thin;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +51,7 @@ import org.apache.ignite.client.IgniteClient;
 import org.apache.ignite.client.IgniteClientFuture;
 import org.apache.ignite.configuration.BinaryConfiguration;
 import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientNearCacheConfiguration;
 import org.apache.ignite.configuration.ClientTransactionConfiguration;
 import org.apache.ignite.internal.MarshallerPlatformIds;
 import org.apache.ignite.internal.binary.BinaryCachingMetadataHandler;
@@ -105,6 +107,9 @@ public class TcpIgniteClient implements IgniteClient {
     /** Serializer/deserializer. */
     private final ClientUtils serDes;
 
+    /** Near caches by cache names. */
+    private final Map<String, ClientNearCache> nearCaches = new HashMap<>();
+
     /**
      * Private constructor. Use {@link TcpIgniteClient#start(ClientConfiguration)} to create an instance of
      * {@code TcpIgniteClient}.
@@ -160,6 +165,15 @@ public class TcpIgniteClient implements IgniteClient {
             services = new ClientServicesImpl(ch, marsh, cluster.defaultClusterGroup());
 
             lsnrsRegistry = new ClientCacheEntryListenersRegistry();
+
+            if (cfg.getNearCacheConfigurations() != null) {
+                for (ClientNearCacheConfiguration nearCfg : cfg.getNearCacheConfigurations()) {
+                    GridArgumentCheck.notNull(nearCfg.getCacheName(), "nearCfg.cacheName");
+
+                    nearCaches.put(nearCfg.getCacheName(),
+                        new ClientNearCache(new ClientNearCacheConfiguration(nearCfg), ch, marsh));
+                }
+            }
         }
         catch (Exception e) {
             ch.close();
@@ -169,6 +183,9 @@ public class TcpIgniteClient implements IgniteClient {
 
     /** {@inheritDoc} */
     @Override public void close() {
+        for (ClientNearCache nearCache : nearCaches.values())
+            U.closeQuiet(nearCache);
+
         ch.close();
     }
 
@@ -178,7 +195,7 @@ public class TcpIgniteClient implements IgniteClient {
 
         ch.request(ClientOperation.CACHE_GET_OR_CREATE_WITH_NAME, req -> writeString(name, req.out()));
 
-        return new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry);
+        return newCache(name);
     }
 
     /** {@inheritDoc} */
@@ -187,7 +204,7 @@ public class TcpIgniteClient implements IgniteClient {
 
         return new IgniteClientFutureImpl<>(
                 ch.requestAsync(ClientOperation.CACHE_GET_OR_CREATE_WITH_NAME, req -> writeString(name, req.out()))
-                        .thenApply(x -> new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry)));
+                        .thenApply(x -> newCache(name)));
     }
 
     /** {@inheritDoc} */
@@ -198,7 +215,7 @@ public class TcpIgniteClient implements IgniteClient {
         ch.request(ClientOperation.CACHE_GET_OR_CREATE_WITH_CONFIGURATION,
             req -> serDes.cacheConfiguration(cfg, req.out(), req.clientChannel().protocolCtx()));
 
-        return new TcpClientCache<>(cfg.getName(), ch, marsh, transactions, lsnrsRegistry);
+        return newCache(cfg.getName());
     }
 
     /** {@inheritDoc} */
@@ -209,14 +226,14 @@ public class TcpIgniteClient implements IgniteClient {
         return new IgniteClientFutureImpl<>(
                 ch.requestAsync(ClientOperation.CACHE_GET_OR_CREATE_WITH_CONFIGURATION,
                         req -> serDes.cacheConfiguration(cfg, req.out(), req.clientChannel().protocolCtx()))
-                        .thenApply(x -> new TcpClientCache<>(cfg.getName(), ch, marsh, transactions, lsnrsRegistry)));
+                        .thenApply(x -> newCache(cfg.getName())));
     }
 
     /** {@inheritDoc} */
     @Override public <K, V> ClientCache<K, V> cache(String name) {
         ensureCacheName(name);
 
-        return new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry);
+        return newCache(name);
     }
 
     /** {@inheritDoc} */
@@ -235,6 +252,8 @@ public class TcpIgniteClient implements IgniteClient {
     @Override public void destroyCache(String name) throws ClientException {
         ensureCacheName(name);
 
+        resetNearCache(name);
+
         ch.request(ClientOperation.CACHE_DESTROY, req -> req.out().writeInt(ClientUtils.cacheId(name)));
     }
 
@@ -242,6 +261,8 @@ public class TcpIgniteClient implements IgniteClient {
     @Override public IgniteClientFuture<Void> destroyCacheAsync(String name) throws ClientException {
         ensureCacheName(name);
 
+        resetNearCache(name);
+
         return ch.requestAsync(ClientOperation.CACHE_DESTROY, req -> req.out().writeInt(ClientUtils.cacheId(name)));
     }
 
@@ -251,7 +272,7 @@ public class TcpIgniteClient implements IgniteClient {
 
         ch.request(ClientOperation.CACHE_CREATE_WITH_NAME, req -> writeString(name, req.out()));
 
-        return new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry);
+        return newCache(name);
     }
 
     /** {@inheritDoc} */
@@ -260,7 +281,7 @@ public class TcpIgniteClient implements IgniteClient {
 
         return new IgniteClientFutureImpl<>(
                 ch.requestAsync(ClientOperation.CACHE_CREATE_WITH_NAME, req -> writeString(name, req.out()))
-                        .thenApply(x -> new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry)));
+                        .thenApply(x -> newCache(name)));
     }
 
     /** {@inheritDoc} */
@@ -270,7 +291,7 @@ public class TcpIgniteClient implements IgniteClient {
         ch.request(ClientOperation.CACHE_CREATE_WITH_CONFIGURATION,
             req -> serDes.cacheConfiguration(cfg, req.out(), req.clientChannel().protocolCtx()));
 
-        return new TcpClientCache<>(cfg.getName(), ch, marsh, transactions, lsnrsRegistry);
+        return newCache(cfg.getName());
     }
 
     /** {@inheritDoc} */
@@ -281,7 +302,27 @@ public class TcpIgniteClient implements IgniteClient {
         return new IgniteClientFutureImpl<>(
                 ch.requestAsync(ClientOperation.CACHE_CREATE_WITH_CONFIGURATION,
                         req -> serDes.cacheConfiguration(cfg, req.out(), req.clientChannel().protocolCtx()))
-                        .thenApply(x -> new TcpClientCache<>(cfg.getName(), ch, marsh, transactions, lsnrsRegistry)));
+                        .thenApply(x -> newCache(cfg.getName())));
+    }
+
+    /**
+     * @param name Cache name.
+     * @return Cache facade.
+     */
+    private <K, V> TcpClientCache<K, V> newCache(String name) {
+        return new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry, nearCaches.get(name));
+    }
+
+    /**
+     * Resets near cache of the destroyed cache, the continuous query of the near cache is closed with the cache.
+     *
+     * @param name Cache name.
+     */
+    private void resetNearCache(String name) {
+        ClientNearCache nearCache = nearCaches.get(name);
+
+        if (nearCache != null)
+            nearCache.reset();
     }
 
     /** {@inheritDoc} */
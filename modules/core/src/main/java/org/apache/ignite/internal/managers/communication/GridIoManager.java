@@ -41,6 +41,7 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.LongAdder;
@@ -49,6 +50,7 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.events.DiscoveryEvent;
 import org.apache.ignite.events.Event;
@@ -83,6 +85,7 @@ import org.apache.ignite.internal.processors.tracing.MTC.TraceSurroundings;
 import org.apache.ignite.internal.processors.tracing.Span;
 import org.apache.ignite.internal.processors.tracing.SpanTags;
 import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashSet;
+import org.apache.ignite.internal.util.GridMessageCollection;
 import org.apache.ignite.internal.util.IgniteUtils;
 import org.apache.ignite.internal.util.StripedCompositeReadWriteLock;
 import org.apache.ignite.internal.util.future.GridFinishedFuture;
@@ -118,6 +121,7 @@ import org.apache.ignite.thread.IgniteThreadFactory;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_IO_BROADCAST_PRE_MARSHALLING;
 import static org.apache.ignite.cluster.ClusterState.INACTIVE;
 import static org.apache.ignite.events.EventType.EVT_NODE_FAILED;
 import static org.apache.ignite.events.EventType.EVT_NODE_JOINED;
@@ -186,6 +190,9 @@ public class GridIoManager extends GridManagerAdapter<CommunicationSpi<Serializa
     /** Direct protocol version. */
     public static final byte DIRECT_PROTO_VER = 3;
 
+    /** @see IgniteSystemProperties#IGNITE_IO_BROADCAST_PRE_MARSHALLING */
+    public static final boolean DFLT_IO_BROADCAST_PRE_MARSHALLING = true;
+
     /** Current IO policy. */
     private static final ThreadLocal<Byte> CUR_PLC = new ThreadLocal<>();
 
@@ -244,6 +251,9 @@ public class GridIoManager extends GridManagerAdapter<CommunicationSpi<Serializa
     /** */
     private MessageFormatter formatter;
 
+    /** Whether messages sent to several nodes are serialized once, see {@link GridIoPreMarshalledMessage}. */
+    private boolean preMarshalBroadcast;
+
     /** Stopping flag. */
     private boolean stopping;
 
@@ -321,6 +331,10 @@ public class GridIoManager extends GridManagerAdapter<CommunicationSpi<Serializa
             formatter = formatterExt[0];
         }
         else {
+            // Pre-marshalled messages are written in default direct format only.
+            preMarshalBroadcast = IgniteSystemProperties.getBoolean(IGNITE_IO_BROADCAST_PRE_MARSHALLING,
+                DFLT_IO_BROADCAST_PRE_MARSHALLING);
+
             formatter = new MessageFormatter() {
                 @Override public MessageWriter writer(UUID rmtNodeId) throws IgniteCheckedException {
                     assert rmtNodeId != null;
@@ -1080,6 +1094,12 @@ public class GridIoManager extends GridManagerAdapter<CommunicationSpi<Serializa
                 }
             }
 
+            if (msg.message() instanceof GridMessageCollection && !msg.isOrdered()) {
+                processMessageBatch(nodeId, msg, msgC);
+
+                return;
+            }
+
             // If message is P2P, then process in P2P service.
             // This is done to avoid extra waiting and potential deadlocks
             // as thread pool may not have any available threads to give.
@@ -1183,6 +1203,36 @@ public class GridIoManager extends GridManagerAdapter<CommunicationSpi<Serializa
         }
     }
 
+    /**
+     * Processes messages of a batch in the order they were added to the batch, as if they were sent separately.
+     * Every message is dispatched to the pool or stripe it would be dispatched to without batching.
+     *
+     * @param nodeId Node ID.
+     * @param msg Message with a batch of messages.
+     * @param msgC Closure to call when processing of all messages of the batch finished.
+     */
+    private void processMessageBatch(UUID nodeId, GridIoMessage msg, IgniteRunnable msgC) {
+        Collection<Message> msgs = ((GridMessageCollection<Message>)msg.message()).messages();
+
+        if (F.isEmpty(msgs)) {
+            msgC.run();
+
+            return;
+        }
+
+        AtomicInteger cnt = new AtomicInteger(msgs.size());
+
+        IgniteRunnable msgC0 = () -> {
+            if (cnt.decrementAndGet() == 0)
+                msgC.run();
+        };
+
+        for (Message m : msgs) {
+            onMessage0(nodeId, new GridIoMessage(msg.policy(), msg.topic(), msg.topicOrdinal(), m, false,
+                msg.timeout(), msg.skipOnTimeout()), msgC0);
+        }
+    }
+
     /**
      * @param nodeId Node ID.
      * @param msg Message.
@@ -1265,7 +1315,7 @@ public class GridIoManager extends GridManagerAdapter<CommunicationSpi<Serializa
         final int part = msg.partition(); // Store partition to avoid possible recalculation.
 
         if (plc == GridIoPolicy.SYSTEM_POOL && part != GridIoMessage.STRIPE_DISABLED_PART) {
-            ctx.pools().getStripedExecutorService().execute(part, c);
+            ctx.pools().getStripedExecutorService().execute(part, c, msg.orderInsensitive());
 
             return;
         }
@@ -1812,24 +1862,40 @@ public class GridIoManager extends GridManagerAdapter<CommunicationSpi<Serializa
             if (topicOrd < 0)
                 ioMsg.topicBytes(U.marshal(marsh, topic));
 
-            try {
-                if ((CommunicationSpi<?>)getSpi() instanceof TcpCommunicationSpi)
-                    getTcpCommunicationSpi().sendMessage(node, ioMsg, ackC);
-                else
-                    getSpi().sendMessage(node, ioMsg);
-            }
-            catch (IgniteSpiException e) {
-                if (e.getCause() instanceof ClusterTopologyCheckedException)
-                    throw (ClusterTopologyCheckedException)e.getCause();
+            sendToRemote(node, topic, ioMsg, ackC);
+        }
+    }
+
+    /**
+     * @param node Remote destination node.
+     * @param topic Topic to send the message to.
+     * @param ioMsg Message to send.
+     * @param ackC Ack closure.
+     * @throws IgniteCheckedException Thrown in case of any errors.
+     */
+    private void sendToRemote(
+        ClusterNode node,
+        Object topic,
+        GridIoMessage ioMsg,
+        IgniteInClosure<IgniteException> ackC
+    ) throws IgniteCheckedException {
+        try {
+            if ((CommunicationSpi<?>)getSpi() instanceof TcpCommunicationSpi)
+                getTcpCommunicationSpi().sendMessage(node, ioMsg, ackC);
+            else
+                getSpi().sendMessage(node, ioMsg);
+        }
+        catch (IgniteSpiException e) {
+            if (e.getCause() instanceof ClusterTopologyCheckedException)
+                throw (ClusterTopologyCheckedException)e.getCause();
 
-                if (!ctx.discovery().alive(node))
-                    throw new ClusterTopologyCheckedException("Failed to send message, node left: " + node.id(), e);
+            if (!ctx.discovery().alive(node))
+                throw new ClusterTopologyCheckedException("Failed to send message, node left: " + node.id(), e);
 
-                throw new IgniteCheckedException("Failed to send message (node may have left the grid or " +
-                    "TCP connection cannot be established due to firewall issues) " +
-                    "[node=" + node + ", topic=" + topic +
-                    ", msg=" + msg + ", policy=" + plc + ']', e);
-            }
+            throw new IgniteCheckedException("Failed to send message (node may have left the grid or " +
+                "TCP connection cannot be established due to firewall issues) " +
+                "[node=" + node + ", topic=" + topic +
+                ", msg=" + ioMsg.message() + ", policy=" + ioMsg.policy() + ']', e);
         }
     }
 
@@ -2074,9 +2140,35 @@ public class GridIoManager extends GridManagerAdapter<CommunicationSpi<Serializa
     ) throws IgniteCheckedException {
         IgniteCheckedException err = null;
 
+        // Serialized forms of the message by direct protocol version, lazily initialized.
+        GridIoPreMarshalledMessage[] preMarshalled = null;
+
+        boolean preMarshal = preMarshalBroadcast && nodes.size() > 1 &&
+            (CommunicationSpi<?>)getSpi() instanceof TcpCommunicationSpi;
+
         for (ClusterNode node : nodes) {
             try {
-                send(node, topic, topic.ordinal(), msg, plc, false, 0, false, null, false);
+                if (preMarshal && !locNodeId.equals(node.id())) {
+                    byte protoVer = U.directProtocolVersion(ctx, node.id());
+
+                    if (preMarshalled == null)
+                        preMarshalled = new GridIoPreMarshalledMessage[DIRECT_PROTO_VER + 1];
+
+                    GridIoPreMarshalledMessage ioMsg = preMarshalled[protoVer];
+
+                    if (ioMsg == null) {
+                        MTC.span().addLog(() -> "Create communication msg - " + traceName(msg));
+
+                        ioMsg = new GridIoPreMarshalledMessage(
+                            createGridIoMessage(topic, topic.ordinal(), msg, plc, false, 0, false), protoVer);
+
+                        preMarshalled[protoVer] = ioMsg;
+                    }
+
+                    sendToRemote(node, topic, ioMsg, null);
+                }
+                else
+                    send(node, topic, topic.ordinal(), msg, plc, false, 0, false, null, false);
             }
             catch (IgniteCheckedException e) {
                 if (err == null)
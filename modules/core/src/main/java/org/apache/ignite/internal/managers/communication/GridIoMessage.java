@@ -20,6 +20,7 @@ import java.io.Externalizable;
 import java.nio.ByteBuffer;
 import org.apache.ignite.internal.ExecutorAwareMessage;
 import org.apache.ignite.internal.GridDirectTransient;
+import org.apache.ignite.internal.OrderInsensitiveMessage;
 import org.apache.ignite.internal.processors.cache.GridCacheMessage;
 import org.apache.ignite.internal.processors.datastreamer.DataStreamerRequest;
 import org.apache.ignite.internal.processors.tracing.messages.SpanTransport;
@@ -369,6 +370,13 @@ public class GridIoMessage implements Message, SpanTransport {
             return STRIPE_DISABLED_PART;
     }
 
+    /**
+     * @return {@code True} if message may be processed out of the order of other messages of the same partition.
+     */
+    public boolean orderInsensitive() {
+        return msg instanceof OrderInsensitiveMessage && ((OrderInsensitiveMessage)msg).orderInsensitive();
+    }
+
     /**
      * @return Executor name (if available).
      */
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.managers.communication;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import org.apache.ignite.internal.direct.DirectMessageWriter;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+
+/**
+ * Send-only wrapper of {@link GridIoMessage} which is serialized once and then written as is to any number of
+ * connections. Serialized bytes are immutable and shared between sessions, so the same instance may be enqueued
+ * on several sessions (and kept by their recovery descriptors) concurrently.
+ * <p>
+ * Remote side receives regular {@link GridIoMessage}, so no protocol changes are required. Note that the bytes are
+ * produced for a single direct protocol version and must be sent only to nodes using that version.
+ */
+public class GridIoPreMarshalledMessage extends GridIoMessage {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Size of chunk copied to the network buffer per writer state. */
+    static final int CHUNK_SIZE = 128;
+
+    /** Initial size of the buffer used to serialize message. */
+    private static final int MARSHAL_BUF_SIZE = 8 * 1024;
+
+    /** Original message. */
+    private final GridIoMessage ioMsg;
+
+    /** Direct protocol version used for serialization. */
+    private final byte protoVer;
+
+    /** Serialized message. */
+    private final byte[] bytes;
+
+    /**
+     * @param ioMsg Message to serialize.
+     * @param protoVer Direct protocol version.
+     */
+    public GridIoPreMarshalledMessage(GridIoMessage ioMsg, byte protoVer) {
+        super(ioMsg.policy(), ioMsg.topic(), ioMsg.topicOrdinal(), ioMsg.message(), ioMsg.isOrdered(),
+            ioMsg.timeout(), ioMsg.skipOnTimeout());
+
+        this.ioMsg = ioMsg;
+        this.protoVer = protoVer;
+
+        bytes = marshal(ioMsg, protoVer);
+    }
+
+    /**
+     * @param ioMsg Message to serialize.
+     * @param protoVer Direct protocol version.
+     * @return Serialized message.
+     */
+    private static byte[] marshal(GridIoMessage ioMsg, byte protoVer) {
+        MessageWriter writer = new DirectMessageWriter(protoVer);
+
+        ByteBuffer buf = ByteBuffer.allocate(MARSHAL_BUF_SIZE);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(MARSHAL_BUF_SIZE);
+
+        boolean finished;
+
+        do {
+            buf.clear();
+
+            finished = ioMsg.writeTo(buf, writer);
+
+            out.write(buf.array(), 0, buf.position());
+        }
+        while (!finished);
+
+        return out.toByteArray();
+    }
+
+    /**
+     * @return Original message.
+     */
+    public GridIoMessage ioMessage() {
+        return ioMsg;
+    }
+
+    /**
+     * @return Direct protocol version used for serialization.
+     */
+    public byte protocolVersion() {
+        return protoVer;
+    }
+
+    /**
+     * @return Serialized message size.
+     */
+    public int size() {
+        return bytes.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean writeTo(ByteBuffer buf, MessageWriter writer) {
+        // Writer state is the number of chunks already copied to the network buffers.
+        int off = writer.state() * CHUNK_SIZE;
+
+        while (off < bytes.length) {
+            int len = Math.min(CHUNK_SIZE, bytes.length - off);
+
+            if (buf.remaining() < len)
+                return false;
+
+            buf.put(bytes, off, len);
+
+            writer.incrementState();
+
+            off += len;
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readFrom(ByteBuffer buf, MessageReader reader) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public short directType() {
+        return ioMsg.directType();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void span(byte[] span) {
+        // No-op: span has been serialized along with the original message.
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte[] span() {
+        return ioMsg.span();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridIoPreMarshalledMessage.class, this, "size", bytes.length, "super", super.toString());
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.managers.systemview.walker;
+
+import org.apache.ignite.spi.systemview.view.HotKeyView;
+import org.apache.ignite.spi.systemview.view.SystemViewRowAttributeWalker;
+
+/**
+ * Generated by {@code org.apache.ignite.codegen.SystemViewRowAttributeWalkerGenerator}.
+ * {@link HotKeyView} attributes walker.
+ *
+ * @see HotKeyView
+ */
+public class HotKeyViewWalker implements SystemViewRowAttributeWalker<HotKeyView> {
+    /** {@inheritDoc} */
+    @Override public void visitAll(AttributeVisitor v) {
+        v.accept(0, "cacheName", String.class);
+        v.accept(1, "partitionId", int.class);
+        v.accept(2, "key", String.class);
+        v.accept(3, "accessCount", long.class);
+        v.accept(4, "maxError", long.class);
+        v.accept(5, "hot", boolean.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void visitAll(HotKeyView row, AttributeWithValueVisitor v) {
+        v.accept(0, "cacheName", String.class, row.cacheName());
+        v.acceptInt(1, "partitionId", row.partitionId());
+        v.accept(2, "key", String.class, row.key());
+        v.acceptLong(3, "accessCount", row.accessCount());
+        v.acceptLong(4, "maxError", row.maxError());
+        v.acceptBoolean(5, "hot", row.hot());
+    }
+
+    /** {@inheritDoc} */
+    @Override public int count() {
+        return 6;
+    }
+}
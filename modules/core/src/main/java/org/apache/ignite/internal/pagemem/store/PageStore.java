@@ -82,6 +82,18 @@ public interface PageStore {
      */
     public void write(long pageId, ByteBuffer pageBuf, int tag, boolean calculateCrc) throws IgniteCheckedException;
 
+    /**
+     * Writes pages with adjacent indexes with a single I/O operation where possible.
+     *
+     * @param pageId ID of the first page.
+     * @param pagesBuf Buffer with pages to write, its limit must be a multiple of the page size.
+     * @param tag Partition file version, 1-based incrementing counter. For outdated pages {@code tag} has lower value,
+     * and write does nothing.
+     * @param calculateCrc if {@code False} crc calculation will be forcibly skipped.
+     * @throws IgniteCheckedException If pages writing failed (IO error occurred).
+     */
+    public void writePages(long pageId, ByteBuffer pagesBuf, int tag, boolean calculateCrc) throws IgniteCheckedException;
+
     /**
      * Gets page offset within the store file.
      *
@@ -36,6 +36,12 @@ public interface IgniteWriteAheadLogManager extends GridCacheSharedManager, Igni
      */
     public boolean isAlwaysWriteFullPages();
 
+    /**
+     * @return {@code true} If physical records (page snapshots and page deltas) are not logged because pages
+     *      are recovered from checkpoint recovery data.
+     */
+    public boolean isPageRecordsDisabled();
+
     /**
      * @return {@code true} if WAL will perform fair syncs on fsync call.
      */
@@ -15,12 +15,39 @@
  */
 package org.apache.ignite.internal.pagemem.wal.record;
 
+import org.apache.ignite.internal.util.typedef.internal.S;
+
 /**
- * Empty record which is logged to WAL to obtain pointer to consistent cut border.
+ * Record which is logged to WAL to obtain pointer to consistent cut border. All server nodes log the record with the
+ * same timestamp while cache updates are blocked by partition map exchange, so the records split the histories of
+ * all nodes at the same logical point.
  */
 public class ConsistentCutRecord extends WALRecord {
+    /** Cut timestamp. */
+    private final long ts;
+
+    /**
+     * @param ts Cut timestamp.
+     */
+    public ConsistentCutRecord(long ts) {
+        this.ts = ts;
+    }
+
+    /**
+     * @return Cut timestamp, identifies the cut cluster-wide. Records of {@link RecordType#CONSISTENT_CUT} type have
+     *      zero timestamp.
+     */
+    public long timestamp() {
+        return ts;
+    }
+
     /** {@inheritDoc} */
     @Override public RecordType type() {
-        return RecordType.CONSISTENT_CUT;
+        return RecordType.CONSISTENT_CUT_V2;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ConsistentCutRecord.class, this, "super", super.toString());
     }
 }
@@ -217,7 +217,11 @@ public abstract class WALRecord {
         /** Mvcc Tx state change record. */
         MVCC_TX_RECORD(55, LOGICAL),
 
-        /** Consistent cut record. */
+        /**
+         * Consistent cut record.
+         * @deprecated Use {@link #CONSISTENT_CUT_V2} instead.
+         */
+        @Deprecated
         CONSISTENT_CUT(56),
 
         /** Rollback tx record. */
@@ -276,7 +280,13 @@ public abstract class WALRecord {
         PARTITION_CLEARING_START_RECORD(73, LOGICAL),
 
         /** Ecnrypted out-of-order update which is used by atomic caches on backup nodes. */
-        ENCRYPTED_OUT_OF_ORDER_UPDATE(74, LOGICAL);
+        ENCRYPTED_OUT_OF_ORDER_UPDATE(74, LOGICAL),
+
+        /** Update of changed bytes of a data page record. */
+        DATA_PAGE_PATCH_RECORD(75, PHYSICAL),
+
+        /** Consistent cut record with timestamp. */
+        CONSISTENT_CUT_V2(76);
 
         /** Index for serialization. Should be consistent throughout all versions. */
         private final int idx;
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.pagemem.wal.record.delta;
+
+import java.io.ByteArrayOutputStream;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.pagemem.PageUtils;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.AbstractDataPageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPagePayload;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Update of changed bytes of an existing record in data page. Logged instead of {@link DataPageUpdateRecord}
+ * when a row is updated in place and only small parts of it are changed.
+ * <p>
+ * Changes are encoded as a sequence of chunks {@code [offset: short][length: short][bytes]}, where offset
+ * is relative to the start of the row payload.
+ */
+public class DataPagePatchRecord extends PageDeltaRecord {
+    /** Size of chunk header. */
+    private static final int CHUNK_HDR_SIZE = 4;
+
+    /** */
+    private int itemId;
+
+    /** Encoded changes. */
+    private byte[] changes;
+
+    /**
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @param itemId Item ID.
+     * @param changes Encoded changes.
+     */
+    public DataPagePatchRecord(
+        int grpId,
+        long pageId,
+        int itemId,
+        byte[] changes
+    ) {
+        super(grpId, pageId);
+
+        this.itemId = itemId;
+        this.changes = changes;
+    }
+
+    /**
+     * @return Item ID.
+     */
+    public int itemId() {
+        return itemId;
+    }
+
+    /**
+     * @return Encoded changes.
+     */
+    public byte[] changes() {
+        return changes;
+    }
+
+    /**
+     * Encodes changed bytes of a row payload. Unchanged gaps shorter than a chunk header are included in chunks.
+     *
+     * @param oldPayload Old payload.
+     * @param newPayload New payload of the same size.
+     * @return Encoded changes or {@code null} if they are not smaller than the new payload.
+     */
+    @Nullable public static byte[] changes(byte[] oldPayload, byte[] newPayload) {
+        assert oldPayload.length == newPayload.length;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int len = newPayload.length;
+
+        int i = 0;
+
+        while (i < len) {
+            if (oldPayload[i] == newPayload[i]) {
+                i++;
+
+                continue;
+            }
+
+            int start = i;
+            int end = i + 1;
+
+            // Extend the chunk while the next change is closer than a new chunk header.
+            for (int j = end; j < len && j - end < CHUNK_HDR_SIZE; j++) {
+                if (oldPayload[j] != newPayload[j])
+                    end = j + 1;
+            }
+
+            int chunkLen = end - start;
+
+            if (out.size() + CHUNK_HDR_SIZE + chunkLen >= len)
+                return null;
+
+            out.write(start >>> 8);
+            out.write(start);
+            out.write(chunkLen >>> 8);
+            out.write(chunkLen);
+            out.write(newPayload, start, chunkLen);
+
+            i = end;
+        }
+
+        return out.toByteArray();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void applyDelta(PageMemory pageMem, long pageAddr) throws IgniteCheckedException {
+        assert changes != null;
+
+        AbstractDataPageIO io = PageIO.getPageIO(pageAddr);
+
+        DataPagePayload data = io.readPayload(pageAddr, itemId, pageMem.realPageSize(groupId()));
+
+        assert data.nextLink() == 0 : "Patched row must not be fragmented: " + this;
+
+        int pos = 0;
+
+        while (pos < changes.length) {
+            int off = ((changes[pos] & 0xFF) << 8) | (changes[pos + 1] & 0xFF);
+            int len = ((changes[pos + 2] & 0xFF) << 8) | (changes[pos + 3] & 0xFF);
+
+            pos += CHUNK_HDR_SIZE;
+
+            assert off + len <= data.payloadSize() : "Patch is out of row bounds: " + this;
+
+            PageUtils.putBytes(pageAddr, data.offset() + off, changes, pos, len);
+
+            pos += len;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public RecordType type() {
+        return RecordType.DATA_PAGE_PATCH_RECORD;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(DataPagePatchRecord.class, this, "super", super.toString());
+    }
+}
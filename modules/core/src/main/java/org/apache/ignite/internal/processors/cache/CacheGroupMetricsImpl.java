@@ -70,6 +70,9 @@ public class CacheGroupMetricsImpl {
     /** Number of local partitions initialized on current node. */
     private final AtomicLongMetric initLocPartitionsNum;
 
+    /** Expiration lag of entries with eager TTL, ms. */
+    private final AtomicLongMetric expiryLag;
+
     /**
      * Memory page metrics. Will be {@code null} on client nodes.
      */
@@ -106,6 +109,11 @@ public class CacheGroupMetricsImpl {
         initLocPartitionsNum = mreg.longMetric("InitializedLocalPartitionsNumber",
             "Number of local partitions initialized on current node.");
 
+        expiryLag = mreg.longMetric("ExpiryLag",
+            "Difference between the current time and the expire time of the oldest expired entry not yet removed " +
+                "by TTL cleanup, in milliseconds. Updated when the TTL cleanup queue is refilled. Zero if no expired " +
+                "entries were found on the last refill.");
+
         // disable memory page metrics for client nodes (dataRegion is null on client nodes)
         pageMetrics = ctx.dataRegion() == null ?
             null :
@@ -207,6 +215,21 @@ public class CacheGroupMetricsImpl {
         initLocPartitionsNum.decrement();
     }
 
+    /** */
+    public long getExpiryLag() {
+        return expiryLag.value();
+    }
+
+    /**
+     * Sets expiry lag when the TTL cleanup queue is refilled.
+     *
+     * @param lag Difference between the current time and the expire time of the oldest expired entry
+     *      not yet removed, ms.
+     */
+    public void expiryLag(long lag) {
+        expiryLag.value(Math.max(0, lag));
+    }
+
     /** */
     public int getGroupId() {
         return ctx.groupId();
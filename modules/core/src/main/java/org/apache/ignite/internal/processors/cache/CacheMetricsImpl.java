@@ -408,6 +408,14 @@ public class CacheMetricsImpl implements CacheMetrics {
 
         cacheSize = mreg.registerOrReplace("CacheSize",
             () -> getEntriesStat().cacheSize(), "Local cache size.");
+
+        if (store != null) {
+            mreg.registerOrReplace("WriteBehindFlushLag", store::getWriteBehindFlushLag,
+                "Time in milliseconds the oldest write-behind update has been waiting to be flushed to the store.");
+
+            mreg.registerOrReplace("WriteBehindJournalSize", store::getWriteBehindJournalSize,
+                "Size in bytes of pending updates in the write-behind journal.");
+        }
     }
 
     /**
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.events.EventType.EVT_NODE_FAILED;
+import static org.apache.ignite.events.EventType.EVT_NODE_LEFT;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Tracks response times and outstanding get requests of remote nodes, used to select replicas for reads
+ * if {@link org.apache.ignite.configuration.CacheConfiguration#isAdaptiveReplicaSelection()} is enabled.
+ * <p>
+ * Response times are averaged with an exponentially weighted moving average, together with their mean deviation.
+ * The score of a node is its average response time multiplied by the number of requests awaiting its response,
+ * so both a slow node and a node with a long queue of requests lose reads to other replicas. Statistics of a node
+ * are exposed in the {@code cache.replicas.<nodeId>} metric registry.
+ */
+public class CacheReadReplicaTracker {
+    /** Metric registry name prefix. */
+    public static final String REPLICAS_METRICS = metricName("cache", "replicas");
+
+    /** Weight of a new sample in the average. */
+    private static final double ALPHA = 0.125;
+
+    /** Weight of a new sample in the mean deviation. */
+    private static final double BETA = 0.25;
+
+    /** Number of mean deviations above the average a response is expected to come in. */
+    private static final int DEV_FACTOR = 4;
+
+    /** Minimum delay before a request is hedged. */
+    private static final long MIN_HEDGE_DELAY = 1_000_000L;
+
+    /** Number of samples required to hedge requests to a node. */
+    private static final int MIN_SAMPLES = 16;
+
+    /** Kernal context. */
+    private final GridKernalContext ctx;
+
+    /** Statistics by node IDs. */
+    private final Map<UUID, NodeStatistics> stats = new ConcurrentHashMap<>();
+
+    /**
+     * @param ctx Kernal context.
+     */
+    public CacheReadReplicaTracker(GridKernalContext ctx) {
+        this.ctx = ctx;
+
+        ctx.event().addDiscoveryEventListener((evt, discoCache) -> {
+            if (stats.remove(evt.eventNode().id()) != null)
+                ctx.metric().remove(metricName(REPLICAS_METRICS, evt.eventNode().id().toString()));
+        }, EVT_NODE_LEFT, EVT_NODE_FAILED);
+    }
+
+    /**
+     * Selects the affinity node with the lowest score.
+     *
+     * @param affNodes Affinity nodes.
+     * @param invalidNodes Invalid nodes.
+     * @param excl Node to exclude or {@code null}.
+     * @param checkAlive Whether to skip nodes which are not alive.
+     * @return Selected node or {@code null} if there is no suitable node.
+     */
+    @Nullable public ClusterNode select(
+        List<ClusterNode> affNodes,
+        Set<ClusterNode> invalidNodes,
+        @Nullable ClusterNode excl,
+        boolean checkAlive
+    ) {
+        ClusterNode best = null;
+        double bestScore = 0;
+        int ties = 0;
+
+        for (ClusterNode node : affNodes) {
+            if (node.equals(excl) || invalidNodes.contains(node) || checkAlive && !ctx.discovery().alive(node))
+                continue;
+
+            if (node.isLocal())
+                return node;
+
+            double score = score(node.id());
+
+            if (best == null || score < bestScore) {
+                best = node;
+                bestScore = score;
+                ties = 1;
+            }
+            else if (score == bestScore && ThreadLocalRandom.current().nextInt(++ties) == 0)
+                best = node;
+        }
+
+        return best;
+    }
+
+    /**
+     * @param nodeId Node ID.
+     * @return Score of the node, lower is better. Nodes with too few samples have zero score, so every replica
+     *      gets enough reads to be compared with the others.
+     */
+    public double score(UUID nodeId) {
+        NodeStatistics s = stats.get(nodeId);
+
+        return s == null || s.samples < MIN_SAMPLES ? 0 : s.avg * (s.outstanding.get() + 1);
+    }
+
+    /**
+     * Gets the time after which a request to the node is hedged.
+     *
+     * @param nodeId Node ID.
+     * @return Delay in nanoseconds or {@code -1} if the node has too few samples to hedge requests.
+     */
+    public long hedgeDelay(UUID nodeId) {
+        NodeStatistics s = stats.get(nodeId);
+
+        if (s == null || s.samples < MIN_SAMPLES)
+            return -1;
+
+        return Math.max(MIN_HEDGE_DELAY, (long)(s.avg + DEV_FACTOR * s.dev));
+    }
+
+    /**
+     * Callback invoked before a request is sent to a node.
+     *
+     * @param nodeId Node ID.
+     * @return Send time to be passed to {@link #onResponse(UUID, long, boolean)}.
+     */
+    public long onRequest(UUID nodeId) {
+        statistics(nodeId).outstanding.incrementAndGet();
+
+        return System.nanoTime();
+    }
+
+    /**
+     * Callback invoked when a request is completed.
+     *
+     * @param nodeId Node ID.
+     * @param sndTime Send time returned by {@link #onRequest(UUID)}.
+     * @param sample {@code False} if the request was not answered and its time should not be sampled.
+     */
+    public void onResponse(UUID nodeId, long sndTime, boolean sample) {
+        NodeStatistics s = stats.get(nodeId);
+
+        if (s == null)
+            return;
+
+        s.outstanding.decrementAndGet();
+
+        if (sample)
+            s.sample(System.nanoTime() - sndTime);
+    }
+
+    /**
+     * Callback invoked when a request is abandoned because another replica responded first. The elapsed time is only
+     * a lower bound of the response time of the node, so it is sampled only if it exceeds the average: the node is
+     * known to be slower than usual then, while a shorter time says nothing about the node.
+     *
+     * @param nodeId Node ID.
+     * @param sndTime Send time returned by {@link #onRequest(UUID)}.
+     */
+    public void onAbandon(UUID nodeId, long sndTime) {
+        NodeStatistics s = stats.get(nodeId);
+
+        if (s == null)
+            return;
+
+        s.outstanding.decrementAndGet();
+
+        s.sampleLowerBound(System.nanoTime() - sndTime);
+    }
+
+    /**
+     * Callback invoked when a request to a node is hedged because the node did not respond in time.
+     *
+     * @param nodeId Node ID.
+     */
+    public void onHedge(UUID nodeId) {
+        NodeStatistics s = stats.get(nodeId);
+
+        if (s != null)
+            s.hedged.increment();
+    }
+
+    /**
+     * @param nodeId Node ID.
+     * @return Statistics of the node.
+     */
+    private NodeStatistics statistics(UUID nodeId) {
+        NodeStatistics s = stats.get(nodeId);
+
+        if (s != null)
+            return s;
+
+        return stats.computeIfAbsent(nodeId, id -> new NodeStatistics(
+            ctx.metric().registry(metricName(REPLICAS_METRICS, id.toString()))));
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(CacheReadReplicaTracker.class, this);
+    }
+
+    /**
+     * Statistics of a node.
+     */
+    private static class NodeStatistics {
+        /** Average response time in nanoseconds. */
+        private volatile double avg;
+
+        /** Mean deviation of response time in nanoseconds. */
+        private volatile double dev;
+
+        /** Number of samples, up to {@link #MIN_SAMPLES}. */
+        private volatile int samples;
+
+        /** Number of requests awaiting response. */
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        /** Number of requests hedged because of this node. */
+        private final LongAdderMetric hedged;
+
+        /**
+         * @param mreg Metric registry.
+         */
+        private NodeStatistics(MetricRegistry mreg) {
+            mreg.registerOrReplace("ResponseTime", () -> (long)avg,
+                "Average response time of the node in nanoseconds.");
+
+            mreg.registerOrReplace("ResponseTimeDeviation", () -> (long)dev,
+                "Mean deviation of response time of the node in nanoseconds.");
+
+            mreg.registerOrReplace("OutstandingRequests", outstanding::get,
+                "Number of get requests awaiting response of the node.");
+
+            mreg.registerOrReplace("Score", () -> avg * (outstanding.get() + 1),
+                "Replica selection score of the node, lower is better.");
+
+            hedged = mreg.longAdderMetric("HedgedRequests",
+                "Number of get requests sent to another replica because the node did not respond in time.");
+        }
+
+        /**
+         * @param time Response time in nanoseconds.
+         */
+        private synchronized void sample(long time) {
+            if (samples == 0) {
+                avg = time;
+                dev = time / 2.0;
+            }
+            else {
+                dev += BETA * (Math.abs(time - avg) - dev);
+                avg += ALPHA * (time - avg);
+            }
+
+            if (samples < MIN_SAMPLES)
+                samples++;
+        }
+
+        /**
+         * @param time Lower bound of response time in nanoseconds.
+         */
+        private synchronized void sampleLowerBound(long time) {
+            if (time > avg)
+                sample(time);
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(NodeStatistics.class, this);
+        }
+    }
+}
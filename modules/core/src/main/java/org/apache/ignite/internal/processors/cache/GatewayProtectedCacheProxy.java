@@ -749,6 +749,30 @@ public class GatewayProtectedCacheProxy<K, V> extends AsyncSupportAdapter<Ignite
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public Map<K, V> getAllSnapshot(Set<? extends K> keys) {
+        CacheOperationGate opGate = onEnter();
+
+        try {
+            return delegate.getAllSnapshot(keys);
+        }
+        finally {
+            onLeave(opGate);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Map<K, V>> getAllSnapshotAsync(Set<? extends K> keys) {
+        CacheOperationGate opGate = onEnter();
+
+        try {
+            return delegate.getAllSnapshotAsync(keys);
+        }
+        finally {
+            onLeave(opGate);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public boolean containsKey(K key) throws TransactionException {
         CacheOperationGate opGate = onEnter();
@@ -1241,6 +1265,30 @@ public class GatewayProtectedCacheProxy<K, V> extends AsyncSupportAdapter<Ignite
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean patch(K key, Map<String, ?> fields) throws TransactionException {
+        CacheOperationGate opGate = onEnter();
+
+        try {
+            return delegate.patch(key, fields);
+        }
+        finally {
+            onLeave(opGate);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Boolean> patchAsync(K key, Map<String, ?> fields) throws TransactionException {
+        CacheOperationGate opGate = onEnter();
+
+        try {
+            return delegate.patchAsync(key, fields);
+        }
+        finally {
+            onLeave(opGate);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public <T> Map<K, EntryProcessorResult<T>> invokeAll(Set<? extends K> keys, EntryProcessor<K, V, T> entryProcessor, Object... args) throws TransactionException {
         CacheOperationGate opGate = onEnter();
@@ -282,6 +282,9 @@ public class GridCacheContext<K, V> implements Externalizable {
     /** Flag indicating whether data can be read from backup. */
     private boolean readFromBackup = CacheConfiguration.DFLT_READ_FROM_BACKUP;
 
+    /** Flag indicating whether replicas for reads are selected by their response times. */
+    private boolean adaptiveReplicaSelection;
+
     /** Local node's MAC address. */
     private volatile String locMacs;
 
@@ -425,6 +428,8 @@ public class GridCacheContext<K, V> implements Externalizable {
 
         readFromBackup = cacheCfg.isReadFromBackup();
 
+        adaptiveReplicaSelection = readFromBackup && readLoadBalancingEnabled && cacheCfg.isAdaptiveReplicaSelection();
+
         this.dynamicDeploymentId = deploymentId;
         this.recoveryMode = recoveryMode;
 
@@ -2220,6 +2225,14 @@ public class GridCacheContext<K, V> implements Externalizable {
         return true;
     }
 
+    /**
+     * @return {@code True} if replicas for reads are selected by their response times.
+     * @see CacheConfiguration#isAdaptiveReplicaSelection()
+     */
+    public boolean adaptiveReplicaSelection() {
+        return adaptiveReplicaSelection;
+    }
+
     /**
      * Determines an affinity node to send get request to.
      *
@@ -2257,6 +2270,9 @@ public class GridCacheContext<K, V> implements Externalizable {
             return !invalidNodes.contains(first) ? first : null;
         }
 
+        if (adaptiveReplicaSelection)
+            return sharedCtx.readReplicaTracker().select(affNodes, invalidNodes, null, !canRemap);
+
         assert locMacs != null;
 
         int r = ThreadLocalRandom.current().nextInt(affNodes.size());
@@ -86,9 +86,11 @@ import org.apache.ignite.internal.processors.cache.distributed.near.GridNearTxQu
 import org.apache.ignite.internal.processors.cache.distributed.near.GridNearTxQueryResultsEnlistResponse;
 import org.apache.ignite.internal.processors.cache.query.GridCacheQueryRequest;
 import org.apache.ignite.internal.processors.cache.query.GridCacheQueryResponse;
+import org.apache.ignite.internal.processors.cache.transactions.IgniteTxMessageBatcher;
 import org.apache.ignite.internal.processors.cache.transactions.IgniteTxState;
 import org.apache.ignite.internal.processors.cache.transactions.IgniteTxStateAware;
 import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.util.GridMessageCollection;
 import org.apache.ignite.internal.util.StripedCompositeReadWriteLock;
 import org.apache.ignite.internal.util.lang.GridPlainRunnable;
 import org.apache.ignite.internal.util.typedef.CI1;
@@ -97,6 +99,7 @@ import org.apache.ignite.internal.util.typedef.internal.CU;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteBiInClosure;
 import org.apache.ignite.lang.IgniteUuid;
+import org.apache.ignite.plugin.extensions.communication.Message;
 import org.apache.ignite.thread.IgniteThread;
 import org.jetbrains.annotations.Nullable;
 
@@ -1256,6 +1259,43 @@ public class GridCacheIoManager extends GridCacheSharedManagerAdapter {
         if (log.isDebugEnabled())
             log.debug("Sending cache message [msg=" + msg + ", node=" + U.toShortString(node) + ']');
 
+        IgniteTxMessageBatcher batcher = cctx.tm().messageBatcher();
+
+        if (batcher != null && batcher.offer(node, msg, plc))
+            return;
+
+        send0(node, msg, plc);
+
+        if (log.isDebugEnabled())
+            log.debug("Sent cache message [msg=" + msg + ", node=" + U.toShortString(node) + ']');
+    }
+
+    /**
+     * Sends batch of messages prepared for sending by {@link #send(ClusterNode, GridCacheMessage, byte)}.
+     *
+     * @param node Node to send the messages to.
+     * @param msgs Messages to send.
+     * @param plc IO policy.
+     * @throws IgniteCheckedException If sending failed.
+     * @throws ClusterTopologyCheckedException If receiver left.
+     */
+    public void sendBatch(ClusterNode node, List<GridCacheMessage> msgs, byte plc) throws IgniteCheckedException {
+        assert !msgs.isEmpty();
+
+        send0(node, msgs.size() == 1 ? msgs.get(0) : new GridMessageCollection<>(msgs), plc);
+
+        if (log.isDebugEnabled())
+            log.debug("Sent batch of cache messages [size=" + msgs.size() + ", node=" + U.toShortString(node) + ']');
+    }
+
+    /**
+     * @param node Node to send the message to.
+     * @param msg Message to send.
+     * @param plc IO policy.
+     * @throws IgniteCheckedException If sending failed.
+     * @throws ClusterTopologyCheckedException If receiver left.
+     */
+    private void send0(ClusterNode node, Message msg, byte plc) throws IgniteCheckedException {
         int cnt = 0;
 
         while (cnt <= retryCnt) {
@@ -1281,9 +1321,6 @@ public class GridCacheIoManager extends GridCacheSharedManagerAdapter {
 
             U.sleep(retryDelay);
         }
-
-        if (log.isDebugEnabled())
-            log.debug("Sent cache message [msg=" + msg + ", node=" + U.toShortString(node) + ']');
     }
 
     /**
@@ -1319,6 +1356,8 @@ public class GridCacheIoManager extends GridCacheSharedManagerAdapter {
 
         msg.lastAffinityChangedTopologyVersion(cctx.exchange().lastAffinityChangedTopologyVersion(msg.topologyVersion()));
 
+        flushBatch(node.id());
+
         int cnt = 0;
 
         while (cnt <= retryCnt) {
@@ -1350,6 +1389,19 @@ public class GridCacheIoManager extends GridCacheSharedManagerAdapter {
         }
     }
 
+    /**
+     * Sends pending batch of transaction messages for the node, so a message sent bypassing the batcher
+     * is not received before transaction messages sent earlier.
+     *
+     * @param nodeId Node ID.
+     */
+    private void flushBatch(UUID nodeId) {
+        IgniteTxMessageBatcher batcher = cctx.tm().messageBatcher();
+
+        if (batcher != null)
+            batcher.flush(nodeId);
+    }
+
     /**
      * @return ID that auto-grows based on local counter and counters received from other nodes.
      */
@@ -1377,6 +1429,8 @@ public class GridCacheIoManager extends GridCacheSharedManagerAdapter {
 
         msg.lastAffinityChangedTopologyVersion(cctx.exchange().lastAffinityChangedTopologyVersion(msg.topologyVersion()));
 
+        flushBatch(node.id());
+
         try {
             cctx.gridIO().sendToGridTopic(node, TOPIC_CACHE, msg, plc);
 
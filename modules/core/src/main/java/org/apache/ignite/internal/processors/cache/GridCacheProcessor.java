@@ -85,6 +85,7 @@ import org.apache.ignite.internal.managers.communication.GridIoPolicy;
 import org.apache.ignite.internal.managers.discovery.DiscoveryCustomMessage;
 import org.apache.ignite.internal.managers.discovery.IgniteDiscoverySpi;
 import org.apache.ignite.internal.managers.systemview.walker.CachePagesListViewWalker;
+import org.apache.ignite.internal.managers.systemview.walker.HotKeyViewWalker;
 import org.apache.ignite.internal.pagemem.store.IgnitePageStoreManager;
 import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
 import org.apache.ignite.internal.processors.GridProcessorAdapter;
@@ -95,6 +96,7 @@ import org.apache.ignite.internal.processors.cache.compress.EntryCompressionStra
 import org.apache.ignite.internal.processors.cache.datastructures.CacheDataStructuresManager;
 import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtCache;
 import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtCacheAdapter;
+import org.apache.ignite.internal.processors.cache.distributed.dht.HotKeysTracker;
 import org.apache.ignite.internal.processors.cache.distributed.dht.IgniteClusterReadOnlyException;
 import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicCache;
 import org.apache.ignite.internal.processors.cache.distributed.dht.colocated.GridDhtColocatedCache;
@@ -102,6 +104,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.Fin
 import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.StopCachesOnClientReconnectExchangeTask;
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.PartitionsEvictManager;
 import org.apache.ignite.internal.processors.cache.distributed.near.GridNearAtomicCache;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearCacheAdapter;
 import org.apache.ignite.internal.processors.cache.distributed.near.GridNearTransactionalCache;
 import org.apache.ignite.internal.processors.cache.dr.GridCacheReplicationManager;
 import org.apache.ignite.internal.processors.cache.jta.CacheJtaManagerAdapter;
@@ -122,6 +125,7 @@ import org.apache.ignite.internal.processors.cache.persistence.freelist.PagesLis
 import org.apache.ignite.internal.processors.cache.persistence.metastorage.MetastorageLifecycleListener;
 import org.apache.ignite.internal.processors.cache.persistence.metastorage.ReadOnlyMetastorage;
 import org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPartitionId;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.FileSnapshotManager;
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteCacheSnapshotManager;
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.SnapshotDiscoveryMessage;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
@@ -189,6 +193,7 @@ import org.apache.ignite.spi.discovery.DiscoveryDataBag;
 import org.apache.ignite.spi.discovery.DiscoveryDataBag.GridDiscoveryData;
 import org.apache.ignite.spi.discovery.DiscoveryDataBag.JoiningNodeDiscoveryData;
 import org.apache.ignite.spi.systemview.view.CachePagesListView;
+import org.apache.ignite.spi.systemview.view.HotKeyView;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -201,6 +206,7 @@ import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_SKIP_CONFIGURATION_CONSISTENCY_CHECK;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_ENABLED;
 import static org.apache.ignite.IgniteSystemProperties.getBoolean;
 import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
 import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL_SNAPSHOT;
@@ -217,6 +223,7 @@ import static org.apache.ignite.internal.SupportFeaturesUtils.IGNITE_USE_BACKWAR
 import static org.apache.ignite.internal.processors.cache.GridCacheUtils.isNearEnabled;
 import static org.apache.ignite.internal.processors.cache.GridCacheUtils.isPersistentCache;
 import static org.apache.ignite.internal.processors.cache.ValidationOnNodeJoinUtils.validateHashIdResolvers;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.FileSnapshotManager.DFLT_SNAPSHOT_ENABLED;
 import static org.apache.ignite.internal.util.IgniteUtils.assertParameter;
 import static org.apache.ignite.internal.util.IgniteUtils.doInParallel;
 
@@ -239,6 +246,12 @@ public class GridCacheProcessor extends GridProcessorAdapter {
     /** System view description for page lists. */
     public static final String CACHE_GRP_PAGE_LIST_VIEW_DESC = "Cache group page lists";
 
+    /** System view name for hot keys. */
+    public static final String HOT_KEYS_VIEW = "hotKeys";
+
+    /** System view description for hot keys. */
+    public static final String HOT_KEYS_VIEW_DESC = "Frequently accessed keys of primary partitions";
+
     /** @see IgniteSystemProperties#IGNITE_ALLOW_START_CACHES_IN_PARALLEL */
     public static final boolean DFLT_ALLOW_START_CACHES_IN_PARALLEL = true;
 
@@ -626,6 +639,15 @@ public class GridCacheProcessor extends GridProcessorAdapter {
             this::pagesListViewSupplier,
             Function.identity()
         );
+
+        ctx.systemView().registerInnerCollectionView(
+            HOT_KEYS_VIEW,
+            HOT_KEYS_VIEW_DESC,
+            new HotKeyViewWalker(),
+            () -> sharedCtx.cacheContexts().iterator(),
+            GridCacheProcessor::hotKeys,
+            (cctx, key) -> new HotKeyView(cctx.name(), key)
+        );
     }
 
     /**
@@ -2400,23 +2422,47 @@ public class GridCacheProcessor extends GridProcessorAdapter {
      */
     public void restartProxies() {
         for (IgniteCacheProxyImpl<?, ?> proxy : jCacheProxies.values()) {
-            if (proxy == null)
-                continue;
+            if (proxy != null)
+                restartProxy(proxy);
+        }
+    }
 
-            GridCacheContext<?, ?> cacheCtx = sharedCtx.cacheContext(CU.cacheId(proxy.getName()));
+    /**
+     * Restarts proxies of the given caches if they were marked as restarting.
+     *
+     * @param cacheNames Cache names.
+     */
+    public void restartProxies(Collection<String> cacheNames) {
+        for (String cacheName : cacheNames) {
+            IgniteCacheProxyImpl<?, ?> proxy = jCacheProxies.get(cacheName);
 
-            if (cacheCtx == null)
-                continue;
+            if (proxy != null)
+                restartProxy(proxy);
+        }
+    }
 
-            if (proxy.isRestarting()) {
-                caches.get(proxy.getName()).active(true);
+    /**
+     * Activates the cache and restarts its proxy if it was marked as restarting.
+     *
+     * @param proxy Cache proxy.
+     */
+    private void restartProxy(IgniteCacheProxyImpl<?, ?> proxy) {
+        GridCacheContext<?, ?> cacheCtx = sharedCtx.cacheContext(CU.cacheId(proxy.getName()));
 
-                proxy.onRestarted(cacheCtx, cacheCtx.cache());
+        if (cacheCtx == null)
+            return;
 
-                if (cacheCtx.dataStructuresCache())
-                    ctx.dataStructures().restart(proxy.getName(), proxy.internalProxy());
-            }
+        synchronized (proxy) {
+            if (!proxy.isRestarting())
+                return;
+
+            caches.get(proxy.getName()).active(true);
+
+            proxy.onRestarted(cacheCtx, cacheCtx.cache());
         }
+
+        if (cacheCtx.dataStructuresCache())
+            ctx.dataStructures().restart(proxy.getName(), proxy.internalProxy());
     }
 
     /**
@@ -2663,10 +2709,17 @@ public class GridCacheProcessor extends GridProcessorAdapter {
                 if (!jCacheProxies.containsKey(cacheCtx.name())) {
                     IgniteCacheProxyImpl<?, ?> newProxy = new IgniteCacheProxyImpl(cache.context(), cache, false);
 
-                    if (!cache.active())
+                    // Cache started by a client while it is being restored on server nodes.
+                    boolean restoring = sharedCtx.snapshot().cacheRestoring(cacheCtx.name());
+
+                    if (!cache.active() || restoring)
                         newProxy.suspend();
 
                     addjCacheProxy(cacheCtx.name(), newProxy);
+
+                    // Restore could be finished before the proxy was added.
+                    if (restoring && cache.active() && !sharedCtx.snapshot().cacheRestoring(cacheCtx.name()))
+                        restartProxy(newProxy);
                 }
 
                 if (cacheCtx.preloader() != null)
@@ -3052,7 +3105,10 @@ public class GridCacheProcessor extends GridProcessorAdapter {
         IgniteCacheSnapshotManager snpMgr = ctx.plugins().createComponent(IgniteCacheSnapshotManager.class);
 
         if (snpMgr == null)
-            snpMgr = new IgniteCacheSnapshotManager();
+            snpMgr = pageStoreMgr instanceof FilePageStoreManager && getBoolean(IGNITE_SNAPSHOT_ENABLED,
+                DFLT_SNAPSHOT_ENABLED) ?
+                new FileSnapshotManager() :
+                new IgniteCacheSnapshotManager();
 
         GridCacheIoManager ioMgr = new GridCacheIoManager();
         CacheAffinitySharedManager topMgr = new CacheAffinitySharedManager();
@@ -5295,6 +5351,24 @@ public class GridCacheProcessor extends GridProcessorAdapter {
         return enricher;
     }
 
+    /**
+     * @param cctx Cache context.
+     * @return Keys tracked by hot keys tracker of the cache.
+     */
+    private static Collection<HotKeysTracker.HotKey> hotKeys(GridCacheContext<?, ?> cctx) {
+        GridCacheAdapter<?, ?> cache = cctx.cache();
+
+        if (cache instanceof GridNearCacheAdapter)
+            cache = ((GridNearCacheAdapter<?, ?>)cache).dht();
+
+        if (!(cache instanceof GridDhtCacheAdapter))
+            return Collections.emptyList();
+
+        HotKeysTracker hotKeys = ((GridDhtCacheAdapter<?, ?>)cache).hotKeys();
+
+        return hotKeys != null ? hotKeys.keys() : Collections.emptyList();
+    }
+
     /**
      * Pages list view supplier.
      *
@@ -143,6 +143,9 @@ public class GridCacheSharedContext<K, V> {
     /** Tx metrics. */
     private final TransactionMetricsAdapter txMetrics;
 
+    /** Read replica tracker. */
+    private volatile CacheReadReplicaTracker readReplicaTracker;
+
     /** Cache diagnostic manager. */
     private CacheDiagnosticManager diagnosticMgr;
 
@@ -656,6 +659,24 @@ public class GridCacheSharedContext<K, V> {
         return txMetrics;
     }
 
+    /**
+     * @return Tracker of response times of remote nodes for adaptive replica selection.
+     */
+    public CacheReadReplicaTracker readReplicaTracker() {
+        CacheReadReplicaTracker tracker = readReplicaTracker;
+
+        if (tracker == null) {
+            synchronized (this) {
+                tracker = readReplicaTracker;
+
+                if (tracker == null)
+                    readReplicaTracker = tracker = new CacheReadReplicaTracker(kernalCtx);
+            }
+        }
+
+        return tracker;
+    }
+
     /**
      * Resets tx metrics.
      */
@@ -16,10 +16,13 @@
 
 package org.apache.ignite.internal.processors.cache;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteSystemProperties;
@@ -41,6 +44,7 @@ import org.apache.ignite.spi.communication.CommunicationSpi;
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi;
 import org.apache.ignite.thread.IgniteThread;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_TTL_CLEANUP_THREADS;
 import static org.apache.ignite.failure.FailureType.CRITICAL_ERROR;
 import static org.apache.ignite.failure.FailureType.SYSTEM_WORKER_TERMINATION;
 import static org.apache.ignite.internal.processors.configuration.distributed.DistributedBooleanProperty.detachedBooleanProperty;
@@ -57,6 +61,13 @@ public class GridCacheSharedTtlCleanupManager extends GridCacheSharedManagerAdap
     /** Limit of expired entries processed by worker for certain cache in one pass. */
     private static final int CLEANUP_WORKER_ENTRIES_PROCESS_LIMIT = 1000;
 
+    /** Default number of ttl cleanup workers. */
+    public static final int DFLT_TTL_CLEANUP_THREADS = 1;
+
+    /** Number of ttl cleanup workers. */
+    private final int cleanupThreads =
+        Math.max(1, IgniteSystemProperties.getInteger(IGNITE_TTL_CLEANUP_THREADS, DFLT_TTL_CLEANUP_THREADS));
+
     /** Default tombstone limit per cache group. */
     public static final long DEFAULT_TOMBSTONE_LIMIT = Long.MAX_VALUE;
 
@@ -75,12 +86,18 @@ public class GridCacheSharedTtlCleanupManager extends GridCacheSharedManagerAdap
     /** */
     public static final String DEFAULT_TOMBSTONE_TTL_PROP = "DEFAULT_TOMBSTONE_TTL";
 
-    /** Cleanup worker. */
-    private CleanupWorker cleanupWorker;
+    /** Cleanup workers. */
+    private List<CleanupWorker> cleanupWorkers;
 
     /** Lock on worker thread creation. */
     private final ReentrantLock lock = new ReentrantLock();
 
+    /**
+     * Guards ttl managers against unregistering while expiration is in progress. Read lock is held by workers
+     * expiring entries, so several workers may process the same cache concurrently.
+     */
+    private final ReadWriteLock expireLock = new ReentrantReadWriteLock();
+
     /** Map of registered ttl managers, where the cache id is used as the key. */
     private final Map<Integer, GridCacheTtlManager> mgrs = new ConcurrentHashMap<>();
 
@@ -168,7 +185,15 @@ public class GridCacheSharedTtlCleanupManager extends GridCacheSharedManagerAdap
      * @param mgr ttl manager of cache.
      * */
     public void unregister(GridCacheTtlManager mgr) {
-        mgrs.remove(mgr.context().cacheId());
+        // Need to be sure that the cache will not be stopped while its entries are being expired.
+        expireLock.writeLock().lock();
+
+        try {
+            mgrs.remove(mgr.context().cacheId());
+        }
+        finally {
+            expireLock.writeLock().unlock();
+        }
 
         if (mgrs.isEmpty())
             stopCleanupWorker();
@@ -183,7 +208,7 @@ public class GridCacheSharedTtlCleanupManager extends GridCacheSharedManagerAdap
         lock.lock();
 
         try {
-            return cleanupWorker != null;
+            return cleanupWorkers != null;
         }
         finally {
             lock.unlock();
@@ -254,12 +279,18 @@ public class GridCacheSharedTtlCleanupManager extends GridCacheSharedManagerAdap
         lock.lock();
 
         try {
-            if (cleanupWorker != null)
+            if (cleanupWorkers != null)
                 return;
 
-            cleanupWorker = new CleanupWorker();
+            cleanupWorkers = new ArrayList<>(cleanupThreads);
+
+            for (int i = 0; i < cleanupThreads; i++) {
+                CleanupWorker worker = new CleanupWorker(i);
+
+                cleanupWorkers.add(worker);
 
-            new IgniteThread(cleanupWorker).start();
+                new IgniteThread(worker).start();
+            }
         }
         finally {
             lock.unlock();
@@ -273,11 +304,11 @@ public class GridCacheSharedTtlCleanupManager extends GridCacheSharedManagerAdap
         lock.lock();
 
         try {
-            if (null != cleanupWorker) {
-                U.cancel(cleanupWorker);
-                U.join(cleanupWorker, log);
+            if (null != cleanupWorkers) {
+                U.cancel(cleanupWorkers);
+                U.join(cleanupWorkers, log);
 
-                cleanupWorker = null;
+                cleanupWorkers = null;
             }
         }
         finally {
@@ -303,10 +334,12 @@ public class GridCacheSharedTtlCleanupManager extends GridCacheSharedManagerAdap
     private class CleanupWorker extends GridWorker {
         /**
          * Creates cleanup worker.
+         *
+         * @param idx Worker index.
          */
-        CleanupWorker() {
-            super(cctx.igniteInstanceName(), "ttl-cleanup-worker", cctx.logger(GridCacheSharedTtlCleanupManager.class),
-                cctx.kernalContext().workersRegistry());
+        CleanupWorker(int idx) {
+            super(cctx.igniteInstanceName(), idx == 0 ? "ttl-cleanup-worker" : "ttl-cleanup-worker-" + idx,
+                cctx.logger(GridCacheSharedTtlCleanupManager.class), cctx.kernalContext().workersRegistry());
         }
 
         /** {@inheritDoc} */
@@ -339,27 +372,30 @@ public class GridCacheSharedTtlCleanupManager extends GridCacheSharedManagerAdap
 
                 assert !cctx.kernalContext().recoveryMode();
 
-                final AtomicBoolean expiredRemains = new AtomicBoolean();
+                boolean expiredRemains;
 
                 while (!isCancelled()) {
-                    expiredRemains.set(false);
+                    expiredRemains = false;
 
                     for (Map.Entry<Integer, GridCacheTtlManager> mgr : mgrs.entrySet()) {
                         updateHeartbeat();
 
-                        Integer processedCacheID = mgr.getKey();
-
                         cctx.database().checkpointReadLock();
 
                         try {
                             // Need to be sure that the cache to be processed will not be unregistered and,
                             // therefore, stopped during the process of expiration is in progress.
-                            mgrs.computeIfPresent(processedCacheID, (id, m) -> {
-                                if (m.expire(CLEANUP_WORKER_ENTRIES_PROCESS_LIMIT))
-                                    expiredRemains.set(true);
+                            expireLock.readLock().lock();
+
+                            try {
+                                GridCacheTtlManager m = mgr.getValue();
 
-                                return m;
-                            });
+                                if (mgrs.get(mgr.getKey()) == m && m.expire(CLEANUP_WORKER_ENTRIES_PROCESS_LIMIT))
+                                    expiredRemains = true;
+                            }
+                            finally {
+                                expireLock.readLock().unlock();
+                            }
                         }
                         finally {
                             cctx.database().checkpointReadUnlock();
@@ -371,7 +407,7 @@ public class GridCacheSharedTtlCleanupManager extends GridCacheSharedManagerAdap
 
                     updateHeartbeat();
 
-                    if (!expiredRemains.get())
+                    if (!expiredRemains)
                         U.sleep(cleanupWorkerSleepInterval);
 
                     onIdle();
@@ -0,0 +1,503 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.cluster.ClusterTopologyException;
+import org.apache.ignite.compute.ComputeJob;
+import org.apache.ignite.compute.ComputeJobResult;
+import org.apache.ignite.compute.ComputeJobResultPolicy;
+import org.apache.ignite.compute.ComputeTaskAdapter;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.processors.task.GridInternal;
+import org.apache.ignite.internal.processors.timeout.GridTimeoutObjectAdapter;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+import static org.apache.ignite.internal.processors.task.GridTaskThreadContextKey.TC_NO_FAILOVER;
+import static org.apache.ignite.internal.processors.task.GridTaskThreadContextKey.TC_SUBGRID;
+
+/**
+ * Future which reads a consistent snapshot of values of a set of keys without acquiring locks,
+ * used by {@link org.apache.ignite.IgniteCache#getAllSnapshot(java.util.Set)}.
+ * <p>
+ * Keys are read on primary nodes twice. The first pass reads values and versions of entries,
+ * the second pass reads versions only. A pass fails if any entry is locked by a transaction. A transaction
+ * holds locks on all its keys until values of all of them are updated, so if both passes succeed and
+ * see the same versions, then no transaction was committed between them partially, and values read by the first
+ * pass are a consistent snapshot. Otherwise the read is retried with a growing delay. Updates bypassing
+ * transaction locks (data streamer, cache loading) are not detected.
+ */
+public class GridCacheSnapshotReadFuture<K, V> extends GridFutureAdapter<Map<K, V>> {
+    /** Maximum number of read attempts. */
+    private static final int MAX_ATTEMPTS = 100;
+
+    /** Delay increment between read attempts, in milliseconds. */
+    private static final long RETRY_DELAY = 5;
+
+    /** Maximum delay between read attempts, in milliseconds. */
+    private static final long MAX_RETRY_DELAY = 100;
+
+    /** Context. */
+    private final GridCacheContext<K, V> ctx;
+
+    /** Keys. */
+    private final List<K> keys;
+
+    /** Keys in binary form. */
+    private final Object[] binKeys;
+
+    /** Keep binary flag. */
+    private final boolean keepBinary;
+
+    /** Number of failed attempts. */
+    private int attempts;
+
+    /**
+     * @param ctx Context.
+     * @param keys Keys.
+     * @param keepBinary Keep binary flag.
+     */
+    public GridCacheSnapshotReadFuture(GridCacheContext<K, V> ctx, Collection<? extends K> keys, boolean keepBinary) {
+        this.ctx = ctx;
+        this.keys = new ArrayList<>(keys);
+        this.keepBinary = keepBinary;
+
+        binKeys = new Object[this.keys.size()];
+    }
+
+    /**
+     * Starts reading.
+     */
+    public void init() {
+        if (ctx.isLocal() || ctx.config().getAtomicityMode() != TRANSACTIONAL) {
+            onDone(new IgniteCheckedException("Snapshot reads are supported for partitioned and replicated " +
+                "caches with TRANSACTIONAL atomicity mode only [cache=" + ctx.name() + ']'));
+
+            return;
+        }
+
+        if (keys.isEmpty()) {
+            onDone(Collections.emptyMap());
+
+            return;
+        }
+
+        try {
+            for (int i = 0; i < binKeys.length; i++) {
+                K key = keys.get(i);
+
+                if (key == null)
+                    throw new NullPointerException("Null key.");
+
+                binKeys[i] = ctx.unwrapBinaryIfNeeded(ctx.toCacheKeyObject(key), true, false, null);
+            }
+        }
+        catch (Exception e) {
+            onDone(e);
+
+            return;
+        }
+
+        map();
+    }
+
+    /**
+     * Maps keys to primary nodes and starts the first pass of an attempt.
+     */
+    private void map() {
+        try {
+            AffinityTopologyVersion topVer = ctx.affinity().affinityTopologyVersion();
+
+            Map<ClusterNode, List<Integer>> idxsByNode = new HashMap<>();
+
+            for (int i = 0; i < binKeys.length; i++) {
+                ClusterNode primary = ctx.affinity().primaryByKey(binKeys[i], topVer);
+
+                if (primary == null) {
+                    retry();
+
+                    return;
+                }
+
+                idxsByNode.computeIfAbsent(primary, n -> new ArrayList<>()).add(i);
+            }
+
+            read(topVer, idxsByNode, true).listen(f -> {
+                try {
+                    EntrySnapshot[] snapshot = f.get();
+
+                    if (snapshot == null)
+                        retry();
+                    else
+                        validate(topVer, idxsByNode, snapshot);
+                }
+                catch (IgniteCheckedException e) {
+                    onDone(e);
+                }
+            });
+        }
+        catch (Exception e) {
+            onDone(e);
+        }
+    }
+
+    /**
+     * Starts the second pass of an attempt.
+     *
+     * @param topVer Topology version.
+     * @param idxsByNode Indexes of keys by primary nodes.
+     * @param snapshot Entries read by the first pass.
+     */
+    private void validate(
+        AffinityTopologyVersion topVer,
+        Map<ClusterNode, List<Integer>> idxsByNode,
+        EntrySnapshot[] snapshot
+    ) {
+        read(topVer, idxsByNode, false).listen(f -> {
+            try {
+                EntrySnapshot[] vers = f.get();
+
+                if (vers == null) {
+                    retry();
+
+                    return;
+                }
+
+                for (int i = 0; i < snapshot.length; i++) {
+                    if (!F.eq(snapshot[i].ver, vers[i].ver)) {
+                        retry();
+
+                        return;
+                    }
+                }
+
+                Map<K, V> res = U.newHashMap(snapshot.length);
+
+                for (int i = 0; i < snapshot.length; i++) {
+                    if (snapshot[i].val != null)
+                        res.put(keys.get(i), (V)ctx.unwrapBinaryIfNeeded(snapshot[i].val, keepBinary, false, null));
+                }
+
+                onDone(res);
+            }
+            catch (Exception e) {
+                onDone(e);
+            }
+        });
+    }
+
+    /**
+     * @param topVer Topology version.
+     * @param idxsByNode Indexes of keys by primary nodes.
+     * @param withVals Whether values should be read.
+     * @return Future with entries indexed as keys or {@code null} if read should be retried.
+     */
+    private IgniteInternalFuture<EntrySnapshot[]> read(
+        AffinityTopologyVersion topVer,
+        Map<ClusterNode, List<Integer>> idxsByNode,
+        boolean withVals
+    ) {
+        Map<SnapshotReadJob, ClusterNode> jobs = new HashMap<>();
+
+        for (Map.Entry<ClusterNode, List<Integer>> e : idxsByNode.entrySet()) {
+            int[] idxs = U.toIntArray(e.getValue());
+
+            Object[] jobKeys = new Object[idxs.length];
+
+            for (int i = 0; i < idxs.length; i++)
+                jobKeys[i] = binKeys[idxs[i]];
+
+            jobs.put(new SnapshotReadJob(ctx.name(), topVer, idxs, jobKeys, withVals), e.getKey());
+        }
+
+        ctx.kernalContext().task().setThreadContext(TC_SUBGRID, idxsByNode.keySet());
+        ctx.kernalContext().task().setThreadContext(TC_NO_FAILOVER, true);
+
+        return ctx.kernalContext().task().execute(new SnapshotReadTask(jobs, binKeys.length), null);
+    }
+
+    /**
+     * Schedules the next attempt or fails the read if attempts are exhausted.
+     */
+    private void retry() {
+        if (++attempts >= MAX_ATTEMPTS) {
+            onDone(new IgniteCheckedException("Failed to read consistent snapshot of entries, keys are " +
+                "concurrently updated [cache=" + ctx.name() + ", attempts=" + attempts + ']'));
+
+            return;
+        }
+
+        long delay = Math.min(RETRY_DELAY * attempts, MAX_RETRY_DELAY);
+
+        ctx.time().addTimeoutObject(new GridTimeoutObjectAdapter(delay) {
+            @Override public void onTimeout() {
+                ctx.closures().runLocalSafe(GridCacheSnapshotReadFuture.this::map, true);
+            }
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheSnapshotReadFuture.class, this, "keys", keys.size(), "super", super.toString());
+    }
+
+    /**
+     * Value and version of an entry read on primary node.
+     */
+    private static class EntrySnapshot implements Serializable {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Entry version, {@code null} if entry has no value. */
+        @Nullable private final GridCacheVersion ver;
+
+        /** Value in binary form, {@code null} if value was not requested or entry has no value. */
+        @Nullable private final Object val;
+
+        /**
+         * @param ver Entry version.
+         * @param val Value in binary form.
+         */
+        private EntrySnapshot(@Nullable GridCacheVersion ver, @Nullable Object val) {
+            this.ver = ver;
+            this.val = val;
+        }
+    }
+
+    /**
+     * Task which reads entries on their primary nodes.
+     */
+    @GridInternal
+    private static class SnapshotReadTask extends ComputeTaskAdapter<Object, EntrySnapshot[]> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Jobs. */
+        private final Map<SnapshotReadJob, ClusterNode> jobs;
+
+        /** Keys count. */
+        private final int keysCnt;
+
+        /**
+         * @param jobs Jobs.
+         * @param keysCnt Keys count.
+         */
+        private SnapshotReadTask(Map<SnapshotReadJob, ClusterNode> jobs, int keysCnt) {
+            this.jobs = jobs;
+            this.keysCnt = keysCnt;
+        }
+
+        /** {@inheritDoc} */
+        @NotNull @Override public Map<? extends ComputeJob, ClusterNode> map(
+            List<ClusterNode> subgrid,
+            @Nullable Object arg
+        ) throws IgniteException {
+            return jobs;
+        }
+
+        /** {@inheritDoc} */
+        @Override public ComputeJobResultPolicy result(ComputeJobResult res, List<ComputeJobResult> rcvd) {
+            IgniteException e = res.getException();
+
+            if (e != null) {
+                // Entries are read again on the new topology.
+                if (e instanceof ClusterTopologyException)
+                    return ComputeJobResultPolicy.WAIT;
+
+                throw new IgniteException("Remote job threw exception.", e);
+            }
+
+            return res.getData() == null ? ComputeJobResultPolicy.REDUCE : ComputeJobResultPolicy.WAIT;
+        }
+
+        /** {@inheritDoc} */
+        @Nullable @Override public EntrySnapshot[] reduce(List<ComputeJobResult> results) throws IgniteException {
+            EntrySnapshot[] res = new EntrySnapshot[keysCnt];
+
+            for (ComputeJobResult jobRes : results) {
+                EntrySnapshot[] snapshot = jobRes.getException() == null ? jobRes.getData() : null;
+
+                if (snapshot == null)
+                    return null;
+
+                int[] idxs = ((SnapshotReadJob)jobRes.getJob()).idxs;
+
+                for (int i = 0; i < idxs.length; i++)
+                    res[idxs[i]] = snapshot[i];
+            }
+
+            return res;
+        }
+    }
+
+    /**
+     * Job which reads entries of primary partitions of the local node.
+     */
+    private static class SnapshotReadJob extends GridCacheAdapter.TopologyVersionAwareJob {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Indexes of keys in the read. */
+        private final int[] idxs;
+
+        /** Keys in binary form. */
+        private final Object[] keys;
+
+        /** Whether values should be read. */
+        private final boolean withVals;
+
+        /**
+         * @param cacheName Cache name.
+         * @param topVer Affinity topology version.
+         * @param idxs Indexes of keys in the read.
+         * @param keys Keys in binary form.
+         * @param withVals Whether values should be read.
+         */
+        private SnapshotReadJob(
+            String cacheName,
+            AffinityTopologyVersion topVer,
+            int[] idxs,
+            Object[] keys,
+            boolean withVals
+        ) {
+            super(cacheName, topVer);
+
+            this.idxs = idxs;
+            this.keys = keys;
+            this.withVals = withVals;
+        }
+
+        /** {@inheritDoc} */
+        @Nullable @Override protected Object localExecute(@Nullable IgniteInternalCache cache) {
+            if (cache == null)
+                return null;
+
+            GridCacheContext<?, ?> cctx = cache.context();
+
+            GridCacheContext<?, ?> dhtCtx = cctx.isNear() ? cctx.near().dht().context() : cctx;
+
+            if (!dhtCtx.affinity().affinityTopologyVersion().equals(topVer))
+                return null;
+
+            EntrySnapshot[] res = new EntrySnapshot[keys.length];
+
+            List<GridDhtLocalPartition> reserved = new ArrayList<>();
+
+            try {
+                for (int i = 0; i < keys.length; i++) {
+                    KeyCacheObject key = dhtCtx.toCacheKeyObject(keys[i]);
+
+                    int p = key.partition() >= 0 ? key.partition() : dhtCtx.affinity().partition(key);
+
+                    if (!dhtCtx.affinity().primaryByPartition(dhtCtx.localNode(), p, topVer))
+                        return null;
+
+                    GridDhtLocalPartition part = dhtCtx.topology().localPartition(p, topVer, false);
+
+                    if (part == null || !part.reserve())
+                        return null;
+
+                    reserved.add(part);
+
+                    if (part.state() != OWNING)
+                        return null;
+
+                    res[i] = read(dhtCtx, key);
+
+                    if (res[i] == null)
+                        return null;
+                }
+
+                return res;
+            }
+            catch (IgniteCheckedException e) {
+                throw new IgniteException(e);
+            }
+            finally {
+                for (GridDhtLocalPartition part : reserved)
+                    part.release();
+            }
+        }
+
+        /**
+         * @param dhtCtx Context.
+         * @param key Key.
+         * @return Entry snapshot or {@code null} if entry is locked.
+         * @throws IgniteCheckedException If failed.
+         */
+        @Nullable private EntrySnapshot read(GridCacheContext<?, ?> dhtCtx, KeyCacheObject key)
+            throws IgniteCheckedException {
+            while (true) {
+                GridCacheEntryEx e = dhtCtx.cache().entryEx(key);
+
+                dhtCtx.shared().database().checkpointReadLock();
+
+                try {
+                    GridCacheVersion ver = null;
+                    CacheObject val;
+
+                    e.lockEntry();
+
+                    try {
+                        if (e.lockedByAny())
+                            return null;
+
+                        val = e.peek(true, true, topVer, null);
+
+                        if (val != null)
+                            ver = e.version();
+                    }
+                    finally {
+                        e.unlockEntry();
+                    }
+
+                    if (val == null)
+                        return new EntrySnapshot(null, null);
+
+                    return new EntrySnapshot(ver, withVals ? dhtCtx.unwrapBinaryIfNeeded(val, true, true, null) : null);
+                }
+                catch (GridCacheEntryRemovedException ignore) {
+                    // Retry with the new entry.
+                }
+                finally {
+                    dhtCtx.shared().database().checkpointReadUnlock();
+
+                    e.touch();
+                }
+            }
+        }
+    }
+}
@@ -810,6 +810,16 @@ public interface IgniteCacheOffheapManager {
             long expireTime,
             @Nullable CacheDataRow oldRow) throws IgniteCheckedException;
 
+        /**
+         * Moves row to another data page keeping its key, value and version. Links in the data tree, pending
+         * entries tree and query indexes are updated like on a regular update. Caller must hold the entry lock.
+         *
+         * @param cctx Cache context.
+         * @param oldRow Current row.
+         * @throws IgniteCheckedException If failed.
+         */
+        public void relocate(GridCacheContext cctx, CacheDataRow oldRow) throws IgniteCheckedException;
+
         /**
          * @param cctx Cache context.
          * @param key Key.
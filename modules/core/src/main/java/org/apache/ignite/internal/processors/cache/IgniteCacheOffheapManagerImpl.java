@@ -2731,6 +2731,57 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             }
         }
 
+        /** {@inheritDoc} */
+        @Override public void relocate(GridCacheContext cctx, CacheDataRow oldRow) throws IgniteCheckedException {
+            assert oldRow.link() != 0L && !oldRow.tombstone() : oldRow;
+
+            if (!busyLock.enterBusy())
+                throw new NodeStoppingException("Operation has been cancelled (node is stopping).");
+
+            try {
+                int cacheId = grp.storeCacheIdInDataPage() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID;
+
+                CacheObjectContext coCtx = cctx.cacheObjectContext();
+
+                KeyCacheObject key = oldRow.key().prepareForCache(coCtx, coCtx.compressKeys());
+                CacheObject val = oldRow.value().prepareForCache(coCtx, true);
+
+                DataRow dataRow = makeDataRow(key, val, oldRow.version(), oldRow.expireTime(), cacheId);
+
+                assert cctx.shared().database().checkpointLockIsHeldByThread();
+
+                // Free list takes the fullest page the row fits into, so rows leave sparse pages.
+                rowStore.addRow(dataRow, grp.statisticsHolderData());
+
+                assert dataRow.link() != 0 : dataRow;
+
+                if (grp.sharedGroup() && dataRow.cacheId() == CU.UNDEFINED_CACHE_ID)
+                    dataRow.cacheId(cctx.cacheId());
+
+                dataTree.putx(dataRow);
+
+                GridCacheQueryManager qryMgr = cctx.queries();
+
+                if (qryMgr.enabled())
+                    qryMgr.store(dataRow, oldRow, true);
+
+                updatePendingEntries(cctx, dataRow, oldRow);
+
+                if (isIncrementalDrEnabled(cctx) && oldRow.version().updateCounter() != 0) {
+                    removeFromLog(new UpdateLogRow(cctx.cacheId(), oldRow.version().updateCounter(), oldRow.link()));
+
+                    if (replicationRequire(dataRow.version()))
+                        addUpdateToLog(new UpdateLogRow(cctx.cacheId(), dataRow.version().updateCounter(),
+                            dataRow.link()));
+                }
+
+                rowStore.removeRow(oldRow.link(), grp.statisticsHolderData());
+            }
+            finally {
+                busyLock.leaveBusy();
+            }
+        }
+
         /** {@inheritDoc} */
         @Override public void mvccApplyUpdate(GridCacheContext cctx,
             KeyCacheObject key,
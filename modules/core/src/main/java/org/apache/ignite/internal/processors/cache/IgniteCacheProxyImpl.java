@@ -74,8 +74,10 @@ import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.internal.AsyncSupportAdapter;
 import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteFeatures;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.binary.CacheBinaryPatchProcessor;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccUtils;
 import org.apache.ignite.internal.processors.cache.query.CacheQuery;
 import org.apache.ignite.internal.processors.cache.query.CacheQueryFuture;
@@ -655,6 +657,8 @@ public class IgniteCacheProxyImpl<K, V> extends AsyncSupportAdapter<IgniteCache<
 
         Factory<? extends IgniteClosure> rmtTransFactory = null;
 
+        boolean conflate = false;
+
         if (qry instanceof ContinuousQuery) {
             ContinuousQuery<K, V> qry0 = (ContinuousQuery<K, V>)qry;
 
@@ -668,6 +672,23 @@ public class IgniteCacheProxyImpl<K, V> extends AsyncSupportAdapter<IgniteCache<
             if (qry0.getRemoteFilter() != null && qry0.getRemoteFilterFactory() != null)
                 throw new IgniteException("Should be used either RemoterFilter or RemoteFilterFactory.");
 
+            if (qry0.isConflate()) {
+                if (qry0.getRemoteFilter() != null)
+                    throw new IgniteException("Conflation is not supported with RemoteFilter, " +
+                        "use RemoteFilterFactory instead: " + qry);
+
+                if (qry0.getTimeInterval() == 0)
+                    throw new IgniteException("Conflation requires a positive time interval: " + qry);
+
+                if (!IgniteFeatures.allNodesSupports(ctx.kernalContext(), context().grid().cluster().nodes(),
+                    IgniteFeatures.CONTINUOUS_QUERY_CONFLATION)) {
+                    throw new IgniteException("Can't start ContinuousQuery with conflation, " +
+                        "because some nodes in cluster doesn't support this feature.");
+                }
+
+                conflate = true;
+            }
+
             locLsnr = qry0.getLocalListener();
 
             rmtFilter = qry0.getRemoteFilter();
@@ -709,7 +730,8 @@ public class IgniteCacheProxyImpl<K, V> extends AsyncSupportAdapter<IgniteCache<
                 qry.isAutoUnsubscribe(),
                 loc,
                 keepBinary,
-                qry.isIncludeExpired());
+                qry.isIncludeExpired(),
+                conflate);
 
             try {
                 final QueryCursor<Cache.Entry<K, V>> cur =
@@ -1213,6 +1235,48 @@ public class IgniteCacheProxyImpl<K, V> extends AsyncSupportAdapter<IgniteCache<
         return createFuture(delegate.getAllOutTxAsync(keys));
     }
 
+    /** {@inheritDoc} */
+    @Override public Map<K, V> getAllSnapshot(Set<? extends K> keys) {
+        try {
+            if (isAsync()) {
+                setFuture(getAllSnapshot0(keys));
+
+                return null;
+            }
+            else
+                return getAllSnapshot0(keys).get();
+        }
+        catch (IgniteCheckedException | IgniteException e) {
+            throw cacheException(e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Map<K, V>> getAllSnapshotAsync(Set<? extends K> keys) {
+        return createFuture(getAllSnapshot0(keys));
+    }
+
+    /**
+     * @param keys Keys.
+     * @return Future with consistent snapshot of values.
+     */
+    private IgniteInternalFuture<Map<K, V>> getAllSnapshot0(Set<? extends K> keys) {
+        GridCacheContext<K, V> ctx = getContextSafe();
+
+        A.notNull(keys, "keys");
+
+        ctx.checkSecurity(SecurityPermission.CACHE_READ);
+
+        CacheOperationContext opCtx = ctx.operationContextPerCall();
+
+        GridCacheSnapshotReadFuture<K, V> fut = new GridCacheSnapshotReadFuture<>(ctx, keys,
+            opCtx != null && opCtx.isKeepBinary());
+
+        fut.init();
+
+        return fut;
+    }
+
     /**
      * @param keys Keys.
      * @return Values map.
@@ -1760,6 +1824,30 @@ public class IgniteCacheProxyImpl<K, V> extends AsyncSupportAdapter<IgniteCache<
         return invokeAsync(key, (EntryProcessor<K, V, T>)entryProcessor, args);
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean patch(K key, Map<String, ?> fields) {
+        A.notNull(key, "key", fields, "fields");
+
+        Boolean res = invoke(key, patchProcessor(fields));
+
+        return res != null && res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Boolean> patchAsync(K key, Map<String, ?> fields) {
+        A.notNull(key, "key", fields, "fields");
+
+        return invokeAsync(key, patchProcessor(fields));
+    }
+
+    /**
+     * @param fields New values of fields by field names.
+     * @return Entry processor which updates fields of a binary object value.
+     */
+    private EntryProcessor<K, V, Boolean> patchProcessor(Map<String, ?> fields) {
+        return (EntryProcessor<K, V, Boolean>)(EntryProcessor<?, ?, Boolean>)new CacheBinaryPatchProcessor(fields);
+    }
+
     /**
      * @param topVer Locked topology version.
      * @param key Key.
@@ -364,6 +364,14 @@ public class ValidationOnNodeJoinUtils {
             if (cc.getWriteBehindFlushSize() == 0 && cc.getWriteBehindFlushFrequency() == 0)
                 throw new IgniteCheckedException("Cannot set both 'writeBehindFlushFrequency' and " +
                     "'writeBehindFlushSize' parameters to 0 for cache: " + U.maskName(cc.getName()));
+
+            if (cc.isWriteBehindJournalEnabled()) {
+                apply(assertParam, cc.getWriteBehindJournalMaxSize() >= 0, "writeBehindJournalMaxSize >= 0");
+
+                if (!cc.getWriteBehindCoalescing())
+                    throw new IgniteCheckedException("Write-behind journal requires write coalescing " +
+                        "(set 'writeBehindCoalescing' to true) for cache: " + U.maskName(cc.getName()));
+            }
         }
 
         if (cc.isReadThrough() && cfgStore == null && ctx.discovery().cacheAffinityNode(locNode, cc.getName()))
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.binary;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.cache.processor.EntryProcessorException;
+import javax.cache.processor.MutableEntry;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.binary.BinaryObjectBuilder;
+import org.apache.ignite.cache.CacheEntryProcessor;
+import org.apache.ignite.internal.binary.BinaryObjectImpl;
+import org.apache.ignite.internal.processors.cache.CacheLazyEntry;
+import org.apache.ignite.internal.util.tostring.GridToStringInclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Entry processor which updates fields of a binary object value, used by
+ * {@link org.apache.ignite.IgniteCache#patch(Object, Map)}.
+ * <p>
+ * New values of primitive fields are written over the serialized value, so the rest of the value is not
+ * re-marshalled and the updated value has the same size. Such updates are applied in place in data pages
+ * and logged to WAL as changed bytes of the row. Other updates rebuild the value with a builder.
+ */
+public class CacheBinaryPatchProcessor implements CacheEntryProcessor<Object, Object, Boolean> {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** New values of fields by field names. */
+    @GridToStringInclude
+    private final HashMap<String, Object> fields;
+
+    /**
+     * @param fields New values of fields by field names.
+     */
+    public CacheBinaryPatchProcessor(Map<String, ?> fields) {
+        this.fields = new HashMap<>(fields);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Boolean process(MutableEntry<Object, Object> entry, Object... args) throws EntryProcessorException {
+        // Value is not deserialized even if the cache does not keep binary values.
+        Object val = entry instanceof CacheLazyEntry ? ((CacheLazyEntry<Object, Object>)entry).getValue(true) :
+            entry.getValue();
+
+        if (val == null)
+            return false;
+
+        if (!(val instanceof BinaryObject))
+            throw new EntryProcessorException("Failed to patch cache value, value is not a binary object: " +
+                val.getClass().getName());
+
+        BinaryObject patched = null;
+
+        if (val instanceof BinaryObjectImpl)
+            patched = ((BinaryObjectImpl)val).patch(fields);
+
+        if (patched == null) {
+            BinaryObjectBuilder builder = ((BinaryObject)val).toBuilder();
+
+            for (Map.Entry<String, Object> e : fields.entrySet())
+                builder.setField(e.getKey(), e.getValue());
+
+            patched = builder.build();
+        }
+
+        entry.setValue(patched);
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(CacheBinaryPatchProcessor.class, this);
+    }
+}
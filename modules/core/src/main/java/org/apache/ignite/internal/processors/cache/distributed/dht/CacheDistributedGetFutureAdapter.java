@@ -343,6 +343,20 @@ public abstract class CacheDistributedGetFutureAdapter<K, V>
      */
     protected abstract boolean isMini(IgniteInternalFuture<?> f);
 
+    /**
+     * Completes tracking of requests of mini futures which will not get responses
+     * because this future is done.
+     */
+    protected void releaseReplicas() {
+        if (!cctx.adaptiveReplicaSelection())
+            return;
+
+        for (IgniteInternalFuture<Map<K, V>> fut : futures()) {
+            if (isMini(fut))
+                ((AbstractMiniFuture)fut).releaseReplica(false);
+        }
+    }
+
     /**
      * @param keys Collection of mapping keys.
      * @param mapped Previous mapping.
@@ -399,6 +413,9 @@ public abstract class CacheDistributedGetFutureAdapter<K, V>
         /** {@code True} if remapped after node left. */
         private boolean remapped;
 
+        /** Send time of the request if replicas are selected adaptively, {@code 0} otherwise. */
+        private long sndTime;
+
         /**
          * @param node Node.
          * @param keys Keys.
@@ -437,6 +454,32 @@ public abstract class CacheDistributedGetFutureAdapter<K, V>
             return keys.keySet();
         }
 
+        /**
+         * Callback invoked before the request is sent to the node.
+         */
+        public void onRequestSent() {
+            if (cctx.adaptiveReplicaSelection()) {
+                long sndTime = cctx.shared().readReplicaTracker().onRequest(node.id());
+
+                synchronized (this) {
+                    this.sndTime = sndTime;
+                }
+            }
+        }
+
+        /**
+         * Completes tracking of the request sent to the node.
+         *
+         * @param sample {@code True} if the response time should be sampled.
+         */
+        synchronized void releaseReplica(boolean sample) {
+            if (sndTime != 0) {
+                cctx.shared().readReplicaTracker().onResponse(node.id(), sndTime, sample);
+
+                sndTime = 0;
+            }
+        }
+
         /**
          * Factory methond for generate request associated with this miniFuture.
          *
@@ -589,6 +632,23 @@ public abstract class CacheDistributedGetFutureAdapter<K, V>
                 postProcessingClos.apply(res.entries());
         }
 
+        /** {@inheritDoc} */
+        @Override public boolean onDone(@Nullable Map<K, V> res, @Nullable Throwable err) {
+            if (super.onDone(res, err)) {
+                boolean sample;
+
+                synchronized (this) {
+                    sample = !remapped && err == null;
+                }
+
+                releaseReplica(sample);
+
+                return true;
+            }
+
+            return false;
+        }
+
         /** {@inheritDoc} */
         @Override public String toString() {
             return S.toString(AbstractMiniFuture.class, this);
@@ -17,6 +17,7 @@
 package org.apache.ignite.internal.processors.cache.distributed.dht;
 
 import java.io.Externalizable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -32,6 +33,7 @@ import javax.cache.Cache;
 import javax.cache.expiry.ExpiryPolicy;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.events.DiscoveryEvent;
 import org.apache.ignite.events.Event;
@@ -88,6 +90,7 @@ import org.apache.ignite.internal.util.typedef.CI1;
 import org.apache.ignite.internal.util.typedef.CI2;
 import org.apache.ignite.internal.util.typedef.CI3;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.T2;
 import org.apache.ignite.internal.util.typedef.internal.CU;
 import org.apache.ignite.internal.util.typedef.internal.GPC;
 import org.apache.ignite.internal.util.typedef.internal.S;
@@ -100,8 +103,15 @@ import org.apache.ignite.plugin.extensions.communication.Message;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_HOT_KEYS_GET_COALESCING;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_HOT_KEYS_SAMPLING_INTERVAL;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_HOT_KEYS_THRESHOLD;
+import static org.apache.ignite.events.EventType.EVT_CACHE_OBJECT_READ;
 import static org.apache.ignite.events.EventType.EVT_NODE_FAILED;
 import static org.apache.ignite.events.EventType.EVT_NODE_LEFT;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.HotKeysTracker.COALESCING_SAMPLING_INTERVAL;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.HotKeysTracker.DFLT_HOT_KEYS_SAMPLING_INTERVAL;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.HotKeysTracker.DFLT_HOT_KEYS_THRESHOLD;
 import static org.apache.ignite.internal.processors.dr.GridDrType.DR_LOAD;
 import static org.apache.ignite.internal.processors.dr.GridDrType.DR_NONE;
 import static org.apache.ignite.internal.processors.tracing.SpanType.CACHE_API_NEAR_PROCESS_ATOMIC_GET_REQUEST;
@@ -117,9 +127,22 @@ public abstract class GridDhtCacheAdapter<K, V> extends GridDistributedCacheAdap
     /** */
     private static final long serialVersionUID = 0L;
 
+    /** @see IgniteSystemProperties#IGNITE_HOT_KEYS_GET_COALESCING */
+    public static final boolean DFLT_HOT_KEYS_GET_COALESCING = false;
+
     /** Force key futures. */
     private final ConcurrentMap<IgniteUuid, GridDhtForceKeysFuture<?, ?>> forceKeyFuts = newMap();
 
+    /** Pending coalesced reads of hot keys. */
+    private final ConcurrentMap<KeyCacheObject, CoalescedGet> hotKeyGets = newMap();
+
+    /** Whether concurrent get requests of hot keys are coalesced. */
+    private final boolean coalesceHotKeyGets =
+        IgniteSystemProperties.getBoolean(IGNITE_HOT_KEYS_GET_COALESCING, DFLT_HOT_KEYS_GET_COALESCING);
+
+    /** Hot keys tracker. */
+    private HotKeysTracker hotKeys;
+
     /** */
     private volatile boolean stopping;
 
@@ -410,9 +433,27 @@ public abstract class GridDhtCacheAdapter<K, V> extends GridDistributedCacheAdap
         ctx.io().addCacheHandler(ctx.cacheId(), GridCacheTtlUpdateRequest.class,
             (CI2<UUID, GridCacheTtlUpdateRequest>)this::processTtlUpdateRequest);
 
+        int samplingInterval =
+            IgniteSystemProperties.getInteger(IGNITE_HOT_KEYS_SAMPLING_INTERVAL, DFLT_HOT_KEYS_SAMPLING_INTERVAL);
+
+        // Only hot keys are coalesced, so coalescing does nothing without hot keys detection.
+        if (coalesceHotKeyGets && samplingInterval <= 0)
+            samplingInterval = COALESCING_SAMPLING_INTERVAL;
+
+        hotKeys = new HotKeysTracker(ctx.config().getAffinity().partitions(), samplingInterval,
+            IgniteSystemProperties.getInteger(IGNITE_HOT_KEYS_THRESHOLD, DFLT_HOT_KEYS_THRESHOLD));
+
         ctx.gridEvents().addLocalEventListener(discoLsnr, EVT_NODE_LEFT, EVT_NODE_FAILED);
     }
 
+    /** {@inheritDoc} */
+    @Override public void stop() {
+        super.stop();
+
+        if (hotKeys != null)
+            hotKeys.reset();
+    }
+
     /** {@inheritDoc} */
     @Override public void printMemoryStats() {
         super.printMemoryStats();
@@ -425,6 +466,13 @@ public abstract class GridDhtCacheAdapter<K, V> extends GridDistributedCacheAdap
      */
     public abstract GridNearCacheAdapter<K, V> near();
 
+    /**
+     * @return Hot keys tracker.
+     */
+    public HotKeysTracker hotKeys() {
+        return hotKeys;
+    }
+
     /**
      * @return Partition topology.
      */
@@ -1163,6 +1211,9 @@ public abstract class GridDhtCacheAdapter<K, V> extends GridDistributedCacheAdap
      * @param req Get request.
      */
     protected void processNearSingleGetRequest(final UUID nodeId, final GridNearSingleGetRequest req) {
+        if (hotKeys.onAccess(req.key()) && coalesceHotKeyGets && coalescible(req) && coalesceGet(nodeId, req))
+            return;
+
         try (MTC.TraceSurroundings ignored =
                  MTC.support(ctx.kernalContext().tracing().create(CACHE_API_NEAR_PROCESS_ATOMIC_SINGLE_GET_REQUEST,
                      MTC.span()))) {
@@ -1186,88 +1237,138 @@ public abstract class GridDhtCacheAdapter<K, V> extends GridDistributedCacheAdap
                     req.txLabel(),
                     req.mvccSnapshot());
 
-            fut.listen(new CI1<IgniteInternalFuture<GridCacheEntryInfo>>() {
-                @Override public void apply(IgniteInternalFuture<GridCacheEntryInfo> f) {
-                    GridNearSingleGetResponse res;
-
-                    GridDhtFuture<GridCacheEntryInfo> fut = (GridDhtFuture<GridCacheEntryInfo>)f;
-
-                    try {
-                        GridCacheEntryInfo info = fut.get();
+            fut.listen(f -> sendNearSingleGetResponse(nodeId, req, (GridDhtFuture<GridCacheEntryInfo>)f, expiryPlc));
+        }
+    }
 
-                        if (F.isEmpty(fut.invalidPartitions())) {
-                            Message res0 = null;
+    /**
+     * @param nodeId Node ID.
+     * @param req Get request.
+     * @param fut Get future.
+     * @param expiryPlc Expiry policy.
+     */
+    private void sendNearSingleGetResponse(
+        UUID nodeId,
+        GridNearSingleGetRequest req,
+        GridDhtFuture<GridCacheEntryInfo> fut,
+        @Nullable CacheExpiryPolicy expiryPlc
+    ) {
+        GridNearSingleGetResponse res;
 
-                            if (info != null) {
-                                if (req.needEntryInfo()) {
-                                    info.key(null);
+        try {
+            GridCacheEntryInfo info = fut.get();
 
-                                    res0 = info;
-                                }
-                                else if (req.needVersion())
-                                    res0 = new CacheVersionedValue(info.value(), info.version());
-                                else
-                                    res0 = info.value();
-                            }
+            if (F.isEmpty(fut.invalidPartitions())) {
+                Message res0 = null;
 
-                            res = new GridNearSingleGetResponse(
-                                ctx.cacheId(),
-                                req.futureId(),
-                                null,
-                                res0,
-                                false,
-                                req.addDeploymentInfo()
-                            );
-
-                            if (info != null && req.skipValues())
-                                res.setContainsValue();
-                        }
-                        else {
-                            AffinityTopologyVersion topVer = ctx.shared().exchange().lastTopologyFuture().
-                                initialVersion();
+                if (info != null) {
+                    if (req.needEntryInfo()) {
+                        info.key(null);
 
-                            res = new GridNearSingleGetResponse(
-                                ctx.cacheId(),
-                                req.futureId(),
-                                topVer,
-                                null,
-                                true,
-                                req.addDeploymentInfo()
-                            );
-                        }
-                    }
-                    catch (NodeStoppingException ignored) {
-                        return;
+                        res0 = info;
                     }
-                    catch (IgniteCheckedException e) {
-                        U.error(log, "Failed processing get request: " + req, e);
+                    else if (req.needVersion())
+                        res0 = new CacheVersionedValue(info.value(), info.version());
+                    else
+                        res0 = info.value();
+                }
 
-                        res = new GridNearSingleGetResponse(ctx.cacheId(),
-                            req.futureId(),
-                            req.topologyVersion(),
-                            null,
-                            false,
-                            req.addDeploymentInfo());
+                res = new GridNearSingleGetResponse(
+                    ctx.cacheId(),
+                    req.futureId(),
+                    null,
+                    res0,
+                    false,
+                    req.addDeploymentInfo()
+                );
 
-                        res.error(e);
-                    }
+                if (info != null && req.skipValues())
+                    res.setContainsValue();
+            }
+            else {
+                AffinityTopologyVersion topVer = ctx.shared().exchange().lastTopologyFuture().
+                    initialVersion();
+
+                res = new GridNearSingleGetResponse(
+                    ctx.cacheId(),
+                    req.futureId(),
+                    topVer,
+                    null,
+                    true,
+                    req.addDeploymentInfo()
+                );
+            }
+        }
+        catch (NodeStoppingException ignored) {
+            return;
+        }
+        catch (IgniteCheckedException e) {
+            U.error(log, "Failed processing get request: " + req, e);
 
-                    try {
-                        ctx.io().send(nodeId, res, ctx.ioPolicy());
-                    }
-                    catch (ClusterTopologyCheckedException e) {
-                        if (log.isDebugEnabled())
-                            log.debug("Failed to send get response to node, node failed: " + nodeId);
-                    }
-                    catch (IgniteCheckedException e) {
-                        U.error(log, "Failed to send get response to node (is node still alive?) [nodeId=" +
-                            nodeId + ",req=" + req + ", res=" + res + ']', e);
-                    }
+            res = new GridNearSingleGetResponse(ctx.cacheId(),
+                req.futureId(),
+                req.topologyVersion(),
+                null,
+                false,
+                req.addDeploymentInfo());
 
-                    sendTtlUpdateRequest(expiryPlc);
-                }
-            });
+            res.error(e);
+        }
+
+        try {
+            ctx.io().send(nodeId, res, ctx.ioPolicy());
+        }
+        catch (ClusterTopologyCheckedException e) {
+            if (log.isDebugEnabled())
+                log.debug("Failed to send get response to node, node failed: " + nodeId);
+        }
+        catch (IgniteCheckedException e) {
+            U.error(log, "Failed to send get response to node (is node still alive?) [nodeId=" +
+                nodeId + ",req=" + req + ", res=" + res + ']', e);
         }
+
+        sendTtlUpdateRequest(expiryPlc);
+    }
+
+    /**
+     * @param req Get request.
+     * @return {@code True} if the request can be served by a read of another request.
+     */
+    private boolean coalescible(GridNearSingleGetRequest req) {
+        // Near reader registration, TTL updates and read events depend on the request.
+        return req.orderInsensitive() &&
+            !req.needEntryInfo() &&
+            req.createTtl() == CU.TTL_NOT_CHANGED &&
+            req.accessTtl() == CU.TTL_NOT_CHANGED &&
+            req.txLabel() == null &&
+            !ctx.events().isRecordable(EVT_CACHE_OBJECT_READ);
+    }
+
+    /**
+     * Joins the request to a pending read of the key or schedules a new read, which is joined by requests
+     * received before it is started.
+     *
+     * @param nodeId Node ID.
+     * @param req Get request.
+     * @return {@code False} if the request should be processed separately.
+     */
+    private boolean coalesceGet(UUID nodeId, GridNearSingleGetRequest req) {
+        CoalescedGet get = hotKeyGets.get(req.key());
+
+        if (get != null && get.join(nodeId, req))
+            return true;
+
+        CoalescedGet newGet = new CoalescedGet(nodeId, req);
+
+        boolean added = get == null ? hotKeyGets.putIfAbsent(req.key(), newGet) == null :
+            hotKeyGets.replace(req.key(), get, newGet);
+
+        if (!added)
+            return false;
+
+        ctx.kernalContext().pools().getStripedExecutorService().execute(req.partition(), newGet, true);
+
+        return true;
     }
 
     /**
@@ -1275,6 +1376,11 @@ public abstract class GridDhtCacheAdapter<K, V> extends GridDistributedCacheAdap
      * @param req Get request.
      */
     protected void processNearGetRequest(final UUID nodeId, final GridNearGetRequest req) {
+        if (hotKeys.enabled()) {
+            for (KeyCacheObject key : req.keys().keySet())
+                hotKeys.onAccess(key);
+        }
+
         try (MTC.TraceSurroundings ignored =
                  MTC.support(ctx.kernalContext().tracing().create(CACHE_API_NEAR_PROCESS_ATOMIC_GET_REQUEST,
                      MTC.span()))) {
@@ -1752,6 +1858,86 @@ public abstract class GridDhtCacheAdapter<K, V> extends GridDistributedCacheAdap
         }
     }
 
+    /**
+     * Read of a hot key, which serves concurrent get requests received before the read is started.
+     */
+    private class CoalescedGet implements Runnable {
+        /** Node ID of the first request. */
+        private final UUID nodeId;
+
+        /** First request. */
+        private final GridNearSingleGetRequest req;
+
+        /** Joined requests. */
+        private final List<T2<UUID, GridNearSingleGetRequest>> joined = new ArrayList<>();
+
+        /** Started flag. */
+        private boolean started;
+
+        /**
+         * @param nodeId Node ID of the first request.
+         * @param req First request.
+         */
+        private CoalescedGet(UUID nodeId, GridNearSingleGetRequest req) {
+            this.nodeId = nodeId;
+            this.req = req;
+        }
+
+        /**
+         * @param nodeId0 Node ID.
+         * @param req0 Get request.
+         * @return {@code False} if the read is already started or the request reads the key differently.
+         */
+        private synchronized boolean join(UUID nodeId0, GridNearSingleGetRequest req0) {
+            if (started ||
+                !req.topologyVersion().equals(req0.topologyVersion()) ||
+                req.readThrough() != req0.readThrough() ||
+                req.skipValues() != req0.skipValues() ||
+                req.recovery() != req0.recovery())
+                return false;
+
+            joined.add(new T2<>(nodeId0, req0));
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void run() {
+            synchronized (this) {
+                started = true;
+            }
+
+            hotKeyGets.remove(req.key(), this);
+
+            IgniteInternalFuture<GridCacheEntryInfo> fut = getDhtSingleAsync(
+                nodeId,
+                req.messageId(),
+                req.key(),
+                false,
+                req.readThrough(),
+                req.topologyVersion(),
+                req.subjectId(),
+                req.taskNameHash(),
+                null,
+                req.skipValues(),
+                req.recovery(),
+                null,
+                null);
+
+            fut.listen(f -> {
+                sendNearSingleGetResponse(nodeId, req, (GridDhtFuture<GridCacheEntryInfo>)f, null);
+
+                for (T2<UUID, GridNearSingleGetRequest> t : joined)
+                    sendNearSingleGetResponse(t.get1(), t.get2(), (GridDhtFuture<GridCacheEntryInfo>)f, null);
+            });
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(CoalescedGet.class, this, "joined", joined.size());
+        }
+    }
+
     /**
      * Multi update future.
      */
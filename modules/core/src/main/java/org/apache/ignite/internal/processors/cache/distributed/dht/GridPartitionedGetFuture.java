@@ -168,6 +168,8 @@ public class GridPartitionedGetFuture<K, V> extends CacheDistributedGetFutureAda
             if (trackable)
                 cctx.mvcc().removeFuture(futId);
 
+            releaseReplicas();
+
             cache().sendTtlUpdateRequest(expiryPlc);
 
             return true;
@@ -329,6 +331,8 @@ public class GridPartitionedGetFuture<K, V> extends CacheDistributedGetFutureAda
 
                     add(miniFut); // Append new future.
 
+                    miniFut.onRequestSent();
+
                     try {
                         cctx.io().send(n, req, cctx.ioPolicy());
                     }
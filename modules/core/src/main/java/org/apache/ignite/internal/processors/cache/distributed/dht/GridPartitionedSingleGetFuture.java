@@ -36,6 +36,7 @@ import org.apache.ignite.internal.cluster.ClusterTopologyCheckedException;
 import org.apache.ignite.internal.cluster.ClusterTopologyServerNotFoundException;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.cache.CacheObject;
+import org.apache.ignite.internal.processors.cache.CacheReadReplicaTracker;
 import org.apache.ignite.internal.processors.cache.EntryGetResult;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheEntryEx;
@@ -56,6 +57,8 @@ import org.apache.ignite.internal.processors.cache.distributed.near.GridNearSing
 import org.apache.ignite.internal.processors.cache.mvcc.MvccSnapshot;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
 import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.processors.timeout.GridTimeoutObject;
+import org.apache.ignite.internal.processors.timeout.GridTimeoutObjectAdapter;
 import org.apache.ignite.internal.processors.tracing.MTC;
 import org.apache.ignite.internal.util.lang.GridPlainRunnable;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
@@ -147,6 +150,19 @@ public class GridPartitionedSingleGetFuture extends GridCacheFutureAdapter<Objec
     @GridToStringInclude
     private ClusterNode node;
 
+    /** Send time of the request to {@link #node} if replicas are selected adaptively, {@code 0} otherwise. */
+    private long sndTime;
+
+    /** Node the request was hedged to. */
+    @GridToStringInclude
+    private ClusterNode hedgeNode;
+
+    /** Send time of the hedged request. */
+    private long hedgeSndTime;
+
+    /** Timeout object to hedge the request. */
+    private volatile GridTimeoutObject hedgeTimeoutObj;
+
     /** */
     protected final MvccSnapshot mvccSnapshot;
 
@@ -353,11 +369,16 @@ public class GridPartitionedSingleGetFuture extends GridCacheFutureAdapter<Objec
                 }
             }
             else {
+                boolean adaptive = cctx.adaptiveReplicaSelection();
+
+                long sndTime = adaptive ? cctx.shared().readReplicaTracker().onRequest(node.id()) : 0;
+
                 synchronized (this) {
                     assert this.node == null;
 
                     this.topVer = topVer;
                     this.node = node;
+                    this.sndTime = sndTime;
                 }
 
                 registrateFutureInMvccManager(this);
@@ -374,24 +395,7 @@ public class GridPartitionedSingleGetFuture extends GridCacheFutureAdapter<Objec
                     postProcessingClos = postClos;
                 }
 
-                GridCacheMessage req = new GridNearSingleGetRequest(
-                    cctx.cacheId(),
-                    futId.localId(),
-                    key,
-                    readThrough,
-                    topVer,
-                    subjId,
-                    taskName == null ? 0 : taskName.hashCode(),
-                    expiryPlc != null ? expiryPlc.forCreate() : -1L,
-                    expiryPlc != null ? expiryPlc.forAccess() : -1L,
-                    skipVals,
-                    /*add reader*/false,
-                    needVer,
-                    cctx.deploymentEnabled(),
-                    recovery,
-                    txLbl,
-                    mvccSnapshot
-                );
+                GridCacheMessage req = createRequest(topVer, needVer);
 
                 try {
                     cctx.io().send(node, req, cctx.ioPolicy());
@@ -401,11 +405,134 @@ public class GridPartitionedSingleGetFuture extends GridCacheFutureAdapter<Objec
                         onNodeLeft(node.id());
                     else
                         onDone(e);
+
+                    return;
                 }
+
+                // Reads in transactions are not hedged, they are mapped on a locked topology version.
+                if (adaptive && canRemap && !forcePrimary && mvccSnapshot == null)
+                    scheduleHedge(node, topVer);
             }
         }
     }
 
+    /**
+     * @param topVer Topology version.
+     * @param needVer Need version flag.
+     * @return Get request.
+     */
+    private GridNearSingleGetRequest createRequest(AffinityTopologyVersion topVer, boolean needVer) {
+        return new GridNearSingleGetRequest(
+            cctx.cacheId(),
+            futId.localId(),
+            key,
+            readThrough,
+            topVer,
+            subjId,
+            taskName == null ? 0 : taskName.hashCode(),
+            expiryPlc != null ? expiryPlc.forCreate() : -1L,
+            expiryPlc != null ? expiryPlc.forAccess() : -1L,
+            skipVals,
+            /*add reader*/false,
+            needVer,
+            cctx.deploymentEnabled(),
+            recovery,
+            txLbl,
+            mvccSnapshot
+        );
+    }
+
+    /**
+     * Schedules sending the request to another replica if the node does not respond in time.
+     *
+     * @param node Node the request was sent to.
+     * @param topVer Topology version.
+     */
+    private void scheduleHedge(ClusterNode node, AffinityTopologyVersion topVer) {
+        long delay = cctx.shared().readReplicaTracker().hedgeDelay(node.id());
+
+        if (delay < 0 || isDone())
+            return;
+
+        GridTimeoutObject timeoutObj = new GridTimeoutObjectAdapter(Math.max(1, U.nanosToMillis(delay))) {
+            @Override public void onTimeout() {
+                cctx.closures().runLocalSafe(new GridPlainRunnable() {
+                    @Override public void run() {
+                        hedge(node, topVer);
+                    }
+                }, true);
+            }
+        };
+
+        hedgeTimeoutObj = timeoutObj;
+
+        cctx.time().addTimeoutObject(timeoutObj);
+
+        if (isDone())
+            cctx.time().removeTimeoutObject(timeoutObj);
+    }
+
+    /**
+     * Sends the request to another replica, the first response is used.
+     *
+     * @param node Node the request was sent to.
+     * @param topVer Topology version.
+     */
+    private void hedge(ClusterNode node, AffinityTopologyVersion topVer) {
+        CacheReadReplicaTracker tracker = cctx.shared().readReplicaTracker();
+
+        ClusterNode hedge;
+
+        synchronized (this) {
+            if (isDone() || this.node != node || hedgeNode != null)
+                return;
+
+            List<ClusterNode> affNodes = cctx.affinity().nodesByPartition(cctx.affinity().partition(key), topVer);
+
+            hedge = tracker.select(affNodes, getInvalidNodes(), node, true);
+
+            if (hedge == null || hedge.isLocal())
+                return;
+
+            hedgeNode = hedge;
+            hedgeSndTime = tracker.onRequest(hedge.id());
+        }
+
+        tracker.onHedge(node.id());
+
+        try {
+            cctx.io().send(hedge, createRequest(topVer, needVer || postProcessingClos != null), cctx.ioPolicy());
+        }
+        catch (IgniteCheckedException e) {
+            if (log.isDebugEnabled())
+                log.debug("Failed to send hedged get request [node=" + hedge.id() + ", err=" + e + ']');
+
+            // The request to the first node is still awaiting response.
+            synchronized (this) {
+                if (hedgeNode == hedge) {
+                    hedgeNode = null;
+
+                    hedgeSndTime = releaseReplica(hedge, hedgeSndTime, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes tracking of a request sent to a replica.
+     *
+     * @param node Node the request was sent to.
+     * @param sndTime Send time or {@code 0} if the request is not tracked.
+     * @param sample {@code True} if the elapsed time should be sampled.
+     * @return {@code 0} to reset the send time.
+     */
+    private long releaseReplica(ClusterNode node, long sndTime, boolean sample) {
+        if (sndTime != 0)
+            cctx.shared().readReplicaTracker().onResponse(node.id(), sndTime, sample);
+
+        return 0;
+    }
+
     /**
      * @param topVer Topology version.
      * @return Primary node or {@code null} if future was completed.
@@ -701,10 +828,49 @@ public class GridPartitionedSingleGetFuture extends GridCacheFutureAdapter<Objec
      * @return {@code True} if should process received response.
      */
     private boolean processResponse(UUID nodeId) {
+        return processResponse(nodeId, true);
+    }
+
+    /**
+     * @param nodeId Node ID.
+     * @param sample {@code True} if the node responded and its response time should be sampled.
+     * @return {@code True} if should process received response.
+     */
+    private boolean processResponse(UUID nodeId, boolean sample) {
         synchronized (this) {
             if (node != null && node.id().equals(nodeId)) {
+                sndTime = releaseReplica(node, sndTime, sample);
+
                 node = null;
 
+                if (hedgeNode != null) {
+                    // Hedged request was sent later, its elapsed time says nothing about the node.
+                    hedgeSndTime = releaseReplica(hedgeNode, hedgeSndTime, false);
+
+                    hedgeNode = null;
+                }
+
+                return true;
+            }
+
+            if (hedgeNode != null && hedgeNode.id().equals(nodeId)) {
+                hedgeSndTime = releaseReplica(hedgeNode, hedgeSndTime, sample);
+
+                hedgeNode = null;
+
+                if (node != null) {
+                    // The node has not responded yet, the elapsed time is only a lower bound of its response time.
+                    if (sample && sndTime != 0) {
+                        cctx.shared().readReplicaTracker().onAbandon(node.id(), sndTime);
+
+                        sndTime = 0;
+                    }
+                    else
+                        sndTime = releaseReplica(node, sndTime, false);
+
+                    node = null;
+                }
+
                 return true;
             }
         }
@@ -903,7 +1069,7 @@ public class GridPartitionedSingleGetFuture extends GridCacheFutureAdapter<Objec
 
     /** {@inheritDoc} */
     @Override public boolean onNodeLeft(UUID nodeId) {
-        if (!processResponse(nodeId))
+        if (!processResponse(nodeId, false))
             return false;
 
         if (canRemap) {
@@ -962,6 +1128,19 @@ public class GridPartitionedSingleGetFuture extends GridCacheFutureAdapter<Objec
             if (trackable)
                 cctx.mvcc().removeFuture(futId);
 
+            GridTimeoutObject hedgeTimeoutObj0 = hedgeTimeoutObj;
+
+            if (hedgeTimeoutObj0 != null)
+                cctx.time().removeTimeoutObject(hedgeTimeoutObj0);
+
+            synchronized (this) {
+                if (node != null)
+                    sndTime = releaseReplica(node, sndTime, false);
+
+                if (hedgeNode != null)
+                    hedgeSndTime = releaseReplica(hedgeNode, hedgeSndTime, false);
+            }
+
             if (!(err instanceof NodeStoppingException))
                 cctx.dht().sendTtlUpdateRequest(expiryPlc);
 
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.dht;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Detects frequently accessed keys of primary partitions.
+ * <p>
+ * Every {@link #samplingInterval}-th access on average is recorded in a sketch of the key partition. A sketch
+ * counts accesses of a limited number of keys with the Space-Saving algorithm: when a new key is recorded in
+ * a full sketch, it replaces the key with the minimum count and inherits this count as an error. Counters are
+ * halved periodically, so keys which are no longer accessed are forgotten. A key is hot if its guaranteed count
+ * of sampled accesses reaches the threshold.
+ */
+public class HotKeysTracker {
+    /** @see IgniteSystemProperties#IGNITE_HOT_KEYS_SAMPLING_INTERVAL */
+    public static final int DFLT_HOT_KEYS_SAMPLING_INTERVAL = 0;
+
+    /** Sampling interval used if get coalescing is enabled while hot keys detection is disabled. */
+    public static final int COALESCING_SAMPLING_INTERVAL = 16;
+
+    /** @see IgniteSystemProperties#IGNITE_HOT_KEYS_THRESHOLD */
+    public static final int DFLT_HOT_KEYS_THRESHOLD = 32;
+
+    /** Number of keys tracked by a sketch of a partition. */
+    static final int SKETCH_CAPACITY = 16;
+
+    /** Number of samples after which counters of a sketch are halved. */
+    static final int DECAY_INTERVAL = 1024;
+
+    /** Mean number of accesses per sample, {@code 0} if tracking is disabled. */
+    private final int samplingInterval;
+
+    /** Number of sampled accesses which makes a key hot. */
+    private final int threshold;
+
+    /** Sketches by partitions, created on the first sample. */
+    private final AtomicReferenceArray<Sketch> sketches;
+
+    /**
+     * @param parts Number of partitions.
+     * @param samplingInterval Mean number of accesses per sample, {@code 0} to disable tracking.
+     * @param threshold Number of sampled accesses which makes a key hot.
+     */
+    public HotKeysTracker(int parts, int samplingInterval, int threshold) {
+        this.samplingInterval = Math.max(samplingInterval, 0);
+        this.threshold = Math.max(threshold, 1);
+
+        sketches = new AtomicReferenceArray<>(parts);
+    }
+
+    /**
+     * @return {@code True} if tracking is enabled.
+     */
+    public boolean enabled() {
+        return samplingInterval > 0;
+    }
+
+    /**
+     * Records an access to the key with the sampling probability.
+     *
+     * @param key Key.
+     * @return {@code True} if the key is hot.
+     */
+    public boolean onAccess(KeyCacheObject key) {
+        if (samplingInterval == 0)
+            return false;
+
+        int part = key.partition();
+
+        if (part < 0 || part >= sketches.length())
+            return false;
+
+        Sketch sketch = sketches.get(part);
+
+        if (samplingInterval == 1 || ThreadLocalRandom.current().nextInt(samplingInterval) == 0) {
+            if (sketch == null && !sketches.compareAndSet(part, null, sketch = new Sketch()))
+                sketch = sketches.get(part);
+
+            sketch.offer(key);
+        }
+
+        return sketch != null && sketch.hot.contains(key);
+    }
+
+    /**
+     * @param key Key.
+     * @return {@code True} if the key is hot.
+     */
+    public boolean isHot(KeyCacheObject key) {
+        int part = key.partition();
+
+        if (part < 0 || part >= sketches.length())
+            return false;
+
+        Sketch sketch = sketches.get(part);
+
+        return sketch != null && sketch.hot.contains(key);
+    }
+
+    /**
+     * @return Keys tracked by sketches of all partitions.
+     */
+    public List<HotKey> keys() {
+        List<HotKey> res = new ArrayList<>();
+
+        for (int p = 0; p < sketches.length(); p++) {
+            Sketch sketch = sketches.get(p);
+
+            if (sketch != null)
+                sketch.collect(p, res);
+        }
+
+        return res;
+    }
+
+    /**
+     * Clears all sketches.
+     */
+    public void reset() {
+        for (int p = 0; p < sketches.length(); p++)
+            sketches.set(p, null);
+    }
+
+    /**
+     * Clears the sketch of the partition.
+     *
+     * @param part Partition.
+     */
+    public void reset(int part) {
+        if (part >= 0 && part < sketches.length())
+            sketches.set(part, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(HotKeysTracker.class, this);
+    }
+
+    /**
+     * Key tracked by a sketch.
+     */
+    public static class HotKey {
+        /** Partition. */
+        private final int part;
+
+        /** Key. */
+        private final KeyCacheObject key;
+
+        /** Estimated number of accesses. */
+        private final long cnt;
+
+        /** Maximum overestimation of the number of accesses. */
+        private final long err;
+
+        /** Hot flag. */
+        private final boolean hot;
+
+        /**
+         * @param part Partition.
+         * @param key Key.
+         * @param cnt Estimated number of accesses.
+         * @param err Maximum overestimation of the number of accesses.
+         * @param hot Hot flag.
+         */
+        private HotKey(int part, KeyCacheObject key, long cnt, long err, boolean hot) {
+            this.part = part;
+            this.key = key;
+            this.cnt = cnt;
+            this.err = err;
+            this.hot = hot;
+        }
+
+        /**
+         * @return Partition.
+         */
+        public int partition() {
+            return part;
+        }
+
+        /**
+         * @return Key.
+         */
+        public KeyCacheObject key() {
+            return key;
+        }
+
+        /**
+         * @return Estimated number of accesses since the counters were last halved.
+         */
+        public long count() {
+            return cnt;
+        }
+
+        /**
+         * @return Maximum overestimation of the number of accesses.
+         */
+        public long error() {
+            return err;
+        }
+
+        /**
+         * @return {@code True} if the key is hot.
+         */
+        public boolean hot() {
+            return hot;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(HotKey.class, this);
+        }
+    }
+
+    /**
+     * Space-Saving sketch of a partition.
+     */
+    private class Sketch {
+        /** Counters by keys. */
+        private final Map<KeyCacheObject, Counter> counters = new HashMap<>();
+
+        /** Number of samples since counters were halved. */
+        private int samples;
+
+        /** Hot keys. */
+        private volatile Set<KeyCacheObject> hot = Collections.emptySet();
+
+        /**
+         * @param key Sampled key.
+         */
+        private synchronized void offer(KeyCacheObject key) {
+            Counter cntr = counters.get(key);
+
+            if (cntr == null) {
+                if (counters.size() < SKETCH_CAPACITY)
+                    counters.put(key, cntr = new Counter(0));
+                else {
+                    Map.Entry<KeyCacheObject, Counter> min = null;
+
+                    for (Map.Entry<KeyCacheObject, Counter> e : counters.entrySet()) {
+                        if (min == null || e.getValue().cnt < min.getValue().cnt)
+                            min = e;
+                    }
+
+                    counters.remove(min.getKey());
+                    counters.put(key, cntr = new Counter(min.getValue().cnt));
+
+                    if (hot.contains(min.getKey()))
+                        updateHot();
+                }
+            }
+
+            cntr.cnt++;
+
+            if (cntr.cnt - cntr.err == threshold)
+                updateHot();
+
+            if (++samples == DECAY_INTERVAL) {
+                samples = 0;
+
+                for (Iterator<Counter> it = counters.values().iterator(); it.hasNext(); ) {
+                    Counter c = it.next();
+
+                    c.cnt >>>= 1;
+                    c.err >>>= 1;
+
+                    if (c.cnt == 0)
+                        it.remove();
+                }
+
+                updateHot();
+            }
+        }
+
+        /**
+         * Recalculates hot keys.
+         */
+        private void updateHot() {
+            Set<KeyCacheObject> hot0 = null;
+
+            for (Map.Entry<KeyCacheObject, Counter> e : counters.entrySet()) {
+                Counter c = e.getValue();
+
+                if (c.cnt - c.err >= threshold) {
+                    if (hot0 == null)
+                        hot0 = new HashSet<>();
+
+                    hot0.add(e.getKey());
+                }
+            }
+
+            hot = hot0 == null ? Collections.emptySet() : hot0;
+        }
+
+        /**
+         * @param part Partition.
+         * @param res Collection to add keys to.
+         */
+        private synchronized void collect(int part, List<HotKey> res) {
+            for (Map.Entry<KeyCacheObject, Counter> e : counters.entrySet()) {
+                Counter c = e.getValue();
+
+                res.add(new HotKey(part, e.getKey(), (long)c.cnt * samplingInterval, (long)c.err * samplingInterval,
+                    c.cnt - c.err >= threshold));
+            }
+        }
+    }
+
+    /**
+     * Counter of sampled accesses of a key.
+     */
+    private static class Counter {
+        /** Count, including error. */
+        private int cnt;
+
+        /** Maximum overestimation of the count. */
+        private int err;
+
+        /**
+         * @param err Maximum overestimation of the count.
+         */
+        private Counter(int err) {
+            this.cnt = err;
+            this.err = err;
+        }
+    }
+}
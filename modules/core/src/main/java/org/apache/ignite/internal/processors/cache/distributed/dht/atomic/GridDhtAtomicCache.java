@@ -3151,6 +3151,11 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
                 return;
             }
 
+            if (hotKeys().enabled()) {
+                for (int i = 0; i < req.size(); i++)
+                    hotKeys().onAccess(req.key(i));
+            }
+
             updateAllAsyncInternal(node, req, updateReplyClos);
         }
     }
@@ -51,8 +51,10 @@ import org.apache.ignite.internal.processors.cache.GridCacheMapEntry;
 import org.apache.ignite.internal.processors.cache.GridCacheMapEntryFactory;
 import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
 import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtCacheAdapter;
 import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtCacheEntry;
 import org.apache.ignite.internal.processors.cache.distributed.dht.GridReservable;
+import org.apache.ignite.internal.processors.cache.distributed.dht.HotKeysTracker;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
 import org.apache.ignite.internal.processors.cache.transactions.IgniteInternalTx;
 import org.apache.ignite.internal.processors.cache.transactions.TxCounters;
@@ -637,8 +639,11 @@ public class GridDhtLocalPartition extends GridCacheConcurrentMapImpl implements
         if (partState == EVICTED || partState == RENTING)
             return rent;
 
-        if (tryInvalidateGroupReservations() && getReservations(state0) == 0 && casState(state0, RENTING))
+        if (tryInvalidateGroupReservations() && getReservations(state0) == 0 && casState(state0, RENTING)) {
+            resetHotKeys();
+
             evictAsync();
+        }
         else
             delayedRenting = true;
 
@@ -741,8 +746,25 @@ public class GridDhtLocalPartition extends GridCacheConcurrentMapImpl implements
         // Some entries still might be present in partition cache maps due to concurrent updates on backup nodes,
         // but it's safe to finish eviction because no physical updates are possible.
         // A partition is promoted to EVICTED state if it is not reserved and empty.
-        if (state == RENTING && store.isEmpty() && getReservations(state0) == 0)
-            casState(state0, EVICTED);
+        if (state == RENTING && store.isEmpty() && getReservations(state0) == 0 && casState(state0, EVICTED))
+            resetHotKeys();
+    }
+
+    /**
+     * Clears hot keys tracked for this partition by caches of the group.
+     */
+    private void resetHotKeys() {
+        for (GridCacheContext cctx : grp.caches()) {
+            if (cctx.isNear())
+                cctx = cctx.near().dht().context();
+
+            GridDhtCacheAdapter<?, ?> dht = cctx.dht();
+
+            HotKeysTracker hotKeys = dht != null ? dht.hotKeys() : null;
+
+            if (hotKeys != null)
+                hotKeys.reset(id);
+        }
     }
 
     /**
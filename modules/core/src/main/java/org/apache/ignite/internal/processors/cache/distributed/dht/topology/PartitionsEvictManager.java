@@ -355,13 +355,21 @@ public class PartitionsEvictManager extends GridCacheSharedManagerAdapter {
 
                 try {
                     if (amount > 0) {
+                        long[] oldest = {upper};
+
                         try {
                             cnt = ctx0.grp.offheap().fillQueue(tombstone, amount, upper, key -> {
                                 queue.addLast(key);
 
+                                if (key.expireTime < oldest[0])
+                                    oldest[0] = key.expireTime;
+
                                 // Stop on queue overflow.
                                 return queue.sizex() > MAX_EVICT_QUEUE_SIZE ? 1 : 0;
                             });
+
+                            if (!tombstone)
+                                ctx0.grp.metrics().expiryLag(upper - oldest[0]);
                         }
                         catch (IgniteCheckedException e) {
                             log.error("Failed to expire entries", e);
@@ -160,6 +160,8 @@ public final class GridNearGetFuture<K, V> extends CacheDistributedGetFutureAdap
             if (trackable)
                 cctx.mvcc().removeFuture(futId);
 
+            releaseReplicas();
+
             cache().dht().sendTtlUpdateRequest(expiryPlc);
 
             return true;
@@ -308,6 +310,8 @@ public final class GridNearGetFuture<K, V> extends CacheDistributedGetFutureAdap
 
                     add(miniFuture); // Append new future.
 
+                    miniFuture.onRequestSent();
+
                     try {
                         cctx.io().send(n, req, cctx.ioPolicy());
                     }
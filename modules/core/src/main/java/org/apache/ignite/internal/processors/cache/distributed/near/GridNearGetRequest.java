@@ -27,6 +27,7 @@ import java.util.UUID;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.GridDirectCollection;
 import org.apache.ignite.internal.GridDirectTransient;
+import org.apache.ignite.internal.OrderInsensitiveMessage;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheDeployable;
@@ -51,7 +52,7 @@ import org.jetbrains.annotations.Nullable;
  * Get request. Responsible for obtaining entry from primary node. 'Near' means 'Initiating node' here, not 'Near Cache'.
  */
 public class GridNearGetRequest extends GridCacheIdMessage implements GridCacheDeployable,
-    GridCacheVersionable {
+    GridCacheVersionable, OrderInsensitiveMessage {
     /** */
     private static final long serialVersionUID = 0L;
 
@@ -301,6 +302,13 @@ public class GridNearGetRequest extends GridCacheIdMessage implements GridCacheD
         return keys != null && !keys.isEmpty() ? keys.get(0).partition() : -1;
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean orderInsensitive() {
+        // Plain read does not depend on the order of other messages of the partition, while near reader
+        // registration and MVCC reads do.
+        return !addReaders() && mvccSnapshot == null;
+    }
+
     /**
      * Get transaction label (may be null).
      *
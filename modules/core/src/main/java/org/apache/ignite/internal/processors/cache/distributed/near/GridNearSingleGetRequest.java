@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.cache.distributed.near;
 import java.nio.ByteBuffer;
 import java.util.UUID;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.OrderInsensitiveMessage;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheDeployable;
@@ -36,7 +37,8 @@ import org.jetbrains.annotations.Nullable;
 /**
  *
  */
-public class GridNearSingleGetRequest extends GridCacheIdMessage implements GridCacheDeployable {
+public class GridNearSingleGetRequest extends GridCacheIdMessage implements GridCacheDeployable,
+    OrderInsensitiveMessage {
     /** */
     private static final long serialVersionUID = 0L;
 
@@ -226,6 +228,13 @@ public class GridNearSingleGetRequest extends GridCacheIdMessage implements Grid
         return key.partition();
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean orderInsensitive() {
+        // Plain read does not depend on the order of other messages of the partition, while near reader
+        // registration and MVCC reads do.
+        return !addReader() && mvccSnapshot == null;
+    }
+
     /**
      * Get transaction label (may be null).
      *
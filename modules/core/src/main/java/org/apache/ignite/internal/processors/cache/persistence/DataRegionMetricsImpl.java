@@ -116,6 +116,12 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
     /** */
     private final LongAdderMetric replacedPages;
 
+    /** Total size of physical WAL records logged for pages of the region. */
+    private final LongAdderMetric walPageRecordsSize;
+
+    /** Total size of checkpoint recovery data written for pages of the region. */
+    private final LongAdderMetric cpRecoveryDataSize;
+
     /** */
     private final AtomicLongMetric offHeapSize;
 
@@ -235,6 +241,14 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         replacedPages = mreg.longAdderMetric("PagesReplaced",
             "Number of pages replaced from last restart.");
 
+        walPageRecordsSize = mreg.longAdderMetric("WalPageRecordsSize",
+            "Total size in bytes of physical WAL records (page snapshots and page deltas) logged for pages " +
+                "of the region from last restart.");
+
+        cpRecoveryDataSize = mreg.longAdderMetric("CheckpointRecoveryDataSize",
+            "Total size in bytes of checkpoint recovery data written for pages of the region from last restart. " +
+                "Recovery data replaces physical WAL records if writing of recovery data on checkpoint is enabled.");
+
         offHeapSize = mreg.longMetric("OffHeapSize",
             "Offheap size in bytes.");
 
@@ -521,6 +535,26 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
             writtenPages.increment();
     }
 
+    /**
+     * Updates size of physical WAL records.
+     *
+     * @param size Size of logged record.
+     */
+    public void onWalPageRecordLogged(long size) {
+        if (metricsEnabled)
+            walPageRecordsSize.add(size);
+    }
+
+    /**
+     * Updates size of checkpoint recovery data.
+     *
+     * @param size Size of written data.
+     */
+    public void onCheckpointRecoveryDataWritten(long size) {
+        if (metricsEnabled)
+            cpRecoveryDataSize.add(size);
+    }
+
     /**
      * Increments dirtyPages counter.
      */
@@ -753,6 +787,8 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         readPages.reset();
         writtenPages.reset();
         replacedPages.reset();
+        walPageRecordsSize.reset();
+        cpRecoveryDataSize.reset();
         offHeapSize.reset();
         checkpointBufSize.reset();
         allocRate.reset();
@@ -116,12 +116,14 @@ import org.apache.ignite.internal.processors.cache.persistence.checkpoint.Checkp
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointListener;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointManager;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointProgress;
+import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointRecoveryFile;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointStatus;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.Checkpointer;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.LightweightCheckpointManager;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.ReservationReason;
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.CachePartitionDefragmentationManager;
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.DefragmentationPageReadWriteManager;
+import org.apache.ignite.internal.processors.cache.persistence.defragmentation.OnlineDefragmentationManager;
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.maintenance.DefragmentationWorkflowCallback;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
@@ -166,6 +168,7 @@ import org.apache.ignite.lang.IgnitePredicate;
 import org.apache.ignite.maintenance.MaintenanceRegistry;
 import org.apache.ignite.maintenance.MaintenanceTask;
 import org.apache.ignite.mxbean.DataStorageMetricsMXBean;
+import org.apache.ignite.spi.encryption.noop.NoopEncryptionSpi;
 import org.apache.ignite.transactions.TransactionState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -364,6 +367,9 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
     /** */
     private CachePartitionDefragmentationManager defrgMgr;
 
+    /** Online defragmentation manager. */
+    private OnlineDefragmentationManager onlineDefrgMgr;
+
     /** Data regions which should be checkpointed. */
     protected final Set<DataRegion> checkpointedDataRegions = new GridConcurrentHashSet<>();
 
@@ -521,12 +527,21 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         storeMgr = (FilePageStoreManager)store;
 
+        onlineDefrgMgr = new OnlineDefragmentationManager(cctx);
+
         final GridKernalContext kernalCtx = cctx.kernalContext();
 
         assert !kernalCtx.clientNode();
 
         initWalRebalanceThreshold();
 
+        if (persistenceCfg.isWriteRecoveryDataOnCheckpoint() && cctx.gridConfig().getEncryptionSpi() != null &&
+            !(cctx.gridConfig().getEncryptionSpi() instanceof NoopEncryptionSpi)) {
+            throw new IgniteCheckedException("Writing of checkpoint recovery data can't be used together with " +
+                "encryption, checkpoint recovery data is not encrypted [encryptionSpi=" +
+                cctx.gridConfig().getEncryptionSpi().getClass().getName() + ']');
+        }
+
         if (!kernalCtx.clientNode()) {
             kernalCtx.internalSubscriptionProcessor().registerDatabaseListener(new MetastorageRecoveryLifecycle());
 
@@ -569,6 +584,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
             cleanupTempCheckpointDirectory();
 
+            checkpointManager.checkRecoveryData();
+
             persStoreMetrics.wal(cctx.wal());
         }
     }
@@ -822,6 +839,13 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         return defrgMgr;
     }
 
+    /**
+     * @return Online defragmentation manager.
+     */
+    public OnlineDefragmentationManager onlineDefragmentationManager() {
+        return onlineDefrgMgr;
+    }
+
     /** {@inheritDoc} */
     @Override public DataRegion addDataRegion(DataStorageConfiguration dataStorageCfg, DataRegionConfiguration dataRegionCfg,
         boolean trackable, PageReadWriteManager pmPageMgr) throws IgniteCheckedException {
@@ -1135,6 +1159,9 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         if (defrgMgr != null)
             defrgMgr.cancel();
 
+        if (onlineDefrgMgr != null)
+            onlineDefrgMgr.cancel();
+
         checkpointManager.stop(cancel);
 
         super.onKernalStop0(cancel);
@@ -2193,6 +2220,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         AtomicLong applied = new AtomicLong();
 
+        CheckpointRecoveryFile recFile = apply ? checkpointManager.openRecoveryFile(status) : null;
+
         try {
             while (restoreBinaryState.hasNext()) {
                 if (applyError.get() != null)
@@ -2203,6 +2232,15 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                 if (rec == null)
                     break;
 
+                // Recovery file holds pages as of the checkpoint start, so it is applied once its record is reached.
+                if (recFile != null && !restoreBinaryState.needApplyBinaryUpdate()) {
+                    applyRecoveryFile(recFile, cacheGroupsPredicate, exec, semaphore, applied, applyError);
+
+                    U.closeQuiet(recFile);
+
+                    recFile = null;
+                }
+
                 switch (rec.type()) {
                     case PAGE_RECORD:
                         if (restoreBinaryState.needApplyBinaryUpdate()) {
@@ -2317,6 +2355,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         finally {
             it.close();
 
+            U.closeQuiet(recFile);
+
             awaitApplyComplete(exec, applyError);
         }
 
@@ -2341,6 +2381,59 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         return restoreBinaryState;
     }
 
+    /**
+     * Applies pages of the checkpoint recovery file to page memory.
+     *
+     * @param recFile Complete recovery file.
+     * @param cacheGroupsPredicate Cache groups to restore.
+     * @param exec Striped executor.
+     * @param semaphore Semaphore limiting concurrent apply tasks.
+     * @param applied Counter of applied pages.
+     * @param applyError Apply error.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void applyRecoveryFile(
+        CheckpointRecoveryFile recFile,
+        IgnitePredicate<Integer> cacheGroupsPredicate,
+        StripedExecutor exec,
+        Semaphore semaphore,
+        AtomicLong applied,
+        AtomicReference<Throwable> applyError
+    ) throws IgniteCheckedException {
+        if (log.isInfoEnabled())
+            log.info("Applying checkpoint recovery file [file=" + recFile.file() + ", pages=" + recFile.pages() + ']');
+
+        recFile.forEach(0, recFile.pages(), (grpId, pageId, tag, pageBuf) -> {
+            int partId = partId(pageId);
+
+            if (!cacheGroupsPredicate.apply(grpId) || skipRemovedIndexUpdates(grpId, partId))
+                return;
+
+            byte[] data = new byte[pageBuf.remaining()];
+
+            pageBuf.get(data);
+
+            FullPageId fullId = new FullPageId(pageId, grpId);
+
+            stripedApplyPage((pageMem) -> {
+                try {
+                    applyPageSnapshot(pageMem, new PageSnapshot(fullId, data, pageMem.realPageSize(grpId)));
+
+                    applied.incrementAndGet();
+                }
+                catch (Throwable t) {
+                    U.error(log, "Failed to apply page from checkpoint recovery file [pageId=" + fullId + ']');
+
+                    applyError.compareAndSet(
+                        null,
+                        (t instanceof IgniteCheckedException) ?
+                            (IgniteCheckedException)t :
+                            new IgniteCheckedException("Failed to apply page from checkpoint recovery file", t));
+                }
+            }, grpId, partId, exec, semaphore);
+        });
+    }
+
     /**
      * Calculate the maximum number of concurrent tasks for apply through the striped executor.
      *
@@ -35,6 +35,9 @@ class Checkpoint {
     /** Checkpoint progress status. */
     final CheckpointProgressImpl progress;
 
+    /** Recovery file pages are written to before they are written to page stores. */
+    @Nullable final CheckpointRecoveryFile recoveryFile;
+
     /** WAL segments fully covered by this checkpoint. */
     IgniteBiTuple<Long, Long> walSegsCoveredRange;
 
@@ -47,15 +50,18 @@ class Checkpoint {
      * @param cpEntry Checkpoint entry.
      * @param cpPages Pages to write to the page store.
      * @param progress Checkpoint progress status.
+     * @param recoveryFile Recovery file or {@code null} if checkpoint doesn't write recovery data.
      */
     Checkpoint(
         @Nullable CheckpointEntry cpEntry,
         GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> cpPages,
-        CheckpointProgressImpl progress
+        CheckpointProgressImpl progress,
+        @Nullable CheckpointRecoveryFile recoveryFile
     ) {
         this.cpEntry = cpEntry;
         this.cpPages = cpPages;
         this.progress = progress;
+        this.recoveryFile = recoveryFile;
 
         pagesSize = cpPages.initialSize();
     }
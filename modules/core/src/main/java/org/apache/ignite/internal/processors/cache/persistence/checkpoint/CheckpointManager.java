@@ -30,12 +30,15 @@ import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.LongJVMPauseDetector;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
 import org.apache.ignite.internal.pagemem.wal.WALPointer;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.GridCacheProcessor;
 import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
 import org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl;
+import org.apache.ignite.internal.processors.cache.persistence.StorageException;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
@@ -45,6 +48,7 @@ import org.apache.ignite.internal.processors.failure.FailureProcessor;
 import org.apache.ignite.internal.util.StripedExecutor;
 import org.apache.ignite.internal.util.lang.IgniteThrowableBiPredicate;
 import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
+import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.internal.worker.WorkersRegistry;
 import org.apache.ignite.lang.IgniteInClosure;
 import org.jetbrains.annotations.Nullable;
@@ -69,6 +73,9 @@ import static org.apache.ignite.IgniteSystemProperties.IGNITE_CHECKPOINT_READ_LO
  * <p>Restoring memory in consistent state if the node failed in the middle of checkpoint.</p>
  */
 public class CheckpointManager {
+    /** Logger. */
+    private final IgniteLogger log;
+
     /** Checkpoint worker. */
     private volatile Checkpointer checkpointer;
 
@@ -78,6 +85,9 @@ public class CheckpointManager {
     /** Checkpoint markers storage which mark the start and end of each checkpoint. */
     private final CheckpointMarkersStorage checkpointMarkersStorage;
 
+    /** Storage of checkpoint recovery files. */
+    private final CheckpointRecoveryDataStorage recoveryDataStorage;
+
     /** Timeout checkpoint lock which should be used while write to memory happened. */
     final CheckpointTimeoutLock checkpointTimeoutLock;
 
@@ -130,6 +140,8 @@ public class CheckpointManager {
         Supplier<Integer> cpFreqDeviation,
         Executor checkpointMapSnapshotExecutor
     ) throws IgniteCheckedException {
+        log = logger.apply(getClass());
+
         CheckpointHistory cpHistory = new CheckpointHistory(
             persistenceCfg,
             logger,
@@ -151,11 +163,21 @@ public class CheckpointManager {
             checkpointMapSnapshotExecutor
         );
 
+        recoveryDataStorage = new CheckpointRecoveryDataStorage(
+            logger,
+            checkpointMarkersStorage.cpDir,
+            ioFactory,
+            pageStoreManager,
+            persistenceCfg.isWriteRecoveryDataOnCheckpoint(),
+            persistenceCfg.getPageSize()
+        );
+
         checkpointWorkflow = new CheckpointWorkflow(
             logger,
             wal,
             snapshotMgr,
             checkpointMarkersStorage,
+            recoveryDataStorage,
             lock,
             persistenceCfg.getCheckpointWriteOrder(),
             dataRegions,
@@ -177,9 +199,27 @@ public class CheckpointManager {
 
         checkpointPagesWriterFactory = new CheckpointPagesWriterFactory(
             logger, snapshotMgr,
-            (pageMemEx, fullPage, buf, tag) -> pageStoreManager.write(fullPage.groupId(), fullPage.pageId(), buf, tag, true),
+            new CheckpointPagesWriter.CheckpointPageWriter() {
+                /** {@inheritDoc} */
+                @Override public PageStore write(PageMemoryEx pageMemEx, FullPageId fullPage, ByteBuffer buf, int tag)
+                    throws IgniteCheckedException {
+                    return pageStoreManager.write(fullPage.groupId(), fullPage.pageId(), buf, tag, true);
+                }
+
+                /** {@inheritDoc} */
+                @Override public PageStore writePages(
+                    PageMemoryEx pageMemEx,
+                    FullPageId firstPage,
+                    ByteBuffer buf,
+                    int tag
+                ) throws IgniteCheckedException {
+                    return pageStoreManager.writePages(firstPage.groupId(), firstPage.pageId(), buf, tag);
+                }
+            },
             persStoreMetrics,
             throttlingPolicy, threadBuf,
+            // Pages of a checkpoint with recovery data are appended to the recovery file one by one.
+            persistenceCfg.isWriteRecoveryDataOnCheckpoint() ? 1 : persistenceCfg.getCheckpointMaxCoalescedPages(),
             pageMemoryGroupResolver
         );
 
@@ -280,6 +320,59 @@ public class CheckpointManager {
         return checkpointMarkersStorage.readCheckpointStatus();
     }
 
+    /**
+     * Checks recovery file of the checkpoint the node failed in the middle of. If the recovery file is incomplete, page
+     * stores were not modified by the checkpoint, so its start marker is removed and the node recovers from the
+     * previous checkpoint. Recovery files of other checkpoints are deleted.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    public void checkRecoveryData() throws IgniteCheckedException {
+        if (!recoveryDataStorage.exists())
+            return;
+
+        CheckpointStatus status = checkpointMarkersStorage.readCheckpointStatus();
+
+        if (status.needRestoreMemory()) {
+            boolean incomplete;
+
+            try (CheckpointRecoveryFile recFile = recoveryDataStorage.open(status.cpStartTs, status.cpStartId)) {
+                incomplete = recFile != null && !recFile.complete();
+            }
+
+            if (incomplete) {
+                U.warn(log, "Node stopped before all pages of the checkpoint were written to the checkpoint recovery " +
+                    "file, page stores were not modified by the checkpoint. Will recover from the previous checkpoint " +
+                    "[cpId=" + status.cpStartId + ", cpTs=" + status.cpStartTs + ']');
+
+                checkpointMarkersStorage.removeCheckpointStartMarker(status.cpStartTs, status.cpStartId);
+
+                recoveryDataStorage.delete(status.cpStartTs, status.cpStartId);
+
+                status = checkpointMarkersStorage.readCheckpointStatus();
+            }
+        }
+
+        recoveryDataStorage.cleanup(status.needRestoreMemory() ? status.cpStartId : null);
+    }
+
+    /**
+     * @param status Status of the checkpoint the node failed in the middle of.
+     * @return Complete recovery file of the checkpoint or {@code null} if the checkpoint has no recovery file.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable public CheckpointRecoveryFile openRecoveryFile(CheckpointStatus status) throws IgniteCheckedException {
+        CheckpointRecoveryFile recFile = recoveryDataStorage.open(status.cpStartTs, status.cpStartId);
+
+        if (recFile != null && !recFile.complete()) {
+            recFile.close();
+
+            throw new StorageException("Checkpoint recovery file is incomplete: " + recFile.file().getAbsolutePath());
+        }
+
+        return recFile;
+    }
+
     /**
      * Start the new checkpoint immediately.
      *
@@ -177,6 +177,25 @@ public class CheckpointMarkersStorage {
         }
     }
 
+    /**
+     * Removes start marker of the checkpoint which didn't modify page stores, so the previous checkpoint becomes the
+     * last one.
+     *
+     * @param cpTs Checkpoint timestamp.
+     * @param cpId Checkpoint ID.
+     * @throws StorageException If failed.
+     */
+    public void removeCheckpointStartMarker(long cpTs, UUID cpId) throws StorageException {
+        File startFile = new File(cpDir, checkpointFileName(cpTs, cpId, CheckpointEntryType.START));
+
+        try {
+            Files.deleteIfExists(startFile.toPath());
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to delete checkpoint start marker: " + startFile.getAbsolutePath(), e);
+        }
+    }
+
     /**
      * Filling internal structures with data from disk.
      */
@@ -37,6 +37,7 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.util.GridConcurrentMultiPairQueue;
 import org.apache.ignite.internal.util.future.CountDownFuture;
 import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
+import org.jetbrains.annotations.Nullable;
 import org.jsr166.ConcurrentLinkedHashMap;
 
 import static org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO.getType;
@@ -74,6 +75,12 @@ public class CheckpointPagesWriter implements Runnable {
     /** Thread local with buffers for the checkpoint threads. Each buffer represent one page for durable memory. */
     private final ThreadLocal<ByteBuffer> threadBuf;
 
+    /**
+     * Thread local with staging buffers for the checkpoint threads, each buffer fits several pages which are written
+     * with a single I/O operation. {@code null} if pages are written one by one.
+     */
+    @Nullable private final ThreadLocal<ByteBuffer> batchBuf;
+
     /** Throttling policy according to the settings. */
     private final PageMemoryImpl.ThrottlingPolicy throttlingPolicy;
 
@@ -101,6 +108,7 @@ public class CheckpointPagesWriter implements Runnable {
      * @param log Logger.
      * @param dsMetrics Data storage metrics.
      * @param buf Thread local byte buffer.
+     * @param batchBuf Thread local staging buffer for adjacent pages or {@code null} if pages are written one by one.
      * @param throttlingPolicy Throttling policy.
      * @param pageMemoryGroupResolver Resolver of page memory by group id.
      * @param progress Checkpoint progress.
@@ -117,6 +125,7 @@ public class CheckpointPagesWriter implements Runnable {
         IgniteLogger log,
         DataStorageMetricsImpl dsMetrics,
         ThreadLocal<ByteBuffer> buf,
+        @Nullable ThreadLocal<ByteBuffer> batchBuf,
         PageMemoryImpl.ThrottlingPolicy throttlingPolicy,
         IgniteThrowableFunction<Integer, PageMemoryEx> pageMemoryGroupResolver,
         CheckpointProgressImpl progress,
@@ -132,6 +141,7 @@ public class CheckpointPagesWriter implements Runnable {
         this.log = log;
         this.persStoreMetrics = dsMetrics;
         this.threadBuf = buf;
+        this.batchBuf = batchBuf;
         this.throttlingPolicy = throttlingPolicy;
         this.pageMemoryGroupResolver = pageMemoryGroupResolver;
         this.curCpProgress = progress;
@@ -182,43 +192,66 @@ public class CheckpointPagesWriter implements Runnable {
 
         ByteBuffer tmpWriteBuf = threadBuf.get();
 
+        CheckpointWriteBatch batch = batchBuf == null ? null :
+            new CheckpointWriteBatch(batchBuf.get(), tmpWriteBuf.capacity(), pageWriter, updStores);
+
         boolean throttlingEnabled = throttlingPolicy != PageMemoryImpl.ThrottlingPolicy.DISABLED;
 
         GridConcurrentMultiPairQueue.Result<PageMemoryEx, FullPageId> res =
             new GridConcurrentMultiPairQueue.Result<>();
 
-        while (writePageIds.next(res)) {
-            if (shutdownNow.getAsBoolean())
-                break;
+        // Adjacent pages are taken together to be written by the same thread.
+        FullPageId[] fullIds = new FullPageId[batch == null ? 1 : batchBuf.get().capacity() / tmpWriteBuf.capacity()];
 
-            beforePageWrite.run();
+        try {
+            int cnt;
 
-            FullPageId fullId = res.getValue();
+            while ((cnt = writePageIds.next(res, fullIds)) > 0) {
+                PageMemoryEx pageMem = res.getKey();
 
-            PageMemoryEx pageMem = res.getKey();
+                PageStoreWriter pageStoreWriter = pageStoreWriters.computeIfAbsent(pageMem,
+                    pageMemEx -> createPageStoreWriter(pageMemEx, pagesToRetry, batch));
 
-            snapshotMgr.beforePageWrite(fullId);
+                for (int i = 0; i < cnt; i++) {
+                    if (shutdownNow.getAsBoolean())
+                        break;
 
-            tmpWriteBuf.rewind();
+                    beforePageWrite.run();
 
-            PageStoreWriter pageStoreWriter = pageStoreWriters.computeIfAbsent(pageMem, pageMemEx -> createPageStoreWriter(pageMemEx, pagesToRetry));
+                    FullPageId fullId = fullIds[i];
 
-            pageMem.checkpointWritePage(fullId, tmpWriteBuf, pageStoreWriter, tracker);
+                    snapshotMgr.beforePageWrite(fullId);
 
-            if (throttlingEnabled) {
-                while (pageMem.isCpBufferOverflowThresholdExceeded()) {
-                    FullPageId cpPageId = pageMem.pullPageFromCpBuffer();
+                    tmpWriteBuf.rewind();
 
-                    if (cpPageId.equals(FullPageId.NULL_PAGE))
-                        break;
+                    pageMem.checkpointWritePage(fullId, tmpWriteBuf, pageStoreWriter, tracker);
 
-                    snapshotMgr.beforePageWrite(cpPageId);
+                    if (throttlingEnabled) {
+                        while (pageMem.isCpBufferOverflowThresholdExceeded()) {
+                            FullPageId cpPageId = pageMem.pullPageFromCpBuffer();
 
-                    tmpWriteBuf.rewind();
+                            if (cpPageId.equals(FullPageId.NULL_PAGE))
+                                break;
+
+                            snapshotMgr.beforePageWrite(cpPageId);
 
-                    pageMem.checkpointWritePage(cpPageId, tmpWriteBuf, pageStoreWriter, tracker);
+                            tmpWriteBuf.rewind();
+
+                            pageMem.checkpointWritePage(cpPageId, tmpWriteBuf, pageStoreWriter, tracker);
+                        }
+                    }
                 }
+
+                if (shutdownNow.getAsBoolean())
+                    break;
             }
+
+            if (batch != null)
+                batch.flush();
+        }
+        finally {
+            if (batch != null)
+                batch.release();
         }
 
         return pagesToRetry.isEmpty() ?
@@ -231,11 +264,13 @@ public class CheckpointPagesWriter implements Runnable {
      *
      * @param pageMemEx
      * @param pagesToRetry List pages for retry.
+     * @param batch Batch of adjacent pages or {@code null} if pages are written one by one.
      * @return Checkpoint page write context.
      */
     private PageStoreWriter createPageStoreWriter(
         PageMemoryEx pageMemEx,
-        Map<PageMemoryEx, List<FullPageId>> pagesToRetry
+        Map<PageMemoryEx, List<FullPageId>> pagesToRetry,
+        @Nullable CheckpointWriteBatch batch
     ) {
         return new PageStoreWriter() {
             /** {@inheritDoc} */
@@ -262,6 +297,12 @@ public class CheckpointPagesWriter implements Runnable {
 
                 curCpProgress.updateWrittenPages(1);
 
+                if (batch != null) {
+                    batch.add(pageMemEx, fullPageId, buf, tag);
+
+                    return;
+                }
+
                 PageStore store = pageWriter.write(pageMemEx, fullPageId, buf, tag);
 
                 updStores.computeIfAbsent(store, k -> new LongAdder()).increment();
@@ -282,5 +323,20 @@ public class CheckpointPagesWriter implements Runnable {
          */
         PageStore write(PageMemoryEx pageMemEx, FullPageId fullPageId, ByteBuffer buf, int tag)
             throws IgniteCheckedException;
+
+        /**
+         * Writes pages with adjacent indexes of the same partition with a single I/O operation.
+         *
+         * @param pageMemEx Page memory from which pages should be written.
+         * @param firstPageId Full ID of the first page.
+         * @param buf Byte buffer with pages.
+         * @param tag Page tag.
+         * @return {@link PageStore} which was used to write or {@code null} if the pages must be written one by one.
+         * @throws IgniteCheckedException if fail.
+         */
+        @Nullable default PageStore writePages(PageMemoryEx pageMemEx, FullPageId firstPageId, ByteBuffer buf, int tag)
+            throws IgniteCheckedException {
+            return null;
+        }
     }
 }
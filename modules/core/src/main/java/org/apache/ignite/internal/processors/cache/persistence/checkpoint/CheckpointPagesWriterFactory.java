@@ -17,6 +17,7 @@
 package org.apache.ignite.internal.processors.cache.persistence.checkpoint;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -38,6 +39,7 @@ import org.apache.ignite.internal.util.GridConcurrentMultiPairQueue;
 import org.apache.ignite.internal.util.future.CountDownFuture;
 import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
 import org.jsr166.ConcurrentLinkedHashMap;
 
 /**
@@ -58,6 +60,9 @@ public class CheckpointPagesWriterFactory {
     /** Thread local with buffers for the checkpoint threads. Each buffer represent one page for durable memory. */
     private volatile ThreadLocal<ByteBuffer> threadBuf;
 
+    /** Thread local with staging buffers for adjacent pages, {@code null} if pages are written one by one. */
+    @Nullable private final ThreadLocal<ByteBuffer> batchBuf;
+
     /** Throttling policy according to the settings. */
     private final PageMemoryImpl.ThrottlingPolicy throttlingPolicy;
 
@@ -74,6 +79,7 @@ public class CheckpointPagesWriterFactory {
      * @param persStoreMetrics Persistence metrics.
      * @param throttlingPolicy Throttling policy.
      * @param threadBuf Thread write buffer.
+     * @param maxCoalescedPages Maximum number of adjacent pages written with a single I/O operation.
      * @param pageMemoryGroupResolver Page memory resolver.
      */
     CheckpointPagesWriterFactory(
@@ -83,6 +89,7 @@ public class CheckpointPagesWriterFactory {
         DataStorageMetricsImpl persStoreMetrics,
         PageMemoryImpl.ThrottlingPolicy throttlingPolicy,
         ThreadLocal<ByteBuffer> threadBuf,
+        int maxCoalescedPages,
         IgniteThrowableFunction<Integer, PageMemoryEx> pageMemoryGroupResolver
     ) {
         this.snapshotMgr = snapshotMgr;
@@ -92,6 +99,19 @@ public class CheckpointPagesWriterFactory {
         this.throttlingPolicy = throttlingPolicy;
         this.pageMemoryGroupResolver = pageMemoryGroupResolver;
         this.checkpointPageWriter = checkpointPageWriter;
+
+        batchBuf = maxCoalescedPages <= 1 ? null : new ThreadLocal<ByteBuffer>() {
+            /** {@inheritDoc} */
+            @Override protected ByteBuffer initialValue() {
+                int pageSize = CheckpointPagesWriterFactory.this.threadBuf.get().capacity();
+
+                ByteBuffer buf = ByteBuffer.allocateDirect(maxCoalescedPages * pageSize);
+
+                buf.order(ByteOrder.nativeOrder());
+
+                return buf;
+            }
+        };
     }
 
     /**
@@ -123,6 +143,7 @@ public class CheckpointPagesWriterFactory {
             log,
             persStoreMetrics,
             threadBuf,
+            batchBuf,
             throttlingPolicy,
             pageMemoryGroupResolver,
             curCpProgress,
@@ -194,6 +215,44 @@ public class CheckpointPagesWriterFactory {
         };
     }
 
+    /**
+     * @param recoveryFile Complete recovery file of the checkpoint.
+     * @param from Index of the first page to write (inclusive).
+     * @param to Index of the last page to write (exclusive).
+     * @param updStores Updated page store storage.
+     * @param doneFut Write done future.
+     * @param shutdownNow Checker of stop operation.
+     * @return Writer of pages from the recovery file to page stores.
+     */
+    Runnable buildRecoveryFileWriter(
+        CheckpointRecoveryFile recoveryFile,
+        long from,
+        long to,
+        ConcurrentLinkedHashMap<PageStore, LongAdder> updStores,
+        CountDownFuture doneFut,
+        BooleanSupplier shutdownNow
+    ) {
+        return () -> {
+            try {
+                recoveryFile.forEach(from, to, (grpId, pageId, tag, buf) -> {
+                    if (shutdownNow.getAsBoolean())
+                        return;
+
+                    PageMemoryEx pageMem = pageMemoryGroupResolver.apply(grpId);
+
+                    PageStore store = checkpointPageWriter.write(pageMem, new FullPageId(pageId, grpId), buf, tag);
+
+                    updStores.computeIfAbsent(store, k -> new LongAdder()).increment();
+                });
+
+                doneFut.onDone();
+            }
+            catch (Throwable e) {
+                doneFut.onDone(e);
+            }
+        };
+    }
+
     /**
      * @param threadBuf Thread local byte buffer.
      */
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.checkpoint;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.processors.cache.persistence.StorageException;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.util.typedef.F;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Storage of checkpoint recovery files. Recovery file of a checkpoint is located in the checkpoint directory next to
+ * checkpoint markers, is created before the checkpoint start marker is written and is deleted after the checkpoint end
+ * marker is written.
+ *
+ * @see CheckpointRecoveryFile
+ */
+public class CheckpointRecoveryDataStorage {
+    /** Recovery file name pattern. */
+    public static final Pattern RECOVERY_FILE_NAME_PATTERN = Pattern.compile("(\\d+)-(.*)-RECOVERY\\.bin");
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Checkpoint directory. */
+    private final File cpDir;
+
+    /** File I/O factory. */
+    private final FileIOFactory ioFactory;
+
+    /** Page store manager to which recovery file of the running checkpoint is passed. */
+    private final FilePageStoreManager pageStoreMgr;
+
+    /** Whether checkpoints write recovery data. */
+    private final boolean enabled;
+
+    /** Page size. */
+    private final int pageSize;
+
+    /** Record buffers shared by recovery files of all checkpoints. */
+    private final ThreadLocal<ByteBuffer> recBuf;
+
+    /**
+     * @param logger Logger producer.
+     * @param cpDir Checkpoint directory.
+     * @param ioFactory File I/O factory.
+     * @param pageStoreMgr Page store manager.
+     * @param enabled Whether checkpoints write recovery data.
+     * @param pageSize Page size.
+     */
+    CheckpointRecoveryDataStorage(
+        Function<Class<?>, IgniteLogger> logger,
+        File cpDir,
+        FileIOFactory ioFactory,
+        FilePageStoreManager pageStoreMgr,
+        boolean enabled,
+        int pageSize
+    ) {
+        this.log = logger.apply(getClass());
+        this.cpDir = cpDir;
+        this.ioFactory = ioFactory;
+        this.pageStoreMgr = pageStoreMgr;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+
+        int recSize = CheckpointRecoveryFile.recordSize(pageSize);
+
+        recBuf = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(recSize).order(ByteOrder.nativeOrder()));
+    }
+
+    /**
+     * @return {@code True} if checkpoints write recovery data.
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Creates recovery file of the checkpoint. Since this moment all pages written to page stores are diverted to the
+     * file until it is complete.
+     *
+     * @param cpTs Checkpoint timestamp.
+     * @param cpId Checkpoint ID.
+     * @return Recovery file.
+     * @throws StorageException If failed.
+     */
+    public CheckpointRecoveryFile create(long cpTs, UUID cpId) throws StorageException {
+        assert enabled;
+        assert pageStoreMgr.checkpointRecoveryFile() == null : pageStoreMgr.checkpointRecoveryFile();
+
+        CheckpointRecoveryFile file = CheckpointRecoveryFile.create(ioFactory, file(cpTs, cpId), pageSize, recBuf);
+
+        pageStoreMgr.checkpointRecoveryFile(file);
+
+        return file;
+    }
+
+    /**
+     * Opens recovery file of the checkpoint if it exists.
+     *
+     * @param cpTs Checkpoint timestamp.
+     * @param cpId Checkpoint ID.
+     * @return Recovery file or {@code null} if checkpoint has no recovery file.
+     * @throws StorageException If failed.
+     */
+    @Nullable public CheckpointRecoveryFile open(long cpTs, UUID cpId) throws StorageException {
+        File file = file(cpTs, cpId);
+
+        return file.exists() ? CheckpointRecoveryFile.open(ioFactory, file) : null;
+    }
+
+    /**
+     * Closes and deletes recovery file.
+     *
+     * @param file Recovery file.
+     * @throws StorageException If failed.
+     */
+    public void delete(CheckpointRecoveryFile file) throws StorageException {
+        if (pageStoreMgr.checkpointRecoveryFile() == file)
+            pageStoreMgr.checkpointRecoveryFile(null);
+
+        file.close();
+
+        delete(file.file());
+    }
+
+    /**
+     * Deletes recovery file of the checkpoint if it exists.
+     *
+     * @param cpTs Checkpoint timestamp.
+     * @param cpId Checkpoint ID.
+     * @throws StorageException If failed.
+     */
+    public void delete(long cpTs, UUID cpId) throws StorageException {
+        delete(file(cpTs, cpId));
+    }
+
+    /**
+     * @return {@code true} if the checkpoint directory contains at least one recovery file.
+     */
+    public boolean exists() {
+        String[] names = cpDir.list((dir, name) -> RECOVERY_FILE_NAME_PATTERN.matcher(name).matches());
+
+        return !F.isEmpty(names);
+    }
+
+    /**
+     * Deletes recovery files of all checkpoints except the given one. Recovery files are left if the node fails right
+     * after the checkpoint end marker is written or before the checkpoint start marker is written.
+     *
+     * @param keepId ID of the checkpoint which recovery file must be kept.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void cleanup(@Nullable UUID keepId) throws IgniteCheckedException {
+        if (!cpDir.exists())
+            return;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(
+            cpDir.toPath(),
+            path -> RECOVERY_FILE_NAME_PATTERN.matcher(path.toFile().getName()).matches())
+        ) {
+            for (Path path : files) {
+                Matcher matcher = RECOVERY_FILE_NAME_PATTERN.matcher(path.toFile().getName());
+
+                if (matcher.matches() && keepId != null && keepId.toString().equals(matcher.group(2)))
+                    continue;
+
+                if (log.isInfoEnabled())
+                    log.info("Deleting stale checkpoint recovery file: " + path);
+
+                Files.delete(path);
+            }
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to cleanup checkpoint recovery files: " + cpDir, e);
+        }
+    }
+
+    /**
+     * @param file File to delete.
+     * @throws StorageException If failed.
+     */
+    private void delete(File file) throws StorageException {
+        try {
+            Files.deleteIfExists(file.toPath());
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to delete checkpoint recovery file: " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * @param cpTs Checkpoint timestamp.
+     * @param cpId Checkpoint ID.
+     * @return Recovery file of the checkpoint.
+     */
+    private File file(long cpTs, UUID cpId) {
+        return new File(cpDir, cpTs + "-" + cpId + "-RECOVERY.bin");
+    }
+}
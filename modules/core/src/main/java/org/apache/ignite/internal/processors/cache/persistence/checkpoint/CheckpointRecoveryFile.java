@@ -0,0 +1,442 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.checkpoint;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.processors.cache.persistence.StorageException;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * File with copies of checkpoint pages. Pages of a checkpoint are written to this file and the file is synced before
+ * any page of the checkpoint is written to page stores, so page stores can always be brought either to the state of
+ * the previous checkpoint (the file is incomplete and page stores are untouched) or to the state of this checkpoint
+ * (the file is complete and is applied on top of page stores).
+ * <p>
+ * The file consists of a header (magic, page size and pages count, which is written only when the file is complete)
+ * followed by fixed size records of group ID, page ID, partition tag and page content.
+ */
+public class CheckpointRecoveryFile implements AutoCloseable {
+    /** Magic number of checkpoint recovery file. */
+    private static final long MAGIC = 0x59524556_4F434552L;
+
+    /** Header size: magic, page size, reserved, pages count. */
+    static final int HEADER_SIZE = 24;
+
+    /** Offset of the pages count in the header. */
+    private static final int PAGES_CNT_OFF = 16;
+
+    /** Record header size: group ID, page ID, partition tag. */
+    static final int REC_HEADER_SIZE = 16;
+
+    /** File. */
+    private final File file;
+
+    /** File I/O. */
+    private final FileIO io;
+
+    /** Page size. */
+    private final int pageSize;
+
+    /** Record size. */
+    private final int recSize;
+
+    /** Count of records appended to the file, or count of records of the complete file opened for recovery. */
+    private final AtomicLong recCnt = new AtomicLong();
+
+    /**
+     * Positions of the latest copies of pages appended to the file. Used to serve reads of pages which are already
+     * written by the checkpoint but are not in page stores yet.
+     */
+    private final Map<FullPageId, Long> positions = new ConcurrentHashMap<>();
+
+    /** Record buffers. */
+    private final ThreadLocal<ByteBuffer> recBuf;
+
+    /** Whether the file is written by the running checkpoint, as opposed to the file opened on recovery. */
+    private final boolean live;
+
+    /** Guards appends against completion of the file. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Whether the file is complete. */
+    private volatile boolean complete;
+
+    /**
+     * @param file File.
+     * @param io File I/O.
+     * @param pageSize Page size.
+     * @param live Whether the file is written by the running checkpoint.
+     * @param recBuf Record buffer.
+     */
+    private CheckpointRecoveryFile(File file, FileIO io, int pageSize, boolean live, ThreadLocal<ByteBuffer> recBuf) {
+        this.file = file;
+        this.io = io;
+        this.pageSize = pageSize;
+        this.live = live;
+        this.recBuf = recBuf;
+
+        recSize = recordSize(pageSize);
+    }
+
+    /**
+     * @param pageSize Page size.
+     * @return Size of the record with the page of given size.
+     */
+    static int recordSize(int pageSize) {
+        return REC_HEADER_SIZE + pageSize;
+    }
+
+    /**
+     * Creates new empty recovery file.
+     *
+     * @param ioFactory File I/O factory.
+     * @param file File.
+     * @param pageSize Page size.
+     * @param recBuf Thread local buffers of {@link #recordSize(int)} bytes.
+     * @return Recovery file.
+     * @throws StorageException If failed.
+     */
+    static CheckpointRecoveryFile create(
+        FileIOFactory ioFactory,
+        File file,
+        int pageSize,
+        ThreadLocal<ByteBuffer> recBuf
+    ) throws StorageException {
+        try {
+            FileIO io = ioFactory.create(file, CREATE, READ, WRITE, TRUNCATE_EXISTING);
+
+            ByteBuffer hdr = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+
+            hdr.putLong(MAGIC).putInt(pageSize).putInt(0).putLong(-1L).flip();
+
+            io.writeFully(hdr, 0);
+
+            io.force();
+
+            return new CheckpointRecoveryFile(file, io, pageSize, true, recBuf);
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to create checkpoint recovery file: " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Opens existing recovery file for reading.
+     *
+     * @param ioFactory File I/O factory.
+     * @param file File.
+     * @return Recovery file.
+     * @throws StorageException If failed.
+     */
+    static CheckpointRecoveryFile open(FileIOFactory ioFactory, File file) throws StorageException {
+        try {
+            FileIO io = ioFactory.create(file, READ);
+
+            ByteBuffer hdr = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+
+            int pageSize = 0;
+            long cnt = -1;
+
+            if (io.size() >= HEADER_SIZE && io.readFully(hdr, 0) == HEADER_SIZE) {
+                hdr.flip();
+
+                if (hdr.getLong() == MAGIC) {
+                    pageSize = hdr.getInt();
+
+                    hdr.getInt();
+
+                    cnt = hdr.getLong();
+                }
+            }
+
+            int recSize = recordSize(pageSize);
+
+            CheckpointRecoveryFile res = new CheckpointRecoveryFile(file, io, pageSize, false,
+                ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(recSize).order(ByteOrder.nativeOrder())));
+
+            if (pageSize > 0 && cnt >= 0 && io.size() >= HEADER_SIZE + cnt * res.recSize) {
+                res.recCnt.set(cnt);
+                res.complete = true;
+            }
+
+            return res;
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to open checkpoint recovery file: " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Appends page copy to the file.
+     *
+     * @param grpId Group ID.
+     * @param pageId Page ID.
+     * @param tag Partition tag.
+     * @param pageBuf Page content.
+     * @return {@code True} if page was appended, {@code false} if the file is already complete and page should be
+     *      written to page store directly.
+     * @throws StorageException If failed.
+     */
+    public boolean append(int grpId, long pageId, int tag, ByteBuffer pageBuf) throws StorageException {
+        assert pageBuf.remaining() == pageSize : pageBuf.remaining();
+
+        lock.readLock().lock();
+
+        try {
+            if (complete)
+                return false;
+
+            ByteBuffer buf = recBuf.get();
+
+            buf.clear();
+
+            buf.putInt(grpId).putLong(pageId).putInt(tag);
+
+            int pos0 = pageBuf.position();
+
+            buf.put(pageBuf);
+
+            pageBuf.position(pos0);
+
+            // CRC is calculated when the page is written to page store.
+            buf.putInt(REC_HEADER_SIZE + PageIO.CRC_OFF, 0);
+
+            buf.flip();
+
+            long pos = HEADER_SIZE + recCnt.getAndIncrement() * recSize;
+
+            try {
+                io.writeFully(buf, pos);
+            }
+            catch (IOException e) {
+                throw new StorageException("Failed to write checkpoint recovery file: " + file.getAbsolutePath(), e);
+            }
+
+            positions.put(new FullPageId(pageId, grpId), pos);
+
+            return true;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads page copy if the page was appended to the file.
+     *
+     * @param grpId Group ID.
+     * @param pageId Page ID.
+     * @param pageBuf Buffer to read page content to.
+     * @return {@code True} if page was read, {@code false} if the file has no copy of the page.
+     * @throws StorageException If failed.
+     */
+    public boolean read(int grpId, long pageId, ByteBuffer pageBuf) throws StorageException {
+        Long pos = positions.get(new FullPageId(pageId, grpId));
+
+        if (pos == null)
+            return false;
+
+        assert pageBuf.remaining() == pageSize : pageBuf.remaining();
+
+        int pos0 = pageBuf.position();
+
+        try {
+            io.readFully(pageBuf, pos + REC_HEADER_SIZE);
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to read checkpoint recovery file: " + file.getAbsolutePath(), e);
+        }
+
+        pageBuf.position(pos0);
+
+        return true;
+    }
+
+    /**
+     * Forgets copies of pages of destroyed partition, so they are neither read nor written to page store.
+     *
+     * @param grpId Group ID.
+     * @param partId Partition ID.
+     */
+    public void forgetPartition(int grpId, int partId) {
+        positions.keySet().removeIf(id -> id.groupId() == grpId && PageIdUtils.partId(id.pageId()) == partId);
+    }
+
+    /**
+     * Forgets copies of pages of stopped cache group, so they are neither read nor written to page store.
+     *
+     * @param grpId Group ID.
+     */
+    public void forgetGroup(int grpId) {
+        positions.keySet().removeIf(id -> id.groupId() == grpId);
+    }
+
+    /**
+     * Syncs appended pages and marks the file complete. Pages are not appended to complete file.
+     *
+     * @throws StorageException If failed.
+     */
+    public void finish() throws StorageException {
+        lock.writeLock().lock();
+
+        try {
+            io.force();
+
+            ByteBuffer cnt = ByteBuffer.allocate(8).order(ByteOrder.nativeOrder());
+
+            cnt.putLong(recCnt.get()).flip();
+
+            io.writeFully(cnt, PAGES_CNT_OFF);
+
+            io.force();
+
+            complete = true;
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to sync checkpoint recovery file: " + file.getAbsolutePath(), e);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return {@code True} if all pages of the checkpoint are in the file.
+     */
+    public boolean complete() {
+        return complete;
+    }
+
+    /**
+     * @return Count of pages in the file.
+     */
+    public long pages() {
+        return recCnt.get();
+    }
+
+    /**
+     * @return Size of the record of one page.
+     */
+    public int recordSize() {
+        return recSize;
+    }
+
+    /**
+     * @return Page size.
+     */
+    public int pageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return File.
+     */
+    public File file() {
+        return file;
+    }
+
+    /**
+     * Iterates over page copies with indexes from the given range. If the file is being written by the checkpoint,
+     * only the latest copies of pages of not destroyed partitions are visited and visited pages are no longer read
+     * from the file.
+     *
+     * @param from Index of the first page (inclusive).
+     * @param to Index of the last page (exclusive).
+     * @param visitor Page visitor.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void forEach(long from, long to, PageVisitor visitor) throws IgniteCheckedException {
+        assert complete : file;
+
+        ByteBuffer buf = recBuf.get();
+
+        for (long i = from; i < to; i++) {
+            long pos = HEADER_SIZE + i * recSize;
+
+            buf.clear();
+
+            try {
+                io.readFully(buf, pos);
+            }
+            catch (IOException e) {
+                throw new StorageException("Failed to read checkpoint recovery file: " + file.getAbsolutePath(), e);
+            }
+
+            buf.flip();
+
+            int grpId = buf.getInt();
+            long pageId = buf.getLong();
+            int tag = buf.getInt();
+
+            FullPageId fullId = new FullPageId(pageId, grpId);
+
+            if (live && !Long.valueOf(pos).equals(positions.get(fullId)))
+                continue;
+
+            visitor.apply(grpId, pageId, tag, buf.slice().order(ByteOrder.nativeOrder()));
+
+            // Page is in page store now, so it can be read from there.
+            if (live)
+                positions.remove(fullId, pos);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        U.closeQuiet(io);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(CheckpointRecoveryFile.class, this, "file", file, "pages", recCnt.get());
+    }
+
+    /**
+     * Visitor of page copies.
+     */
+    @FunctionalInterface
+    public interface PageVisitor {
+        /**
+         * @param grpId Group ID.
+         * @param pageId Page ID.
+         * @param tag Partition tag.
+         * @param pageBuf Page content.
+         * @throws IgniteCheckedException If failed.
+         */
+        void apply(int grpId, long pageId, int tag, ByteBuffer pageBuf) throws IgniteCheckedException;
+    }
+}
@@ -143,6 +143,9 @@ public class CheckpointWorkflow {
     /** Checkpoint metadata directory ("cp"), contains files with checkpoint start and end markers. */
     private final CheckpointMarkersStorage checkpointMarkersStorage;
 
+    /** Storage of checkpoint recovery files. */
+    @Nullable private final CheckpointRecoveryDataStorage recoveryDataStorage;
+
     /** Checkpoint write order configuration. */
     private final CheckpointWriteOrder checkpointWriteOrder;
 
@@ -166,6 +169,7 @@ public class CheckpointWorkflow {
      * @param wal WAL manager.
      * @param snapshotManager Snapshot manager.
      * @param checkpointMarkersStorage Checkpoint mark storage.
+     * @param recoveryDataStorage Storage of checkpoint recovery files.
      * @param checkpointReadWriteLock Checkpoint read write lock.
      * @param checkpointWriteOrder Checkpoint write order.
      * @param dataRegions Regions for checkpointing.
@@ -178,6 +182,7 @@ public class CheckpointWorkflow {
         IgniteWriteAheadLogManager wal,
         IgniteCacheSnapshotManager snapshotManager,
         CheckpointMarkersStorage checkpointMarkersStorage,
+        @Nullable CheckpointRecoveryDataStorage recoveryDataStorage,
         CheckpointReadWriteLock checkpointReadWriteLock,
         CheckpointWriteOrder checkpointWriteOrder,
         Supplier<Collection<DataRegion>> dataRegions,
@@ -193,6 +198,7 @@ public class CheckpointWorkflow {
         this.checkpointCollectInfoThreads = checkpointCollectInfoThreads;
         this.log = logger.apply(getClass());
         this.checkpointMarkersStorage = checkpointMarkersStorage;
+        this.recoveryDataStorage = recoveryDataStorage;
         this.checkpointWriteOrder = checkpointWriteOrder;
         this.igniteInstanceName = igniteInstanceName;
         this.checkpointCollectPagesInfoPool = initializeCheckpointPool();
@@ -250,6 +256,8 @@ public class CheckpointWorkflow {
 
         WALPointer cpPtr = null;
 
+        CheckpointRecoveryFile recoveryFile = null;
+
         CheckpointContextImpl ctx0 = new CheckpointContextImpl(
             curr, new PartitionAllocationMap(), checkpointCollectPagesInfoPool, workProgressDispatcher
         );
@@ -347,6 +355,12 @@ public class CheckpointWorkflow {
                 wal.flush(cpPtr, true);
 
             tracker.onWalCpRecordFsyncEnd();
+
+            // Recovery file must exist before the start marker, so pages of the checkpoint can't reach page stores
+            // without it.
+            if (dirtyPagesCount > 0 && recoveryDataStorage != null && recoveryDataStorage.enabled())
+                recoveryFile = recoveryDataStorage.create(checkpointEntry.timestamp(), checkpointEntry.checkpointId());
+
             if (checkpointMarkersStorage != null)
                 checkpointMarkersStorage.writeCheckpointEntry(
                     checkpointEntry,
@@ -363,13 +377,13 @@ public class CheckpointWorkflow {
 
             tracker.onSplitAndSortCpPagesEnd();
 
-            return new Checkpoint(checkpointEntry, cpPages, curr);
+            return new Checkpoint(checkpointEntry, cpPages, curr, recoveryFile);
         }
         else {
             if (curr.nextSnapshot() && wal != null)
                 wal.flush(null, true);
 
-            return new Checkpoint(null, GridConcurrentMultiPairQueue.EMPTY, curr);
+            return new Checkpoint(null, GridConcurrentMultiPairQueue.EMPTY, curr, null);
         }
     }
 
@@ -590,6 +604,9 @@ public class CheckpointWorkflow {
 
             if (wal != null)
                 wal.notchLastCheckpointPtr(chp.cpEntry.checkpointMark());
+
+            if (chp.recoveryFile != null)
+                recoveryDataStorage.delete(chp.recoveryFile);
         }
 
         if (checkpointMarkersStorage != null)
@@ -675,6 +692,10 @@ public class CheckpointWorkflow {
 
         checkpointMarkersStorage.writeCheckpointEntry(cpTs, cpId, walPtr, null, CheckpointEntryType.END, skipSync);
 
+        // Pages restored from the recovery file are in page stores now.
+        if (recoveryDataStorage != null)
+            recoveryDataStorage.delete(cpTs, cpId);
+
         if (log.isInfoEnabled())
             log.info(String.format("Checkpoint finished [cpId=%s, pages=%d, markPos=%s, " +
                     "pagesWrite=%dms, fsync=%dms, total=%dms]",
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.checkpoint;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.metric.IoStatisticsHolderNoOp;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.store.PageStore;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.jsr166.ConcurrentLinkedHashMap;
+
+/**
+ * Accumulates checkpoint pages with adjacent indexes of the same partition in a staging buffer, so they can be written
+ * to the page store with a single I/O operation. Staged pages are kept pinned in page memory until they are written,
+ * which prevents their replacement and reading of their outdated content from the page store.
+ */
+class CheckpointWriteBatch {
+    /** Staging buffer. */
+    private final ByteBuffer buf;
+
+    /** Page size. */
+    private final int pageSize;
+
+    /** IDs of staged pages. */
+    private final FullPageId[] pageIds;
+
+    /** Absolute pointers of staged pages. */
+    private final long[] pagePtrs;
+
+    /** Writer which able to write pages. */
+    private final CheckpointPagesWriter.CheckpointPageWriter pageWriter;
+
+    /** Page store used to write -> Count of written pages. */
+    private final ConcurrentLinkedHashMap<PageStore, LongAdder> updStores;
+
+    /** Page memory of staged pages. */
+    private PageMemoryEx pageMem;
+
+    /** Partition file version of staged pages. */
+    private int tag;
+
+    /** Number of staged pages. */
+    private int cnt;
+
+    /**
+     * @param buf Staging buffer, its capacity defines maximum number of staged pages.
+     * @param pageSize Page size.
+     * @param pageWriter Writer which able to write pages.
+     * @param updStores Page store used to write -> Count of written pages.
+     */
+    CheckpointWriteBatch(
+        ByteBuffer buf,
+        int pageSize,
+        CheckpointPagesWriter.CheckpointPageWriter pageWriter,
+        ConcurrentLinkedHashMap<PageStore, LongAdder> updStores
+    ) {
+        assert buf.capacity() >= pageSize : buf;
+
+        this.buf = buf;
+        this.pageSize = pageSize;
+        this.pageWriter = pageWriter;
+        this.updStores = updStores;
+
+        pageIds = new FullPageId[buf.capacity() / pageSize];
+        pagePtrs = new long[pageIds.length];
+
+        buf.clear();
+    }
+
+    /**
+     * Adds page to the batch. Pages staged before are written first if the page is not adjacent to them.
+     *
+     * @param pageMem Page memory.
+     * @param fullId Full page ID.
+     * @param pageBuf Page content.
+     * @param tag Partition file version.
+     * @throws IgniteCheckedException If failed.
+     */
+    void add(PageMemoryEx pageMem, FullPageId fullId, ByteBuffer pageBuf, int tag) throws IgniteCheckedException {
+        if (cnt > 0 && !adjacent(pageMem, fullId, tag))
+            flush();
+
+        // The page is still pinned by the checkpoint, so it is resolved without reading from page store.
+        long ptr = pageMem.acquirePage(fullId.groupId(), fullId.pageId(), IoStatisticsHolderNoOp.INSTANCE);
+
+        if (cnt == 0) {
+            this.pageMem = pageMem;
+            this.tag = tag;
+        }
+
+        pageIds[cnt] = fullId;
+        pagePtrs[cnt] = ptr;
+
+        buf.position(cnt * pageSize);
+        buf.put(pageBuf);
+
+        pageBuf.rewind();
+
+        if (++cnt == pageIds.length)
+            flush();
+    }
+
+    /**
+     * Writes staged pages.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    void flush() throws IgniteCheckedException {
+        if (cnt == 0)
+            return;
+
+        try {
+            buf.position(0).limit(cnt * pageSize);
+
+            PageStore store = cnt == 1 ? null : pageWriter.writePages(pageMem, pageIds[0], buf, tag);
+
+            if (store != null)
+                updStores.computeIfAbsent(store, k -> new LongAdder()).add(cnt);
+            else {
+                for (int i = 0; i < cnt; i++) {
+                    buf.limit((i + 1) * pageSize).position(i * pageSize);
+
+                    store = pageWriter.write(pageMem, pageIds[i], buf.slice().order(buf.order()), tag);
+
+                    updStores.computeIfAbsent(store, k -> new LongAdder()).increment();
+                }
+            }
+        }
+        finally {
+            release();
+        }
+    }
+
+    /**
+     * Unpins staged pages and clears the batch.
+     */
+    void release() {
+        for (int i = 0; i < cnt; i++) {
+            pageMem.releasePage(pageIds[i].groupId(), pageIds[i].pageId(), pagePtrs[i]);
+
+            pageIds[i] = null;
+        }
+
+        cnt = 0;
+        pageMem = null;
+
+        buf.clear();
+    }
+
+    /**
+     * @param pageMem Page memory.
+     * @param fullId Full page ID.
+     * @param tag Partition file version.
+     * @return {@code true} if the page immediately follows the last staged page in the same partition file.
+     */
+    private boolean adjacent(PageMemoryEx pageMem, FullPageId fullId, int tag) {
+        FullPageId last = pageIds[cnt - 1];
+
+        return this.pageMem == pageMem &&
+            this.tag == tag &&
+            last.groupId() == fullId.groupId() &&
+            PageIdUtils.partId(last.pageId()) == PageIdUtils.partId(fullId.pageId()) &&
+            PageIdUtils.pageIndex(last.pageId()) + 1 == PageIdUtils.pageIndex(fullId.pageId());
+    }
+}
@@ -450,7 +450,7 @@ public class Checkpointer extends GridWorker {
                     );
                 }
 
-                if (!writePages(tracker, chp.cpPages, chp.progress, this, this::isShutdownNow))
+                if (!writePages(tracker, chp.cpPages, chp.progress, chp.recoveryFile, this, this::isShutdownNow))
                     return;
             }
             else {
@@ -508,12 +508,14 @@ public class Checkpointer extends GridWorker {
      * @param tracker Checkpoint metrics tracker.
      * @param cpPages List of pages to write.
      * @param curCpProgress Current checkpoint data.
+     * @param recoveryFile Recovery file pages are written to before they are written to page stores.
      * @param shutdownNow Checker of stop operation.
      */
     boolean writePages(
         CheckpointMetricsTracker tracker,
         GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> cpPages,
         CheckpointProgressImpl curCpProgress,
+        @Nullable CheckpointRecoveryFile recoveryFile,
         WorkProgressDispatcher workProgressDispatcher,
         BooleanSupplier shutdownNow
     ) throws IgniteCheckedException {
@@ -567,6 +569,26 @@ public class Checkpointer extends GridWorker {
 
         tracker.onFsyncStart();
 
+        if (recoveryFile != null) {
+            blockingSectionBegin();
+
+            try {
+                recoveryFile.finish();
+            }
+            finally {
+                blockingSectionEnd();
+            }
+
+            // Page stores may be modified only when all pages of the checkpoint are in the recovery file.
+            writeRecoveryFilePages(recoveryFile, updStores);
+
+            if (shutdownNow.getAsBoolean()) {
+                curCpProgress.fail(new NodeStoppingException("Node is stopping."));
+
+                return false;
+            }
+        }
+
         if (!skipSync) {
             syncUpdatedStores(updStores);
 
@@ -580,6 +602,59 @@ public class Checkpointer extends GridWorker {
         return true;
     }
 
+    /**
+     * Writes pages of the complete recovery file to page stores.
+     *
+     * @param recoveryFile Recovery file.
+     * @param updStores Stores which should be synced.
+     */
+    private void writeRecoveryFilePages(
+        CheckpointRecoveryFile recoveryFile,
+        ConcurrentLinkedHashMap<PageStore, LongAdder> updStores
+    ) throws IgniteCheckedException {
+        IgniteThreadPoolExecutor pageWritePool = checkpointWritePagesPool;
+
+        int threads = pageWritePool == null ? 1 : pageWritePool.getMaximumPoolSize();
+
+        long pages = recoveryFile.pages();
+
+        long chunk = (pages + threads - 1) / threads;
+
+        CountDownFuture doneFut = new CountDownFuture(threads);
+
+        for (int i = 0; i < threads; i++) {
+            Runnable write = checkpointPagesWriterFactory.buildRecoveryFileWriter(
+                recoveryFile,
+                Math.min(i * chunk, pages),
+                Math.min((i + 1) * chunk, pages),
+                updStores,
+                doneFut,
+                this::isShutdownNow
+            );
+
+            if (pageWritePool == null)
+                write.run();
+            else {
+                try {
+                    pageWritePool.execute(write);
+                }
+                catch (RejectedExecutionException ignore) {
+                    // Run the task synchronously.
+                    write.run();
+                }
+            }
+        }
+
+        blockingSectionBegin();
+
+        try {
+            doneFut.get();
+        }
+        finally {
+            blockingSectionEnd();
+        }
+    }
+
     /**
      * @param updStores Stores which should be synced.
      */
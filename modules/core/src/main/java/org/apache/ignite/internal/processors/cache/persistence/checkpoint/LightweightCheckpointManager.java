@@ -112,6 +112,7 @@ public class LightweightCheckpointManager {
             null,
             snapshotMgr,
             null,
+            null,
             lock,
             persistenceCfg.getCheckpointWriteOrder(),
             dataRegions,
@@ -139,6 +140,7 @@ public class LightweightCheckpointManager {
             persStoreMetrics,
             throttlingPolicy,
             threadBuf,
+            1,
             pageMemoryGroupResolver
         );
 
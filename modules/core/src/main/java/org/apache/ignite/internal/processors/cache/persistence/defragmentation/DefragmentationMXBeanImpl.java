@@ -64,6 +64,42 @@ public class DefragmentationMXBeanImpl implements DefragmentationMXBean {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean startOnline(String cacheNames) {
+        final List<String> caches = Arrays.stream(cacheNames.split(","))
+            .filter(s -> !s.isEmpty())
+            .collect(Collectors.toList());
+
+        try {
+            defragmentation.startOnline(caches);
+
+            return true;
+        }
+        catch (IgniteCheckedException e) {
+            return false;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean pauseOnline() {
+        return defragmentation.pauseOnline();
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean resumeOnline() {
+        return defragmentation.resumeOnline();
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean cancelOnline() {
+        return defragmentation.cancelOnline();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long relocatedRows() {
+        return defragmentation.relocatedRows();
+    }
+
     @Override public boolean inProgress() {
         return defragmentation.inProgress();
     }
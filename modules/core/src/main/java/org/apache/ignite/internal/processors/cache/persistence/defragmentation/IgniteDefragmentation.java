@@ -23,6 +23,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.IgniteInternalFuture;
 
 /**
  * Defragmentation operation service.
@@ -52,22 +53,60 @@ public interface IgniteDefragmentation {
     DefragmentationStatus status() throws IgniteCheckedException;
 
     /**
-     * @return {@code true} if there is an ongoing defragmentation.
+     * Start online defragmentation of the given caches without node restart.
+     *
+     * @param cacheNames Names of caches to run defragmentation on, all persistent caches if empty.
+     * @return Future completed when all local partitions are processed.
+     * @throws IgniteCheckedException If failed.
+     */
+    IgniteInternalFuture<Void> startOnline(List<String> cacheNames) throws IgniteCheckedException;
+
+    /**
+     * Pause online defragmentation.
+     *
+     * @return {@code true} if running online defragmentation was paused.
+     */
+    boolean pauseOnline();
+
+    /**
+     * Resume paused online defragmentation.
+     *
+     * @return {@code true} if online defragmentation was resumed.
+     */
+    boolean resumeOnline();
+
+    /**
+     * Cancel online defragmentation.
+     *
+     * @return {@code true} if online defragmentation was cancelled.
+     */
+    boolean cancelOnline();
+
+    /**
+     * @return Number of rows moved by the ongoing or the last online defragmentation.
+     */
+    long relocatedRows();
+
+    /**
+     * @return {@code true} if there is an ongoing defragmentation, either in maintenance mode or online one.
      */
     boolean inProgress();
 
     /**
-     * @return Number of processed partitions, or 0 if there is no ongoing defragmentation.
+     * @return Number of processed partitions, or 0 if there is no ongoing defragmentation. Outside of maintenance
+     *      mode it is the number of partitions processed by the ongoing or the last online defragmentation.
      */
     int processedPartitions();
 
     /**
-     * @return Number of total partitions, or 0 if there is no ongoing defragmentation.
+     * @return Number of total partitions, or 0 if there is no ongoing defragmentation. Outside of maintenance
+     *      mode it is the number of partitions of the ongoing or the last online defragmentation.
      */
     int totalPartitions();
 
     /**
-     * @return Timestamp of the beginning of the ongoing defragmentation or 0 if there is none.
+     * @return Timestamp of the beginning of the ongoing defragmentation or 0 if there is none. Outside of
+     *      maintenance mode it is the start time of the ongoing or the last online defragmentation.
      */
     long startTime();
 
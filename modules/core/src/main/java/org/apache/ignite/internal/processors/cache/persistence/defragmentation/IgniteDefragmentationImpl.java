@@ -24,6 +24,7 @@ import java.util.Optional;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.CachePartitionDefragmentationManager.Status;
@@ -159,19 +160,69 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
         );
     }
 
+    /** {@inheritDoc} */
+    @Override public IgniteInternalFuture<Void> startOnline(List<String> cacheNames) throws IgniteCheckedException {
+        if (ctx.maintenanceRegistry().isMaintenanceMode())
+            throw new IgniteCheckedException("Online defragmentation can't be started in maintenance mode.");
+
+        OnlineDefragmentationManager mgr = onlineManager();
+
+        if (mgr == null)
+            throw new IgniteCheckedException("Online defragmentation requires persistence on a server node.");
+
+        return mgr.start(cacheNames != null ? cacheNames : Collections.emptyList());
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean pauseOnline() {
+        OnlineDefragmentationManager mgr = onlineManager();
+
+        return mgr != null && mgr.pause();
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean resumeOnline() {
+        OnlineDefragmentationManager mgr = onlineManager();
+
+        return mgr != null && mgr.resume();
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean cancelOnline() {
+        OnlineDefragmentationManager mgr = onlineManager();
+
+        return mgr != null && mgr.cancel();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long relocatedRows() {
+        OnlineDefragmentationManager mgr = onlineManager();
+
+        return mgr == null ? 0 : mgr.relocatedRows();
+    }
+
     /** {@inheritDoc} */
     @Override public boolean inProgress() {
         final Status status = getStatus();
 
-        return status != null && status.getFinishTs() == 0;
+        if (status == null) {
+            OnlineDefragmentationManager mgr = onlineManager();
+
+            return mgr != null && mgr.inProgress();
+        }
+
+        return status.getFinishTs() == 0;
     }
 
     /** {@inheritDoc} */
     @Override public int processedPartitions() {
         final Status status = getStatus();
 
-        if (status == null)
-            return 0;
+        if (status == null) {
+            OnlineDefragmentationManager mgr = onlineManager();
+
+            return mgr == null ? 0 : mgr.processedPartitions();
+        }
 
         return status.getDefragmentedPartitionCount();
     }
@@ -180,8 +231,11 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
     @Override public int totalPartitions() {
         final CachePartitionDefragmentationManager.Status status = getStatus();
 
-        if (status == null)
-            return 0;
+        if (status == null) {
+            OnlineDefragmentationManager mgr = onlineManager();
+
+            return mgr == null ? 0 : mgr.totalPartitions();
+        }
 
         return status.getTotalPartitionCount();
     }
@@ -190,12 +244,27 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
     @Override public long startTime() {
         final CachePartitionDefragmentationManager.Status status = getStatus();
 
-        if (status == null)
-            return 0;
+        if (status == null) {
+            OnlineDefragmentationManager mgr = onlineManager();
+
+            return mgr == null ? 0 : mgr.startTime();
+        }
 
         return status.getStartTs();
     }
 
+    /**
+     * @return Online defragmentation manager or {@code null} if persistence is disabled on the local node.
+     */
+    private OnlineDefragmentationManager onlineManager() {
+        IgniteCacheDatabaseSharedManager dbMgr = ctx.cache().context().database();
+
+        if (!(dbMgr instanceof GridCacheDatabaseSharedManager))
+            return null;
+
+        return ((GridCacheDatabaseSharedManager)dbMgr).onlineDefragmentationManager();
+    }
+
     /**
      * Get defragmentation status.
      * @return Defragmentation status or {@code null} if there is no ongoing defragmentation.
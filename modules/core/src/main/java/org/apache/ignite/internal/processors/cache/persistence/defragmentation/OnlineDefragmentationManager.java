@@ -0,0 +1,593 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.defragmentation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.NodeStoppingException;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.DynamicCacheDescriptor;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.GridCacheEntryEx;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.IgniteCacheOffheapManager.CacheDataStore;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowAdapter;
+import org.apache.ignite.internal.processors.cache.persistence.RowStore;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.util.BasicRateLimiter;
+import org.apache.ignite.internal.util.GridLongList;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.thread.IgniteThread;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ONLINE_DEFRAGMENTATION_PAGE_FILL_THRESHOLD;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ONLINE_DEFRAGMENTATION_RATE_LIMIT;
+
+/**
+ * Online defragmentation of persistent cache groups which runs while the node keeps serving requests.
+ * <p>
+ * Unlike {@link CachePartitionDefragmentationManager} partitions are not copied to new files. Partitions are processed
+ * one by one: data pages filled less than {@link #DFLT_ONLINE_DEFRAGMENTATION_PAGE_FILL_THRESHOLD} percent are found
+ * by buckets of the partition free list without loading data pages, then rows stored in these pages are moved under
+ * entry lock with {@link CacheDataStore#relocate}. Free list gives the fullest page a row fits into, so rows are packed
+ * into well filled pages, emptied pages are recycled and reused by later inserts instead of growing partition files.
+ * <p>
+ * Rows are moved in small batches under checkpoint read lock, so checkpoints are never blocked for long and page
+ * writes are subject to regular write throttling. Moves are additionally limited by
+ * {@link IgniteSystemProperties#IGNITE_ONLINE_DEFRAGMENTATION_RATE_LIMIT}. Defragmentation may be paused and resumed.
+ */
+public class OnlineDefragmentationManager {
+    /** Default fill threshold in percent: data pages filled less than that are emptied. */
+    public static final int DFLT_ONLINE_DEFRAGMENTATION_PAGE_FILL_THRESHOLD = 50;
+
+    /** Default maximum number of rows moved per second. */
+    public static final int DFLT_ONLINE_DEFRAGMENTATION_RATE_LIMIT = 10_000;
+
+    /** Number of rows moved under one checkpoint read lock. */
+    private static final int BATCH_SIZE = 64;
+
+    /** Shared context. */
+    private final GridCacheSharedContext<?, ?> cctx;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Fill threshold in percent. */
+    private final int fillThreshold =
+        IgniteSystemProperties.getInteger(IGNITE_ONLINE_DEFRAGMENTATION_PAGE_FILL_THRESHOLD,
+            DFLT_ONLINE_DEFRAGMENTATION_PAGE_FILL_THRESHOLD);
+
+    /** Rate limiter of row moves. */
+    private final BasicRateLimiter limiter = new BasicRateLimiter(
+        IgniteSystemProperties.getInteger(IGNITE_ONLINE_DEFRAGMENTATION_RATE_LIMIT,
+            DFLT_ONLINE_DEFRAGMENTATION_RATE_LIMIT));
+
+    /** Current or last task. */
+    private volatile DefragmentationTask task;
+
+    /**
+     * @param cctx Shared context.
+     */
+    public OnlineDefragmentationManager(GridCacheSharedContext<?, ?> cctx) {
+        this.cctx = cctx;
+
+        log = cctx.logger(OnlineDefragmentationManager.class);
+    }
+
+    /**
+     * Starts online defragmentation.
+     *
+     * @param cacheNames Names of caches to defragment, all persistent caches if empty.
+     * @return Future completed when all partitions are processed.
+     * @throws IgniteCheckedException If defragmentation is already running or some cache can't be defragmented.
+     */
+    public synchronized IgniteInternalFuture<Void> start(Collection<String> cacheNames) throws IgniteCheckedException {
+        DefragmentationTask prev = task;
+
+        if (prev != null && !prev.isDone())
+            throw new IgniteCheckedException("Online defragmentation is already in progress.");
+
+        Map<Integer, CacheGroupContext> grps = new LinkedHashMap<>();
+
+        if (cacheNames.isEmpty()) {
+            for (CacheGroupContext grp : cctx.cache().cacheGroups()) {
+                if (grp.userCache() && supported(grp))
+                    grps.put(grp.groupId(), grp);
+            }
+        }
+        else {
+            for (String name : cacheNames) {
+                DynamicCacheDescriptor desc = cctx.cache().cacheDescriptor(name);
+
+                CacheGroupContext grp = desc == null ? null : cctx.cache().cacheGroup(desc.groupId());
+
+                if (grp == null)
+                    throw new IgniteCheckedException("Cache is not started on the local node: " + name);
+
+                if (!supported(grp)) {
+                    throw new IgniteCheckedException("Online defragmentation is supported only for persistent " +
+                        "non-MVCC caches: " + name);
+                }
+
+                grps.put(grp.groupId(), grp);
+            }
+        }
+
+        DefragmentationTask t = new DefragmentationTask(new ArrayList<>(grps.values()));
+
+        task = t;
+
+        new IgniteThread(cctx.igniteInstanceName(), "online-defragmentation", t).start();
+
+        if (log.isInfoEnabled())
+            log.info("Online defragmentation started [grps=" + grps.keySet() + ", parts=" + t.totalParts + ']');
+
+        return t;
+    }
+
+    /**
+     * @param grp Cache group.
+     * @return {@code True} if rows of the group may be moved.
+     */
+    private static boolean supported(CacheGroupContext grp) {
+        return grp.persistenceEnabled() && !grp.mvccEnabled() && !grp.isLocal() && grp.affinityNode();
+    }
+
+    /**
+     * Pauses defragmentation after the current batch.
+     *
+     * @return {@code True} if running defragmentation was paused.
+     */
+    public boolean pause() {
+        DefragmentationTask t = task;
+
+        return t != null && t.pause(true);
+    }
+
+    /**
+     * @return {@code True} if paused defragmentation was resumed.
+     */
+    public boolean resume() {
+        DefragmentationTask t = task;
+
+        return t != null && t.pause(false);
+    }
+
+    /**
+     * @return {@code True} if running defragmentation was cancelled.
+     */
+    public boolean cancel() {
+        DefragmentationTask t = task;
+
+        return t != null && t.onCancelled();
+    }
+
+    /**
+     * @return {@code True} if defragmentation is in progress, including paused one.
+     */
+    public boolean inProgress() {
+        DefragmentationTask t = task;
+
+        return t != null && !t.isDone();
+    }
+
+    /**
+     * @return {@code True} if defragmentation is paused.
+     */
+    public boolean paused() {
+        DefragmentationTask t = task;
+
+        return t != null && !t.isDone() && t.paused;
+    }
+
+    /**
+     * @return Number of processed partitions of the current or last defragmentation.
+     */
+    public int processedPartitions() {
+        DefragmentationTask t = task;
+
+        return t == null ? 0 : t.processedParts.get();
+    }
+
+    /**
+     * @return Number of partitions of the current or last defragmentation.
+     */
+    public int totalPartitions() {
+        DefragmentationTask t = task;
+
+        return t == null ? 0 : t.totalParts;
+    }
+
+    /**
+     * @return Number of rows moved by the current or last defragmentation.
+     */
+    public long relocatedRows() {
+        DefragmentationTask t = task;
+
+        return t == null ? 0 : t.relocatedRows.get();
+    }
+
+    /**
+     * @return Number of data pages emptied by the current or last defragmentation.
+     */
+    public long freedPages() {
+        DefragmentationTask t = task;
+
+        return t == null ? 0 : t.freedPages.get();
+    }
+
+    /**
+     * @return Start time of the current or last defragmentation, {@code 0} if it has never been started.
+     */
+    public long startTime() {
+        DefragmentationTask t = task;
+
+        return t == null ? 0 : t.startTs;
+    }
+
+    /**
+     * Defragmentation of cache groups partition by partition.
+     */
+    private class DefragmentationTask extends GridFutureAdapter<Void> implements Runnable {
+        /** Cache groups. */
+        private final List<CacheGroupContext> grps;
+
+        /** Total number of partitions. */
+        private final int totalParts;
+
+        /** Number of processed partitions. */
+        private final AtomicInteger processedParts = new AtomicInteger();
+
+        /** Number of moved rows. */
+        private final AtomicLong relocatedRows = new AtomicLong();
+
+        /** Number of emptied data pages. */
+        private final AtomicLong freedPages = new AtomicLong();
+
+        /** Start time. */
+        private final long startTs = U.currentTimeMillis();
+
+        /** Pause flag. */
+        private volatile boolean paused;
+
+        /**
+         * @param grps Cache groups.
+         */
+        private DefragmentationTask(List<CacheGroupContext> grps) {
+            this.grps = grps;
+
+            int parts = 0;
+
+            for (CacheGroupContext grp : grps)
+                parts += grp.topology().localPartitions().size();
+
+            totalParts = parts;
+        }
+
+        /**
+         * @param pause Pause flag.
+         * @return {@code True} if the flag has been changed.
+         */
+        private synchronized boolean pause(boolean pause) {
+            if (isDone() || paused == pause)
+                return false;
+
+            paused = pause;
+
+            notifyAll();
+
+            if (log.isInfoEnabled())
+                log.info("Online defragmentation " + (pause ? "paused." : "resumed."));
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean onCancelled() {
+            boolean res = super.onCancelled();
+
+            synchronized (this) {
+                notifyAll();
+            }
+
+            return res;
+        }
+
+        /**
+         * Blocks while defragmentation is paused.
+         *
+         * @return {@code False} if defragmentation has been cancelled.
+         * @throws InterruptedException If interrupted.
+         */
+        private synchronized boolean awaitResume() throws InterruptedException {
+            while (paused && !isDone())
+                wait();
+
+            return !isDone();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void run() {
+            try {
+                for (CacheGroupContext grp : grps) {
+                    for (GridDhtLocalPartition part : grp.topology().localPartitions()) {
+                        if (!awaitResume())
+                            return;
+
+                        if (cctx.cache().cacheGroup(grp.groupId()) != grp)
+                            break; // Group has been stopped.
+
+                        if (part.state() == GridDhtPartitionState.OWNING && part.reserve()) {
+                            try {
+                                defragmentPartition(grp, part);
+                            }
+                            finally {
+                                part.release();
+                            }
+                        }
+
+                        processedParts.incrementAndGet();
+                    }
+                }
+
+                if (log.isInfoEnabled()) {
+                    log.info("Online defragmentation finished [rows=" + relocatedRows.get() + ", freedPages=" +
+                        freedPages.get() + ", time=" + (U.currentTimeMillis() - startTs) + "ms]");
+                }
+
+                onDone();
+            }
+            catch (Throwable t) {
+                if (X.hasCause(t, NodeStoppingException.class, InterruptedException.class,
+                    IgniteInterruptedCheckedException.class))
+                    onCancelled();
+                else {
+                    U.error(log, "Online defragmentation failed.", t);
+
+                    onDone(t);
+                }
+            }
+        }
+
+        /**
+         * @param grp Cache group.
+         * @param part Partition.
+         * @throws Exception If failed.
+         */
+        private void defragmentPartition(CacheGroupContext grp, GridDhtLocalPartition part) throws Exception {
+            BitSet sparse = sparsePages(grp, part);
+
+            // Moving rows out of a single page would at best free it for the page the rows are moved to.
+            if (sparse.cardinality() < 2)
+                return;
+
+            CacheDataStore store = part.dataStore();
+
+            List<CacheDataRow> batch = new ArrayList<>(BATCH_SIZE);
+
+            long moved = 0;
+
+            GridCursor<? extends CacheDataRow> cur = store.cursor(CacheDataRowAdapter.RowData.KEY_ONLY);
+
+            while (cur.next()) {
+                CacheDataRow row = cur.get();
+
+                if (sparse.get(PageIdUtils.pageIndex(PageIdUtils.pageId(row.link()))))
+                    batch.add(row);
+
+                if (batch.size() == BATCH_SIZE) {
+                    if (!awaitResume())
+                        return;
+
+                    moved += relocate(grp, store, batch);
+
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty() && awaitResume())
+                moved += relocate(grp, store, batch);
+
+            int freed = 0;
+
+            PageMemory pageMem = grp.dataRegion().pageMemory();
+
+            for (int idx = sparse.nextSetBit(0); idx >= 0; idx = sparse.nextSetBit(idx + 1)) {
+                if (dataPageFill(pageMem, grp, part.id(), idx) <= 0)
+                    freed++;
+            }
+
+            freedPages.addAndGet(freed);
+
+            if (log.isDebugEnabled()) {
+                log.debug("Partition defragmented [grp=" + grp.cacheOrGroupName() + ", p=" + part.id() +
+                    ", sparsePages=" + sparse.cardinality() + ", freedPages=" + freed + ", rows=" + moved + ']');
+            }
+        }
+
+        /**
+         * Finds sparse data pages by free list buckets, so data pages are not loaded to find them.
+         *
+         * @param grp Cache group.
+         * @param part Partition.
+         * @return Indexes of data pages filled less than the threshold.
+         * @throws IgniteCheckedException If failed.
+         */
+        private BitSet sparsePages(CacheGroupContext grp, GridDhtLocalPartition part) throws IgniteCheckedException {
+            BitSet res = new BitSet();
+
+            RowStore rowStore = part.dataStore().rowStore();
+
+            // Partition store is not initialized, so there are no data pages.
+            if (rowStore == null)
+                return res;
+
+            int pageSize = grp.dataRegion().pageMemory().realPageSize(grp.groupId());
+
+            GridLongList pageIds = ((AbstractFreeList<?>)rowStore.freeList())
+                .dataPages(pageSize - pageSize * fillThreshold / 100);
+
+            for (int i = 0; i < pageIds.size(); i++) {
+                long pageId = pageIds.get(i);
+
+                if (PageIdUtils.partId(pageId) == part.id() && PageIdUtils.flag(pageId) == PageIdAllocator.FLAG_DATA)
+                    res.set(PageIdUtils.pageIndex(pageId));
+            }
+
+            return res;
+        }
+
+        /**
+         * @param pageMem Page memory.
+         * @param grp Cache group.
+         * @param partId Partition ID.
+         * @param idx Page index.
+         * @return Fill of data page in percent, {@code 0} for empty data page or {@code -1} for other pages.
+         * @throws IgniteCheckedException If failed.
+         */
+        private int dataPageFill(PageMemory pageMem, CacheGroupContext grp, int partId, int idx)
+            throws IgniteCheckedException {
+            int grpId = grp.groupId();
+
+            long pageId = PageIdUtils.pageId(partId, PageIdAllocator.FLAG_DATA, idx);
+
+            long page = pageMem.acquirePage(grpId, pageId);
+
+            try {
+                long pageAddr = pageMem.readLockForce(grpId, pageId, page);
+
+                try {
+                    if (PageIO.getType(pageAddr) != PageIO.T_DATA)
+                        return -1;
+
+                    DataPageIO io = DataPageIO.VERSIONS.forPage(pageAddr);
+
+                    if (io.isEmpty(pageAddr))
+                        return 0;
+
+                    int pageSize = pageMem.realPageSize(grpId);
+
+                    return Math.max(1, (pageSize - io.getRealFreeSpace(pageAddr)) * 100 / pageSize);
+                }
+                finally {
+                    pageMem.readUnlock(grpId, pageId, page);
+                }
+            }
+            finally {
+                pageMem.releasePage(grpId, pageId, page);
+            }
+        }
+
+        /**
+         * Moves rows under checkpoint read lock.
+         *
+         * @param grp Cache group.
+         * @param store Partition data store.
+         * @param rows Rows read by the partition scan.
+         * @return Number of moved rows.
+         * @throws IgniteCheckedException If failed.
+         */
+        private int relocate(CacheGroupContext grp, CacheDataStore store, List<CacheDataRow> rows)
+            throws IgniteCheckedException {
+            limiter.acquire(rows.size());
+
+            int moved = 0;
+
+            cctx.database().checkpointReadLock();
+
+            try {
+                for (CacheDataRow row : rows) {
+                    GridCacheContext<?, ?> cacheCtx = grp.sharedGroup() ? cctx.cacheContext(row.cacheId()) :
+                        grp.singleCacheContext();
+
+                    if (cacheCtx == null)
+                        continue;
+
+                    GridCacheEntryEx entry = lockEntry(cacheCtx, row.key());
+
+                    try {
+                        CacheDataRow cur = store.find(cacheCtx, row.key());
+
+                        // Skip rows which have been updated since the scan, tombstones are removed by cleanup.
+                        if (cur == null || cur.link() != row.link() || cur.tombstone())
+                            continue;
+
+                        store.relocate(cacheCtx, cur);
+
+                        moved++;
+                    }
+                    finally {
+                        entry.unlockEntry();
+
+                        cacheCtx.evicts().touch(entry);
+                    }
+                }
+            }
+            finally {
+                cctx.database().checkpointReadUnlock();
+            }
+
+            relocatedRows.addAndGet(moved);
+
+            return moved;
+        }
+
+        /**
+         * Locks the entry of the key. An entry which became obsolete before it was locked is not used,
+         * since an update of the key may hold a new entry for the same key concurrently.
+         *
+         * @param cacheCtx Cache context.
+         * @param key Key.
+         * @return Locked entry, which is not obsolete.
+         */
+        private GridCacheEntryEx lockEntry(GridCacheContext<?, ?> cacheCtx, KeyCacheObject key) {
+            while (true) {
+                GridCacheEntryEx entry = cacheCtx.isNear() ? cacheCtx.near().dht().entryEx(key) :
+                    cacheCtx.cache().entryEx(key);
+
+                entry.lockEntry();
+
+                if (!entry.obsolete())
+                    return entry;
+
+                entry.unlockEntry();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Storage of immutable objects the cold partition files are kept in. Objects are addressed by keys which are
+ * {@code '/'} separated relative paths. The contract follows object stores like S3: an object is written once as
+ * a whole and becomes visible atomically, it may be read by ranges and deleted, but never modified.
+ */
+public interface ColdObjectStorage {
+    /**
+     * @param key Object key.
+     * @return Object size in bytes or {@code -1} if the object does not exist.
+     * @throws IOException If failed.
+     */
+    public long size(String key) throws IOException;
+
+    /**
+     * Writes an object. The object becomes visible only if the writer completes successfully, an existing object
+     * with the same key is replaced.
+     *
+     * @param key Object key.
+     * @param writer Writer of the object content.
+     * @throws IOException If failed.
+     */
+    public void put(String key, ObjectWriter writer) throws IOException;
+
+    /**
+     * Reads a range of an object until the buffer is full or the end of the object is reached.
+     *
+     * @param key Object key.
+     * @param pos Position in the object.
+     * @param buf Destination buffer.
+     * @return Number of read bytes.
+     * @throws IOException If failed.
+     */
+    public int read(String key, long pos, ByteBuffer buf) throws IOException;
+
+    /**
+     * Deletes an object, does nothing if the object does not exist.
+     *
+     * @param key Object key.
+     * @throws IOException If failed.
+     */
+    public void delete(String key) throws IOException;
+
+    /**
+     * Deletes all objects which keys start with the given prefix followed by {@code '/'}.
+     *
+     * @param prefix Key prefix, empty string to delete all objects.
+     * @throws IOException If failed.
+     */
+    public void deleteAll(String prefix) throws IOException;
+
+    /**
+     * Writer of an object content.
+     */
+    public interface ObjectWriter {
+        /**
+         * @param out Stream to write the object content to.
+         * @throws IOException If failed.
+         */
+        public void write(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Read only {@link FileIO} over a partition file moved to the cold storage. The file content is split into chunks
+ * compressed independently, so a read fetches and decompresses only the chunks it touches.
+ */
+public class ColdPartitionFileIO extends AbstractFileIO {
+    /** Tier. */
+    @GridToStringExclude
+    private final ColdPartitionTier tier;
+
+    /** Key of the object with file content. */
+    private final String key;
+
+    /** Size of the original file. */
+    private final long size;
+
+    /** Size of a chunk of the original file. */
+    private final int chunkSize;
+
+    /** Offsets of compressed chunks in the object, the last element is the end of the last chunk. */
+    @GridToStringExclude
+    private final long[] offsets;
+
+    /** Position. */
+    private long pos;
+
+    /** Closed flag. */
+    private volatile boolean closed;
+
+    /**
+     * @param tier Tier.
+     * @param key Key of the object with file content.
+     * @param size Size of the original file.
+     * @param chunkSize Size of a chunk of the original file.
+     * @param offsets Offsets of compressed chunks in the object.
+     */
+    ColdPartitionFileIO(ColdPartitionTier tier, String key, long size, int chunkSize, long[] offsets) {
+        this.tier = tier;
+        this.key = key;
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.offsets = offsets;
+    }
+
+    /**
+     * @return Key of the object with file content.
+     */
+    String key() {
+        return key;
+    }
+
+    /**
+     * @return Number of chunks.
+     */
+    int chunks() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @param idx Chunk index.
+     * @return Offset of the compressed chunk in the object.
+     */
+    long chunkOffset(int idx) {
+        return offsets[idx];
+    }
+
+    /**
+     * @param idx Chunk index.
+     * @return Size of the compressed chunk.
+     */
+    int compressedChunkSize(int idx) {
+        return (int)(offsets[idx + 1] - offsets[idx]);
+    }
+
+    /**
+     * @param idx Chunk index.
+     * @return Position of the chunk in the original file.
+     */
+    long chunkPosition(int idx) {
+        return (long)idx * chunkSize;
+    }
+
+    /**
+     * @param idx Chunk index.
+     * @return Size of the decompressed chunk.
+     */
+    int chunkSize(int idx) {
+        return (int)Math.min(chunkSize, size - (long)idx * chunkSize);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getFileSystemBlockSize() {
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getSparseSize() {
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int punchHole(long position, int len) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long position() {
+        return pos;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void position(long newPosition) {
+        pos = newPosition;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer dstBuf) throws IOException {
+        int n = read(dstBuf, pos);
+
+        if (n > 0)
+            pos += n;
+
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer dstBuf, long position) throws IOException {
+        if (closed)
+            throw new ClosedChannelException();
+
+        if (position >= size)
+            return -1;
+
+        int idx = (int)(position / chunkSize);
+
+        byte[] chunk = tier.chunk(this, idx);
+
+        int off = (int)(position - (long)idx * chunkSize);
+
+        int n = Math.min(dstBuf.remaining(), chunk.length - off);
+
+        dstBuf.put(chunk, off, n);
+
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(byte[] buf, int off, int len) throws IOException {
+        return read(ByteBuffer.wrap(buf, off, len));
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf, long position) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(byte[] buf, int off, int len) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force() {
+        // No-op, the object is immutable.
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force(boolean withMetadata) {
+        // No-op, the object is immutable.
+    }
+
+    /** {@inheritDoc} */
+    @Override public long size() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public MappedByteBuffer map(int sizeBytes) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        closed = true;
+
+        tier.onClose(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ColdPartitionFileIO.class, this, "chunks", chunks());
+    }
+}
@@ -0,0 +1,544 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.util.typedef.T2;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.internal.util.worker.GridWorker;
+import org.apache.ignite.thread.IgniteThread;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.TMP_SUFFIX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Cold tier of partition files. Partition files which are neither read nor written during
+ * {@link DataStorageConfiguration#getColdPartitionIdleTimeout()} are moved to a {@link ColdObjectStorage}.
+ * <p>
+ * A moved file is kept as an immutable object: the file content is split into chunks of {@link #CHUNK_SIZE}
+ * bytes, each chunk is compressed independently and followed by the trailer with chunk offsets. Pages of a cold
+ * partition are read through {@link ColdPartitionFileIO}, which fetches and decompresses only the touched chunks
+ * and keeps them in the read cache of {@link DataStorageConfiguration#getColdStorageReadCacheSize()} bytes.
+ * The partition file is restored to the storage path on the first write.
+ */
+public class ColdPartitionTier {
+    /** Name of the metrics registry. */
+    public static final String COLD_TIER_METRICS = metricName("io", "coldtier");
+
+    /** Magic number of the object trailer. */
+    private static final long MAGIC = 0xC01DF11E5A7C0DE5L;
+
+    /** Version of the object format. */
+    private static final int FORMAT_VERSION = 1;
+
+    /** Size of the fixed part of the trailer: file size, chunk size, chunks count, format version and magic. */
+    private static final int TRAILER_SIZE = 8 + 4 + 4 + 4 + 8;
+
+    /** Size of a chunk of the original file. */
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    /** Maximum interval between checks of partition files. */
+    private static final long MAX_CHECK_INTERVAL = 60_000L;
+
+    /** Context. */
+    private final GridCacheSharedContext<?, ?> cctx;
+
+    /** Storage of cold partition files. */
+    private final ColdObjectStorage storage;
+
+    /** Page store work directory, keys of objects are paths relative to it. */
+    private final Path storeWorkDir;
+
+    /** Factory to provide I/O interfaces for restored partition files. */
+    private final FileIOFactory ioFactory;
+
+    /** Idle timeout. */
+    private final long idleTimeout;
+
+    /** Size of the read cache. */
+    private final long cacheSize;
+
+    /** Page stores which may be moved to the tier. */
+    private final Supplier<Collection<FilePageStore>> stores;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Decompressed chunks in access order. */
+    private final Map<T2<ColdPartitionFileIO, Integer>, byte[]> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Size of decompressed chunks in the cache, guarded by {@link #cache}. */
+    private long cachedBytes;
+
+    /** Moved partitions metric. */
+    private final AtomicLongMetric movedParts;
+
+    /** Restored partitions metric. */
+    private final AtomicLongMetric restoredParts;
+
+    /** Cache hits metric. */
+    private final LongAdderMetric cacheHits;
+
+    /** Cache misses metric. */
+    private final LongAdderMetric cacheMisses;
+
+    /** Read bytes metric. */
+    private final LongAdderMetric readBytes;
+
+    /** Written bytes metric. */
+    private final LongAdderMetric writtenBytes;
+
+    /** Worker moving idle partitions. */
+    private volatile TieringWorker worker;
+
+    /**
+     * @param cctx Context.
+     * @param storage Storage of cold partition files.
+     * @param storeWorkDir Page store work directory.
+     * @param stores Page stores which may be moved to the tier.
+     */
+    public ColdPartitionTier(
+        GridCacheSharedContext<?, ?> cctx,
+        ColdObjectStorage storage,
+        File storeWorkDir,
+        Supplier<Collection<FilePageStore>> stores
+    ) {
+        DataStorageConfiguration dsCfg = cctx.gridConfig().getDataStorageConfiguration();
+
+        this.cctx = cctx;
+        this.storage = storage;
+        this.storeWorkDir = storeWorkDir.toPath();
+        this.stores = stores;
+
+        ioFactory = dsCfg.getFileIOFactory();
+        idleTimeout = dsCfg.getColdPartitionIdleTimeout();
+        cacheSize = dsCfg.getColdStorageReadCacheSize();
+        log = cctx.logger(ColdPartitionTier.class);
+
+        MetricRegistry mreg = cctx.kernalContext().metric().registry(COLD_TIER_METRICS);
+
+        mreg.register("ColdPartitions", () -> stores.get().stream().filter(FilePageStore::cold).count(),
+            "Number of partitions in the cold storage.");
+
+        movedParts = mreg.longMetric("MovedPartitions", "Number of partitions moved to the cold storage.");
+
+        restoredParts = mreg.longMetric("RestoredPartitions",
+            "Number of partitions moved back from the cold storage on write.");
+
+        cacheHits = mreg.longAdderMetric("ReadCacheHits", "Number of chunks of cold partitions found in the cache.");
+
+        cacheMisses = mreg.longAdderMetric("ReadCacheMisses",
+            "Number of chunks of cold partitions fetched from the cold storage.");
+
+        readBytes = mreg.longAdderMetric("ReadBytes", "Number of compressed bytes read from the cold storage.");
+
+        writtenBytes = mreg.longAdderMetric("WrittenBytes", "Number of compressed bytes written to the cold storage.");
+
+        mreg.register("CachedBytes", this::cachedBytes, "Size of decompressed chunks in the read cache.");
+    }
+
+    /**
+     * Starts the worker moving idle partitions.
+     */
+    public void start() {
+        worker = new TieringWorker();
+
+        new IgniteThread(worker).start();
+    }
+
+    /**
+     * Stops the worker moving idle partitions.
+     */
+    public void stop() {
+        TieringWorker worker = this.worker;
+
+        if (worker != null) {
+            U.cancel(worker);
+            U.join(worker, log);
+        }
+    }
+
+    /**
+     * @param partFile Partition file.
+     * @return {@code True} if the partition file is in the cold storage.
+     * @throws IOException If failed.
+     */
+    public boolean exists(File partFile) throws IOException {
+        return storage.size(key(partFile)) >= 0;
+    }
+
+    /**
+     * Opens the partition file moved to the cold storage.
+     *
+     * @param partFile Partition file.
+     * @return File I/O interface.
+     * @throws IOException If failed.
+     */
+    public ColdPartitionFileIO open(File partFile) throws IOException {
+        String key = key(partFile);
+
+        long objSize = storage.size(key);
+
+        if (objSize < TRAILER_SIZE)
+            throw new IOException("Invalid cold partition file [key=" + key + ", size=" + objSize + ']');
+
+        ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE);
+
+        storage.read(key, objSize - TRAILER_SIZE, trailer);
+
+        trailer.flip();
+
+        long size = trailer.getLong();
+        int chunkSize = trailer.getInt();
+        int cnt = trailer.getInt();
+        int ver = trailer.getInt();
+        long magic = trailer.getLong();
+
+        if (magic != MAGIC || ver != FORMAT_VERSION || objSize < TRAILER_SIZE + (cnt + 1) * 8L) {
+            throw new IOException("Invalid cold partition file [key=" + key + ", magic=" + U.hexLong(magic) +
+                ", ver=" + ver + ", chunks=" + cnt + ']');
+        }
+
+        ByteBuffer offsBuf = ByteBuffer.allocate((cnt + 1) * 8);
+
+        storage.read(key, objSize - TRAILER_SIZE - offsBuf.capacity(), offsBuf);
+
+        offsBuf.flip();
+
+        long[] offsets = new long[cnt + 1];
+
+        for (int i = 0; i < offsets.length; i++)
+            offsets[i] = offsBuf.getLong();
+
+        return new ColdPartitionFileIO(this, key, size, chunkSize, offsets);
+    }
+
+    /**
+     * Compresses the partition file to the cold storage.
+     *
+     * @param src File I/O interface of the partition file.
+     * @param partFile Partition file.
+     * @throws IOException If failed.
+     */
+    void upload(FileIO src, File partFile) throws IOException {
+        long size = src.size();
+
+        int cnt = (int)((size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+
+        long[] offsets = new long[cnt + 1];
+
+        storage.put(key(partFile), out -> {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            byte[] buf = new byte[CHUNK_SIZE];
+
+            Deflater deflater = new Deflater();
+
+            try {
+                for (int i = 0; i < cnt; i++) {
+                    int len = (int)Math.min(CHUNK_SIZE, size - (long)i * CHUNK_SIZE);
+
+                    if (src.readFully(ByteBuffer.wrap(chunk, 0, len), (long)i * CHUNK_SIZE) != len)
+                        throw new IOException("Failed to read partition file: " + partFile.getAbsolutePath());
+
+                    deflater.reset();
+                    deflater.setInput(chunk, 0, len);
+                    deflater.finish();
+
+                    long off = offsets[i];
+
+                    while (!deflater.finished()) {
+                        int n = deflater.deflate(buf);
+
+                        out.write(buf, 0, n);
+
+                        off += n;
+                    }
+
+                    offsets[i + 1] = off;
+                }
+            }
+            finally {
+                deflater.end();
+            }
+
+            ByteBuffer trailer = ByteBuffer.allocate(offsets.length * 8 + TRAILER_SIZE);
+
+            for (long off : offsets)
+                trailer.putLong(off);
+
+            trailer.putLong(size).putInt(CHUNK_SIZE).putInt(cnt).putInt(FORMAT_VERSION).putLong(MAGIC);
+
+            out.write(trailer.array());
+
+            writtenBytes.add(offsets[cnt] + trailer.capacity());
+        });
+
+        movedParts.increment();
+    }
+
+    /**
+     * Decompresses the partition file from the cold storage. The object is not deleted.
+     *
+     * @param src File I/O interface of the partition file in the cold storage.
+     * @param partFile Partition file.
+     * @throws IOException If failed.
+     */
+    void restore(ColdPartitionFileIO src, File partFile) throws IOException {
+        File tmp = new File(partFile.getPath() + TMP_SUFFIX);
+
+        try (FileIO io = ioFactory.create(tmp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            for (int i = 0; i < src.chunks(); i++)
+                io.writeFully(ByteBuffer.wrap(load(src, i)), src.chunkPosition(i));
+
+            io.force();
+        }
+        catch (IOException e) {
+            Files.deleteIfExists(tmp.toPath());
+
+            throw e;
+        }
+
+        Files.move(tmp.toPath(), partFile.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+
+        restoredParts.increment();
+    }
+
+    /**
+     * Moves the partition file back from the cold storage if it is there.
+     *
+     * @param partFile Partition file.
+     * @throws IOException If failed.
+     */
+    public void restore(File partFile) throws IOException {
+        if (partFile.exists() || !exists(partFile))
+            return;
+
+        try (ColdPartitionFileIO io = open(partFile)) {
+            restore(io, partFile);
+        }
+
+        delete(partFile);
+    }
+
+    /**
+     * @param partFile Partition file.
+     * @throws IOException If failed.
+     */
+    public void delete(File partFile) throws IOException {
+        storage.delete(key(partFile));
+    }
+
+    /**
+     * Deletes cold partition files of a cache or cache group.
+     *
+     * @param cacheWorkDir Cache or cache group work directory.
+     * @throws IOException If failed.
+     */
+    public void deleteAll(File cacheWorkDir) throws IOException {
+        storage.deleteAll(key(cacheWorkDir));
+    }
+
+    /**
+     * Deletes all cold partition files.
+     *
+     * @throws IOException If failed.
+     */
+    public void deleteAll() throws IOException {
+        storage.deleteAll("");
+    }
+
+    /**
+     * @param io File I/O interface of the partition file in the cold storage.
+     * @param idx Chunk index.
+     * @return Decompressed chunk.
+     * @throws IOException If failed.
+     */
+    byte[] chunk(ColdPartitionFileIO io, int idx) throws IOException {
+        T2<ColdPartitionFileIO, Integer> key = new T2<>(io, idx);
+
+        synchronized (cache) {
+            byte[] chunk = cache.get(key);
+
+            if (chunk != null) {
+                cacheHits.increment();
+
+                return chunk;
+            }
+        }
+
+        cacheMisses.increment();
+
+        byte[] chunk = load(io, idx);
+
+        synchronized (cache) {
+            byte[] old = cache.put(key, chunk);
+
+            cachedBytes += chunk.length - (old == null ? 0 : old.length);
+
+            for (Iterator<byte[]> it = cache.values().iterator(); cachedBytes > cacheSize && it.hasNext(); ) {
+                cachedBytes -= it.next().length;
+
+                it.remove();
+            }
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Removes chunks of a closed file from the cache.
+     *
+     * @param io Closed file I/O interface.
+     */
+    void onClose(ColdPartitionFileIO io) {
+        synchronized (cache) {
+            for (Iterator<Map.Entry<T2<ColdPartitionFileIO, Integer>, byte[]>> it = cache.entrySet().iterator();
+                it.hasNext(); ) {
+                Map.Entry<T2<ColdPartitionFileIO, Integer>, byte[]> e = it.next();
+
+                if (e.getKey().get1() == io) {
+                    cachedBytes -= e.getValue().length;
+
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Size of decompressed chunks in the cache.
+     */
+    private long cachedBytes() {
+        synchronized (cache) {
+            return cachedBytes;
+        }
+    }
+
+    /**
+     * Reads and decompresses a chunk.
+     *
+     * @param io File I/O interface of the partition file in the cold storage.
+     * @param idx Chunk index.
+     * @return Decompressed chunk.
+     * @throws IOException If failed.
+     */
+    private byte[] load(ColdPartitionFileIO io, int idx) throws IOException {
+        int len = io.compressedChunkSize(idx);
+
+        ByteBuffer buf = ByteBuffer.allocate(len);
+
+        if (storage.read(io.key(), io.chunkOffset(idx), buf) != len)
+            throw new IOException("Unexpected end of cold partition file [key=" + io.key() + ", chunk=" + idx + ']');
+
+        readBytes.add(len);
+
+        byte[] chunk = new byte[io.chunkSize(idx)];
+
+        Inflater inflater = new Inflater();
+
+        try {
+            inflater.setInput(buf.array(), 0, len);
+
+            int off = 0;
+
+            while (off < chunk.length && !inflater.finished()) {
+                int n = inflater.inflate(chunk, off, chunk.length - off);
+
+                if (n == 0 && inflater.needsInput())
+                    break;
+
+                off += n;
+            }
+
+            if (off != chunk.length)
+                throw new IOException("Corrupted cold partition file [key=" + io.key() + ", chunk=" + idx + ']');
+
+            return chunk;
+        }
+        catch (DataFormatException e) {
+            throw new IOException("Corrupted cold partition file [key=" + io.key() + ", chunk=" + idx + ']', e);
+        }
+        finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * @param file File or directory in the page store work directory.
+     * @return Object key.
+     */
+    private String key(File file) {
+        return storeWorkDir.relativize(file.toPath()).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Moves partition files which are neither read nor written during the idle timeout to the cold storage.
+     */
+    private class TieringWorker extends GridWorker {
+        /** */
+        private TieringWorker() {
+            super(cctx.igniteInstanceName(), "cold-partition-tiering", ColdPartitionTier.this.log);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void body() throws InterruptedException, IgniteInterruptedCheckedException {
+            long interval = Math.max(100L, Math.min(idleTimeout / 2, MAX_CHECK_INTERVAL));
+
+            while (!isCancelled()) {
+                U.sleep(interval);
+
+                for (FilePageStore store : stores.get()) {
+                    if (isCancelled())
+                        break;
+
+                    try {
+                        if (store.moveToTier(idleTimeout) && log.isDebugEnabled())
+                            log.debug("Partition file moved to the cold storage: " + store.getFileAbsolutePath());
+                    }
+                    catch (IOException e) {
+                        U.error(log, "Failed to move partition file to the cold storage [file=" +
+                            store.getFileAbsolutePath() + ']', e);
+                    }
+                }
+            }
+        }
+    }
+}
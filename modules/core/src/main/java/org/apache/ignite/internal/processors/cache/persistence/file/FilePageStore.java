@@ -36,7 +36,7 @@ import org.apache.ignite.internal.pagemem.PageIdUtils;
 import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.processors.cache.persistence.StorageException;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
-import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.CrcAlgorithm;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDataIntegrityViolationException;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteOutClosure;
@@ -98,6 +98,12 @@ public class FilePageStore implements PageStore {
     /** */
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
+    /** Tier the file is moved to when it is not accessed for a long time, {@code null} if tiering is disabled. */
+    private volatile ColdPartitionTier tier;
+
+    /** Time of the last read or write. */
+    private volatile long lastAccessTime = U.currentTimeMillis();
+
     /** */
     public FilePageStore(
         byte type,
@@ -151,7 +157,38 @@ public class FilePageStore implements PageStore {
     @Override public boolean exists() {
         File file = pathProvider.apply().toFile();
 
-        return file.exists() && file.length() > headerSize();
+        if (file.exists())
+            return file.length() > headerSize();
+
+        ColdPartitionTier tier = this.tier;
+
+        try {
+            return tier != null && tier.exists(file);
+        }
+        catch (IOException e) {
+            throw new IgniteException(e);
+        }
+    }
+
+    /**
+     * @param tier Tier the file is moved to when it is not accessed for a long time.
+     */
+    public void tier(ColdPartitionTier tier) {
+        this.tier = tier;
+    }
+
+    /**
+     * @return Tier the file is moved to when it is not accessed for a long time, {@code null} if tiering is disabled.
+     */
+    public ColdPartitionTier tier() {
+        return tier;
+    }
+
+    /**
+     * @return {@code True} if the file is moved to the cold storage.
+     */
+    public boolean cold() {
+        return fileIO instanceof ColdPartitionFileIO;
     }
 
     /**
@@ -168,6 +205,13 @@ public class FilePageStore implements PageStore {
         return VERSION;
     }
 
+    /**
+     * @return Checksum algorithm of pages.
+     */
+    protected CrcAlgorithm crcAlgorithm() {
+        return CrcAlgorithm.CRC32;
+    }
+
     /**
      * Creates header for current version file store. Doesn't init the store.
      *
@@ -257,7 +301,7 @@ public class FilePageStore implements PageStore {
                 " [expectedPageSize=" + dbCfg.getPageSize() +
                 ", filePageSize=" + pageSize + "]");
 
-        long fileSize = cfgFile.length();
+        long fileSize = fileIO.size();
 
         if (fileSize == headerSize()) // Every file has a special meta page.
             fileSize = pageSize + headerSize();
@@ -282,17 +326,26 @@ public class FilePageStore implements PageStore {
                 if (delete && Files.exists(path))
                     Files.delete(path);
 
+                if (delete && tier != null)
+                    tier.delete(path.toFile());
+
                 return;
             }
 
+            boolean cold = cold();
+
             fileIO.force();
 
             fileIO.close();
 
             fileIO = null;
 
-            if (delete)
-                Files.delete(pathProvider.apply());
+            if (delete) {
+                if (cold)
+                    tier.delete(pathProvider.apply().toFile());
+                else
+                    Files.delete(pathProvider.apply());
+            }
         }
         catch (IOException e) {
             throw new StorageException("Failed to stop serving partition file [file=" + getFileAbsolutePath()
@@ -318,13 +371,22 @@ public class FilePageStore implements PageStore {
         try {
             this.tag = tag;
 
-            fileIO.clear();
+            if (cold()) {
+                fileIO.close();
 
-            fileIO.close();
+                fileIO = null;
 
-            fileIO = null;
+                tier.delete(filePath.toFile());
+            }
+            else {
+                fileIO.clear();
+
+                fileIO.close();
 
-            Files.delete(filePath);
+                fileIO = null;
+
+                Files.delete(filePath);
+            }
         }
         catch (IOException e) {
             throw new StorageException("Failed to truncate partition file [file=" + filePath.toAbsolutePath() + "]", e);
@@ -404,6 +466,8 @@ public class FilePageStore implements PageStore {
     @Override public void read(long pageId, ByteBuffer pageBuf, boolean keepCrc) throws IgniteCheckedException {
         init();
 
+        lastAccessTime = U.currentTimeMillis();
+
         try {
             long off = pageOffset(pageId);
 
@@ -431,7 +495,7 @@ public class FilePageStore implements PageStore {
             pageBuf.position(0);
 
             if (!skipCrc) {
-                int curCrc32 = FastCrc.calcCrc(pageBuf, getCrcSize(pageId, pageBuf));
+                int curCrc32 = crcAlgorithm().calcCrc(pageBuf, getCrcSize(pageId, pageBuf));
 
                 if ((savedCrc32 ^ curCrc32) != 0)
                     throw new IgniteDataIntegrityViolationException("Failed to read page (CRC validation failed) " +
@@ -488,9 +552,9 @@ public class FilePageStore implements PageStore {
                             try {
                                 File cfgFile = pathProvider.apply().toFile();
 
-                                this.fileIO = fileIO = ioFactory.create(cfgFile, CREATE, READ, WRITE);
+                                this.fileIO = fileIO = openFileIO(cfgFile);
 
-                                newSize = (cfgFile.length() == 0 ? initFile(fileIO) : checkFile(fileIO, cfgFile)) - headerSize();
+                                newSize = (fileIO.size() == 0 ? initFile(fileIO) : checkFile(fileIO, cfgFile)) - headerSize();
 
                                 if (interrupted)
                                     Thread.currentThread().interrupt();
@@ -537,6 +601,92 @@ public class FilePageStore implements PageStore {
         }
     }
 
+    /**
+     * Opens the file, which is read from the cold storage if it was moved there.
+     *
+     * @param cfgFile File.
+     * @return File I/O interface.
+     * @throws IOException If failed.
+     */
+    private FileIO openFileIO(File cfgFile) throws IOException {
+        ColdPartitionTier tier = this.tier;
+
+        if (tier != null) {
+            // The local file is complete if it exists, the object is left by an interrupted move or restore.
+            if (!cfgFile.exists() && tier.exists(cfgFile))
+                return tier.open(cfgFile);
+
+            tier.delete(cfgFile);
+        }
+
+        return ioFactory.create(cfgFile, CREATE, READ, WRITE);
+    }
+
+    /**
+     * Moves the file to the cold storage if it is neither read nor written during the given time.
+     *
+     * @param idleTimeout Idle timeout.
+     * @return {@code True} if the file was moved.
+     * @throws IOException If failed.
+     */
+    boolean moveToTier(long idleTimeout) throws IOException {
+        if (!inited || cold() || U.currentTimeMillis() - lastAccessTime < idleTimeout || !lock.writeLock().tryLock())
+            return false;
+
+        try {
+            FileIO fileIO = this.fileIO;
+
+            if (!inited || recover || fileIO == null || cold() || U.currentTimeMillis() - lastAccessTime < idleTimeout)
+                return false;
+
+            File cfgFile = pathProvider.apply().toFile();
+
+            fileIO.force();
+
+            tier.upload(fileIO, cfgFile);
+
+            // Readers of the closed file switch to the new one on ClosedChannelException.
+            this.fileIO = tier.open(cfgFile);
+
+            fileIO.close();
+
+            Files.delete(cfgFile.toPath());
+
+            return true;
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves the file back from the cold storage before a write.
+     *
+     * @param coldIO File I/O interface of the file in the cold storage.
+     * @throws IOException If failed.
+     */
+    private void restoreFromTier(ColdPartitionFileIO coldIO) throws IOException {
+        lock.writeLock().lock();
+
+        try {
+            if (fileIO != coldIO)
+                return;
+
+            File cfgFile = pathProvider.apply().toFile();
+
+            tier.restore(coldIO, cfgFile);
+
+            fileIO = ioFactory.create(cfgFile, CREATE, READ, WRITE);
+
+            coldIO.close();
+
+            tier.delete(cfgFile);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
     /**
      * Reinit page store after file channel was closed by thread interruption.
      *
@@ -564,7 +714,7 @@ public class FilePageStore implements PageStore {
 
                         File cfgFile = pathProvider.apply().toFile();
 
-                        fileIO = ioFactory.create(cfgFile, CREATE, READ, WRITE);
+                        fileIO = openFileIO(cfgFile);
 
                         checkFile(fileIO, cfgFile);
 
@@ -601,14 +751,57 @@ public class FilePageStore implements PageStore {
 
     /** {@inheritDoc} */
     @Override public void write(long pageId, ByteBuffer pageBuf, int tag, boolean calculateCrc) throws IgniteCheckedException {
+        assert pageBuf.position() == 0 : pageBuf.position();
+
+        write(pageId, pageBuf, 1, tag, calculateCrc);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writePages(long pageId, ByteBuffer pagesBuf, int tag, boolean calculateCrc)
+        throws IgniteCheckedException {
+        assert pagesBuf.position() == 0 && pagesBuf.limit() % pageSize == 0 : pagesBuf;
+
+        int cnt = pagesBuf.limit() / pageSize;
+
+        // Encrypted file I/O transforms data page by page.
+        if (cnt == 1 || ioFactory instanceof EncryptedFileIOFactory) {
+            for (int i = 0; i < cnt; i++)
+                write(pageId(pageId, i), page(pagesBuf, i), tag, calculateCrc);
+
+            return;
+        }
+
+        write(pageId, pagesBuf, cnt, tag, calculateCrc);
+    }
+
+    /**
+     * Writes adjacent pages with a single write operation.
+     *
+     * @param pageId ID of the first page.
+     * @param buf Buffer with pages.
+     * @param cnt Number of pages in the buffer.
+     * @param tag Partition file version.
+     * @param calculateCrc If {@code false} CRC calculation will be forcibly skipped.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void write(long pageId, ByteBuffer buf, int cnt, int tag, boolean calculateCrc)
+        throws IgniteCheckedException {
         init();
 
+        lastAccessTime = U.currentTimeMillis();
+
         boolean interrupted = false;
 
         while (true) {
             FileIO fileIO = this.fileIO;
 
             try {
+                if (fileIO instanceof ColdPartitionFileIO) {
+                    restoreFromTier((ColdPartitionFileIO)fileIO);
+
+                    continue;
+                }
+
                 lock.readLock().lock();
 
                 try {
@@ -617,31 +810,25 @@ public class FilePageStore implements PageStore {
 
                     long off = pageOffset(pageId);
 
-                    assert (off >= 0 && off <= allocated.get()) || recover :
-                        "off=" + U.hexLong(off) + ", allocated=" + U.hexLong(allocated.get()) +
+                    assert (off >= 0 && off + (long)(cnt - 1) * pageSize <= allocated.get()) || recover :
+                        "off=" + U.hexLong(off) + ", cnt=" + cnt + ", allocated=" + U.hexLong(allocated.get()) +
                             ", pageId=" + U.hexLong(pageId) + ", file=" + getFileAbsolutePath();
 
-                    assert pageBuf.position() == 0;
-                    assert pageBuf.order() == ByteOrder.nativeOrder() : "Page buffer order " + pageBuf.order()
+                    assert buf.order() == ByteOrder.nativeOrder() : "Page buffer order " + buf.order()
                         + " should be same with " + ByteOrder.nativeOrder();
-                    assert PageIO.getType(pageBuf) != 0 : "Invalid state. Type is 0! pageId = " + U.hexLong(pageId);
-                    assert PageIO.getVersion(pageBuf) != 0 : "Invalid state. Version is 0! pageId = " + U.hexLong(pageId);
 
-                    if (calculateCrc && !skipCrc) {
-                        assert PageIO.getCrc(pageBuf) == 0 : U.hexLong(pageId);
-
-                        PageIO.setCrc(pageBuf, calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)));
+                    if (cnt == 1)
+                        preparePage(pageId, buf, calculateCrc);
+                    else {
+                        for (int i = 0; i < cnt; i++)
+                            preparePage(pageId(pageId, i), page(buf, i), calculateCrc);
                     }
 
-                    // Check whether crc was calculated somewhere above the stack if it is forcibly skipped.
-                    assert skipCrc || PageIO.getCrc(pageBuf) != 0 || calcCrc32(pageBuf, pageSize) == 0 :
-                        "CRC hasn't been calculated, crc=0";
-
-                    assert pageBuf.position() == 0 : pageBuf.position();
+                    assert buf.position() == 0 : buf.position();
 
-                    fileIO.writeFully(pageBuf, off);
+                    fileIO.writeFully(buf, off);
 
-                    PageIO.setCrc(pageBuf, 0);
+                    resetCrc(buf, cnt);
 
                     if (interrupted)
                         Thread.currentThread().interrupt();
@@ -663,9 +850,7 @@ public class FilePageStore implements PageStore {
 
                         reinit(fileIO);
 
-                        pageBuf.position(0);
-
-                        PageIO.setCrc(pageBuf, 0);
+                        resetCrc(buf, cnt);
 
                         continue;
                     }
@@ -676,21 +861,84 @@ public class FilePageStore implements PageStore {
                     }
                 }
 
-                throw new StorageException("Failed to write page [file=" + getFileAbsolutePath()
-                    + ", pageId=" + pageId + ", tag=" + tag + "]", e);
+                throw new StorageException("Failed to write " + (cnt == 1 ? "page" : "pages") + " [file=" +
+                    getFileAbsolutePath() + ", pageId=" + pageId + (cnt == 1 ? "" : ", cnt=" + cnt) +
+                    ", tag=" + tag + "]", e);
             }
         }
     }
 
+    /**
+     * Checks the page before it is written and calculates its CRC.
+     *
+     * @param pageId Page ID.
+     * @param pageBuf Page buffer.
+     * @param calculateCrc If {@code false} CRC calculation will be forcibly skipped.
+     * @throws IOException If failed.
+     */
+    private void preparePage(long pageId, ByteBuffer pageBuf, boolean calculateCrc) throws IOException {
+        assert PageIO.getType(pageBuf) != 0 : "Invalid state. Type is 0! pageId = " + U.hexLong(pageId);
+        assert PageIO.getVersion(pageBuf) != 0 : "Invalid state. Version is 0! pageId = " + U.hexLong(pageId);
+
+        if (calculateCrc && !skipCrc) {
+            assert PageIO.getCrc(pageBuf) == 0 : U.hexLong(pageId);
+
+            PageIO.setCrc(pageBuf, calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)));
+        }
+
+        // Check whether crc was calculated somewhere above the stack if it is forcibly skipped.
+        assert skipCrc || PageIO.getCrc(pageBuf) != 0 || calcCrc32(pageBuf, pageSize) == 0 :
+            "CRC hasn't been calculated, crc=0";
+    }
+
+    /**
+     * @param pagesBuf Buffer with several pages.
+     * @param idx Index of the page in the buffer.
+     * @return Buffer of the page.
+     */
+    private ByteBuffer page(ByteBuffer pagesBuf, int idx) {
+        ByteBuffer pageBuf = pagesBuf.duplicate();
+
+        pageBuf.limit((idx + 1) * pageSize).position(idx * pageSize);
+
+        return pageBuf.slice().order(pagesBuf.order());
+    }
+
+    /**
+     * @param pageId ID of the first page.
+     * @param idx Index of the page in the buffer.
+     * @return ID of the page.
+     */
+    private static long pageId(long pageId, int idx) {
+        return PageIdUtils.pageId(
+            PageIdUtils.partId(pageId),
+            PageIdUtils.flag(pageId),
+            PageIdUtils.pageIndex(pageId) + idx
+        );
+    }
+
+    /**
+     * Resets CRC of every page in the buffer, it is expected to be zero after each write.
+     *
+     * @param pagesBuf Buffer with several pages.
+     * @param cnt Number of pages.
+     */
+    private void resetCrc(ByteBuffer pagesBuf, int cnt) {
+        pagesBuf.position(0);
+
+        for (int i = 0; i < cnt; i++)
+            pagesBuf.putInt(i * pageSize + PageIO.CRC_OFF, 0);
+    }
+
     /**
      * @param pageBuf Page buffer.
      * @param pageSize Page size.
      */
-    private static int calcCrc32(ByteBuffer pageBuf, int pageSize) {
+    private int calcCrc32(ByteBuffer pageBuf, int pageSize) {
         try {
             pageBuf.position(0);
 
-            return FastCrc.calcCrc(pageBuf, pageSize);
+            return crcAlgorithm().calcCrc(pageBuf, pageSize);
         }
         finally {
             pageBuf.position(0);
@@ -65,11 +65,13 @@ import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.pagemem.store.PageStoreCollection;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.CacheGroupDescriptor;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheSharedManagerAdapter;
 import org.apache.ignite.internal.processors.cache.StoredCacheData;
 import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
 import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.StorageException;
+import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointRecoveryFile;
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.DefragmentationFileUtils;
 import org.apache.ignite.internal.processors.cache.persistence.filename.PdsFolderSettings;
 import org.apache.ignite.internal.processors.cache.persistence.metastorage.MetaStorage;
@@ -161,6 +163,12 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
     /** */
     private final PageReadWriteManager pmPageMgr;
 
+    /**
+     * Recovery file of the running checkpoint. Pages are written to the file instead of page stores until the file is
+     * complete and are read from the file until they are written to page stores.
+     */
+    @Nullable private volatile CheckpointRecoveryFile cpRecoveryFile;
+
     /**
      * Executor to disallow running code that modifies data in idxCacheStores concurrently with cleanup of file page
      * store.
@@ -191,6 +199,9 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
     /** Absolute directory for file page store. Includes consistent id based folder. */
     private File storeWorkDir;
 
+    /** Cold tier of partition files, {@code null} if cold storage is not configured. */
+    @Nullable private ColdPartitionTier coldTier;
+
     /** */
     private final Set<Integer> grpsWithoutIdx = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
 
@@ -235,6 +246,18 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
 
         U.ensureDirectory(storeWorkDir, "page store work directory", log);
 
+        if (dsCfg.getColdStoragePath() != null) {
+            File coldDir = new File(U.resolveWorkDirectory(igniteCfg.getWorkDirectory(), dsCfg.getColdStoragePath(),
+                false), folderSettings.folderName());
+
+            coldTier = new ColdPartitionTier(cctx, new LocalColdObjectStorage(coldDir, pageStoreFileIoFactory),
+                storeWorkDir, this::tieredStores);
+
+            // Partition files are not moved in maintenance mode, but may be restored by maintenance actions.
+            if (!ctx.maintenanceRegistry().isMaintenanceMode())
+                coldTier.start();
+        }
+
         String tmpDir = System.getProperty("java.io.tmpdir");
 
         if (tmpDir != null && storeWorkDir.getAbsolutePath().startsWith(tmpDir)) {
@@ -280,6 +303,9 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
                 for (Path path : files)
                     delete(path);
             }
+
+            if (coldTier != null)
+                coldTier.deleteAll(cacheWorkDir);
         }
         catch (IOException e) {
             throw new IgniteCheckedException("Failed to cleanup persistent directory: ", e);
@@ -300,6 +326,9 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
                 for (Path path : files)
                     U.delete(path);
             }
+
+            if (coldTier != null)
+                coldTier.deleteAll();
         }
         catch (IOException e) {
             throw new IgniteCheckedException("Failed to cleanup persistent directory: ", e);
@@ -338,6 +367,9 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         if (log.isDebugEnabled())
             log.debug("Stopping page store manager.");
 
+        if (coldTier != null)
+            coldTier.stop();
+
         cleanupPageStoreIfMatch(p -> true, false);
     }
 
@@ -554,6 +586,11 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
     @Override public void shutdownForCacheGroup(CacheGroupContext grp, boolean destroy) throws IgniteCheckedException {
         grpsWithoutIdx.remove(grp.groupId());
 
+        CheckpointRecoveryFile recFile = cpRecoveryFile;
+
+        if (destroy && recFile != null)
+            recFile.forgetGroup(grp.groupId());
+
         CacheStoreHolder old = idxCacheStores.remove(grp.groupId());
 
         if (old != null) {
@@ -571,6 +608,11 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
     @Override public void truncate(int grpId, int partId, int tag) throws IgniteCheckedException {
         assert partId <= PageIdAllocator.MAX_PARTITION_ID;
 
+        CheckpointRecoveryFile recFile = cpRecoveryFile;
+
+        if (recFile != null)
+            recFile.forgetPartition(grpId, partId);
+
         PageStore store = getStore(grpId, partId);
 
         store.truncate(tag);
@@ -578,6 +620,11 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
 
     /** {@inheritDoc} */
     @Override public void read(int grpId, long pageId, ByteBuffer pageBuf, boolean keepCrc) throws IgniteCheckedException {
+        CheckpointRecoveryFile recFile = cpRecoveryFile;
+
+        if (recFile != null && recFile.read(grpId, pageId, pageBuf))
+            return;
+
         pmPageMgr.read(grpId, pageId, pageBuf, keepCrc);
     }
 
@@ -604,9 +651,72 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
 
     /** {@inheritDoc} */
     @Override public PageStore write(int grpId, long pageId, ByteBuffer pageBuf, int tag, boolean calculateCrc) throws IgniteCheckedException {
+        CheckpointRecoveryFile recFile = cpRecoveryFile;
+
+        if (recFile != null && recFile.append(grpId, pageId, tag, pageBuf)) {
+            CacheGroupContext grp = cctx.cache().cacheGroup(grpId);
+
+            if (grp != null)
+                grp.dataRegion().metrics().onCheckpointRecoveryDataWritten(recFile.recordSize());
+
+            return getStore(grpId, PageIdUtils.partId(pageId));
+        }
+
         return pmPageMgr.write(grpId, pageId, pageBuf, tag, calculateCrc);
     }
 
+    /**
+     * Writes pages with adjacent indexes of the same partition with a single I/O operation.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId ID of the first page.
+     * @param pagesBuf Buffer with pages to write, its limit must be a multiple of the page size.
+     * @param tag Partition file version.
+     * @return Page store which was used to write or {@code null} if the pages must be written one by one.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable public PageStore writePages(int grpId, long pageId, ByteBuffer pagesBuf, int tag)
+        throws IgniteCheckedException {
+        if (cpRecoveryFile != null)
+            return null;
+
+        GridCacheContext<?, ?> cctx0 = cctx.cacheContext(grpId);
+
+        // Compressed pages have different sizes on disk.
+        if (cctx0 != null && cctx0.compress().enabled())
+            return null;
+
+        PageStore store = getStore(grpId, PageIdUtils.partId(pageId));
+
+        try {
+            store.writePages(pageId, pagesBuf, tag, true);
+        }
+        catch (StorageException e) {
+            cctx.kernalContext().failure().process(new FailureContext(FailureType.CRITICAL_ERROR, e));
+
+            throw e;
+        }
+
+        return store;
+    }
+
+    /**
+     * Sets recovery file of the running checkpoint. While the file is not complete, pages are written to it instead of
+     * page stores.
+     *
+     * @param recFile Recovery file or {@code null} if checkpoint doesn't write recovery data.
+     */
+    public void checkpointRecoveryFile(@Nullable CheckpointRecoveryFile recFile) {
+        cpRecoveryFile = recFile;
+    }
+
+    /**
+     * @return Recovery file of the running checkpoint.
+     */
+    @Nullable public CheckpointRecoveryFile checkpointRecoveryFile() {
+        return cpRecoveryFile;
+    }
+
     /** {@inheritDoc} */
     @Override public long pageOffset(int grpId, long pageId) throws IgniteCheckedException {
         PageStore store = getStore(grpId, PageIdUtils.partId(pageId));
@@ -755,20 +865,51 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
 
             PageStore[] partStores = new PageStore[partitions];
 
+            // Encrypted files are not compressible.
+            ColdPartitionTier tier = encrypted || grpId == MetaStorage.METASTORAGE_CACHE_ID ? null : coldTier;
+
             for (int partId = 0; partId < partStores.length; partId++) {
                 final int p = partId;
 
-                PageStore partStore =
-                    pageStoreFactory.createPageStore(
+                File partFile = getPartitionFilePath(cacheWorkDir, p).toFile();
+
+                if (tier != null && cctx.kernalContext().maintenanceRegistry().isMaintenanceMode())
+                    tier.restore(partFile);
+
+                PageStore partStore;
+
+                if (tier != null && !partFile.exists() && tier.exists(partFile)) {
+                    try (FileIO io = tier.open(partFile)) {
+                        partStore = pageStoreFactory.createPageStore(
+                            PageStore.TYPE_DATA,
+                            () -> getPartitionFilePath(cacheWorkDir, p),
+                            io,
+                            pageMetrics.totalPages()::add);
+                    }
+                }
+                else {
+                    partStore = pageStoreFactory.createPageStore(
                         PageStore.TYPE_DATA,
                         () -> getPartitionFilePath(cacheWorkDir, p),
                         pageMetrics.totalPages()::add);
+                }
 
-                    partStores[partId] = partStore;
+                if (tier != null)
+                    ((FilePageStore)partStore).tier(tier);
+
+                partStores[partId] = partStore;
             }
 
             return new CacheStoreHolder(idxStore, partStores);
         }
+        catch (IOException e) {
+            IgniteCheckedException e0 = new IgniteCheckedException("Failed to initialize cold partition files " +
+                "[dir=" + cacheWorkDir.getAbsolutePath() + ']', e);
+
+            cctx.kernalContext().failure().process(new FailureContext(FailureType.CRITICAL_ERROR, e0));
+
+            throw e0;
+        }
         catch (IgniteCheckedException e) {
             if (X.hasCause(e, StorageException.class, IOException.class))
                 cctx.kernalContext().failure().process(new FailureContext(FailureType.CRITICAL_ERROR, e));
@@ -777,6 +918,22 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         }
     }
 
+    /**
+     * @return Partition page stores which may be moved to the cold storage.
+     */
+    private Collection<FilePageStore> tieredStores() {
+        List<FilePageStore> res = new ArrayList<>();
+
+        for (CacheStoreHolder holder : idxCacheStores.values()) {
+            for (PageStore store : holder.partStores) {
+                if (store instanceof FilePageStore && ((FilePageStore)store).tier() != null)
+                    res.add((FilePageStore)store);
+            }
+        }
+
+        return res;
+    }
+
     /**
      * @param cacheWorkDir Cache work directory.
      * @param partId Partition id.
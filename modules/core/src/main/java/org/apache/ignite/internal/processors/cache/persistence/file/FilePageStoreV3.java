@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.nio.file.Path;
+import java.util.function.LongConsumer;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.CrcAlgorithm;
+import org.apache.ignite.lang.IgniteOutClosure;
+
+/**
+ * Page store of the same layout as {@link FilePageStoreV2}, but page checksums are calculated with
+ * {@link CrcAlgorithm#CRC32C}.
+ */
+public class FilePageStoreV3 extends FilePageStoreV2 {
+    /** File version. */
+    public static final int VERSION = 3;
+
+    /**
+     * Constructor which initializes file path provider closure, allowing to calculate file path in any time.
+     *
+     * @param type Type.
+     * @param pathProvider file path provider.
+     * @param factory Factory.
+     * @param cfg Config.
+     * @param allocatedTracker Allocated tracker.
+     */
+    public FilePageStoreV3(
+        byte type,
+        IgniteOutClosure<Path> pathProvider,
+        FileIOFactory factory,
+        DataStorageConfiguration cfg,
+        LongConsumer allocatedTracker) {
+        super(type, pathProvider, factory, cfg, allocatedTracker);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int version() {
+        return VERSION;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected CrcAlgorithm crcAlgorithm() {
+        return CrcAlgorithm.CRC32C;
+    }
+}
@@ -25,6 +25,7 @@ import java.util.function.LongConsumer;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.internal.pagemem.store.PageStore;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
 import org.apache.ignite.lang.IgniteOutClosure;
 
 /**
@@ -35,7 +36,13 @@ public class FileVersionCheckingFactory implements FilePageStoreFactory {
     public static final String LATEST_VERSION_OVERRIDE_PROPERTY = "file.page.store.latest.version.override";
 
     /** Latest page store version. */
-    public static final int LATEST_VERSION = 2;
+    public static final int LATEST_VERSION = FilePageStoreV3.VERSION;
+
+    /**
+     * Default page store version. Latest version uses CRC32C checksums which are slower than CRC32 ones if there is no
+     * hardware accelerated JDK implementation, so previous version is used on Java 8.
+     */
+    public static final int DFLT_VERSION = FastCrc.isJdkCrc32c() ? LATEST_VERSION : FilePageStoreV2.VERSION;
 
     /** Factory to provide I/O interfaces for read/write operations with files. */
     private final FileIOFactory fileIOFactory;
@@ -66,7 +73,7 @@ public class FileVersionCheckingFactory implements FilePageStoreFactory {
         this.fileIOFactoryStoreV1 = fileIOFactoryStoreV1;
         this.memCfg = memCfg;
 
-        int latestVer0 = LATEST_VERSION;
+        int latestVer0 = DFLT_VERSION;
 
         String latestVerProp = System.getProperty(LATEST_VERSION_OVERRIDE_PROPERTY);
 
@@ -93,26 +100,44 @@ public class FileVersionCheckingFactory implements FilePageStoreFactory {
             return createPageStore(type, pathProvider, latestVersion(), allocatedTracker);
 
         try (FileIO fileIO = fileIOFactoryStoreV1.create(filePath.toFile())) {
-            int minHdr = FilePageStore.HEADER_SIZE;
+            return createPageStore(type, pathProvider, fileIO, allocatedTracker);
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Error while creating file page store [file=" + filePath.toAbsolutePath() + "]:", e);
+        }
+    }
+
+    /**
+     * Creates page store of the version written in the header of an opened file.
+     *
+     * @param type Data type, can be {@link PageStore#TYPE_IDX} or {@link PageStore#TYPE_DATA}.
+     * @param pathProvider File page store path provider.
+     * @param fileIO File I/O interface of the opened file.
+     * @param allocatedTracker Metrics updater.
+     * @return Page store.
+     * @throws IOException If failed to read the file header.
+     */
+    public PageStore createPageStore(
+        byte type,
+        IgniteOutClosure<Path> pathProvider,
+        FileIO fileIO,
+        LongConsumer allocatedTracker) throws IOException {
+        int minHdr = FilePageStore.HEADER_SIZE;
 
-            if (fileIO.size() < minHdr)
-                return createPageStore(type, pathProvider, latestVersion(), allocatedTracker);
+        if (fileIO.size() < minHdr)
+            return createPageStore(type, pathProvider, latestVersion(), allocatedTracker);
 
-            ByteBuffer hdr = ByteBuffer.allocate(minHdr).order(ByteOrder.nativeOrder());
+        ByteBuffer hdr = ByteBuffer.allocate(minHdr).order(ByteOrder.nativeOrder());
 
-            fileIO.readFully(hdr);
+        fileIO.readFully(hdr, 0);
 
-            hdr.rewind();
+        hdr.rewind();
 
-            hdr.getLong(); // Read signature
+        hdr.getLong(); // Read signature
 
-            int ver = hdr.getInt();
+        int ver = hdr.getInt();
 
-            return createPageStore(type, pathProvider, ver, allocatedTracker);
-        }
-        catch (IOException e) {
-            throw new IgniteCheckedException("Error while creating file page store [file=" + filePath.toAbsolutePath() + "]:", e);
-        }
+        return createPageStore(type, pathProvider, ver, allocatedTracker);
     }
 
     /**
@@ -142,6 +167,9 @@ public class FileVersionCheckingFactory implements FilePageStoreFactory {
             case FilePageStoreV2.VERSION:
                 return new FilePageStoreV2(type, pathProvider, fileIOFactory, memCfg, allocatedTracker);
 
+            case FilePageStoreV3.VERSION:
+                return new FilePageStoreV3(type, pathProvider, fileIOFactory, memCfg, allocatedTracker);
+
             default:
                 throw new IllegalArgumentException("Unknown version of file page store: " + ver + " for file [" + pathProvider.apply().toAbsolutePath() + "]");
         }
@@ -157,6 +185,7 @@ public class FileVersionCheckingFactory implements FilePageStoreFactory {
                 return FilePageStore.HEADER_SIZE;
 
             case FilePageStoreV2.VERSION:
+            case FilePageStoreV3.VERSION:
                 return memCfg.getPageSize();
 
             default:
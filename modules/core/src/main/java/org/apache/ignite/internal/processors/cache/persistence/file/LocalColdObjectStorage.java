@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.TMP_SUFFIX;
+
+/**
+ * Cold object storage which keeps objects as files of a local directory, e.g. on a slower disk or on a network
+ * file system. An object is written to a temporary file which is atomically renamed when the object is complete.
+ */
+public class LocalColdObjectStorage implements ColdObjectStorage {
+    /** Size of the buffer used to write objects. */
+    private static final int WRITE_BUF_SIZE = 256 * 1024;
+
+    /** Root directory. */
+    private final File root;
+
+    /** Factory to provide I/O interfaces for read/write operations with files. */
+    private final FileIOFactory ioFactory;
+
+    /**
+     * @param root Root directory.
+     * @param ioFactory Factory to provide I/O interfaces for read/write operations with files.
+     */
+    public LocalColdObjectStorage(File root, FileIOFactory ioFactory) {
+        this.root = root;
+        this.ioFactory = ioFactory;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long size(String key) {
+        File file = file(key);
+
+        return file.exists() ? file.length() : -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void put(String key, ObjectWriter writer) throws IOException {
+        File file = file(key);
+
+        File tmp = new File(file.getPath() + TMP_SUFFIX);
+
+        Files.createDirectories(file.getParentFile().toPath());
+
+        try (FileIO io = ioFactory.create(tmp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(new OutputStream() {
+                /** {@inheritDoc} */
+                @Override public void write(int b) throws IOException {
+                    write(new byte[] {(byte)b}, 0, 1);
+                }
+
+                /** {@inheritDoc} */
+                @Override public void write(byte[] b, int off, int len) throws IOException {
+                    io.writeFully(b, off, len);
+                }
+            }, WRITE_BUF_SIZE);
+
+            writer.write(out);
+
+            out.flush();
+
+            io.force();
+        }
+        catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp.toPath());
+
+            throw e;
+        }
+
+        Files.move(tmp.toPath(), file.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(String key, long pos, ByteBuffer buf) throws IOException {
+        try (FileIO io = ioFactory.create(file(key), READ)) {
+            return Math.max(io.readFully(buf, pos), 0);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void delete(String key) throws IOException {
+        File file = file(key);
+
+        Files.deleteIfExists(file.toPath());
+        Files.deleteIfExists(new File(file.getPath() + TMP_SUFFIX).toPath());
+    }
+
+    /** {@inheritDoc} */
+    @Override public void deleteAll(String prefix) {
+        U.delete(prefix.isEmpty() ? root : file(prefix));
+    }
+
+    /**
+     * @param key Object key.
+     * @return File of the object.
+     */
+    private File file(String key) {
+        return new File(root, key.replace('/', File.separatorChar));
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(LocalColdObjectStorage.class, this);
+    }
+}
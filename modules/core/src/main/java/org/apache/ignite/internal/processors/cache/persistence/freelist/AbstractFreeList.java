@@ -17,10 +17,14 @@
 package org.apache.ignite.internal.processors.cache.persistence.freelist;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.SystemProperty;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.metric.IoStatisticsHolderNoOp;
@@ -30,6 +34,7 @@ import org.apache.ignite.internal.pagemem.PageUtils;
 import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageInsertFragmentRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageInsertRecord;
+import org.apache.ignite.internal.pagemem.wal.record.delta.DataPagePatchRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageRemoveRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageUpdateRecord;
 import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
@@ -44,6 +49,7 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.LongLi
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseBag;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageHandler;
+import org.apache.ignite.internal.util.GridLongList;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
 
@@ -52,9 +58,24 @@ import static org.apache.ignite.internal.pagemem.PageIdAllocator.FLAG_DATA;
 /**
  */
 public abstract class AbstractFreeList<T extends Storable> extends PagesList implements FreeList<T>, ReuseList {
+    /** @see #IGNITE_FREE_LIST_RESERVED_PAGES_STRIPES */
+    public static final int DFLT_FREE_LIST_RESERVED_PAGES_STRIPES = 0;
+
+    /** */
+    @SystemProperty(value = "Number of stripes of data pages reserved by a free list for inserts of small rows. " +
+        "Such rows are appended to the page reserved for the row size class and the stripe of the inserting thread " +
+        "instead of taking a page from the free list buckets for every row. Reserved pages are returned to the " +
+        "buckets when they can not fit a row and on checkpoint. Must be power of 2, " +
+        "0 disables pages reservation. Reservation is disabled by default",
+        type = Integer.class, defaults = "" + DFLT_FREE_LIST_RESERVED_PAGES_STRIPES)
+    public static final String IGNITE_FREE_LIST_RESERVED_PAGES_STRIPES = "IGNITE_FREE_LIST_RESERVED_PAGES_STRIPES";
+
     /** */
     private static final int BUCKETS = 256; // Must be power of 2.
 
+    /** Number of row size classes having separate reserved pages, each class is two times larger than previous. */
+    private static final int SIZE_CLASSES = 4;
+
     /** */
     private static final int REUSE_BUCKET = BUCKETS - 1;
 
@@ -97,6 +118,25 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
     /** Page list cache limit. */
     private final AtomicLong pageListCacheLimit;
 
+    /**
+     * Pages reserved for inserts of small rows indexed by row size class and stripe, {@code 0} stands for an empty
+     * slot. Thread takes a page by resetting its slot, so each reserved page is used by one thread at a time and is not
+     * tracked by buckets. {@code Null} if pages reservation is disabled.
+     */
+    @Nullable private final AtomicLongArray reservedPages;
+
+    /**
+     * Free space of reserved pages indexed by the slot, {@code 0} stands for an empty page. Updated under the write
+     * lock of the page, so it is up to date unless the page has just been taken from the slot or put to it.
+     */
+    @Nullable private final AtomicIntegerArray reservedPagesFreeSpace;
+
+    /** Mask of reserved pages stripe. */
+    private final int reservedStripesMask;
+
+    /** Maximum size of a row which is inserted to reserved pages. */
+    private final int maxReservedRowSize;
+
     /**
      *
      */
@@ -116,11 +156,26 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
 
             int rowSize = row.size();
 
+            boolean walDelta = needWalDeltaRecord(pageId, page, walPlc);
+
+            byte[] oldPayload = null;
+
+            if (walDelta) {
+                DataPagePayload data = io.readPayload(pageAddr, itemId, pageSize());
+
+                // Keep the old row to log only changed bytes if the row is updated in place.
+                if (data.nextLink() == 0 && data.payloadSize() == rowSize) {
+                    oldPayload = new byte[rowSize];
+
+                    PageUtils.getBytes(pageAddr, data.offset(), oldPayload, 0, rowSize);
+                }
+            }
+
             boolean updated = io.updateRow(pageAddr, itemId, pageSize(), null, row, rowSize);
 
             evictionTracker.touchPage(pageId);
 
-            if (updated && needWalDeltaRecord(pageId, page, walPlc)) {
+            if (updated && walDelta) {
                 // TODO This record must contain only a reference to a logical WAL record with the actual data.
                 byte[] payload = new byte[rowSize];
 
@@ -130,11 +185,19 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
 
                 PageUtils.getBytes(pageAddr, data.offset(), payload, 0, rowSize);
 
-                wal.log(new DataPageUpdateRecord(
-                    cacheId,
-                    pageId,
-                    itemId,
-                    payload));
+                byte[] changes = oldPayload != null ? DataPagePatchRecord.changes(oldPayload, payload) : null;
+
+                if (changes != null) {
+                    if (changes.length > 0)
+                        wal.log(new DataPagePatchRecord(cacheId, pageId, itemId, changes));
+                }
+                else {
+                    wal.log(new DataPageUpdateRecord(
+                        cacheId,
+                        pageId,
+                        itemId,
+                        payload));
+                }
             }
 
             return updated;
@@ -142,12 +205,28 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
     }
 
     /** */
-    private final PageHandler<T, Integer> writeRow = new WriteRowHandler();
+    private final PageHandler<T, Integer> writeRow = new WriteRowHandler(false);
+
+    /** */
+    private final PageHandler<T, Integer> writeReservedRow = new WriteRowHandler(true);
 
     /**
      *
      */
     private final class WriteRowHandler extends PageHandler<T, Integer> {
+        /**
+         * If {@code true} the page is kept reserved in the slot of the row after the row is written, instead of being
+         * put to a bucket. Reserved page which can not fit the whole row is returned to a bucket and nothing is written.
+         */
+        private final boolean reserve;
+
+        /**
+         * @param reserve Reserve flag.
+         */
+        WriteRowHandler(boolean reserve) {
+            this.reserve = reserve;
+        }
+
         @Override public Integer run(
             int cacheId,
             long pageId,
@@ -166,6 +245,14 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
 
             assert oldFreeSpace > 0 : oldFreeSpace;
 
+            if (reserve && oldFreeSpace < rowSize) {
+                assert written == 0 : written;
+
+                put(null, pageId, page, pageAddr, bucket(oldFreeSpace, false), statHolder);
+
+                return 0;
+            }
+
             // If the full row does not fit into this page write only a fragment.
             written = (written == 0 && oldFreeSpace >= rowSize) ? addRow(pageId, page, pageAddr, io, row, rowSize) :
                 addRowFragment(pageId, page, pageAddr, io, row, written, rowSize);
@@ -173,6 +260,22 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
             // Reread free space after update.
             int newFreeSpace = io.getFreeSpace(pageAddr);
 
+            if (reserve) {
+                evictionTracker.touchPage(pageId);
+
+                // Full page is not tracked by buckets, so it is just not reserved anymore.
+                if (newFreeSpace > MIN_PAGE_FREE_SPACE) {
+                    int slot = reservedSlot(rowSize);
+
+                    if (reservedPages.compareAndSet(slot, 0L, pageId))
+                        reservedPagesFreeSpace.set(slot, newFreeSpace);
+                    else // Slot has been taken by another page.
+                        put(null, pageId, page, pageAddr, bucket(newFreeSpace, false), statHolder);
+                }
+
+                return COMPLETE;
+            }
+
             if (newFreeSpace > MIN_PAGE_FREE_SPACE) {
                 int bucket = bucket(newFreeSpace, false);
 
@@ -314,7 +417,13 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
                 if (!putIsNeeded) {
                     int oldBucket = bucket(oldFreeSpace, false);
 
-                    if (oldBucket != newBucket) {
+                    // Without onheap caching a page with zero list page ID is not tracked by buckets, it is
+                    // reserved for inserts or has just been taken from its reservation slot.
+                    boolean reserved = !isCachingApplicable() && io.getFreeListPageId(pageAddr) == 0L;
+
+                    assert !reserved || reservedPages != null : "Page is not tracked by buckets: " + U.hexLong(pageId);
+
+                    if (oldBucket != newBucket && !reserved) {
                         // It is possible that page was concurrently taken for put, in this case put will handle bucket change.
                         pageId = maskPartId ? PageIdUtils.maskPartitionId(pageId) : pageId;
 
@@ -330,6 +439,11 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
                 }
                 else if (putIsNeeded)
                     put(null, pageId, page, pageAddr, newBucket, statHolder);
+
+                // Page which is not tracked by buckets may be reserved for inserts, empty reserved page is recycled
+                // when it is released.
+                if (!putIsNeeded && io.getFreeListPageId(pageAddr) == 0L)
+                    onReservedPageFreed(pageId, io.isEmpty(pageAddr) ? 0 : newFreeSpace);
             }
 
             // For common case boxed 0L will be cached inside of Long, so no garbage will be produced.
@@ -337,6 +451,40 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
         }
     }
 
+    /** */
+    private final PageHandler<ReuseBag, Boolean> releaseReservedPage = new ReleaseReservedPageHandler();
+
+    /**
+     * Returns reserved page to the bucket corresponding to its free space or recycles the page if it is empty.
+     */
+    private final class ReleaseReservedPageHandler extends PageHandler<ReuseBag, Boolean> {
+        @Override public Boolean run(
+            int cacheId,
+            long pageId,
+            long page,
+            long pageAddr,
+            PageIO iox,
+            Boolean walPlc,
+            ReuseBag reuseBag,
+            int intArg,
+            IoStatisticsHolder statHolder)
+            throws IgniteCheckedException {
+            AbstractDataPageIO<T> io = (AbstractDataPageIO<T>)iox;
+
+            // Rows could be removed from the page while it was reserved, in this case the page was not recycled.
+            if (io.isEmpty(pageAddr))
+                reuseBag.addFreePage(recyclePage(pageId, page, pageAddr, null));
+            else {
+                int freeSpace = io.getFreeSpace(pageAddr);
+
+                if (freeSpace > MIN_PAGE_FREE_SPACE)
+                    put(null, pageId, page, pageAddr, bucket(freeSpace, false), statHolder);
+            }
+
+            return Boolean.TRUE;
+        }
+    }
+
     /**
      * @param cacheGrpId Cache group ID.
      * @param name Name (for debug purpose).
@@ -378,6 +526,18 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
         // TODO and vice-versa. It should be removed when data storage format is finalized.
         MIN_SIZE_FOR_DATA_PAGE = pageSize - AbstractDataPageIO.MIN_DATA_PAGE_OVERHEAD;
 
+        int reservedStripes = IgniteSystemProperties.getInteger(IGNITE_FREE_LIST_RESERVED_PAGES_STRIPES,
+            DFLT_FREE_LIST_RESERVED_PAGES_STRIPES);
+
+        assert reservedStripes == 0 || U.isPow2(reservedStripes) : reservedStripes;
+
+        reservedPages = reservedStripes > 0 ? new AtomicLongArray(SIZE_CLASSES * reservedStripes) : null;
+        reservedPagesFreeSpace = reservedStripes > 0 ? new AtomicIntegerArray(SIZE_CLASSES * reservedStripes) : null;
+        reservedStripesMask = reservedStripes - 1;
+
+        // Larger rows fill pages quickly, so there is no point to reserve pages for them.
+        maxReservedRowSize = pageSize / 4;
+
         int shift = 0;
 
         while (pageSize > BUCKETS) {
@@ -410,6 +570,13 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
             freeSpace += pages * perPageFreeSpace;
         }
 
+        if (reservedPages != null) {
+            for (int i = 0; i < reservedPages.length(); i++) {
+                if (reservedPages.get(i) != 0L)
+                    freeSpace += reservedPagesFreeSpace.get(i);
+            }
+        }
+
         return freeSpace;
     }
 
@@ -498,6 +665,11 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
         int written = 0;
 
         try {
+            int slot = reservedSlot(rowSize);
+
+            if (slot >= 0 && writeToReservedPage(row, slot, statHolder))
+                return;
+
             do {
                 if (written != 0)
                     memMetrics.incrementLargeEntriesPages();
@@ -539,7 +711,8 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
                     pageId = PageIdUtils.changePartitionId(pageId, row.partition());
                 }
 
-                written = write(pageId, writeRow, initIo, row, written, FAIL_I, statHolder);
+                written = write(pageId, slot >= 0 ? writeReservedRow : writeRow, initIo, row, written, FAIL_I,
+                    statHolder);
 
                 assert written != FAIL_I; // We can't fail here.
             }
@@ -556,6 +729,118 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
         }
     }
 
+    /**
+     * @param rowSize Row size.
+     * @return Index of reserved page slot for the row size class and current thread or {@code -1} if the row should
+     *      not be inserted to a reserved page.
+     */
+    private int reservedSlot(int rowSize) {
+        if (reservedPages == null || rowSize > maxReservedRowSize)
+            return -1;
+
+        int sizeCls = SIZE_CLASSES - 1;
+
+        for (int bound = maxReservedRowSize >>> 1; sizeCls > 0 && rowSize <= bound; bound >>>= 1)
+            sizeCls--;
+
+        return sizeCls * (reservedStripesMask + 1) + (int)(Thread.currentThread().getId() & reservedStripesMask);
+    }
+
+    /**
+     * Writes row to the page reserved in the given slot.
+     *
+     * @param row Row.
+     * @param slot Reserved page slot.
+     * @param statHolder Statistics holder to track IO operations.
+     * @return {@code True} if the row has been written, {@code false} if there is no reserved page in the slot or
+     *      the row does not fit into it.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean writeToReservedPage(T row, int slot, IoStatisticsHolder statHolder) throws IgniteCheckedException {
+        long pageId = reservedPages.getAndSet(slot, 0L);
+
+        if (pageId == 0L)
+            return false;
+
+        pageId = PageIdUtils.changePartitionId(pageId, row.partition());
+
+        int written = write(pageId, writeReservedRow, row, 0, FAIL_I, statHolder);
+
+        assert written != FAIL_I; // We can't fail here.
+
+        return written != 0;
+    }
+
+    /**
+     * Updates free space of the page if it is reserved. Must be called under the write lock of the page.
+     *
+     * @param pageId Page ID.
+     * @param freeSpace Free space of the page, {@code 0} if the page is empty.
+     */
+    private void onReservedPageFreed(long pageId, int freeSpace) {
+        if (reservedPages == null)
+            return;
+
+        int pageIdx = PageIdUtils.pageIndex(pageId);
+
+        for (int i = 0; i < reservedPages.length(); i++) {
+            long reservedPageId = reservedPages.get(i);
+
+            if (reservedPageId != 0L && PageIdUtils.pageIndex(reservedPageId) == pageIdx) {
+                reservedPagesFreeSpace.set(i, freeSpace);
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param pageId Reserved page ID.
+     * @param statHolder Statistics holder to track IO operations.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void releaseReservedPage(long pageId, IoStatisticsHolder statHolder) throws IgniteCheckedException {
+        ReuseBag bag = new LongListReuseBag();
+
+        Boolean released = write(pageId, releaseReservedPage, bag, 0, Boolean.FALSE, statHolder);
+
+        assert released; // We can't fail here.
+
+        if (!bag.isEmpty())
+            reuseList.addForRecycle(bag);
+    }
+
+    /**
+     * Returns reserved pages to the buckets before the metadata is saved, so the saved free list tracks all data pages.
+     * Called on checkpoint when there are no concurrent inserts, so all reserved pages are in their slots.
+     *
+     * @param statHolder Statistics holder to track IO operations.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Override public void saveMetadata(IoStatisticsHolder statHolder) throws IgniteCheckedException {
+        releaseReservedPages(statHolder);
+
+        super.saveMetadata(statHolder);
+    }
+
+    /**
+     * Returns all reserved pages to the buckets, so the buckets track free space of all data pages.
+     *
+     * @param statHolder Statistics holder to track IO operations.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void releaseReservedPages(IoStatisticsHolder statHolder) throws IgniteCheckedException {
+        if (reservedPages == null)
+            return;
+
+        for (int i = 0; i < reservedPages.length(); i++) {
+            long pageId = reservedPages.getAndSet(i, 0L);
+
+            if (pageId != 0L)
+                releaseReservedPage(pageId, statHolder);
+        }
+    }
+
     /**
      * @param reusedPageId Reused page id.
      * @param partId Partition id.
@@ -708,11 +993,38 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
         return pagesCache;
     }
 
+    /**
+     * Collects IDs of data pages tracked by buckets with at least the given free space. Only pages of the free list
+     * are read, data pages are not accessed. Reserved pages are not collected, they are being filled by inserts.
+     *
+     * @param minFreeSpace Minimum free space, in bytes.
+     * @return Data page IDs.
+     * @throws IgniteCheckedException If failed.
+     */
+    public GridLongList dataPages(int minFreeSpace) throws IgniteCheckedException {
+        GridLongList res = new GridLongList();
+
+        // Bucket holds pages with free space from (bucket << shift) up to the next bucket.
+        for (int b = Math.max(1, (minFreeSpace + (1 << shift) - 1) >>> shift); b < REUSE_BUCKET; b++)
+            collectPages(b, res);
+
+        return res;
+    }
+
     /**
      * @return Number of empty data pages in free list.
      */
     public int emptyDataPages() {
-        return (int)bucketsSize.get(REUSE_BUCKET);
+        int emptyPages = (int)bucketsSize.get(REUSE_BUCKET);
+
+        if (reservedPages != null) {
+            for (int i = 0; i < reservedPages.length(); i++) {
+                if (reservedPages.get(i) != 0L && reservedPagesFreeSpace.get(i) == 0)
+                    emptyPages++;
+            }
+        }
+
+        return emptyPages;
     }
 
     /** {@inheritDoc} */
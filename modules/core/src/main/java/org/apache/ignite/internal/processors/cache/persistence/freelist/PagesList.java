@@ -351,7 +351,7 @@ public abstract class PagesList extends DataStructure {
      * explicitly by system property or if page list belongs to in-memory data region (in this case onheap caching
      * makes no sense).
      */
-    private boolean isCachingApplicable() {
+    protected final boolean isCachingApplicable() {
         return !pagesListCachingDisabledSysProp && (wal != null);
     }
 
@@ -829,6 +829,63 @@ public abstract class PagesList extends DataStructure {
         return res;
     }
 
+    /**
+     * Collects IDs of pages stored in the bucket. Only pages list nodes are read, stored pages are not accessed.
+     * The list may be modified concurrently, so the result is a hint which may miss pages or contain pages
+     * which are no longer stored in the bucket.
+     *
+     * @param bucket Bucket index.
+     * @param res List to add page IDs to.
+     * @throws IgniteCheckedException If failed.
+     */
+    protected final void collectPages(int bucket, GridLongList res) throws IgniteCheckedException {
+        Stripe[] tails = getBucket(bucket);
+
+        if (tails != null) {
+            for (Stripe tail : tails) {
+                long tailId = tail.tailId;
+
+                while (tailId != 0L) {
+                    final long pageId = tailId;
+                    final long page = acquirePage(pageId, IoStatisticsHolderNoOp.INSTANCE);
+
+                    try {
+                        long pageAddr = readLock(pageId, page);
+
+                        if (pageAddr == 0L)
+                            break;
+
+                        try {
+                            // The node could be removed from the list and reused concurrently.
+                            if (PageIO.getType(pageAddr) != PageIO.T_PAGE_LIST_NODE)
+                                break;
+
+                            PagesListNodeIO io = PagesListNodeIO.VERSIONS.forPage(pageAddr);
+
+                            int cnt = io.getCount(pageAddr);
+
+                            for (int i = 0; i < cnt; i++)
+                                res.add(io.getAt(pageAddr, i));
+
+                            tailId = io.getPreviousId(pageAddr);
+                        }
+                        finally {
+                            readUnlock(pageId, page, pageAddr);
+                        }
+                    }
+                    finally {
+                        releasePage(pageId, page);
+                    }
+                }
+            }
+        }
+
+        PagesCache pagesCache = getBucketCache(bucket, false);
+
+        if (pagesCache != null)
+            pagesCache.collect(res);
+    }
+
     /**
      * @param bag Reuse bag.
      * @param dataId Data page ID.
@@ -2154,6 +2211,25 @@ public abstract class PagesList extends DataStructure {
             }
         }
 
+        /**
+         * Adds cached page IDs to the list, the cache is not modified.
+         *
+         * @param res List to add page IDs to.
+         */
+        public void collect(GridLongList res) {
+            if (size == 0)
+                return;
+
+            for (int i = 0; i < STRIPES_COUNT; i++) {
+                synchronized (stripeLocks[i]) {
+                    GridLongList stripe = stripes[i];
+
+                    if (stripe != null)
+                        res.addAll(stripe);
+                }
+            }
+        }
+
         /**
          * Poll next page from the list.
          *
@@ -0,0 +1,2124 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.events.DiscoveryEvent;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.events.DiscoveryCustomEvent;
+import org.apache.ignite.internal.managers.discovery.DiscoveryCustomMessage;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.pagemem.store.PageStore;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.WALPointer;
+import org.apache.ignite.internal.pagemem.wal.record.CheckpointRecord;
+import org.apache.ignite.internal.pagemem.wal.record.ConsistentCutRecord;
+import org.apache.ignite.internal.pagemem.wal.record.DataRecord;
+import org.apache.ignite.internal.pagemem.wal.record.RollbackRecord;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.pagemem.wal.record.delta.MetaPageUpdateNextSnapshotId;
+import org.apache.ignite.internal.pagemem.wal.record.delta.TrackingPageDeltaRecord;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.StoredCacheData;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState;
+import org.apache.ignite.internal.processors.cache.persistence.CheckpointState;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointProgress;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.metastorage.MetastorageLifecycleListener;
+import org.apache.ignite.internal.processors.cache.persistence.metastorage.ReadOnlyMetastorage;
+import org.apache.ignite.internal.processors.cache.persistence.metastorage.ReadWriteMetastorage;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPartitionId;
+import org.apache.ignite.internal.processors.cache.persistence.partstate.PartitionAllocationMap;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageMetaIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.TrackingPageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageHandler;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileWALPointer;
+import org.apache.ignite.internal.processors.cache.persistence.wal.reader.FilteredWalIterator;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
+import org.apache.ignite.internal.processors.task.GridInternal;
+import org.apache.ignite.internal.util.future.GridFinishedFuture;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.T2;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteCallable;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.marshaller.Marshaller;
+import org.apache.ignite.marshaller.MarshallerUtils;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.apache.ignite.thread.IgniteThreadPoolExecutor;
+import org.jetbrains.annotations.Nullable;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_DIRECTORY;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_THREADS;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_WAL_RETENTION;
+import static org.apache.ignite.internal.GridClosureCallMode.BROADCAST;
+import static org.apache.ignite.internal.pagemem.PageIdAllocator.INDEX_PARTITION;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.CACHE_DATA_FILENAME;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.INDEX_FILE_NAME;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.PART_FILE_TEMPLATE;
+import static org.apache.ignite.internal.processors.cache.persistence.tree.io.TrackingPageIO.COUNT_OF_EXTRA_PAGE;
+
+/**
+ * Page-level snapshot manager. Used by server nodes with persistence if
+ * {@link IgniteSystemProperties#IGNITE_SNAPSHOT_ENABLED} is set.
+ * <p>
+ * Snapshot is started by {@link SnapshotStartMessage} which triggers partition map exchange, so all server nodes
+ * take their parts of the snapshot at the same consistent point. Each node schedules a checkpoint, reserves its
+ * owning partitions when checkpoint marks dirty pages and copies partition files page by page after the checkpoint
+ * has been written. Pages which are overwritten by later checkpoints before they are copied are saved to the
+ * snapshot in advance (copy-on-write), so the snapshot contains partition files exactly as they were at the
+ * checkpoint.
+ * <p>
+ * First change of every page is marked in tracking pages ({@link TrackingPageIO}) with the tag of the next
+ * snapshot. Incremental snapshot copies only pages changed since the previous successful snapshot of the node.
+ * Partitions which were (re)created after the previous snapshot are copied entirely: partition meta page keeps the
+ * tag of the first snapshot which has seen the partition.
+ * <p>
+ * Snapshot is restored locally on every node by applying the full snapshot and all incremental snapshots of the
+ * chain to partition files of the destroyed caches, after that caches are started from the saved configurations.
+ * <p>
+ * Point-in-time recovery: {@link #createConsistentCut()} makes all server nodes log {@link ConsistentCutRecord} while
+ * cache updates are blocked by partition map exchange. Restored caches may be rolled forward from the snapshot
+ * checkpoint to any such cut by replaying logical WAL records. WAL since the last snapshot is reserved for that only
+ * if {@link IgniteSystemProperties#IGNITE_SNAPSHOT_WAL_RETENTION} is enabled, otherwise it is removed as usual and
+ * recovery is possible only while the segments up to the cut are still available.
+ */
+public class FileSnapshotManager extends IgniteCacheSnapshotManager<LocalSnapshotOperation>
+    implements MetastorageLifecycleListener {
+    /** @see IgniteSystemProperties#IGNITE_SNAPSHOT_ENABLED */
+    public static final boolean DFLT_SNAPSHOT_ENABLED = false;
+
+    /** Default snapshot directory relative to Ignite work directory. */
+    public static final String DFLT_SNAPSHOT_DIRECTORY = "snapshots";
+
+    /** Default number of threads copying partitions. */
+    public static final int DFLT_SNAPSHOT_THREADS = 4;
+
+    /** @see IgniteSystemProperties#IGNITE_SNAPSHOT_WAL_RETENTION */
+    public static final boolean DFLT_SNAPSHOT_WAL_RETENTION = false;
+
+    /** Snapshot metadata file name. */
+    public static final String SNAPSHOT_METADATA_FILENAME = "snapshot.meta";
+
+    /** Snapshot metrics registry name. */
+    public static final String SNAPSHOT_METRICS = "snapshot";
+
+    /** Snapshot partition file suffix. */
+    public static final String SNAPSHOT_FILE_SUFFIX = ".snp";
+
+    /**
+     * First snapshot tag. New partition meta pages are initialized with next snapshot tag {@code 1}, so tags of
+     * real snapshots start from {@code 2}.
+     */
+    private static final long FIRST_TAG = 2;
+
+    /** Metastorage key of the tag which will be used by the next snapshot. */
+    private static final String NEXT_TAG_KEY = "snapshot.tag.next";
+
+    /** Metastorage key of the last successful snapshot tag. */
+    private static final String LAST_TAG_KEY = "snapshot.tag.last";
+
+    /** Metastorage key of the last successful snapshot name. */
+    private static final String LAST_NAME_KEY = "snapshot.name.last";
+
+    /** Snapshot partition file magic number. */
+    private static final int FILE_MAGIC = 0x534E5031;
+
+    /** Size of snapshot partition file header preceding page store header. */
+    private static final int FILE_HEADER_SIZE = 21;
+
+    /** Size of page record header holding the page index. */
+    private static final int REC_HDR_SIZE = 4;
+
+    /** Tracking page IO. */
+    private static final TrackingPageIO trackingIO = TrackingPageIO.VERSIONS.latest();
+
+    /** Number of threads copying partitions. */
+    private final int threads = Math.max(1,
+        IgniteSystemProperties.getInteger(IGNITE_SNAPSHOT_THREADS, DFLT_SNAPSHOT_THREADS));
+
+    /** Buffers of threads saving pages before they are overwritten. */
+    private final ThreadLocal<ByteBuffer> cowBuf = ThreadLocal.withInitial(() ->
+        ByteBuffer.allocateDirect(cctx.database().pageSize()).order(ByteOrder.nativeOrder()));
+
+    /** Whether WAL since the last snapshot is reserved for point-in-time recovery. */
+    private final boolean walRetention =
+        IgniteSystemProperties.getBoolean(IGNITE_SNAPSHOT_WAL_RETENTION, DFLT_SNAPSHOT_WAL_RETENTION);
+
+    /** Snapshot root directory. */
+    private File snpRoot;
+
+    /** Marshaller. */
+    private Marshaller marsh;
+
+    /** Thread pool copying partitions. */
+    private IgniteThreadPoolExecutor pool;
+
+    /** Metastorage. */
+    private volatile ReadWriteMetastorage metaStorage;
+
+    /** Tag of the next snapshot, changed pages are marked with it. */
+    private volatile long nextTag = FIRST_TAG;
+
+    /** Tag of the last successful snapshot. */
+    private volatile long lastTag;
+
+    /** Name of the last successful snapshot. */
+    private volatile String lastName;
+
+    /** Whether changed pages are tracked. */
+    private volatile boolean tracking;
+
+    /** Snapshot futures by snapshot name. */
+    private final ConcurrentMap<String, GridFutureAdapter<Void>> futs = new ConcurrentHashMap<>();
+
+    /** Snapshot waiting for checkpoint. */
+    private volatile SnapshotTask pendingTask;
+
+    /** Snapshot being copied. */
+    private volatile SnapshotTask curTask;
+
+    /** Consistent cut futures by cut timestamp. */
+    private final ConcurrentMap<Long, GridFutureAdapter<Long>> cutFuts = new ConcurrentHashMap<>();
+
+    /** Names of caches which are rolled forward to a consistent cut and are not available to users yet. */
+    private final Set<String> restoringCaches = ConcurrentHashMap.newKeySet();
+
+    /** Start of WAL reserved for point-in-time recovery. */
+    private WALPointer reservedWalPtr;
+
+    /** Timestamp of the last consistent cut. */
+    private AtomicLongMetric lastCutTime;
+
+    /** Number of WAL records replayed by point-in-time recovery. */
+    private AtomicLongMetric replayedRecords;
+
+    /** Number of data entries applied by point-in-time recovery. */
+    private AtomicLongMetric replayedEntries;
+
+    /** WAL segment being replayed by point-in-time recovery. */
+    private AtomicLongMetric replaySegment;
+
+    /** WAL segment of the consistent cut point-in-time recovery replays WAL to. */
+    private AtomicLongMetric replayTargetSegment;
+
+    /** {@inheritDoc} */
+    @Override protected void start0() throws IgniteCheckedException {
+        super.start0();
+
+        snpRoot = U.resolveWorkDirectory(cctx.gridConfig().getWorkDirectory(),
+            IgniteSystemProperties.getString(IGNITE_SNAPSHOT_DIRECTORY, DFLT_SNAPSHOT_DIRECTORY), false);
+
+        marsh = MarshallerUtils.jdkMarshaller(cctx.igniteInstanceName());
+
+        pool = new IgniteThreadPoolExecutor(
+            "snapshot-worker",
+            cctx.igniteInstanceName(),
+            threads,
+            threads,
+            30_000,
+            new LinkedBlockingQueue<>()
+        );
+
+        MetricRegistry mreg = cctx.kernalContext().metric().registry(SNAPSHOT_METRICS);
+
+        lastCutTime = mreg.longMetric("LastConsistentCutTime", "Timestamp of the last consistent cut logged to WAL.");
+
+        replayedRecords = mreg.longMetric("WalReplayedRecords",
+            "Number of WAL records replayed by the current or the last point-in-time recovery.");
+
+        replayedEntries = mreg.longMetric("WalReplayedEntries",
+            "Number of data entries applied by the current or the last point-in-time recovery.");
+
+        replaySegment = mreg.longMetric("WalReplaySegment",
+            "Index of WAL segment being replayed by point-in-time recovery.");
+
+        replayTargetSegment = mreg.longMetric("WalReplayTargetSegment",
+            "Index of WAL segment containing the consistent cut point-in-time recovery replays WAL to.");
+
+        cctx.kernalContext().internalSubscriptionProcessor().registerMetastorageListener(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void stop0(boolean cancel) {
+        IgniteCheckedException err = new IgniteCheckedException("Node is stopping.");
+
+        SnapshotTask task = pendingTask;
+
+        if (task != null)
+            task.onDone(err);
+
+        task = curTask;
+
+        if (task != null)
+            task.onDone(err);
+
+        U.shutdownNow(getClass(), pool, log);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onReadyForRead(ReadOnlyMetastorage metastorage) throws IgniteCheckedException {
+        Long next = (Long)metastorage.read(NEXT_TAG_KEY);
+
+        if (next != null) {
+            nextTag = next;
+
+            // Pages must be tracked continuously since the first snapshot.
+            tracking = true;
+        }
+
+        Long last = (Long)metastorage.read(LAST_TAG_KEY);
+
+        if (last != null)
+            lastTag = last;
+
+        lastName = (String)metastorage.read(LAST_NAME_KEY);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onReadyForReadWrite(ReadWriteMetastorage metastorage) {
+        metaStorage = metastorage;
+
+        String name = lastName;
+
+        if (name == null)
+            return;
+
+        try {
+            reserveWal(readMetadata(name).walPointer());
+        }
+        catch (IgniteCheckedException e) {
+            U.warn(log, "Failed to reserve WAL for point-in-time recovery [snapshot=" + name + ", err=" +
+                e.getMessage() + ']');
+        }
+    }
+
+    /**
+     * Starts snapshot creation on all server nodes.
+     *
+     * @param name Snapshot name.
+     * @param incremental {@code True} to save only pages changed since the previous snapshot.
+     * @return Future completed when the local part of the snapshot is saved.
+     */
+    public IgniteInternalFuture<Void> createSnapshot(String name, boolean incremental) {
+        if (F.isEmpty(name) || !name.matches("[\\w.\\-]+"))
+            return new GridFinishedFuture<>(new IgniteCheckedException("Invalid snapshot name: " + name));
+
+        GridFutureAdapter<Void> old = futs.get(name);
+
+        if ((old != null && (!old.isDone() || old.error() == null)) || snapshotDirectory(name).exists())
+            return new GridFinishedFuture<>(new IgniteCheckedException("Snapshot already exists: " + name));
+
+        GridFutureAdapter<Void> fut = new GridFutureAdapter<>();
+
+        futs.put(name, fut);
+
+        try {
+            cctx.discovery().sendCustomEvent(new SnapshotStartMessage(name, incremental, cctx.localNodeId()));
+        }
+        catch (IgniteCheckedException e) {
+            futs.remove(name, fut);
+
+            fut.onDone(e);
+        }
+
+        return fut;
+    }
+
+    /**
+     * Makes all server nodes log {@link ConsistentCutRecord} which may be used as a target of point-in-time recovery.
+     *
+     * @return Future completed with the cut timestamp when the cut is logged on this node.
+     */
+    public IgniteInternalFuture<Long> createConsistentCut() {
+        long ts = Math.max(U.currentTimeMillis(), lastCutTime.value() + 1);
+
+        GridFutureAdapter<Long> fut = new GridFutureAdapter<>();
+
+        cutFuts.put(ts, fut);
+
+        try {
+            cctx.discovery().sendCustomEvent(new ConsistentCutMessage(ts, cctx.localNodeId()));
+        }
+        catch (IgniteCheckedException e) {
+            cutFuts.remove(ts, fut);
+
+            fut.onDone(e);
+        }
+
+        return fut;
+    }
+
+    /**
+     * @param name Snapshot name.
+     * @return Future of local part of the snapshot or {@code null} if snapshot has not been started on this node.
+     */
+    @Nullable public IgniteInternalFuture<Void> snapshotFuture(String name) {
+        return futs.get(name);
+    }
+
+    /**
+     * Restores snapshot on all server nodes and starts the caches it contains. Caches must be destroyed before restore.
+     * If the consistent cut is specified, caches are rolled forward to the cut by replaying WAL since the snapshot.
+     * Restored caches are not available until WAL is replayed on all server nodes. If replay fails, they stay
+     * unavailable and must be destroyed.
+     *
+     * @param name Snapshot name.
+     * @param cutTs Timestamp of the consistent cut to recover caches to or {@code null} to restore the snapshot as is.
+     * @return Future completed when caches are started.
+     */
+    public IgniteInternalFuture<Collection<String>> restoreSnapshot(String name, @Nullable Long cutTs) {
+        GridFutureAdapter<Collection<String>> fut = new GridFutureAdapter<>();
+
+        pool.execute(() -> {
+            try {
+                fut.onDone(restoreSnapshot0(name, cutTs));
+            }
+            catch (Throwable e) {
+                fut.onDone(e);
+            }
+        });
+
+        return fut;
+    }
+
+    /**
+     * @return Description of local snapshots and snapshot operations.
+     */
+    public String status() {
+        StringBuilder sb = new StringBuilder();
+
+        File[] dirs = snpRoot.listFiles(File::isDirectory);
+
+        Set<String> names = new HashSet<>(futs.keySet());
+
+        if (dirs != null) {
+            for (File dir : dirs)
+                names.add(dir.getName());
+        }
+
+        List<String> sorted = new ArrayList<>(names);
+
+        Collections.sort(sorted);
+
+        for (String name : sorted) {
+            GridFutureAdapter<Void> fut = futs.get(name);
+
+            sb.append(name).append(" [");
+
+            if (fut != null && !fut.isDone())
+                sb.append("state=IN_PROGRESS");
+            else if (fut != null && fut.error() != null)
+                sb.append("state=FAILED, err=").append(fut.error().getMessage());
+            else {
+                try {
+                    SnapshotMetadata meta = readMetadata(name);
+
+                    sb.append("state=COMPLETED, type=").append(meta.incremental() ? "INCREMENTAL" : "FULL");
+
+                    if (meta.incremental())
+                        sb.append(", base=").append(meta.baseName());
+
+                    sb.append(", caches=").append(meta.cacheNames());
+                }
+                catch (IgniteCheckedException e) {
+                    sb.append("state=INCOMPLETE");
+                }
+            }
+
+            sb.append("]").append(U.nl());
+        }
+
+        return sb.length() == 0 ? "No snapshots found." + U.nl() : sb.toString();
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public IgniteInternalFuture tryStartLocalSnapshotOperation(
+        @Nullable DiscoveryEvent discoveryEvt,
+        AffinityTopologyVersion topVer
+    ) {
+        if (!(discoveryEvt instanceof DiscoveryCustomEvent))
+            return null;
+
+        DiscoveryCustomMessage msg = ((DiscoveryCustomEvent)discoveryEvt).customMessage();
+
+        if (msg instanceof ConsistentCutMessage) {
+            logConsistentCut((ConsistentCutMessage)msg);
+
+            return null;
+        }
+
+        if (!(msg instanceof SnapshotStartMessage))
+            return null;
+
+        SnapshotStartMessage startMsg = (SnapshotStartMessage)msg;
+
+        GridFutureAdapter<Void> fut = cctx.localNodeId().equals(startMsg.initiatorId()) ?
+            futs.get(startMsg.snapshotName()) : null;
+
+        if (fut == null || fut.isDone()) {
+            fut = new GridFutureAdapter<>();
+
+            futs.put(startMsg.snapshotName(), fut);
+        }
+
+        try {
+            SnapshotTask task = prepareTask(startMsg, fut);
+
+            pendingTask = task;
+
+            return ((GridCacheDatabaseSharedManager)cctx.database()).getCheckpointer()
+                .wakeupForSnapshotCreation(task.op);
+        }
+        catch (IgniteCheckedException e) {
+            U.error(log, "Failed to start snapshot [name=" + startMsg.snapshotName() + ']', e);
+
+            fut.onDone(e);
+
+            return null;
+        }
+    }
+
+    /**
+     * Logs consistent cut record. Called while cache updates are blocked by partition map exchange.
+     *
+     * @param msg Consistent cut message.
+     */
+    private void logConsistentCut(ConsistentCutMessage msg) {
+        GridFutureAdapter<Long> fut = cctx.localNodeId().equals(msg.initiatorId()) ?
+            cutFuts.remove(msg.timestamp()) : null;
+
+        try {
+            WALPointer ptr = cctx.wal().log(new ConsistentCutRecord(msg.timestamp()));
+
+            cctx.wal().flush(ptr, true);
+
+            if (msg.timestamp() > lastCutTime.value())
+                lastCutTime.value(msg.timestamp());
+
+            if (log.isInfoEnabled())
+                log.info("Consistent cut logged [ts=" + msg.timestamp() + ", ptr=" + ptr + ']');
+
+            if (fut != null)
+                fut.onDone(msg.timestamp());
+        }
+        catch (IgniteCheckedException e) {
+            U.error(log, "Failed to log consistent cut [ts=" + msg.timestamp() + ']', e);
+
+            if (fut != null)
+                fut.onDone(e);
+        }
+    }
+
+    /**
+     * @param msg Snapshot start message.
+     * @param fut Snapshot future.
+     * @return Snapshot task.
+     * @throws IgniteCheckedException If snapshot can't be started.
+     */
+    private SnapshotTask prepareTask(SnapshotStartMessage msg, GridFutureAdapter<Void> fut)
+        throws IgniteCheckedException {
+        if (pendingTask != null || curTask != null)
+            throw new IgniteCheckedException("Another snapshot operation is in progress.");
+
+        File dir = snapshotDirectory(msg.snapshotName());
+
+        if (dir.exists())
+            throw new IgniteCheckedException("Snapshot directory already exists: " + dir.getAbsolutePath());
+
+        SnapshotMetadata base = null;
+
+        if (msg.incremental()) {
+            String baseName = lastName;
+
+            if (baseName == null) {
+                throw new IgniteCheckedException("Failed to create incremental snapshot, there is no previous " +
+                    "snapshot on the node. Create full snapshot first.");
+            }
+
+            base = readMetadata(baseName);
+
+            if (base.tag() != lastTag) {
+                throw new IgniteCheckedException("Failed to create incremental snapshot, previous snapshot " +
+                    "does not match the node state. Create full snapshot first [base=" + baseName + ']');
+            }
+        }
+
+        Set<Integer> grpIds = new HashSet<>();
+        Set<String> cacheNames = new HashSet<>();
+
+        for (CacheGroupContext grp : cctx.cache().cacheGroups()) {
+            if (!grp.persistenceEnabled() || !grp.userCache() || grp.isLocal() || !grp.affinityNode())
+                continue;
+
+            if (grp.config().isEncryptionEnabled()) {
+                U.warn(log, "Encrypted cache group will not be included into snapshot [grp=" +
+                    grp.cacheOrGroupName() + ']');
+
+                continue;
+            }
+
+            grpIds.add(grp.groupId());
+
+            for (GridCacheContext<?, ?> cacheCtx : grp.caches())
+                cacheNames.add(cacheCtx.name());
+        }
+
+        long tag = nextTag;
+
+        // Tag is never reused, even if the node fails before the snapshot is completed.
+        writeMetastorage(NEXT_TAG_KEY, tag + 1);
+
+        LocalSnapshotOperation op = new LocalSnapshotOperation(msg.snapshotName(), tag, msg.incremental(),
+            grpIds, cacheNames);
+
+        return new SnapshotTask(op, base, dir, fut);
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<?> onMarkCheckPointBegin(
+        LocalSnapshotOperation op,
+        CheckpointRecord cpRec,
+        PartitionAllocationMap map
+    ) {
+        SnapshotTask task = pendingTask;
+
+        if (task == null || task.op != op)
+            return null;
+
+        pendingTask = null;
+
+        task.cpRec = cpRec;
+
+        try {
+            task.init();
+
+            curTask = task;
+        }
+        catch (IgniteCheckedException | RuntimeException e) {
+            task.onDone(e);
+        }
+        finally {
+            nextTag = op.tag() + 1;
+
+            tracking = true;
+        }
+
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void afterCheckpointPageWritten() {
+        SnapshotTask task = curTask;
+
+        if (task != null && !task.started)
+            task.start();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void beforePageWrite(FullPageId fullId) {
+        SnapshotTask task = curTask;
+
+        if (task == null || !task.started)
+            return;
+
+        PartitionCopy part = task.parts.get(
+            new GroupPartitionId(fullId.groupId(), PageIdUtils.partId(fullId.pageId())));
+
+        if (part != null)
+            part.onPageWrite(fullId.pageId());
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean snapshotOperationInProgress() {
+        return pendingTask != null || curTask != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean cacheRestoring(String cacheName) {
+        return restoringCaches.contains(cacheName);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onCacheGroupStop(CacheGroupContext gctx, boolean destroy) {
+        for (SnapshotTask task : Arrays.asList(pendingTask, curTask)) {
+            if (task != null && task.op.cacheGroupIds().contains(gctx.groupId())) {
+                task.onDone(new IgniteCheckedException("Cache group has been stopped during snapshot [grp=" +
+                    gctx.cacheOrGroupName() + ']'));
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onChangeTrackerPage(
+        Long page,
+        FullPageId fullId,
+        PageMemory pageMem
+    ) throws IgniteCheckedException {
+        if (!tracking)
+            return;
+
+        long pageId = fullId.pageId();
+
+        // Partition meta page is always saved.
+        if (PageIdUtils.pageIndex(pageId) == 0)
+            return;
+
+        int grpId = fullId.groupId();
+
+        int pageSize = pageMem.realPageSize(grpId);
+
+        long trackingPageId = trackingIO.trackingPageFor(pageId, pageSize);
+
+        if (PageIdUtils.pageIndex(trackingPageId) == PageIdUtils.pageIndex(pageId))
+            return;
+
+        // Tags are changed under checkpoint write lock, so they are stable while page is being modified.
+        long next = nextTag;
+        long last = lastTag;
+
+        long trackingPage = pageMem.acquirePage(grpId, trackingPageId);
+
+        try {
+            long pageAddr = pageMem.writeLock(grpId, trackingPageId, trackingPage);
+
+            if (pageAddr == 0L)
+                return;
+
+            boolean changed = false;
+
+            try {
+                if (PageIO.getType(pageAddr) != trackingIO.getType())
+                    return;
+
+                trackingIO.markChanged(pageMem.pageBuffer(pageAddr), pageId, next, last, pageSize);
+
+                changed = true;
+
+                if (PageHandler.isWalDeltaRecordNeeded(pageMem, grpId, trackingPageId, trackingPage, cctx.wal(), null))
+                    cctx.wal().log(new TrackingPageDeltaRecord(grpId, trackingPageId, pageId, next, last));
+            }
+            finally {
+                pageMem.writeUnlock(grpId, trackingPageId, trackingPage, null, changed);
+            }
+        }
+        finally {
+            pageMem.releasePage(grpId, trackingPageId, trackingPage);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onDeActivate(GridKernalContext kctx) {
+        IgniteCheckedException err = new IgniteCheckedException("Cluster is being deactivated.");
+
+        for (SnapshotTask task : Arrays.asList(pendingTask, curTask)) {
+            if (task != null)
+                task.onDone(err);
+        }
+    }
+
+    /**
+     * @param name Snapshot name.
+     * @param cutTs Timestamp of the consistent cut to recover caches to.
+     * @return Caches started from the snapshot.
+     * @throws IgniteCheckedException If failed.
+     */
+    private Collection<String> restoreSnapshot0(String name, @Nullable Long cutTs) throws IgniteCheckedException {
+        Collection<ClusterNode> srvs = cctx.discovery().aliveServerNodes();
+
+        Collection<Collection<StoredCacheData>> res;
+
+        try {
+            res = cctx.kernalContext().closure().callAsync(BROADCAST,
+                Collections.singletonList(new RestoreJob(name, cutTs, false)), srvs).get();
+        }
+        catch (IgniteCheckedException e) {
+            try {
+                cctx.kernalContext().closure().callAsync(BROADCAST,
+                    Collections.singletonList(new RestoreJob(name, null, true)), srvs).get();
+            }
+            catch (IgniteCheckedException e0) {
+                e.addSuppressed(e0);
+            }
+
+            throw e;
+        }
+
+        Map<String, StoredCacheData> ccfgs = new HashMap<>();
+
+        for (Collection<StoredCacheData> nodeRes : res) {
+            for (StoredCacheData data : nodeRes)
+                ccfgs.putIfAbsent(data.config().getName(), data);
+        }
+
+        if (ccfgs.isEmpty())
+            throw new IgniteCheckedException("Snapshot not found: " + name);
+
+        if (cutTs == null)
+            cctx.cache().dynamicStartCachesByStoredConf(ccfgs.values(), true, true, false, null, false).get();
+        else
+            startAndReplay(name, cutTs, ccfgs, srvs);
+
+        if (log.isInfoEnabled())
+            log.info("Snapshot restored [name=" + name + ", cutTs=" + cutTs + ", caches=" + ccfgs.keySet() + ']');
+
+        return ccfgs.keySet();
+    }
+
+    /**
+     * Starts restored caches with suspended proxies and rolls them forward to the consistent cut. Proxies are restarted
+     * only after WAL has been replayed on all server nodes, so users can not update the caches before they reach
+     * the cut. If replay fails, caches stay unavailable and must be destroyed.
+     *
+     * @param name Snapshot name.
+     * @param cutTs Timestamp of the consistent cut to recover caches to.
+     * @param ccfgs Configurations of restored caches by cache names.
+     * @param srvs Server nodes.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void startAndReplay(
+        String name,
+        long cutTs,
+        Map<String, StoredCacheData> ccfgs,
+        Collection<ClusterNode> srvs
+    ) throws IgniteCheckedException {
+        Collection<String> cacheNames = new ArrayList<>(ccfgs.keySet());
+
+        // Client nodes start caches on demand, they must suspend proxies of the restored caches as well.
+        cctx.kernalContext().closure().callAsync(BROADCAST,
+            Collections.singletonList(new RestoringCachesJob(cacheNames, true, false)),
+            cctx.discovery().allNodes()).get();
+
+        boolean replayed = false;
+
+        try {
+            cctx.cache().dynamicStartCachesByStoredConf(ccfgs.values(), true, true, true, null, false).get();
+
+            cctx.kernalContext().closure().callAsync(BROADCAST,
+                Collections.singletonList(new ReplayJob(name, cutTs)), srvs).get();
+
+            replayed = true;
+        }
+        finally {
+            cctx.kernalContext().closure().callAsync(BROADCAST,
+                Collections.singletonList(new RestoringCachesJob(cacheNames, false, replayed)),
+                cctx.discovery().allNodes()).get();
+        }
+    }
+
+    /**
+     * Restores local part of the snapshot to partition files.
+     *
+     * @param name Snapshot name.
+     * @param cutTs Timestamp of the consistent cut caches will be recovered to.
+     * @return Configurations of caches to start.
+     * @throws IgniteCheckedException If failed.
+     */
+    private Collection<StoredCacheData> restoreLocal(String name, @Nullable Long cutTs) throws IgniteCheckedException {
+        if (!new File(snapshotDirectory(name), SNAPSHOT_METADATA_FILENAME).exists())
+            return Collections.emptyList();
+
+        LinkedList<SnapshotMetadata> chain = new LinkedList<>();
+
+        for (String snpName = name; snpName != null; snpName = chain.getFirst().baseName())
+            chain.addFirst(readMetadata(snpName));
+
+        SnapshotMetadata meta = chain.getLast();
+
+        if (meta.pageSize() != cctx.database().pageSize()) {
+            throw new IgniteCheckedException("Snapshot page size differs from the configured one [snpPageSize=" +
+                meta.pageSize() + ", pageSize=" + cctx.database().pageSize() + ']');
+        }
+
+        for (String cacheName : meta.cacheNames()) {
+            if (cctx.cache().cacheDescriptor(cacheName) != null)
+                throw new IgniteCheckedException("Cache must be destroyed before snapshot restore: " + cacheName);
+        }
+
+        // Fail before the partitions are touched if WAL can't be replayed.
+        if (cutTs != null && findConsistentCut(meta.walPointer(), cutTs) == null) {
+            throw new IgniteCheckedException("Consistent cut is not found in WAL since the snapshot [snapshot=" + name +
+                ", cutTs=" + cutTs + ']');
+        }
+
+        FilePageStoreManager pageStore = (FilePageStoreManager)cctx.pageStore();
+
+        for (String dirName : meta.groupDirectories().values()) {
+            String[] files = new File(pageStore.workDir(), dirName).list();
+
+            if (!F.isEmpty(files)) {
+                throw new IgniteCheckedException("Cache directory must be empty before snapshot restore: " +
+                    new File(pageStore.workDir(), dirName).getAbsolutePath());
+            }
+        }
+
+        // WAL records of the destroyed caches must not be replayed over the restored partitions.
+        CheckpointProgress cp = cctx.database().forceCheckpoint("snapshot restore");
+
+        if (cp != null)
+            cp.futureFor(CheckpointState.FINISHED).get();
+
+        List<T2<Integer, Integer>> parts = new ArrayList<>();
+
+        try {
+            for (Map.Entry<Integer, String> e : meta.groupDirectories().entrySet()) {
+                File grpDir = new File(pageStore.workDir(), e.getValue());
+
+                // Incomplete directory is removed on node start if the node fails during restore.
+                if (!grpDir.mkdirs() && !grpDir.isDirectory())
+                    throw new IgniteCheckedException("Failed to create cache directory: " + grpDir.getAbsolutePath());
+
+                Files.createFile(new File(grpDir, SNAPSHOT_RESTORE_STARTED_LOCK_FILENAME).toPath());
+
+                for (Integer partId : meta.pageCounts().get(e.getKey()).keySet())
+                    parts.add(new T2<>(e.getKey(), partId));
+            }
+
+            U.doInParallel(pool, parts, part -> {
+                restorePartition(chain, part.get1(), part.get2());
+
+                return null;
+            });
+
+            List<StoredCacheData> res = new ArrayList<>();
+
+            for (String dirName : meta.groupDirectories().values()) {
+                File[] cfgFiles = new File(snapshotDirectory(name), dirName)
+                    .listFiles(f -> f.getName().endsWith(CACHE_DATA_FILENAME));
+
+                if (cfgFiles == null)
+                    continue;
+
+                for (File cfgFile : cfgFiles) {
+                    try (InputStream in = new BufferedInputStream(new FileInputStream(cfgFile))) {
+                        res.add(marsh.unmarshal(in, U.resolveClassLoader(cctx.gridConfig())));
+                    }
+                }
+
+                Files.delete(new File(new File(pageStore.workDir(), dirName),
+                    SNAPSHOT_RESTORE_STARTED_LOCK_FILENAME).toPath());
+            }
+
+            // Restored partitions are not tracked since the last snapshot, so next snapshot must be full.
+            lastName = null;
+
+            removeMetastorage(LAST_NAME_KEY);
+
+            if (log.isInfoEnabled())
+                log.info("Snapshot partitions restored [name=" + name + ", parts=" + parts.size() + ']');
+
+            return res;
+        }
+        catch (IOException e) {
+            cleanupRestore(name);
+
+            throw new IgniteCheckedException("Failed to restore snapshot [name=" + name + ']', e);
+        }
+        catch (IgniteCheckedException | RuntimeException e) {
+            cleanupRestore(name);
+
+            throw e;
+        }
+    }
+
+    /**
+     * @param from Pointer to start search from.
+     * @param ts Cut timestamp.
+     * @return Pointer to the consistent cut record or {@code null} if it is not found.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable private WALPointer findConsistentCut(@Nullable WALPointer from, long ts) throws IgniteCheckedException {
+        if (from == null)
+            return null;
+
+        try (WALIterator it = cctx.wal().replay(from, (type, ptr) -> type == WALRecord.RecordType.CONSISTENT_CUT_V2)) {
+            while (it.hasNext()) {
+                WALRecord rec = it.next().get2();
+
+                if (rec instanceof ConsistentCutRecord && ((ConsistentCutRecord)rec).timestamp() == ts)
+                    return rec.position();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Rolls restored caches forward from the snapshot checkpoint to the consistent cut. Data entries are applied in
+     * parallel by stripes of the striped executor, updates of the same partition are applied in WAL order.
+     *
+     * @param name Snapshot name.
+     * @param cutTs Cut timestamp.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void replayLocal(String name, long cutTs) throws IgniteCheckedException {
+        if (!new File(snapshotDirectory(name), SNAPSHOT_METADATA_FILENAME).exists())
+            return;
+
+        SnapshotMetadata meta = readMetadata(name);
+
+        WALPointer cutPtr = findConsistentCut(meta.walPointer(), cutTs);
+
+        if (cutPtr == null)
+            throw new IgniteCheckedException("Consistent cut is not found in WAL [cutTs=" + cutTs +
+                ", walRetention=" + walRetention + ']');
+
+        Set<Integer> cacheIds = new HashSet<>();
+
+        for (String cacheName : meta.cacheNames())
+            cacheIds.add(CU.cacheId(cacheName));
+
+        Set<Integer> grpIds = meta.groupDirectories().keySet();
+
+        replayedRecords.reset();
+        replayedEntries.reset();
+        replaySegment.value(((FileWALPointer)meta.walPointer()).index());
+        replayTargetSegment.value(((FileWALPointer)cutPtr).index());
+
+        long start = U.currentTimeMillis();
+
+        WALIterator it = new FilteredWalIterator(
+            cctx.wal().replay(meta.walPointer(), (type, ptr) -> type == WALRecord.RecordType.DATA_RECORD ||
+                type == WALRecord.RecordType.DATA_RECORD_V2 || type == WALRecord.RecordType.ROLLBACK_TX_RECORD ||
+                type == WALRecord.RecordType.CONSISTENT_CUT_V2),
+            // Gaps in update counters are closed only for restored groups, other caches are not affected.
+            next -> !(next.get2() instanceof RollbackRecord) ||
+                grpIds.contains(((RollbackRecord)next.get2()).groupId())
+        );
+
+        try {
+            ((GridCacheDatabaseSharedManager)cctx.database()).applyUpdates(
+                it,
+                (ptr, rec) -> rec instanceof ConsistentCutRecord && ((ConsistentCutRecord)rec).timestamp() == cutTs,
+                (rec, entry) -> {
+                    if (entry == null)
+                        return rec instanceof DataRecord;
+
+                    if (!cacheIds.contains(entry.cacheId()))
+                        return false;
+
+                    replayedEntries.increment();
+
+                    return true;
+                },
+                true,
+                ptr -> {
+                    replayedRecords.increment();
+
+                    if (ptr != null)
+                        replaySegment.value(((FileWALPointer)ptr).index());
+                },
+                true
+            );
+        }
+        finally {
+            it.close();
+        }
+
+        replaySegment.value(((FileWALPointer)cutPtr).index());
+
+        // Replayed updates are not logged, so they must be persisted before the node may fail.
+        CheckpointProgress cp = cctx.database().forceCheckpoint("point-in-time recovery");
+
+        if (cp != null)
+            cp.futureFor(CheckpointState.FINISHED).get();
+
+        if (log.isInfoEnabled()) {
+            log.info("Point-in-time recovery finished [snapshot=" + name + ", cutTs=" + cutTs + ", records=" +
+                replayedRecords.value() + ", entries=" + replayedEntries.value() + ", time=" +
+                (U.currentTimeMillis() - start) + "ms]");
+        }
+    }
+
+    /**
+     * Reserves WAL since the given pointer for point-in-time recovery and releases the previous reservation.
+     * Does nothing unless {@link IgniteSystemProperties#IGNITE_SNAPSHOT_WAL_RETENTION} is enabled.
+     *
+     * @param ptr Pointer to the snapshot checkpoint record.
+     */
+    private synchronized void reserveWal(@Nullable WALPointer ptr) {
+        if (!walRetention || ptr == null || ptr.equals(reservedWalPtr))
+            return;
+
+        if (!cctx.wal().reserve(ptr)) {
+            U.warn(log, "WAL since the snapshot is not available, point-in-time recovery to the later consistent " +
+                "cuts will not be possible [ptr=" + ptr + ']');
+
+            return;
+        }
+
+        if (reservedWalPtr != null)
+            cctx.wal().release(reservedWalPtr);
+
+        reservedWalPtr = ptr;
+    }
+
+    /**
+     * Removes partition files restored from the snapshot for caches which have not been started.
+     *
+     * @param name Snapshot name.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void cleanupRestore(String name) throws IgniteCheckedException {
+        if (!new File(snapshotDirectory(name), SNAPSHOT_METADATA_FILENAME).exists())
+            return;
+
+        SnapshotMetadata meta = readMetadata(name);
+
+        File workDir = ((FilePageStoreManager)cctx.pageStore()).workDir();
+
+        for (Map.Entry<Integer, String> e : meta.groupDirectories().entrySet()) {
+            if (cctx.cache().cacheGroupDescriptor(e.getKey()) == null)
+                U.delete(new File(workDir, e.getValue()));
+        }
+    }
+
+    /**
+     * Applies partition files of the snapshot chain one by one.
+     *
+     * @param chain Snapshot chain starting from the full snapshot.
+     * @param grpId Cache group ID.
+     * @param partId Partition ID.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void restorePartition(List<SnapshotMetadata> chain, int grpId, int partId) throws IgniteCheckedException {
+        FileIOFactory ioFactory = cctx.gridConfig().getDataStorageConfiguration().getFileIOFactory();
+
+        String grpDir = chain.get(chain.size() - 1).groupDirectories().get(grpId);
+
+        File dst = new File(new File(((FilePageStoreManager)cctx.pageStore()).workDir(), grpDir),
+            partId == INDEX_PARTITION ? INDEX_FILE_NAME : String.format(PART_FILE_TEMPLATE, partId));
+
+        try (FileIO out = ioFactory.create(dst)) {
+            for (SnapshotMetadata meta : chain) {
+                String dir = meta.groupDirectories().get(grpId);
+
+                File src = dir == null ? null : new File(new File(snapshotDirectory(meta.name()), dir),
+                    snapshotFileName(partId));
+
+                if (src == null || !src.exists())
+                    continue;
+
+                try (FileIO in = ioFactory.create(src, READ)) {
+                    ByteBuffer hdr = ByteBuffer.allocate(FILE_HEADER_SIZE);
+
+                    in.readFully(hdr, 0);
+
+                    hdr.flip();
+
+                    if (hdr.getInt() != FILE_MAGIC)
+                        throw new IgniteCheckedException("Invalid snapshot file: " + src.getAbsolutePath());
+
+                    int pageSize = hdr.getInt();
+                    int pageCnt = hdr.getInt();
+                    boolean full = hdr.get() != 0;
+                    int storeHdrSize = hdr.getInt();
+                    int pagesOff = hdr.getInt();
+
+                    assert pageCnt >= 0 && pagesOff == FILE_HEADER_SIZE + storeHdrSize : src;
+
+                    if (full) {
+                        ByteBuffer storeHdr = ByteBuffer.allocate(storeHdrSize);
+
+                        in.readFully(storeHdr, FILE_HEADER_SIZE);
+
+                        storeHdr.flip();
+
+                        out.clear();
+
+                        out.writeFully(storeHdr, 0);
+                    }
+
+                    ByteBuffer rec = ByteBuffer.allocate(REC_HDR_SIZE + pageSize);
+
+                    for (long pos = pagesOff; pos < in.size(); pos += rec.capacity()) {
+                        rec.clear();
+
+                        in.readFully(rec, pos);
+
+                        rec.flip();
+
+                        int idx = rec.getInt();
+
+                        out.writeFully(rec, storeHdrSize + (long)idx * pageSize);
+                    }
+                }
+            }
+
+            out.force();
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to restore partition [file=" + dst.getAbsolutePath() + ']', e);
+        }
+    }
+
+    /**
+     * @param name Snapshot name.
+     * @return Snapshot metadata.
+     * @throws IgniteCheckedException If metadata can't be read.
+     */
+    private SnapshotMetadata readMetadata(String name) throws IgniteCheckedException {
+        File file = new File(snapshotDirectory(name), SNAPSHOT_METADATA_FILENAME);
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return marsh.unmarshal(in, U.resolveClassLoader(cctx.gridConfig()));
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to read snapshot metadata [file=" + file.getAbsolutePath() + ']',
+                e);
+        }
+    }
+
+    /**
+     * @param name Snapshot name.
+     * @return Directory of the local part of the snapshot.
+     */
+    private File snapshotDirectory(String name) {
+        try {
+            return new File(new File(snpRoot, name),
+                cctx.kernalContext().pdsFolderResolver().resolveFolders().folderName());
+        }
+        catch (IgniteCheckedException e) {
+            throw U.convertException(e);
+        }
+    }
+
+    /**
+     * @param partId Partition ID.
+     * @return Snapshot partition file name.
+     */
+    private static String snapshotFileName(int partId) {
+        return (partId == INDEX_PARTITION ? "index" : "part-" + partId) + SNAPSHOT_FILE_SUFFIX;
+    }
+
+    /**
+     * @param key Key.
+     * @param val Value.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void writeMetastorage(String key, Serializable val) throws IgniteCheckedException {
+        cctx.database().checkpointReadLock();
+
+        try {
+            metaStorage.write(key, val);
+        }
+        finally {
+            cctx.database().checkpointReadUnlock();
+        }
+    }
+
+    /**
+     * @param key Key.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void removeMetastorage(String key) throws IgniteCheckedException {
+        cctx.database().checkpointReadLock();
+
+        try {
+            metaStorage.remove(key);
+        }
+        finally {
+            cctx.database().checkpointReadUnlock();
+        }
+    }
+
+    /**
+     * Local part of a snapshot.
+     */
+    private class SnapshotTask {
+        /** Operation. */
+        private final LocalSnapshotOperation op;
+
+        /** Base snapshot of incremental snapshot. */
+        @Nullable private final SnapshotMetadata base;
+
+        /** Snapshot directory. */
+        private final File dir;
+
+        /** Future. */
+        private final GridFutureAdapter<Void> fut;
+
+        /** Partitions. */
+        private final Map<GroupPartitionId, PartitionCopy> parts = new ConcurrentHashMap<>();
+
+        /** Cache group ID to cache group directory name. */
+        private final Map<Integer, String> grpDirs = new HashMap<>();
+
+        /** Reserved partitions. */
+        private final List<GridDhtLocalPartition> reserved = new ArrayList<>();
+
+        /** Snapshot checkpoint record, its position is known when checkpoint lock is released. */
+        private CheckpointRecord cpRec;
+
+        /** Whether checkpoint has been written and partitions are being copied. */
+        private volatile boolean started;
+
+        /** Error. */
+        private volatile Throwable err;
+
+        /**
+         * @param op Operation.
+         * @param base Base snapshot of incremental snapshot.
+         * @param dir Snapshot directory.
+         * @param fut Future.
+         */
+        private SnapshotTask(LocalSnapshotOperation op, @Nullable SnapshotMetadata base, File dir,
+            GridFutureAdapter<Void> fut) {
+            this.op = op;
+            this.base = base;
+            this.dir = dir;
+            this.fut = fut;
+        }
+
+        /**
+         * Reserves partitions and saves their sizes. Called under checkpoint write lock.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        private void init() throws IgniteCheckedException {
+            FilePageStoreManager pageStore = (FilePageStoreManager)cctx.pageStore();
+
+            for (int grpId : op.cacheGroupIds()) {
+                CacheGroupContext grp = cctx.cache().cacheGroup(grpId);
+
+                if (grp == null)
+                    continue;
+
+                grpDirs.put(grpId, pageStore.cacheWorkDir(grp.sharedGroup(), grp.cacheOrGroupName()).getName());
+
+                for (GridDhtLocalPartition part : grp.topology().currentLocalPartitions()) {
+                    if (part.state() == GridDhtPartitionState.MOVING) {
+                        throw new IgniteCheckedException("Failed to create snapshot, partition is being rebalanced " +
+                            "[grp=" + grp.cacheOrGroupName() + ", part=" + part.id() + ']');
+                    }
+
+                    if (part.state() != GridDhtPartitionState.OWNING || !part.reserve())
+                        continue;
+
+                    reserved.add(part);
+
+                    addPartition(grp, part.id());
+                }
+
+                addPartition(grp, INDEX_PARTITION);
+            }
+        }
+
+        /**
+         * @param grp Cache group.
+         * @param partId Partition ID.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void addPartition(CacheGroupContext grp, int partId) throws IgniteCheckedException {
+            int grpId = grp.groupId();
+
+            long firstTag = markPartition(grp, partId);
+
+            // Partition has never been written, there is no data to save.
+            if (firstTag < 0)
+                return;
+
+            int pageCnt = cctx.pageStore().pages(grpId, partId);
+
+            Map<Integer, Integer> baseCnts = base == null ? null : base.pageCounts().get(grpId);
+
+            Integer baseCnt = baseCnts == null ? null : baseCnts.get(partId);
+
+            // Partition must be tracked continuously since the base snapshot, otherwise it is copied entirely.
+            boolean full = baseCnt == null || firstTag < FIRST_TAG || firstTag > base.tag();
+
+            parts.put(new GroupPartitionId(grpId, partId),
+                new PartitionCopy(this, grpId, partId, pageCnt, full ? 0 : baseCnt, full));
+        }
+
+        /**
+         * Saves the tag of the first snapshot which has seen the partition to the partition meta page.
+         *
+         * @param grp Cache group.
+         * @param partId Partition ID.
+         * @return Tag of the first snapshot which has seen the partition or {@code -1} if meta page is not
+         *      initialized.
+         * @throws IgniteCheckedException If failed.
+         */
+        private long markPartition(CacheGroupContext grp, int partId) throws IgniteCheckedException {
+            int grpId = grp.groupId();
+
+            PageMemoryEx pageMem = (PageMemoryEx)grp.dataRegion().pageMemory();
+
+            long metaPageId = partId == INDEX_PARTITION ?
+                PageIdUtils.pageId(INDEX_PARTITION, PageIdAllocator.FLAG_IDX, 0) :
+                pageMem.partitionMetaPageId(grpId, partId);
+
+            long metaPage = pageMem.acquirePage(grpId, metaPageId);
+
+            try {
+                long pageAddr = pageMem.writeLock(grpId, metaPageId, metaPage);
+
+                if (pageAddr == 0L)
+                    throw new IgniteCheckedException("Failed to lock partition meta page [grpId=" + grpId +
+                        ", partId=" + partId + ']');
+
+                boolean changed = false;
+
+                try {
+                    if (PageIO.getType(pageAddr) == 0)
+                        return -1;
+
+                    PageMetaIO io = PageIO.getPageIO(pageAddr);
+
+                    long firstTag = io.getNextSnapshotTag(pageAddr);
+
+                    if (firstTag < FIRST_TAG) {
+                        io.setNextSnapshotTag(pageAddr, op.tag());
+
+                        changed = true;
+
+                        if (PageHandler.isWalDeltaRecordNeeded(pageMem, grpId, metaPageId, metaPage, cctx.wal(), null))
+                            cctx.wal().log(new MetaPageUpdateNextSnapshotId(grpId, metaPageId, op.tag()));
+                    }
+
+                    return firstTag;
+                }
+                finally {
+                    pageMem.writeUnlock(grpId, metaPageId, metaPage, null, changed);
+                }
+            }
+            finally {
+                pageMem.releasePage(grpId, metaPageId, metaPage);
+            }
+        }
+
+        /**
+         * Starts copying of partitions when the snapshot checkpoint has been written.
+         */
+        private void start() {
+            try {
+                if (!dir.mkdirs() && !dir.isDirectory())
+                    throw new IgniteCheckedException("Failed to create snapshot directory: " + dir.getAbsolutePath());
+
+                for (String grpDir : grpDirs.values())
+                    U.mkdirs(new File(dir, grpDir));
+
+                for (PartitionCopy part : parts.values())
+                    part.open();
+            }
+            catch (IgniteCheckedException | IOException e) {
+                onDone(e);
+
+                return;
+            }
+
+            started = true;
+
+            if (log.isInfoEnabled()) {
+                log.info("Snapshot checkpoint finished, copying partitions [name=" + op.name() +
+                    ", incremental=" + op.incremental() + ", parts=" + parts.size() + ']');
+            }
+
+            AtomicInteger remaining = new AtomicInteger(parts.size() + 1);
+
+            for (PartitionCopy part : parts.values()) {
+                pool.execute(() -> {
+                    try {
+                        part.copy();
+                    }
+                    catch (Throwable e) {
+                        onDone(e);
+                    }
+
+                    if (remaining.decrementAndGet() == 0)
+                        finish();
+                });
+            }
+
+            if (remaining.decrementAndGet() == 0)
+                pool.execute(this::finish);
+        }
+
+        /**
+         * Saves cache configurations and snapshot metadata.
+         */
+        private void finish() {
+            if (err != null)
+                return;
+
+            try {
+                File workDir = ((FilePageStoreManager)cctx.pageStore()).workDir();
+
+                Map<Integer, Map<Integer, Integer>> pageCnts = new HashMap<>();
+
+                for (Map.Entry<Integer, String> e : grpDirs.entrySet()) {
+                    File[] cfgFiles = new File(workDir, e.getValue())
+                        .listFiles(f -> f.getName().endsWith(CACHE_DATA_FILENAME));
+
+                    if (cfgFiles != null) {
+                        for (File cfgFile : cfgFiles) {
+                            File dst = new File(new File(dir, e.getValue()), cfgFile.getName());
+
+                            Files.copy(cfgFile.toPath(), dst.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                        }
+                    }
+
+                    pageCnts.put(e.getKey(), new HashMap<>());
+                }
+
+                for (PartitionCopy part : parts.values())
+                    pageCnts.get(part.grpId).put(part.partId, part.pageCnt);
+
+                SnapshotMetadata meta = new SnapshotMetadata(
+                    op.name(),
+                    op.tag(),
+                    base == null ? null : base.name(),
+                    cctx.kernalContext().pdsFolderResolver().resolveFolders().consistentId().toString(),
+                    cctx.database().pageSize(),
+                    grpDirs,
+                    pageCnts,
+                    op.cacheNames(),
+                    cpRec.position()
+                );
+
+                File tmp = new File(dir, SNAPSHOT_METADATA_FILENAME + FilePageStoreManager.TMP_SUFFIX);
+
+                try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))) {
+                    marsh.marshal(meta, out);
+                }
+
+                Files.move(tmp.toPath(), new File(dir, SNAPSHOT_METADATA_FILENAME).toPath(),
+                    StandardCopyOption.ATOMIC_MOVE);
+
+                writeMetastorage(LAST_TAG_KEY, op.tag());
+                writeMetastorage(LAST_NAME_KEY, op.name());
+
+                lastTag = op.tag();
+                lastName = op.name();
+
+                reserveWal(cpRec.position());
+
+                onDone(null);
+            }
+            catch (Throwable e) {
+                onDone(e);
+            }
+        }
+
+        /**
+         * @throws IgniteCheckedException If snapshot has failed.
+         */
+        private void checkFailed() throws IgniteCheckedException {
+            if (err != null)
+                throw new IgniteCheckedException("Snapshot has failed.", err);
+        }
+
+        /**
+         * @param err Error or {@code null} if snapshot has been saved.
+         */
+        private void onDone(@Nullable Throwable err) {
+            synchronized (this) {
+                if (fut.isDone() || this.err != null)
+                    return;
+
+                if (err != null)
+                    this.err = err;
+            }
+
+            for (PartitionCopy part : parts.values())
+                part.close();
+
+            for (GridDhtLocalPartition part : reserved)
+                part.release();
+
+            if (err != null) {
+                U.error(log, "Failed to create snapshot [name=" + op.name() + ']', err);
+
+                U.delete(dir);
+            }
+            else if (log.isInfoEnabled())
+                log.info("Snapshot created [name=" + op.name() + ", incremental=" + op.incremental() + ']');
+
+            if (curTask == this)
+                curTask = null;
+
+            if (pendingTask == this)
+                pendingTask = null;
+
+            fut.onDone(err);
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(SnapshotTask.class, this);
+        }
+    }
+
+    /**
+     * Copy of a partition file. Snapshot file contains page store header and {@code (page index, page)} records in
+     * arbitrary order.
+     */
+    private class PartitionCopy {
+        /** Snapshot task. */
+        private final SnapshotTask task;
+
+        /** Cache group ID. */
+        private final int grpId;
+
+        /** Partition ID. */
+        private final int partId;
+
+        /** Number of pages in partition file at snapshot checkpoint. */
+        private final int pageCnt;
+
+        /** Number of pages in partition file at base snapshot checkpoint. */
+        private final int baseCnt;
+
+        /** Whether all pages are saved. */
+        private final boolean full;
+
+        /** Page size. */
+        private final int pageSize = cctx.database().pageSize();
+
+        /** Page store. */
+        private PageStore store;
+
+        /** Snapshot file. */
+        private FileIO out;
+
+        /** Snapshot file size. */
+        private long pos;
+
+        /** Pages which have been saved, skipped or are being saved. */
+        private BitSet saved;
+
+        /** Offsets of pages which have been saved before they were overwritten. */
+        private final Map<Integer, Long> cowOffs = new HashMap<>();
+
+        /** Pages which are being saved before they are overwritten. */
+        private final Set<Integer> cowInFlight = new HashSet<>();
+
+        /** Index of the page which is being read by the copy loop, {@code -1} if none. */
+        private int readIdx = -1;
+
+        /** Closed flag. */
+        private boolean closed;
+
+        /**
+         * @param task Snapshot task.
+         * @param grpId Cache group ID.
+         * @param partId Partition ID.
+         * @param pageCnt Number of pages in partition file at snapshot checkpoint.
+         * @param baseCnt Number of pages in partition file at base snapshot checkpoint.
+         * @param full Whether all pages are saved.
+         */
+        private PartitionCopy(SnapshotTask task, int grpId, int partId, int pageCnt, int baseCnt, boolean full) {
+            this.task = task;
+            this.grpId = grpId;
+            this.partId = partId;
+            this.pageCnt = pageCnt;
+            this.baseCnt = baseCnt;
+            this.full = full;
+        }
+
+        /**
+         * Creates snapshot file.
+         *
+         * @throws IgniteCheckedException If failed.
+         * @throws IOException If failed.
+         */
+        private synchronized void open() throws IgniteCheckedException, IOException {
+            store = ((FilePageStoreManager)cctx.pageStore()).getStore(grpId, partId);
+
+            int storeHdrSize = ((FilePageStore)store).headerSize();
+
+            ByteBuffer storeHdr = ByteBuffer.allocate(storeHdrSize);
+
+            store.readHeader(storeHdr);
+
+            storeHdr.flip();
+
+            ByteBuffer hdr = ByteBuffer.allocate(FILE_HEADER_SIZE + storeHdrSize);
+
+            hdr.putInt(FILE_MAGIC)
+                .putInt(pageSize)
+                .putInt(pageCnt)
+                .put((byte)(full ? 1 : 0))
+                .putInt(storeHdrSize)
+                .putInt(FILE_HEADER_SIZE + storeHdrSize)
+                .put(storeHdr)
+                .flip();
+
+            File file = new File(new File(task.dir, task.grpDirs.get(grpId)), snapshotFileName(partId));
+
+            out = cctx.gridConfig().getDataStorageConfiguration().getFileIOFactory().create(file);
+
+            out.writeFully(hdr, 0);
+
+            pos = hdr.capacity();
+
+            saved = new BitSet(pageCnt);
+        }
+
+        /**
+         * Saves partition pages.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        private void copy() throws IgniteCheckedException {
+            ByteBuffer buf = ByteBuffer.allocateDirect(pageSize).order(ByteOrder.nativeOrder());
+            ByteBuffer trackingBuf = full ? null : ByteBuffer.allocateDirect(pageSize).order(ByteOrder.nativeOrder());
+
+            int trackCnt = trackingIO.countOfPageToTrack(pageSize);
+
+            byte flag = partId == INDEX_PARTITION ? PageIdAllocator.FLAG_IDX : PageIdAllocator.FLAG_DATA;
+
+            long baseTag = full ? 0 : task.base.tag();
+
+            // Whether all pages tracked by the current tracking page are saved.
+            boolean copyRange = false;
+
+            for (int idx = 0; idx < pageCnt; idx++) {
+                task.checkFailed();
+
+                long pageId = PageIdUtils.pageId(partId, flag, idx);
+
+                if (full || idx == 0 || idx >= baseCnt) {
+                    save(idx, pageId, buf, false);
+
+                    continue;
+                }
+
+                if ((idx - COUNT_OF_EXTRA_PAGE) % trackCnt == 0) {
+                    save(idx, pageId, trackingBuf, true);
+
+                    copyRange = PageIO.getType(trackingBuf) != trackingIO.getType() ||
+                        trackingIO.isCorrupted(trackingBuf);
+
+                    continue;
+                }
+
+                boolean changed = copyRange;
+
+                if (!changed) {
+                    try {
+                        changed = trackingIO.wasChanged(trackingBuf, pageId, task.op.tag(), baseTag, pageSize);
+                    }
+                    catch (TrackingPageIsCorruptedException e) {
+                        changed = copyRange = true;
+                    }
+                }
+
+                if (changed)
+                    save(idx, pageId, buf, false);
+                else
+                    skip(idx);
+            }
+
+            close();
+        }
+
+        /**
+         * Saves page if it has not been saved on overwrite yet. The page is read and written without holding
+         * the lock, so pages written by checkpoint are not blocked by the snapshot I/O.
+         *
+         * @param idx Page index.
+         * @param pageId Page ID.
+         * @param buf Page buffer.
+         * @param read Whether buffer must contain saved page after the call.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void save(int idx, long pageId, ByteBuffer buf, boolean read) throws IgniteCheckedException {
+            Long cowOff;
+            FileIO out0;
+
+            synchronized (this) {
+                if (out == null)
+                    throw new IgniteCheckedException("Snapshot partition file is closed [grpId=" + grpId +
+                        ", partId=" + partId + ']');
+
+                cowOff = cowOffs.get(idx);
+
+                if (cowOff == null) {
+                    // Page is overwritten only after it is read, see onPageWrite.
+                    saved.set(idx);
+
+                    readIdx = idx;
+                }
+                else if (read) {
+                    while (cowInFlight.contains(idx))
+                        U.wait(this);
+                }
+
+                out0 = out;
+            }
+
+            try {
+                buf.clear();
+
+                if (cowOff != null) {
+                    if (read) {
+                        out0.readFully(buf, cowOff + REC_HDR_SIZE);
+
+                        buf.clear();
+                    }
+
+                    return;
+                }
+
+                try {
+                    store.read(pageId, buf, true);
+                }
+                finally {
+                    synchronized (this) {
+                        readIdx = -1;
+
+                        notifyAll();
+                    }
+                }
+
+                buf.clear();
+
+                write(out0, idx, buf, reserve());
+
+                buf.clear();
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to save page [grpId=" + grpId + ", partId=" + partId +
+                    ", idx=" + idx + ']', e);
+            }
+        }
+
+        /**
+         * @param idx Page index.
+         */
+        private synchronized void skip(int idx) {
+            saved.set(idx);
+        }
+
+        /**
+         * Saves page before it is overwritten. Only the page index and the record offset are reserved under the lock.
+         *
+         * @param pageId Page ID.
+         */
+        private void onPageWrite(long pageId) {
+            int idx = PageIdUtils.pageIndex(pageId);
+
+            if (idx >= pageCnt)
+                return;
+
+            long off;
+            FileIO out0;
+
+            try {
+                synchronized (this) {
+                    while (readIdx == idx)
+                        U.wait(this);
+
+                    if (closed || saved.get(idx))
+                        return;
+
+                    saved.set(idx);
+
+                    off = reserve();
+
+                    cowOffs.put(idx, off);
+                    cowInFlight.add(idx);
+
+                    out0 = out;
+                }
+            }
+            catch (IgniteInterruptedCheckedException e) {
+                task.onDone(e);
+
+                return;
+            }
+
+            Exception err = null;
+
+            try {
+                ByteBuffer buf = cowBuf.get();
+
+                buf.clear();
+
+                store.read(pageId, buf, true);
+
+                buf.clear();
+
+                write(out0, idx, buf, off);
+            }
+            catch (IgniteCheckedException | IOException e) {
+                err = e;
+            }
+            finally {
+                synchronized (this) {
+                    cowInFlight.remove(idx);
+
+                    notifyAll();
+                }
+            }
+
+            // Task is failed after the page is not in flight anymore, since closing the file waits for such pages.
+            if (err != null)
+                task.onDone(err);
+        }
+
+        /**
+         * Reserves space for a page record in the snapshot file.
+         *
+         * @return Record offset.
+         */
+        private synchronized long reserve() {
+            long off = pos;
+
+            pos += REC_HDR_SIZE + pageSize;
+
+            return off;
+        }
+
+        /**
+         * @param out Snapshot file.
+         * @param idx Page index.
+         * @param buf Page buffer.
+         * @param off Record offset.
+         * @throws IOException If failed.
+         */
+        private void write(FileIO out, int idx, ByteBuffer buf, long off) throws IOException {
+            ByteBuffer hdr = ByteBuffer.allocate(REC_HDR_SIZE);
+
+            hdr.putInt(idx).flip();
+
+            out.writeFully(hdr, off);
+            out.writeFully(buf, off + REC_HDR_SIZE);
+        }
+
+        /**
+         * Closes snapshot file once pages which are being saved before they are overwritten are written.
+         */
+        private void close() {
+            FileIO out0;
+            boolean force;
+
+            synchronized (this) {
+                if (out == null)
+                    return;
+
+                try {
+                    while (!cowInFlight.isEmpty())
+                        U.wait(this);
+                }
+                catch (IgniteInterruptedCheckedException e) {
+                    task.onDone(e);
+                }
+
+                force = !closed;
+
+                closed = true;
+
+                out0 = out;
+
+                out = null;
+            }
+
+            try {
+                if (force)
+                    out0.force();
+            }
+            catch (IOException e) {
+                task.onDone(e);
+            }
+            finally {
+                U.closeQuiet(out0);
+            }
+        }
+    }
+
+    /**
+     * Restores local part of the snapshot.
+     */
+    @GridInternal
+    private static class RestoreJob implements IgniteCallable<Collection<StoredCacheData>> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Snapshot name. */
+        private final String name;
+
+        /** Timestamp of the consistent cut caches will be recovered to. */
+        private final Long cutTs;
+
+        /** Whether restored files should be removed. */
+        private final boolean cleanup;
+
+        /** Ignite. */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /**
+         * @param name Snapshot name.
+         * @param cutTs Timestamp of the consistent cut caches will be recovered to.
+         * @param cleanup Whether restored files should be removed.
+         */
+        private RestoreJob(String name, @Nullable Long cutTs, boolean cleanup) {
+            this.name = name;
+            this.cutTs = cutTs;
+            this.cleanup = cleanup;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Collection<StoredCacheData> call() throws Exception {
+            FileSnapshotManager mgr = (FileSnapshotManager)ignite.context().cache().context().snapshot();
+
+            if (!cleanup)
+                return mgr.restoreLocal(name, cutTs);
+
+            mgr.cleanupRestore(name);
+
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Marks caches as being restored or makes them available after restore.
+     */
+    @GridInternal
+    private static class RestoringCachesJob implements IgniteCallable<Void> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Cache names. */
+        private final Collection<String> cacheNames;
+
+        /** {@code True} if restore of the caches is started, {@code false} if it is finished. */
+        private final boolean restoring;
+
+        /** Whether proxies of the caches should be restarted when restore is finished. */
+        private final boolean open;
+
+        /** Ignite. */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /**
+         * @param cacheNames Cache names.
+         * @param restoring {@code True} if restore of the caches is started, {@code false} if it is finished.
+         * @param open Whether proxies of the caches should be restarted when restore is finished.
+         */
+        private RestoringCachesJob(Collection<String> cacheNames, boolean restoring, boolean open) {
+            this.cacheNames = cacheNames;
+            this.restoring = restoring;
+            this.open = open;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Void call() throws Exception {
+            FileSnapshotManager mgr = (FileSnapshotManager)ignite.context().cache().context().snapshot();
+
+            if (restoring)
+                mgr.restoringCaches.addAll(cacheNames);
+            else {
+                mgr.restoringCaches.removeAll(cacheNames);
+
+                if (open)
+                    ignite.context().cache().restartProxies(cacheNames);
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Replays WAL of the restored caches up to the consistent cut.
+     */
+    @GridInternal
+    private static class ReplayJob implements IgniteCallable<Void> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Snapshot name. */
+        private final String name;
+
+        /** Cut timestamp. */
+        private final long cutTs;
+
+        /** Ignite. */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /**
+         * @param name Snapshot name.
+         * @param cutTs Cut timestamp.
+         */
+        private ReplayJob(String name, long cutTs) {
+            this.name = name;
+            this.cutTs = cutTs;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Void call() throws Exception {
+            ((FileSnapshotManager)ignite.context().cache().context().snapshot()).replayLocal(name, cutTs);
+
+            return null;
+        }
+    }
+}
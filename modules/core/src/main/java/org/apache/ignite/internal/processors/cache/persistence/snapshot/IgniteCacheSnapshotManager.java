@@ -99,6 +99,14 @@ public class IgniteCacheSnapshotManager<T extends SnapshotOperation> extends Gri
         return false;
     }
 
+    /**
+     * @param cacheName Cache name.
+     * @return {@code True} if the cache is being restored from a snapshot and must not be available to users.
+     */
+    public boolean cacheRestoring(String cacheName) {
+        return false;
+    }
+
     /** Returns {@code True} if restore or repair oparation is currently processed. */
     public boolean restoreOrRecoveryInProgress() {
         return false;
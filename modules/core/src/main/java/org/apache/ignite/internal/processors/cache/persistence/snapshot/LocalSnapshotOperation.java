@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.util.Set;
+import org.apache.ignite.internal.util.tostring.GridToStringInclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Snapshot operation passed to the checkpointer by {@link FileSnapshotManager}.
+ */
+public class LocalSnapshotOperation implements SnapshotOperation {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Snapshot name. */
+    private final String name;
+
+    /** Snapshot tag. */
+    private final long tag;
+
+    /** Incremental snapshot flag. */
+    private final boolean incremental;
+
+    /** Cache group IDs. */
+    @GridToStringInclude
+    private final Set<Integer> grpIds;
+
+    /** Cache names. */
+    @GridToStringInclude
+    private final Set<String> cacheNames;
+
+    /**
+     * @param name Snapshot name.
+     * @param tag Snapshot tag.
+     * @param incremental Incremental snapshot flag.
+     * @param grpIds Cache group IDs.
+     * @param cacheNames Cache names.
+     */
+    public LocalSnapshotOperation(String name, long tag, boolean incremental, Set<Integer> grpIds,
+        Set<String> cacheNames) {
+        this.name = name;
+        this.tag = tag;
+        this.incremental = incremental;
+        this.grpIds = grpIds;
+        this.cacheNames = cacheNames;
+    }
+
+    /**
+     * @return Snapshot name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return Snapshot tag.
+     */
+    public long tag() {
+        return tag;
+    }
+
+    /**
+     * @return {@code True} if only pages changed since the previous snapshot are saved.
+     */
+    public boolean incremental() {
+        return incremental;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Set<Integer> cacheGroupIds() {
+        return grpIds;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Set<String> cacheNames() {
+        return cacheNames;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Object extraParameter() {
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(LocalSnapshotOperation.class, this);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+import org.apache.ignite.internal.pagemem.wal.WALPointer;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Local part of a snapshot saved by {@link FileSnapshotManager}. Written after all partitions are copied, so the
+ * presence of the metadata file means that the local part of the snapshot is complete.
+ */
+public class SnapshotMetadata implements Serializable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Snapshot name. */
+    private final String name;
+
+    /** Snapshot tag. */
+    private final long tag;
+
+    /** Name of the snapshot this one is based on, {@code null} for a full snapshot. */
+    private final String baseName;
+
+    /** Consistent ID of the node. */
+    private final String consistentId;
+
+    /** Page size. */
+    private final int pageSize;
+
+    /** Cache group ID to cache group directory name. */
+    private final Map<Integer, String> grpDirs;
+
+    /** Cache group ID to partition ID to number of pages in partition file. */
+    @GridToStringExclude
+    private final Map<Integer, Map<Integer, Integer>> pageCnts;
+
+    /** Cache names. */
+    private final Set<String> cacheNames;
+
+    /** Pointer to the snapshot checkpoint record, WAL is replayed from it on point-in-time recovery. */
+    private final WALPointer walPtr;
+
+    /**
+     * @param name Snapshot name.
+     * @param tag Snapshot tag.
+     * @param baseName Name of the snapshot this one is based on, {@code null} for a full snapshot.
+     * @param consistentId Consistent ID of the node.
+     * @param pageSize Page size.
+     * @param grpDirs Cache group ID to cache group directory name.
+     * @param pageCnts Cache group ID to partition ID to number of pages in partition file.
+     * @param cacheNames Cache names.
+     * @param walPtr Pointer to the snapshot checkpoint record.
+     */
+    public SnapshotMetadata(
+        String name,
+        long tag,
+        @Nullable String baseName,
+        String consistentId,
+        int pageSize,
+        Map<Integer, String> grpDirs,
+        Map<Integer, Map<Integer, Integer>> pageCnts,
+        Set<String> cacheNames,
+        WALPointer walPtr
+    ) {
+        this.name = name;
+        this.tag = tag;
+        this.baseName = baseName;
+        this.consistentId = consistentId;
+        this.pageSize = pageSize;
+        this.grpDirs = grpDirs;
+        this.pageCnts = pageCnts;
+        this.cacheNames = cacheNames;
+        this.walPtr = walPtr;
+    }
+
+    /**
+     * @return Snapshot name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return Snapshot tag.
+     */
+    public long tag() {
+        return tag;
+    }
+
+    /**
+     * @return Name of the snapshot this one is based on, {@code null} for a full snapshot.
+     */
+    @Nullable public String baseName() {
+        return baseName;
+    }
+
+    /**
+     * @return {@code True} if snapshot contains only pages changed since the base snapshot.
+     */
+    public boolean incremental() {
+        return baseName != null;
+    }
+
+    /**
+     * @return Consistent ID of the node.
+     */
+    public String consistentId() {
+        return consistentId;
+    }
+
+    /**
+     * @return Page size.
+     */
+    public int pageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return Cache group ID to cache group directory name.
+     */
+    public Map<Integer, String> groupDirectories() {
+        return grpDirs;
+    }
+
+    /**
+     * @return Cache group ID to partition ID to number of pages in partition file.
+     */
+    public Map<Integer, Map<Integer, Integer>> pageCounts() {
+        return pageCnts;
+    }
+
+    /**
+     * @return Cache names.
+     */
+    public Set<String> cacheNames() {
+        return cacheNames;
+    }
+
+    /**
+     * @return Pointer to the snapshot checkpoint record.
+     */
+    public WALPointer walPointer() {
+        return walPtr;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(SnapshotMetadata.class, this);
+    }
+}
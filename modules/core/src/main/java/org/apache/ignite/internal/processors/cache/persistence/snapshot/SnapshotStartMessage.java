@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.util.UUID;
+import org.apache.ignite.internal.managers.discovery.DiscoCache;
+import org.apache.ignite.internal.managers.discovery.DiscoveryCustomMessage;
+import org.apache.ignite.internal.managers.discovery.GridDiscoveryManager;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.lang.IgniteUuid;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Starts snapshot creation on all server nodes. The message triggers partition map exchange, so every node takes
+ * its part of the snapshot at the same consistent point while cache updates are blocked.
+ */
+public class SnapshotStartMessage implements SnapshotDiscoveryMessage {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Message ID. */
+    private final IgniteUuid id = IgniteUuid.randomUuid();
+
+    /** Snapshot name. */
+    private final String name;
+
+    /** Incremental snapshot flag. */
+    private final boolean incremental;
+
+    /** Initiator node ID. */
+    private final UUID initiatorId;
+
+    /**
+     * @param name Snapshot name.
+     * @param incremental {@code True} to save only pages changed since the previous snapshot.
+     * @param initiatorId Initiator node ID.
+     */
+    public SnapshotStartMessage(String name, boolean incremental, UUID initiatorId) {
+        this.name = name;
+        this.incremental = incremental;
+        this.initiatorId = initiatorId;
+    }
+
+    /**
+     * @return Snapshot name.
+     */
+    public String snapshotName() {
+        return name;
+    }
+
+    /**
+     * @return {@code True} if only pages changed since the previous snapshot should be saved.
+     */
+    public boolean incremental() {
+        return incremental;
+    }
+
+    /**
+     * @return Initiator node ID.
+     */
+    public UUID initiatorId() {
+        return initiatorId;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean needExchange() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean needAssignPartitions() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteUuid id() {
+        return id;
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public DiscoveryCustomMessage ackMessage() {
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isMutable() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean stopProcess() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public DiscoCache createDiscoCache(GridDiscoveryManager mgr, AffinityTopologyVersion topVer,
+        DiscoCache discoCache) {
+        return discoCache.copy(topVer, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(SnapshotStartMessage.class, this);
+    }
+}
@@ -475,8 +475,8 @@ public abstract class PageHandler<X, R> {
         @Nullable Boolean walPlc) {
         // If the page is clean, then it is either newly allocated or just after checkpoint.
         // In both cases we have to write full page contents to WAL.
-        return wal != null && !wal.isAlwaysWriteFullPages() && walPlc != TRUE && !wal.disabled(cacheId) &&
-            (walPlc == FALSE || pageMem.isDirty(cacheId, pageId, page));
+        return wal != null && !wal.isAlwaysWriteFullPages() && !wal.isPageRecordsDisabled() && walPlc != TRUE &&
+            !wal.disabled(cacheId) && (walPlc == FALSE || pageMem.isDirty(cacheId, pageId, page));
     }
 
     /**
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.sql.Time;
@@ -77,6 +78,7 @@ import org.apache.ignite.internal.pagemem.wal.record.RolloverType;
 import org.apache.ignite.internal.pagemem.wal.record.SwitchSegmentRecord;
 import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.PageDeltaRecord;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
 import org.apache.ignite.internal.processors.cache.GridCacheSharedManagerAdapter;
 import org.apache.ignite.internal.processors.cache.WalStateManager.WALDisableContext;
@@ -88,7 +90,6 @@ import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactor
 import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.filename.PdsFolderSettings;
 import org.apache.ignite.internal.processors.cache.persistence.wal.aware.SegmentAware;
-import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDataIntegrityViolationException;
 import org.apache.ignite.internal.processors.cache.persistence.wal.filehandle.AbstractFileHandle;
 import org.apache.ignite.internal.processors.cache.persistence.wal.filehandle.FileHandleManager;
@@ -148,7 +149,7 @@ import static org.apache.ignite.failure.FailureType.SYSTEM_WORKER_TERMINATION;
 import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.TMP_SUFFIX;
 import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.ZIP_SUFFIX;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileDescriptor.fileName;
-import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializerFactory.LATEST_SERIALIZER_VERSION;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializerFactory.DFLT_SERIALIZER_VERSION;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer.HEADER_RECORD_SIZE;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer.readPosition;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer.readSegmentHeader;
@@ -172,6 +173,12 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     /** Pattern for WAL temp files - these files will be cleared at startup. */
     public static final Pattern WAL_TEMP_NAME_PATTERN = Pattern.compile("\\d{16}\\.wal\\.tmp");
 
+    /**
+     * Name of the file in WAL work directory listing stripe directories of the last start, so work segments
+     * left in a stripe directory removed from configuration are found on the next start.
+     */
+    public static final String WAL_STRIPES_FILE_NAME = "wal-stripes";
+
     /** WAL segment file filter, see {@link #WAL_NAME_PATTERN} */
     public static final FileFilter WAL_SEGMENT_FILE_FILTER = file -> !file.isDirectory() &&
         WAL_NAME_PATTERN.matcher(file.getName()).matches();
@@ -235,6 +242,9 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     /** */
     private final boolean alwaysWriteFullPages;
 
+    /** Physical records are not logged, checkpoint writes recovery data instead. */
+    private final boolean pageRecordsDisabled;
+
     /** WAL segment size in bytes. This is maximum value, actual segments may be shorter. */
     private final long maxWalSegmentSize;
 
@@ -274,6 +284,12 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     /** WAL work directory (including consistent ID as subfolder). */
     private File walWorkDir;
 
+    /**
+     * WAL work directories work segments are striped across, the first one is {@link #walWorkDir}.
+     * Work segment with index {@code i} is located in {@code walWorkDirs[i % walWorkDirs.length]}.
+     */
+    private File[] walWorkDirs;
+
     /** WAL archive directory (including consistent ID as subfolder). */
     private File walArchiveDir;
 
@@ -282,7 +298,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
 
     /** Serializer latest version to use. */
     private final int serializerVer =
-        IgniteSystemProperties.getInteger(IGNITE_WAL_SERIALIZER_VERSION, LATEST_SERIALIZER_VERSION);
+        IgniteSystemProperties.getInteger(IGNITE_WAL_SERIALIZER_VERSION, DFLT_SERIALIZER_VERSION);
 
     /** Factory to provide I/O interfaces for read/write operations with files */
     private volatile FileIOFactory ioFactory;
@@ -402,6 +418,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         mode = dsCfg.getWalMode();
         flushFreq = dsCfg.getWalFlushFrequency();
         alwaysWriteFullPages = dsCfg.isAlwaysWriteFullPages();
+        pageRecordsDisabled = dsCfg.isWriteRecoveryDataOnCheckpoint();
         ioFactory = mode == WALMode.FSYNC ? dsCfg.getFileIOFactory() : new RandomAccessFileIOFactory();
         segmentFileInputFactory = new SimpleSegmentFileInputFactory();
         walAutoArchiveAfterInactivity = dsCfg.getWalAutoArchiveAfterInactivity();
@@ -459,6 +476,8 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                 "write ahead log archive directory"
             );
 
+            walWorkDirs = initStripeDirectories(walWorkDir0, walArchiveDir0, resolveFolders.folderName());
+
             serializer = new RecordSerializerFactoryImpl(cctx).createSerializer(serializerVer);
 
             GridCacheDatabaseSharedManager dbMgr = (GridCacheDatabaseSharedManager)cctx.database();
@@ -471,8 +490,10 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                     @Override public Long apply() {
                         long size = 0;
 
-                        for (File f : walWorkDir0.listFiles())
-                            size += f.length();
+                        for (File dir : walWorkDirs) {
+                            for (File f : dir.listFiles())
+                                size += f.length();
+                        }
 
                         if (isArchiverEnabled()) {
                             for (File f : walArchiveDir0.listFiles())
@@ -514,7 +535,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             if (archiver != null)
                 archiver.init(segmentAware);
 
-            segmentRouter = new SegmentRouter(walWorkDir, walArchiveDir, segmentAware, dsCfg);
+            segmentRouter = new SegmentRouter(walWorkDirs, walArchiveDir, segmentAware, dsCfg);
 
             fileHandleManager = fileHandleManagerFactory.build(
                 cctx, metrics, mmap, serializer, this::currentHandle
@@ -714,6 +735,11 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         return alwaysWriteFullPages;
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean isPageRecordsDisabled() {
+        return pageRecordsDisabled;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean isFullSync() {
         return mode == WALMode.FSYNC;
@@ -832,9 +858,15 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         if (serializer == null || mode == WALMode.NONE)
             return null;
 
+        boolean pageRec = rec instanceof PageDeltaRecord || rec instanceof PageSnapshot;
+
+        // Pages are recovered from checkpoint recovery data, physical records are not needed.
+        if (pageRecordsDisabled && pageRec)
+            return null;
+
         // Only delta-records, page snapshots and memory recovery are allowed to write in recovery mode.
         if (cctx.kernalContext().recoveryMode() &&
-            !(rec instanceof PageDeltaRecord || rec instanceof PageSnapshot || rec instanceof MemoryRecoveryRecord))
+            !(pageRec || rec instanceof MemoryRecoveryRecord))
             return null;
 
         FileWriteHandle currWrHandle = currentHandle();
@@ -897,6 +929,9 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             if (ptr != null) {
                 metrics.onWalRecordLogged(rec.size());
 
+                if (pageRec)
+                    onPageRecordLogged(rec);
+
                 if (walAutoArchiveAfterInactivity > 0)
                     lastRecordLoggedMs.set(U.currentTimeMillis());
 
@@ -912,6 +947,21 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         }
     }
 
+    /**
+     * Accounts size of logged physical record in metrics of the data region the page belongs to.
+     *
+     * @param rec Page snapshot or page delta record.
+     */
+    private void onPageRecordLogged(WALRecord rec) {
+        int grpId = rec instanceof PageSnapshot ? ((PageSnapshot)rec).fullPageId().groupId() :
+            ((PageDeltaRecord)rec).groupId();
+
+        CacheGroupContext grp = cctx.cache().cacheGroup(grpId);
+
+        if (grp != null && grp.dataRegion() != null)
+            grp.dataRegion().metrics().onWalPageRecordLogged(rec.size());
+    }
+
     /** */
     private FileWriteHandle closeBufAndRollover(
         FileWriteHandle currWriteHandle,
@@ -971,7 +1021,6 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         RecordsIterator iter = new RecordsIterator(
             cctx,
             walArchiveDir,
-            walWorkDir,
             (FileWALPointer)start,
             end,
             dsCfg,
@@ -1279,6 +1328,76 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         return dir;
     }
 
+    /**
+     * Resolves directories WAL work segments are striped across.
+     *
+     * @param workDir WAL work directory.
+     * @param archiveDir WAL archive directory.
+     * @param consId Consistent ID folder name.
+     * @return WAL work directories, the first one is {@code workDir}.
+     * @throws IgniteCheckedException If failed to initialize a directory or configuration is invalid.
+     */
+    private File[] initStripeDirectories(File workDir, File archiveDir, String consId) throws IgniteCheckedException {
+        String[] stripePaths = dsCfg.getWalStripePaths();
+
+        if (F.isEmpty(stripePaths))
+            return new File[] {workDir};
+
+        if (workDir.equals(archiveDir)) {
+            throw new IgniteCheckedException("WAL stripe paths require WAL archive located in a separate " +
+                "directory [walPath=" + dsCfg.getWalPath() + ", walArchivePath=" + dsCfg.getWalArchivePath() +
+                ", walStripePaths=" + Arrays.toString(stripePaths) + ']');
+        }
+
+        File[] dirs = new File[stripePaths.length + 1];
+
+        dirs[0] = workDir;
+
+        for (int i = 0; i < stripePaths.length; i++) {
+            File dir = initDirectory(stripePaths[i], DataStorageConfiguration.DFLT_WAL_PATH, consId,
+                "write ahead log stripe directory");
+
+            for (int j = 0; j <= i; j++) {
+                if (dir.equals(dirs[j]) || dir.equals(archiveDir)) {
+                    throw new IgniteCheckedException("WAL stripe directories must differ from each other and from " +
+                        "WAL work and archive directories [dir=" + dir.getAbsolutePath() + ']');
+                }
+            }
+
+            dirs[i + 1] = dir;
+        }
+
+        return dirs;
+    }
+
+    /**
+     * @param workIdx Work segment index.
+     * @return Work segment file located in its stripe directory.
+     */
+    private File workFile(long workIdx) {
+        return new File(walWorkDirs[(int)(workIdx % walWorkDirs.length)], fileName(workIdx));
+    }
+
+    /**
+     * @param filter File filter.
+     * @return Files of all WAL work directories accepted by filter.
+     */
+    private File[] listWorkFiles(FileFilter filter) {
+        if (walWorkDirs.length == 1)
+            return walWorkDirs[0].listFiles(filter);
+
+        List<File> res = new ArrayList<>();
+
+        for (File dir : walWorkDirs) {
+            File[] files = dir.listFiles(filter);
+
+            if (files != null)
+                Collections.addAll(res, files);
+        }
+
+        return res.toArray(new File[0]);
+    }
+
     /**
      * @return Current log segment handle.
      */
@@ -1371,7 +1490,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
 
         long segNo = archiver0 == null ? absIdx : absIdx % dsCfg.getWalSegments();
 
-        File curFile = new File(walWorkDir, fileName(segNo));
+        File curFile = workFile(segNo);
 
         int off = lastReadPtr == null ? 0 : lastReadPtr.fileOffset();
         int len = lastReadPtr == null ? 0 : lastReadPtr.length();
@@ -1538,7 +1657,15 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     private void prepareAndCheckWalFiles() throws StorageException {
         Collection<File> tmpFiles = new HashSet<>();
 
-        for (File walDir : F.asList(walWorkDir, walArchiveDir)) {
+        List<File> removedStripeDirs = removedStripeDirectories();
+
+        List<File> walDirs = new ArrayList<>(F.asList(walWorkDirs));
+
+        walDirs.addAll(removedStripeDirs);
+
+        walDirs.add(walArchiveDir);
+
+        for (File walDir : walDirs) {
             tmpFiles.addAll(F.asList(walDir.listFiles(WAL_SEGMENT_TEMP_FILE_FILTER)));
             tmpFiles.addAll(F.asList(walDir.listFiles(WAL_SEGMENT_TEMP_FILE_COMPACTED_FILTER)));
         }
@@ -1550,18 +1677,194 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             }
         }
 
-        if (F.isEmpty(walWorkDir.listFiles(WAL_SEGMENT_FILE_FILTER)))
-            createFile(new File(walWorkDir, fileName(0)));
+        restoreRemovedStripeSegments(removedStripeDirs);
+
+        if (F.isEmpty(listWorkFiles(WAL_SEGMENT_FILE_FILTER)))
+            createFile(workFile(0));
 
         if (isArchiverEnabled()) {
             moveSegmentsToArchive();
 
             renameLastSegment();
 
+            relocateWorkSegments();
+
             formatWorkSegments();
 
             checkFiles(0, false, null, null);
         }
+
+        saveStripeDirectories();
+    }
+
+    /**
+     * Resolves stripe directories of the last start which are not configured now.
+     *
+     * @return Stripe directories removed from configuration since the last start.
+     * @throws StorageException If failed to read stripes file or a removed stripe directory is not available.
+     */
+    private List<File> removedStripeDirectories() throws StorageException {
+        File stripesFile = new File(walWorkDirs[0], WAL_STRIPES_FILE_NAME);
+
+        if (!stripesFile.exists())
+            return Collections.emptyList();
+
+        List<String> paths;
+
+        try {
+            paths = Files.readAllLines(stripesFile.toPath());
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to read WAL stripes file: " + stripesFile.getAbsolutePath(), e);
+        }
+
+        Set<File> cur = new HashSet<>();
+
+        for (File dir : walWorkDirs)
+            cur.add(dir.getAbsoluteFile());
+
+        List<File> res = new ArrayList<>();
+
+        for (String path : paths) {
+            if (path.isEmpty())
+                continue;
+
+            File dir = new File(path);
+
+            if (cur.contains(dir))
+                continue;
+
+            if (!dir.isDirectory()) {
+                throw new StorageException("WAL stripe directory used on the last start is not available, " +
+                    "its work segments would be lost. Make the directory available or add it to " +
+                    "DataStorageConfiguration.walStripePaths [dir=" + dir.getAbsolutePath() +
+                    ", stripesFile=" + stripesFile.getAbsolutePath() + ']');
+            }
+
+            res.add(dir);
+        }
+
+        return res;
+    }
+
+    /**
+     * Moves work segments from stripe directories removed from configuration to WAL work directory,
+     * they are moved to their current stripe directories by {@link #relocateWorkSegments()}.
+     *
+     * @param removedStripeDirs Stripe directories removed from configuration since the last start.
+     * @throws StorageException If an error occurs while moving.
+     */
+    private void restoreRemovedStripeSegments(List<File> removedStripeDirs) throws StorageException {
+        for (File dir : removedStripeDirs) {
+            File[] files = dir.listFiles(file -> WAL_SEGMENT_FILE_FILTER.accept(file) ||
+                WAL_SEGMENT_FILE_COMPACTED_FILTER.accept(file));
+
+            if (F.isEmpty(files))
+                continue;
+
+            log.warning("WAL stripe directory has been removed from configuration, its work segments will be " +
+                "moved to WAL work directory [dir=" + dir.getAbsolutePath() + ", segments=" + files.length + ']');
+
+            for (File file : files)
+                moveWorkFile(file, new File(walWorkDirs[0], file.getName()));
+        }
+    }
+
+    /**
+     * Saves configured stripe directories to the stripes file, or deletes the file if WAL is not striped.
+     *
+     * @throws StorageException If failed to save stripes file.
+     */
+    private void saveStripeDirectories() throws StorageException {
+        File stripesFile = new File(walWorkDirs[0], WAL_STRIPES_FILE_NAME);
+
+        try {
+            if (walWorkDirs.length == 1) {
+                Files.deleteIfExists(stripesFile.toPath());
+
+                return;
+            }
+
+            List<String> paths = new ArrayList<>();
+
+            for (int i = 1; i < walWorkDirs.length; i++)
+                paths.add(walWorkDirs[i].getAbsolutePath());
+
+            File tmp = new File(walWorkDirs[0], WAL_STRIPES_FILE_NAME + TMP_SUFFIX);
+
+            Files.write(tmp.toPath(), paths);
+
+            fsyncFile(tmp);
+
+            Files.move(tmp.toPath(), stripesFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+
+            fsyncDirectory(walWorkDirs[0]);
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to save WAL stripes file: " + stripesFile.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Moves a work segment between directories. The segment is copied to a temporary file, which replaces
+     * a temporary file left by a previous attempt, and is made durable before the source is deleted, so the segment
+     * is not lost if the node crashes during the move.
+     *
+     * @param src Source file.
+     * @param dst Destination file.
+     * @throws StorageException If an error occurs while moving.
+     */
+    private void moveWorkFile(File src, File dst) throws StorageException {
+        File tmpDst = new File(dst.getParentFile(), dst.getName() + TMP_SUFFIX);
+
+        try {
+            Files.copy(src.toPath(), tmpDst.toPath(), REPLACE_EXISTING);
+
+            fsyncFile(tmpDst);
+
+            Files.move(tmpDst.toPath(), dst.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+
+            fsyncDirectory(dst.getParentFile());
+
+            Files.delete(src.toPath());
+
+            fsyncDirectory(src.getParentFile());
+
+            if (log.isInfoEnabled()) {
+                log.info("WAL segment moved [src=" + src.getAbsolutePath() +
+                    ", dst=" + dst.getAbsolutePath() + ']');
+            }
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to move WAL segment [src=" + src.getAbsolutePath() +
+                ", dst=" + dst.getAbsolutePath() + ']', e);
+        }
+    }
+
+    /**
+     * @param file File to fsync.
+     * @throws IOException If failed.
+     */
+    private void fsyncFile(File file) throws IOException {
+        try (FileIO io = ioFactory.create(file, READ, WRITE)) {
+            io.force();
+        }
+    }
+
+    /**
+     * Makes creation and deletion of files in the directory durable. Directories can not be opened
+     * on Windows, where metadata changes are durable once completed.
+     *
+     * @param dir Directory to fsync.
+     * @throws IOException If failed.
+     */
+    private static void fsyncDirectory(File dir) throws IOException {
+        if (U.isWindows())
+            return;
+
+        try (FileChannel ch = FileChannel.open(dir.toPath(), READ)) {
+            ch.force(true);
+        }
     }
 
     /**
@@ -1647,7 +1950,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             segmentAware.curAbsWalIdx(curIdx + 1);
             segmentAware.setLastArchivedAbsoluteIndex(curIdx);
 
-            return new File(walWorkDir, fileName(curIdx + 1));
+            return workFile(curIdx + 1);
         }
 
         long absNextIdxStartTime = System.nanoTime();
@@ -1670,7 +1973,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
 
         long segmentIdx = absNextIdx % dsCfg.getWalSegments();
 
-        return new File(walWorkDir, fileName(segmentIdx));
+        return workFile(segmentIdx);
     }
 
     /**
@@ -1821,7 +2124,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             // If WAL archive is empty, try to find last not archived segment in work directory and copy to WAL archive.
             TreeMap<Long, FileDescriptor> workIndices = new TreeMap<>();
 
-            for (File file : walWorkDir.listFiles(WAL_SEGMENT_COMPACTED_OR_RAW_FILE_FILTER)) {
+            for (File file : listWorkFiles(WAL_SEGMENT_COMPACTED_OR_RAW_FILE_FILTER)) {
                 FileDescriptor desc = readFileDescriptor(file, ioFactory);
 
                 if (desc != null)
@@ -2005,7 +2308,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         public SegmentArchiveResult archiveSegment(long absIdx) throws StorageException {
             long segIdx = absIdx % dsCfg.getWalSegments();
 
-            File origFile = new File(walWorkDir, fileName(segIdx));
+            File origFile = workFile(segIdx);
 
             String name = fileName(absIdx);
 
@@ -2583,7 +2886,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         @Nullable IgniteInClosure<Integer> completionCb
     ) throws StorageException {
         for (int i = startWith; i < dsCfg.getWalSegments() && (p == null || p.apply(i)); i++) {
-            File checkFile = new File(walWorkDir, fileName(i));
+            File checkFile = workFile(i);
 
             if (checkFile.exists()) {
                 if (checkFile.isDirectory()) {
@@ -2633,7 +2936,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             buf.position(0);
 
             // This call will move buffer position to the end of the record again.
-            int crcVal = FastCrc.calcCrc(buf, curPos);
+            int crcVal = RecordV1Serializer.crcAlgorithm(ver).calcCrc(buf, curPos);
 
             buf.putInt(crcVal);
         }
@@ -2722,9 +3025,6 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         /** */
         private final File walArchiveDir;
 
-        /** */
-        private final File walWorkDir;
-
         /** See {@link FileWriteAheadLogManager#archiver}. */
         @Nullable private final FileArchiver archiver;
 
@@ -2749,7 +3049,6 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         /**
          * @param cctx Shared context.
          * @param walArchiveDir WAL archive dir.
-         * @param walWorkDir WAL dir.
          * @param start Optional start pointer.
          * @param end Optional end pointer.
          * @param dsCfg Database configuration.
@@ -2764,7 +3063,6 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         private RecordsIterator(
             GridCacheSharedContext<?, ?> cctx,
             File walArchiveDir,
-            File walWorkDir,
             @Nullable FileWALPointer start,
             @Nullable FileWALPointer end,
             DataStorageConfiguration dsCfg,
@@ -2787,7 +3085,6 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             );
 
             this.walArchiveDir = walArchiveDir;
-            this.walWorkDir = walWorkDir;
             this.archiver = archiver;
             this.start = start;
             this.end = end;
@@ -2921,7 +3218,8 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                     else {
                         // Log only when no segments were read. This will help us avoiding logging on the end of the WAL.
                         if (curRec == null && curWalSegment == null) {
-                            File workDirFile = new File(walWorkDir, fileName(curWalSegmIdx % dsCfg.getWalSegments()));
+                            File workDirFile = segmentRouter.workSegmentFile(curWalSegmIdx % dsCfg.getWalSegments());
+                            File walWorkDir = workDirFile.getParentFile();
                             File archiveDirFile = new File(walArchiveDir, fileName(curWalSegmIdx));
 
                             U.warn(
@@ -3025,7 +3323,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             Exception e,
             @Nullable FileWALPointer ptr
         ) {
-            FileDescriptor fd = new FileDescriptor(new File(walWorkDir, fileName(workIdx)), walSegmentIdx);
+            FileDescriptor fd = new FileDescriptor(segmentRouter.workSegmentFile(workIdx), walSegmentIdx);
 
             try {
                 if (!fd.file().exists())
@@ -3295,14 +3593,14 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     private void moveSegmentsToArchive() throws StorageException {
         assert isArchiverEnabled();
 
-        FileDescriptor[] workSegments = scan(walWorkDir.listFiles(WAL_SEGMENT_FILE_FILTER));
+        FileDescriptor[] workSegments = scan(listWorkFiles(WAL_SEGMENT_FILE_FILTER));
 
         List<FileDescriptor> toMove = new ArrayList<>();
 
         if (!F.isEmpty(workSegments) && (workSegments.length > dsCfg.getWalSegments() || workSegments[0].idx() != 0))
             toMove.addAll(F.asList(workSegments).subList(0, workSegments.length - 1));
 
-        toMove.addAll(F.asList(scan(walWorkDir.listFiles(WAL_SEGMENT_FILE_COMPACTED_FILTER))));
+        toMove.addAll(F.asList(scan(listWorkFiles(WAL_SEGMENT_FILE_COMPACTED_FILTER))));
 
         if (!toMove.isEmpty()) {
             log.warning("Content of WAL working directory needs rearrangement, some WAL segments will be moved to " +
@@ -3352,7 +3650,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     private void renameLastSegment() throws StorageException {
         assert isArchiverEnabled();
 
-        FileDescriptor[] workSegments = scan(walWorkDir.listFiles(WAL_SEGMENT_FILE_FILTER));
+        FileDescriptor[] workSegments = scan(listWorkFiles(WAL_SEGMENT_FILE_FILTER));
 
         if (workSegments.length == 1 && workSegments[0].idx() != workSegments[0].idx() % dsCfg.getWalSegments()) {
             FileDescriptor toRen = workSegments[0];
@@ -3364,8 +3662,8 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
 
             String toRenFileName = fileName(toRen.idx() % dsCfg.getWalSegments());
 
-            File tmpDst = new File(walWorkDir, toRenFileName + TMP_SUFFIX);
-            File dst = new File(walWorkDir, toRenFileName);
+            File dst = workFile(toRen.idx() % dsCfg.getWalSegments());
+            File tmpDst = new File(dst.getParentFile(), toRenFileName + TMP_SUFFIX);
 
             try {
                 Files.copy(toRen.file().toPath(), tmpDst.toPath());
@@ -3386,6 +3684,25 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         }
     }
 
+    /**
+     * Moves working segments to their stripe directories if {@link DataStorageConfiguration#getWalStripePaths()}
+     * has been changed since the last start.
+     *
+     * @throws StorageException If an error occurs while moving.
+     */
+    private void relocateWorkSegments() throws StorageException {
+        assert isArchiverEnabled();
+
+        for (FileDescriptor fd : scan(listWorkFiles(WAL_SEGMENT_FILE_FILTER))) {
+            File dst = workFile(fd.idx());
+
+            if (dst.getParentFile().equals(fd.file().getParentFile()))
+                continue;
+
+            moveWorkFile(fd.file(), dst);
+        }
+    }
+
     /**
      * Formatting working segments to {@link DataStorageConfiguration#getWalSegmentSize()} for work in a mmap or fsync case.
      *
@@ -3395,7 +3712,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         assert isArchiverEnabled();
 
         if (mode == WALMode.FSYNC || mmap) {
-            List<FileDescriptor> toFormat = Arrays.stream(scan(walWorkDir.listFiles(WAL_SEGMENT_FILE_FILTER)))
+            List<FileDescriptor> toFormat = Arrays.stream(scan(listWorkFiles(WAL_SEGMENT_FILE_FILTER)))
                 .filter(fd -> fd.file().length() < dsCfg.getWalSegmentSize()).collect(toList());
 
             if (!toFormat.isEmpty()) {
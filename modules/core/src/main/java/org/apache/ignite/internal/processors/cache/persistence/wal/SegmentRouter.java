@@ -33,6 +33,9 @@ public class SegmentRouter {
     /** */
     private final File walWorkDir;
 
+    /** WAL work directories work segments are striped across, the first one is {@link #walWorkDir}. */
+    private final File[] walWorkDirs;
+
     /** WAL archive directory (including consistent ID as subfolder) */
     private final File walArchiveDir;
 
@@ -53,7 +56,24 @@ public class SegmentRouter {
         File walArchiveDir,
         SegmentAware segmentAware,
         DataStorageConfiguration dsCfg) {
-        this.walWorkDir = walWorkDir;
+        this(new File[] {walWorkDir}, walArchiveDir, segmentAware, dsCfg);
+    }
+
+    /**
+     * @param walWorkDirs WAL work directories, the first one is the main WAL work directory.
+     * @param walArchiveDir WAL archive directory.
+     * @param segmentAware Holder of actual information of latest manipulation on WAL segments.
+     * @param dsCfg Data storage configuration.
+     */
+    public SegmentRouter(
+        File[] walWorkDirs,
+        File walArchiveDir,
+        SegmentAware segmentAware,
+        DataStorageConfiguration dsCfg) {
+        assert walWorkDirs.length > 0;
+
+        this.walWorkDir = walWorkDirs[0];
+        this.walWorkDirs = walWorkDirs;
         this.walArchiveDir = walArchiveDir;
         this.segmentAware = segmentAware;
         this.dsCfg = dsCfg;
@@ -72,7 +92,7 @@ public class SegmentRouter {
         if (segmentAware.lastArchivedAbsoluteIndex() >= segmentId || !isArchiverEnabled())
             fd = new FileDescriptor(new File(walArchiveDir, fileName(segmentId)));
         else
-            fd = new FileDescriptor(new File(walWorkDir, fileName(segmentId % dsCfg.getWalSegments())), segmentId);
+            fd = new FileDescriptor(workSegmentFile(segmentId % dsCfg.getWalSegments()), segmentId);
 
         if (!fd.file().exists()) {
             FileDescriptor zipFile = new FileDescriptor(new File(walArchiveDir, fileName(fd.idx()) + ZIP_SUFFIX));
@@ -88,6 +108,14 @@ public class SegmentRouter {
         return fd;
     }
 
+    /**
+     * @param workIdx Work segment index.
+     * @return Work segment file located in its stripe directory.
+     */
+    public File workSegmentFile(long workIdx) {
+        return new File(walWorkDirs[(int)(workIdx % walWorkDirs.length)], fileName(workIdx));
+    }
+
     /**
      * @return {@code true} If archive folder exists.
      */
@@ -102,6 +130,13 @@ public class SegmentRouter {
         return walWorkDir;
     }
 
+    /**
+     * @return WAL work directories work segments are striped across, the first one is {@link #getWalWorkDir()}.
+     */
+    public File[] getWalWorkDirs() {
+        return walWorkDirs;
+    }
+
     /**
      * @return WAL archive directory.
      */
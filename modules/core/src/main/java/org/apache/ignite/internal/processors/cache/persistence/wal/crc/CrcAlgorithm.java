@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal.crc;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Checksum algorithm of WAL records and pages. Algorithm is not stored along with a checksum, it is defined by the
+ * WAL serializer version recorded in the segment header or by the version of the page store file.
+ */
+public enum CrcAlgorithm {
+    /** CRC32, see {@link java.util.zip.CRC32}. */
+    CRC32,
+
+    /**
+     * CRC32C (Castagnoli). Hardware accelerated by the JDK starting from Java 9, a pure Java implementation is used on
+     * Java 8.
+     */
+    CRC32C;
+
+    /**
+     * @param buf Input buffer.
+     * @param len Data length.
+     * @return Crc checksum.
+     */
+    public int calcCrc(ByteBuffer buf, int len) {
+        return FastCrc.calcCrc(this, buf, len);
+    }
+}
@@ -16,18 +16,54 @@
 
 package org.apache.ignite.internal.processors.cache.persistence.wal.crc;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.nio.ByteBuffer;
 import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import org.apache.ignite.IgniteException;
 
 /**
  * This CRC calculation implementation workf much faster then {@link PureJavaCrc32}
  */
 public final class FastCrc {
+    /** Constructor of {@code java.util.zip.CRC32C} or {@code null} if it is not available (Java 8). */
+    private static final MethodHandle JDK_CRC32C_CTOR;
+
+    /** {@code Checksum.update(ByteBuffer)} method or {@code null} if it is not available (Java 8). */
+    private static final MethodHandle CHECKSUM_UPDATE_BUF;
+
+    static {
+        MethodHandle ctor = null;
+        MethodHandle update = null;
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            ctor = lookup.findConstructor(Class.forName("java.util.zip.CRC32C"), MethodType.methodType(void.class))
+                .asType(MethodType.methodType(Checksum.class));
+
+            update = lookup.findVirtual(Checksum.class, "update",
+                MethodType.methodType(void.class, ByteBuffer.class));
+        }
+        catch (ReflectiveOperationException ignored) {
+            ctor = null;
+            update = null;
+        }
+
+        JDK_CRC32C_CTOR = ctor;
+        CHECKSUM_UPDATE_BUF = update;
+    }
+
     /** CRC algo. */
     private static final ThreadLocal<CRC32> CRC = ThreadLocal.withInitial(CRC32::new);
 
+    /** CRC32C algo. */
+    private static final ThreadLocal<Checksum> CRC32C = ThreadLocal.withInitial(FastCrc::createCrc32c);
+
     /** */
-    private final CRC32 crc = new CRC32();
+    private final Checksum crc;
 
     /**
      * Current value.
@@ -36,6 +72,15 @@ public final class FastCrc {
 
     /** */
     public FastCrc() {
+        this(CrcAlgorithm.CRC32);
+    }
+
+    /**
+     * @param algo Checksum algorithm.
+     */
+    public FastCrc(CrcAlgorithm algo) {
+        crc = algo == CrcAlgorithm.CRC32C ? createCrc32c() : new CRC32();
+
         reset();
     }
 
@@ -79,6 +124,33 @@ public final class FastCrc {
         return res;
     }
 
+    /**
+     * @param algo Checksum algorithm.
+     * @param buf Input buffer.
+     * @param len Data length.
+     *
+     * @return Crc checksum.
+     */
+    public static int calcCrc(CrcAlgorithm algo, ByteBuffer buf, int len) {
+        if (algo == CrcAlgorithm.CRC32)
+            return calcCrc(buf, len);
+
+        Checksum crcAlgo = CRC32C.get();
+
+        int res = calcCrc(crcAlgo, buf, len);
+
+        crcAlgo.reset();
+
+        return res;
+    }
+
+    /**
+     * @return {@code True} if hardware accelerated JDK implementation of CRC32C is available.
+     */
+    public static boolean isJdkCrc32c() {
+        return JDK_CRC32C_CTOR != null;
+    }
+
     /**
      * @param crcAlgo CRC algorithm.
      * @param buf Input buffer.
@@ -86,15 +158,41 @@ public final class FastCrc {
      *
      * @return Crc checksum.
      */
-    private static int calcCrc(CRC32 crcAlgo, ByteBuffer buf, int len) {
+    private static int calcCrc(Checksum crcAlgo, ByteBuffer buf, int len) {
         int initLimit = buf.limit();
 
         buf.limit(buf.position() + len);
 
-        crcAlgo.update(buf);
+        if (crcAlgo instanceof CRC32)
+            ((CRC32)crcAlgo).update(buf);
+        else if (crcAlgo instanceof PureJavaCrc32C)
+            ((PureJavaCrc32C)crcAlgo).update(buf);
+        else {
+            try {
+                CHECKSUM_UPDATE_BUF.invokeExact(crcAlgo, buf);
+            }
+            catch (Throwable e) {
+                throw new IgniteException(e);
+            }
+        }
 
         buf.limit(initLimit);
 
         return (int)crcAlgo.getValue() ^ 0xFFFFFFFF;
     }
+
+    /**
+     * @return CRC32C checksum, JDK implementation if available or pure Java one otherwise.
+     */
+    private static Checksum createCrc32c() {
+        if (JDK_CRC32C_CTOR == null)
+            return new PureJavaCrc32C();
+
+        try {
+            return (Checksum)JDK_CRC32C_CTOR.invokeExact();
+        }
+        catch (Throwable e) {
+            throw new IgniteException(e);
+        }
+    }
 }
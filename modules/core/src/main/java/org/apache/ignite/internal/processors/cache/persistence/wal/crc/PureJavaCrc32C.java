@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal.crc;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+
+/**
+ * Table driven (slicing-by-8) implementation of CRC32C checksum producing the same values as
+ * {@code java.util.zip.CRC32C}. Used only on Java 8 where JDK implementation is not available.
+ */
+public final class PureJavaCrc32C implements Checksum {
+    /** Reversed Castagnoli polynomial. */
+    private static final int POLY = 0x82F63B78;
+
+    /** Lookup tables, table {@code k} starts at {@code k * 256}. */
+    private static final int[] T = new int[8 * 256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int c = i;
+
+            for (int j = 0; j < 8; j++)
+                c = (c & 1) != 0 ? (c >>> 1) ^ POLY : c >>> 1;
+
+            T[i] = c;
+        }
+
+        for (int k = 1; k < 8; k++) {
+            for (int i = 0; i < 256; i++) {
+                int c = T[(k - 1) * 256 + i];
+
+                T[k * 256 + i] = (c >>> 8) ^ T[c & 0xFF];
+            }
+        }
+    }
+
+    /** Current CRC value (inverted). */
+    private int crc = 0xFFFFFFFF;
+
+    /** {@inheritDoc} */
+    @Override public void update(int b) {
+        crc = (crc >>> 8) ^ T[(crc ^ b) & 0xFF];
+    }
+
+    /** {@inheritDoc} */
+    @Override public void update(byte[] b, int off, int len) {
+        int c = crc;
+
+        while (len >= 8) {
+            c ^= (b[off] & 0xFF) | (b[off + 1] & 0xFF) << 8 | (b[off + 2] & 0xFF) << 16 | (b[off + 3] & 0xFF) << 24;
+
+            c = T[7 * 256 + (c & 0xFF)] ^ T[6 * 256 + ((c >>> 8) & 0xFF)] ^
+                T[5 * 256 + ((c >>> 16) & 0xFF)] ^ T[4 * 256 + (c >>> 24)] ^
+                T[3 * 256 + (b[off + 4] & 0xFF)] ^ T[2 * 256 + (b[off + 5] & 0xFF)] ^
+                T[256 + (b[off + 6] & 0xFF)] ^ T[b[off + 7] & 0xFF];
+
+            off += 8;
+            len -= 8;
+        }
+
+        while (len-- > 0)
+            c = (c >>> 8) ^ T[(c ^ b[off++]) & 0xFF];
+
+        crc = c;
+    }
+
+    /**
+     * Updates the checksum with the remaining bytes of the buffer, buffer position is moved to its limit.
+     *
+     * @param buf Buffer.
+     */
+    public void update(ByteBuffer buf) {
+        int pos = buf.position();
+        int len = buf.limit() - pos;
+
+        if (buf.hasArray())
+            update(buf.array(), buf.arrayOffset() + pos, len);
+        else {
+            int c = crc;
+
+            for (int i = 0; i < len; i++)
+                c = (c >>> 8) ^ T[(c ^ buf.get(pos + i)) & 0xFF];
+
+            crc = c;
+        }
+
+        buf.position(pos + len);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getValue() {
+        return ~crc & 0xFFFFFFFFL;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void reset() {
+        crc = 0xFFFFFFFF;
+    }
+}
@@ -52,7 +52,7 @@ import org.jetbrains.annotations.Nullable;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_SERIALIZER_VERSION;
 import static org.apache.ignite.failure.FailureType.CRITICAL_ERROR;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.prepareSerializerVersionBuffer;
-import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializerFactory.LATEST_SERIALIZER_VERSION;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializerFactory.DFLT_SERIALIZER_VERSION;
 
 /**
  * File handle for one log segment.
@@ -67,7 +67,7 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
 
     /** Serializer latest version to use. */
     private final int serializerVersion =
-        IgniteSystemProperties.getInteger(IGNITE_WAL_SERIALIZER_VERSION, LATEST_SERIALIZER_VERSION);
+        IgniteSystemProperties.getInteger(IGNITE_WAL_SERIALIZER_VERSION, DFLT_SERIALIZER_VERSION);
 
     /**
      * Accumulated WAL records chain. This reference points to latest WAL record. When writing records chain is iterated
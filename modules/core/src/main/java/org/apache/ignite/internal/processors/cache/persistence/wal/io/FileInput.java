@@ -21,6 +21,7 @@ import java.nio.ByteBuffer;
 
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.wal.ByteBufferBackedDataInput;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.CrcAlgorithm;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDataIntegrityViolationException;
 import org.jetbrains.annotations.NotNull;
@@ -51,14 +52,23 @@ public interface FileInput extends ByteBufferBackedDataInput {
      * @param skipCheck If CRC check should be skipped.
      * @return autoclosable fileInput, after its closing crc32 will be calculated and compared with saved one
      */
-    SimpleFileInput.Crc32CheckingFileInput startRead(boolean skipCheck);
+    default SimpleFileInput.Crc32CheckingFileInput startRead(boolean skipCheck) {
+        return startRead(skipCheck, CrcAlgorithm.CRC32);
+    }
+
+    /**
+     * @param skipCheck If CRC check should be skipped.
+     * @param crcAlgo Checksum algorithm of the records.
+     * @return autoclosable fileInput, after its closing crc will be calculated and compared with saved one
+     */
+    SimpleFileInput.Crc32CheckingFileInput startRead(boolean skipCheck, CrcAlgorithm crcAlgo);
 
     /**
      * Checking of CRC32.
      */
     public class Crc32CheckingFileInput implements ByteBufferBackedDataInput, AutoCloseable {
         /** */
-        private final FastCrc crc = new FastCrc();
+        private final FastCrc crc;
 
         /** Last calc position. */
         private int lastCalcPosition;
@@ -78,6 +88,16 @@ public interface FileInput extends ByteBufferBackedDataInput {
         /**
          */
         public Crc32CheckingFileInput(FileInput delegate, boolean skipCheck) {
+            this(delegate, skipCheck, CrcAlgorithm.CRC32);
+        }
+
+        /**
+         * @param delegate File input.
+         * @param skipCheck Skip crc check.
+         * @param crcAlgo Checksum algorithm.
+         */
+        public Crc32CheckingFileInput(FileInput delegate, boolean skipCheck, CrcAlgorithm crcAlgo) {
+            this.crc = new FastCrc(crcAlgo);
             this.delegate = delegate;
             this.lastCalcPosition = delegate.buffer().position();
             this.calcStartPos = HEADER_RECORD_SIZE + lastCalcPosition;
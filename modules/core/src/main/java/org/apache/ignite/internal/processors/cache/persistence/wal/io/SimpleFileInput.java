@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.wal.ByteBufferExpander;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.CrcAlgorithm;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -262,11 +263,8 @@ public class SimpleFileInput implements FileInput {
         throw new UnsupportedOperationException();
     }
 
-    /**
-     * @param skipCheck If CRC check should be skipped.
-     * @return autoclosable fileInput, after its closing crc will be calculated and compared with saved one
-     */
-    @Override public Crc32CheckingFileInput startRead(boolean skipCheck) {
-        return new Crc32CheckingFileInput(this, skipCheck);
+    /** {@inheritDoc} */
+    @Override public Crc32CheckingFileInput startRead(boolean skipCheck, CrcAlgorithm crcAlgo) {
+        return new Crc32CheckingFileInput(this, skipCheck, crcAlgo);
     }
 }
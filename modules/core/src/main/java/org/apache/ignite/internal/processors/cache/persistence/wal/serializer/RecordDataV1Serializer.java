@@ -57,6 +57,7 @@ import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageInsertRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageMvccMarkUpdatedRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageMvccUpdateNewTxStateHintRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageMvccUpdateTxStateHintRecord;
+import org.apache.ignite.internal.pagemem.wal.record.delta.DataPagePatchRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageRemoveRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageSetFreeListPageRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageUpdateRecord;
@@ -426,6 +427,9 @@ public class RecordDataV1Serializer implements RecordDataSerializer {
                 return 4 + 8 + 2 + 4 +
                         uRec.payload().length;
 
+            case DATA_PAGE_PATCH_RECORD:
+                return 4 + 8 + 4 + 2 + ((DataPagePatchRecord)record).changes().length;
+
             case DATA_PAGE_INSERT_FRAGMENT_RECORD:
                 final DataPageInsertFragmentRecord difRec = (DataPageInsertFragmentRecord)record;
 
@@ -772,6 +776,25 @@ public class RecordDataV1Serializer implements RecordDataSerializer {
                 break;
             }
 
+            case DATA_PAGE_PATCH_RECORD: {
+                cacheId = in.readInt();
+                pageId = in.readLong();
+
+                int itemId = in.readInt();
+
+                int size = in.readUnsignedShort();
+
+                in.ensure(size);
+
+                byte[] changes = new byte[size];
+
+                in.readFully(changes);
+
+                res = new DataPagePatchRecord(cacheId, pageId, itemId, changes);
+
+                break;
+            }
+
             case DATA_PAGE_INSERT_FRAGMENT_RECORD: {
                 cacheId = in.readInt();
                 pageId = in.readLong();
@@ -1442,6 +1465,19 @@ public class RecordDataV1Serializer implements RecordDataSerializer {
 
                 break;
 
+            case DATA_PAGE_PATCH_RECORD:
+                DataPagePatchRecord pRec = (DataPagePatchRecord)rec;
+
+                buf.putInt(pRec.groupId());
+                buf.putLong(pRec.pageId());
+                buf.putInt(pRec.itemId());
+
+                buf.putShort((short)pRec.changes().length);
+
+                buf.put(pRec.changes());
+
+                break;
+
             case DATA_PAGE_INSERT_FRAGMENT_RECORD:
                 final DataPageInsertFragmentRecord difRec = (DataPageInsertFragmentRecord)rec;
 
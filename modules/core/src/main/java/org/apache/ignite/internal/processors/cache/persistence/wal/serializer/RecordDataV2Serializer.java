@@ -119,6 +119,9 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
             case CONSISTENT_CUT:
                 return 0;
 
+            case CONSISTENT_CUT_V2:
+                return 8;
+
             case ROLLBACK_TX_RECORD:
                 return 4 + 4 + 8 + 8;
 
@@ -230,7 +233,10 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
                 return txRecordSerializer.readMvccTx(in);
 
             case CONSISTENT_CUT:
-                return new ConsistentCutRecord();
+                return new ConsistentCutRecord(0);
+
+            case CONSISTENT_CUT_V2:
+                return new ConsistentCutRecord(in.readLong());
 
             case ROLLBACK_TX_RECORD:
                 int grpId = in.readInt();
@@ -369,7 +375,9 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
 
                 break;
 
-            case CONSISTENT_CUT:
+            case CONSISTENT_CUT_V2:
+                buf.putLong(((ConsistentCutRecord)rec).timestamp());
+
                 break;
 
             default:
@@ -21,6 +21,7 @@ import org.apache.ignite.internal.pagemem.wal.WALPointer;
 import org.apache.ignite.internal.pagemem.wal.record.FilteredRecord;
 import org.apache.ignite.internal.pagemem.wal.record.MarshalledRecord;
 import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
 import org.apache.ignite.lang.IgniteBiPredicate;
 
 /**
@@ -28,7 +29,14 @@ import org.apache.ignite.lang.IgniteBiPredicate;
  */
 public interface RecordSerializerFactory {
     /** Latest serializer version to use. */
-    static final int LATEST_SERIALIZER_VERSION = 2;
+    static final int LATEST_SERIALIZER_VERSION = RecordV3Serializer.VERSION;
+
+    /**
+     * Default serializer version. Latest version uses CRC32C checksums which are slower than CRC32 ones if there is no
+     * hardware accelerated JDK implementation, so previous version is used on Java 8.
+     */
+    static final int DFLT_SERIALIZER_VERSION = FastCrc.isJdkCrc32c() ? LATEST_SERIALIZER_VERSION : 2;
+
     /**
      * Factory method for creation {@link RecordSerializer}.
      *
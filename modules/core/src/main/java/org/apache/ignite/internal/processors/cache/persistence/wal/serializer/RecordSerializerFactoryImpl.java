@@ -105,6 +105,15 @@ public class RecordSerializerFactoryImpl implements RecordSerializerFactory {
                     recordDeserializeFilter
                 );
 
+            case RecordV3Serializer.VERSION:
+                return new RecordV3Serializer(
+                    new RecordDataV2Serializer(cctx, cacheKeyProvider),
+                    needWritePointer,
+                    marshalledMode,
+                    skipPositionCheck,
+                    recordDeserializeFilter
+                );
+
             default:
                 throw new IgniteCheckedException("Failed to create a serializer with the given version " +
                     "(forward compatibility is not supported): " + ver);
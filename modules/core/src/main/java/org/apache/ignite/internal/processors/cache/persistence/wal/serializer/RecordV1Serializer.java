@@ -34,7 +34,7 @@ import org.apache.ignite.internal.processors.cache.persistence.wal.ByteBufferExp
 import org.apache.ignite.internal.processors.cache.persistence.wal.FileWALPointer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.SegmentEofException;
 import org.apache.ignite.internal.processors.cache.persistence.wal.WalSegmentTailReachedException;
-import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.CrcAlgorithm;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.FileInput;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.SegmentFileInputFactory;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.SegmentIO;
@@ -76,6 +76,14 @@ public class RecordV1Serializer implements RecordSerializer {
     /** Skip CRC calculation/check flag */
     public static boolean skipCrc = IgniteSystemProperties.getBoolean(IGNITE_PDS_SKIP_CRC, false);
 
+    /**
+     * @param ver Serializer version.
+     * @return Checksum algorithm of records written by serializer of the given version.
+     */
+    public static CrcAlgorithm crcAlgorithm(int ver) {
+        return ver >= RecordV3Serializer.VERSION ? CrcAlgorithm.CRC32C : CrcAlgorithm.CRC32;
+    }
+
     /** V1 data serializer. */
     private final RecordDataV1Serializer dataSerializer;
 
@@ -218,12 +226,12 @@ public class RecordV1Serializer implements RecordSerializer {
 
     /** {@inheritDoc} */
     @Override public void writeRecord(WALRecord rec, ByteBuffer buf) throws IgniteCheckedException {
-        writeWithCrc(rec, buf, recordIO);
+        writeWithCrc(rec, buf, recordIO, CrcAlgorithm.CRC32);
     }
 
     /** {@inheritDoc} */
     @Override public WALRecord readRecord(FileInput in0, WALPointer expPtr) throws IOException, IgniteCheckedException {
-        return readWithCrc(in0, expPtr, recordIO);
+        return readWithCrc(in0, expPtr, recordIO, CrcAlgorithm.CRC32);
     }
 
     /** {@inheritDoc} */
@@ -353,6 +361,7 @@ public class RecordV1Serializer implements RecordSerializer {
      * @param in0 File input.
      * @param expPtr Expected WAL pointer for record. Used to validate actual position against expected from the file.
      * @param reader Record reader I/O interface.
+     * @param crcAlgo Checksum algorithm.
      * @return WAL record.
      * @throws EOFException In case of end of file.
      * @throws IgniteCheckedException If it's unable to read record.
@@ -360,11 +369,12 @@ public class RecordV1Serializer implements RecordSerializer {
     static WALRecord readWithCrc(
         FileInput in0,
         WALPointer expPtr,
-        RecordIO reader
+        RecordIO reader,
+        CrcAlgorithm crcAlgo
     ) throws EOFException, IgniteCheckedException {
         long startPos = -1;
 
-        try (SimpleFileInput.Crc32CheckingFileInput in = in0.startRead(skipCrc)) {
+        try (SimpleFileInput.Crc32CheckingFileInput in = in0.startRead(skipCrc, crcAlgo)) {
             startPos = in0.position();
 
             WALRecord res = reader.readWithHeaders(in, expPtr);
@@ -401,9 +411,15 @@ public class RecordV1Serializer implements RecordSerializer {
      * @param rec WAL record.
      * @param buf Buffer to write.
      * @param writer Record write I/O interface.
+     * @param crcAlgo Checksum algorithm.
      * @throws IgniteCheckedException If it's unable to write record.
      */
-    static void writeWithCrc(WALRecord rec, ByteBuffer buf, RecordIO writer) throws IgniteCheckedException {
+    static void writeWithCrc(
+        WALRecord rec,
+        ByteBuffer buf,
+        RecordIO writer,
+        CrcAlgorithm crcAlgo
+    ) throws IgniteCheckedException {
         assert rec.size() >= 0 && buf.remaining() >= rec.size() : rec.size();
 
         boolean switchSegmentRec = rec.type() == RecordType.SWITCH_SEGMENT_RECORD;
@@ -422,7 +438,7 @@ public class RecordV1Serializer implements RecordSerializer {
             buf.position(startPos);
 
             // This call will move buffer position to the end of the record again.
-            int crcVal = FastCrc.calcCrc(buf, curPos - startPos);
+            int crcVal = crcAlgo.calcCrc(buf, curPos - startPos);
 
             buf.putInt(crcVal);
         }
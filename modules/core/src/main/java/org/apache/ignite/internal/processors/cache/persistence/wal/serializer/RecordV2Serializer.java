@@ -30,6 +30,7 @@ import org.apache.ignite.internal.processors.cache.persistence.wal.ByteBufferBac
 import org.apache.ignite.internal.processors.cache.persistence.wal.FileWALPointer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.SegmentEofException;
 import org.apache.ignite.internal.processors.cache.persistence.wal.WalSegmentTailReachedException;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.CrcAlgorithm;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.FileInput;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.io.RecordIO;
 import org.apache.ignite.internal.util.GridUnsafe;
@@ -231,6 +232,13 @@ public class RecordV2Serializer implements RecordSerializer {
         return 2;
     }
 
+    /**
+     * @return Checksum algorithm of records.
+     */
+    protected CrcAlgorithm crcAlgorithm() {
+        return CrcAlgorithm.CRC32;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean writePointer() {
         return writePointer;
@@ -243,12 +251,12 @@ public class RecordV2Serializer implements RecordSerializer {
 
     /** {@inheritDoc} */
     @Override public void writeRecord(WALRecord record, ByteBuffer buf) throws IgniteCheckedException {
-        RecordV1Serializer.writeWithCrc(record, buf, recordIO);
+        RecordV1Serializer.writeWithCrc(record, buf, recordIO, crcAlgorithm());
     }
 
     /** {@inheritDoc} */
     @Override public WALRecord readRecord(FileInput in, WALPointer expPtr) throws IOException, IgniteCheckedException {
-        return RecordV1Serializer.readWithCrc(in, expPtr, recordIO);
+        return RecordV1Serializer.readWithCrc(in, expPtr, recordIO, crcAlgorithm());
     }
 
     /**
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal.serializer;
+
+import org.apache.ignite.internal.pagemem.wal.WALPointer;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.CrcAlgorithm;
+import org.apache.ignite.lang.IgniteBiPredicate;
+
+/**
+ * Record V3 serializer. Stores records in the same format as {@link RecordV2Serializer}, but record checksums are
+ * calculated with {@link CrcAlgorithm#CRC32C} which is considerably faster for small records on Java 9+.
+ */
+public class RecordV3Serializer extends RecordV2Serializer {
+    /** Serializer version. */
+    public static final int VERSION = 3;
+
+    /**
+     * Create an instance of Record V3 serializer.
+     *
+     * @param dataSerializer V2 data serializer.
+     * @param marshalledMode Marshalled mode.
+     * @param skipPositionCheck Skip position check mode.
+     * @param recordFilter Record type filter.
+     */
+    public RecordV3Serializer(
+        RecordDataV2Serializer dataSerializer,
+        boolean writePointer,
+        boolean marshalledMode,
+        boolean skipPositionCheck,
+        IgniteBiPredicate<RecordType, WALPointer> recordFilter
+    ) {
+        super(dataSerializer, writePointer, marshalledMode, skipPositionCheck, recordFilter);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int version() {
+        return VERSION;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected CrcAlgorithm crcAlgorithm() {
+        return CrcAlgorithm.CRC32C;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.query.continuous;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.continuous.GridContinuousQueryBatch;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Continuous query batch which keeps only the latest pending event for a key.
+ * <p>
+ * When an event for a key arrives while a previous event for the same key is still pending, the previous
+ * event is dropped and accounted as filtered in the next pending event of the partition. This is possible only
+ * if the update counters of the previous event and the filtered events before the next one form a contiguous
+ * range, so the master node still observes all update counters and does not wait for the dropped ones.
+ */
+public class CacheContinuousQueryConflatingBatch extends GridContinuousQueryBatch {
+    /** Pending entries per partition ordered by update counter. */
+    @GridToStringExclude
+    private final Map<Integer, TreeMap<Long, CacheContinuousQueryEntry>> entries = new HashMap<>();
+
+    /** Update counter of the latest pending entry per partition and key. */
+    @GridToStringExclude
+    private final Map<Integer, Map<KeyCacheObject, Long>> keys = new HashMap<>();
+
+    /** Number of pending entries. */
+    private int pending;
+
+    /** Number of added entries including conflated ones. */
+    private int added;
+
+    /** Number of conflated entries. */
+    private int conflated;
+
+    /** {@inheritDoc} */
+    @Override public synchronized void add(Object obj) {
+        assert obj != null;
+        assert obj instanceof CacheContinuousQueryEntry || obj instanceof List;
+
+        if (obj instanceof CacheContinuousQueryEntry)
+            add0((CacheContinuousQueryEntry)obj);
+        else {
+            for (Object e : (List<Object>)obj)
+                add0((CacheContinuousQueryEntry)e);
+        }
+    }
+
+    /**
+     * @param e Entry.
+     */
+    private void add0(CacheContinuousQueryEntry e) {
+        added++;
+
+        TreeMap<Long, CacheContinuousQueryEntry> partEntries =
+            entries.computeIfAbsent(e.partition(), p -> new TreeMap<>());
+
+        if (partEntries.put(e.updateCounter(), e) == null)
+            pending++;
+
+        if (e.isFiltered() || e.key() == null)
+            return;
+
+        Long prevCntr = keys.computeIfAbsent(e.partition(), p -> new HashMap<>()).put(e.key(), e.updateCounter());
+
+        if (prevCntr == null || prevCntr >= e.updateCounter())
+            return;
+
+        Map.Entry<Long, CacheContinuousQueryEntry> next = partEntries.higherEntry(prevCntr);
+
+        assert next != null;
+
+        CacheContinuousQueryEntry nextEntry = next.getValue();
+
+        if (nextEntry.updateCounter() - nextEntry.filteredCount() - 1 != prevCntr)
+            return;
+
+        CacheContinuousQueryEntry prev = partEntries.remove(prevCntr);
+
+        nextEntry.filteredCount(nextEntry.filteredCount() + prev.filteredCount() + 1);
+
+        pending--;
+        conflated++;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized Collection<Object> collect() {
+        List<Object> res = new ArrayList<>(pending);
+
+        for (TreeMap<Long, CacheContinuousQueryEntry> partEntries : entries.values())
+            res.addAll(partEntries.values());
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized int size() {
+        return pending;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized int entriesCount() {
+        return added;
+    }
+
+    /**
+     * @return Number of entries merged with newer entries for the same key.
+     */
+    public synchronized int conflatedCount() {
+        return conflated;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized String toString() {
+        return S.toString(CacheContinuousQueryConflatingBatch.class, this);
+    }
+}
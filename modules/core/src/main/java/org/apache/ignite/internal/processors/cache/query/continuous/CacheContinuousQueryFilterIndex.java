@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.query.continuous;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.query.ContinuousQueryFieldFilter;
+import org.apache.ignite.cache.query.ContinuousQueryFieldFilter.Condition;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Index of continuous query listeners with {@link ContinuousQueryFieldFilter} remote filters.
+ * <p>
+ * Every indexed listener is registered by one condition of its filter: an equality condition if there is one,
+ * or a range condition otherwise. For an updated value the index returns listeners whose indexed condition
+ * is satisfied, the other indexed listeners are known to filter the event out without calling their filters.
+ */
+class CacheContinuousQueryFilterIndex {
+    /** Listeners indexed by equality conditions: field name -> field value -> listener IDs. */
+    private final Map<String, Map<Object, Set<UUID>>> eqIdx = new ConcurrentHashMap<>();
+
+    /** Listeners indexed by range conditions: field name -> listener ID -> condition. */
+    private final Map<String, Map<UUID, Condition>> rangeIdx = new ConcurrentHashMap<>();
+
+    /** Indexed conditions of listeners. */
+    private final Map<UUID, Condition> conds = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a listener to the index.
+     *
+     * @param lsnrId Listener ID.
+     * @param filter Listener filter.
+     * @return {@code True} if the listener was indexed.
+     */
+    boolean add(UUID lsnrId, ContinuousQueryFieldFilter<?, ?> filter) {
+        Condition idxCond = null;
+
+        for (Condition cond : filter.conditions()) {
+            if (cond.isEquality()) {
+                idxCond = cond;
+
+                break;
+            }
+
+            if (idxCond == null)
+                idxCond = cond;
+        }
+
+        if (idxCond == null)
+            return false;
+
+        // The condition is published after the value maps, so a listener is never skipped while it is being added.
+        if (idxCond.isEquality()) {
+            eqIdx.computeIfAbsent(idxCond.field(), f -> new ConcurrentHashMap<>())
+                .computeIfAbsent(idxCond.value(), v -> ConcurrentHashMap.newKeySet())
+                .add(lsnrId);
+        }
+        else
+            rangeIdx.computeIfAbsent(idxCond.field(), f -> new ConcurrentHashMap<>()).put(lsnrId, idxCond);
+
+        conds.put(lsnrId, idxCond);
+
+        return true;
+    }
+
+    /**
+     * Removes a listener from the index.
+     *
+     * @param lsnrId Listener ID.
+     */
+    void remove(UUID lsnrId) {
+        Condition cond = conds.remove(lsnrId);
+
+        if (cond == null)
+            return;
+
+        if (cond.isEquality()) {
+            Map<Object, Set<UUID>> vals = eqIdx.get(cond.field());
+
+            if (vals != null) {
+                vals.computeIfPresent(cond.value(), (v, ids) -> {
+                    ids.remove(lsnrId);
+
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+        else {
+            Map<UUID, Condition> fldConds = rangeIdx.get(cond.field());
+
+            if (fldConds != null)
+                fldConds.remove(lsnrId);
+        }
+    }
+
+    /**
+     * @return {@code True} if there are no indexed listeners.
+     */
+    boolean isEmpty() {
+        return conds.isEmpty();
+    }
+
+    /**
+     * @param lsnrId Listener ID.
+     * @return {@code True} if the listener is indexed.
+     */
+    boolean indexed(UUID lsnrId) {
+        return conds.containsKey(lsnrId);
+    }
+
+    /**
+     * Finds indexed listeners whose filters may accept the value.
+     *
+     * @param val Value of the updated entry.
+     * @return IDs of indexed listeners which may accept the value, or {@code null} if the value can't be
+     *      checked by the index and all listeners should evaluate their filters.
+     */
+    @Nullable Set<UUID> candidates(@Nullable Object val) {
+        if (val == null)
+            return Collections.emptySet();
+
+        if (!(val instanceof BinaryObject))
+            return null;
+
+        Set<UUID> res = null;
+
+        for (Map.Entry<String, Map<Object, Set<UUID>>> e : eqIdx.entrySet()) {
+            Object fldVal = ContinuousQueryFieldFilter.fieldValue(val, e.getKey());
+
+            Set<UUID> ids = fldVal == null ? null : e.getValue().get(fldVal);
+
+            if (ids != null) {
+                if (res == null)
+                    res = new HashSet<>();
+
+                res.addAll(ids);
+            }
+        }
+
+        for (Map.Entry<String, Map<UUID, Condition>> e : rangeIdx.entrySet()) {
+            if (e.getValue().isEmpty())
+                continue;
+
+            Object fldVal = ContinuousQueryFieldFilter.fieldValue(val, e.getKey());
+
+            if (fldVal == null)
+                continue;
+
+            for (Map.Entry<UUID, Condition> c : e.getValue().entrySet()) {
+                if (c.getValue().matches(fldVal)) {
+                    if (res == null)
+                        res = new HashSet<>();
+
+                    res.add(c.getKey());
+                }
+            }
+        }
+
+        return res == null ? Collections.emptySet() : res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(CacheContinuousQueryFilterIndex.class, this, "size", conds.size());
+    }
+}
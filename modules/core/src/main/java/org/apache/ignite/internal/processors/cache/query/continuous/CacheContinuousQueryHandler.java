@@ -41,7 +41,9 @@ import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.SystemProperty;
+import org.apache.ignite.binary.BinaryObject;
 import org.apache.ignite.cache.CacheEntryEventSerializableFilter;
+import org.apache.ignite.cache.query.ContinuousQueryFieldFilter;
 import org.apache.ignite.cache.query.ContinuousQueryWithTransformer.EventListener;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.events.CacheQueryExecutedEvent;
@@ -669,6 +671,16 @@ public class CacheContinuousQueryHandler<K, V> implements GridContinuousHandler
                 return locOnly && !skipPrimaryCheck;
             }
 
+            @Override public ContinuousQueryFieldFilter<K, V> fieldFilter() {
+                // The filter is not known until deployment finishes, such listeners are not indexed.
+                if (!initFut.isDone() || initFut.error() != null)
+                    return null;
+
+                CacheEntryEventFilter filter = getEventFilter0();
+
+                return filter instanceof ContinuousQueryFieldFilter ? (ContinuousQueryFieldFilter<K, V>)filter : null;
+            }
+
             /**
              * Checks whether it is need to notify listeners.
              *
@@ -888,7 +900,7 @@ public class CacheContinuousQueryHandler<K, V> implements GridContinuousHandler
      * @param ctx Kernal context.
      * @return Continuous query manager.
      */
-    private CacheContinuousQueryManager manager(GridKernalContext ctx) {
+    CacheContinuousQueryManager manager(GridKernalContext ctx) {
         GridCacheContext<K, V> cacheCtx = cacheContext(ctx);
 
         return cacheCtx == null ? null : cacheCtx.continuousQueries();
@@ -1054,8 +1066,16 @@ public class CacheContinuousQueryHandler<K, V> implements GridContinuousHandler
         boolean notify = !entry.isFiltered();
 
         try {
-            if (notify && getEventFilter() != null)
-                notify = getEventFilter().evaluate(evt);
+            CacheEntryEventFilter filter = notify ? getEventFilter() : null;
+
+            if (filter instanceof ContinuousQueryFieldFilter) {
+                // Read fields from the binary value without deserialization.
+                Object val = entry.value() instanceof BinaryObject ? entry.value() : evt.getValue();
+
+                notify = ((ContinuousQueryFieldFilter)filter).matches(val);
+            }
+            else if (filter != null)
+                notify = filter.evaluate(evt);
         }
         catch (NoClassDefFoundError e) {
             P2PClassLoadingIssues.rethrowDisarmedP2PClassLoadingFailure(e);
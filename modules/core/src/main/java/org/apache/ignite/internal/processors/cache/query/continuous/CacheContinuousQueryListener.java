@@ -17,6 +17,7 @@
 package org.apache.ignite.internal.processors.cache.query.continuous;
 
 import java.util.Map;
+import org.apache.ignite.cache.query.ContinuousQueryFieldFilter;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
@@ -131,4 +132,9 @@ public interface CacheContinuousQueryListener<K, V> {
      * @return {@code True} if this listener should be called on events on primary partitions only.
      */
     public boolean isPrimaryOnly();
+
+    /**
+     * @return Declarative remote filter which can be indexed or {@code null} if the listener has no such filter.
+     */
+    @Nullable public ContinuousQueryFieldFilter<K, V> fieldFilter();
 }
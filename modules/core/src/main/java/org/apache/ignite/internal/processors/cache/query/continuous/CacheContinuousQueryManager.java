@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -50,6 +51,7 @@ import org.apache.ignite.cache.CacheEntryEventSerializableFilter;
 import org.apache.ignite.cache.CacheMode;
 import org.apache.ignite.cache.query.CacheQueryEntryEvent;
 import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.ContinuousQueryFieldFilter;
 import org.apache.ignite.cache.query.ContinuousQueryWithTransformer.EventListener;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.internal.GridKernalContext;
@@ -66,6 +68,8 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDh
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
 import org.apache.ignite.internal.processors.cache.transactions.IgniteInternalTx;
 import org.apache.ignite.internal.processors.continuous.GridContinuousHandler;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.internal.processors.timeout.GridTimeoutProcessor;
 import org.apache.ignite.internal.util.GridLongList;
 import org.apache.ignite.internal.util.lang.gridfunc.IsAllPredicate;
@@ -89,6 +93,7 @@ import static javax.cache.event.EventType.UPDATED;
 import static org.apache.ignite.events.EventType.EVT_CACHE_QUERY_OBJECT_READ;
 import static org.apache.ignite.internal.GridTopic.TOPIC_CACHE;
 import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_CLIENT_MODE;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.cacheMetricsRegistryName;
 
 /**
  * Continuous queries manager.
@@ -134,6 +139,15 @@ public class CacheContinuousQueryManager extends GridCacheManagerAdapter {
     /** Cancelable future task for backup cleaner */
     private GridTimeoutProcessor.CancelableTask cancelableTask;
 
+    /** Number of events merged by conflating continuous queries before being sent. */
+    private LongAdderMetric conflatedEvts;
+
+    /** Index of listeners with declarative remote filters. */
+    private final CacheContinuousQueryFilterIndex filterIdx = new CacheContinuousQueryFilterIndex();
+
+    /** Number of events skipped by listeners with declarative filters without calling the filters. */
+    private LongAdderMetric idxSkippedEvts;
+
     /** {@inheritDoc} */
     @Override protected void stop0(boolean cancel, boolean destroy) {
         if (cancelableTask != null) {
@@ -143,6 +157,13 @@ public class CacheContinuousQueryManager extends GridCacheManagerAdapter {
         }
     }
 
+    /**
+     * @param cnt Number of events merged by a conflating continuous query.
+     */
+    void onEventsConflated(int cnt) {
+        conflatedEvts.add(cnt);
+    }
+
     /**
      * USED ONLY FOR TESTING.
      *
@@ -158,6 +179,15 @@ public class CacheContinuousQueryManager extends GridCacheManagerAdapter {
         // Append cache name to the topic.
         topicPrefix = "CONTINUOUS_QUERY" + (cctx.name() == null ? "" : "_" + cctx.name());
 
+        MetricRegistry mreg = cctx.kernalContext().metric()
+            .registry(cacheMetricsRegistryName(cctx.name(), cctx.isNear()));
+
+        conflatedEvts = mreg.longAdderMetric("ContinuousQueryConflatedEvents",
+            "Number of continuous query events merged with newer events for the same key before being sent.");
+
+        idxSkippedEvts = mreg.longAdderMetric("ContinuousQueryIndexSkippedEvents",
+            "Number of events filtered out by the continuous query filter index without calling the filters.");
+
         if (cctx.affinityNode()) {
             cctx.io().addCacheHandler(cctx.cacheId(), CacheContinuousQueryBatchAck.class,
                 new CI2<UUID, CacheContinuousQueryBatchAck>() {
@@ -225,24 +255,40 @@ public class CacheContinuousQueryManager extends GridCacheManagerAdapter {
         AffinityTopologyVersion topVer) {
         assert lsnrs != null;
 
-        for (CacheContinuousQueryListener lsnr : lsnrs.values()) {
-            CacheContinuousQueryEntry e0 = new CacheContinuousQueryEntry(
-                cctx.cacheId(),
-                UPDATED,
-                key,
-                null,
-                null,
-                lsnr.keepBinary(),
-                partId,
-                updCntr,
-                topVer,
-                (byte)0);
-
-            CacheContinuousQueryEvent evt = new CacheContinuousQueryEvent<>(
-                cctx.kernalContext().cache().jcache(cctx.name()), cctx, e0);
+        for (CacheContinuousQueryListener lsnr : lsnrs.values())
+            skipUpdateEvent(lsnr, key, partId, updCntr, primary, topVer);
+    }
 
-            lsnr.skipUpdateEvent(evt, topVer, primary);
-        }
+    /**
+     * @param lsnr Listener.
+     * @param key Key.
+     * @param partId Partition id.
+     * @param updCntr Updated counter.
+     * @param primary Primary.
+     * @param topVer Topology version.
+     */
+    private void skipUpdateEvent(CacheContinuousQueryListener lsnr,
+        KeyCacheObject key,
+        int partId,
+        long updCntr,
+        boolean primary,
+        AffinityTopologyVersion topVer) {
+        CacheContinuousQueryEntry e0 = new CacheContinuousQueryEntry(
+            cctx.cacheId(),
+            UPDATED,
+            key,
+            null,
+            null,
+            lsnr.keepBinary(),
+            partId,
+            updCntr,
+            topVer,
+            (byte)0);
+
+        CacheContinuousQueryEvent evt = new CacheContinuousQueryEvent<>(
+            cctx.kernalContext().cache().jcache(cctx.name()), cctx, e0);
+
+        lsnr.skipUpdateEvent(evt, topVer, primary);
     }
 
     /**
@@ -405,10 +451,38 @@ public class CacheContinuousQueryManager extends GridCacheManagerAdapter {
 
         boolean recordIgniteEvt = primary && !internal && cctx.events().isRecordable(EVT_CACHE_QUERY_OBJECT_READ);
 
-        for (CacheContinuousQueryListener lsnr : lsnrCol.values()) {
+        Set<UUID> idxCandidates = null;
+
+        if (!internal && !filterIdx.isEmpty()) {
+            CacheObject idxVal;
+
+            if (evtType == REMOVED)
+                idxVal = oldVal = (CacheObject)cctx.unwrapTemporary(oldVal);
+            else
+                idxVal = newVal;
+
+            if (idxVal != null)
+                idxVal.finishUnmarshal(cctx.cacheObjectContext(), cctx.deploy().globalLoader());
+
+            idxCandidates = filterIdx.candidates(idxVal);
+        }
+
+        for (Map.Entry<UUID, CacheContinuousQueryListener> lsnrEntry : lsnrCol.entrySet()) {
+            CacheContinuousQueryListener lsnr = lsnrEntry.getValue();
+
             if (preload && !lsnr.notifyExisting() || lsnr.isPrimaryOnly() && !primary)
                 continue;
 
+            if (idxCandidates != null && !idxCandidates.contains(lsnrEntry.getKey()) &&
+                filterIdx.indexed(lsnrEntry.getKey())) {
+                // Filter of the listener rejects the value, only the update counter has to be processed.
+                skipUpdateEvent(lsnr, key, partId, updateCntr, primary, topVer);
+
+                idxSkippedEvts.increment();
+
+                continue;
+            }
+
             if (!initialized) {
                 if (lsnr.oldValueRequired()) {
                     oldVal = (CacheObject)cctx.unwrapTemporary(oldVal);
@@ -513,6 +587,7 @@ public class CacheContinuousQueryManager extends GridCacheManagerAdapter {
      * @param timeInterval Time interval.
      * @param autoUnsubscribe Auto unsubscribe flag.
      * @param loc Local flag.
+     * @param conflate Conflation flag.
      * @return Continuous routine ID.
      * @throws IgniteCheckedException In case of error.
      */
@@ -526,11 +601,29 @@ public class CacheContinuousQueryManager extends GridCacheManagerAdapter {
         boolean autoUnsubscribe,
         boolean loc,
         final boolean keepBinary,
-        final boolean includeExpired) throws IgniteCheckedException
+        final boolean includeExpired,
+        final boolean conflate) throws IgniteCheckedException
     {
         IgniteOutClosure<CacheContinuousQueryHandler> clsr;
 
-        if (rmtTransFactory != null) {
+        if (conflate) {
+            assert rmtTransFactory == null && rmtFilter == null;
+
+            clsr = new IgniteOutClosure<CacheContinuousQueryHandler>() {
+                @Override public CacheContinuousQueryHandler apply() {
+                    return new CacheContinuousQueryHandlerV4(
+                        cctx.name(),
+                        TOPIC_CACHE.topic(topicPrefix, cctx.localNodeId(), seq.getAndIncrement()),
+                        locLsnr,
+                        rmtFilterFactory,
+                        true,
+                        false,
+                        !includeExpired,
+                        false);
+                }
+            };
+        }
+        else if (rmtTransFactory != null) {
             clsr = new IgniteOutClosure<CacheContinuousQueryHandler>() {
                 @Override public CacheContinuousQueryHandler apply() {
                     return new CacheContinuousQueryHandlerV3(
@@ -955,6 +1048,11 @@ public class CacheContinuousQueryManager extends GridCacheManagerAdapter {
 
                         lsnr.onRegister();
 
+                        ContinuousQueryFieldFilter<?, ?> filter = lsnr.fieldFilter();
+
+                        if (filter != null && filterIdx.add(lsnrId, filter) && log.isDebugEnabled())
+                            log.debug("Continuous query listener is added to filter index [lsnrId=" + lsnrId + ']');
+
                         if (lsnrCnt.get() == 1) {
                             if (grp.sharedGroup() && !cctx.isLocal())
                                 grp.addCacheWithContinuousQuery(cctx);
@@ -993,6 +1091,8 @@ public class CacheContinuousQueryManager extends GridCacheManagerAdapter {
 
             try {
                 if ((lsnr = lsnrs.remove(id)) != null) {
+                    filterIdx.remove(id);
+
                     int cnt = lsnrCnt.decrementAndGet();
 
                     if (cctx.group().sharedGroup() && cnt == 0 && !cctx.isLocal())
@@ -16,6 +16,7 @@
 
 package org.apache.ignite.internal.processors.cache.store;
 
+import java.io.File;
 import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -38,6 +39,7 @@ import org.apache.ignite.cache.store.CacheStoreSessionListener;
 import org.apache.ignite.cache.store.jdbc.CacheJdbcPojoStore;
 import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.binary.BinaryContext;
 import org.apache.ignite.internal.processors.cache.CacheEntryImpl;
 import org.apache.ignite.internal.processors.cache.CacheObject;
 import org.apache.ignite.internal.processors.cache.CacheStoreBalancingWrapper;
@@ -45,6 +47,7 @@ import org.apache.ignite.internal.processors.cache.CacheStorePartialUpdateExcept
 import org.apache.ignite.internal.processors.cache.GridCacheInternal;
 import org.apache.ignite.internal.processors.cache.GridCacheManagerAdapter;
 import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.binary.CacheObjectBinaryProcessorImpl;
 import org.apache.ignite.internal.processors.cache.transactions.IgniteInternalTx;
 import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
 import org.apache.ignite.internal.util.GridEmptyIterator;
@@ -83,6 +86,9 @@ public abstract class GridCacheStoreManagerAdapter extends GridCacheManagerAdapt
     /** */
     private static final int SES_ATTR = GridMetadataAwareAdapter.EntryKey.CACHE_STORE_MANAGER_KEY.key();
 
+    /** Folder of write-behind journals in the work directory. */
+    public static final String WRITE_BEHIND_DIR = "write-behind";
+
     /** */
     protected CacheStore<Object, Object> store;
 
@@ -200,8 +206,12 @@ public abstract class GridCacheStoreManagerAdapter extends GridCacheManagerAdapt
             try {
                 // Avoid second start() call on store in case when near cache is enabled.
                 if (cctx.config().isWriteBehindEnabled()) {
-                    if (!cctx.isNear())
+                    if (!cctx.isNear()) {
+                        if (cctx.config().isWriteBehindJournalEnabled())
+                            ((GridCacheWriteBehindStore)store).journal(createWriteBehindJournal());
+
                         ((LifecycleAware)store).start();
+                    }
                 }
             }
             catch (Exception e) {
@@ -246,14 +256,44 @@ public abstract class GridCacheStoreManagerAdapter extends GridCacheManagerAdapt
         }
     }
 
+    /**
+     * Creates a journal of pending write-behind updates in the work directory.
+     *
+     * @return Write-behind journal.
+     * @throws IgniteCheckedException If failed.
+     */
+    private GridCacheWriteBehindJournal createWriteBehindJournal() throws IgniteCheckedException {
+        GridKernalContext ctx = cctx.kernalContext();
+
+        File dir = new File(new File(U.resolveWorkDirectory(ctx.config().getWorkDirectory(), WRITE_BEHIND_DIR, false),
+            ctx.pdsFolderResolver().resolveFolders().folderName()), U.maskForFileName(cctx.name()));
+
+        BinaryContext binCtx = ctx.cacheObjects() instanceof CacheObjectBinaryProcessorImpl ?
+            ((CacheObjectBinaryProcessorImpl)ctx.cacheObjects()).binaryContext() : null;
+
+        return new GridCacheWriteBehindJournal(dir,
+            ctx.config().getMarshaller(),
+            U.resolveClassLoader(ctx.config()),
+            binCtx,
+            cctx.config().getWriteBehindJournalMaxSize(),
+            GridCacheWriteBehindJournal.DFLT_SEG_SIZE,
+            ctx.log(GridCacheWriteBehindJournal.class));
+    }
+
     /** {@inheritDoc} */
     @Override protected void stop0(boolean cancel, boolean destroy) {
         if (store instanceof LifecycleAware) {
             try {
                 // Avoid second start() call on store in case when near cache is enabled.
                 if (cctx.config().isWriteBehindEnabled()) {
-                    if (!cctx.isNear())
+                    if (!cctx.isNear()) {
                         ((LifecycleAware)store).stop();
+
+                        GridCacheWriteBehindJournal journal = ((GridCacheWriteBehindStore)store).journal();
+
+                        if (destroy && journal != null)
+                            journal.destroy();
+                    }
                 }
             }
             catch (Exception e) {
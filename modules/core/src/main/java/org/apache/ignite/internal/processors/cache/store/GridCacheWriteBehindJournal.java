@@ -0,0 +1,764 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.store;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.binary.BinaryContext;
+import org.apache.ignite.internal.binary.BinaryObjectImpl;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.marshaller.Marshaller;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Journal of pending updates of {@link GridCacheWriteBehindStore}.
+ * <p/>
+ * Every update scheduled for the underlying store is appended to the journal, and is marked as flushed once
+ * the store has applied it. The journal keeps at most one live record per key: a newer update of a key supersedes
+ * the older one. Records are written to segment files of limited size, a segment is deleted when it has no live
+ * records left and all older segments are deleted. On rollover the live records of the oldest segment are copied
+ * to the current one, so a few keys that can't be flushed don't keep old segments on disk.
+ * <p/>
+ * Each record has the following layout: {@code [int len][int crc][long seq][byte op][key][val]}, where
+ * {@code len} is the length of the record after the header and {@code crc} is a checksum of this part.
+ * Records are synced to disk by {@link #sync()} which is called periodically by flusher threads.
+ */
+class GridCacheWriteBehindJournal<K, V> {
+    /** Segment file suffix. */
+    static final String SEG_FILE_SUFFIX = ".wbj";
+
+    /** Default segment size. */
+    static final long DFLT_SEG_SIZE = 64L * 1024 * 1024;
+
+    /** Number of segments which triggers compaction of the oldest one. */
+    private static final int COMPACTION_SEG_CNT = 4;
+
+    /** Record header size: length and checksum. */
+    private static final int HDR_SIZE = 8;
+
+    /** Put operation. */
+    private static final byte OP_PUT = 0;
+
+    /** Remove operation. */
+    private static final byte OP_RMV = 1;
+
+    /** Object marshalled with the marshaller. */
+    private static final byte OBJ_MARSHALLED = 0;
+
+    /** Binary object bytes. */
+    private static final byte OBJ_BINARY = 1;
+
+    /** Journal directory. */
+    private final File dir;
+
+    /** Marshaller. */
+    private final Marshaller marsh;
+
+    /** Class loader. */
+    private final ClassLoader clsLdr;
+
+    /** Binary context to restore binary objects. */
+    @Nullable private final BinaryContext binCtx;
+
+    /** Maximum size of live records in bytes, {@code 0} if not limited. */
+    private final long maxSize;
+
+    /** Segment size. */
+    private final long segSize;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** File IO factory. */
+    private final FileIOFactory ioFactory = new RandomAccessFileIOFactory();
+
+    /** Live records. */
+    private final Map<K, Record> live = new ConcurrentHashMap<>();
+
+    /** Total size of live records. */
+    private final AtomicLong liveSize = new AtomicLong();
+
+    /** Segments from the oldest to the current one. */
+    private final ArrayDeque<Segment> segs = new ArrayDeque<>();
+
+    /** Current segment. */
+    private Segment cur;
+
+    /** Last record sequence number. */
+    private long seq;
+
+    /** {@code True} if there are records not synced to disk. */
+    private boolean dirty;
+
+    /** If set, flushed records are retained to be replayed after restart. */
+    private volatile boolean frozen;
+
+    /** Closed flag. */
+    private boolean closed;
+
+    /**
+     * @param dir Journal directory.
+     * @param marsh Marshaller.
+     * @param clsLdr Class loader.
+     * @param binCtx Binary context.
+     * @param maxSize Maximum size of live records in bytes, {@code 0} if not limited.
+     * @param segSize Segment size.
+     * @param log Logger.
+     */
+    GridCacheWriteBehindJournal(
+        File dir,
+        Marshaller marsh,
+        ClassLoader clsLdr,
+        @Nullable BinaryContext binCtx,
+        long maxSize,
+        long segSize,
+        IgniteLogger log
+    ) {
+        this.dir = dir;
+        this.marsh = marsh;
+        this.clsLdr = clsLdr;
+        this.binCtx = binCtx;
+        this.maxSize = maxSize;
+        this.segSize = segSize;
+        this.log = log;
+    }
+
+    /**
+     * Reads existing segments and opens a new segment for appends.
+     *
+     * @return Live updates of the previous run ordered by sequence number.
+     * @throws IgniteCheckedException If failed.
+     */
+    synchronized List<Update<K, V>> recover() throws IgniteCheckedException {
+        U.ensureDirectory(dir, "write-behind journal directory", log);
+
+        File[] files = dir.listFiles((d, name) -> name.endsWith(SEG_FILE_SUFFIX));
+
+        assert files != null;
+
+        Arrays.sort(files, Comparator.comparing(File::getName));
+
+        Map<K, Update<K, V>> updates = new HashMap<>();
+
+        long idx = 0;
+
+        try {
+            for (File file : files) {
+                Segment seg = new Segment(segmentIndex(file), file, ioFactory.create(file));
+
+                seg.size = seg.io.size();
+
+                segs.add(seg);
+
+                readSegment(seg, updates);
+
+                idx = seg.idx + 1;
+            }
+
+            cur = openSegment(idx);
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to read write-behind journal: " + dir, e);
+        }
+
+        List<Update<K, V>> res = new ArrayList<>(updates.values());
+
+        res.sort(Comparator.comparingLong(u -> u.seq));
+
+        for (Update<K, V> upd : res) {
+            Record rec = upd.rec;
+
+            rec.seg.liveCnt++;
+
+            liveSize.addAndGet(rec.len);
+
+            live.put(upd.key, rec);
+        }
+
+        cleanup();
+
+        if (!res.isEmpty() && log.isInfoEnabled())
+            log.info("Recovered pending write-behind updates [dir=" + dir + ", cnt=" + res.size() + ']');
+
+        return res;
+    }
+
+    /**
+     * Appends an update to the journal.
+     *
+     * @param key Key.
+     * @param val Value or {@code null} for remove.
+     * @param rmv {@code True} for remove.
+     * @return Record sequence number.
+     * @throws IgniteCheckedException If failed.
+     */
+    long append(K key, @Nullable V val, boolean rmv) throws IgniteCheckedException {
+        byte[] keyBytes = marshal(key);
+        byte[] valBytes = rmv ? null : marshal(val);
+
+        int len = 8 + 1 + 4 + keyBytes.length + (rmv ? 0 : 4 + valBytes.length);
+
+        ByteBuffer buf = ByteBuffer.allocate(HDR_SIZE + len);
+
+        buf.putInt(len);
+        buf.putInt(0);
+        buf.putLong(0);
+        buf.put(rmv ? OP_RMV : OP_PUT);
+
+        putObject(buf, keyBytes);
+
+        if (!rmv)
+            putObject(buf, valBytes);
+
+        synchronized (this) {
+            if (closed)
+                throw new IgniteCheckedException("Write-behind journal is closed: " + dir);
+
+            long recSeq = ++seq;
+
+            buf.putLong(HDR_SIZE, recSeq);
+            buf.putInt(4, checksum(buf.array(), HDR_SIZE, len));
+
+            buf.rewind();
+
+            try {
+                if (cur.size > 0 && cur.size + buf.limit() > segSize)
+                    rollover();
+
+                Record rec = write(buf, recSeq);
+
+                Record prev = live.put(key, rec);
+
+                if (prev != null)
+                    release(prev);
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to write to write-behind journal: " + dir, e);
+            }
+
+            return recSeq;
+        }
+    }
+
+    /**
+     * Marks a record as flushed to the underlying store.
+     *
+     * @param key Key.
+     * @param recSeq Record sequence number.
+     */
+    synchronized void flushed(K key, long recSeq) {
+        if (frozen || closed)
+            return;
+
+        Record rec = live.get(key);
+
+        if (rec != null && rec.seq == recSeq) {
+            live.remove(key);
+
+            release(rec);
+
+            cleanup();
+        }
+    }
+
+    /**
+     * Stops marking records as flushed, so all records left are replayed after restart.
+     */
+    void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * @return Total size of live records in bytes.
+     */
+    long size() {
+        return liveSize.get();
+    }
+
+    /**
+     * @return {@code True} if the size of live records exceeds the configured maximum.
+     */
+    boolean overflowed() {
+        return maxSize > 0 && liveSize.get() > maxSize;
+    }
+
+    /**
+     * Syncs appended records to disk.
+     */
+    void sync() {
+        FileIO io;
+
+        synchronized (this) {
+            if (closed || !dirty)
+                return;
+
+            dirty = false;
+
+            io = cur.io;
+        }
+
+        try {
+            io.force();
+        }
+        catch (IOException e) {
+            synchronized (this) {
+                // Segment may be closed by a concurrent rollover which syncs it.
+                if (!closed && io == cur.io)
+                    U.error(log, "Failed to sync write-behind journal: " + dir, e);
+            }
+        }
+    }
+
+    /**
+     * Syncs and closes the journal. Segments are deleted if there are no live records.
+     */
+    synchronized void close() {
+        if (closed)
+            return;
+
+        closed = true;
+
+        boolean empty = live.isEmpty();
+
+        for (Segment seg : segs) {
+            try {
+                seg.io.force();
+            }
+            catch (IOException e) {
+                U.error(log, "Failed to sync write-behind journal: " + dir, e);
+            }
+
+            U.closeQuiet(seg.io);
+
+            if (empty)
+                U.delete(seg.file);
+        }
+
+        segs.clear();
+        live.clear();
+
+        liveSize.set(0);
+    }
+
+    /**
+     * Closes the journal and deletes its directory.
+     */
+    synchronized void destroy() {
+        close();
+
+        U.delete(dir);
+    }
+
+    /**
+     * @return Journal directory.
+     */
+    File directory() {
+        return dir;
+    }
+
+    /**
+     * Writes a record to the current segment.
+     *
+     * @param buf Record buffer.
+     * @param recSeq Record sequence number.
+     * @return Written record.
+     * @throws IOException If failed.
+     */
+    private Record write(ByteBuffer buf, long recSeq) throws IOException {
+        assert Thread.holdsLock(this);
+
+        long off = cur.size;
+        int len = buf.remaining();
+
+        cur.io.writeFully(buf, off);
+
+        cur.size += len;
+        cur.liveCnt++;
+
+        liveSize.addAndGet(len);
+
+        dirty = true;
+
+        return new Record(cur, off, len, recSeq);
+    }
+
+    /**
+     * Switches appends to a new segment and compacts the oldest segment if there are too many of them.
+     *
+     * @throws IOException If failed.
+     */
+    private void rollover() throws IOException {
+        assert Thread.holdsLock(this);
+
+        cur.io.force();
+
+        cur = openSegment(cur.idx + 1);
+
+        cleanup();
+
+        if (segs.size() < COMPACTION_SEG_CNT)
+            return;
+
+        Segment oldest = segs.peekFirst();
+
+        for (Map.Entry<K, Record> e : live.entrySet()) {
+            Record rec = e.getValue();
+
+            if (rec.seg != oldest)
+                continue;
+
+            ByteBuffer buf = ByteBuffer.allocate(rec.len);
+
+            oldest.io.readFully(buf, rec.off);
+
+            buf.flip();
+
+            live.put(e.getKey(), write(buf, rec.seq));
+
+            release(rec);
+        }
+
+        // Copies must be durable before the oldest segment is deleted.
+        cur.io.force();
+
+        cleanup();
+    }
+
+    /**
+     * @param idx Segment index.
+     * @return New segment.
+     * @throws IOException If failed.
+     */
+    private Segment openSegment(long idx) throws IOException {
+        File file = new File(dir, String.format("%016d", idx) + SEG_FILE_SUFFIX);
+
+        Segment seg = new Segment(idx, file, ioFactory.create(file));
+
+        seg.io.clear();
+
+        segs.add(seg);
+
+        return seg;
+    }
+
+    /**
+     * Releases a superseded or flushed record.
+     *
+     * @param rec Record.
+     */
+    private void release(Record rec) {
+        assert Thread.holdsLock(this);
+
+        rec.seg.liveCnt--;
+
+        liveSize.addAndGet(-rec.len);
+    }
+
+    /**
+     * Deletes the oldest segments without live records.
+     */
+    private void cleanup() {
+        assert Thread.holdsLock(this);
+
+        Iterator<Segment> it = segs.iterator();
+
+        while (it.hasNext()) {
+            Segment seg = it.next();
+
+            if (seg == cur || seg.liveCnt > 0)
+                break;
+
+            it.remove();
+
+            U.closeQuiet(seg.io);
+
+            if (!U.delete(seg.file))
+                U.warn(log, "Failed to delete write-behind journal segment: " + seg.file);
+        }
+    }
+
+    /**
+     * Reads records of a segment. Reading stops at the first incomplete or corrupted record.
+     *
+     * @param seg Segment.
+     * @param updates Latest updates by keys.
+     * @throws IOException If failed.
+     * @throws IgniteCheckedException If failed to unmarshal a record.
+     */
+    private void readSegment(Segment seg, Map<K, Update<K, V>> updates) throws IOException, IgniteCheckedException {
+        ByteBuffer hdr = ByteBuffer.allocate(HDR_SIZE);
+
+        long off = 0;
+
+        while (off + HDR_SIZE <= seg.size) {
+            hdr.clear();
+
+            seg.io.readFully(hdr, off);
+
+            int len = hdr.getInt(0);
+            int crc = hdr.getInt(4);
+
+            if (len <= 0 || off + HDR_SIZE + len > seg.size) {
+                U.warn(log, "Skipping incomplete write-behind journal record [file=" + seg.file +
+                    ", off=" + off + ']');
+
+                return;
+            }
+
+            ByteBuffer buf = ByteBuffer.allocate(len);
+
+            seg.io.readFully(buf, off + HDR_SIZE);
+
+            if (checksum(buf.array(), 0, len) != crc) {
+                U.warn(log, "Skipping corrupted write-behind journal record [file=" + seg.file +
+                    ", off=" + off + ']');
+
+                return;
+            }
+
+            buf.flip();
+
+            long recSeq = buf.getLong();
+            boolean rmv = buf.get() == OP_RMV;
+
+            K key = (K)getObject(buf);
+            V val = rmv ? null : (V)getObject(buf);
+
+            Update<K, V> prev = updates.get(key);
+
+            if (prev == null || prev.seq < recSeq)
+                updates.put(key, new Update<>(key, val, rmv, recSeq, new Record(seg, off, HDR_SIZE + len, recSeq)));
+
+            seq = Math.max(seq, recSeq);
+
+            off += HDR_SIZE + len;
+        }
+    }
+
+    /**
+     * @param obj Object.
+     * @return Serialized object with type prefix.
+     * @throws IgniteCheckedException If failed.
+     */
+    private byte[] marshal(Object obj) throws IgniteCheckedException {
+        if (obj instanceof BinaryObjectImpl && binCtx != null) {
+            byte[] bytes = ((BinaryObjectImpl)obj).detach().array();
+
+            byte[] res = new byte[bytes.length + 1];
+
+            res[0] = OBJ_BINARY;
+
+            System.arraycopy(bytes, 0, res, 1, bytes.length);
+
+            return res;
+        }
+
+        byte[] bytes = U.marshal(marsh, obj);
+
+        byte[] res = new byte[bytes.length + 1];
+
+        res[0] = OBJ_MARSHALLED;
+
+        System.arraycopy(bytes, 0, res, 1, bytes.length);
+
+        return res;
+    }
+
+    /**
+     * @param buf Buffer.
+     * @param bytes Serialized object with type prefix.
+     */
+    private static void putObject(ByteBuffer buf, byte[] bytes) {
+        buf.putInt(bytes.length);
+        buf.put(bytes);
+    }
+
+    /**
+     * @param buf Buffer.
+     * @return Deserialized object.
+     * @throws IgniteCheckedException If failed.
+     */
+    private Object getObject(ByteBuffer buf) throws IgniteCheckedException {
+        int len = buf.getInt();
+
+        byte type = buf.get();
+
+        byte[] bytes = new byte[len - 1];
+
+        buf.get(bytes);
+
+        if (type == OBJ_BINARY)
+            return new BinaryObjectImpl(binCtx, bytes, 0);
+
+        return U.unmarshal(marsh, bytes, clsLdr);
+    }
+
+    /**
+     * @param arr Array.
+     * @param off Offset.
+     * @param len Length.
+     * @return CRC32 checksum.
+     */
+    private static int checksum(byte[] arr, int off, int len) {
+        CRC32 crc = new CRC32();
+
+        crc.update(arr, off, len);
+
+        return (int)crc.getValue();
+    }
+
+    /**
+     * @param file Segment file.
+     * @return Segment index.
+     * @throws IgniteCheckedException If file name is not a segment name.
+     */
+    private static long segmentIndex(File file) throws IgniteCheckedException {
+        String name = file.getName();
+
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEG_FILE_SUFFIX.length()));
+        }
+        catch (NumberFormatException e) {
+            throw new IgniteCheckedException("Unexpected write-behind journal file: " + file, e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheWriteBehindJournal.class, this, "liveCnt", live.size(),
+            "liveSize", liveSize.get());
+    }
+
+    /**
+     * Update recovered from the journal.
+     */
+    static class Update<K, V> {
+        /** Key. */
+        final K key;
+
+        /** Value. */
+        final V val;
+
+        /** Remove flag. */
+        final boolean rmv;
+
+        /** Sequence number. */
+        final long seq;
+
+        /** Record. */
+        private final Record rec;
+
+        /**
+         * @param key Key.
+         * @param val Value.
+         * @param rmv Remove flag.
+         * @param seq Sequence number.
+         * @param rec Record.
+         */
+        private Update(K key, V val, boolean rmv, long seq, Record rec) {
+            this.key = key;
+            this.val = val;
+            this.rmv = rmv;
+            this.seq = seq;
+            this.rec = rec;
+        }
+    }
+
+    /**
+     * Journal segment.
+     */
+    private static class Segment {
+        /** Index. */
+        private final long idx;
+
+        /** File. */
+        private final File file;
+
+        /** File IO. */
+        private final FileIO io;
+
+        /** Size. */
+        private long size;
+
+        /** Number of live records. */
+        private int liveCnt;
+
+        /**
+         * @param idx Index.
+         * @param file File.
+         * @param io File IO.
+         */
+        private Segment(long idx, File file, FileIO io) {
+            this.idx = idx;
+            this.file = file;
+            this.io = io;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Segment.class, this);
+        }
+    }
+
+    /**
+     * Position of a live record.
+     */
+    private static class Record {
+        /** Segment. */
+        private final Segment seg;
+
+        /** Offset. */
+        private final long off;
+
+        /** Length including header. */
+        private final int len;
+
+        /** Sequence number. */
+        private final long seq;
+
+        /**
+         * @param seg Segment.
+         * @param off Offset.
+         * @param len Length including header.
+         * @param seq Sequence number.
+         */
+        private Record(Segment seg, long off, int len, long seq) {
+            this.seg = seg;
+            this.off = off;
+            this.len = len;
+            this.seq = seq;
+        }
+    }
+}
@@ -34,10 +34,12 @@ import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.cache.integration.CacheWriterException;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.cache.store.CacheStore;
 import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.processors.cache.CacheEntryImpl;
 import org.apache.ignite.internal.util.tostring.GridToStringInclude;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.LT;
@@ -71,6 +73,9 @@ import static javax.cache.Cache.Entry;
  * transaction objects are passed to the underlying store.
  * <p/>
  * {@link GridCacheWriteBehindStore} doesn't support concurrent modifications of the same key.
+ * <p/>
+ * If {@link GridCacheWriteBehindJournal journal} is set, pending updates are also appended to it and
+ * recovered on start, so they survive node restarts.
  */
 public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, LifecycleAware {
     /** Default write cache initial capacity. */
@@ -148,6 +153,9 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
     /** Condition to determine records available for flush. */
     private Condition canFlush = flushLock.newCondition();
 
+    /** Journal of pending updates, {@code null} if not enabled. */
+    @Nullable private GridCacheWriteBehindJournal<K, V> journal;
+
     /**
      * Creates a write-behind cache store for the given store.
      *
@@ -309,6 +317,64 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
         }
     }
 
+    /**
+     * Gets the time in milliseconds the oldest update has been waiting to be flushed to the underlying store.
+     *
+     * @return Flush lag in milliseconds or {@code 0} if there are no pending updates.
+     */
+    public long getWriteBehindFlushLag() {
+        if (stopping.get())
+            return 0;
+
+        long oldest = 0;
+
+        if (writeCoalescing) {
+            Iterator<StatefulValue<K, V>> it = writeCache.values().iterator();
+
+            if (it.hasNext())
+                oldest = it.next().pendingSince;
+        }
+        else {
+            for (Flusher f : flushThreads) {
+                IgniteBiTuple<K, StatefulValue<K, V>> t = f.queue.peek();
+
+                if (t != null && (oldest == 0 || t.getValue().pendingSince < oldest))
+                    oldest = t.getValue().pendingSince;
+            }
+        }
+
+        return oldest == 0 ? 0 : Math.max(0, U.currentTimeMillis() - oldest);
+    }
+
+    /**
+     * Gets the size of pending updates in the write-behind journal.
+     *
+     * @return Size in bytes or {@code 0} if the journal is not enabled.
+     */
+    public long getWriteBehindJournalSize() {
+        GridCacheWriteBehindJournal<K, V> journal0 = journal;
+
+        return journal0 != null ? journal0.size() : 0;
+    }
+
+    /**
+     * Sets the journal of pending updates. Must be called before {@link #start()}.
+     *
+     * @param journal Journal.
+     */
+    void journal(GridCacheWriteBehindJournal<K, V> journal) {
+        assert writeCoalescing;
+
+        this.journal = journal;
+    }
+
+    /**
+     * @return Journal of pending updates or {@code null} if not enabled.
+     */
+    @Nullable GridCacheWriteBehindJournal<K, V> journal() {
+        return journal;
+    }
+
     /**
      * @return Underlying store.
      */
@@ -334,9 +400,13 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
             flushThreads = new GridCacheWriteBehindStore.Flusher[flushThreadCnt];
 
-            if (writeCoalescing)
+            if (writeCoalescing) {
                 writeCache = new ConcurrentLinkedHashMap<>(initCap, 0.75f, concurLvl);
 
+                if (journal != null)
+                    recoverJournal();
+            }
+
             for (int i = 0; i < flushThreads.length; i++) {
                 flushThreads[i] = new Flusher(igniteInstanceName, "flusher-" + i, log);
 
@@ -397,6 +467,27 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
             if (!graceful)
                 log.warning("Write behind store shutdown was aborted.");
+
+            if (journal != null)
+                journal.close();
+        }
+    }
+
+    /**
+     * Puts pending updates recovered from the journal to the write cache.
+     */
+    private void recoverJournal() {
+        try {
+            for (GridCacheWriteBehindJournal.Update<K, V> upd : journal.recover()) {
+                StatefulValue<K, V> val = upd.rmv ?
+                    new StatefulValue<>(null, StoreOperation.RMV, upd.seq) :
+                    new StatefulValue<>(new CacheEntryImpl<>(upd.key, upd.val), StoreOperation.PUT, upd.seq);
+
+                writeCache.put(upd.key, val);
+            }
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteException("Failed to recover write-behind journal for cache: " + cacheName, e);
         }
     }
 
@@ -546,7 +637,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
             updateCache(entry.getKey(), entry, StoreOperation.PUT);
         }
-        catch (IgniteInterruptedCheckedException e) {
+        catch (IgniteCheckedException e) {
             throw new CacheWriterException(U.convertExceptionNoWrap(e));
         }
     }
@@ -566,7 +657,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
             updateCache((K)key, null, StoreOperation.RMV);
         }
-        catch (IgniteInterruptedCheckedException e) {
+        catch (IgniteCheckedException e) {
             throw new CacheWriterException(U.convertExceptionNoWrap(e));
         }
     }
@@ -589,13 +680,19 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
      * @param key Key for which update is performed.
      * @param val New value, may be null for remove operation.
      * @param operation Updated value status.
-     * @throws IgniteInterruptedCheckedException If interrupted while waiting for value to be flushed.
+     * @throws IgniteCheckedException If failed to write the update to the journal or interrupted while waiting
+     *      for value to be flushed.
      */
     private void updateCache(K key,
         @Nullable Entry<? extends K, ? extends V> val,
         StoreOperation operation)
-        throws IgniteInterruptedCheckedException {
-        StatefulValue<K, V> newVal = new StatefulValue<>(val, operation);
+        throws IgniteCheckedException {
+        long seq = 0;
+
+        if (journal != null)
+            seq = journal.append(key, val != null ? val.getValue() : null, operation == StoreOperation.RMV);
+
+        StatefulValue<K, V> newVal = new StatefulValue<>(val, operation, seq);
 
         if (writeCoalescing)
             putToWriteCache(key, newVal);
@@ -625,7 +722,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
                 if (prev.status() == ValueStatus.PENDING || prev.status() == ValueStatus.PENDING_AND_UPDATED) {
                     // Flush process in progress, save next value and update the status.
 
-                    prev.setNext(newVal.val, newVal.storeOperation);
+                    prev.setNext(newVal.val, newVal.storeOperation, newVal.seq);
 
                     prev.status(ValueStatus.PENDING_AND_UPDATED);
 
@@ -640,7 +737,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
                 assert prev.status() == ValueStatus.NEW || prev.status() == ValueStatus.RETRY;
 
-                prev.update(newVal.val, newVal.operation(), ValueStatus.NEW);
+                prev.update(newVal.val, newVal.operation(), ValueStatus.NEW, newVal.seq);
 
                 break;
             }
@@ -652,7 +749,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
         // Now check the map size
         int cacheSize = getWriteBehindBufferSize();
 
-        if (cacheSize > cacheCriticalSize)
+        if (cacheSize > cacheCriticalSize || journal != null && journal.overflowed())
             // Perform single store update in the same thread.
             flushSingleValue();
         else if (cacheMaxSize > 0 && cacheSize > cacheMaxSize)
@@ -781,10 +878,13 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
                 try {
                     if (writeCoalescing) {
+                        if (journal != null)
+                            journal.flushed(e.getKey(), val.seq);
+
                         if (val.status() == ValueStatus.PENDING_AND_UPDATED) {
-                            val.update(val.nextEntry(), val.nextOperation(), ValueStatus.NEW);
+                            val.update(val.nextEntry(), val.nextOperation(), ValueStatus.NEW, val.nextSeq);
 
-                            val.setNext(null, null);
+                            val.setNext(null, null, 0);
                         }
                         else {
                             val.status(ValueStatus.FLUSHED);
@@ -820,9 +920,9 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
                 try {
                     if (val.status() == ValueStatus.PENDING_AND_UPDATED) {
-                        val.update(val.nextEntry(), val.nextOperation(), ValueStatus.NEW);
+                        val.update(val.nextEntry(), val.nextOperation(), ValueStatus.NEW, val.nextSeq);
 
-                        val.setNext(null, null);
+                        val.setNext(null, null, 0);
                     }
                     else {
                         val.status(ValueStatus.RETRY);
@@ -909,6 +1009,16 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
             else
                 overflow = flusher.isOverflowed() || stopping.get();
 
+            if (overflow && journal != null && stopping.get()) {
+                // Values are retained in the journal and will be replayed after restart.
+                journal.freeze();
+
+                U.warn(log, "Failed to update store (values will be replayed from write-behind journal after " +
+                    "restart) [cache=" + cacheName + ", op=" + operation + ", cnt=" + vals.size() + ']');
+
+                return true;
+            }
+
             if (overflow) {
                 for (Map.Entry<K, Entry<? extends K, ? extends V>> entry : vals.entrySet()) {
                     Object val = entry.getValue() != null ? entry.getValue().getValue() : null;
@@ -1079,6 +1189,9 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
                 while (!stopping.get() || writeCache.sizex() > 0) {
                     awaitOperationsAvailableCoalescing();
 
+                    if (journal != null)
+                        journal.sync();
+
                     flushCacheCoalescing();
                 }
             }
@@ -1441,6 +1554,18 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
         /** Value status. */
         private ValueStatus valStatus;
 
+        /** Journal record sequence number. */
+        private long seq;
+
+        /** Journal record sequence number of next value. */
+        private long nextSeq;
+
+        /** Time of the oldest update not flushed to the store. */
+        private long pendingSince;
+
+        /** Time of the oldest update of next value. */
+        private long nextPendingSince;
+
         /** Condition to wait for flush event */
         private Condition flushCond = writeLock().newCondition();
 
@@ -1449,13 +1574,16 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
          *
          * @param val Value.
          * @param storeOperation Store operation.
+         * @param seq Journal record sequence number.
          */
-        private StatefulValue(Entry<? extends K, ? extends V> val, StoreOperation storeOperation) {
+        private StatefulValue(Entry<? extends K, ? extends V> val, StoreOperation storeOperation, long seq) {
             assert storeOperation == StoreOperation.PUT || storeOperation == StoreOperation.RMV;
 
             this.val = val;
             this.storeOperation = storeOperation;
+            this.seq = seq;
             valStatus = ValueStatus.NEW;
+            pendingSince = U.currentTimeMillis();
         }
 
         /**
@@ -1508,13 +1636,19 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
          * @param val Value.
          * @param storeOperation Store operation.
          * @param valStatus Value status.
+         * @param seq Journal record sequence number.
          */
         private void update(@Nullable Entry<? extends K, ? extends V> val,
             StoreOperation storeOperation,
-            ValueStatus valStatus) {
+            ValueStatus valStatus,
+            long seq) {
+            if (this.valStatus == ValueStatus.PENDING_AND_UPDATED)
+                pendingSince = nextPendingSince;
+
             this.val = val;
             this.storeOperation = storeOperation;
             this.valStatus = valStatus;
+            this.seq = seq;
         }
 
         /**
@@ -1522,11 +1656,19 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
          *
          * @param val Value.
          * @param storeOperation Store operation.
+         * @param seq Journal record sequence number.
          */
         private void setNext(@Nullable Entry<? extends K, ? extends V> val,
-            StoreOperation storeOperation) {
+            StoreOperation storeOperation,
+            long seq) {
+            if (val == null && storeOperation == null)
+                nextPendingSince = 0;
+            else if (nextStoreOperation == null)
+                nextPendingSince = U.currentTimeMillis();
+
             this.nextVal = val;
             this.nextStoreOperation = storeOperation;
+            this.nextSeq = seq;
         }
 
         /**
@@ -282,6 +282,9 @@ public class IgniteTxManager extends GridCacheSharedManagerAdapter {
     /** Pending one phase commit ack requests sender. */
     private GridDeferredAckMessageSender deferredAckMsgSnd;
 
+    /** Batcher of transaction messages, {@code null} if batching is disabled. */
+    private IgniteTxMessageBatcher msgBatcher;
+
     /** Slow tx warn timeout. */
     private int slowTxWarnTimeout = SLOW_TX_WARN_TIMEOUT;
 
@@ -322,6 +325,9 @@ public class IgniteTxManager extends GridCacheSharedManagerAdapter {
     @Override protected void onKernalStop0(boolean cancel) {
         cctx.gridIO().removeMessageListener(TOPIC_TX);
 
+        if (msgBatcher != null)
+            msgBatcher.stop();
+
         Exception err = new IgniteCheckedException("Operation has been cancelled (node is stopping).");
 
         for (TxTimeoutOnPartitionMapExchangeChangeFuture fut : txTimeoutOnPartitionMapExchangeFuts.values())
@@ -362,10 +368,23 @@ public class IgniteTxManager extends GridCacheSharedManagerAdapter {
             }
         };
 
+        long msgBatchLinger = cctx.kernalContext().config().getTransactionConfiguration().getMessageBatchLingerNanos();
+
+        // Batches are not used with security, because messages of a batch are processed in the security context
+        // of the batch.
+        if (msgBatchLinger > 0 && !cctx.kernalContext().security().enabled()) {
+            msgBatcher = new IgniteTxMessageBatcher(cctx, msgBatchLinger);
+
+            msgBatcher.start();
+        }
+
         cctx.gridEvents().addDiscoveryEventListener((evt, discoCache) -> {
                 if (evt.type() == EVT_NODE_FAILED || evt.type() == EVT_NODE_LEFT) {
                     UUID nodeId = evt.eventNode().id();
 
+                    if (msgBatcher != null)
+                        msgBatcher.onNodeLeft(nodeId);
+
                     cctx.kernalContext().closure().runLocalSafe(
                         new TxRecoveryInitRunnable(evt.eventNode(), cctx.coordinators().currentCoordinator()));
 
@@ -3055,6 +3074,13 @@ public class IgniteTxManager extends GridCacheSharedManagerAdapter {
         }
     }
 
+    /**
+     * @return Batcher of transaction messages or {@code null} if batching is disabled.
+     */
+    @Nullable public IgniteTxMessageBatcher messageBatcher() {
+        return msgBatcher;
+    }
+
     /**
      * Setting (for all nodes) a timeout (in millis) for printing long-running
      * transactions as well as transactions that cannot receive locks for all
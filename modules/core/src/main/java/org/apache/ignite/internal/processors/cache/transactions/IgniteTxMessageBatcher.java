@@ -0,0 +1,395 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.transactions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.failure.FailureContext;
+import org.apache.ignite.internal.IgniteFeatures;
+import org.apache.ignite.internal.cluster.ClusterTopologyCheckedException;
+import org.apache.ignite.internal.processors.cache.GridCacheFuture;
+import org.apache.ignite.internal.processors.cache.GridCacheMessage;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.distributed.GridDistributedTxFinishRequest;
+import org.apache.ignite.internal.processors.cache.distributed.GridDistributedTxFinishResponse;
+import org.apache.ignite.internal.processors.cache.distributed.GridDistributedTxPrepareRequest;
+import org.apache.ignite.internal.processors.cache.distributed.GridDistributedTxPrepareResponse;
+import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtTxPrepareRequest;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearTxPrepareRequest;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.internal.util.worker.GridWorker;
+import org.apache.ignite.thread.IgniteThread;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.failure.FailureType.CRITICAL_ERROR;
+import static org.apache.ignite.failure.FailureType.SYSTEM_WORKER_TERMINATION;
+import static org.apache.ignite.internal.managers.communication.GridIoPolicy.SYSTEM_POOL;
+
+/**
+ * Coalesces prepare and finish messages of concurrent transactions bound for the same node into batches.
+ * <p>
+ * A batch is opened by the first message for a node and is sent when the linger configured by
+ * {@link org.apache.ignite.configuration.TransactionConfiguration#setMessageBatchLingerNanos(long)} expires
+ * or the batch is full. Any other cache message sent to the node flushes the pending batch first, so messages
+ * sent to a node are never reordered. The receiving node unpacks the batch and processes every message
+ * as if it was sent separately.
+ * <p>
+ * Batches for a node are sent one by one under the send lock of the node, while the batch lock is held only
+ * to close the batch. So messages are added to a new batch while the previous one is being sent or retried.
+ */
+public class IgniteTxMessageBatcher {
+    /** Maximum number of messages in a batch. */
+    private static final int MAX_BATCH_SIZE = 64;
+
+    /** Context. */
+    private final GridCacheSharedContext<?, ?> cctx;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Linger, in nanoseconds. */
+    private final long linger;
+
+    /** Pending batches by node IDs. */
+    private final ConcurrentMap<UUID, Batch> batches = new ConcurrentHashMap<>();
+
+    /** Send locks by node IDs. */
+    private final ConcurrentMap<UUID, Object> sndLocks = new ConcurrentHashMap<>();
+
+    /** Batches ordered by send time. */
+    private final DelayQueue<Batch> queue = new DelayQueue<>();
+
+    /** Flusher of expired batches. */
+    private volatile FlushWorker worker;
+
+    /**
+     * @param cctx Context.
+     * @param linger Linger, in nanoseconds.
+     */
+    public IgniteTxMessageBatcher(GridCacheSharedContext<?, ?> cctx, long linger) {
+        assert linger > 0 : linger;
+
+        this.cctx = cctx;
+        this.linger = linger;
+
+        log = cctx.logger(IgniteTxMessageBatcher.class);
+    }
+
+    /**
+     * Starts flusher of expired batches.
+     */
+    public void start() {
+        worker = new FlushWorker();
+
+        new IgniteThread(worker).start();
+    }
+
+    /**
+     * Sends pending batches and stops flusher.
+     */
+    public void stop() {
+        FlushWorker worker0 = worker;
+
+        if (worker0 != null) {
+            U.cancel(worker0);
+            U.join(worker0, log);
+
+            worker = null;
+        }
+
+        for (Batch batch : batches.values())
+            flush(batch.node.id(), batch);
+    }
+
+    /**
+     * Drops the pending batch and the send lock of the left node.
+     *
+     * @param nodeId Left node ID.
+     */
+    public void onNodeLeft(UUID nodeId) {
+        Batch batch = batches.remove(nodeId);
+
+        if (batch != null) {
+            synchronized (batch) {
+                batch.closed = true;
+            }
+        }
+
+        sndLocks.remove(nodeId);
+    }
+
+    /**
+     * Adds message prepared for sending to a batch for the node. If the message can not be batched,
+     * sends the pending batch for the node, so the message is sent after all previous messages.
+     *
+     * @param node Node to send the message to.
+     * @param msg Message.
+     * @param plc IO policy.
+     * @return {@code True} if message was added to a batch, {@code false} if it should be sent by the caller.
+     */
+    public boolean offer(ClusterNode node, GridCacheMessage msg, byte plc) {
+        if (!batchable(node, msg, plc)) {
+            flush(node.id());
+
+            return false;
+        }
+
+        while (true) {
+            Batch batch = batches.computeIfAbsent(node.id(), id -> new Batch(node));
+
+            boolean full;
+
+            synchronized (batch) {
+                if (batch.closed) {
+                    batches.remove(node.id(), batch);
+
+                    continue;
+                }
+
+                batch.msgs.add(msg);
+
+                if (batch.msgs.size() == 1)
+                    queue.add(batch);
+
+                full = batch.msgs.size() >= MAX_BATCH_SIZE;
+            }
+
+            if (full)
+                flush(node.id(), batch);
+
+            return true;
+        }
+    }
+
+    /**
+     * Sends the pending batch for the node. Must be called before a message is sent to the node bypassing
+     * {@link #offer(ClusterNode, GridCacheMessage, byte)}, so the message is not sent before the batched messages.
+     *
+     * @param nodeId Node ID.
+     */
+    public void flush(UUID nodeId) {
+        flush(nodeId, null);
+    }
+
+    /**
+     * @param node Node.
+     * @param msg Message.
+     * @param plc IO policy.
+     * @return {@code True} if message can be added to a batch.
+     */
+    private boolean batchable(ClusterNode node, GridCacheMessage msg, byte plc) {
+        if (plc != SYSTEM_POOL || worker == null)
+            return false;
+
+        if (!(msg instanceof GridDistributedTxPrepareRequest) && !(msg instanceof GridDistributedTxPrepareResponse) &&
+            !(msg instanceof GridDistributedTxFinishRequest) && !(msg instanceof GridDistributedTxFinishResponse))
+            return false;
+
+        return IgniteFeatures.nodeSupports(cctx.kernalContext(), node, IgniteFeatures.TX_MESSAGE_BATCHING);
+    }
+
+    /**
+     * Sends messages of the batch. Messages are sent under the send lock of the node, so batches are sent in the order
+     * they are closed and a message sent to the same node after the flush is not sent before messages of the batch,
+     * even if the batch is closed by another thread and its sending is retried.
+     *
+     * @param nodeId Node ID.
+     * @param batch Batch to send or {@code null} to send the pending batch for the node.
+     */
+    private void flush(UUID nodeId, @Nullable Batch batch) {
+        if (batch != null && batch.closed)
+            return;
+
+        Object sndLock = batch != null ? sndLocks.computeIfAbsent(nodeId, id -> new Object()) : sndLocks.get(nodeId);
+
+        // Nothing was batched for the node.
+        if (sndLock == null)
+            return;
+
+        IgniteCheckedException err = null;
+
+        synchronized (sndLock) {
+            if (batch == null && (batch = batches.get(nodeId)) == null)
+                return;
+
+            synchronized (batch) {
+                if (batch.closed)
+                    return;
+
+                batch.closed = true;
+
+                batches.remove(nodeId, batch);
+            }
+
+            // Messages of the closed batch are not modified, the batch lock is not held while they are sent.
+            try {
+                if (!batch.msgs.isEmpty())
+                    cctx.io().sendBatch(batch.node, batch.msgs, SYSTEM_POOL);
+            }
+            catch (ClusterTopologyCheckedException ignored) {
+                // Transactions waiting for responses are notified about left node by discovery.
+                if (log.isDebugEnabled())
+                    log.debug("Failed to send batch of transaction messages, node left: " + nodeId);
+            }
+            catch (IgniteCheckedException e) {
+                U.error(log, "Failed to send batch of transaction messages [node=" + nodeId +
+                    ", size=" + batch.msgs.size() + ']', e);
+
+                err = e;
+            }
+        }
+
+        // Futures are completed outside of the send lock, their listeners may send messages to the same node.
+        if (err != null)
+            onSendFailed(batch.msgs, err);
+    }
+
+    /**
+     * Fails local futures of the requests which were not sent, the same way as if the requests failed to be sent
+     * separately. Nodes waiting for responses which were not sent are not notified, as for separately sent responses.
+     *
+     * @param msgs Messages which were not sent.
+     * @param err Error.
+     */
+    private void onSendFailed(List<GridCacheMessage> msgs, IgniteCheckedException err) {
+        for (GridCacheMessage msg : msgs) {
+            GridCacheFuture<?> fut = null;
+
+            if (msg instanceof GridNearTxPrepareRequest) {
+                GridNearTxPrepareRequest req = (GridNearTxPrepareRequest)msg;
+
+                fut = cctx.mvcc().versionedFuture(req.version(), req.futureId());
+            }
+            else if (msg instanceof GridDhtTxPrepareRequest) {
+                GridDhtTxPrepareRequest req = (GridDhtTxPrepareRequest)msg;
+
+                fut = cctx.mvcc().versionedFuture(req.version(), req.futureId());
+            }
+            else if (msg instanceof GridDistributedTxFinishRequest)
+                fut = cctx.mvcc().future(((GridDistributedTxFinishRequest)msg).futureId());
+
+            if (fut instanceof GridFutureAdapter)
+                ((GridFutureAdapter<?>)fut).onDone(err);
+        }
+    }
+
+    /**
+     * Batch of messages bound for the same node.
+     */
+    private class Batch implements Delayed {
+        /** Node. */
+        private final ClusterNode node;
+
+        /** Messages. */
+        private final List<GridCacheMessage> msgs = new ArrayList<>();
+
+        /** Time to send the batch, in nanoseconds. */
+        private final long sndTime;
+
+        /** Closed flag, messages can not be added to a closed batch. */
+        private volatile boolean closed;
+
+        /**
+         * @param node Node.
+         */
+        private Batch(ClusterNode node) {
+            this.node = node;
+
+            sndTime = System.nanoTime() + linger;
+        }
+
+        /** {@inheritDoc} */
+        @Override public long getDelay(TimeUnit unit) {
+            return unit.convert(sndTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int compareTo(Delayed o) {
+            return Long.compare(sndTime, ((Batch)o).sndTime);
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Batch.class, this, "size", msgs.size());
+        }
+    }
+
+    /**
+     * Sends batches when their linger expires.
+     */
+    private class FlushWorker extends GridWorker {
+        /** */
+        private FlushWorker() {
+            super(cctx.igniteInstanceName(), "tx-message-batcher", IgniteTxMessageBatcher.this.log,
+                cctx.kernalContext().workersRegistry());
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void body() throws InterruptedException {
+            Throwable err = null;
+
+            try {
+                while (!isCancelled()) {
+                    Batch batch;
+
+                    blockingSectionBegin();
+
+                    try {
+                        batch = queue.take();
+                    }
+                    finally {
+                        blockingSectionEnd();
+                    }
+
+                    flush(batch.node.id(), batch);
+
+                    onIdle();
+                }
+            }
+            catch (Throwable t) {
+                if (!(t instanceof InterruptedException)) {
+                    if (isCancelled.get())
+                        return;
+
+                    err = t;
+                }
+
+                throw t;
+            }
+            finally {
+                if (err == null && !isCancelled.get())
+                    err = new IllegalStateException("Thread " + name() + " is terminated unexpectedly");
+
+                if (err instanceof OutOfMemoryError)
+                    cctx.kernalContext().failure().process(new FailureContext(CRITICAL_ERROR, err));
+                else if (err != null)
+                    cctx.kernalContext().failure().process(new FailureContext(SYSTEM_WORKER_TERMINATION, err));
+            }
+        }
+    }
+}
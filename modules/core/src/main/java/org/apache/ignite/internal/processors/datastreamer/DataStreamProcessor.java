@@ -50,8 +50,14 @@ import org.apache.ignite.thread.IgniteThread;
 import org.apache.ignite.thread.OomExceptionHandler;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.events.EventType.EVT_NODE_FAILED;
+import static org.apache.ignite.events.EventType.EVT_NODE_LEFT;
 import static org.apache.ignite.internal.GridTopic.TOPIC_DATASTREAM;
+import static org.apache.ignite.internal.IgniteFeatures.DATA_STREAMER_LOAD_RESPONSE;
+import static org.apache.ignite.internal.IgniteFeatures.nodeSupports;
 import static org.apache.ignite.internal.managers.communication.GridIoPolicy.DATA_STREAMER_POOL;
+import static org.apache.ignite.internal.processors.datastreamer.DataStreamerFlowControl.DATA_STREAMER_NODES_METRICS;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
 
 /**
  * Data stream processor.
@@ -102,6 +108,10 @@ public class DataStreamProcessor<K, V> extends GridProcessorAdapter {
         marshErrBytes = U.marshal(marsh, new IgniteCheckedException("Failed to marshal response error, " +
             "see node log for details."));
 
+        ctx.event().addDiscoveryEventListener((evt, discoCache) ->
+            ctx.metric().remove(metricName(DATA_STREAMER_NODES_METRICS, evt.eventNode().id().toString())),
+            EVT_NODE_LEFT, EVT_NODE_FAILED);
+
         flusher = new GridWorker(ctx.igniteInstanceName(), "grid-data-loader-flusher", log) {
             @Override protected void body() throws InterruptedException {
                 while (!isCancelled()) {
@@ -435,7 +445,12 @@ public class DataStreamProcessor<K, V> extends GridProcessorAdapter {
             errBytes = marshErrBytes;
         }
 
-        DataStreamerResponse res = new DataStreamerResponse(reqId, errBytes, forceLocDep);
+        ClusterNode node = ctx.discovery().node(nodeId);
+
+        DataStreamerResponse res = node != null && nodeSupports(ctx, node, DATA_STREAMER_LOAD_RESPONSE) ?
+            new DataStreamerLoadResponse(reqId, errBytes, forceLocDep,
+                ctx.pools().getDataStreamerExecutorService().queueSize()) :
+            new DataStreamerResponse(reqId, errBytes, forceLocDep);
 
         try {
             ctx.io().sendToCustomTopic(nodeId, resTopic, res, threadIoPolicy());
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.datastreamer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Adaptive limit of batches a data streamer sends to a node without waiting for responses.
+ * <p>
+ * The limit follows the additive increase / multiplicative decrease policy. It grows by one batch after every
+ * {@code limit} responses without congestion and is halved on congestion. A response signals congestion if the queue
+ * of the data streamer pool of the receiver is longer than {@link #QUEUE_FACTOR} tasks per thread, or if the response
+ * time of a full batch exceeds {@link #LATENCY_FACTOR} times the lowest recent one. The limit is halved at most once
+ * per round trip: congestion signals of batches sent before the last decrease are ignored.
+ * <p>
+ * Statistics are exposed in the {@code datastreamer.nodes.<nodeId>} metric registry, shared by all data streamers
+ * of the local node.
+ */
+class DataStreamerFlowControl {
+    /** Metric registry name prefix. */
+    static final String DATA_STREAMER_NODES_METRICS = metricName("datastreamer", "nodes");
+
+    /** Number of queued tasks per receiver thread which signals congestion. */
+    static final int QUEUE_FACTOR = 2;
+
+    /** Ratio of response time to the lowest recent one which signals congestion. */
+    static final int LATENCY_FACTOR = 2;
+
+    /** Minimum increase of response time over the lowest recent one which signals congestion, in nanoseconds. */
+    private static final long MIN_LATENCY_INCREASE = 1_000_000L;
+
+    /** Number of samples after which the lowest response time is reset. */
+    private static final int MIN_LATENCY_WINDOW = 256;
+
+    /** Weight of a new sample in the average response time. */
+    private static final double ALPHA = 0.125;
+
+    /** Semaphore limiting batches awaiting response. */
+    private final ResizableSemaphore sem;
+
+    /** Maximum limit. */
+    private final int maxLimit;
+
+    /** Number of threads in the data streamer pool of the receiver. */
+    private final int rcvPoolSize;
+
+    /** Minimum size of a batch in bytes to sample its response time. */
+    private final long fullBatchBytes;
+
+    /** Send times of sampled batches by request IDs. */
+    private final Map<Long, Long> sndTimes = new ConcurrentHashMap<>();
+
+    /** Current limit. */
+    private int limit;
+
+    /** Responses without congestion since the limit was changed. */
+    private int acks;
+
+    /** Highest ID of sent requests. */
+    private long lastReqId;
+
+    /** Congestion signals of requests with IDs up to this one are ignored. */
+    private long recoverReqId;
+
+    /** Lowest recent response time. */
+    private long minLatency;
+
+    /** Samples since the lowest response time was reset. */
+    private int minLatencySamples;
+
+    /** Average response time. */
+    private double avgLatency;
+
+    /** Latest limit. */
+    private final AtomicLongMetric limitMetric;
+
+    /** Average response time. */
+    private final AtomicLongMetric latencyMetric;
+
+    /** Latest reported queue size of the receiver. */
+    private final AtomicLongMetric queueMetric;
+
+    /** Sent batches. */
+    private final LongAdderMetric batches;
+
+    /** Sent bytes. */
+    private final LongAdderMetric bytes;
+
+    /** Limit increases. */
+    private final LongAdderMetric increases;
+
+    /** Limit decreases. */
+    private final LongAdderMetric decreases;
+
+    /**
+     * @param mreg Metric registry of the receiver.
+     * @param rcvPoolSize Number of threads in the data streamer pool of the receiver.
+     * @param maxLimit Maximum limit.
+     * @param fullBatchBytes Minimum size of a batch in bytes to sample its response time.
+     */
+    DataStreamerFlowControl(MetricRegistry mreg, int rcvPoolSize, int maxLimit, long fullBatchBytes) {
+        this.rcvPoolSize = Math.max(rcvPoolSize, 1);
+        this.maxLimit = Math.max(maxLimit, 1);
+        this.fullBatchBytes = fullBatchBytes;
+
+        limit = Math.min(this.rcvPoolSize, this.maxLimit);
+
+        sem = new ResizableSemaphore(limit);
+
+        limitMetric = mreg.longMetric("InFlightLimit",
+            "Latest limit of batches awaiting response of the node set by an adaptive data streamer.");
+
+        latencyMetric = mreg.longMetric("ResponseTime",
+            "Average response time of the node to full batches in nanoseconds.");
+
+        queueMetric = mreg.longMetric("ReceiverQueueSize",
+            "Latest reported number of tasks queued in the data streamer pool of the node.");
+
+        batches = mreg.longAdderMetric("Batches", "Number of batches sent to the node by adaptive data streamers.");
+
+        bytes = mreg.longAdderMetric("BatchBytes",
+            "Total size in bytes of batches sent to the node by adaptive data streamers.");
+
+        increases = mreg.longAdderMetric("InFlightLimitIncreases",
+            "Number of times the limit of batches awaiting response of the node was increased.");
+
+        decreases = mreg.longAdderMetric("InFlightLimitDecreases",
+            "Number of times the limit of batches awaiting response of the node was decreased due to congestion.");
+
+        limitMetric.value(limit);
+    }
+
+    /**
+     * @return Semaphore limiting batches awaiting response.
+     */
+    Semaphore semaphore() {
+        return sem;
+    }
+
+    /**
+     * @return Current limit.
+     */
+    synchronized int limit() {
+        return limit;
+    }
+
+    /**
+     * @param reqId Request ID.
+     * @param size Size of the batch in bytes.
+     */
+    void onSend(long reqId, long size) {
+        if (size >= fullBatchBytes)
+            sndTimes.put(reqId, System.nanoTime());
+
+        synchronized (this) {
+            lastReqId = Math.max(lastReqId, reqId);
+        }
+
+        batches.increment();
+        bytes.add(size);
+    }
+
+    /**
+     * @param reqId ID of the request which was not sent.
+     */
+    void onSendFailed(long reqId) {
+        sndTimes.remove(reqId);
+    }
+
+    /**
+     * Adjusts the limit. Must be called before the permit of the request is released.
+     *
+     * @param reqId Request ID.
+     * @param queueSize Number of tasks queued in the data streamer pool of the receiver or {@code -1} if unknown.
+     */
+    void onResponse(long reqId, int queueSize) {
+        Long sndTime = sndTimes.remove(reqId);
+
+        long latency = sndTime != null ? System.nanoTime() - sndTime : -1;
+
+        synchronized (this) {
+            boolean congested = false;
+
+            if (queueSize >= 0) {
+                queueMetric.value(queueSize);
+
+                congested = queueSize > QUEUE_FACTOR * rcvPoolSize;
+            }
+
+            if (latency >= 0) {
+                avgLatency = avgLatency == 0 ? latency : avgLatency + ALPHA * (latency - avgLatency);
+
+                latencyMetric.value((long)avgLatency);
+
+                if (minLatency > 0 && latency > LATENCY_FACTOR * minLatency &&
+                    latency - minLatency > MIN_LATENCY_INCREASE)
+                    congested = true;
+
+                if (minLatency == 0 || latency < minLatency || ++minLatencySamples >= MIN_LATENCY_WINDOW) {
+                    minLatency = latency;
+                    minLatencySamples = 0;
+                }
+            }
+
+            if (congested) {
+                if (reqId > recoverReqId) {
+                    int newLimit = Math.max(limit / 2, 1);
+
+                    if (newLimit < limit) {
+                        sem.reducePermits(limit - newLimit);
+
+                        limit = newLimit;
+
+                        limitMetric.value(limit);
+
+                        decreases.increment();
+                    }
+
+                    acks = 0;
+                    recoverReqId = lastReqId;
+                }
+            }
+            else if (++acks >= limit) {
+                acks = 0;
+
+                if (limit < maxLimit) {
+                    limit++;
+
+                    sem.release();
+
+                    limitMetric.value(limit);
+
+                    increases.increment();
+                }
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(DataStreamerFlowControl.class, this);
+    }
+
+    /**
+     * Semaphore which permits can be reduced.
+     */
+    private static class ResizableSemaphore extends Semaphore {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * @param permits Initial permits.
+         */
+        private ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
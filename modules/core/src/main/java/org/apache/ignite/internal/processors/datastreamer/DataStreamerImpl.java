@@ -94,6 +94,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.topology.Grid
 import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
 import org.apache.ignite.internal.processors.cacheobject.IgniteCacheObjectProcessor;
 import org.apache.ignite.internal.processors.dr.GridDrType;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.util.GridConcurrentHashSet;
 import org.apache.ignite.internal.util.GridSpinReadWriteLock;
 import org.apache.ignite.internal.util.future.GridCompoundFuture;
@@ -123,6 +124,8 @@ import org.jetbrains.annotations.Nullable;
 import static org.apache.ignite.events.EventType.EVT_NODE_FAILED;
 import static org.apache.ignite.events.EventType.EVT_NODE_LEFT;
 import static org.apache.ignite.internal.GridTopic.TOPIC_DATASTREAM;
+import static org.apache.ignite.internal.processors.datastreamer.DataStreamerFlowControl.DATA_STREAMER_NODES_METRICS;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
 
 /**
  * Data streamer implementation.
@@ -156,6 +159,9 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
     /** Max remap count before issuing an error. */
     private static final int DFLT_MAX_REMAP_CNT = 32;
 
+    /** Maximum number of entries in a batch in adaptive batching mode. */
+    private static final int MAX_ADAPTIVE_BUFFER_SIZE = 16 * 1024;
+
     /** Log reference. */
     private static final AtomicReference<IgniteLogger> logRef = new AtomicReference<>();
 
@@ -172,6 +178,12 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
     /** */
     private int parallelOps;
 
+    /** Adaptive batching flag. */
+    private boolean adaptive;
+
+    /** Per-node buffer size in bytes in adaptive batching mode. */
+    private int bufBytes = DFLT_PER_NODE_BUFFER_BYTES;
+
     /** */
     private long timeout = DFLT_UNLIMIT_TIMEOUT;
 
@@ -543,6 +555,28 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
         this.parallelOps = parallelOps;
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean adaptiveBatching() {
+        return adaptive;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void adaptiveBatching(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int perNodeBufferBytes() {
+        return bufBytes;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void perNodeBufferBytes(int bufBytes) {
+        A.ensure(bufBytes > 0, "bufBytes > 0");
+
+        this.bufBytes = bufBytes;
+    }
+
     /** {@inheritDoc} */
     @Override public void timeout(long timeout) {
         if (timeout < -1 || timeout == 0)
@@ -1517,6 +1551,25 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
         }
     }
 
+    /**
+     * Estimates size of the entry in a batch. Marshalled bytes are cached by cache objects, so they are not
+     * marshalled again when the batch is sent.
+     *
+     * @param entry Entry.
+     * @return Size of marshalled key and value in bytes.
+     */
+    private int entrySize(DataStreamerEntry entry) {
+        try {
+            CacheObject val = entry.getValue();
+
+            return entry.getKey().valueBytesLength(cacheObjCtx) + (val != null ? val.valueBytesLength(cacheObjCtx) : 0);
+        }
+        catch (IgniteCheckedException e) {
+            // Marshalling error is reported when the batch is sent.
+            return 0;
+        }
+    }
+
     /**
      *
      */
@@ -1545,6 +1598,9 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
         /** */
         private final int perNodeParallelOps;
 
+        /** Adaptive limit of parallel operations, {@code null} if not in adaptive mode or the node is local. */
+        private final DataStreamerFlowControl flowCtrl;
+
         /** Closure to signal on task finish. */
         @GridToStringExclude
         private final IgniteInClosure<IgniteInternalFuture<Object>> signalC =
@@ -1575,7 +1631,19 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
             perNodeParallelOps = parallelOps != 0 ? parallelOps :
                 streamerPoolSize * IgniteDataStreamer.DFLT_PARALLEL_OPS_MULTIPLIER;
 
-            sem = new Semaphore(perNodeParallelOps);
+            if (adaptive && !isLocNode) {
+                MetricRegistry mreg = ctx.metric().registry(
+                    metricName(DATA_STREAMER_NODES_METRICS, node.id().toString()));
+
+                flowCtrl = new DataStreamerFlowControl(mreg, streamerPoolSize, perNodeParallelOps, bufBytes / 2);
+
+                sem = flowCtrl.semaphore();
+            }
+            else {
+                flowCtrl = null;
+
+                sem = new Semaphore(perNodeParallelOps);
+            }
 
             stripes = (PerStripeBuffer[])Array.newInstance(PerStripeBuffer.class, streamerPoolSize);
 
@@ -1603,8 +1671,11 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
 
             for (DataStreamerEntry entry : newEntries) {
                 List<DataStreamerEntry> entries0 = null;
+                long entries0Bytes = 0;
                 AffinityTopologyVersion curBatchTopVer;
 
+                int entryBytes = adaptive ? entrySize(entry) : 0;
+
                 // Init buffer.
                 int part = entry.getKey().partition();
 
@@ -1642,8 +1713,12 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
 
                     b.entries.add(entry);
 
-                    if (b.entries.size() >= bufSize) {
+                    b.bytes += entryBytes;
+
+                    if (adaptive ? b.bytes >= bufBytes || b.entries.size() >= MAX_ADAPTIVE_BUFFER_SIZE :
+                        b.entries.size() >= bufSize) {
                         entries0 = b.entries;
+                        entries0Bytes = b.bytes;
 
                         b.renewBatch(remap);
                     }
@@ -1675,7 +1750,7 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
                         "[batchTopVer=" + curBatchTopVer + ", topVer=" + topVer + "]"));
                 }
                 else if (entries0 != null) {
-                    submit(entries0, curBatchTopVer, curFut0, remap, b.partId);
+                    submit(entries0, entries0Bytes, curBatchTopVer, curFut0, remap, b.partId);
 
                     if (cancelled)
                         curFut0.onDone(new IgniteCheckedException("Data streamer has been cancelled: " +
@@ -1699,11 +1774,13 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
             for (PerStripeBuffer b : stripes) {
                 AffinityTopologyVersion batchTopVer = null;
                 List<DataStreamerEntry> entries0 = null;
+                long entries0Bytes = 0;
                 GridFutureAdapter<Object> curFut0 = null;
 
                 synchronized (b) {
                     if (!b.entries.isEmpty()) {
                         entries0 = b.entries;
+                        entries0Bytes = b.bytes;
                         curFut0 = b.curFut;
                         batchTopVer = b.batchTopVer;
 
@@ -1712,7 +1789,7 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
                 }
 
                 if (entries0 != null)
-                    submit(entries0, batchTopVer, curFut0, false, b.partId);
+                    submit(entries0, entries0Bytes, batchTopVer, curFut0, false, b.partId);
             }
 
             // Create compound future for this flush.
@@ -1864,6 +1941,7 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
 
         /**
          * @param entries Entries to submit.
+         * @param bytes Estimated size of entries in bytes, {@code 0} if not in adaptive mode.
          * @param topVer Topology version.
          * @param curFut Current future.
          * @param remap Remapping flag.
@@ -1872,6 +1950,7 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
          */
         private void submit(
             final Collection<DataStreamerEntry> entries,
+            long bytes,
             @Nullable AffinityTopologyVersion topVer,
             final GridFutureAdapter<Object> curFut,
             boolean remap,
@@ -1978,6 +2057,9 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
                     (rcvr == ISOLATED_UPDATER) ?
                         partId : GridIoMessage.STRIPE_DISABLED_PART);
 
+                if (flowCtrl != null)
+                    flowCtrl.onSend(reqId, bytes);
+
                 try {
                     ctx.io().sendToGridTopic(node, TOPIC_DATASTREAM, req, plc);
 
@@ -1989,6 +2071,9 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
                     // Anyway it does not make sense to track it.
                     reqs.remove(reqId);
 
+                    if (flowCtrl != null)
+                        flowCtrl.onSendFailed(reqId);
+
                     GridFutureAdapter<Object> fut0 = ((GridFutureAdapter<Object>)fut);
 
                     if (e instanceof ClusterTopologyCheckedException)
@@ -2058,6 +2143,12 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
                 return;
             }
 
+            // Limit is adjusted before the permit of the request is released on future completion.
+            if (flowCtrl != null) {
+                flowCtrl.onResponse(res.requestId(),
+                    res instanceof DataStreamerLoadResponse ? ((DataStreamerLoadResponse)res).queueSize() : -1);
+            }
+
             Throwable err = null;
 
             byte[] errBytes = res.errorBytes();
@@ -2391,6 +2482,9 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
         /** */
         private List<DataStreamerEntry> entries;
 
+        /** Estimated size of entries in bytes in adaptive batching mode. */
+        private long bytes;
+
         /** */
         private GridFutureAdapter<Object> curFut;
 
@@ -2422,6 +2516,7 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
          */
         synchronized void renewBatch(boolean remap) {
             entries = newEntries();
+            bytes = 0;
             curFut = new GridFutureAdapter<>();
 
             batchTopVer = null;
@@ -2434,7 +2529,7 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
          * @return Fresh collection with some space for outgrowth.
          */
         private List<DataStreamerEntry> newEntries() {
-            return new ArrayList<>((int)(bufSize * 1.2));
+            return adaptive ? new ArrayList<>() : new ArrayList<>((int)(bufSize * 1.2));
         }
 
         /** {@inheritDoc} */
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.datastreamer;
+
+import java.nio.ByteBuffer;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+
+/**
+ * Data streamer response which also carries the load of the receiver. Sent to nodes supporting
+ * {@link org.apache.ignite.internal.IgniteFeatures#DATA_STREAMER_LOAD_RESPONSE}.
+ */
+public class DataStreamerLoadResponse extends DataStreamerResponse {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Number of tasks queued in the data streamer pool of the receiver. */
+    private int queueSize;
+
+    /**
+     * @param reqId Request ID.
+     * @param errBytes Error bytes.
+     * @param forceLocDep Force local deployment.
+     * @param queueSize Number of tasks queued in the data streamer pool of the receiver.
+     */
+    public DataStreamerLoadResponse(long reqId, byte[] errBytes, boolean forceLocDep, int queueSize) {
+        super(reqId, errBytes, forceLocDep);
+
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * {@code Externalizable} support.
+     */
+    public DataStreamerLoadResponse() {
+        // No-op.
+    }
+
+    /**
+     * @return Number of tasks queued in the data streamer pool of the receiver.
+     */
+    public int queueSize() {
+        return queueSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(DataStreamerLoadResponse.class, this, super.toString());
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean writeTo(ByteBuffer buf, MessageWriter writer) {
+        writer.setBuffer(buf);
+
+        if (!super.writeTo(buf, writer))
+            return false;
+
+        if (!writer.isHeaderWritten()) {
+            if (!writer.writeHeader(directType(), fieldsCount()))
+                return false;
+
+            writer.onHeaderWritten();
+        }
+
+        switch (writer.state()) {
+            case 3:
+                if (!writer.writeInt("queueSize", queueSize))
+                    return false;
+
+                writer.incrementState();
+
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readFrom(ByteBuffer buf, MessageReader reader) {
+        reader.setBuffer(buf);
+
+        if (!reader.beforeMessageRead())
+            return false;
+
+        if (!super.readFrom(buf, reader))
+            return false;
+
+        switch (reader.state()) {
+            case 3:
+                queueSize = reader.readInt("queueSize");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+        }
+
+        return reader.afterMessageRead(DataStreamerLoadResponse.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public short directType() {
+        return -37;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte fieldsCount() {
+        return 4;
+    }
+}
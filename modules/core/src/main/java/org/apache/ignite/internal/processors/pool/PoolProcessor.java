@@ -33,6 +33,7 @@ import java.util.function.IntSupplier;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.configuration.ExecutorConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.failure.FailureContext;
@@ -46,6 +47,7 @@ import org.apache.ignite.internal.managers.communication.GridIoPolicy;
 import org.apache.ignite.internal.managers.systemview.walker.StripedExecutorTaskViewWalker;
 import org.apache.ignite.internal.processors.GridProcessorAdapter;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.HistogramMetricImpl;
 import org.apache.ignite.internal.processors.plugin.IgnitePluginProcessor;
 import org.apache.ignite.internal.util.StripedExecutor;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
@@ -61,10 +63,18 @@ import org.apache.ignite.thread.IgniteStripedThreadPoolExecutor;
 import org.apache.ignite.thread.IgniteThreadPoolExecutor;
 import org.jetbrains.annotations.Nullable;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_STRIPED_POOL_BUSY_POLL_TIME;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_STRIPED_POOL_QUEUE_TIME_METRICS;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_STRIPED_POOL_WORK_STEALING;
 import static org.apache.ignite.configuration.IgniteConfiguration.DFLT_THREAD_KEEP_ALIVE_TIME;
 import static org.apache.ignite.failure.FailureType.SYSTEM_WORKER_TERMINATION;
 import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+import static org.apache.ignite.internal.util.StripedExecutor.DFLT_STRIPED_POOL_BUSY_POLL_TIME;
+import static org.apache.ignite.internal.util.StripedExecutor.DFLT_STRIPED_POOL_QUEUE_TIME_METRICS;
+import static org.apache.ignite.internal.util.StripedExecutor.DFLT_STRIPED_POOL_WORK_STEALING;
 
 /**
  * Processor which abstracts out thread pool management.
@@ -125,6 +135,16 @@ public class PoolProcessor extends GridProcessorAdapter {
     /** Description of the system view for a system {@link StripedExecutor} queue view. */
     public static final String SYS_POOL_QUEUE_VIEW_DESC = "Striped thread pool task queue";
 
+    /** Bounds of the {@link StripedExecutor} stripe queue time histograms. */
+    public static final long[] STRIPE_QUEUE_TIME_BOUNDS = new long[] {
+        MICROSECONDS.toNanos(10),
+        MICROSECONDS.toNanos(100),
+        MILLISECONDS.toNanos(1),
+        MILLISECONDS.toNanos(10),
+        MILLISECONDS.toNanos(100),
+        SECONDS.toNanos(1)
+    };
+
     /** Group for a thread pools. */
     public static final String THREAD_POOLS = "threadPools";
 
@@ -315,8 +335,12 @@ public class PoolProcessor extends GridProcessorAdapter {
                     ctx.failure().process(new FailureContext(SYSTEM_WORKER_TERMINATION, t));
                 }
             },
+            false,
+            IgniteSystemProperties.getBoolean(IGNITE_STRIPED_POOL_WORK_STEALING, DFLT_STRIPED_POOL_WORK_STEALING),
             workerRegistry,
-            cfg.getFailureDetectionTimeout());
+            cfg.getFailureDetectionTimeout(),
+            MICROSECONDS.toNanos(
+                IgniteSystemProperties.getLong(IGNITE_STRIPED_POOL_BUSY_POLL_TIME, DFLT_STRIPED_POOL_BUSY_POLL_TIME)));
 
         // Note that since we use 'LinkedBlockingQueue', number of
         // maximum threads has no effect.
@@ -966,6 +990,20 @@ public class PoolProcessor extends GridProcessorAdapter {
             svc::stripesQueueSizes,
             int[].class,
             "Size of queue per stripe.");
+
+        if (!IgniteSystemProperties.getBoolean(IGNITE_STRIPED_POOL_QUEUE_TIME_METRICS,
+            DFLT_STRIPED_POOL_QUEUE_TIME_METRICS))
+            return;
+
+        HistogramMetricImpl[] queueTime = new HistogramMetricImpl[svc.stripesCount()];
+
+        for (int i = 0; i < queueTime.length; i++) {
+            queueTime[i] = mreg.histogram("Stripe" + i + "QueueTime",
+                STRIPE_QUEUE_TIME_BOUNDS,
+                "Time tasks spend in the queue of stripe " + i + " before execution, in nanoseconds.");
+        }
+
+        svc.queueTimeMetrics(queueTime);
     }
 
     /**
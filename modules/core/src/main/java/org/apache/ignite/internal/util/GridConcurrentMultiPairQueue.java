@@ -146,6 +146,48 @@ public class GridConcurrentMultiPairQueue<K, V> {
         return true;
     }
 
+    /**
+     * Retrieves and removes up to {@code batch.length} consecutive values of the same key from the head of this queue.
+     *
+     * @param res Result holder, receives the key and the first retrieved value.
+     * @param batch Array to fill with the retrieved values.
+     * @return Number of retrieved values or {@code 0} if this queue is empty.
+     */
+    public int next(Result<K, V> res, V[] batch) {
+        assert batch.length > 0;
+
+        while (true) {
+            int absPos = pos.get();
+
+            if (absPos >= maxPos) {
+                res.set(null, null, 0);
+
+                return 0;
+            }
+
+            int segment = res.getSegment();
+
+            if (absPos > lenSeq[segment]) {
+                segment = Arrays.binarySearch(lenSeq, segment, lenSeq.length - 1, absPos);
+
+                segment = segment < 0 ? -segment - 1 : segment;
+            }
+
+            int cnt = Math.min(batch.length, lenSeq[segment] - absPos + 1);
+
+            if (!pos.compareAndSet(absPos, absPos + cnt))
+                continue;
+
+            int relPos = segment == 0 ? absPos : (absPos - lenSeq[segment - 1] - 1);
+
+            System.arraycopy(vals[segment], relPos, batch, 0, cnt);
+
+            res.set(keysArr[segment], batch[0], segment);
+
+            return cnt;
+        }
+    }
+
     /**
      * @return {@code true} if empty.
      */
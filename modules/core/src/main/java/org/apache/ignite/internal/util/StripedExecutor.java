@@ -16,6 +16,7 @@
 
 package org.apache.ignite.internal.util;
 
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -36,6 +37,7 @@ import java.util.concurrent.locks.LockSupport;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.internal.managers.communication.GridIoPolicy;
+import org.apache.ignite.internal.processors.metric.impl.HistogramMetricImpl;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.typedef.internal.A;
 import org.apache.ignite.internal.util.typedef.internal.S;
@@ -55,6 +57,15 @@ public class StripedExecutor implements ExecutorService {
     /** @see IgniteSystemProperties#IGNITE_DATA_STREAMING_EXECUTOR_SERVICE_TASKS_STEALING_THRESHOLD */
     public static final int DFLT_DATA_STREAMING_EXECUTOR_SERVICE_TASKS_STEALING_THRESHOLD = 4;
 
+    /** @see IgniteSystemProperties#IGNITE_STRIPED_POOL_WORK_STEALING */
+    public static final boolean DFLT_STRIPED_POOL_WORK_STEALING = false;
+
+    /** @see IgniteSystemProperties#IGNITE_STRIPED_POOL_BUSY_POLL_TIME */
+    public static final long DFLT_STRIPED_POOL_BUSY_POLL_TIME = 0;
+
+    /** @see IgniteSystemProperties#IGNITE_STRIPED_POOL_QUEUE_TIME_METRICS */
+    public static final boolean DFLT_STRIPED_POOL_QUEUE_TIME_METRICS = false;
+
     /** Stripes. */
     private final Stripe[] stripes;
 
@@ -102,6 +113,61 @@ public class StripedExecutor implements ExecutorService {
         boolean stealTasks,
         GridWorkerListener gridWorkerLsnr,
         long failureDetectionTimeout
+    ) {
+        this(cnt, igniteInstanceName, poolName, log, errHnd, stealTasks, false, gridWorkerLsnr,
+            failureDetectionTimeout);
+    }
+
+    /**
+     * @param cnt Count.
+     * @param igniteInstanceName Node name.
+     * @param poolName Pool name.
+     * @param log Logger.
+     * @param errHnd Critical failure handler.
+     * @param stealTasks {@code True} to steal tasks.
+     * @param stealOrderInsensitiveTasks {@code True} to steal only tasks submitted via
+     *      {@link #execute(int, Runnable, boolean)} as order-insensitive. Ignored if {@code stealTasks} is set.
+     * @param gridWorkerLsnr listener to link with every stripe worker.
+     */
+    public StripedExecutor(
+        int cnt,
+        String igniteInstanceName,
+        String poolName,
+        final IgniteLogger log,
+        IgniteInClosure<Throwable> errHnd,
+        boolean stealTasks,
+        boolean stealOrderInsensitiveTasks,
+        GridWorkerListener gridWorkerLsnr,
+        long failureDetectionTimeout
+    ) {
+        this(cnt, igniteInstanceName, poolName, log, errHnd, stealTasks, stealOrderInsensitiveTasks, gridWorkerLsnr,
+            failureDetectionTimeout, 0);
+    }
+
+    /**
+     * @param cnt Count.
+     * @param igniteInstanceName Node name.
+     * @param poolName Pool name.
+     * @param log Logger.
+     * @param errHnd Critical failure handler.
+     * @param stealTasks {@code True} to steal tasks.
+     * @param stealOrderInsensitiveTasks {@code True} to steal only tasks submitted via
+     *      {@link #execute(int, Runnable, boolean)} as order-insensitive. Ignored if {@code stealTasks} is set.
+     * @param gridWorkerLsnr listener to link with every stripe worker.
+     * @param busyPollNanos Time in nanoseconds an idle stripe keeps polling its queue before parking,
+     *      {@code 0} to park after a short spin.
+     */
+    public StripedExecutor(
+        int cnt,
+        String igniteInstanceName,
+        String poolName,
+        final IgniteLogger log,
+        IgniteInClosure<Throwable> errHnd,
+        boolean stealTasks,
+        boolean stealOrderInsensitiveTasks,
+        GridWorkerListener gridWorkerLsnr,
+        long failureDetectionTimeout,
+        long busyPollNanos
     ) {
         A.ensure(cnt > 0, "cnt > 0");
 
@@ -115,9 +181,18 @@ public class StripedExecutor implements ExecutorService {
 
         try {
             for (int i = 0; i < cnt; i++) {
-                stripes[i] = stealTasks
-                    ? new StripeConcurrentQueue(igniteInstanceName, poolName, i, log, stripes, errHnd, gridWorkerLsnr)
-                    : new StripeConcurrentQueue(igniteInstanceName, poolName, i, log, errHnd, gridWorkerLsnr);
+                if (stealTasks) {
+                    stripes[i] = new StripeConcurrentQueue(igniteInstanceName, poolName, i, log, stripes, true, errHnd,
+                        gridWorkerLsnr, busyPollNanos);
+                }
+                else if (stealOrderInsensitiveTasks) {
+                    stripes[i] = new StripeConcurrentQueue(igniteInstanceName, poolName, i, log, stripes, false,
+                        errHnd, gridWorkerLsnr, busyPollNanos);
+                }
+                else {
+                    stripes[i] = new StripeConcurrentQueue(igniteInstanceName, poolName, i, log, errHnd,
+                        gridWorkerLsnr, busyPollNanos);
+                }
             }
 
             for (int i = 0; i < cnt; i++)
@@ -209,6 +284,46 @@ public class StripedExecutor implements ExecutorService {
         }
     }
 
+    /**
+     * Execute command. Order-insensitive command is queued to the stripe with the given index as well, but may be
+     * executed by another stripe if the pool was created with work-stealing enabled and the target stripe is busy.
+     *
+     * @param idx Index.
+     * @param cmd Command.
+     * @param orderInsensitive {@code True} if the command may be executed out of the stripe order.
+     */
+    public void execute(int idx, Runnable cmd, boolean orderInsensitive) {
+        if (!orderInsensitive || idx == -1)
+            execute(idx, cmd);
+        else {
+            assert idx >= 0 : idx;
+
+            stripes[idx % stripes.length].executeOrderInsensitive(cmd);
+        }
+    }
+
+    /**
+     * Enables measuring of the time tasks spend in the stripe queues. Every task is wrapped to record its enqueue
+     * time, so measuring is enabled only if {@link IgniteSystemProperties#IGNITE_STRIPED_POOL_QUEUE_TIME_METRICS}
+     * is set.
+     *
+     * @param histograms Queue time histograms (in nanoseconds), one per stripe.
+     */
+    public void queueTimeMetrics(HistogramMetricImpl[] histograms) {
+        A.ensure(histograms.length == stripes.length, "Histogram is required for each stripe");
+
+        for (int i = 0; i < stripes.length; i++)
+            stripes[i].queueTime = histograms[i];
+    }
+
+    /**
+     * @param task Task from a stripe queue.
+     * @return User task.
+     */
+    public static Runnable unwrap(Runnable task) {
+        return task instanceof QueuedTask ? ((QueuedTask)task).task : task;
+    }
+
     /** {@inheritDoc} */
     @Override public void shutdown() {
         signalStop();
@@ -496,6 +611,10 @@ public class StripedExecutor implements ExecutorService {
         /** */
         private volatile long lastStartedTs;
 
+        /** Queue time histogram, {@code null} if queue time is not measured. */
+        @GridToStringExclude
+        private volatile HistogramMetricImpl queueTime;
+
         /** Thread executing the loop. */
         protected Thread thread;
 
@@ -561,6 +680,9 @@ public class StripedExecutor implements ExecutorService {
 
                         lastStartedTs = U.currentTimeMillis();
 
+                        if (cmd instanceof QueuedTask)
+                            cmd = ((QueuedTask)cmd).started();
+
                         updateHeartbeat();
 
                         try {
@@ -599,6 +721,23 @@ public class StripedExecutor implements ExecutorService {
          */
         abstract void execute(Runnable cmd);
 
+        /**
+         * Execute the command which may be stolen by another stripe.
+         *
+         * @param cmd Command.
+         */
+        abstract void executeOrderInsensitive(Runnable cmd);
+
+        /**
+         * @param cmd Command.
+         * @return Command to put to the queue.
+         */
+        protected Runnable wrap(Runnable cmd) {
+            HistogramMetricImpl queueTime = this.queueTime;
+
+            return queueTime == null ? cmd : new QueuedTask(cmd, queueTime);
+        }
+
         /**
          * @return Next runnable.
          * @throws InterruptedException If interrupted.
@@ -646,10 +785,23 @@ public class StripedExecutor implements ExecutorService {
         /** Queue. */
         private final Queue<Runnable> queue;
 
+        /** Queue of order-insensitive tasks, {@code null} if such tasks are not stolen separately. */
+        @GridToStringExclude
+        private final Deque<Runnable> orderInsensitiveQueue;
+
         /** */
         @GridToStringExclude
         private final Stripe[] others;
 
+        /** {@code True} to steal any task, {@code false} to steal only order-insensitive ones. */
+        private final boolean stealAll;
+
+        /** Time in nanoseconds an idle stripe keeps polling its queue before parking. */
+        private final long busyPollNanos;
+
+        /** Number of polls, used to alternate between the queues. Accessed only by the stripe thread. */
+        private int polls;
+
         /** */
         private volatile boolean parked;
 
@@ -660,6 +812,7 @@ public class StripedExecutor implements ExecutorService {
          * @param log Logger.
          * @param errHnd Critical failure handler.
          * @param gridWorkerLsnr listener to link with stripe worker.
+         * @param busyPollNanos Time in nanoseconds an idle stripe keeps polling its queue before parking.
          */
         StripeConcurrentQueue(
             String igniteInstanceName,
@@ -667,9 +820,10 @@ public class StripedExecutor implements ExecutorService {
             int idx,
             IgniteLogger log,
             IgniteInClosure<Throwable> errHnd,
-            GridWorkerListener gridWorkerLsnr
+            GridWorkerListener gridWorkerLsnr,
+            long busyPollNanos
         ) {
-            this(igniteInstanceName, poolName, idx, log, null, errHnd, gridWorkerLsnr);
+            this(igniteInstanceName, poolName, idx, log, null, false, errHnd, gridWorkerLsnr, busyPollNanos);
         }
 
         /**
@@ -677,8 +831,11 @@ public class StripedExecutor implements ExecutorService {
          * @param poolName Pool name.
          * @param idx Stripe index.
          * @param log Logger.
+         * @param others All stripes of the pool to steal tasks from, {@code null} to disable stealing.
+         * @param stealAll {@code True} to steal any task, {@code false} to steal only order-insensitive ones.
          * @param errHnd Critical failure handler.
          * @param gridWorkerLsnr listener to link with stripe worker.
+         * @param busyPollNanos Time in nanoseconds an idle stripe keeps polling its queue before parking.
          */
         StripeConcurrentQueue(
             String igniteInstanceName,
@@ -686,8 +843,10 @@ public class StripedExecutor implements ExecutorService {
             int idx,
             IgniteLogger log,
             Stripe[] others,
+            boolean stealAll,
             IgniteInClosure<Throwable> errHnd,
-            GridWorkerListener gridWorkerLsnr
+            GridWorkerListener gridWorkerLsnr,
+            long busyPollNanos
         ) {
             super(
                 igniteInstanceName,
@@ -698,8 +857,12 @@ public class StripedExecutor implements ExecutorService {
                 gridWorkerLsnr);
 
             this.others = others;
+            this.stealAll = others != null && stealAll;
+            this.busyPollNanos = busyPollNanos;
 
-            this.queue = others == null ? new ConcurrentLinkedQueue<Runnable>() : new ConcurrentLinkedDeque<Runnable>();
+            queue = this.stealAll ? new ConcurrentLinkedDeque<Runnable>() : new ConcurrentLinkedQueue<Runnable>();
+
+            orderInsensitiveQueue = others != null && !stealAll ? new ConcurrentLinkedDeque<Runnable>() : null;
         }
 
         /** {@inheritDoc} */
@@ -707,17 +870,29 @@ public class StripedExecutor implements ExecutorService {
             Runnable r;
 
             for (int i = 0; i < 2048; i++) {
-                r = queue.poll();
+                r = poll();
 
                 if (r != null)
                     return r;
             }
 
+            if (busyPollNanos > 0) {
+                long start = System.nanoTime();
+
+                do {
+                    r = poll();
+
+                    if (r != null)
+                        return r;
+                }
+                while (System.nanoTime() - start < busyPollNanos && !isCancelled());
+            }
+
             parked = true;
 
             try {
                 for (;;) {
-                    r = queue.poll();
+                    r = poll();
 
                     if (r != null)
                         return r;
@@ -728,12 +903,8 @@ public class StripedExecutor implements ExecutorService {
                         int cur = init;
 
                         while (true) {
-                            if (cur != idx) {
-                                Deque<Runnable> queue = (Deque<Runnable>) ((StripeConcurrentQueue) others[cur]).queue;
-
-                                if (queue.size() > IGNITE_TASKS_STEALING_THRESHOLD && (r = queue.pollLast()) != null)
-                                    return r;
-                            }
+                            if (cur != idx && (r = ((StripeConcurrentQueue)others[cur]).steal()) != null)
+                                return r;
 
                             if ((cur = (cur + 1) % len) == init)
                                 break;
@@ -751,14 +922,55 @@ public class StripedExecutor implements ExecutorService {
             }
         }
 
+        /**
+         * Polls the stripe own queues. Order-insensitive queue is polled first every other time, so that these
+         * tasks are not delayed indefinitely by a steady flow of ordered ones.
+         *
+         * @return Next runnable or {@code null} if queues are empty.
+         */
+        private Runnable poll() {
+            if (orderInsensitiveQueue == null)
+                return queue.poll();
+
+            Runnable r;
+
+            if ((polls++ & 1) == 0) {
+                if ((r = queue.poll()) == null)
+                    r = orderInsensitiveQueue.poll();
+            }
+            else if ((r = orderInsensitiveQueue.poll()) == null)
+                r = queue.poll();
+
+            return r;
+        }
+
+        /**
+         * Called by another stripe to steal a task from this one.
+         *
+         * @return Stolen task or {@code null} if nothing to steal.
+         */
+        private Runnable steal() {
+            if (stealAll) {
+                Deque<Runnable> queue = (Deque<Runnable>)this.queue;
+
+                return queue.size() > IGNITE_TASKS_STEALING_THRESHOLD ? queue.pollLast() : null;
+            }
+
+            // Idle stripe will take its own tasks, so steal only from the busy one.
+            if (orderInsensitiveQueue != null && super.active && !orderInsensitiveQueue.isEmpty())
+                return orderInsensitiveQueue.pollLast();
+
+            return null;
+        }
+
         /** {@inheritDoc} */
         @Override void execute(Runnable cmd) {
-            queue.add(cmd);
+            queue.add(wrap(cmd));
 
             if (parked)
                 LockSupport.unpark(thread);
 
-            if (others != null && queueSize() > IGNITE_TASKS_STEALING_THRESHOLD) {
+            if (stealAll && queueSize() > IGNITE_TASKS_STEALING_THRESHOLD) {
                 for (Stripe other : others) {
                     if (((StripeConcurrentQueue)other).parked)
                         LockSupport.unpark(other.thread);
@@ -766,19 +978,58 @@ public class StripedExecutor implements ExecutorService {
             }
         }
 
+        /** {@inheritDoc} */
+        @Override void executeOrderInsensitive(Runnable cmd) {
+            if (orderInsensitiveQueue == null) {
+                execute(cmd);
+
+                return;
+            }
+
+            orderInsensitiveQueue.add(wrap(cmd));
+
+            if (parked)
+                LockSupport.unpark(thread);
+            else if (super.active) {
+                // Wake up a single idle stripe to avoid thundering herd.
+                int len = others.length;
+                int init = ThreadLocalRandom.current().nextInt(len);
+                int cur = init;
+
+                do {
+                    StripeConcurrentQueue other = (StripeConcurrentQueue)others[cur];
+
+                    if (cur != idx && other.parked) {
+                        LockSupport.unpark(other.thread);
+
+                        break;
+                    }
+                }
+                while ((cur = (cur + 1) % len) != init);
+            }
+        }
+
         /** {@inheritDoc} */
         @Override String queueToString() {
-            return String.valueOf(queue);
+            return orderInsensitiveQueue == null ? String.valueOf(queue) : queue + ", " + orderInsensitiveQueue;
         }
 
         /** {@inheritDoc} */
         @Override public Queue<Runnable> queue() {
-            return queue;
+            if (orderInsensitiveQueue == null)
+                return queue;
+
+            // Snapshot of both queues for the system view.
+            Queue<Runnable> res = new ArrayDeque<>(queue);
+
+            res.addAll(orderInsensitiveQueue);
+
+            return res;
         }
 
         /** {@inheritDoc} */
         @Override int queueSize() {
-            return queue.size();
+            return orderInsensitiveQueue == null ? queue.size() : queue.size() + orderInsensitiveQueue.size();
         }
 
         /** {@inheritDoc} */
@@ -786,4 +1037,48 @@ public class StripedExecutor implements ExecutorService {
             return S.toString(StripeConcurrentQueue.class, this, super.toString());
         }
     }
+
+    /**
+     * Task wrapper which records the time spent in the stripe queue.
+     */
+    private static class QueuedTask implements Runnable {
+        /** Task. */
+        private final Runnable task;
+
+        /** Queue time histogram of the stripe the task was queued to. */
+        private final HistogramMetricImpl queueTime;
+
+        /** Enqueue timestamp. */
+        private final long enqueueTs = System.nanoTime();
+
+        /**
+         * @param task Task.
+         * @param queueTime Queue time histogram.
+         */
+        QueuedTask(Runnable task, HistogramMetricImpl queueTime) {
+            this.task = task;
+            this.queueTime = queueTime;
+        }
+
+        /**
+         * Records the queue time.
+         *
+         * @return Task to run.
+         */
+        Runnable started() {
+            queueTime.value(System.nanoTime() - enqueueTs);
+
+            return task;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void run() {
+            task.run();
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return String.valueOf(task);
+        }
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.visor.snapshot;
+
+import java.util.Collection;
+import java.util.List;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.compute.ComputeJobResult;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.FileSnapshotManager;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteCacheSnapshotManager;
+import org.apache.ignite.internal.processors.task.GridInternal;
+import org.apache.ignite.internal.processors.task.GridVisorManagementTask;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.internal.visor.VisorJob;
+import org.apache.ignite.internal.visor.VisorMultiNodeTask;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_ENABLED;
+
+/**
+ * Task to create, restore and list page-level snapshots and to log consistent cuts.
+ */
+@GridInternal
+@GridVisorManagementTask
+public class VisorSnapshotTask extends VisorMultiNodeTask<VisorSnapshotTaskArg, String, String> {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** {@inheritDoc} */
+    @Override protected VisorJob<VisorSnapshotTaskArg, String> job(VisorSnapshotTaskArg arg) {
+        return new VisorSnapshotJob(arg, debug);
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override protected String reduce0(List<ComputeJobResult> results) throws IgniteException {
+        StringBuilder sb = new StringBuilder();
+
+        for (ComputeJobResult res : results) {
+            sb.append(res.getNode().consistentId()).append(':').append(U.nl());
+
+            if (res.getException() != null)
+                sb.append("    err=").append(res.getException().getMessage()).append(U.nl());
+            else {
+                for (String line : ((String)res.getData()).split("\\R"))
+                    sb.append("    ").append(line).append(U.nl());
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Job performing snapshot operation on a node.
+     */
+    private static class VisorSnapshotJob extends VisorJob<VisorSnapshotTaskArg, String> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * @param arg Job argument.
+         * @param debug Flag indicating whether debug information should be printed into node log.
+         */
+        protected VisorSnapshotJob(@Nullable VisorSnapshotTaskArg arg, boolean debug) {
+            super(arg, debug);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected String run(@Nullable VisorSnapshotTaskArg arg) throws IgniteException {
+            IgniteCacheSnapshotManager<?> snpMgr = ignite.context().cache().context().snapshot();
+
+            if (!(snpMgr instanceof FileSnapshotManager))
+                throw new IgniteException("Snapshots are supported only on server nodes with persistence enabled " +
+                    "and " + IGNITE_SNAPSHOT_ENABLED + " set.");
+
+            FileSnapshotManager mgr = (FileSnapshotManager)snpMgr;
+
+            try {
+                switch (arg.operation()) {
+                    case CREATE:
+                        mgr.createSnapshot(arg.name(), arg.incremental()).get();
+
+                        return "Snapshot created: " + arg.name();
+
+                    case STATUS:
+                        return mgr.status();
+
+                    case RESTORE:
+                        Collection<String> caches = mgr.restoreSnapshot(arg.name(), arg.cutTimestamp()).get();
+
+                        return "Snapshot restored [name=" + arg.name() + ", cutTs=" + arg.cutTimestamp() +
+                            ", caches=" + caches + ']';
+
+                    case CUT:
+                        return "Consistent cut logged: " + mgr.createConsistentCut().get();
+
+                    default:
+                        throw new IllegalArgumentException("Operation: " + arg.operation());
+                }
+            }
+            catch (IgniteCheckedException e) {
+                throw U.convertException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.visor.snapshot;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import org.apache.ignite.internal.dto.IgniteDataTransferObject;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Argument of {@link VisorSnapshotTask}.
+ */
+public class VisorSnapshotTaskArg extends IgniteDataTransferObject {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Operation. */
+    private VisorSnapshotOperation operation;
+
+    /** Snapshot name. */
+    private String name;
+
+    /** Whether snapshot is incremental. */
+    private boolean incremental;
+
+    /** Timestamp of the consistent cut to recover caches to. */
+    private Long cutTs;
+
+    /**
+     * Default constructor.
+     */
+    public VisorSnapshotTaskArg() {
+        // No-op.
+    }
+
+    /**
+     * @param operation Operation.
+     * @param name Snapshot name.
+     * @param incremental Whether snapshot is incremental.
+     * @param cutTs Timestamp of the consistent cut to recover caches to.
+     */
+    public VisorSnapshotTaskArg(VisorSnapshotOperation operation, String name, boolean incremental, Long cutTs) {
+        this.operation = operation;
+        this.name = name;
+        this.incremental = incremental;
+        this.cutTs = cutTs;
+    }
+
+    /**
+     * @return Operation.
+     */
+    public VisorSnapshotOperation operation() {
+        return operation;
+    }
+
+    /**
+     * @return Snapshot name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return Whether snapshot is incremental.
+     */
+    public boolean incremental() {
+        return incremental;
+    }
+
+    /**
+     * @return Timestamp of the consistent cut to recover caches to.
+     */
+    public Long cutTimestamp() {
+        return cutTs;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void writeExternalData(ObjectOutput out) throws IOException {
+        U.writeEnum(out, operation);
+        U.writeString(out, name);
+        out.writeBoolean(incremental);
+        out.writeObject(cutTs);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void readExternalData(byte protoVer, ObjectInput in) throws IOException, ClassNotFoundException {
+        operation = U.readEnum(in, VisorSnapshotOperation.class);
+        name = U.readString(in);
+        incremental = in.readBoolean();
+        cutTs = (Long)in.readObject();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(VisorSnapshotTaskArg.class, this);
+    }
+}
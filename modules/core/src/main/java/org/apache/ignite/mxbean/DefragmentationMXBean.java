@@ -40,6 +40,49 @@ public interface DefragmentationMXBean {
     @MXBeanDescription("Cancel current defragmentation.")
     public boolean cancel();
 
+    /**
+     * Start online defragmentation for given caches without node restart.
+     *
+     * @param cacheNames Names of caches to run defragmentation on, comma separated, all persistent caches if empty.
+     * @return {@code true} if defragmentation is started, {@code false} otherwise.
+     */
+    @MXBeanDescription("Start online defragmentation.")
+    @MXBeanParametersNames("cacheNames")
+    @MXBeanParametersDescriptions("Names of caches to run defragmentation on.")
+    public boolean startOnline(String cacheNames);
+
+    /**
+     * Pause online defragmentation.
+     *
+     * @return {@code true} if online defragmentation was paused, {@code false} otherwise.
+     */
+    @MXBeanDescription("Pause online defragmentation.")
+    public boolean pauseOnline();
+
+    /**
+     * Resume paused online defragmentation.
+     *
+     * @return {@code true} if online defragmentation was resumed, {@code false} otherwise.
+     */
+    @MXBeanDescription("Resume online defragmentation.")
+    public boolean resumeOnline();
+
+    /**
+     * Cancel online defragmentation.
+     *
+     * @return {@code true} if online defragmentation was cancelled, {@code false} otherwise.
+     */
+    @MXBeanDescription("Cancel online defragmentation.")
+    public boolean cancelOnline();
+
+    /**
+     * Get count of rows moved by online defragmentation.
+     *
+     * @return Number of rows moved by the ongoing or the last online defragmentation.
+     */
+    @MXBeanDescription("Rows moved by online defragmentation.")
+    public long relocatedRows();
+
     /**
      * Get defragmentation status.
      *
@@ -979,6 +979,8 @@ class ServerImpl extends TcpDiscoveryImpl {
                 msg = new TcpDiscoveryCustomEventMessage(getLocalNodeId(), evt,
                     U.marshal(spi.marshaller(), evt));
 
+            compressCustomMessage(msg);
+
             Span rootSpan = tracing.create(TraceableMessagesTable.traceName(msg.getClass()))
                 .addTag(SpanTags.tag(SpanTags.EVENT_NODE, SpanTags.ID), () -> getLocalNodeId().toString())
                 .addTag(SpanTags.tag(SpanTags.EVENT_NODE, SpanTags.CONSISTENT_ID),
@@ -998,6 +1000,29 @@ class ServerImpl extends TcpDiscoveryImpl {
         }
     }
 
+    /**
+     * Compresses serialized custom message if it exceeds configured threshold and all nodes support compression.
+     *
+     * @param msg Custom message.
+     */
+    private void compressCustomMessage(TcpDiscoveryCustomEventMessage msg) {
+        int threshold = spi.getCustomMessageCompressionThreshold();
+
+        int size = msg.messageBytes().length;
+
+        if (threshold <= 0 || msg.compressed() || size < threshold ||
+            !allNodesSupport(IgniteFeatures.DISCOVERY_CUSTOM_MESSAGE_COMPRESSION, ALL_NODES))
+            return;
+
+        try {
+            if (msg.compress(threshold, spi.ignite().configuration().getNetworkCompressionLevel()))
+                spi.stats.onCustomMessageCompressed(size, msg.messageBytes().length);
+        }
+        catch (IgniteCheckedException e) {
+            U.warn(log, "Failed to compress discovery custom message, it will be sent uncompressed: " + msg, e);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void failNode(UUID nodeId, @Nullable String warning) {
         TcpDiscoveryNode node = ring.node(nodeId);
@@ -6316,6 +6341,8 @@ class ServerImpl extends TcpDiscoveryImpl {
                     msg.spanContainer().span()
                         .addLog(() -> "Verified");
 
+                    spi.stats.onCustomMessageVerified(msg);
+
                     msg.topologyVersion(ring.topologyVersion());
 
                     if (pendingMsgs.procCustomMsgs.add(msg.id())) {
@@ -6330,9 +6357,11 @@ class ServerImpl extends TcpDiscoveryImpl {
                         }
                     }
 
-                    msg.message(null, msg.messageBytes());
+                    msg.message(null, msg.messageBytes(), msg.compressed());
                 }
                 else {
+                    spi.stats.onCustomMessageRingPassed(msg);
+
                     addMessage(new TcpDiscoveryDiscardMessage(getLocalNodeId(), msg.id(), true));
 
                     DiscoverySpiCustomMessage msgObj = null;
@@ -6385,7 +6414,7 @@ class ServerImpl extends TcpDiscoveryImpl {
                 }
 
                 // Clear msg field to prevent possible memory leak.
-                msg.message(null, msg.messageBytes());
+                msg.message(null, msg.messageBytes(), msg.compressed());
 
                 if (sendMessageToRemotes(msg))
                     sendMessageAcrossRing(msg);
@@ -6559,6 +6588,8 @@ class ServerImpl extends TcpDiscoveryImpl {
                 if (msgObj.isMutable()) {
                     try {
                         msg.message(msgObj, U.marshal(spi.marshaller(), msgObj));
+
+                        compressCustomMessage(msg);
                     }
                     catch (Throwable t) {
                         throw new IgniteException("Failed to marshal mutable discovery message: " + msgObj, t);
@@ -306,6 +306,9 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
     /** @see IgniteSystemProperties#IGNITE_DISCOVERY_METRICS_QNT_WARN */
     public static final int DFLT_DISCOVERY_METRICS_QNT_WARN = 500;
 
+    /** Default minimal size in bytes of serialized custom message to be compressed before sending across the ring. */
+    public static final int DFLT_CUSTOM_MSG_COMPRESSION_THRESHOLD = 64 * 1024;
+
     /** Name of the discovery metrics registry. */
     public static final String DISCO_METRICS = metricName("io", "discovery");
 
@@ -403,6 +406,9 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
     /** Maximum message acknowledgement timeout. */
     private long maxAckTimeout = DFLT_MAX_ACK_TIMEOUT;
 
+    /** Minimal size of serialized custom message to be compressed. */
+    private int customMsgCompressionThreshold = DFLT_CUSTOM_MSG_COMPRESSION_THRESHOLD;
+
     /** Default SO_LINGER to use for socket. Set negative to disable, non-negative to enable, default is {@DFLT_SO_LINGER }. */
     private int soLinger = DFLT_SO_LINGER;
 
@@ -865,6 +871,34 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
         return this;
     }
 
+    /**
+     * Gets minimal size in bytes of serialized custom message which is compressed before sending across the ring.
+     *
+     * @return Custom message compression threshold in bytes, {@code 0} means compression is disabled.
+     */
+    public int getCustomMessageCompressionThreshold() {
+        return customMsgCompressionThreshold;
+    }
+
+    /**
+     * Sets minimal size in bytes of serialized custom message which is compressed before sending across the ring.
+     * Compression is applied only if all nodes in topology support it, compression level is taken from
+     * {@link IgniteConfiguration#getNetworkCompressionLevel()}.
+     * <p>
+     * If not specified, default is {@link #DFLT_CUSTOM_MSG_COMPRESSION_THRESHOLD}. {@code 0} disables compression.
+     * <p>
+     * Affected server nodes only.
+     *
+     * @param customMsgCompressionThreshold Custom message compression threshold in bytes.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public TcpDiscoverySpi setCustomMessageCompressionThreshold(int customMsgCompressionThreshold) {
+        this.customMsgCompressionThreshold = customMsgCompressionThreshold;
+
+        return this;
+    }
+
     /**
      * Gets frequency with which coordinator cleans IP finder and keeps it in the correct state, unregistering addresses of
      * the nodes that have left the topology.
@@ -20,6 +20,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
+import org.apache.ignite.internal.processors.metric.impl.HistogramMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.IntMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.MetricUtils;
 import org.apache.ignite.internal.util.GridBoundedLinkedHashMap;
@@ -36,6 +38,9 @@ import static org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi.DISCO_METRICS;
  * Statistics for {@link org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi}.
  */
 public class TcpDiscoveryStatistics {
+    /** Histogram buckets for custom messages ring pass time in milliseconds. */
+    public static final long[] CUSTOM_MSG_RING_PASS_TIME_BOUNDS = new long[] {10, 50, 100, 250, 500, 1000, 5000};
+
     /** Coordinator since timestamp. */
     private final AtomicLong crdSinceTs = new AtomicLong();
 
@@ -75,6 +80,18 @@ public class TcpDiscoveryStatistics {
     /** Metric that indicates connections count that were rejected due to SSL errors. */
     private final IntMetricImpl rejectedSslConnectionsCnt;
 
+    /** Ring pass start timestamps of custom messages verified by local coordinator. */
+    private final Map<IgniteUuid, Long> customMsgsRingPassStartTs = new GridBoundedLinkedHashMap<>(1024);
+
+    /** Time taken by custom messages to pass the whole ring. */
+    private final HistogramMetricImpl customMsgRingPassTime;
+
+    /** Compressed custom messages count. */
+    private final IntMetricImpl compressedCustomMsgs;
+
+    /** Bytes saved by custom messages compression. */
+    private final AtomicLongMetric customMsgsCompressionSavedBytes;
+
     /** */
     public TcpDiscoveryStatistics() {
         joinedNodesCnt = new IntMetricImpl(MetricUtils.metricName(DISCO_METRICS, "JoinedNodes"), "Joined nodes count");
@@ -87,6 +104,19 @@ public class TcpDiscoveryStatistics {
             MetricUtils.metricName(DISCO_METRICS, "RejectedSslConnectionsCount"),
             "TCP discovery connections count that were rejected due to SSL errors."
         );
+
+        customMsgRingPassTime = new HistogramMetricImpl(
+            MetricUtils.metricName(DISCO_METRICS, "CustomMessageRingPassTime"),
+            "Time in milliseconds taken by custom messages to pass the whole ring (measured on coordinator).",
+            CUSTOM_MSG_RING_PASS_TIME_BOUNDS
+        );
+
+        compressedCustomMsgs = new IntMetricImpl(MetricUtils.metricName(DISCO_METRICS, "CompressedCustomMessages"),
+            "Custom messages count which were compressed before sending across the ring");
+
+        customMsgsCompressionSavedBytes = new AtomicLongMetric(
+            MetricUtils.metricName(DISCO_METRICS, "CustomMessagesCompressionSavedBytes"),
+            "Total bytes saved by custom messages compression");
     }
 
     /**
@@ -101,6 +131,9 @@ public class TcpDiscoveryStatistics {
         discoReg.register("LeftNodes", leftNodesCnt);
         discoReg.register("PendingMessagesRegistered", pendingMsgsRegistered);
         discoReg.register("RejectedSslConnectionsCount", rejectedSslConnectionsCnt);
+        discoReg.register("CustomMessageRingPassTime", customMsgRingPassTime);
+        discoReg.register("CompressedCustomMessages", compressedCustomMsgs);
+        discoReg.register("CustomMessagesCompressionSavedBytes", customMsgsCompressionSavedBytes);
     }
 
     /**
@@ -201,6 +234,61 @@ public class TcpDiscoveryStatistics {
         sentMsgs.put(msg.getClass().getSimpleName(), ++cnt);
     }
 
+    /**
+     * Called by coordinator when custom message is verified and is about to be sent across the ring.
+     *
+     * @param msg Verified custom message.
+     */
+    public synchronized void onCustomMessageVerified(TcpDiscoveryAbstractMessage msg) {
+        assert msg != null;
+
+        customMsgsRingPassStartTs.put(msg.id(), System.nanoTime());
+    }
+
+    /**
+     * Called by coordinator when verified custom message has passed the whole ring and returned back.
+     *
+     * @param msg Custom message.
+     */
+    public void onCustomMessageRingPassed(TcpDiscoveryAbstractMessage msg) {
+        assert msg != null;
+
+        Long startTs;
+
+        synchronized (this) {
+            startTs = customMsgsRingPassStartTs.remove(msg.id());
+        }
+
+        if (startTs != null)
+            customMsgRingPassTime.value(U.millisSinceNanos(startTs));
+    }
+
+    /**
+     * Collects stats for compressed custom message.
+     *
+     * @param origSize Size of serialized message before compression.
+     * @param compressedSize Size of serialized message after compression.
+     */
+    public void onCustomMessageCompressed(int origSize, int compressedSize) {
+        compressedCustomMsgs.increment();
+
+        customMsgsCompressionSavedBytes.add(origSize - compressedSize);
+    }
+
+    /**
+     * @return Compressed custom messages count.
+     */
+    public int compressedCustomMessages() {
+        return compressedCustomMsgs.value();
+    }
+
+    /**
+     * @return Histogram of custom messages ring pass time.
+     */
+    public long[] customMessageRingPassTime() {
+        return customMsgRingPassTime.value();
+    }
+
     /**
      * Increments pending messages registered count.
      */
@@ -329,6 +417,10 @@ public class TcpDiscoveryStatistics {
         rcvdMsgs.clear();
         sentMsgs.clear();
         rejectedSslConnectionsCnt.reset();
+        customMsgsRingPassStartTs.clear();
+        customMsgRingPassTime.reset();
+        compressedCustomMsgs.reset();
+        customMsgsCompressionSavedBytes.reset();
     }
 
     /** {@inheritDoc} */
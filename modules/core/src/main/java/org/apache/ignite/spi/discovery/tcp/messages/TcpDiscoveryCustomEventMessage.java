@@ -46,6 +46,9 @@ public class TcpDiscoveryCustomEventMessage extends TcpDiscoveryAbstractTraceabl
     /** */
     private byte[] msgBytes;
 
+    /** {@code True} if {@link #msgBytes} are zipped. */
+    private boolean compressed;
+
     /**
      * @param creatorNodeId Creator node id.
      * @param msg Message.
@@ -67,6 +70,7 @@ public class TcpDiscoveryCustomEventMessage extends TcpDiscoveryAbstractTraceabl
         super(msg);
 
         this.msgBytes = msg.msgBytes;
+        this.compressed = msg.compressed;
         this.msg = msg.msg;
         this.msgClass = msg.msgClass;
     }
@@ -79,12 +83,42 @@ public class TcpDiscoveryCustomEventMessage extends TcpDiscoveryAbstractTraceabl
     }
 
     /**
-     * @return Serialized message.
+     * @return Serialized message (zipped if {@link #compressed()} is {@code true}).
      */
     public byte[] messageBytes() {
         return msgBytes;
     }
 
+    /**
+     * @return {@code True} if serialized message is zipped.
+     */
+    public boolean compressed() {
+        return compressed;
+    }
+
+    /**
+     * Zips serialized message if its size exceeds the given threshold.
+     *
+     * @param threshold Minimal size of serialized message to compress, {@code 0} or negative disables compression.
+     * @param compressionLevel Compression level.
+     * @return {@code True} if serialized message has been zipped by this call.
+     * @throws IgniteCheckedException If failed.
+     */
+    public boolean compress(int threshold, int compressionLevel) throws IgniteCheckedException {
+        if (compressed || threshold <= 0 || msgBytes.length < threshold)
+            return false;
+
+        byte[] zipped = U.zip(msgBytes, compressionLevel);
+
+        if (zipped.length >= msgBytes.length)
+            return false;
+
+        msgBytes = zipped;
+        compressed = true;
+
+        return true;
+    }
+
     /**
      * @return Class of DiscoveryCustomMessage enclosed in this discovery custom event.
      * @throws IgniteCheckedException If message was not deserialized from byte array.
@@ -101,8 +135,18 @@ public class TcpDiscoveryCustomEventMessage extends TcpDiscoveryAbstractTraceabl
      * @param msgBytes Serialized message.
      */
     public void message(@Nullable DiscoverySpiCustomMessage msg, @NotNull byte[] msgBytes) {
+        message(msg, msgBytes, false);
+    }
+
+    /**
+     * @param msg Message.
+     * @param msgBytes Serialized message.
+     * @param compressed {@code True} if serialized message is zipped.
+     */
+    public void message(@Nullable DiscoverySpiCustomMessage msg, @NotNull byte[] msgBytes, boolean compressed) {
         this.msg = msg;
         this.msgBytes = msgBytes;
+        this.compressed = compressed;
     }
 
     /**
@@ -114,7 +158,7 @@ public class TcpDiscoveryCustomEventMessage extends TcpDiscoveryAbstractTraceabl
     @Nullable public DiscoverySpiCustomMessage message(@NotNull Marshaller marsh, ClassLoader ldr) throws Throwable {
         if (msg == null) {
             try {
-                msg = U.unmarshal(marsh, msgBytes, ldr);
+                msg = U.unmarshal(marsh, compressed ? U.unzip(msgBytes) : msgBytes, ldr);
             }
             catch (IgniteCheckedException e) {
                 // Try to resurrect a message in a case of deserialization failure
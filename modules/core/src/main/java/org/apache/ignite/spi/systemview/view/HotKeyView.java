@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.systemview.view;
+
+import org.apache.ignite.internal.managers.systemview.walker.Order;
+import org.apache.ignite.internal.processors.cache.distributed.dht.HotKeysTracker;
+import org.apache.ignite.internal.processors.cache.distributed.dht.HotKeysTracker.HotKey;
+
+import static org.apache.ignite.internal.util.IgniteUtils.toStringSafe;
+
+/**
+ * Frequently accessed key of a primary partition, tracked by {@link HotKeysTracker}, representation
+ * for a {@link SystemView}.
+ */
+public class HotKeyView {
+    /** Cache name. */
+    private final String cacheName;
+
+    /** Tracked key. */
+    private final HotKey key;
+
+    /**
+     * @param cacheName Cache name.
+     * @param key Tracked key.
+     */
+    public HotKeyView(String cacheName, HotKey key) {
+        this.cacheName = cacheName;
+        this.key = key;
+    }
+
+    /** @return Cache name. */
+    @Order
+    public String cacheName() {
+        return cacheName;
+    }
+
+    /** @return Partition id. */
+    @Order(1)
+    public int partitionId() {
+        return key.partition();
+    }
+
+    /** @return Key {@code toString} representation. */
+    @Order(2)
+    public String key() {
+        return toStringSafe(key.key());
+    }
+
+    /** @return Estimated number of read and update requests of the key since the counters were last halved. */
+    @Order(3)
+    public long accessCount() {
+        return key.count();
+    }
+
+    /** @return Maximum overestimation of the access count. */
+    @Order(4)
+    public long maxError() {
+        return key.error();
+    }
+
+    /** @return {@code True} if the key is considered hot. */
+    @Order(5)
+    public boolean hot() {
+        return key.hot();
+    }
+}
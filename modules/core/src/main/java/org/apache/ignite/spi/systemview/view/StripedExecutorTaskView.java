@@ -38,7 +38,7 @@ public class StripedExecutorTaskView {
      */
     public StripedExecutorTaskView(Stripe stripe, Runnable task) {
         this.stripe = stripe;
-        this.task = task;
+        this.task = StripedExecutor.unwrap(task);
     }
 
     /** @return Stripe index for task. */
@@ -44,6 +44,7 @@ import org.apache.ignite.internal.processors.cache.GridCacheMapEntry;
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.PartitionsEvictManager;
 import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.GridCacheOffheapManager;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.PagesList;
 import org.apache.ignite.internal.processors.cache.query.continuous.CacheContinuousQueryEventBuffer;
 import org.apache.ignite.internal.processors.cache.query.continuous.CacheContinuousQueryHandler;
@@ -96,6 +97,7 @@ public final class CommandLineStartup {
         PartitionsEvictManager.class,
         PagesList.class,
         PagesList.PagesCache.class,
+        AbstractFreeList.class,
         GridCacheOffheapManager.class,
         CacheContinuousQueryEventBuffer.class,
         CacheContinuousQueryHandler.class,
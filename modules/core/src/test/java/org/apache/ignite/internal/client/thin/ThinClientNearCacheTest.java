@@ -0,0 +1,232 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.client.ClientCache;
+import org.apache.ignite.client.ClientNearCacheMetrics;
+import org.apache.ignite.client.IgniteClient;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientNearCacheConfiguration;
+import org.junit.Test;
+
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Thin client near cache test.
+ */
+public class ThinClientNearCacheTest extends AbstractThinClientTest {
+    /** */
+    private static final String CACHE_NAME = "nearCache";
+
+    /** */
+    private static final int MAX_SIZE = 100;
+
+    /** */
+    private static final long TIMEOUT = 10_000L;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        grid(0).destroyCache(CACHE_NAME);
+
+        super.afterTest();
+    }
+
+    /**
+     * @param idxs Indexes of nodes to connect to.
+     * @return Thin client with near cache.
+     */
+    private IgniteClient startNearClient(int... idxs) {
+        ClientConfiguration cfg = getClientConfiguration(IntStream.of(idxs).mapToObj(this::grid)
+            .toArray(Ignite[]::new));
+
+        cfg.setNearCacheConfigurations(new ClientNearCacheConfiguration(CACHE_NAME).setMaxSize(MAX_SIZE));
+
+        return Ignition.startClient(cfg);
+    }
+
+    /** Tests that repeated reads are served by the near cache and updates made by servers are visible. */
+    @Test
+    public void testServerUpdatesInvalidate() throws Exception {
+        IgniteCache<Integer, Integer> srvCache = grid(0).getOrCreateCache(CACHE_NAME);
+
+        try (IgniteClient client = startNearClient(0, 1)) {
+            ClientCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+
+            ClientNearCacheMetrics metrics = cache.nearCacheMetrics();
+
+            assertNotNull(metrics);
+
+            for (int i = 0; i < 10; i++)
+                srvCache.put(i, i);
+
+            for (int r = 0; r < 3; r++) {
+                for (int i = 0; i < 10; i++)
+                    assertEquals(i, (int)cache.get(i));
+            }
+
+            assertEquals(10, metrics.getMisses());
+            assertEquals(20, metrics.getHits());
+            assertEquals(10, metrics.getSize());
+
+            for (int i = 0; i < 10; i++)
+                srvCache.put(i, -i);
+
+            assertTrue(waitForCondition(() -> metrics.getInvalidations() >= 10, TIMEOUT));
+
+            for (int i = 0; i < 10; i++)
+                assertEquals(-i, (int)cache.get(i));
+
+            srvCache.remove(0);
+
+            assertTrue(waitForCondition(() -> cache.get(0) == null, TIMEOUT));
+
+            assertEquals(-1, (int)cache.getAsync(1).get());
+            assertNull(client.cache(CACHE_NAME).withKeepBinary().get(0));
+        }
+    }
+
+    /** Tests that writes made by the client are visible to its reads immediately. */
+    @Test
+    public void testOwnWritesVisible() throws Exception {
+        grid(0).getOrCreateCache(CACHE_NAME);
+
+        try (IgniteClient client = startNearClient(0)) {
+            ClientCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+
+            for (int i = 0; i < 50; i++) {
+                cache.put(1, i);
+
+                assertEquals(i, (int)cache.get(1));
+
+                cache.putAsync(1, -i).get();
+
+                assertEquals(-i, (int)cache.get(1));
+
+                assertEquals(-i, (int)cache.getAndPut(1, i));
+
+                assertEquals(i, (int)cache.get(1));
+            }
+
+            cache.putAll(IntStream.range(0, 10).boxed().collect(Collectors.toMap(i -> i, i -> i)));
+
+            assertEquals(10, cache.getAll(IntStream.range(0, 10).boxed().collect(Collectors.toSet())).size());
+
+            cache.removeAll(IntStream.range(0, 5).boxed().collect(Collectors.toSet()));
+
+            Set<Integer> keys = IntStream.range(0, 10).boxed().collect(Collectors.toSet());
+
+            Map<Integer, Integer> res = cache.getAll(keys);
+
+            assertEquals(5, res.size());
+
+            cache.clear();
+
+            assertTrue(cache.getAll(keys).isEmpty());
+
+            assertTrue(waitForCondition(() -> cache.nearCacheMetrics().getInvalidations() > 0, TIMEOUT));
+        }
+    }
+
+    /** Tests that updates made by another client invalidate the near cache. */
+    @Test
+    public void testOtherClientUpdatesInvalidate() throws Exception {
+        grid(0).getOrCreateCache(CACHE_NAME);
+
+        try (IgniteClient client1 = startNearClient(0); IgniteClient client2 = startNearClient(1)) {
+            ClientCache<Integer, Integer> cache1 = client1.cache(CACHE_NAME);
+            ClientCache<Integer, Integer> cache2 = client2.cache(CACHE_NAME);
+
+            for (int i = 0; i < 100; i++) {
+                cache1.put(1, i);
+
+                int val = i;
+
+                assertTrue(waitForCondition(() -> cache2.get(1) == val, TIMEOUT));
+            }
+
+            assertTrue(cache2.nearCacheMetrics().getInvalidations() > 0);
+        }
+    }
+
+    /** Tests that the near cache is bounded. */
+    @Test
+    public void testMaxSize() throws Exception {
+        IgniteCache<Integer, Integer> srvCache = grid(0).getOrCreateCache(CACHE_NAME);
+
+        try (IgniteClient client = startNearClient(0)) {
+            ClientCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+
+            for (int i = 0; i < MAX_SIZE * 3; i++) {
+                srvCache.put(i, i);
+
+                assertEquals(i, (int)cache.get(i));
+            }
+
+            assertTrue(cache.nearCacheMetrics().getSize() <= MAX_SIZE);
+            assertNull(client.cache("otherCache").nearCacheMetrics());
+        }
+    }
+
+    /** Tests that the near cache is cleared on connection loss and updates made meanwhile are visible. */
+    @Test
+    public void testReconnect() throws Exception {
+        IgniteCache<Integer, Integer> srvCache = grid(0).getOrCreateCache(CACHE_NAME);
+
+        try (IgniteClient client = startNearClient(0)) {
+            ClientCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+
+            srvCache.put(1, 1);
+
+            assertEquals(1, (int)cache.get(1));
+            assertEquals(1, (int)cache.get(1));
+            assertEquals(1, cache.nearCacheMetrics().getSize());
+
+            dropAllThinClientConnections(grid(0));
+
+            assertTrue(waitForCondition(() -> cache.nearCacheMetrics().getSize() == 0, TIMEOUT));
+
+            srvCache.put(1, 2);
+
+            assertTrue(waitForCondition(() -> {
+                try {
+                    return cache.get(1) == 2;
+                }
+                catch (Exception ignored) {
+                    return false;
+                }
+            }, TIMEOUT));
+
+            srvCache.put(1, 3);
+
+            assertTrue(waitForCondition(() -> cache.get(1) == 3, TIMEOUT));
+        }
+    }
+}
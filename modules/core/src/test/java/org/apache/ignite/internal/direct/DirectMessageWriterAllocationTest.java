@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.direct;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.UUID;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.CacheObjectImpl;
+import org.apache.ignite.internal.processors.cache.KeyCacheObjectImpl;
+import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicUpdateRequest;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_SYNC;
+import static org.apache.ignite.internal.managers.communication.GridIoManager.DIRECT_PROTO_VER;
+import static org.apache.ignite.internal.processors.cache.GridCacheOperation.UPDATE;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that writing of a message with already marshalled cache objects does not allocate, even if the message is
+ * written to the network buffer in several chunks.
+ */
+public class DirectMessageWriterAllocationTest extends GridCommonAbstractTest {
+    /** Number of writes to measure. */
+    private static final int WRITES = 10_000;
+
+    /** Network buffer chunk size. */
+    private static final int CHUNK = 100;
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDhtAtomicUpdateRequestWrite() throws Exception {
+        GridDhtAtomicUpdateRequest req = new GridDhtAtomicUpdateRequest(1, UUID.randomUUID(), 1,
+            new GridCacheVersion(1, 1, 1, 0), FULL_SYNC, new AffinityTopologyVersion(1, 0), null, 0, null, false,
+            false, false, false);
+
+        for (int i = 0; i < 100; i++) {
+            req.addWriteValue(new KeyCacheObjectImpl(i, new byte[] {(byte)i}, i), new CacheObjectImpl(null,
+                new byte[128]), null, -1, -1, null, false, null, i, UPDATE);
+        }
+
+        checkNoAllocation(req);
+    }
+
+    /**
+     * @param msg Message.
+     */
+    private void checkNoAllocation(Message msg) {
+        ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+
+        assumeTrue(mxBean instanceof com.sun.management.ThreadMXBean);
+
+        com.sun.management.ThreadMXBean threadMxBean = (com.sun.management.ThreadMXBean)mxBean;
+
+        assumeTrue(threadMxBean.isThreadAllocatedMemorySupported() && threadMxBean.isThreadAllocatedMemoryEnabled());
+
+        DirectMessageWriter writer = new DirectMessageWriter(DIRECT_PROTO_VER);
+
+        ByteBuffer buf = ByteBuffer.allocateDirect(64 * 1024).order(ByteOrder.nativeOrder());
+
+        // Warm up.
+        int size = write(msg, writer, buf);
+
+        long tid = Thread.currentThread().getId();
+
+        long allocated = threadMxBean.getThreadAllocatedBytes(tid);
+
+        for (int i = 0; i < WRITES; i++)
+            assertEquals(size, write(msg, writer, buf));
+
+        allocated = threadMxBean.getThreadAllocatedBytes(tid) - allocated;
+
+        // Allow measurement noise, but not an allocation per write.
+        assertTrue("Allocated bytes per write: " + (double)allocated / WRITES, allocated < WRITES);
+    }
+
+    /**
+     * @param msg Message.
+     * @param writer Writer.
+     * @param buf Buffer.
+     * @return Message size.
+     */
+    private static int write(Message msg, DirectMessageWriter writer, ByteBuffer buf) {
+        buf.clear();
+        buf.limit(CHUNK);
+
+        while (!msg.writeTo(buf, writer))
+            buf.limit(buf.limit() + CHUNK);
+
+        writer.reset();
+
+        return buf.position();
+    }
+}
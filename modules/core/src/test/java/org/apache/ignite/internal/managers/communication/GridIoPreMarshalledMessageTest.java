@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.managers.communication;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.internal.direct.DirectMessageWriter;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.ignite.internal.GridTopic.TOPIC_COMM_USER;
+import static org.apache.ignite.internal.managers.communication.GridIoManager.DIRECT_PROTO_VER;
+import static org.apache.ignite.internal.managers.communication.GridIoPolicy.PUBLIC_POOL;
+
+/**
+ * Tests {@link GridIoPreMarshalledMessage}.
+ */
+public class GridIoPreMarshalledMessageTest extends GridCommonAbstractTest {
+    /** Nodes count. */
+    private static final int NODES_CNT = 4;
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that pre-marshalled message produces exactly the same bytes as the original one regardless of
+     * network buffer size.
+     */
+    @Test
+    public void testSameBytesAsOriginalMessage() {
+        byte[] body = new byte[100_000];
+
+        ThreadLocalRandom.current().nextBytes(body);
+
+        GridIoUserMessage userMsg = new GridIoUserMessage(null, body, null, null, new byte[] {1, 2, 3}, null, null,
+            null, null);
+
+        GridIoMessage ioMsg = new GridIoMessage(PUBLIC_POOL, TOPIC_COMM_USER, TOPIC_COMM_USER.ordinal(), userMsg,
+            false, 0, false);
+
+        byte[] expected = write(ioMsg, 1024 * 1024);
+
+        GridIoPreMarshalledMessage preMarshalled = new GridIoPreMarshalledMessage(ioMsg, DIRECT_PROTO_VER);
+
+        assertEquals(expected.length, preMarshalled.size());
+        assertEquals(ioMsg.directType(), preMarshalled.directType());
+        assertSame(userMsg, preMarshalled.message());
+
+        for (int bufSize : new int[] {GridIoPreMarshalledMessage.CHUNK_SIZE, 1000, 32 * 1024, 1024 * 1024}) {
+            // Same instance is written several times as it is shared between sessions.
+            assertTrue(Arrays.equals(expected, write(preMarshalled, bufSize)));
+            assertTrue(Arrays.equals(expected, write(preMarshalled, bufSize)));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBroadcastUserMessage() throws Exception {
+        Ignite ignite = startGrids(NODES_CNT);
+
+        for (int size : new int[] {10, 100_000, 3 * 1024 * 1024}) {
+            byte[] payload = new byte[size];
+
+            ThreadLocalRandom.current().nextBytes(payload);
+
+            String topic = "topic-" + size;
+
+            CountDownLatch latch = new CountDownLatch(NODES_CNT - 1);
+
+            AtomicInteger errors = new AtomicInteger();
+
+            for (int i = 1; i < NODES_CNT; i++) {
+                grid(i).message().localListen(topic, (nodeId, msg) -> {
+                    if (!Arrays.equals(payload, (byte[])msg))
+                        errors.incrementAndGet();
+
+                    latch.countDown();
+
+                    return true;
+                });
+            }
+
+            ignite.message(ignite.cluster().forRemotes()).send(topic, payload);
+
+            assertTrue(latch.await(getTestTimeout(), SECONDS));
+
+            assertEquals(0, errors.get());
+        }
+    }
+
+    /**
+     * @param msg Message.
+     * @param bufSize Buffer size.
+     * @return Bytes written by message.
+     */
+    private static byte[] write(Message msg, int bufSize) {
+        DirectMessageWriter writer = new DirectMessageWriter(DIRECT_PROTO_VER);
+
+        ByteBuffer buf = ByteBuffer.allocate(bufSize);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        boolean finished;
+
+        do {
+            buf.clear();
+
+            finished = msg.writeTo(buf, writer);
+
+            out.write(buf.array(), 0, buf.position());
+        }
+        while (!finished);
+
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.TestRecordingCommunicationSpi;
+import org.apache.ignite.internal.processors.cache.CacheReadReplicaTracker;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearSingleGetRequest;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.spi.metric.IntMetric;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheMode.PARTITIONED;
+import static org.apache.ignite.internal.processors.cache.CacheReadReplicaTracker.REPLICAS_METRICS;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Tests adaptive selection of replicas for reads.
+ */
+public class CacheAdaptiveReplicaSelectionTest extends GridCommonAbstractTest {
+    /** Server nodes count. */
+    private static final int SRVS = 3;
+
+    /** Keys count. */
+    private static final int KEYS = 100;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setCommunicationSpi(new TestRecordingCommunicationSpi());
+
+        CacheConfiguration<Integer, Integer> ccfg = new CacheConfiguration<>(DEFAULT_CACHE_NAME);
+
+        ccfg.setCacheMode(PARTITIONED);
+        ccfg.setBackups(SRVS - 1);
+        ccfg.setReadFromBackup(true);
+        ccfg.setAdaptiveReplicaSelection(true);
+
+        cfg.setCacheConfiguration(ccfg);
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGridsMultiThreaded(SRVS);
+
+        startClientGrid(SRVS);
+
+        IgniteCache<Integer, Integer> cache = grid(0).cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, i);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testResponseTimesTracked() throws Exception {
+        IgniteEx client = grid(SRVS);
+
+        IgniteCache<Integer, Integer> cache = client.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals(i, (int)cache.get(i));
+
+        Set<Integer> keys = new HashSet<>();
+
+        for (int i = 0; i < KEYS; i++)
+            keys.add(i);
+
+        for (int i = 0; i < 10; i++)
+            assertEquals(KEYS, cache.getAll(keys).size());
+
+        CacheReadReplicaTracker tracker = client.context().cache().context().readReplicaTracker();
+
+        int sampled = 0;
+
+        for (int i = 0; i < SRVS; i++) {
+            UUID nodeId = grid(i).localNode().id();
+
+            MetricRegistry mreg = client.context().metric().registry(metricName(REPLICAS_METRICS, nodeId.toString()));
+
+            IntMetric outstanding = mreg.findMetric("OutstandingRequests");
+
+            if (outstanding == null)
+                continue;
+
+            assertTrue(GridTestUtils.waitForCondition(() -> outstanding.value() == 0, 5_000));
+
+            if (tracker.score(nodeId) > 0)
+                sampled++;
+        }
+
+        assertTrue(sampled > 0);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAbandonedRequestSampledAsLowerBound() throws Exception {
+        CacheReadReplicaTracker tracker = new CacheReadReplicaTracker(grid(SRVS).context());
+
+        UUID nodeId = UUID.randomUUID();
+
+        for (int i = 0; i < 16; i++) {
+            tracker.onRequest(nodeId);
+            tracker.onResponse(nodeId, System.nanoTime() - 10_000_000L, true);
+        }
+
+        double score = tracker.score(nodeId);
+
+        assertTrue(score > 0);
+
+        // Request abandoned sooner than the node usually responds says nothing about the node.
+        tracker.onRequest(nodeId);
+        tracker.onAbandon(nodeId, System.nanoTime() - 1_000_000L);
+
+        assertEquals(score, tracker.score(nodeId), 0d);
+
+        // Request abandoned later than the node usually responds shows the node is slower than its average.
+        tracker.onRequest(nodeId);
+        tracker.onAbandon(nodeId, System.nanoTime() - 100_000_000L);
+
+        assertTrue(tracker.score(nodeId) > score);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSlowReplicaHedged() throws Exception {
+        IgniteEx client = grid(SRVS);
+
+        IgniteCache<Integer, Integer> cache = client.cache(DEFAULT_CACHE_NAME);
+
+        CacheReadReplicaTracker tracker = client.context().cache().context().readReplicaTracker();
+
+        // Warm up statistics of all replicas.
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            for (int i = 0; i < KEYS; i++)
+                assertEquals(i, (int)cache.get(i));
+
+            for (int i = 0; i < SRVS; i++) {
+                if (tracker.hedgeDelay(grid(i).localNode().id()) < 0)
+                    return false;
+            }
+
+            return true;
+        }, 30_000));
+
+        // The node with the lowest score gets the next read.
+        UUID slowId = null;
+
+        for (int i = 0; i < SRVS; i++) {
+            UUID nodeId = grid(i).localNode().id();
+
+            if (slowId == null || tracker.score(nodeId) < tracker.score(slowId))
+                slowId = nodeId;
+        }
+
+        UUID slowId0 = slowId;
+
+        TestRecordingCommunicationSpi spi = TestRecordingCommunicationSpi.spi(client);
+
+        // Requests to the slow node are never answered, so only hedged requests complete.
+        spi.blockMessages((node, msg) -> msg instanceof GridNearSingleGetRequest && node.id().equals(slowId0));
+
+        try {
+            LongMetric hedged = client.context().metric()
+                .registry(metricName(REPLICAS_METRICS, slowId.toString())).findMetric("HedgedRequests");
+
+            for (int i = 0; i < KEYS; i++)
+                assertEquals(i, (int)cache.get(i));
+
+            assertTrue(hedged.value() > 0);
+
+            // Unanswered requests make the slow node lose reads to other replicas.
+            long hedgedCnt = hedged.value();
+
+            for (int i = 0; i < KEYS; i++)
+                assertEquals(i, (int)cache.get(i));
+
+            assertTrue(hedged.value() - hedgedCnt < KEYS / 10);
+        }
+        finally {
+            spi.stopBlock(false);
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.cache.Cache;
+import javax.cache.configuration.FactoryBuilder;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.cache.store.CacheStoreAdapter;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.KeyCacheObjectImpl;
+import org.apache.ignite.internal.processors.cache.distributed.dht.HotKeysTracker;
+import org.apache.ignite.internal.util.StripedExecutor;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.spi.systemview.view.HotKeyView;
+import org.apache.ignite.spi.systemview.view.SystemView;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_HOT_KEYS_GET_COALESCING;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_HOT_KEYS_SAMPLING_INTERVAL;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_HOT_KEYS_THRESHOLD;
+import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.internal.processors.cache.GridCacheProcessor.HOT_KEYS_VIEW;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.HotKeysTracker.DFLT_HOT_KEYS_SAMPLING_INTERVAL;
+
+/**
+ * Tests hot keys detection and coalescing of get requests of hot keys.
+ */
+@WithSystemProperty(key = IGNITE_HOT_KEYS_SAMPLING_INTERVAL, value = "1")
+@WithSystemProperty(key = IGNITE_HOT_KEYS_THRESHOLD, value = "" + CacheHotKeysTest.THRESHOLD)
+@WithSystemProperty(key = IGNITE_HOT_KEYS_GET_COALESCING, value = "true")
+public class CacheHotKeysTest extends GridCommonAbstractTest {
+    /** Number of sampled accesses which makes a key hot. */
+    static final int THRESHOLD = 10;
+
+    /** Number of concurrent requests. */
+    private static final int REQUESTS = 50;
+
+    /** Number of loads from the store. */
+    private static final AtomicInteger loads = new AtomicInteger();
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setCacheConfiguration(cacheConfiguration(ATOMIC), cacheConfiguration(TRANSACTIONAL));
+
+        return cfg;
+    }
+
+    /**
+     * @param mode Atomicity mode.
+     * @return Cache configuration.
+     */
+    private CacheConfiguration<Integer, Integer> cacheConfiguration(CacheAtomicityMode mode) {
+        return new CacheConfiguration<Integer, Integer>(mode.name())
+            .setAtomicityMode(mode)
+            .setReadThrough(true)
+            .setCacheStoreFactory(FactoryBuilder.factoryOf(CountingStore.class));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        startGrids(2);
+
+        startClientGrid(2);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testHotKeysViewAtomic() throws Exception {
+        checkHotKeysView(ATOMIC);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testHotKeysViewTransactional() throws Exception {
+        checkHotKeysView(TRANSACTIONAL);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testGetCoalescingAtomic() throws Exception {
+        checkGetCoalescing(ATOMIC);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testGetCoalescingTransactional() throws Exception {
+        checkGetCoalescing(TRANSACTIONAL);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCoalescedGetSeesCompletedUpdate() throws Exception {
+        IgniteEx client = grid(2);
+
+        IgniteCache<Integer, Integer> cache = client.cache(ATOMIC.name());
+
+        int key = primaryKey(grid(0).cache(ATOMIC.name()));
+
+        for (int i = 0; i < 3 * THRESHOLD; i++) {
+            cache.put(key, i);
+
+            assertEquals(i, (int)cache.get(key));
+        }
+
+        assertEquals(1, hotKeys(grid(0)).size());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testHotKeysClearedOnRent() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(2).cache(ATOMIC.name());
+
+        List<Integer> keys = primaryKeys(grid(0).cache(ATOMIC.name()), 50);
+
+        for (int i = 0; i < 2 * THRESHOLD; i++) {
+            for (Integer key : keys)
+                cache.get(key);
+        }
+
+        assertEquals(keys.size(), hotKeys(grid(0)).size());
+
+        IgniteEx srv = startGrid(3);
+
+        awaitPartitionMapExchange(true, true, null);
+
+        int moved = 0;
+
+        for (Integer key : keys) {
+            if (!grid(0).affinity(ATOMIC.name()).isPrimary(grid(0).localNode(), key))
+                moved++;
+        }
+
+        assertTrue(moved > 0);
+
+        int expHot = keys.size() - moved;
+
+        // Partitions which are rented by the node do not keep their hot keys.
+        assertTrue(GridTestUtils.waitForCondition(() -> hotKeys(grid(0)).size() == expHot, getTestTimeout()));
+
+        for (HotKeyView row : hotKeys(grid(0))) {
+            assertEquals(row.toString(), grid(0).localNode(),
+                grid(0).affinity(ATOMIC.name()).mapPartitionToNode(row.partitionId()));
+        }
+
+        assertTrue(hotKeys(srv).isEmpty());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testHotKeysClearedOnCacheStop() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(2).cache(ATOMIC.name());
+
+        int key = primaryKey(grid(0).cache(ATOMIC.name()));
+
+        for (int i = 0; i < 2 * THRESHOLD; i++)
+            cache.get(key);
+
+        HotKeysTracker tracker = grid(0).cachex(ATOMIC.name()).context().dht().hotKeys();
+
+        assertEquals(1, hotKeys(grid(0)).size());
+
+        grid(2).destroyCache(ATOMIC.name());
+
+        assertTrue(GridTestUtils.waitForCondition(() -> tracker.keys().isEmpty(), getTestTimeout()));
+        assertTrue(hotKeys(grid(0)).isEmpty());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_HOT_KEYS_SAMPLING_INTERVAL, value = "0")
+    public void testGetCoalescingEnablesDetection() throws Exception {
+        HotKeysTracker tracker = grid(0).cachex(ATOMIC.name()).context().dht().hotKeys();
+
+        assertTrue(tracker.enabled());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTrackerDisabledByDefault() throws Exception {
+        HotKeysTracker tracker = new HotKeysTracker(1, DFLT_HOT_KEYS_SAMPLING_INTERVAL, 1);
+
+        assertFalse(tracker.enabled());
+
+        KeyCacheObjectImpl key = new KeyCacheObjectImpl(0, null, 0);
+
+        for (int i = 0; i < 10; i++)
+            assertFalse(tracker.onAccess(key));
+
+        assertTrue(tracker.keys().isEmpty());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTrackerDecay() throws Exception {
+        HotKeysTracker tracker = new HotKeysTracker(1, 1, THRESHOLD);
+
+        KeyCacheObjectImpl hot = new KeyCacheObjectImpl(0, null, 0);
+
+        for (int i = 1; i < THRESHOLD; i++) {
+            assertFalse(tracker.onAccess(hot));
+            assertFalse(tracker.onAccess(new KeyCacheObjectImpl(i, null, 0)));
+        }
+
+        assertTrue(tracker.onAccess(hot));
+
+        // Keys accessed once are never hot, no matter how many of them are tracked.
+        for (int i = THRESHOLD; i < 500; i++) {
+            assertTrue(tracker.onAccess(hot));
+            assertFalse(tracker.onAccess(new KeyCacheObjectImpl(i, null, 0)));
+        }
+
+        assertTrue(tracker.keys().size() <= 16);
+
+        // Counters are halved periodically, so the key is forgotten once it is no longer accessed.
+        for (int i = 0; i < 10_000; i++)
+            assertFalse(tracker.onAccess(new KeyCacheObjectImpl(1000 + i, null, 0)));
+
+        assertFalse(tracker.isHot(hot));
+    }
+
+    /**
+     * @param mode Atomicity mode.
+     * @throws Exception If failed.
+     */
+    private void checkHotKeysView(CacheAtomicityMode mode) throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(2).cache(mode.name());
+
+        int hotKey = primaryKey(grid(0).cache(mode.name()));
+
+        for (int i = 0; i < 2 * THRESHOLD; i++) {
+            cache.get(hotKey);
+            cache.get(hotKey + 1_000_000 + i);
+        }
+
+        List<HotKeyView> hot = hotKeys(grid(0));
+
+        assertEquals(1, hot.size());
+        assertEquals(mode.name(), hot.get(0).cacheName());
+        assertEquals(grid(0).affinity(mode.name()).partition(hotKey), hot.get(0).partitionId());
+        assertTrue(hot.get(0).key().contains(String.valueOf(hotKey)));
+        assertTrue(hot.get(0).accessCount() >= 2 * THRESHOLD);
+    }
+
+    /**
+     * @param mode Atomicity mode.
+     * @throws Exception If failed.
+     */
+    private void checkGetCoalescing(CacheAtomicityMode mode) throws Exception {
+        IgniteEx srv = grid(0);
+
+        IgniteCache<Integer, Integer> cache = grid(2).cache(mode.name());
+
+        int key = primaryKey(srv.cache(mode.name()));
+
+        // Key is not stored, so every read loads it.
+        for (int i = 0; i < 2 * THRESHOLD; i++)
+            assertNull(cache.get(key));
+
+        assertTrue(loads.get() >= 2 * THRESHOLD);
+
+        StripedExecutor stripes = srv.context().pools().getStripedExecutorService();
+
+        int part = srv.affinity(mode.name()).partition(key);
+
+        CountDownLatch unblock = new CountDownLatch(1);
+
+        // Requests are queued in the stripe of the key partition until the stripe is unblocked.
+        stripes.execute(part, () -> {
+            try {
+                unblock.await();
+            }
+            catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        loads.set(0);
+
+        List<IgniteFuture<Integer>> futs = new ArrayList<>();
+
+        for (int i = 0; i < REQUESTS; i++)
+            futs.add(cache.getAsync(key));
+
+        assertTrue(GridTestUtils.waitForCondition(() -> stripes.queueSize() >= REQUESTS, getTestTimeout()));
+
+        unblock.countDown();
+
+        for (IgniteFuture<Integer> fut : futs)
+            assertNull(fut.get());
+
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * @param ignite Node.
+     * @return Hot keys of the node.
+     */
+    private static List<HotKeyView> hotKeys(IgniteEx ignite) {
+        SystemView<HotKeyView> view = ignite.context().systemView().view(HOT_KEYS_VIEW);
+
+        List<HotKeyView> hot = new ArrayList<>();
+
+        for (HotKeyView row : view) {
+            if (row.hot())
+                hot.add(row);
+        }
+
+        return hot;
+    }
+
+    /**
+     * Store which does not contain any entries and counts loads.
+     */
+    public static class CountingStore extends CacheStoreAdapter<Integer, Integer> {
+        /** {@inheritDoc} */
+        @Override public Integer load(Integer key) {
+            loads.incrementAndGet();
+
+            return null;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void write(Cache.Entry<? extends Integer, ? extends Integer> entry) {
+            // No-op.
+        }
+
+        /** {@inheritDoc} */
+        @Override public void delete(Object key) {
+            // No-op.
+        }
+    }
+}
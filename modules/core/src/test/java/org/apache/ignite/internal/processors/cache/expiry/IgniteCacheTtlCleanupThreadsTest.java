@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.expiry;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.CacheGroupMetricsImpl;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_TTL_CLEANUP_THREADS;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Checks removal of expired entries by several ttl cleanup workers.
+ */
+@WithSystemProperty(key = IGNITE_TTL_CLEANUP_THREADS, value = "4")
+public class IgniteCacheTtlCleanupThreadsTest extends GridCommonAbstractTest {
+    /** Number of ttl cleanup threads. */
+    private static final int THREADS = 4;
+
+    /** Number of entries. */
+    private static final int ENTRIES = 50_000;
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testExpiredEntriesRemoved() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        assertEquals(THREADS, cleanupThreads());
+
+        CacheConfiguration<Integer, Integer> ccfg = new CacheConfiguration<Integer, Integer>(DEFAULT_CACHE_NAME)
+            .setEagerTtl(true);
+
+        IgniteCache<Integer, Integer> cache = ignite.createCache(ccfg)
+            .withExpiryPolicy(new CreatedExpiryPolicy(new Duration(TimeUnit.MILLISECONDS, 1000)));
+
+        // Entries expire not earlier than a second after this moment.
+        long start = U.currentTimeMillis();
+
+        Map<Integer, Integer> batch = new TreeMap<>();
+
+        for (int i = 0; i < ENTRIES; i++) {
+            batch.put(i, i);
+
+            if (batch.size() == 1000) {
+                cache.putAll(batch);
+
+                batch.clear();
+            }
+        }
+
+        CacheGroupMetricsImpl metrics = ignite.cachex(DEFAULT_CACHE_NAME).context().group().metrics();
+
+        assertTrue(waitForCondition(() -> {
+            long maxLag = U.currentTimeMillis() - start - 1000;
+            long lag = metrics.getExpiryLag();
+
+            // Lag does not exceed the time since the oldest entry expired.
+            assertTrue("Unexpected expiry lag [lag=" + lag + ", max=" + maxLag + ']', lag <= Math.max(maxLag, 0));
+
+            return cache.size() == 0;
+        }, getTestTimeout()));
+
+        assertTrue(waitForCondition(() -> metrics.getExpiryLag() == 0, getTestTimeout()));
+
+        ignite.destroyCache(DEFAULT_CACHE_NAME);
+
+        assertEquals(THREADS, cleanupThreads());
+    }
+
+    /**
+     * @return Number of ttl cleanup threads.
+     */
+    private static int cleanupThreads() {
+        int cnt = 0;
+
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.getName().contains("ttl-cleanup-worker"))
+                cnt++;
+        }
+
+        return cnt;
+    }
+}
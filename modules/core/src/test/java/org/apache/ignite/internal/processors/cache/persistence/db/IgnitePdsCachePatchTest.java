@@ -0,0 +1,247 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.cache.processor.EntryProcessorException;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.util.typedef.internal.SB;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_PAGE_PATCH_RECORD;
+
+/**
+ * Tests partial updates of binary object values with {@link IgniteCache#patch(Object, Map)}.
+ */
+public class IgnitePdsCachePatchTest extends GridCommonAbstractTest {
+    /** Keys count. */
+    private static final int KEYS = 100;
+
+    /** Type name. */
+    private static final String TYPE = "Document";
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setConsistentId(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setPersistenceEnabled(true)
+                .setMaxSize(100L * 1024 * 1024)));
+
+        cfg.setCacheConfiguration(cacheConfiguration(ATOMIC), cacheConfiguration(TRANSACTIONAL));
+
+        return cfg;
+    }
+
+    /**
+     * @param mode Atomicity mode.
+     * @return Cache configuration.
+     */
+    private CacheConfiguration<Integer, Object> cacheConfiguration(CacheAtomicityMode mode) {
+        return new CacheConfiguration<Integer, Object>(mode.name())
+            .setAtomicityMode(mode);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPatchInPlaceRecovered() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        for (CacheAtomicityMode mode : new CacheAtomicityMode[] {ATOMIC, TRANSACTIONAL}) {
+            IgniteCache<Integer, BinaryObject> cache = ignite.cache(mode.name()).withKeepBinary();
+
+            for (int i = 0; i < KEYS; i++)
+                cache.put(i, document(ignite, i));
+        }
+
+        forceCheckpoint();
+
+        GridCacheDatabaseSharedManager db = (GridCacheDatabaseSharedManager)ignite.context().cache().context().database();
+
+        // Updates are recovered from WAL only.
+        db.enableCheckpoints(false).get();
+
+        for (CacheAtomicityMode mode : new CacheAtomicityMode[] {ATOMIC, TRANSACTIONAL}) {
+            IgniteCache<Integer, BinaryObject> cache = ignite.cache(mode.name()).withKeepBinary();
+
+            // The first update of a page after checkpoint logs the whole page, the next ones log changed bytes.
+            for (long cnt : new long[] {500L, 1000L}) {
+                for (int i = 0; i < KEYS; i++)
+                    assertTrue(cache.patch(i, Collections.singletonMap("counter", cnt + i)));
+            }
+
+            assertFalse(cache.patch(KEYS, Collections.singletonMap("counter", 0L)));
+
+            checkDocuments(cache, 1000L);
+        }
+
+        assertTrue(walRecords(ignite, DATA_PAGE_PATCH_RECORD) >= 2 * KEYS);
+
+        stopAllGrids();
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        for (CacheAtomicityMode mode : new CacheAtomicityMode[] {ATOMIC, TRANSACTIONAL})
+            checkDocuments(ignite.cache(mode.name()).withKeepBinary(), 1000L);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPatchRebuildsValue() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, BinaryObject> cache = ignite.cache(TRANSACTIONAL.name()).withKeepBinary();
+
+        cache.put(0, document(ignite, 0));
+
+        Map<String, Object> fields = new HashMap<>();
+
+        fields.put("counter", 5L);
+        fields.put("text", "short");
+        fields.put("tag", "new");
+
+        assertTrue(cache.patch(0, fields));
+
+        BinaryObject doc = cache.get(0);
+
+        assertEquals(5L, (long)doc.field("counter"));
+        assertEquals("short", doc.field("text"));
+        assertEquals("new", doc.field("tag"));
+        assertEquals(0, (int)doc.field("id"));
+
+        assertTrue(ignite.cache(ATOMIC.name()).patchAsync(1, fields).get() == Boolean.FALSE);
+
+        ignite.cache(ATOMIC.name()).put(1, 1);
+
+        GridTestUtils.assertThrowsWithCause(() -> {
+            ignite.cache(ATOMIC.name()).patch(1, fields);
+        }, EntryProcessorException.class);
+    }
+
+    /**
+     * @param cache Cache.
+     * @param counter Expected counter of the first document.
+     */
+    private void checkDocuments(IgniteCache<Integer, BinaryObject> cache, long counter) {
+        for (int i = 0; i < KEYS; i++) {
+            BinaryObject doc = cache.get(i);
+
+            assertEquals(counter + i, (long)doc.field("counter"));
+            assertEquals(i, (int)doc.field("id"));
+            assertEquals(text(i), doc.field("text"));
+
+            // Patched object is equal to the object built from scratch.
+            assertEquals(doc.toBuilder().build().hashCode(), doc.hashCode());
+        }
+    }
+
+    /**
+     * @param ignite Node.
+     * @param type Record type.
+     * @return Number of WAL records of the type.
+     * @throws Exception If failed.
+     */
+    private int walRecords(IgniteEx ignite, WALRecord.RecordType type) throws Exception {
+        IgniteWriteAheadLogManager wal = ignite.context().cache().context().wal();
+
+        int cnt = 0;
+
+        try (WALIterator it = wal.replay(null)) {
+            while (it.hasNext()) {
+                if (it.next().get2().type() == type)
+                    cnt++;
+            }
+        }
+
+        return cnt;
+    }
+
+    /**
+     * @param ignite Node.
+     * @param id Document ID.
+     * @return Document.
+     */
+    private BinaryObject document(IgniteEx ignite, int id) {
+        return ignite.binary().builder(TYPE)
+            .setField("id", id)
+            .setField("counter", 0L)
+            .setField("text", text(id))
+            .build();
+    }
+
+    /**
+     * @param id Document ID.
+     * @return Document text.
+     */
+    private String text(int id) {
+        SB sb = new SB();
+
+        for (int i = 0; i < 50; i++)
+            sb.a("line-").a(id).a('-').a(i).a(';');
+
+        return sb.toString();
+    }
+}
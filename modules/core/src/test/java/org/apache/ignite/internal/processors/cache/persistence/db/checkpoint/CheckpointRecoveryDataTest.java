@@ -0,0 +1,319 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.checkpoint;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.OpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.failure.StopNodeFailureHandler;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.WALPointer;
+import org.apache.ignite.internal.pagemem.wal.record.PageSnapshot;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.pagemem.wal.record.delta.PageDeltaRecord;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIODecorator;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.util.typedef.G;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.testframework.ListeningTestLogger;
+import org.apache.ignite.testframework.LogListener;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl.DATAREGION_METRICS_PREFIX;
+import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointRecoveryDataStorage.RECOVERY_FILE_NAME_PATTERN;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Tests for {@link DataStorageConfiguration#isWriteRecoveryDataOnCheckpoint()}.
+ */
+public class CheckpointRecoveryDataTest extends GridCommonAbstractTest {
+    /** Entries count. */
+    private static final int ENTRIES = 10_000;
+
+    /** */
+    private final FailingFileIOFactory ioFactory = new FailingFileIOFactory();
+
+    /** */
+    private final ListeningTestLogger testLog = new ListeningTestLogger(log);
+
+    /** Write checkpoint recovery data flag. */
+    private boolean recoveryData = true;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setConsistentId(igniteInstanceName)
+            .setGridLogger(testLog)
+            .setFailureHandler(new StopNodeFailureHandler())
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setCheckpointThreads(2)
+                .setCheckpointFrequency(Integer.MAX_VALUE)
+                .setFileIOFactory(ioFactory)
+                .setWriteRecoveryDataOnCheckpoint(recoveryData)
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)
+                    .setMetricsEnabled(true)
+                    .setMaxSize(100L * 1024 * 1024)))
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, 16)));
+    }
+
+    /**
+     * Checks that pages of a checkpoint go to the recovery file instead of physical WAL records.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testNoPageRecordsInWal() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES).boxed());
+
+        forceCheckpoint();
+
+        try (WALIterator it = walMgr(ignite).replay(null)) {
+            while (it.hasNext()) {
+                IgniteBiTuple<WALPointer, WALRecord> tup = it.next();
+
+                assertFalse(String.valueOf(tup.get2()), tup.get2() instanceof PageSnapshot);
+                assertFalse(String.valueOf(tup.get2()), tup.get2() instanceof PageDeltaRecord);
+            }
+        }
+
+        assertEquals(0, metric(ignite, "WalPageRecordsSize").value());
+        assertTrue(metric(ignite, "CheckpointRecoveryDataSize").value() > 0);
+
+        // Recovery file is deleted once the checkpoint is finished.
+        assertEquals(0, recoveryFiles(dbMgr(ignite).checkpointDirectory()).length);
+    }
+
+    /**
+     * Checks that physical records are accounted when the recovery data is disabled.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPageRecordsMetricWithoutRecoveryData() throws Exception {
+        recoveryData = false;
+
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES).boxed());
+
+        forceCheckpoint();
+
+        assertTrue(metric(ignite, "WalPageRecordsSize").value() > 0);
+        assertEquals(0, metric(ignite, "CheckpointRecoveryDataSize").value());
+        assertEquals(0, recoveryFiles(dbMgr(ignite).checkpointDirectory()).length);
+    }
+
+    /**
+     * Checks that pages of a checkpoint torn while being copied to the page stores are restored
+     * from the complete recovery file.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRecoveryFromCompleteRecoveryFile() throws Exception {
+        // Let some of the pages reach the partition files, so the stores are torn.
+        File cpDir = failCheckpoint(f -> f.getName().startsWith("part-"));
+
+        LogListener applyLsnr = LogListener.matches("Applying checkpoint recovery file").times(1).build();
+        LogListener discardLsnr = LogListener.matches("Node stopped before all pages of the checkpoint").build();
+
+        testLog.registerListener(applyLsnr);
+        testLog.registerListener(discardLsnr);
+
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        assertTrue(applyLsnr.check());
+        assertFalse(discardLsnr.check());
+
+        // Recovery file is deleted once the restored pages are in the page stores.
+        assertEquals(0, recoveryFiles(cpDir).length);
+
+        checkLoadedData(DEFAULT_CACHE_NAME, IntStream.range(0, 2 * ENTRIES));
+    }
+
+    /**
+     * Checks that a checkpoint with an incomplete recovery file is discarded on start.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testIncompleteRecoveryFileDiscarded() throws Exception {
+        File cpDir = failCheckpoint(f -> RECOVERY_FILE_NAME_PATTERN.matcher(f.getName()).matches());
+
+        LogListener applyLsnr = LogListener.matches("Applying checkpoint recovery file").build();
+        LogListener discardLsnr = LogListener.matches("Node stopped before all pages of the checkpoint").times(1)
+            .build();
+
+        testLog.registerListener(applyLsnr);
+        testLog.registerListener(discardLsnr);
+
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        assertTrue(discardLsnr.check());
+        assertFalse(applyLsnr.check());
+
+        assertEquals(0, recoveryFiles(cpDir).length);
+
+        // Updates of the discarded checkpoint are replayed from the logical WAL records.
+        checkLoadedData(DEFAULT_CACHE_NAME, IntStream.range(0, 2 * ENTRIES));
+    }
+
+    /**
+     * Loads data, takes a checkpoint and fails the next one after the given files have been written a few times.
+     *
+     * @param failPred Files to fail writes to.
+     * @return Checkpoint directory containing the recovery file of the failed checkpoint.
+     * @throws Exception If failed.
+     */
+    private File failCheckpoint(Predicate<File> failPred) throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES).boxed());
+
+        forceCheckpoint();
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(ENTRIES, 2 * ENTRIES).boxed());
+
+        File cpDir = dbMgr(ignite).checkpointDirectory();
+
+        ioFactory.failWrites(failPred, 20);
+
+        dbMgr(ignite).wakeupForCheckpoint("test");
+
+        assertTrue(waitForCondition(() -> G.allGrids().isEmpty(), 30_000));
+
+        assertEquals(1, recoveryFiles(cpDir).length);
+
+        ioFactory.failWrites(null, 0);
+
+        return cpDir;
+    }
+
+    /**
+     * @param cpDir Checkpoint directory.
+     * @return Checkpoint recovery files.
+     */
+    private static File[] recoveryFiles(File cpDir) {
+        return cpDir.listFiles(f -> RECOVERY_FILE_NAME_PATTERN.matcher(f.getName()).matches());
+    }
+
+    /**
+     * @param ignite Ignite.
+     * @param name Metric name.
+     * @return Metric of the default data region.
+     */
+    private static LongAdderMetric metric(IgniteEx ignite, String name) {
+        MetricRegistry mreg = ignite.context().metric().registry(metricName(DATAREGION_METRICS_PREFIX,
+            ignite.configuration().getDataStorageConfiguration().getDefaultDataRegionConfiguration().getName()));
+
+        LongAdderMetric metric = mreg.findMetric(name);
+
+        assertNotNull(metric);
+
+        return metric;
+    }
+
+    /**
+     * Factory which fails writes to the matching files once the given number of writes has succeeded.
+     */
+    private static class FailingFileIOFactory implements FileIOFactory {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Delegate. */
+        private final FileIOFactory delegate = new RandomAccessFileIOFactory();
+
+        /** Files to fail writes to. */
+        private transient volatile Predicate<File> failPred;
+
+        /** Writes left before the failure. */
+        private final AtomicInteger writesLeft = new AtomicInteger();
+
+        /**
+         * @param failPred Files to fail writes to, {@code null} to disable failures.
+         * @param writes Writes left before the failure.
+         */
+        void failWrites(Predicate<File> failPred, int writes) {
+            writesLeft.set(writes);
+
+            this.failPred = failPred;
+        }
+
+        /** {@inheritDoc} */
+        @Override public FileIO create(File file, OpenOption... modes) throws IOException {
+            FileIO io = delegate.create(file, modes);
+
+            return new FileIODecorator(io) {
+                @Override public int write(ByteBuffer srcBuf, long position) throws IOException {
+                    Predicate<File> pred = failPred;
+
+                    if (pred != null && pred.test(file) && writesLeft.decrementAndGet() < 0)
+                        throw new IOException("Test exception: " + file.getName());
+
+                    return super.write(srcBuf, position);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.checkpoint;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.pagemem.store.IgnitePageStoreManager;
+import org.apache.ignite.internal.pagemem.store.PageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.plugin.AbstractTestPluginProvider;
+import org.apache.ignite.plugin.PluginContext;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+import static org.apache.ignite.configuration.DataStorageConfiguration.DFLT_CHECKPOINT_MAX_COALESCED_PAGES;
+import static org.apache.ignite.configuration.DataStorageConfiguration.DFLT_DATA_REG_DEFAULT_NAME;
+
+/**
+ * Tests for {@link DataStorageConfiguration#getCheckpointMaxCoalescedPages()}.
+ */
+public class CheckpointWriteCoalescingTest extends GridCommonAbstractTest {
+    /** Entries count. */
+    private static final int ENTRIES = 20_000;
+
+    /** Maximum number of coalesced pages. */
+    private int maxCoalescedPages = DFLT_CHECKPOINT_MAX_COALESCED_PAGES;
+
+    /** Data region size. */
+    private long regionSize = 256L * 1024 * 1024;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setConsistentId(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setCheckpointThreads(4)
+                .setCheckpointFrequency(Integer.MAX_VALUE)
+                .setCheckpointMaxCoalescedPages(maxCoalescedPages)
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)
+                    .setMetricsEnabled(true)
+                    .setMaxSize(regionSize)))
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, 16)))
+            .setPluginProviders(new AbstractTestPluginProvider() {
+                /** {@inheritDoc} */
+                @Override public String name() {
+                    return "testPlugin";
+                }
+
+                /** {@inheritDoc} */
+                @Override public <T> @Nullable T createComponent(PluginContext ctx, Class<T> cls) {
+                    if (IgnitePageStoreManager.class.equals(cls))
+                        return (T)new CountingPageStoreManager(((IgniteEx)ctx.grid()).context());
+
+                    return null;
+                }
+            });
+    }
+
+    /**
+     * Checks that adjacent pages are passed to page stores in batches and the data survives a restart.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAdjacentPagesCoalesced() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES).boxed());
+
+        CountingPageStoreManager pageStore = pageStore(ignite);
+
+        pageStore.reset();
+
+        forceCheckpoint();
+
+        assertTrue(pageStore.toString(), pageStore.batches.get() > 0);
+        assertTrue(pageStore.toString(), pageStore.batchedPages.get() > pageStore.singlePages.get());
+        assertTrue(pageStore.toString(), pageStore.maxBatch.get() <= maxCoalescedPages);
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        checkLoadedData(DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES));
+    }
+
+    /**
+     * Checks that batches are limited by the configured number of pages.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMaxCoalescedPages() throws Exception {
+        maxCoalescedPages = 4;
+
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES).boxed());
+
+        CountingPageStoreManager pageStore = pageStore(ignite);
+
+        pageStore.reset();
+
+        forceCheckpoint();
+
+        assertTrue(pageStore.toString(), pageStore.batches.get() > 0);
+        assertEquals(pageStore.toString(), maxCoalescedPages, pageStore.maxBatch.get());
+    }
+
+    /**
+     * Checks that every page is written separately if coalescing is disabled.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCoalescingDisabled() throws Exception {
+        maxCoalescedPages = 1;
+
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES).boxed());
+
+        CountingPageStoreManager pageStore = pageStore(ignite);
+
+        pageStore.reset();
+
+        forceCheckpoint();
+
+        assertEquals(pageStore.toString(), 0, pageStore.batches.get());
+        assertTrue(pageStore.toString(), pageStore.singlePages.get() > 0);
+    }
+
+    /**
+     * Checks that pages staged for a batch are not lost when they are replaced in the page memory.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPageReplacement() throws Exception {
+        regionSize = 10L * 1024 * 1024;
+
+        int entries = 10 * ENTRIES;
+
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(0, entries).boxed());
+
+        forceCheckpoint();
+
+        assertTrue(ignite.dataRegionMetrics(DFLT_DATA_REG_DEFAULT_NAME).getPagesReplaced() > 0);
+        assertTrue(pageStore(ignite).batches.get() > 0);
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        checkLoadedData(DEFAULT_CACHE_NAME, IntStream.range(0, entries));
+    }
+
+    /**
+     * @param ignite Ignite.
+     * @return Page store manager.
+     */
+    private static CountingPageStoreManager pageStore(IgniteEx ignite) {
+        return (CountingPageStoreManager)ignite.context().cache().context().pageStore();
+    }
+
+    /**
+     * Page store manager which counts pages written one by one and in batches.
+     */
+    private static class CountingPageStoreManager extends FilePageStoreManager {
+        /** Batches of pages. */
+        private final AtomicInteger batches = new AtomicInteger();
+
+        /** Pages written in batches. */
+        private final AtomicInteger batchedPages = new AtomicInteger();
+
+        /** Pages written one by one. */
+        private final AtomicInteger singlePages = new AtomicInteger();
+
+        /** Maximum number of pages in a batch. */
+        private final AtomicInteger maxBatch = new AtomicInteger();
+
+        /**
+         * @param ctx Kernal context.
+         */
+        CountingPageStoreManager(GridKernalContext ctx) {
+            super(ctx);
+        }
+
+        /** Resets counters. */
+        void reset() {
+            batches.set(0);
+            batchedPages.set(0);
+            singlePages.set(0);
+            maxBatch.set(0);
+        }
+
+        /** {@inheritDoc} */
+        @Override public PageStore write(int grpId, long pageId, ByteBuffer pageBuf, int tag, boolean calculateCrc)
+            throws IgniteCheckedException {
+            singlePages.incrementAndGet();
+
+            return super.write(grpId, pageId, pageBuf, tag, calculateCrc);
+        }
+
+        /** {@inheritDoc} */
+        @Nullable @Override public PageStore writePages(int grpId, long pageId, ByteBuffer pagesBuf, int tag)
+            throws IgniteCheckedException {
+            int cnt = pagesBuf.limit() / pageSize();
+
+            PageStore store = super.writePages(grpId, pageId, pagesBuf, tag);
+
+            // Pages are written one by one if the store does not accept the batch.
+            if (store != null) {
+                batches.incrementAndGet();
+                batchedPages.addAndGet(cnt);
+                maxBatch.accumulateAndGet(cnt, Math::max);
+            }
+
+            return store;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return "CountingPageStoreManager [batches=" + batches + ", batchedPages=" + batchedPages +
+                ", singlePages=" + singlePages + ", maxBatch=" + maxBatch + ']';
+        }
+    }
+}
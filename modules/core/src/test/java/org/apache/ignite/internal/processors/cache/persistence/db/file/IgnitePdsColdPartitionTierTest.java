@@ -0,0 +1,256 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.file;
+
+import java.io.File;
+import java.util.stream.IntStream;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.file.ColdPartitionTier;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Tests moving of idle partition files to the cold storage.
+ */
+public class IgnitePdsColdPartitionTierTest extends GridCommonAbstractTest {
+    /** Partitions count. */
+    private static final int PARTS = 8;
+
+    /** Entries count. */
+    private static final int ENTRIES = 5_000;
+
+    /** Idle timeout. */
+    private static final long IDLE_TIMEOUT = 1_000;
+
+    /** Read cache size. */
+    private static final long READ_CACHE_SIZE = 256 * 1024;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+
+        U.delete(coldDir());
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        U.delete(coldDir());
+
+        super.afterTest();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setConsistentId(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setColdStoragePath(coldDir().getAbsolutePath())
+                .setColdPartitionIdleTimeout(IDLE_TIMEOUT)
+                .setColdStorageReadCacheSize(READ_CACHE_SIZE)
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)
+                    .setMaxSize(64L * 1024 * 1024)))
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, PARTS)));
+    }
+
+    /**
+     * Checks that idle partitions are moved to the cold storage and read from there after restart.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReadColdPartitions() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES).boxed());
+
+        forceCheckpoint();
+
+        awaitCold(ignite);
+
+        for (int p = 0; p < PARTS; p++) {
+            FilePageStore store = store(ignite, p);
+
+            assertFalse(new File(store.getFileAbsolutePath()).exists());
+            assertTrue(store.tier().exists(new File(store.getFileAbsolutePath())));
+        }
+
+        assertEquals(PARTS, metric(ignite, "MovedPartitions"));
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        checkLoadedData(DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES));
+
+        // Partitions are read from the cold storage and are not moved back on read.
+        for (int p = 0; p < PARTS; p++)
+            assertTrue("Partition is restored on read: " + p, store(ignite, p).cold());
+
+        assertEquals(0, metric(ignite, "RestoredPartitions"));
+        assertTrue(metric(ignite, "ReadCacheMisses") > 0);
+        assertTrue(metric(ignite, "ReadBytes") > 0);
+        assertTrue(metric(ignite, "CachedBytes") <= READ_CACHE_SIZE);
+    }
+
+    /**
+     * Checks that a cold partition is moved back on write and removed from the cold storage.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRestoreOnWrite() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES).boxed());
+
+        forceCheckpoint();
+
+        awaitCold(ignite);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(ENTRIES, 2 * ENTRIES).boxed());
+
+        forceCheckpoint();
+
+        for (int p = 0; p < PARTS; p++) {
+            FilePageStore store = store(ignite, p);
+
+            assertFalse("Partition is cold after write: " + p, store.cold());
+            assertTrue(new File(store.getFileAbsolutePath()).exists());
+            assertFalse(store.tier().exists(new File(store.getFileAbsolutePath())));
+        }
+
+        assertEquals(PARTS, metric(ignite, "RestoredPartitions"));
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        checkLoadedData(DEFAULT_CACHE_NAME, IntStream.range(0, 2 * ENTRIES));
+    }
+
+    /**
+     * Checks that cold partition files are deleted with the cache.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDestroyCache() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES).boxed());
+
+        forceCheckpoint();
+
+        awaitCold(ignite);
+
+        File workDir = new File(store(ignite, 0).getFileAbsolutePath()).getParentFile();
+
+        File coldCacheDir = new File(new File(coldDir(), workDir.getParentFile().getName()), workDir.getName());
+
+        assertFalse(F.isEmpty(coldCacheDir.list()));
+
+        ignite.destroyCache(DEFAULT_CACHE_NAME);
+
+        assertTrue(waitForCondition(() -> F.isEmpty(coldCacheDir.list()), 10_000));
+    }
+
+    /**
+     * @param ignite Ignite.
+     * @throws Exception If failed.
+     */
+    private void awaitCold(IgniteEx ignite) throws Exception {
+        assertTrue(waitForCondition(() -> {
+            for (int p = 0; p < PARTS; p++) {
+                if (!store(ignite, p).cold())
+                    return false;
+            }
+
+            return true;
+        }, 10 * IDLE_TIMEOUT));
+
+        assertEquals(PARTS, metric(ignite, "ColdPartitions"));
+    }
+
+    /**
+     * @param ignite Ignite.
+     * @param p Partition.
+     * @return Page store of the partition.
+     */
+    private static FilePageStore store(IgniteEx ignite, int p) {
+        FilePageStoreManager pageStore = (FilePageStoreManager)ignite.context().cache().context().pageStore();
+
+        try {
+            return (FilePageStore)pageStore.getStore(CU.cacheId(DEFAULT_CACHE_NAME), p);
+        }
+        catch (IgniteCheckedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * @param ignite Ignite.
+     * @param name Metric name.
+     * @return Metric value.
+     */
+    private static long metric(IgniteEx ignite, String name) {
+        MetricRegistry mreg = ignite.context().metric().registry(ColdPartitionTier.COLD_TIER_METRICS);
+
+        return mreg.<LongMetric>findMetric(name).value();
+    }
+
+    /**
+     * @return Cold storage directory.
+     * @throws IgniteCheckedException If failed.
+     */
+    private static File coldDir() throws IgniteCheckedException {
+        return new File(U.defaultWorkDirectory(), "cold");
+    }
+}
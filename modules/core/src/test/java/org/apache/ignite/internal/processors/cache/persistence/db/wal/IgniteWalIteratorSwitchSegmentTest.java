@@ -83,7 +83,7 @@ public class IgniteWalIteratorSwitchSegmentTest extends GridCommonAbstractTest {
     private static final String ARCHIVE_SUB_DIR = String.join(File.separator, "", NODE_DIR, "walArchive");
 
     /** Serializer versions for check. */
-    private final int[] checkSerializerVers = new int[] {1, 2};
+    private final int[] checkSerializerVers = new int[] {1, 2, 3};
 
     /** {@inheritDoc} */
     @Override protected void beforeTest() throws Exception {
@@ -35,6 +35,7 @@ import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV2Serializer;
+import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV3Serializer;
 import org.apache.ignite.internal.util.lang.GridCloseableIterator;
 import org.apache.ignite.internal.util.lang.GridFilteredClosableIterator;
 import org.apache.ignite.internal.util.typedef.internal.GPC;
@@ -95,6 +96,18 @@ public class IgniteWalSerializerVersionTest extends GridCommonAbstractTest {
 
         System.setProperty(IGNITE_WAL_SERIALIZER_VERSION, "3");
 
+        IgniteEx ig3 = (IgniteEx)startGrid();
+
+        IgniteWriteAheadLogManager wal3 = ig3.context().cache().context().wal();
+
+        RecordSerializer ser3 = U.field(wal3, "serializer");
+
+        assertTrue(ser3 instanceof RecordV3Serializer);
+
+        stopGrid();
+
+        System.setProperty(IGNITE_WAL_SERIALIZER_VERSION, "4");
+
         GridTestUtils.assertThrowsAnyCause(log, new GPC<Void>() {
             @Override public Void call() throws Exception {
                 startGrid();
@@ -148,6 +161,15 @@ public class IgniteWalSerializerVersionTest extends GridCommonAbstractTest {
             recordsFactory,
             Arrays.asList(time1, time1)
         ));
+
+        long time2 = U.currentTimeMillis();
+
+        check(new Checker(
+            3,
+            RecordV3Serializer.class,
+            recordsFactory,
+            Arrays.asList(time2, time2)
+        ));
     }
 
     /**
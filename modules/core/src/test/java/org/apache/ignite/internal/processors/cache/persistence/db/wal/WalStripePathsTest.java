@@ -0,0 +1,279 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.wal;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.StorageException;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileDescriptor;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.TMP_SUFFIX;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.WAL_SEGMENT_FILE_FILTER;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.WAL_STRIPES_FILE_NAME;
+
+/**
+ * Checks WAL work segments striped across several directories.
+ */
+public class WalStripePathsTest extends GridCommonAbstractTest {
+    /** WAL segments count. */
+    private static final int WAL_SEGMENTS = 5;
+
+    /** Entries count. */
+    private static final int ENTRIES = 20_000;
+
+    /** Additional WAL work directories. */
+    private String[] stripePaths;
+
+    /** WAL archive path. */
+    private String walArchivePath;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        DataStorageConfiguration dsCfg = new DataStorageConfiguration()
+            .setWalSegments(WAL_SEGMENTS)
+            .setWalSegmentSize(512 * 1024)
+            .setWalStripePaths(stripePaths)
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setPersistenceEnabled(true)
+                .setMaxSize(100L * 1024 * 1024));
+
+        if (walArchivePath != null)
+            dsCfg.setWalArchivePath(walArchivePath);
+
+        return super.getConfiguration(igniteInstanceName)
+            .setConsistentId(igniteInstanceName)
+            .setDataStorageConfiguration(dsCfg);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that work segments are placed to their stripe directories and WAL is replayed after restart.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSegmentsStriped() throws Exception {
+        stripePaths = new String[] {"db/wal-stripe-1", "db/wal-stripe-2"};
+
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        ignite.getOrCreateCache(DEFAULT_CACHE_NAME);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES).boxed());
+
+        checkStripes(ignite, 3);
+
+        stopAllGrids();
+
+        ignite = startGrid(0);
+
+        checkStripes(ignite, 3);
+
+        checkLoadedData(DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES));
+    }
+
+    /**
+     * Checks that existing work segments are moved to stripe directories when stripes are configured on restart.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testStripesAddedOnRestart() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        ignite.getOrCreateCache(DEFAULT_CACHE_NAME);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES).boxed());
+
+        checkStripes(ignite, 1);
+
+        stopAllGrids();
+
+        stripePaths = new String[] {"db/wal-stripe-1"};
+
+        ignite = startGrid(0);
+
+        checkStripes(ignite, 2);
+
+        assertTrue(new File(walMgr(ignite).getSegmentRouter().getWalWorkDirs()[0], WAL_STRIPES_FILE_NAME).exists());
+
+        checkLoadedData(DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES));
+    }
+
+    /**
+     * Checks that work segments of a stripe directory removed from configuration are moved back on restart.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testStripeRemovedOnRestart() throws Exception {
+        stripePaths = new String[] {"db/wal-stripe-1", "db/wal-stripe-2"};
+
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        ignite.getOrCreateCache(DEFAULT_CACHE_NAME);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES).boxed());
+
+        File removed = walMgr(ignite).getSegmentRouter().getWalWorkDirs()[2];
+
+        stopAllGrids();
+
+        stripePaths = null;
+
+        ignite = startGrid(0);
+
+        checkStripes(ignite, 1);
+
+        assertTrue(F.isEmpty(removed.listFiles(WAL_SEGMENT_FILE_FILTER)));
+        assertFalse(new File(walMgr(ignite).getSegmentRouter().getWalWorkDirs()[0], WAL_STRIPES_FILE_NAME).exists());
+
+        checkLoadedData(DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES));
+    }
+
+    /**
+     * Checks that node does not start if a stripe directory of the last start is removed from configuration
+     * and is not available, since its work segments would be replaced by empty ones.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRemovedStripeUnavailable() throws Exception {
+        stripePaths = new String[] {"db/wal-stripe-1"};
+
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        File removed = walMgr(ignite).getSegmentRouter().getWalWorkDirs()[1];
+
+        stopAllGrids();
+
+        assertTrue(U.delete(removed));
+
+        stripePaths = null;
+
+        GridTestUtils.assertThrowsAnyCause(log, () -> startGrid(0), StorageException.class,
+            "WAL stripe directory used on the last start is not available");
+    }
+
+    /**
+     * Checks that a temporary file left by an interrupted move does not prevent relocation of a work segment.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testStaleTempFileOnRelocation() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        ignite.getOrCreateCache(DEFAULT_CACHE_NAME);
+
+        load(ignite, DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES).boxed());
+
+        File workDir = walMgr(ignite).getSegmentRouter().getWalWorkDirs()[0];
+
+        stopAllGrids();
+
+        stripePaths = new String[] {"db/wal-stripe-1"};
+
+        File stripeDir = new File(workDir.getParentFile().getParentFile(), "wal-stripe-1/" + workDir.getName());
+
+        assertTrue(stripeDir.mkdirs());
+
+        Files.write(new File(stripeDir, FileDescriptor.fileName(1) + TMP_SUFFIX).toPath(), new byte[] {1, 2, 3});
+
+        ignite = startGrid(0);
+
+        checkStripes(ignite, 2);
+
+        checkLoadedData(DEFAULT_CACHE_NAME, IntStream.range(0, ENTRIES));
+    }
+
+    /**
+     * Checks that stripes can not be configured without separate WAL archive.
+     */
+    @Test
+    public void testStripesRequireArchive() {
+        stripePaths = new String[] {"db/wal-stripe-1"};
+        walArchivePath = DataStorageConfiguration.DFLT_WAL_PATH;
+
+        GridTestUtils.assertThrowsAnyCause(log, () -> startGrid(0), IgniteCheckedException.class,
+            "WAL stripe paths require WAL archive located in a separate directory");
+    }
+
+    /**
+     * @param ignite Ignite.
+     * @param stripes Expected stripes count.
+     */
+    private void checkStripes(IgniteEx ignite, int stripes) {
+        File[] dirs = walMgr(ignite).getSegmentRouter().getWalWorkDirs();
+
+        assertEquals(stripes, dirs.length);
+
+        Set<Long> idxs = new HashSet<>();
+
+        for (int i = 0; i < dirs.length; i++) {
+            for (File f : dirs[i].listFiles(WAL_SEGMENT_FILE_FILTER)) {
+                long idx = new FileDescriptor(f).idx();
+
+                assertEquals(f.getAbsolutePath(), i, idx % stripes);
+                assertTrue(f.getAbsolutePath(), idxs.add(idx));
+            }
+        }
+
+        assertEquals(WAL_SEGMENTS, idxs.size());
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.wal.crc;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreV2;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileVersionCheckingFactory;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.CrcAlgorithm;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.PureJavaCrc32C;
+import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializer;
+import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializerFactory;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_SERIALIZER_VERSION;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FileVersionCheckingFactory.LATEST_VERSION_OVERRIDE_PROPERTY;
+
+/**
+ * Checks CRC32C checksums of WAL records and pages and compatibility with files written with CRC32 checksums.
+ */
+public class IgniteCrc32cCompatibilityTest extends GridCommonAbstractTest {
+    /** Entries count. */
+    private static final int ENTRIES = 1_000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setConsistentId(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setCheckpointFrequency(Long.MAX_VALUE / 2)
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)
+                    .setMaxSize(100L * 1024 * 1024)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        System.clearProperty(IGNITE_WAL_SERIALIZER_VERSION);
+        System.clearProperty(LATEST_VERSION_OVERRIDE_PROPERTY);
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that CRC32C checksum is the same for JDK and pure Java implementations.
+     */
+    @Test
+    public void testAlgoEqual() {
+        byte[] check = "123456789".getBytes(StandardCharsets.US_ASCII);
+
+        // Well known check value of CRC32C.
+        assertEquals(~0xE3069283, FastCrc.calcCrc(CrcAlgorithm.CRC32C, ByteBuffer.wrap(check), check.length));
+
+        PureJavaCrc32C pureCrc = new PureJavaCrc32C();
+
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        for (ByteBuffer buf : new ByteBuffer[] {
+            ByteBuffer.allocate(1024),
+            ByteBuffer.allocateDirect(1024).order(ByteOrder.nativeOrder())
+        }) {
+            for (int i = 0; i < 100; i++) {
+                buf.clear();
+
+                while (buf.hasRemaining())
+                    buf.put((byte)rnd.nextInt());
+
+                int off = rnd.nextInt(buf.capacity());
+                int len = rnd.nextInt(buf.capacity() - off + 1);
+
+                buf.position(off);
+
+                int crc0 = FastCrc.calcCrc(CrcAlgorithm.CRC32C, buf, len);
+
+                assertEquals(off + len, buf.position());
+
+                buf.position(off);
+                buf.limit(off + len);
+
+                pureCrc.reset();
+                pureCrc.update(buf);
+
+                buf.limit(buf.capacity());
+
+                assertEquals(crc0, (int)pureCrc.getValue() ^ 0xFFFFFFFF);
+            }
+        }
+    }
+
+    /**
+     * Checks that WAL segments and page store files written with CRC32 checksums are read after restart with latest
+     * versions.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReadCrc32Files() throws Exception {
+        System.setProperty(IGNITE_WAL_SERIALIZER_VERSION, "2");
+        System.setProperty(LATEST_VERSION_OVERRIDE_PROPERTY, String.valueOf(FilePageStoreV2.VERSION));
+
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, Integer> cache = ignite.getOrCreateCache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < ENTRIES; i++)
+            cache.put(i, i);
+
+        forceCheckpoint();
+
+        // These updates are restored from WAL written by previous serializer version.
+        for (int i = 0; i < ENTRIES; i++)
+            cache.put(i, i + 1);
+
+        stopGrid(0, true);
+
+        System.clearProperty(IGNITE_WAL_SERIALIZER_VERSION);
+        System.clearProperty(LATEST_VERSION_OVERRIDE_PROPERTY);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteWriteAheadLogManager wal = ignite.context().cache().context().wal();
+
+        RecordSerializer ser = U.field(wal, "serializer");
+
+        assertEquals(RecordSerializerFactory.DFLT_SERIALIZER_VERSION, ser.version());
+
+        assertEquals(FilePageStoreV2.VERSION, storeVersion(ignite, DEFAULT_CACHE_NAME));
+
+        cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < ENTRIES; i++)
+            assertEquals(i + 1, (int)cache.get(i));
+
+        IgniteCache<Integer, Integer> newCache = ignite.getOrCreateCache(DEFAULT_CACHE_NAME + "-new");
+
+        for (int i = 0; i < ENTRIES; i++)
+            newCache.put(i, i);
+
+        forceCheckpoint();
+
+        assertEquals(FileVersionCheckingFactory.DFLT_VERSION, storeVersion(ignite, newCache.getName()));
+
+        stopGrid(0, true);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        cache = ignite.cache(DEFAULT_CACHE_NAME);
+        newCache = ignite.cache(DEFAULT_CACHE_NAME + "-new");
+
+        for (int i = 0; i < ENTRIES; i++) {
+            assertEquals(i + 1, (int)cache.get(i));
+            assertEquals(i, (int)newCache.get(i));
+        }
+    }
+
+    /**
+     * @param ignite Ignite.
+     * @param cacheName Cache name.
+     * @return Version of the page store of the first partition.
+     * @throws Exception If failed.
+     */
+    private static int storeVersion(IgniteEx ignite, String cacheName) throws Exception {
+        FilePageStoreManager pageStoreMgr = (FilePageStoreManager)ignite.context().cache().context().pageStore();
+
+        return pageStoreMgr.getStore(CU.cacheId(cacheName), 0).version();
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.defragmentation;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ONLINE_DEFRAGMENTATION_RATE_LIMIT;
+import static org.apache.ignite.internal.processors.cache.GridCacheSharedTtlCleanupManager.DEFAULT_TOMBSTONE_TTL_PROP;
+import static org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl.DATAREGION_METRICS_PREFIX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Tests {@link OnlineDefragmentationManager}.
+ */
+@WithSystemProperty(key = DEFAULT_TOMBSTONE_TTL_PROP, value = "0")
+public class OnlineDefragmentationTest extends GridCommonAbstractTest {
+    /** Number of keys. */
+    private static final int KEYS = 20_000;
+
+    /** Number of partitions. */
+    private static final int PARTS = 8;
+
+    /** Value size. */
+    private static final int VAL_SIZE = 200;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)
+                    .setMaxSize(256L * 1024 * 1024)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_ONLINE_DEFRAGMENTATION_RATE_LIMIT, value = "0")
+    public void testSparsePagesFreedUnderLoad() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = fillSparse(ignite);
+
+        long emptyBefore = emptyDataPages(ignite);
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        // Keys updated concurrently with defragmentation get the last written value.
+        IgniteInternalFuture<?> loadFut = GridTestUtils.runAsync(() -> {
+            while (!stop.get()) {
+                int key = ThreadLocalRandom.current().nextInt(KEYS);
+
+                if (kept(key))
+                    cache.put(key, value(key + 1));
+            }
+        });
+
+        IgniteInternalFuture<Void> fut;
+
+        try {
+            fut = ignite.context().defragmentation().startOnline(Collections.singletonList(DEFAULT_CACHE_NAME));
+
+            fut.get(getTestTimeout());
+        }
+        finally {
+            stop.set(true);
+
+            loadFut.get(getTestTimeout());
+        }
+
+        OnlineDefragmentationManager mgr = onlineManager(ignite);
+
+        assertFalse(mgr.inProgress());
+        assertEquals(mgr.totalPartitions(), mgr.processedPartitions());
+        assertTrue(mgr.relocatedRows() > 0);
+        assertTrue(mgr.freedPages() > 0);
+        assertTrue(emptyDataPages(ignite) - emptyBefore > 0);
+
+        checkData(cache);
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        checkData(ignite.cache(DEFAULT_CACHE_NAME));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_ONLINE_DEFRAGMENTATION_RATE_LIMIT, value = "2000")
+    public void testPauseResume() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = fillSparse(ignite);
+
+        IgniteDefragmentation defragmentation = ignite.context().defragmentation();
+
+        IgniteInternalFuture<Void> fut = defragmentation.startOnline(Collections.emptyList());
+
+        GridTestUtils.assertThrowsWithCause(() -> defragmentation.startOnline(Collections.emptyList()),
+            IgniteCheckedException.class);
+
+        assertTrue(waitForCondition(() -> defragmentation.relocatedRows() > 0, getTestTimeout()));
+
+        assertTrue(defragmentation.pauseOnline());
+        assertFalse(defragmentation.pauseOnline());
+
+        long rows = defragmentation.relocatedRows();
+
+        // Current batch may still be finishing.
+        doSleep(500);
+
+        rows = Math.max(rows, defragmentation.relocatedRows());
+
+        doSleep(500);
+
+        assertEquals(rows, defragmentation.relocatedRows());
+        assertTrue(defragmentation.inProgress());
+        assertFalse(fut.isDone());
+
+        assertTrue(defragmentation.resumeOnline());
+
+        fut.get(getTestTimeout());
+
+        assertTrue(defragmentation.relocatedRows() > rows);
+
+        checkData(cache);
+    }
+
+    /**
+     * Puts values and removes 3 of 4 keys of each partition, so data pages become filled by a quarter.
+     *
+     * @param ignite Node.
+     * @return Cache.
+     */
+    private IgniteCache<Integer, byte[]> fillSparse(IgniteEx ignite) throws Exception {
+        IgniteCache<Integer, byte[]> cache = ignite.getOrCreateCache(
+            new CacheConfiguration<Integer, byte[]>(DEFAULT_CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, PARTS)));
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, value(i));
+
+        for (int i = 0; i < KEYS; i++) {
+            if (!kept(i))
+                cache.remove(i);
+        }
+
+        // Tombstones left by removes are not moved, wait for them to be cleaned up.
+        assertTrue(waitForCondition(() -> ignite.cachex(DEFAULT_CACHE_NAME).context().offheap().tombstonesCount() == 0,
+            getTestTimeout()));
+
+        // Defragmentation works on pages already allocated in partition files.
+        forceCheckpoint();
+
+        return cache;
+    }
+
+    /**
+     * @param cache Cache.
+     */
+    private void checkData(IgniteCache<Integer, byte[]> cache) {
+        assertEquals(KEYS / 4, cache.size());
+
+        for (int i = 0; i < KEYS; i++) {
+            byte[] val = cache.get(i);
+
+            if (!kept(i))
+                assertNull(val);
+            else {
+                assertNotNull(val);
+
+                // Value is either the initial one or written by the load.
+                assertTrue(val[0] == (byte)i || val[0] == (byte)(i + 1));
+                assertEquals(VAL_SIZE, val.length);
+            }
+        }
+    }
+
+    /**
+     * @param key Key.
+     * @return {@code True} if key is not removed, every fourth key of each partition is kept.
+     */
+    private static boolean kept(int key) {
+        return key / PARTS % 4 == 0;
+    }
+
+    /**
+     * @param seed Value seed.
+     * @return Value.
+     */
+    private static byte[] value(int seed) {
+        byte[] val = new byte[VAL_SIZE];
+
+        val[0] = (byte)seed;
+
+        return val;
+    }
+
+    /**
+     * @param ignite Node.
+     * @return Number of empty data pages of the default data region.
+     */
+    private static long emptyDataPages(IgniteEx ignite) {
+        MetricRegistry mreg = ignite.context().metric().registry(metricName(DATAREGION_METRICS_PREFIX,
+            ignite.configuration().getDataStorageConfiguration().getDefaultDataRegionConfiguration().getName()));
+
+        return mreg.<LongMetric>findMetric("EmptyDataPages").value();
+    }
+
+    /**
+     * @param ignite Node.
+     * @return Online defragmentation manager.
+     */
+    private static OnlineDefragmentationManager onlineManager(IgniteEx ignite) {
+        return ((GridCacheDatabaseSharedManager)ignite.context().cache().context().database()).onlineDefragmentationManager();
+    }
+}
@@ -38,6 +38,11 @@ public class NoOpWALManager implements IgniteWriteAheadLogManager {
         return true;
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean isPageRecordsDisabled() {
+        return false;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean isFullSync() {
         return false;
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCacheRestartingException;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_ENABLED;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_WAL_RETENTION;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.FileSnapshotManager.DFLT_SNAPSHOT_DIRECTORY;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.FileSnapshotManager.SNAPSHOT_METRICS;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Tests full and incremental snapshots and point-in-time recovery of {@link FileSnapshotManager}.
+ */
+@WithSystemProperty(key = IGNITE_SNAPSHOT_ENABLED, value = "true")
+public class FileSnapshotManagerTest extends GridCommonAbstractTest {
+    /** Nodes count. */
+    private static final int NODES_CNT = 2;
+
+    /** Number of keys. */
+    private static final int KEYS = 10_000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setConsistentId(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)
+                    .setMaxSize(256L * 1024 * 1024)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanup();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanup();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testIncrementalSnapshotRestore() throws Exception {
+        IgniteEx ignite = startGrids(NODES_CNT);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, Integer> cache = ignite.getOrCreateCache(cacheConfiguration());
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, i);
+
+        createSnapshot(ignite, "s1", false);
+
+        // WAL is not reserved unless point-in-time recovery is enabled.
+        assertNull(GridTestUtils.getFieldValue(snapshotManager(ignite), "reservedWalPtr"));
+
+        for (int i = 0; i < 100; i++)
+            cache.put(i, i * 10);
+
+        for (int i = KEYS; i < KEYS + 100; i++)
+            cache.put(i, i);
+
+        createSnapshot(ignite, "s2", true);
+
+        // Changes made after the snapshot must not be restored.
+        for (int i = 200; i < 300; i++)
+            cache.put(i, -1);
+
+        long fullSize = snapshotSize("s1");
+        long incSize = snapshotSize("s2");
+
+        assertTrue("Incremental snapshot is not smaller than full one [full=" + fullSize + ", inc=" + incSize + ']',
+            incSize < fullSize / 2);
+
+        ignite.destroyCache(DEFAULT_CACHE_NAME);
+
+        assertTrue(snapshotManager(ignite).restoreSnapshot("s2", null).get().contains(DEFAULT_CACHE_NAME));
+
+        awaitPartitionMapExchange();
+
+        cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        assertEquals(KEYS + 100, cache.size());
+
+        for (int i = 0; i < KEYS + 100; i++)
+            assertEquals((Integer)(i < 100 ? i * 10 : i), cache.get(i));
+
+        // Restore resets the chain, so the next snapshot must be full.
+        GridTestUtils.assertThrows(log, () -> createSnapshot(ignite, "s3", true), IgniteCheckedException.class, null);
+
+        createSnapshot(ignite, "s4", false);
+
+        assertTrue(snapshotManager(ignite).status().contains("s4"));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_SNAPSHOT_ENABLED, value = "false")
+    public void testSnapshotsDisabled() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        assertFalse(ignite.context().cache().context().snapshot() instanceof FileSnapshotManager);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testIncrementalSnapshotWithoutBaseFails() throws Exception {
+        IgniteEx ignite = startGrids(NODES_CNT);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        ignite.getOrCreateCache(cacheConfiguration()).put(1, 1);
+
+        GridTestUtils.assertThrows(log, () -> createSnapshot(ignite, "s1", true), IgniteCheckedException.class,
+            "Create full snapshot first");
+
+        createSnapshot(ignite, "s2", false);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_SNAPSHOT_WAL_RETENTION, value = "true")
+    public void testPointInTimeRecovery() throws Exception {
+        IgniteEx ignite = startGrids(NODES_CNT);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, Integer> cache = ignite.getOrCreateCache(cacheConfiguration());
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, i);
+
+        createSnapshot(ignite, "s1", false);
+
+        assertNotNull(GridTestUtils.getFieldValue(snapshotManager(ignite), "reservedWalPtr"));
+
+        for (int i = 0; i < 100; i++)
+            cache.put(i, i * 10);
+
+        for (int i = 100; i < 200; i++)
+            cache.remove(i);
+
+        long ts1 = snapshotManager(ignite).createConsistentCut().get();
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, -1);
+
+        long ts2 = snapshotManager(ignite).createConsistentCut().get();
+
+        assertTrue(ts2 > ts1);
+
+        for (int i = 0; i < NODES_CNT; i++) {
+            LongMetric lastCutTime = grid(i).context().metric().registry(SNAPSHOT_METRICS)
+                .findMetric("LastConsistentCutTime");
+
+            // Cut is logged by all nodes during the same exchange, but the initiator does not wait for others.
+            assertTrue(waitForCondition(() -> lastCutTime.value() == ts2, getTestTimeout()));
+        }
+
+        ignite.destroyCache(DEFAULT_CACHE_NAME);
+
+        GridTestUtils.assertThrows(log, () -> snapshotManager(ignite).restoreSnapshot("s1", ts2 + 1).get(),
+            IgniteCheckedException.class, "Consistent cut is not found");
+
+        assertTrue(snapshotManager(ignite).restoreSnapshot("s1", ts1).get().contains(DEFAULT_CACHE_NAME));
+
+        awaitPartitionMapExchange();
+
+        cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        assertEquals(KEYS - 100, cache.size());
+
+        for (int i = 0; i < KEYS; i++) {
+            if (i < 100)
+                assertEquals((Integer)(i * 10), cache.get(i));
+            else if (i < 200)
+                assertNull(cache.get(i));
+            else
+                assertEquals((Integer)i, cache.get(i));
+        }
+
+        long entries = 0;
+
+        for (int i = 0; i < NODES_CNT; i++) {
+            MetricRegistry mreg = grid(i).context().metric().registry(SNAPSHOT_METRICS);
+
+            entries += mreg.<LongMetric>findMetric("WalReplayedEntries").value();
+
+            assertTrue(mreg.<LongMetric>findMetric("WalReplayedRecords").value() > 0);
+            assertEquals(mreg.<LongMetric>findMetric("WalReplayTargetSegment").value(),
+                mreg.<LongMetric>findMetric("WalReplaySegment").value());
+        }
+
+        // Primary and backup updates made between the snapshot and the cut.
+        assertEquals(2 * 200, entries);
+    }
+
+    /**
+     * Checks that restored caches can not be updated until they are rolled forward to the cut on all nodes.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_SNAPSHOT_WAL_RETENTION, value = "true")
+    public void testWritesDuringPointInTimeRecovery() throws Exception {
+        IgniteEx ignite = startGrids(NODES_CNT);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, Integer> cache = ignite.getOrCreateCache(cacheConfiguration());
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, i);
+
+        createSnapshot(ignite, "s1", false);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, i + 1);
+
+        long ts = snapshotManager(ignite).createConsistentCut().get();
+
+        ignite.destroyCache(DEFAULT_CACHE_NAME);
+
+        IgniteInternalFuture<Collection<String>> restoreFut = snapshotManager(ignite).restoreSnapshot("s1", ts);
+
+        Set<Integer> written = new HashSet<>();
+
+        IgniteInternalFuture<?> writeFut = GridTestUtils.runAsync(() -> {
+            int key = 0;
+
+            while (!restoreFut.isDone()) {
+                IgniteCache<Integer, Integer> c = grid(1).cache(DEFAULT_CACHE_NAME);
+
+                if (c == null)
+                    continue;
+
+                try {
+                    c.put(key, -2);
+
+                    written.add(key);
+                }
+                catch (IgniteCacheRestartingException ignored) {
+                    // Expected until replay is finished on all nodes.
+                }
+
+                key = (key + 1) % KEYS;
+            }
+        });
+
+        assertTrue(restoreFut.get().contains(DEFAULT_CACHE_NAME));
+
+        writeFut.get();
+
+        awaitPartitionMapExchange();
+
+        cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals((Integer)(written.contains(i) ? -2 : i + 1), cache.get(i));
+    }
+
+    /**
+     * Creates snapshot and waits for it on all nodes.
+     *
+     * @param ignite Initiator node.
+     * @param name Snapshot name.
+     * @param incremental Whether snapshot is incremental.
+     * @return {@code null}.
+     * @throws Exception If failed.
+     */
+    private Void createSnapshot(IgniteEx ignite, String name, boolean incremental) throws Exception {
+        snapshotManager(ignite).createSnapshot(name, incremental).get();
+
+        for (int i = 0; i < NODES_CNT; i++) {
+            FileSnapshotManager mgr = snapshotManager(grid(i));
+
+            assertTrue(waitForCondition(() -> mgr.snapshotFuture(name) != null, getTestTimeout()));
+
+            IgniteInternalFuture<Void> fut = mgr.snapshotFuture(name);
+
+            fut.get(getTestTimeout());
+        }
+
+        return null;
+    }
+
+    /**
+     * @param name Snapshot name.
+     * @return Total size of snapshot files of all nodes.
+     * @throws Exception If failed.
+     */
+    private long snapshotSize(String name) throws Exception {
+        try (Stream<Path> files = Files.walk(new File(snapshotRoot(), name).toPath())) {
+            return files.map(Path::toFile).filter(File::isFile).mapToLong(File::length).sum();
+        }
+    }
+
+    /**
+     * @param ignite Node.
+     * @return Snapshot manager.
+     */
+    private static FileSnapshotManager snapshotManager(IgniteEx ignite) {
+        return (FileSnapshotManager)ignite.context().cache().context().snapshot();
+    }
+
+    /**
+     * @return Cache configuration.
+     */
+    private static CacheConfiguration<Integer, Integer> cacheConfiguration() {
+        return new CacheConfiguration<Integer, Integer>(DEFAULT_CACHE_NAME)
+            .setBackups(1)
+            .setAffinity(new RendezvousAffinityFunction(false, 16));
+    }
+
+    /**
+     * @return Snapshot root directory.
+     * @throws IgniteCheckedException If failed.
+     */
+    private static File snapshotRoot() throws IgniteCheckedException {
+        return new File(U.defaultWorkDirectory(), DFLT_SNAPSHOT_DIRECTORY);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    private void cleanup() throws Exception {
+        cleanPersistenceDir();
+
+        U.delete(snapshotRoot());
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.query.continuous;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryEventFilter;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.KeyCacheObjectImpl;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static javax.cache.event.EventType.UPDATED;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.cacheMetricsRegistryName;
+
+/**
+ * Tests conflating delivery mode of continuous queries.
+ */
+public class CacheContinuousQueryConflationTest extends GridCommonAbstractTest {
+    /** */
+    private static final int SRV_CNT = 2;
+
+    /** */
+    private static final int KEYS = 10;
+
+    /** */
+    private static final int UPDATES = 500;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGridsMultiThreaded(SRV_CNT);
+
+        startClientGrid(SRV_CNT);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        grid(0).destroyCache(DEFAULT_CACHE_NAME);
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLatestValuesDelivered() throws Exception {
+        checkConflation(false);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLatestValuesDeliveredWithFilter() throws Exception {
+        checkConflation(true);
+    }
+
+    /**
+     * @param filter Whether to use remote filter which skips odd values.
+     * @throws Exception If failed.
+     */
+    private void checkConflation(boolean filter) throws Exception {
+        IgniteEx client = grid(SRV_CNT);
+
+        IgniteCache<Integer, Integer> cache = client.createCache(new CacheConfiguration<Integer, Integer>(DEFAULT_CACHE_NAME)
+            .setBackups(1));
+
+        Map<Integer, Integer> lastVals = new ConcurrentHashMap<>();
+
+        AtomicInteger evtCnt = new AtomicInteger();
+
+        ContinuousQuery<Integer, Integer> qry = new ContinuousQuery<Integer, Integer>()
+            .setConflate(true)
+            .setTimeInterval(500)
+            .setPageSize(1000)
+            .setLocalListener(evts -> {
+                for (CacheEntryEvent<? extends Integer, ? extends Integer> e : evts) {
+                    Integer prev = lastVals.put(e.getKey(), e.getValue());
+
+                    assertTrue("Stale event [prev=" + prev + ", evt=" + e + ']', prev == null || prev < e.getValue());
+
+                    evtCnt.incrementAndGet();
+                }
+            });
+
+        if (filter)
+            qry.setRemoteFilterFactory(EvenValueFilter::new);
+
+        int lastVal = filter ? UPDATES - 2 : UPDATES - 1;
+
+        try (QueryCursor<?> ignored = cache.query(qry)) {
+            for (int i = 0; i < UPDATES; i++) {
+                for (int k = 0; k < KEYS; k++)
+                    cache.put(k, i);
+            }
+
+            assertTrue(GridTestUtils.waitForCondition(() -> {
+                for (int k = 0; k < KEYS; k++) {
+                    Integer val = lastVals.get(k);
+
+                    if (val == null || val != lastVal)
+                        return false;
+                }
+
+                return true;
+            }, getTestTimeout()));
+        }
+
+        long conflated = 0;
+
+        for (int i = 0; i < SRV_CNT; i++) {
+            MetricRegistry mreg = grid(i).context().metric().registry(cacheMetricsRegistryName(DEFAULT_CACHE_NAME, false));
+
+            conflated += mreg.<LongMetric>findMetric("ContinuousQueryConflatedEvents").value();
+        }
+
+        int expEvts = filter ? KEYS * UPDATES / 2 : KEYS * UPDATES;
+
+        assertTrue("Events are not conflated [evts=" + evtCnt.get() + ']', evtCnt.get() < expEvts);
+        assertTrue("Conflated events metric is not updated", conflated > 0);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testInvalidConfiguration() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(SRV_CNT).createCache(DEFAULT_CACHE_NAME);
+
+        GridTestUtils.assertThrows(log, () -> cache.query(new ContinuousQuery<Integer, Integer>()
+            .setConflate(true)
+            .setLocalListener(evts -> {})), IgniteException.class, "positive time interval");
+
+        GridTestUtils.assertThrows(log, () -> cache.query(new ContinuousQuery<Integer, Integer>()
+            .setConflate(true)
+            .setTimeInterval(100)
+            .setRemoteFilter(e -> true)
+            .setLocalListener(evts -> {})), IgniteException.class, "RemoteFilterFactory");
+    }
+
+    /**
+     * Checks that merged entries are accounted in update counters of the following entries.
+     */
+    @Test
+    public void testBatchKeepsUpdateCounters() {
+        CacheContinuousQueryConflatingBatch batch = new CacheContinuousQueryConflatingBatch();
+
+        // Key 1 is updated at counters 1, 2 and 5, key 2 at counters 3, 8 and 10, counters 4 and 7 are filtered.
+        batch.add(entry(1, 1, 0));
+        batch.add(entry(1, 2, 0));
+        batch.add(entry(2, 3, 0));
+        batch.add(entry(1, 5, 1));
+        batch.add(entry(2, 8, 1));
+
+        // Counter 9 has not been received yet, so the entry at counter 8 can't be merged.
+        batch.add(entry(2, 10, 0));
+
+        List<CacheContinuousQueryEntry> entries = new ArrayList<>();
+
+        for (Object o : batch.collect())
+            entries.add((CacheContinuousQueryEntry)o);
+
+        assertEquals(6, batch.entriesCount());
+        assertEquals(3, batch.conflatedCount());
+        assertEquals(3, batch.size());
+        assertEquals(3, entries.size());
+
+        assertEquals(5, entries.get(0).updateCounter());
+        assertEquals(4, entries.get(0).filteredCount());
+
+        assertEquals(8, entries.get(1).updateCounter());
+        assertEquals(1, entries.get(1).filteredCount());
+
+        assertEquals(10, entries.get(2).updateCounter());
+        assertEquals(0, entries.get(2).filteredCount());
+    }
+
+    /**
+     * @param key Key.
+     * @param cntr Update counter.
+     * @param filtered Number of filtered entries before this one.
+     * @return Entry.
+     */
+    private CacheContinuousQueryEntry entry(int key, long cntr, long filtered) {
+        CacheContinuousQueryEntry e = new CacheContinuousQueryEntry(0, UPDATED, new KeyCacheObjectImpl(key, null, 0),
+            null, null, false, 0, cntr, null, (byte)0);
+
+        e.filteredCount(filtered);
+
+        return e;
+    }
+
+    /**
+     * Filter which skips odd values.
+     */
+    private static class EvenValueFilter implements CacheEntryEventFilter<Integer, Integer> {
+        /** {@inheritDoc} */
+        @Override public boolean evaluate(CacheEntryEvent<? extends Integer, ? extends Integer> evt) {
+            return evt.getValue() % 2 == 0;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.query.continuous;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.EventType;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.ContinuousQueryFieldFilter;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.cacheMetricsRegistryName;
+
+/**
+ * Tests continuous queries with {@link ContinuousQueryFieldFilter} remote filters.
+ */
+public class CacheContinuousQueryFilterIndexTest extends GridCommonAbstractTest {
+    /** */
+    private static final int SRV_CNT = 2;
+
+    /** */
+    private static final int ACCOUNTS = 10;
+
+    /** */
+    private static final int KEYS = 200;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGridsMultiThreaded(SRV_CNT);
+
+        startClientGrid(SRV_CNT);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        grid(0).destroyCache(DEFAULT_CACHE_NAME);
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testIndexedFilters() throws Exception {
+        IgniteCache<Integer, Trade> cache = grid(SRV_CNT).createCache(
+            new CacheConfiguration<Integer, Trade>(DEFAULT_CACHE_NAME).setBackups(1));
+
+        List<ContinuousQueryFieldFilter<Integer, Trade>> filters = new ArrayList<>();
+
+        for (long acc = 0; acc < ACCOUNTS; acc++)
+            filters.add(new ContinuousQueryFieldFilter<Integer, Trade>().eq("accountId", acc));
+
+        filters.add(new ContinuousQueryFieldFilter<Integer, Trade>().ge("amount", 150.0));
+        filters.add(new ContinuousQueryFieldFilter<Integer, Trade>().eq("accountId", 3L).lt("amount", 50.0));
+
+        List<AtomicInteger> rcvd = new ArrayList<>();
+        List<QueryCursor<?>> curs = new ArrayList<>();
+
+        try {
+            for (ContinuousQueryFieldFilter<Integer, Trade> filter : filters) {
+                AtomicInteger cnt = new AtomicInteger();
+
+                rcvd.add(cnt);
+
+                ContinuousQuery<Integer, Trade> qry = new ContinuousQuery<Integer, Trade>()
+                    .setLocalListener(evts -> {
+                        for (CacheEntryEvent<? extends Integer, ? extends Trade> e : evts) {
+                            Trade trade = e.getEventType() == EventType.REMOVED ? e.getOldValue() : e.getValue();
+
+                            assertTrue("Unexpected event [filter=" + filter + ", evt=" + e + ']',
+                                filter.matches(trade));
+
+                            cnt.incrementAndGet();
+                        }
+                    });
+
+                qry.setRemoteFilterFactory(filter);
+
+                curs.add(cache.query(qry));
+            }
+
+            int[] exp = new int[filters.size()];
+
+            for (int i = 0; i < KEYS * 2; i++) {
+                Trade trade = new Trade(i % ACCOUNTS, i);
+
+                cache.put(i % KEYS, trade);
+
+                for (int f = 0; f < filters.size(); f++) {
+                    if (filters.get(f).matches(trade))
+                        exp[f]++;
+                }
+            }
+
+            assertTrue(GridTestUtils.waitForCondition(() -> {
+                for (int f = 0; f < filters.size(); f++) {
+                    if (rcvd.get(f).get() < exp[f])
+                        return false;
+                }
+
+                return true;
+            }, getTestTimeout()));
+
+            doSleep(500);
+
+            for (int f = 0; f < filters.size(); f++)
+                assertEquals("Wrong number of events [filter=" + filters.get(f) + ']', exp[f], rcvd.get(f).get());
+        }
+        finally {
+            for (QueryCursor<?> cur : curs)
+                cur.close();
+        }
+
+        long skipped = 0;
+
+        for (int i = 0; i < SRV_CNT; i++) {
+            MetricRegistry mreg = grid(i).context().metric().registry(cacheMetricsRegistryName(DEFAULT_CACHE_NAME, false));
+
+            skipped += mreg.<LongMetric>findMetric("ContinuousQueryIndexSkippedEvents").value();
+
+            CacheContinuousQueryManager mgr = grid(i).context().cache().internalCache(DEFAULT_CACHE_NAME)
+                .context().continuousQueries();
+
+            CacheContinuousQueryFilterIndex idx = GridTestUtils.getFieldValue(mgr, "filterIdx");
+
+            assertTrue("Index is not cleaned up: " + idx, GridTestUtils.waitForCondition(idx::isEmpty, 5_000));
+        }
+
+        assertTrue("Filters are not indexed", skipped > 0);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRemoveEvents() throws Exception {
+        IgniteEx client = grid(SRV_CNT);
+
+        IgniteCache<Integer, Trade> cache = client.createCache(
+            new CacheConfiguration<Integer, Trade>(DEFAULT_CACHE_NAME).setBackups(1));
+
+        AtomicInteger removed = new AtomicInteger();
+
+        ContinuousQuery<Integer, Trade> qry = new ContinuousQuery<Integer, Trade>()
+            .setLocalListener(evts -> {
+                for (CacheEntryEvent<? extends Integer, ? extends Trade> e : evts) {
+                    if (e.getEventType() == EventType.REMOVED) {
+                        Trade trade = e.getOldValue();
+
+                        assertEquals(1L, trade.accountId);
+
+                        removed.incrementAndGet();
+                    }
+                }
+            });
+
+        qry.setRemoteFilterFactory(new ContinuousQueryFieldFilter<Integer, Trade>().eq("accountId", 1L));
+
+        try (QueryCursor<?> ignored = cache.query(qry)) {
+            for (int i = 0; i < KEYS; i++)
+                cache.put(i, new Trade(i % ACCOUNTS, i));
+
+            for (int i = 0; i < KEYS; i++)
+                cache.remove(i);
+
+            assertTrue(GridTestUtils.waitForCondition(() -> removed.get() == KEYS / ACCOUNTS, getTestTimeout()));
+        }
+    }
+
+    /** */
+    private static class Trade {
+        /** */
+        private final long accountId;
+
+        /** */
+        private final double amount;
+
+        /**
+         * @param accountId Account ID.
+         * @param amount Amount.
+         */
+        Trade(long accountId, double amount) {
+            this.accountId = accountId;
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.store;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.cache.Cache;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.integration.CacheWriterException;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.store.CacheStoreAdapter;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests write-behind store with journal of pending updates.
+ */
+public class GridCacheWriteBehindStoreJournalTest extends GridCommonAbstractTest {
+    /** Keys count. */
+    private static final int KEYS = 100;
+
+    /** Store data. */
+    private static final Map<Object, Object> storeMap = new ConcurrentHashMap<>();
+
+    /** If set, store updates fail. */
+    private static volatile boolean storeFails;
+
+    /** Journal max size. */
+    private long journalMaxSize;
+
+    /** Flush frequency. */
+    private long flushFreq = 100;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setConsistentId(igniteInstanceName);
+
+        CacheConfiguration<Integer, String> ccfg = new CacheConfiguration<>(DEFAULT_CACHE_NAME);
+
+        ccfg.setCacheStoreFactory(FactoryBuilder.factoryOf(TestStore.class));
+        ccfg.setWriteThrough(true);
+        ccfg.setWriteBehindEnabled(true);
+        ccfg.setWriteBehindFlushFrequency(flushFreq);
+        ccfg.setWriteBehindJournalEnabled(true);
+        ccfg.setWriteBehindJournalMaxSize(journalMaxSize);
+
+        cfg.setCacheConfiguration(ccfg);
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        storeMap.clear();
+
+        storeFails = false;
+
+        U.delete(U.resolveWorkDirectory(U.defaultWorkDirectory(), GridCacheStoreManagerAdapter.WRITE_BEHIND_DIR,
+            false));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        storeFails = false;
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReplayAfterRestart() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        storeFails = true;
+
+        IgniteCache<Integer, String> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, "old-" + i);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, "val-" + i);
+
+        for (int i = 0; i < KEYS / 2; i++)
+            cache.remove(i);
+
+        assertTrue(writeBehindStore(ignite).getWriteBehindJournalSize() > 0);
+
+        File dir = writeBehindStore(ignite).journal().directory();
+
+        stopGrid(0);
+
+        assertTrue(storeMap.isEmpty());
+        assertFalse(F.isEmpty(dir.listFiles()));
+
+        storeMap.put(0, "stale");
+
+        storeFails = false;
+
+        ignite = startGrid(0);
+
+        GridCacheWriteBehindStore<?, ?> store = writeBehindStore(ignite);
+
+        assertTrue(GridTestUtils.waitForCondition(() -> store.getWriteBehindBufferSize() == 0, 10_000));
+
+        assertEquals(KEYS / 2, storeMap.size());
+
+        for (int i = KEYS / 2; i < KEYS; i++)
+            assertEquals("val-" + i, storeMap.get(i));
+
+        assertEquals(0, store.getWriteBehindJournalSize());
+
+        stopGrid(0);
+
+        assertTrue(F.isEmpty(dir.listFiles()));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testJournalReleasedOnFlush() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        IgniteCache<Integer, String> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, "val-" + i);
+
+        GridCacheWriteBehindStore<?, ?> store = writeBehindStore(ignite);
+
+        assertTrue(GridTestUtils.waitForCondition(() -> storeMap.size() == KEYS, 10_000));
+        assertTrue(GridTestUtils.waitForCondition(() -> store.getWriteBehindJournalSize() == 0, 10_000));
+
+        assertEquals(0, store.getWriteBehindFlushLag());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBackPressure() throws Exception {
+        journalMaxSize = 4096;
+        flushFreq = 10_000;
+
+        IgniteEx ignite = startGrid(0);
+
+        IgniteCache<Integer, String> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        GridCacheWriteBehindStore<?, ?> store = writeBehindStore(ignite);
+
+        for (int i = 0; i < KEYS * 10; i++) {
+            cache.put(i, "val-" + i);
+
+            assertTrue(store.getWriteBehindJournalSize() <= journalMaxSize + 1024);
+        }
+
+        assertFalse(storeMap.isEmpty());
+        assertTrue(store.getWriteBehindTotalCriticalOverflowCount() > 0);
+    }
+
+    /**
+     * @param ignite Node.
+     * @return Write-behind store.
+     * @throws IgniteCheckedException If failed.
+     */
+    private GridCacheWriteBehindStore<?, ?> writeBehindStore(IgniteEx ignite) throws IgniteCheckedException {
+        return (GridCacheWriteBehindStore<?, ?>)ignite.context().cache().internalCache(DEFAULT_CACHE_NAME)
+            .context().store().store();
+    }
+
+    /**
+     * Test store.
+     */
+    public static class TestStore extends CacheStoreAdapter<Object, Object> {
+        /** {@inheritDoc} */
+        @Override public Object load(Object key) {
+            return storeMap.get(key);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void write(Cache.Entry<?, ?> e) {
+            if (storeFails)
+                throw new CacheWriterException("Store is unavailable.");
+
+            storeMap.put(e.getKey(), e.getValue());
+        }
+
+        /** {@inheritDoc} */
+        @Override public void delete(Object key) {
+            if (storeFails)
+                throw new CacheWriterException("Store is unavailable.");
+
+            storeMap.remove(key);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.transactions;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.cluster.ClusterTopologyException;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.TransactionConfiguration;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.TestRecordingCommunicationSpi;
+import org.apache.ignite.internal.managers.communication.GridIoMessage;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearTxPrepareRequest;
+import org.apache.ignite.internal.util.GridMessageCollection;
+import org.apache.ignite.internal.util.typedef.G;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.lang.IgniteFutureTimeoutException;
+import org.apache.ignite.lang.IgniteInClosure;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.spi.IgniteSpiException;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.apache.ignite.transactions.Transaction;
+import org.apache.ignite.transactions.TransactionConcurrency;
+import org.apache.ignite.transactions.TransactionIsolation;
+import org.apache.ignite.transactions.TransactionOptimisticException;
+import org.apache.ignite.transactions.TransactionRollbackException;
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_SYNC;
+import static org.apache.ignite.transactions.TransactionConcurrency.OPTIMISTIC;
+import static org.apache.ignite.transactions.TransactionConcurrency.PESSIMISTIC;
+import static org.apache.ignite.transactions.TransactionIsolation.REPEATABLE_READ;
+import static org.apache.ignite.transactions.TransactionIsolation.SERIALIZABLE;
+
+/**
+ * Tests batching of transaction messages.
+ */
+public class TxMessageBatchingTest extends GridCommonAbstractTest {
+    /** Servers count. */
+    private static final int SRVS = 3;
+
+    /** Keys count. */
+    private static final int KEYS = 1000;
+
+    /** Threads count. */
+    private static final int THREADS = 16;
+
+    /** Transactions count per thread. */
+    private static final int TXS = 100;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setCommunicationSpi(new FailingCommunicationSpi());
+
+        cfg.setTransactionConfiguration(new TransactionConfiguration()
+            .setMessageBatchLingerNanos(1_000_000));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+            .setAtomicityMode(TRANSACTIONAL)
+            .setWriteSynchronizationMode(FULL_SYNC)
+            .setBackups(1));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGridsMultiThreaded(SRVS);
+
+        startClientGrid(SRVS);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        grid(0).cache(DEFAULT_CACHE_NAME).clear();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPessimisticFromClient() throws Exception {
+        checkTransactions(grid(SRVS), PESSIMISTIC, REPEATABLE_READ);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOptimisticSerializableFromClient() throws Exception {
+        checkTransactions(grid(SRVS), OPTIMISTIC, SERIALIZABLE);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPessimisticFromServer() throws Exception {
+        checkTransactions(grid(0), PESSIMISTIC, REPEATABLE_READ);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSendFailureFailsTransaction() throws Exception {
+        Ignite client = grid(SRVS);
+
+        FailingCommunicationSpi spi = (FailingCommunicationSpi)client.configuration().getCommunicationSpi();
+
+        IgniteCache<Integer, Integer> cache = client.cache(DEFAULT_CACHE_NAME);
+
+        spi.failPrepare = true;
+
+        try (Transaction tx = client.transactions().txStart(OPTIMISTIC, SERIALIZABLE)) {
+            cache.put(1, 1);
+
+            tx.commitAsync().get(30_000);
+
+            fail("Transaction must fail");
+        }
+        catch (IgniteFutureTimeoutException e) {
+            throw new AssertionError("Transaction is not completed", e);
+        }
+        catch (IgniteException expected) {
+            // No-op.
+        }
+        finally {
+            spi.failPrepare = false;
+        }
+
+        assertNull(cache.get(1));
+
+        cache.put(1, 1);
+
+        assertEquals(1, (int)cache.get(1));
+    }
+
+    /**
+     * Checks that messages are added to a new batch while the previous batch for the same node is being sent.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBatchingNotBlockedBySend() throws Exception {
+        Ignite client = grid(SRVS);
+
+        FailingCommunicationSpi spi = (FailingCommunicationSpi)client.configuration().getCommunicationSpi();
+
+        ClusterNode primary = client.affinity(DEFAULT_CACHE_NAME).mapKeyToNode(0);
+
+        int key2 = 1;
+
+        while (!primary.equals(client.affinity(DEFAULT_CACHE_NAME).mapKeyToNode(key2)))
+            key2++;
+
+        CountDownLatch batchBlocked = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+
+        spi.unblockBatch = unblock;
+        spi.batchBlocked = batchBlocked;
+
+        try {
+            IgniteFuture<Void> commitFut1 = GridTestUtils.runAsync(() -> commitAsync(client, 0)).get(10_000);
+
+            assertTrue(batchBlocked.await(10_000, MILLISECONDS));
+
+            // Prepare request is added to a new batch while the first batch is being sent to the same node.
+            int key = key2;
+
+            IgniteFuture<Void> commitFut2 = GridTestUtils.runAsync(() -> commitAsync(client, key)).get(5_000);
+
+            assertFalse(commitFut1.isDone());
+
+            unblock.countDown();
+
+            commitFut1.get(10_000);
+            commitFut2.get(10_000);
+        }
+        finally {
+            spi.batchBlocked = null;
+
+            unblock.countDown();
+        }
+
+        IgniteCache<Integer, Integer> cache = client.cache(DEFAULT_CACHE_NAME);
+
+        assertEquals(0, (int)cache.get(0));
+        assertEquals(key2, (int)cache.get(key2));
+    }
+
+    /**
+     * Starts transaction putting the key and commits it asynchronously.
+     *
+     * @param ignite Node to start transaction on.
+     * @param key Key.
+     * @return Commit future.
+     */
+    private IgniteFuture<Void> commitAsync(Ignite ignite, int key) {
+        Transaction tx = ignite.transactions().txStart(OPTIMISTIC, SERIALIZABLE);
+
+        ignite.cache(DEFAULT_CACHE_NAME).put(key, key);
+
+        return tx.commitAsync();
+    }
+
+    /**
+     * Checks that partition map exchange messages are not received before transaction messages held in batches,
+     * so update counters of primary and backup partitions are the same after exchanges run concurrently with
+     * batched transactions.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testExchangeWithBatchedTransactions() throws Exception {
+        Ignite ignite = grid(0);
+
+        IgniteCache<Integer, Integer> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        AtomicInteger committed = new AtomicInteger();
+
+        IgniteInternalFuture<?> txFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                try (Transaction tx = ignite.transactions().txStart(PESSIMISTIC, REPEATABLE_READ)) {
+                    cache.put(rnd.nextInt(KEYS), rnd.nextInt());
+
+                    tx.commit();
+
+                    committed.incrementAndGet();
+                }
+                catch (Exception e) {
+                    if (!X.hasCause(e, ClusterTopologyException.class, TransactionRollbackException.class))
+                        throw e;
+                }
+            }
+
+            return null;
+        }, THREADS, "tx-runner");
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                startGrid(SRVS + 1);
+
+                awaitPartitionMapExchange();
+
+                stopGrid(SRVS + 1);
+
+                awaitPartitionMapExchange();
+            }
+        }
+        finally {
+            stop.set(true);
+        }
+
+        txFut.get();
+
+        assertTrue(committed.get() > 0);
+
+        assertPartitionsSame(idleVerify(ignite, DEFAULT_CACHE_NAME));
+    }
+
+    /**
+     * Runs concurrent transactions incrementing two random keys and checks the sum of values.
+     *
+     * @param ignite Node to start transactions on.
+     * @param concurrency Transaction concurrency.
+     * @param isolation Transaction isolation.
+     * @throws Exception If failed.
+     */
+    private void checkTransactions(
+        Ignite ignite,
+        TransactionConcurrency concurrency,
+        TransactionIsolation isolation
+    ) throws Exception {
+        for (Ignite node : G.allGrids())
+            TestRecordingCommunicationSpi.spi(node).record(GridMessageCollection.class);
+
+        IgniteCache<Integer, Integer> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        AtomicInteger committed = new AtomicInteger();
+
+        GridTestUtils.runMultiThreaded(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            for (int i = 0; i < TXS; i++) {
+                int key1 = rnd.nextInt(KEYS);
+                int key2 = (key1 + 1 + rnd.nextInt(KEYS - 1)) % KEYS;
+
+                try (Transaction tx = ignite.transactions().txStart(concurrency, isolation)) {
+                    for (int key : new int[] {Math.min(key1, key2), Math.max(key1, key2)}) {
+                        Integer val = cache.get(key);
+
+                        cache.put(key, val == null ? 1 : val + 1);
+                    }
+
+                    tx.commit();
+
+                    committed.incrementAndGet();
+                }
+                catch (Exception e) {
+                    if (!X.hasCause(e, TransactionOptimisticException.class))
+                        throw e;
+                }
+            }
+
+            return null;
+        }, THREADS, "tx-runner");
+
+        assertTrue(committed.get() > 0);
+
+        int sum = 0;
+
+        for (int key = 0; key < KEYS; key++) {
+            Integer val = cache.get(key);
+
+            if (val != null)
+                sum += val;
+        }
+
+        assertEquals(2 * committed.get(), sum);
+
+        int batched = 0;
+
+        for (Ignite node : G.allGrids()) {
+            for (Object msg : TestRecordingCommunicationSpi.spi(node).recordedMessages(true))
+                batched += ((GridMessageCollection<?>)msg).messages().size();
+        }
+
+        assertTrue("Messages were not batched", batched > 0);
+    }
+
+    /**
+     * Communication SPI which fails to send prepare requests on demand.
+     */
+    private static class FailingCommunicationSpi extends TestRecordingCommunicationSpi {
+        /** Whether to fail sending of prepare requests. */
+        private volatile boolean failPrepare;
+
+        /** Latch counted down when sending of a batch is blocked, {@code null} if batches are not blocked. */
+        private volatile CountDownLatch batchBlocked;
+
+        /** Latch to wait for before the blocked batch is sent. */
+        private volatile CountDownLatch unblockBatch;
+
+        /** {@inheritDoc} */
+        @Override public void sendMessage(ClusterNode node, Message msg, IgniteInClosure<IgniteException> ackC)
+            throws IgniteSpiException {
+            if (failPrepare && ((GridIoMessage)msg).message() instanceof GridNearTxPrepareRequest)
+                throw new IgniteSpiException("Test failure.");
+
+            CountDownLatch blocked = batchBlocked;
+
+            if (blocked != null && ((GridIoMessage)msg).message() instanceof GridMessageCollection) {
+                batchBlocked = null;
+
+                blocked.countDown();
+
+                U.awaitQuiet(unblockBatch);
+            }
+
+            super.sendMessage(node, msg, ackC);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.transactions;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.cache.CacheException;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.apache.ignite.transactions.Transaction;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_SYNC;
+import static org.apache.ignite.transactions.TransactionConcurrency.PESSIMISTIC;
+import static org.apache.ignite.transactions.TransactionIsolation.REPEATABLE_READ;
+
+/**
+ * Tests lock-free consistent reads with {@link IgniteCache#getAllSnapshot(Set)}.
+ */
+public class TxSnapshotReadTest extends GridCommonAbstractTest {
+    /** Servers count. */
+    private static final int SRVS = 3;
+
+    /** Accounts count. */
+    private static final int ACCOUNTS = 20;
+
+    /** Initial balance of an account. */
+    private static final int BALANCE = 100;
+
+    /** Atomic cache name. */
+    private static final String ATOMIC_CACHE = "atomic";
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setCacheConfiguration(
+            new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setAtomicityMode(TRANSACTIONAL)
+                .setWriteSynchronizationMode(FULL_SYNC)
+                .setBackups(1),
+            new CacheConfiguration<>(ATOMIC_CACHE)
+                .setAtomicityMode(ATOMIC));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGridsMultiThreaded(SRVS);
+
+        startClientGrid(SRVS);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        IgniteCache<Integer, Integer> cache = grid(0).cache(DEFAULT_CACHE_NAME);
+
+        cache.clear();
+
+        for (int i = 0; i < ACCOUNTS; i++)
+            cache.put(i, BALANCE);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConsistentReadFromClient() throws Exception {
+        checkConsistentRead(grid(SRVS));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConsistentReadFromServer() throws Exception {
+        checkConsistentRead(grid(0));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReadDoesNotBlockWriter() throws Exception {
+        Ignite ignite = grid(SRVS);
+
+        IgniteCache<Integer, Integer> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        IgniteInternalFuture<?> txFut = GridTestUtils.runAsync(() -> {
+            try (Transaction tx = ignite.transactions().txStart(PESSIMISTIC, REPEATABLE_READ)) {
+                cache.put(0, BALANCE - 10);
+                cache.put(1, BALANCE + 10);
+
+                locked.countDown();
+
+                assertTrue(commit.await(getTestTimeout(), TimeUnit.MILLISECONDS));
+
+                tx.commit();
+            }
+
+            return null;
+        });
+
+        assertTrue(locked.await(getTestTimeout(), TimeUnit.MILLISECONDS));
+
+        IgniteFuture<Map<Integer, Integer>> readFut = cache.getAllSnapshotAsync(keys());
+
+        // Read waits for the locked keys.
+        U.sleep(200);
+
+        assertFalse(readFut.isDone());
+
+        commit.countDown();
+
+        txFut.get(getTestTimeout());
+
+        Map<Integer, Integer> res = readFut.get(getTestTimeout());
+
+        assertEquals(BALANCE - 10, (int)res.get(0));
+        assertEquals(BALANCE + 10, (int)res.get(1));
+        assertEquals(ACCOUNTS * BALANCE, sum(res));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testKeepBinaryAndMissingKeys() throws Exception {
+        IgniteCache<Integer, Object> cache = grid(SRVS).cache(DEFAULT_CACHE_NAME);
+
+        cache.put(0, new Account(5));
+
+        Set<Integer> keys = new TreeSet<>(F.asList(0, 1, ACCOUNTS + 1));
+
+        Map<Integer, Object> res = cache.getAllSnapshot(keys);
+
+        assertEquals(2, res.size());
+        assertEquals(new Account(5), res.get(0));
+        assertEquals(BALANCE, res.get(1));
+        assertFalse(res.containsKey(ACCOUNTS + 1));
+
+        IgniteCache<Integer, BinaryObject> binCache = cache.withKeepBinary();
+
+        Map<Integer, BinaryObject> binRes = binCache.getAllSnapshot(keys);
+
+        assertEquals(5, (int)binRes.get(0).field("balance"));
+
+        assertTrue(cache.getAllSnapshot(new TreeSet<>()).isEmpty());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAtomicCacheNotSupported() throws Exception {
+        GridTestUtils.assertThrows(log, () -> grid(0).cache(ATOMIC_CACHE).getAllSnapshot(keys()),
+            CacheException.class, "TRANSACTIONAL");
+    }
+
+    /**
+     * Runs concurrent transfers between accounts and checks that every snapshot read sees the same total balance.
+     *
+     * @param ignite Node to read on.
+     * @throws Exception If failed.
+     */
+    private void checkConsistentRead(Ignite ignite) throws Exception {
+        AtomicBoolean stop = new AtomicBoolean();
+
+        AtomicInteger reads = new AtomicInteger();
+
+        Ignite writer = grid(SRVS);
+
+        IgniteInternalFuture<?> writeFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            IgniteCache<Integer, Integer> cache = writer.cache(DEFAULT_CACHE_NAME);
+
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                int from = rnd.nextInt(ACCOUNTS);
+                int to = (from + 1 + rnd.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+
+                try (Transaction tx = writer.transactions().txStart(PESSIMISTIC, REPEATABLE_READ)) {
+                    int first = Math.min(from, to);
+                    int second = Math.max(from, to);
+
+                    int firstVal = cache.get(first);
+                    int secondVal = cache.get(second);
+
+                    int amount = rnd.nextInt(10);
+
+                    cache.put(first, first == from ? firstVal - amount : firstVal + amount);
+                    cache.put(second, second == from ? secondVal - amount : secondVal + amount);
+
+                    tx.commit();
+                }
+
+                U.sleep(rnd.nextInt(5));
+            }
+
+            return null;
+        }, 4, "writer");
+
+        IgniteInternalFuture<?> readFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            IgniteCache<Integer, Integer> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+            while (!stop.get()) {
+                Map<Integer, Integer> res = cache.getAllSnapshot(keys());
+
+                assertEquals(ACCOUNTS, res.size());
+                assertEquals(ACCOUNTS * BALANCE, sum(res));
+
+                reads.incrementAndGet();
+            }
+
+            return null;
+        }, 2, "reader");
+
+        try {
+            U.sleep(5_000);
+        }
+        finally {
+            stop.set(true);
+        }
+
+        writeFut.get(getTestTimeout());
+        readFut.get(getTestTimeout());
+
+        assertTrue(reads.get() > 0);
+    }
+
+    /**
+     * @return Keys of all accounts.
+     */
+    private static Set<Integer> keys() {
+        Set<Integer> keys = new TreeSet<>();
+
+        for (int i = 0; i < ACCOUNTS; i++)
+            keys.add(i);
+
+        return keys;
+    }
+
+    /**
+     * @param balances Balances.
+     * @return Total balance.
+     */
+    private static int sum(Map<Integer, Integer> balances) {
+        int sum = 0;
+
+        for (int balance : balances.values())
+            sum += balance;
+
+        return sum;
+    }
+
+    /**
+     * Account.
+     */
+    private static class Account {
+        /** Balance. */
+        private final int balance;
+
+        /**
+         * @param balance Balance.
+         */
+        private Account(int balance) {
+            this.balance = balance;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            return o instanceof Account && ((Account)o).balance == balance;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            return balance;
+        }
+    }
+}
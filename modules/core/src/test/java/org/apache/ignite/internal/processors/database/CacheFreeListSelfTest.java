@@ -19,9 +19,11 @@ package org.apache.ignite.internal.processors.database;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -33,6 +35,7 @@ import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
 import org.apache.ignite.internal.metric.IoStatisticsHolderNoOp;
 import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
 import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.pagemem.PageUtils;
 import org.apache.ignite.internal.pagemem.impl.PageMemoryNoStoreImpl;
@@ -45,6 +48,7 @@ import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
 import org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl;
 import org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerManager;
 import org.apache.ignite.internal.processors.cache.persistence.evict.NoOpPageEvictionTracker;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.CacheFreeList;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.FreeList;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.CacheVersionIO;
@@ -52,12 +56,15 @@ import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
 import org.apache.ignite.plugin.extensions.communication.MessageReader;
 import org.apache.ignite.plugin.extensions.communication.MessageWriter;
 import org.apache.ignite.spi.metric.noop.NoopMetricExporterSpi;
+import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.testframework.GridTestUtils;
 import org.apache.ignite.testframework.junits.GridTestKernalContext;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
 import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
 import org.jetbrains.annotations.Nullable;
 import org.junit.Test;
 
+import static org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList.IGNITE_FREE_LIST_RESERVED_PAGES_STRIPES;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -72,6 +79,12 @@ public class CacheFreeListSelfTest extends GridCommonAbstractTest {
     /** */
     private PageMemory pageMem;
 
+    /** Data region of the free list created by {@link #createFreeList(int)}. */
+    private DataRegion dataRegion;
+
+    /** Metadata page of the free list created by {@link #createFreeList(int)}. */
+    private long metaPageId;
+
     /** {@inheritDoc} */
     @Override protected void afterTest() throws Exception {
         super.afterTest();
@@ -162,6 +175,116 @@ public class CacheFreeListSelfTest extends GridCommonAbstractTest {
         checkInsertDeleteMultiThreaded(16384);
     }
 
+    /**
+     * @throws Exception if failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_FREE_LIST_RESERVED_PAGES_STRIPES, value = "8")
+    public void testInsertDeleteMultiThreadedReservedPages_4096() throws Exception {
+        checkInsertDeleteMultiThreaded(4096);
+    }
+
+    /**
+     * Checks that data pages reserved for inserts of small rows are recycled once they are released.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_FREE_LIST_RESERVED_PAGES_STRIPES, value = "8")
+    public void testReservedPagesRecycled() throws Exception {
+        AbstractFreeList<CacheDataRow> list = (AbstractFreeList<CacheDataRow>)createFreeList(4096);
+
+        ConcurrentMap<Long, TestDataRow> stored = new ConcurrentHashMap<>();
+
+        GridTestUtils.runMultiThreaded(() -> {
+            Random rnd = ThreadLocalRandom.current();
+
+            for (int i = 0; i < 5_000; i++) {
+                TestDataRow row = new TestDataRow(rnd.nextInt(64) + 10, rnd.nextInt(512) + 10);
+
+                list.insertDataRow(row, IoStatisticsHolderNoOp.INSTANCE);
+
+                assertNull(stored.put(row.link(), row));
+            }
+
+            return null;
+        }, 8, "insert");
+
+        Set<Long> dataPages = new HashSet<>();
+
+        for (TestDataRow row : stored.values()) {
+            dataPages.add(PageIdUtils.pageId(row.link()));
+
+            list.removeDataRowByLink(row.link(), IoStatisticsHolderNoOp.INSTANCE);
+        }
+
+        list.releaseReservedPages(IoStatisticsHolderNoOp.INSTANCE);
+
+        // Page ID is rotated on recycling, so the lock of the page with the old ID can not be acquired.
+        for (long pageId : dataPages) {
+            long page = pageMem.acquirePage(1, pageId);
+
+            try {
+                long pageAddr = pageMem.readLock(1, pageId, page);
+
+                if (pageAddr != 0L)
+                    pageMem.readUnlock(1, pageId, page);
+
+                assertEquals("Data page has not been recycled: " + U.hexLong(pageId), 0L, pageAddr);
+            }
+            finally {
+                pageMem.releasePage(1, pageId, page);
+            }
+        }
+    }
+
+    /**
+     * Checks that free space and empty pages metrics account pages reserved for inserts.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_FREE_LIST_RESERVED_PAGES_STRIPES, value = "8")
+    public void testReservedPagesMetrics() throws Exception {
+        AbstractFreeList<CacheDataRow> list = (AbstractFreeList<CacheDataRow>)createFreeList(4096);
+
+        TestDataRow row = new TestDataRow(10, 10);
+
+        list.insertDataRow(row, IoStatisticsHolderNoOp.INSTANCE);
+
+        assertTrue(list.freeSpace() > 4096 / 2);
+        assertEquals(0, list.emptyDataPages());
+
+        list.removeDataRowByLink(row.link(), IoStatisticsHolderNoOp.INSTANCE);
+
+        assertEquals(0, list.freeSpace());
+        assertEquals(1, list.emptyDataPages());
+    }
+
+    /**
+     * Checks that pages reserved for inserts are tracked by the saved free list.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_FREE_LIST_RESERVED_PAGES_STRIPES, value = "8")
+    public void testReservedPagesSavedWithMetadata() throws Exception {
+        AbstractFreeList<CacheDataRow> list = (AbstractFreeList<CacheDataRow>)createFreeList(4096);
+
+        for (int i = 0; i < 10; i++)
+            list.insertDataRow(new TestDataRow(10, 10), IoStatisticsHolderNoOp.INSTANCE);
+
+        list.saveMetadata(IoStatisticsHolderNoOp.INSTANCE);
+
+        long freeSpace = list.freeSpace();
+
+        assertTrue(freeSpace > 0);
+
+        AbstractFreeList<CacheDataRow> restored = (AbstractFreeList<CacheDataRow>)createFreeList(false);
+
+        assertEquals(freeSpace, restored.freeSpace());
+    }
+
     /**
      * @param pageSize Page size.
      * @throws Exception If failed.
@@ -357,14 +480,23 @@ public class CacheFreeListSelfTest extends GridCommonAbstractTest {
 
         pageMem = createPageMemory(pageSize, plcCfg);
 
-        long metaPageId = pageMem.allocatePage(1, 1, PageIdAllocator.FLAG_DATA);
+        metaPageId = pageMem.allocatePage(1, 1, PageIdAllocator.FLAG_DATA);
 
         IgniteConfiguration cfg = new IgniteConfiguration().setMetricExporterSpi(new NoopMetricExporterSpi());
 
         DataRegionMetricsImpl regionMetrics = new DataRegionMetricsImpl(plcCfg, new GridTestKernalContext(log, cfg));
 
-        DataRegion dataRegion = new DataRegion(pageMem, plcCfg, regionMetrics, new NoOpPageEvictionTracker());
+        dataRegion = new DataRegion(pageMem, plcCfg, regionMetrics, new NoOpPageEvictionTracker());
+
+        return createFreeList(true);
+    }
 
+    /**
+     * @param initNew {@code True} to create new free list, {@code false} to load free list saved to metadata page.
+     * @return Free list in the data region created by {@link #createFreeList(int)}.
+     * @throws Exception If failed.
+     */
+    private FreeList<?> createFreeList(boolean initNew) throws Exception {
         PageLockTrackerManager pageLockTrackerManager = mock(PageLockTrackerManager.class);
 
         when(pageLockTrackerManager.createPageLockTracker(anyString())).thenReturn(PageLockTrackerManager.NOOP_LSNR);
@@ -375,7 +507,7 @@ public class CacheFreeListSelfTest extends GridCommonAbstractTest {
             dataRegion,
             null,
             metaPageId,
-            true,
+            initNew,
             pageLockTrackerManager,
             new GridTestKernalContext(log),
             null,
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.datastreamer;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.TestRecordingCommunicationSpi;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.datastreamer.DataStreamerFlowControl.DATA_STREAMER_NODES_METRICS;
+import static org.apache.ignite.internal.processors.datastreamer.DataStreamerFlowControl.QUEUE_FACTOR;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Tests adaptive batching of data streamer.
+ */
+public class DataStreamerAdaptiveBatchingTest extends GridCommonAbstractTest {
+    /** Servers count. */
+    private static final int SRVS = 2;
+
+    /** Size of a batch in bytes. */
+    private static final int BUF_BYTES = 64 * 1024;
+
+    /** Size of a large value. */
+    private static final int LARGE_VAL = 50 * 1024;
+
+    /** Size of a small value. */
+    private static final int SMALL_VAL = 100;
+
+    /** Number of entries. */
+    private static final int ENTRIES = 20_000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setCommunicationSpi(new TestRecordingCommunicationSpi());
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBatchesAreSizedByBytes() throws Exception {
+        startGrids(SRVS);
+
+        IgniteEx client = startClientGrid(SRVS);
+
+        TestRecordingCommunicationSpi clientSpi = TestRecordingCommunicationSpi.spi(client);
+
+        clientSpi.record(DataStreamerRequest.class);
+
+        for (int i = 0; i < SRVS; i++)
+            TestRecordingCommunicationSpi.spi(grid(i)).record(DataStreamerResponse.class);
+
+        try (IgniteDataStreamer<Integer, byte[]> streamer = client.dataStreamer(DEFAULT_CACHE_NAME)) {
+            streamer.adaptiveBatching(true);
+            streamer.perNodeBufferBytes(BUF_BYTES);
+
+            assertTrue(streamer.adaptiveBatching());
+            assertEquals(BUF_BYTES, streamer.perNodeBufferBytes());
+
+            for (int i = 0; i < ENTRIES; i++)
+                streamer.addData(i, new byte[i % 100 == 0 ? LARGE_VAL : SMALL_VAL]);
+        }
+
+        assertEquals(ENTRIES, grid(0).cache(DEFAULT_CACHE_NAME).size());
+
+        List<Object> reqs = clientSpi.recordedMessages(true);
+
+        assertFalse(reqs.isEmpty());
+
+        int maxEntries = 0;
+
+        for (Object msg : reqs) {
+            DataStreamerRequest req = (DataStreamerRequest)msg;
+
+            int bytes = 0;
+
+            for (DataStreamerEntry e : req.entries())
+                bytes += e.getValue().valueBytesLength(null);
+
+            // The last entry may overflow the limit.
+            assertTrue("Too large batch: " + bytes, bytes < BUF_BYTES + LARGE_VAL + SMALL_VAL);
+
+            maxEntries = Math.max(maxEntries, req.entries().size());
+        }
+
+        // Batches of small values are larger than the default per node buffer size.
+        assertTrue("Max entries in a batch: " + maxEntries,
+            maxEntries > IgniteDataStreamer.DFLT_PER_NODE_BUFFER_SIZE);
+
+        long batches = 0;
+
+        for (int i = 0; i < SRVS; i++) {
+            ClusterNode node = grid(i).localNode();
+
+            for (Object msg : TestRecordingCommunicationSpi.spi(grid(i)).recordedMessages(true))
+                assertTrue(msg instanceof DataStreamerLoadResponse);
+
+            MetricRegistry mreg = client.context().metric().registry(
+                metricName(DATA_STREAMER_NODES_METRICS, node.id().toString()));
+
+            long nodeBatches = mreg.<LongAdderMetric>findMetric("Batches").value();
+
+            assertTrue(nodeBatches > 0);
+            assertTrue(mreg.<LongAdderMetric>findMetric("BatchBytes").value() > 0);
+            assertTrue(mreg.<AtomicLongMetric>findMetric("InFlightLimit").value() > 0);
+
+            batches += nodeBatches;
+        }
+
+        assertEquals(reqs.size(), batches);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMetricsRemovedOnNodeLeft() throws Exception {
+        startGrids(SRVS);
+
+        IgniteEx client = startClientGrid(SRVS);
+
+        try (IgniteDataStreamer<Integer, Integer> streamer = client.dataStreamer(DEFAULT_CACHE_NAME)) {
+            streamer.adaptiveBatching(true);
+
+            for (int i = 0; i < 1_000; i++)
+                streamer.addData(i, i);
+        }
+
+        String regName = metricName(DATA_STREAMER_NODES_METRICS, grid(1).localNode().id().toString());
+
+        assertNotNull(client.context().metric().registry(regName).findMetric("Batches"));
+
+        stopGrid(1);
+
+        assertTrue(GridTestUtils.waitForCondition(
+            () -> client.context().metric().registry(regName).findMetric("Batches") == null, getTestTimeout()));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLimitOnReceiverQueue() throws Exception {
+        int poolSize = 4;
+        int maxLimit = 16;
+
+        DataStreamerFlowControl flowCtrl = flowControl(poolSize, maxLimit);
+
+        assertEquals(poolSize, flowCtrl.limit());
+
+        long reqId = 0;
+
+        // Additive increase up to the maximum.
+        while (flowCtrl.limit() < maxLimit) {
+            int limit = flowCtrl.limit();
+
+            for (int i = 0; i < limit; i++)
+                sendAndReceive(flowCtrl, ++reqId, 0, 0);
+
+            assertEquals(limit + 1, flowCtrl.limit());
+        }
+
+        for (int i = 0; i < 100; i++)
+            sendAndReceive(flowCtrl, ++reqId, 0, 0);
+
+        assertEquals(maxLimit, flowCtrl.limit());
+
+        // Congestion signals of requests sent before a decrease are ignored.
+        long first = ++reqId;
+        long second = ++reqId;
+
+        acquire(flowCtrl);
+        flowCtrl.onSend(first, 0);
+
+        acquire(flowCtrl);
+        flowCtrl.onSend(second, 0);
+
+        receive(flowCtrl, first, QUEUE_FACTOR * poolSize + 1);
+
+        assertEquals(maxLimit / 2, flowCtrl.limit());
+
+        receive(flowCtrl, second, QUEUE_FACTOR * poolSize + 1);
+
+        assertEquals(maxLimit / 2, flowCtrl.limit());
+
+        // The next round decreases the limit again, but not below one.
+        for (int i = 0; i < 10; i++)
+            sendAndReceive(flowCtrl, ++reqId, 0, QUEUE_FACTOR * poolSize + 1);
+
+        assertEquals(1, flowCtrl.limit());
+        assertEquals(1, flowCtrl.semaphore().availablePermits());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLimitOnResponseTime() throws Exception {
+        DataStreamerFlowControl flowCtrl = flowControl(4, 16);
+
+        // The first full batch sets the lowest response time.
+        sendAndReceive(flowCtrl, 1, BUF_BYTES, -1);
+
+        acquire(flowCtrl);
+
+        flowCtrl.onSend(2, BUF_BYTES);
+
+        U.sleep(20);
+
+        receive(flowCtrl, 2, -1);
+
+        assertEquals(2, flowCtrl.limit());
+
+        // Small batches are not sampled.
+        acquire(flowCtrl);
+
+        flowCtrl.onSend(3, 1);
+
+        U.sleep(20);
+
+        receive(flowCtrl, 3, -1);
+
+        assertEquals(2, flowCtrl.limit());
+    }
+
+    /**
+     * @param poolSize Receiver pool size.
+     * @param maxLimit Maximum limit.
+     * @return Flow control.
+     */
+    private DataStreamerFlowControl flowControl(int poolSize, int maxLimit) {
+        MetricRegistry mreg = new MetricRegistry("test", "test", null, null, log);
+
+        return new DataStreamerFlowControl(mreg, poolSize, maxLimit, BUF_BYTES / 2);
+    }
+
+    /**
+     * Sends a batch and receives its response immediately.
+     *
+     * @param flowCtrl Flow control.
+     * @param reqId Request ID.
+     * @param bytes Size of the batch.
+     * @param queueSize Receiver queue size.
+     * @throws Exception If failed.
+     */
+    private void sendAndReceive(DataStreamerFlowControl flowCtrl, long reqId, long bytes, int queueSize)
+        throws Exception {
+        acquire(flowCtrl);
+
+        flowCtrl.onSend(reqId, bytes);
+
+        receive(flowCtrl, reqId, queueSize);
+    }
+
+    /**
+     * @param flowCtrl Flow control.
+     * @throws Exception If failed.
+     */
+    private void acquire(DataStreamerFlowControl flowCtrl) throws Exception {
+        Semaphore sem = flowCtrl.semaphore();
+
+        assertTrue(sem.tryAcquire());
+    }
+
+    /**
+     * @param flowCtrl Flow control.
+     * @param reqId Request ID.
+     * @param queueSize Receiver queue size.
+     */
+    private void receive(DataStreamerFlowControl flowCtrl, long reqId, int queueSize) {
+        flowCtrl.onResponse(reqId, queueSize);
+
+        flowCtrl.semaphore().release();
+    }
+}
@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
@@ -151,4 +152,63 @@ public class GridConcurrentMultiPairQueueTest extends GridCommonAbstractTest {
 
         assertTrue(queue2.initialSize() == arr1.length + arr2.length + arr3.length + arr4.length);
     }
+
+    /** */
+    @Test
+    public void testGridConcurrentMultiPairQueueBatchCorrectness() throws Exception {
+        GridTestUtils.runMultiThreaded(() -> {
+            GridConcurrentMultiPairQueue.Result<Integer, Integer> res =
+                new GridConcurrentMultiPairQueue.Result<>();
+
+            Integer[] batch = new Integer[3];
+
+            int cnt;
+
+            while ((cnt = queue.next(res, batch)) > 0) {
+                assertTrue(mapForCheck.containsKey(res.getKey()));
+
+                assertEquals(batch[0], res.getValue());
+
+                for (int i = 0; i < cnt; i++)
+                    assertTrue(mapForCheck.get(res.getKey()).remove(batch[i]));
+
+                Collection<Integer> coll = mapForCheck.get(res.getKey());
+
+                if (coll != null && coll.isEmpty())
+                    mapForCheck.remove(res.getKey(), coll);
+            }
+        }, ThreadLocalRandom.current().nextInt(1, 20), "GridConcurrentMultiPairQueue batch test");
+
+        assertTrue(mapForCheck.isEmpty());
+
+        assertTrue(queue.isEmpty());
+
+        Map<Integer, Collection<Integer>> keyWithColl = new LinkedHashMap<>();
+
+        keyWithColl.put(10, Arrays.asList(arr2));
+        keyWithColl.put(30, Arrays.asList(arr4));
+        keyWithColl.put(20, Arrays.asList(arr1));
+
+        GridConcurrentMultiPairQueue<Integer, Integer> queue3 = new GridConcurrentMultiPairQueue<>(keyWithColl);
+
+        GridConcurrentMultiPairQueue.Result<Integer, Integer> res = new GridConcurrentMultiPairQueue.Result<>();
+
+        Integer[] batch = new Integer[4];
+
+        // Batch never spans values of different keys.
+        assertEquals(2, queue3.next(res, batch));
+        assertEquals(10, (int)res.getKey());
+        assertEquals(Arrays.asList(arr2), Arrays.asList(batch).subList(0, 2));
+
+        assertEquals(4, queue3.next(res, batch));
+        assertEquals(20, (int)res.getKey());
+        assertEquals(Arrays.asList(arr1).subList(0, 4), Arrays.asList(batch));
+
+        assertEquals(4, queue3.next(res, batch));
+        assertEquals(2, queue3.next(res, batch));
+        assertEquals(Arrays.asList(arr1).subList(8, 10), Arrays.asList(batch).subList(0, 2));
+
+        assertEquals(0, queue3.next(res, batch));
+        assertTrue(queue3.isEmpty());
+    }
 }
@@ -16,6 +16,10 @@
 
 package org.apache.ignite.internal.util;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.internal.processors.metric.impl.HistogramMetricImpl;
+import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteInClosure;
 import org.apache.ignite.logger.java.JavaLogger;
 import org.apache.ignite.testframework.GridTestUtils;
@@ -157,6 +161,185 @@ public class StripedExecutorTest extends GridCommonAbstractTest {
         assertTrue(stripedExecSvc.detectStarvation());
     }
 
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOrderInsensitiveTasksStolen() throws Exception {
+        recreateExecutor(true);
+
+        stripedExecSvc.execute(0, new TestRunnable(true));
+
+        assertTrue(GridTestUtils.waitForCondition(() -> stripedExecSvc.activeStripesCount() == 1, 10000));
+
+        CountDownLatch latch = new CountDownLatch(10);
+
+        for (int i = 0; i < 10; i++)
+            stripedExecSvc.execute(0, latch::countDown, true);
+
+        // Ordered task must wait for the busy stripe.
+        stripedExecSvc.execute(0, new TestRunnable());
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        assertEquals(1, stripedExecSvc.queueSize(0));
+
+        // Completed counter is incremented right after the task returns.
+        assertTrue(GridTestUtils.waitForCondition(
+            () -> stripedExecSvc.stripesCompletedTasks()[1] + stripedExecSvc.stripesCompletedTasks()[2] == 10, 10000));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOrderInsensitiveTasksNotStolenByDefault() throws Exception {
+        stripedExecSvc.execute(0, new TestRunnable(true));
+
+        assertTrue(GridTestUtils.waitForCondition(() -> stripedExecSvc.activeStripesCount() == 1, 10000));
+
+        stripedExecSvc.execute(0, new TestRunnable(), true);
+        stripedExecSvc.execute(0, new TestRunnable(), true);
+
+        sleepASec();
+
+        assertEquals(2, stripedExecSvc.queueSize(0));
+        assertEquals(0, stripedExecSvc.completedTasks());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testQueueTimeMetrics() throws Exception {
+        HistogramMetricImpl[] histograms = new HistogramMetricImpl[stripedExecSvc.stripesCount()];
+
+        for (int i = 0; i < histograms.length; i++)
+            histograms[i] = new HistogramMetricImpl("queueTime" + i, null, new long[] {1_000_000});
+
+        stripedExecSvc.queueTimeMetrics(histograms);
+
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(3);
+
+        stripedExecSvc.execute(0, () -> U.awaitQuiet(blockLatch));
+        stripedExecSvc.execute(0, doneLatch::countDown);
+        stripedExecSvc.execute(1, doneLatch::countDown);
+        stripedExecSvc.execute(1, doneLatch::countDown);
+
+        sleepASec();
+
+        blockLatch.countDown();
+
+        assertTrue(doneLatch.await(10, TimeUnit.SECONDS));
+
+        assertTrue(GridTestUtils.waitForCondition(() -> sum(histograms[0].value()) == 2, 10000));
+
+        // Second task of stripe 0 waited more than a millisecond.
+        assertTrue(histograms[0].value()[1] >= 1);
+        assertEquals(2, sum(histograms[1].value()));
+        assertEquals(0, sum(histograms[2].value()));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBusyPoll() throws Exception {
+        long busyPollNanos = TimeUnit.SECONDS.toNanos(3);
+
+        recreateExecutor(false, busyPollNanos);
+
+        // Idle stripe parks once the busy poll time expires.
+        assertTrue(GridTestUtils.waitForCondition(() -> parked(0), 10000));
+
+        CountDownLatch latch = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+
+        stripedExecSvc.execute(0, latch::countDown);
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        // Stripe keeps polling its queue after the task.
+        while (System.nanoTime() - start < busyPollNanos / 3) {
+            assertFalse(parked(0));
+
+            U.sleep(10);
+        }
+
+        CountDownLatch latch2 = new CountDownLatch(1);
+
+        stripedExecSvc.execute(0, latch2::countDown);
+
+        assertTrue(latch2.await(10, TimeUnit.SECONDS));
+
+        assertTrue(GridTestUtils.waitForCondition(() -> parked(0), 10000));
+
+        // Parked stripe is woken up.
+        CountDownLatch latch3 = new CountDownLatch(1);
+
+        stripedExecSvc.execute(0, latch3::countDown);
+
+        assertTrue(latch3.await(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testNoBusyPollByDefault() throws Exception {
+        // Stripes park right after a short spin.
+        for (int i = 0; i < stripedExecSvc.stripesCount(); i++) {
+            int idx = i;
+
+            assertTrue(GridTestUtils.waitForCondition(() -> parked(idx), 1000));
+        }
+    }
+
+    /**
+     * @param idx Stripe index.
+     * @return {@code True} if the stripe is parked.
+     */
+    private boolean parked(int idx) {
+        StripedExecutor.Stripe[] stripes = GridTestUtils.getFieldValue(stripedExecSvc, "stripes");
+
+        return GridTestUtils.getFieldValue(stripes[idx], "parked");
+    }
+
+    /**
+     * @param stealOrderInsensitiveTasks Steal order-insensitive tasks flag.
+     */
+    private void recreateExecutor(boolean stealOrderInsensitiveTasks) {
+        recreateExecutor(stealOrderInsensitiveTasks, 0);
+    }
+
+    /**
+     * @param stealOrderInsensitiveTasks Steal order-insensitive tasks flag.
+     * @param busyPollNanos Busy poll time in nanoseconds.
+     */
+    private void recreateExecutor(boolean stealOrderInsensitiveTasks, long busyPollNanos) {
+        stripedExecSvc.shutdown();
+
+        stripedExecSvc = new StripedExecutor(3, "foo name", "pool name", new JavaLogger(),
+            new IgniteInClosure<Throwable>() {
+                @Override public void apply(Throwable throwable) {}
+            }, false, stealOrderInsensitiveTasks, null, 2000, busyPollNanos);
+    }
+
+    /**
+     * @param vals Histogram values.
+     * @return Sum of values.
+     */
+    private static long sum(long[] vals) {
+        long res = 0;
+
+        for (long val : vals)
+            res += val;
+
+        return res;
+    }
+
     /**
      *
      */
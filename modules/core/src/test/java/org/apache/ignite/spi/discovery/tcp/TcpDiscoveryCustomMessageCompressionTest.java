@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.discovery.tcp;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.managers.discovery.DiscoCache;
+import org.apache.ignite.internal.managers.discovery.DiscoveryCustomMessage;
+import org.apache.ignite.internal.managers.discovery.GridDiscoveryManager;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.lang.IgniteUuid;
+import org.apache.ignite.spi.metric.HistogramMetric;
+import org.apache.ignite.spi.metric.IntMetric;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi.DISCO_METRICS;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Tests compression of large discovery custom messages.
+ */
+public class TcpDiscoveryCustomMessageCompressionTest extends GridCommonAbstractTest {
+    /** Nodes count. */
+    private static final int NODES_CNT = 3;
+
+    /** Compression threshold. */
+    private static final int THRESHOLD = 1024;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        ((TcpDiscoverySpi)cfg.getDiscoverySpi()).setCustomMessageCompressionThreshold(THRESHOLD);
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLargeMessageCompressed() throws Exception {
+        startGrids(NODES_CNT - 1);
+        startClientGrid(NODES_CNT - 1);
+
+        byte[] payload = new byte[THRESHOLD * 16];
+
+        Arrays.fill(payload, (byte)42);
+
+        CountDownLatch latch = new CountDownLatch(NODES_CNT);
+
+        for (int i = 0; i < NODES_CNT; i++) {
+            grid(i).context().discovery().setCustomEventListener(PayloadMessage.class, (topVer, snd, msg) -> {
+                assertTrue(Arrays.equals(payload, msg.payload));
+
+                latch.countDown();
+            });
+        }
+
+        MetricRegistry sndReg = grid(1).context().metric().registry(DISCO_METRICS);
+
+        int compressed = sndReg.<IntMetric>findMetric("CompressedCustomMessages").value();
+        long saved = sndReg.<LongMetric>findMetric("CustomMessagesCompressionSavedBytes").value();
+
+        grid(1).context().discovery().sendCustomEvent(new PayloadMessage(payload));
+
+        assertTrue(latch.await(getTestTimeout(), SECONDS));
+
+        assertEquals(compressed + 1, sndReg.<IntMetric>findMetric("CompressedCustomMessages").value());
+        assertTrue(sndReg.<LongMetric>findMetric("CustomMessagesCompressionSavedBytes").value() - saved >
+            payload.length / 2);
+
+        MetricRegistry crdReg = grid(0).context().metric().registry(DISCO_METRICS);
+
+        assertTrue(waitForCondition(
+            () -> Arrays.stream(crdReg.<HistogramMetric>findMetric("CustomMessageRingPassTime").value()).sum() > 0,
+            getTestTimeout()));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSmallMessageNotCompressed() throws Exception {
+        startGrids(NODES_CNT);
+
+        CountDownLatch latch = new CountDownLatch(NODES_CNT);
+
+        for (int i = 0; i < NODES_CNT; i++) {
+            grid(i).context().discovery().setCustomEventListener(PayloadMessage.class,
+                (topVer, snd, msg) -> latch.countDown());
+        }
+
+        IgniteEx ignite = grid(0);
+
+        IntMetric compressed = ignite.context().metric().registry(DISCO_METRICS)
+            .findMetric("CompressedCustomMessages");
+
+        int cnt = compressed.value();
+
+        ignite.context().discovery().sendCustomEvent(new PayloadMessage(new byte[THRESHOLD / 4]));
+
+        assertTrue(latch.await(getTestTimeout(), SECONDS));
+
+        assertEquals(cnt, compressed.value());
+    }
+
+    /** */
+    private static class PayloadMessage implements DiscoveryCustomMessage {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        private final IgniteUuid id = IgniteUuid.randomUuid();
+
+        /** */
+        private final byte[] payload;
+
+        /**
+         * @param payload Payload.
+         */
+        PayloadMessage(byte[] payload) {
+            this.payload = payload;
+        }
+
+        /** {@inheritDoc} */
+        @Override public IgniteUuid id() {
+            return id;
+        }
+
+        /** {@inheritDoc} */
+        @Nullable @Override public DiscoveryCustomMessage ackMessage() {
+            return null;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean isMutable() {
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean stopProcess() {
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override public DiscoCache createDiscoCache(GridDiscoveryManager mgr, AffinityTopologyVersion topVer,
+            DiscoCache discoCache) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -40,7 +40,9 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import javax.cache.Cache;
 import javax.cache.CacheException;
@@ -2899,6 +2901,16 @@ public abstract class GridCommonAbstractTest extends GridAbstractTest {
         }
     }
 
+    /**
+     * Checks data loaded by {@link #load(IgniteEx, String, Stream)}, where every key is mapped to itself.
+     *
+     * @param cache Cache name.
+     * @param keys Expected keys.
+     */
+    protected final void checkLoadedData(String cache, IntStream keys) {
+        checkCacheData(keys.boxed().collect(Collectors.toMap(Function.identity(), Function.identity())), cache);
+    }
+
     /**
      * Clears tombstones on a DHT node.
      *
@@ -343,6 +343,16 @@ public class IgniteCacheProcessProxy<K, V> implements IgniteCache<K, V> {
         return compute.callAsync(new GetAllOutTxTask<K, V>(cacheName, isAsync, keys));
     }
 
+    /** {@inheritDoc} */
+    @Override public Map<K, V> getAllSnapshot(Set<? extends K> keys) {
+        return compute.call(new GetAllSnapshotTask<K, V>(cacheName, isAsync, keys));
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Map<K, V>> getAllSnapshotAsync(Set<? extends K> keys) {
+        return compute.callAsync(new GetAllSnapshotTask<K, V>(cacheName, isAsync, keys));
+    }
+
     /** {@inheritDoc} */
     @Override public boolean containsKey(K key) {
         return compute.call(new ContainsKeyTask<>(cacheName, isAsync, key));
@@ -550,6 +560,16 @@ public class IgniteCacheProcessProxy<K, V> implements IgniteCache<K, V> {
         return compute.callAsync(new InvokeTask<>(cacheName, isAsync, key, processor, args));
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean patch(K key, Map<String, ?> fields) {
+        return compute.call(new PatchTask<>(cacheName, isAsync, key, fields));
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Boolean> patchAsync(K key, Map<String, ?> fields) {
+        return compute.callAsync(new PatchTask<>(cacheName, isAsync, key, fields));
+    }
+
     /** {@inheritDoc} */
     @Override public <T> Map<K, EntryProcessorResult<T>> invokeAll(
         Set<? extends K> keys,
@@ -1180,6 +1200,34 @@ public class IgniteCacheProcessProxy<K, V> implements IgniteCache<K, V> {
         }
     }
 
+    /**
+     *
+     */
+    private static class PatchTask<K, V> extends CacheTaskAdapter<K, V, Boolean> {
+        /** Key. */
+        private final K key;
+
+        /** Fields. */
+        private final Map<String, ?> fields;
+
+        /**
+         * @param cacheName Cache name.
+         * @param async Async.
+         * @param key Key.
+         * @param fields Fields.
+         */
+        public PatchTask(String cacheName, boolean async, K key, Map<String, ?> fields) {
+            super(cacheName, async, null);
+            this.key = key;
+            this.fields = fields;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Boolean call() throws Exception {
+            return cache().patch(key, fields);
+        }
+    }
+
     /**
      *
      */
@@ -1340,6 +1388,29 @@ public class IgniteCacheProcessProxy<K, V> implements IgniteCache<K, V> {
         }
     }
 
+    /**
+     *
+     */
+    private static class GetAllSnapshotTask<K, V> extends CacheTaskAdapter<K, V, Map<K, V>> {
+        /** Keys. */
+        private final Set<? extends K> keys;
+
+        /**
+         * @param cacheName Cache name.
+         * @param async Async.
+         * @param keys Keys.
+         */
+        public GetAllSnapshotTask(String cacheName, boolean async, Set<? extends K> keys) {
+            super(cacheName, async, null);
+            this.keys = keys;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Map<K, V> call() throws Exception {
+            return cache().getAllSnapshot(keys);
+        }
+    }
+
     /**
      *
      */
@@ -47,6 +47,7 @@ import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageInsertRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageMvccMarkUpdatedRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageMvccUpdateNewTxStateHintRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageMvccUpdateTxStateHintRecord;
+import org.apache.ignite.internal.pagemem.wal.record.delta.DataPagePatchRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageRemoveRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageSetFreeListPageRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageUpdateRecord;
@@ -116,8 +117,10 @@ import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.BTREE_PAGE_REPLACE;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.CHECKPOINT_RECORD;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.CONSISTENT_CUT;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.CONSISTENT_CUT_V2;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_PAGE_INSERT_FRAGMENT_RECORD;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_PAGE_INSERT_RECORD;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_PAGE_PATCH_RECORD;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_PAGE_REMOVE_RECORD;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_PAGE_SET_FREE_LIST_PAGE;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_PAGE_UPDATE_RECORD;
@@ -231,6 +234,7 @@ public class RecordUtils {
             put(PAGE_LIST_META_RESET_COUNT_RECORD, RecordUtils::buildPageListMetaResetCountRecord);
             put(SWITCH_SEGMENT_RECORD, RecordUtils::buildSwitchSegmentRecord);
             put(DATA_PAGE_UPDATE_RECORD, RecordUtils::buildDataPageUpdateRecord);
+            put(DATA_PAGE_PATCH_RECORD, RecordUtils::buildDataPagePatchRecord);
             put(BTREE_META_PAGE_INIT_ROOT2, RecordUtils::buildMetaPageInitRootInlineRecord);
             put(PARTITION_DESTROY, RecordUtils::buildPartitionDestroyRecord);
             put(SNAPSHOT, RecordUtils::buildSnapshotRecord);
@@ -256,6 +260,7 @@ public class RecordUtils {
             put(MVCC_DATA_RECORD, RecordUtils::buildMvccDataRecord);
             put(MVCC_TX_RECORD, RecordUtils::buildMvccTxRecord);
             put(CONSISTENT_CUT, RecordUtils::buildConsistentCutRecord);
+            put(CONSISTENT_CUT_V2, RecordUtils::buildConsistentCutRecord);
             put(BTREE_META_PAGE_INIT_ROOT_V3, RecordUtils::buildMetaPageInitRootInlineFlagsCreatedVersionRecord);
             put(OUT_OF_ORDER_UPDATE, RecordUtils::buildOutOfOrderRecord);
             put(ENCRYPTED_OUT_OF_ORDER_UPDATE, buildUpsupportedWalRecord(ENCRYPTED_OUT_OF_ORDER_UPDATE));
@@ -506,6 +511,13 @@ public class RecordUtils {
         return new DataPageUpdateRecord(1, 1, 1, random);
     }
 
+    /** **/
+    public static DataPagePatchRecord buildDataPagePatchRecord() {
+        byte[] changes = {0, 1, 0, 2, 3, 5};
+
+        return new DataPagePatchRecord(1, 1, 1, changes);
+    }
+
     /** **/
     public static MetaPageInitRootInlineRecord buildMetaPageInitRootInlineRecord() {
         return new MetaPageInitRootInlineRecord(1, 1, 2, 1);
@@ -596,7 +608,7 @@ public class RecordUtils {
 
     /** **/
     public static ConsistentCutRecord buildConsistentCutRecord() {
-        return new ConsistentCutRecord();
+        return new ConsistentCutRecord(1L);
     }
 
     /** **/
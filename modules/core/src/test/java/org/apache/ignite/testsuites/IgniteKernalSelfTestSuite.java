@@ -42,6 +42,7 @@ import org.apache.ignite.internal.LongJVMPauseDetectorTest;
 import org.apache.ignite.internal.ThreadNameValidationTest;
 import org.apache.ignite.internal.managers.GridManagerStopSelfTest;
 import org.apache.ignite.internal.managers.communication.GridCommunicationSendMessageSelfTest;
+import org.apache.ignite.internal.managers.communication.GridIoPreMarshalledMessageTest;
 import org.apache.ignite.internal.managers.deployment.DeploymentRequestOfUnknownClassProcessingTest;
 import org.apache.ignite.internal.managers.deployment.GridDeploymentManagerStopSelfTest;
 import org.apache.ignite.internal.managers.discovery.GridDiscoveryManagerAliveCacheSelfTest;
@@ -85,6 +86,7 @@ import org.junit.runners.Suite;
     GridEventStorageManagerSelfTest.class,
     GridEventStorageManagerInternalEventsSelfTest.class,
     GridCommunicationSendMessageSelfTest.class,
+    GridIoPreMarshalledMessageTest.class,
     GridCacheMessageSelfTest.class,
     GridDeploymentManagerStopSelfTest.class,
     GridManagerStopSelfTest.class,
@@ -16,6 +16,7 @@
 
 package org.apache.ignite.testsuites;
 
+import org.apache.ignite.internal.direct.DirectMessageWriterAllocationTest;
 import org.apache.ignite.internal.direct.stream.v2.DirectByteBufferStreamImplV2ByteOrderSelfTest;
 import org.apache.ignite.internal.marshaller.optimized.OptimizedMarshallerEnumSelfTest;
 import org.apache.ignite.internal.marshaller.optimized.OptimizedMarshallerNodeFailoverTest;
@@ -48,6 +49,7 @@ import org.junit.runners.Suite;
     OptimizedMarshallerNodeFailoverTest.class,
     OptimizedMarshallerSerialPersistentFieldsSelfTest.class,
     DirectByteBufferStreamImplV2ByteOrderSelfTest.class,
+    DirectMessageWriterAllocationTest.class,
     GridHandleTableSelfTest.class,
     OptimizedMarshallerPooledSelfTest.class,
     MarshallerEnumDeadlockMultiJvmTest.class
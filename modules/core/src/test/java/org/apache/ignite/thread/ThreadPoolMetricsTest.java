@@ -25,13 +25,16 @@ import org.apache.ignite.IgniteException;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.internal.IgniteEx;
 import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.plugin.AbstractTestPluginProvider;
 import org.apache.ignite.spi.metric.ReadOnlyMetricRegistry;
 import org.apache.ignite.spi.systemview.view.SystemView;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
 import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
 import org.junit.Test;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_STRIPED_POOL_QUEUE_TIME_METRICS;
 import static org.apache.ignite.internal.IgnitionEx.gridx;
 import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
 import static org.apache.ignite.internal.processors.pool.PoolProcessor.STREAM_POOL_QUEUE_VIEW;
@@ -61,6 +64,9 @@ public class ThreadPoolMetricsTest extends GridCommonAbstractTest {
         metricName(THREAD_POOLS, "GridDataStreamExecutor")
     );
 
+    /** Names of the striped thread pools. */
+    private static final Collection<String> STRIPED_POOLS = Arrays.asList("StripedExecutor", "GridDataStreamExecutor");
+
     /** Names of the system views for the thread pools. */
     private static final Collection<String> THREAD_POOL_VIEWS = Arrays.asList(
         SYS_POOL_QUEUE_VIEW,
@@ -96,6 +102,47 @@ public class ThreadPoolMetricsTest extends GridCommonAbstractTest {
             });
     }
 
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testStripeQueueTimeMetricsDisabledByDefault() throws Exception {
+        startUnblockedLatch.countDown();
+
+        IgniteEx srv = startGrid();
+
+        for (String pool : STRIPED_POOLS) {
+            MetricRegistry mreg = srv.context().metric().registry(metricName(THREAD_POOLS, pool));
+
+            assertNotNull(mreg.findMetric("StripesQueueSizes"));
+            assertNull(mreg.findMetric("Stripe0QueueTime"));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_STRIPED_POOL_QUEUE_TIME_METRICS, value = "true")
+    public void testStripeQueueTimeMetrics() throws Exception {
+        startUnblockedLatch.countDown();
+
+        IgniteEx srv = startGrid();
+
+        for (String pool : STRIPED_POOLS) {
+            MetricRegistry mreg = srv.context().metric().registry(metricName(THREAD_POOLS, pool));
+
+            assertNotNull(mreg.findMetric("Stripe0QueueTime"));
+        }
+    }
+
     /**
      * Tests that thread pool metrics are available before the start of all Ignite components happened.
      *
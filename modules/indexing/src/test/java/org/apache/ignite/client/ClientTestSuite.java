@@ -30,6 +30,7 @@ import org.apache.ignite.internal.client.thin.ThinClientPartitionAwarenessDiscov
 import org.apache.ignite.internal.client.thin.ThinClientAffinityAwarenessConnectionTest;
 import org.apache.ignite.internal.client.thin.ThinClientAffinityAwarenessStableTopologyTest;
 import org.apache.ignite.internal.client.thin.ThinClientAffinityAwarenessUnstableTopologyTest;
+import org.apache.ignite.internal.client.thin.ThinClientNearCacheTest;
 import org.apache.ignite.internal.client.thin.ThinClientPartitionAwarenessResourceReleaseTest;
 import org.apache.ignite.internal.client.thin.TimeoutTest;
 import org.junit.runner.RunWith;
@@ -74,7 +75,8 @@ import org.junit.runners.Suite;
     OptimizedMarshallerClassesCachedTest.class,
     AtomicLongTest.class,
     BinaryConfigurationTest.class,
-    IgniteSetTest.class
+    IgniteSetTest.class,
+    ThinClientNearCacheTest.class
 })
 public class ClientTestSuite {
     // No-op.
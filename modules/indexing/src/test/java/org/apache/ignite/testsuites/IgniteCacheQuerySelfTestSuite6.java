@@ -20,7 +20,9 @@ import org.apache.ignite.internal.processors.cache.index.StaticCacheDdlKeepStati
 import org.apache.ignite.internal.processors.cache.index.StaticCacheDdlTest;
 import org.apache.ignite.internal.processors.cache.query.continuous.CacheContinuousBatchAckTest;
 import org.apache.ignite.internal.processors.cache.query.continuous.CacheContinuousQueryAsyncFilterListenerTest;
+import org.apache.ignite.internal.processors.cache.query.continuous.CacheContinuousQueryConflationTest;
 import org.apache.ignite.internal.processors.cache.query.continuous.CacheContinuousQueryFilterDeploymentFailedTest;
+import org.apache.ignite.internal.processors.cache.query.continuous.CacheContinuousQueryFilterIndexTest;
 import org.apache.ignite.internal.processors.cache.query.continuous.CacheContinuousQueryDeploymentToClientTest;
 import org.apache.ignite.internal.processors.cache.query.continuous.CacheContinuousQueryOperationP2PTest;
 import org.apache.ignite.internal.processors.cache.query.continuous.CacheContinuousQueryOrderingEventTest;
@@ -77,6 +79,8 @@ import org.junit.runners.Suite;
     HashJoinQueryTest.class,
     ContinuousQueryBufferCleanupTest.class,
     ContinuousQueryWithTransformerBufferCleanupTest.class,
+    CacheContinuousQueryConflationTest.class,
+    CacheContinuousQueryFilterIndexTest.class,
     CacheContinuousQueryFilterDeploymentFailedTest.class,
     CacheContinuousQueryDeploymentToClientTest.class,
     IgniteSqlSinglePartitionMultiParallelismTest.class,